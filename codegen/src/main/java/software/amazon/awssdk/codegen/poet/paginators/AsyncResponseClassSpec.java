@@ -42,6 +42,7 @@ import software.amazon.awssdk.core.async.SdkPublisher;
 import software.amazon.awssdk.core.pagination.async.AsyncPageFetcher;
 import software.amazon.awssdk.core.pagination.async.PaginatedItemsPublisher;
 import software.amazon.awssdk.core.pagination.async.ResponsesSubscription;
+import software.amazon.awssdk.utils.Validate;
 
 /**
  * Java poet {@link ClassSpec} to generate the response class for async paginated operations.
@@ -66,6 +67,7 @@ public class AsyncResponseClassSpec extends PaginatorsClassSpec {
                                                .addMethod(publicConstructor())
                                                .addMethod(privateConstructor())
                                                .addMethod(subscribeMethod())
+                                               .addMethod(prefetchMethod())
                                                .addMethods(getMethodSpecsForResultKeyList())
                                                .addJavadoc(paginationDocs.getDocsForAsyncResponseClass(
                                                    getAsyncClientInterfaceName()))
@@ -97,7 +99,8 @@ public class AsyncResponseClassSpec extends PaginatorsClassSpec {
         return Stream.of(asyncClientInterfaceField(),
                          requestClassField(),
                          asyncPageFetcherField(),
-                         lastPageField());
+                         lastPageField(),
+                         prefetchPagesField());
     }
 
     protected FieldSpec asyncClientInterfaceField() {
@@ -117,7 +120,7 @@ public class AsyncResponseClassSpec extends PaginatorsClassSpec {
                          .addModifiers(Modifier.PUBLIC)
                          .addParameter(getAsyncClientInterfaceName(), CLIENT_MEMBER)
                          .addParameter(requestType(), REQUEST_MEMBER)
-                         .addStatement("this($L, $L, false)", CLIENT_MEMBER, REQUEST_MEMBER)
+                         .addStatement("this($L, $L, false, 0)", CLIENT_MEMBER, REQUEST_MEMBER)
                          .build();
     }
 
@@ -127,9 +130,11 @@ public class AsyncResponseClassSpec extends PaginatorsClassSpec {
                          .addParameter(getAsyncClientInterfaceName(), CLIENT_MEMBER)
                          .addParameter(requestType(), REQUEST_MEMBER)
                          .addParameter(boolean.class, LAST_PAGE_FIELD)
+                         .addParameter(int.class, PREFETCH_PAGES_MEMBER)
                          .addStatement("this.$L = $L", CLIENT_MEMBER, CLIENT_MEMBER)
                          .addStatement("this.$L = $L", REQUEST_MEMBER, REQUEST_MEMBER)
                          .addStatement("this.$L = $L", LAST_PAGE_FIELD, LAST_PAGE_FIELD)
+                         .addStatement("this.$L = $L", PREFETCH_PAGES_MEMBER, PREFETCH_PAGES_MEMBER)
                          .addStatement("this.$L = new $L()", NEXT_PAGE_FETCHER_MEMBER, nextPageFetcherClassName())
                          .build();
     }
@@ -144,9 +149,36 @@ public class AsyncResponseClassSpec extends PaginatorsClassSpec {
                          .addParameter(ParameterizedTypeName.get(ClassName.get(Subscriber.class),
                                                                  WildcardTypeName.supertypeOf(responseType())),
                                        SUBSCRIBER)
-                         .addStatement("$1L.onSubscribe($2T.builder().$1L($1L).$3L($4L).build())",
+                         .addStatement("$1L.onSubscribe($2T.builder().$1L($1L).$3L($4L).$5L($5L).build())",
                                        SUBSCRIBER, ResponsesSubscription.class,
-                                       NEXT_PAGE_FETCHER_MEMBER, nextPageFetcherArgument())
+                                       NEXT_PAGE_FETCHER_MEMBER, nextPageFetcherArgument(), PREFETCH_PAGES_MEMBER)
+                         .build();
+    }
+
+    /**
+     * A {@link MethodSpec} for the prefetch() method, which returns a copy of the publisher that requests pages ahead of the
+     * subscriber.
+     */
+    private MethodSpec prefetchMethod() {
+        return MethodSpec.methodBuilder(PREFETCH_METHOD)
+                         .addModifiers(Modifier.PUBLIC)
+                         .addParameter(int.class, PREFETCH_PAGES_MEMBER)
+                         .returns(className())
+                         .addStatement("return new $T($L, $L, $L, $T.isNotNegative($L, $S))", className(), CLIENT_MEMBER,
+                                       REQUEST_MEMBER, LAST_PAGE_FIELD, Validate.class, PREFETCH_PAGES_MEMBER,
+                                       PREFETCH_PAGES_MEMBER)
+                         .addJavadoc(CodeBlock.builder()
+                                              .add("Returns a publisher that requests each page as soon as the page before it "
+                                                   + "has arrived, instead of when the subscriber asks for it, so that the "
+                                                   + "subscriber does not wait for the service while it has pages left to "
+                                                   + "process. At most the given number of pages is requested ahead of the "
+                                                   + "subscriber, and 0 disables prefetching.\n")
+                                              .add("\n@param $L The maximum number of pages to request ahead of the subscriber\n",
+                                                   PREFETCH_PAGES_MEMBER)
+                                              .add("@return A publisher of the same pages that prefetches up to the given number "
+                                                   + "of pages\n")
+                                              .add("@throws IllegalArgumentException If the number of pages is negative")
+                                              .build())
                          .build();
     }
 
@@ -209,9 +241,10 @@ public class AsyncResponseClassSpec extends PaginatorsClassSpec {
                                                                                       resultKeyType)))
                          .addCode(getIteratorLambdaBlock(resultKey, resultKeyModel))
                          .addCode("\n")
-                         .addStatement("return $1T.builder().$2L(new $3L()).iteratorFunction(getIterator).$4L($4L).build()",
+                         .addStatement("return $1T.builder().$2L(new $3L()).iteratorFunction(getIterator).$4L($4L)"
+                                       + ".$5L($5L).build()",
                                        PaginatedItemsPublisher.class, NEXT_PAGE_FETCHER_MEMBER, nextPageFetcherClassName(),
-                                       LAST_PAGE_FIELD)
+                                       LAST_PAGE_FIELD, PREFETCH_PAGES_MEMBER)
                          .addJavadoc(CodeBlock.builder()
                                               .add("Returns a publisher that can be used to get a stream of data. You need to "
                                                    + "subscribe to the publisher to request the stream of data. The publisher "
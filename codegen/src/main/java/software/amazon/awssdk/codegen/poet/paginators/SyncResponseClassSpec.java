@@ -38,6 +38,7 @@ import software.amazon.awssdk.core.pagination.sync.PaginatedItemsIterable;
 import software.amazon.awssdk.core.pagination.sync.PaginatedResponsesIterator;
 import software.amazon.awssdk.core.pagination.sync.SdkIterable;
 import software.amazon.awssdk.core.pagination.sync.SyncPageFetcher;
+import software.amazon.awssdk.utils.Validate;
 
 /**
  * Java poet {@link ClassSpec} to generate the response class for sync paginated operations.
@@ -58,7 +59,9 @@ public class SyncResponseClassSpec extends PaginatorsClassSpec {
                                                .addSuperinterface(getSyncResponseInterface())
                                                .addFields(fields().collect(Collectors.toList()))
                                                .addMethod(constructor())
+                                               .addMethod(privateConstructor())
                                                .addMethod(iteratorMethod())
+                                               .addMethod(prefetchMethod())
                                                .addMethods(getMethodSpecsForResultKeyList())
                                                .addJavadoc(paginationDocs.getDocsForSyncResponseClass(
                                                    getClientInterfaceName()))
@@ -87,7 +90,7 @@ public class SyncResponseClassSpec extends PaginatorsClassSpec {
     }
 
     protected Stream<FieldSpec> fields() {
-        return Stream.of(syncClientInterfaceField(), requestClassField(), syncPageFetcherField());
+        return Stream.of(syncClientInterfaceField(), requestClassField(), syncPageFetcherField(), prefetchPagesField());
     }
 
     protected FieldSpec syncClientInterfaceField() {
@@ -103,10 +106,21 @@ public class SyncResponseClassSpec extends PaginatorsClassSpec {
                          .addModifiers(Modifier.PUBLIC)
                          .addParameter(getClientInterfaceName(), CLIENT_MEMBER)
                          .addParameter(requestType(), REQUEST_MEMBER)
+                         .addStatement("this($L, $L, 0)", CLIENT_MEMBER, REQUEST_MEMBER)
+                         .build();
+    }
+
+    protected MethodSpec privateConstructor() {
+        return MethodSpec.constructorBuilder()
+                         .addModifiers(Modifier.PRIVATE)
+                         .addParameter(getClientInterfaceName(), CLIENT_MEMBER)
+                         .addParameter(requestType(), REQUEST_MEMBER)
+                         .addParameter(int.class, PREFETCH_PAGES_MEMBER)
                          .addStatement("this.$L = $L", CLIENT_MEMBER, CLIENT_MEMBER)
                          .addStatement("this.$L = $L", REQUEST_MEMBER, REQUEST_MEMBER)
+                         .addStatement("this.$L = $L", PREFETCH_PAGES_MEMBER, PREFETCH_PAGES_MEMBER)
                          .addStatement("this.$L = new $L()", NEXT_PAGE_FETCHER_MEMBER, nextPageFetcherClassName())
-                .build();
+                         .build();
     }
 
     /**
@@ -118,11 +132,37 @@ public class SyncResponseClassSpec extends PaginatorsClassSpec {
                 .addAnnotation(Override.class)
                 .addModifiers(Modifier.PUBLIC)
                 .returns(ParameterizedTypeName.get(ClassName.get(Iterator.class), responseType()))
-                .addStatement("return $1T.builder().$2L($3L).build()", PaginatedResponsesIterator.class,
-                              NEXT_PAGE_FETCHER_MEMBER, nextPageFetcherArgument())
+                .addStatement("return $1T.builder().$2L($3L).$4L($4L).build()", PaginatedResponsesIterator.class,
+                              NEXT_PAGE_FETCHER_MEMBER, nextPageFetcherArgument(), PREFETCH_PAGES_MEMBER)
                 .build();
     }
 
+    /**
+     * A {@link MethodSpec} for the prefetch() method, which returns a copy of the iterable whose iterators retrieve pages in
+     * the background.
+     */
+    private MethodSpec prefetchMethod() {
+        return MethodSpec.methodBuilder(PREFETCH_METHOD)
+                         .addModifiers(Modifier.PUBLIC)
+                         .addParameter(int.class, PREFETCH_PAGES_MEMBER)
+                         .returns(className())
+                         .addStatement("return new $T($L, $L, $T.isNotNegative($L, $S))", className(), CLIENT_MEMBER,
+                                       REQUEST_MEMBER, Validate.class, PREFETCH_PAGES_MEMBER, PREFETCH_PAGES_MEMBER)
+                         .addJavadoc(CodeBlock.builder()
+                                              .add("Returns an iterable whose iterators retrieve each page in the background as "
+                                                   + "soon as the page before it has arrived, instead of when it is iterated "
+                                                   + "over, so that processing a page overlaps with retrieving the next one. "
+                                                   + "At most the given number of pages is retrieved ahead of the iteration, "
+                                                   + "and 0 disables prefetching.\n")
+                                              .add("\n@param $L The maximum number of pages to retrieve ahead of the iteration\n",
+                                                   PREFETCH_PAGES_MEMBER)
+                                              .add("@return An iterable over the same pages that prefetches up to the given "
+                                                   + "number of pages\n")
+                                              .add("@throws IllegalArgumentException If the number of pages is negative")
+                                              .build())
+                         .build();
+    }
+
     protected String nextPageFetcherArgument() {
         return NEXT_PAGE_FETCHER_MEMBER;
     }
@@ -44,7 +44,7 @@ public class SameTokenAsyncResponseClassSpec extends AsyncResponseClassSpec {
 
     @Override
     protected Stream<FieldSpec> fields() {
-        return Stream.of(asyncClientInterfaceField(), requestClassField(), lastPageField());
+        return Stream.of(asyncClientInterfaceField(), requestClassField(), lastPageField(), prefetchPagesField());
     }
 
     @Override
@@ -54,9 +54,11 @@ public class SameTokenAsyncResponseClassSpec extends AsyncResponseClassSpec {
                          .addParameter(getAsyncClientInterfaceName(), CLIENT_MEMBER)
                          .addParameter(requestType(), REQUEST_MEMBER)
                          .addParameter(boolean.class, LAST_PAGE_FIELD)
+                         .addParameter(int.class, PREFETCH_PAGES_MEMBER)
                          .addStatement("this.$L = $L", CLIENT_MEMBER, CLIENT_MEMBER)
                          .addStatement("this.$L = $L", REQUEST_MEMBER, REQUEST_MEMBER)
                          .addStatement("this.$L = $L", LAST_PAGE_FIELD, LAST_PAGE_FIELD)
+                         .addStatement("this.$L = $L", PREFETCH_PAGES_MEMBER, PREFETCH_PAGES_MEMBER)
                          .build();
     }
 
@@ -44,17 +44,19 @@ public class SameTokenSyncResponseClassSpec extends SyncResponseClassSpec {
 
     @Override
     protected Stream<FieldSpec> fields() {
-        return Stream.of(syncClientInterfaceField(), requestClassField());
+        return Stream.of(syncClientInterfaceField(), requestClassField(), prefetchPagesField());
     }
 
     @Override
-    protected MethodSpec constructor() {
+    protected MethodSpec privateConstructor() {
         return MethodSpec.constructorBuilder()
-                         .addModifiers(Modifier.PUBLIC)
+                         .addModifiers(Modifier.PRIVATE)
                          .addParameter(getClientInterfaceName(), CLIENT_MEMBER)
                          .addParameter(requestType(), REQUEST_MEMBER)
+                         .addParameter(int.class, PREFETCH_PAGES_MEMBER)
                          .addStatement("this.$L = $L", CLIENT_MEMBER, CLIENT_MEMBER)
                          .addStatement("this.$L = $L", REQUEST_MEMBER, REQUEST_MEMBER)
+                         .addStatement("this.$L = $L", PREFETCH_PAGES_MEMBER, PREFETCH_PAGES_MEMBER)
                          .build();
     }
 
@@ -13,6 +13,7 @@ import software.amazon.awssdk.services.jsonprotocoltests.JsonProtocolTestsClient
 import software.amazon.awssdk.services.jsonprotocoltests.model.PaginatedOperationWithResultKeyRequest;
 import software.amazon.awssdk.services.jsonprotocoltests.model.PaginatedOperationWithResultKeyResponse;
 import software.amazon.awssdk.services.jsonprotocoltests.model.SimpleStruct;
+import software.amazon.awssdk.utils.Validate;
 
 /**
  * <p>
@@ -76,16 +77,39 @@ public class PaginatedOperationWithResultKeyIterable implements SdkIterable<Pagi
 
     private final SyncPageFetcher nextPageFetcher;
 
+    private final int prefetchPages;
+
     public PaginatedOperationWithResultKeyIterable(JsonProtocolTestsClient client,
                                                    PaginatedOperationWithResultKeyRequest firstRequest) {
+        this(client, firstRequest, 0);
+    }
+
+    private PaginatedOperationWithResultKeyIterable(JsonProtocolTestsClient client,
+                                                    PaginatedOperationWithResultKeyRequest firstRequest, int prefetchPages) {
         this.client = client;
         this.firstRequest = firstRequest;
+        this.prefetchPages = prefetchPages;
         this.nextPageFetcher = new PaginatedOperationWithResultKeyResponseFetcher();
     }
 
     @Override
     public Iterator<PaginatedOperationWithResultKeyResponse> iterator() {
-        return PaginatedResponsesIterator.builder().nextPageFetcher(nextPageFetcher).build();
+        return PaginatedResponsesIterator.builder().nextPageFetcher(nextPageFetcher).prefetchPages(prefetchPages).build();
+    }
+
+    /**
+     * Returns an iterable whose iterators retrieve each page in the background as soon as the page before it has
+     * arrived, instead of when it is iterated over, so that processing a page overlaps with retrieving the next one. At
+     * most the given number of pages is retrieved ahead of the iteration, and 0 disables prefetching.
+     *
+     * @param prefetchPages
+     *        The maximum number of pages to retrieve ahead of the iteration
+     * @return An iterable over the same pages that prefetches up to the given number of pages
+     * @throws IllegalArgumentException
+     *         If the number of pages is negative
+     */
+    public PaginatedOperationWithResultKeyIterable prefetch(int prefetchPages) {
+        return new PaginatedOperationWithResultKeyIterable(client, firstRequest, Validate.isNotNegative(prefetchPages, "prefetchPages"));
     }
 
     /**
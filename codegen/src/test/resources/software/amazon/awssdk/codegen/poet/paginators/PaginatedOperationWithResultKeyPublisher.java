@@ -15,6 +15,7 @@ import software.amazon.awssdk.services.jsonprotocoltests.JsonProtocolTestsAsyncC
 import software.amazon.awssdk.services.jsonprotocoltests.model.PaginatedOperationWithResultKeyRequest;
 import software.amazon.awssdk.services.jsonprotocoltests.model.PaginatedOperationWithResultKeyResponse;
 import software.amazon.awssdk.services.jsonprotocoltests.model.SimpleStruct;
+import software.amazon.awssdk.utils.Validate;
 
 /**
  * <p>
@@ -78,22 +79,41 @@ public class PaginatedOperationWithResultKeyPublisher implements SdkPublisher<Pa
 
     private boolean isLastPage;
 
+    private final int prefetchPages;
+
     public PaginatedOperationWithResultKeyPublisher(JsonProtocolTestsAsyncClient client,
                                                     PaginatedOperationWithResultKeyRequest firstRequest) {
-        this(client, firstRequest, false);
+        this(client, firstRequest, false, 0);
     }
 
     private PaginatedOperationWithResultKeyPublisher(JsonProtocolTestsAsyncClient client,
-                                                     PaginatedOperationWithResultKeyRequest firstRequest, boolean isLastPage) {
+                                                     PaginatedOperationWithResultKeyRequest firstRequest, boolean isLastPage, int prefetchPages) {
         this.client = client;
         this.firstRequest = firstRequest;
         this.isLastPage = isLastPage;
+        this.prefetchPages = prefetchPages;
         this.nextPageFetcher = new PaginatedOperationWithResultKeyResponseFetcher();
     }
 
     @Override
     public void subscribe(Subscriber<? super PaginatedOperationWithResultKeyResponse> subscriber) {
-        subscriber.onSubscribe(ResponsesSubscription.builder().subscriber(subscriber).nextPageFetcher(nextPageFetcher).build());
+        subscriber.onSubscribe(ResponsesSubscription.builder().subscriber(subscriber).nextPageFetcher(nextPageFetcher)
+                .prefetchPages(prefetchPages).build());
+    }
+
+    /**
+     * Returns a publisher that requests each page as soon as the page before it has arrived, instead of when the
+     * subscriber asks for it, so that the subscriber does not wait for the service while it has pages left to process.
+     * At most the given number of pages is requested ahead of the subscriber, and 0 disables prefetching.
+     *
+     * @param prefetchPages
+     *        The maximum number of pages to request ahead of the subscriber
+     * @return A publisher of the same pages that prefetches up to the given number of pages
+     * @throws IllegalArgumentException
+     *         If the number of pages is negative
+     */
+    public PaginatedOperationWithResultKeyPublisher prefetch(int prefetchPages) {
+        return new PaginatedOperationWithResultKeyPublisher(client, firstRequest, isLastPage, Validate.isNotNegative(prefetchPages, "prefetchPages"));
     }
 
     /**
@@ -109,7 +129,7 @@ public class PaginatedOperationWithResultKeyPublisher implements SdkPublisher<Pa
             return Collections.emptyIterator();
         };
         return PaginatedItemsPublisher.builder().nextPageFetcher(new PaginatedOperationWithResultKeyResponseFetcher())
-                                      .iteratorFunction(getIterator).isLastPage(isLastPage).build();
+                                      .iteratorFunction(getIterator).isLastPage(isLastPage).prefetchPages(prefetchPages).build();
     }
 
     private class PaginatedOperationWithResultKeyResponseFetcher implements
@@ -9,6 +9,7 @@ import software.amazon.awssdk.core.util.PaginatorUtils;
 import software.amazon.awssdk.services.jsonprotocoltests.JsonProtocolTestsClient;
 import software.amazon.awssdk.services.jsonprotocoltests.model.PaginatedOperationWithoutResultKeyRequest;
 import software.amazon.awssdk.services.jsonprotocoltests.model.PaginatedOperationWithoutResultKeyResponse;
+import software.amazon.awssdk.utils.Validate;
 
 /**
  * <p>
@@ -72,16 +73,39 @@ public class PaginatedOperationWithoutResultKeyIterable implements SdkIterable<P
 
     private final SyncPageFetcher nextPageFetcher;
 
+    private final int prefetchPages;
+
     public PaginatedOperationWithoutResultKeyIterable(JsonProtocolTestsClient client,
                                                       PaginatedOperationWithoutResultKeyRequest firstRequest) {
+        this(client, firstRequest, 0);
+    }
+
+    private PaginatedOperationWithoutResultKeyIterable(JsonProtocolTestsClient client,
+                                                       PaginatedOperationWithoutResultKeyRequest firstRequest, int prefetchPages) {
         this.client = client;
         this.firstRequest = firstRequest;
+        this.prefetchPages = prefetchPages;
         this.nextPageFetcher = new PaginatedOperationWithoutResultKeyResponseFetcher();
     }
 
     @Override
     public Iterator<PaginatedOperationWithoutResultKeyResponse> iterator() {
-        return PaginatedResponsesIterator.builder().nextPageFetcher(nextPageFetcher).build();
+        return PaginatedResponsesIterator.builder().nextPageFetcher(nextPageFetcher).prefetchPages(prefetchPages).build();
+    }
+
+    /**
+     * Returns an iterable whose iterators retrieve each page in the background as soon as the page before it has
+     * arrived, instead of when it is iterated over, so that processing a page overlaps with retrieving the next one. At
+     * most the given number of pages is retrieved ahead of the iteration, and 0 disables prefetching.
+     *
+     * @param prefetchPages
+     *        The maximum number of pages to retrieve ahead of the iteration
+     * @return An iterable over the same pages that prefetches up to the given number of pages
+     * @throws IllegalArgumentException
+     *         If the number of pages is negative
+     */
+    public PaginatedOperationWithoutResultKeyIterable prefetch(int prefetchPages) {
+        return new PaginatedOperationWithoutResultKeyIterable(client, firstRequest, Validate.isNotNegative(prefetchPages, "prefetchPages"));
     }
 
     private class PaginatedOperationWithoutResultKeyResponseFetcher implements
@@ -10,6 +10,7 @@ import software.amazon.awssdk.core.util.PaginatorUtils;
 import software.amazon.awssdk.services.jsonprotocoltests.JsonProtocolTestsAsyncClient;
 import software.amazon.awssdk.services.jsonprotocoltests.model.PaginatedOperationWithoutResultKeyRequest;
 import software.amazon.awssdk.services.jsonprotocoltests.model.PaginatedOperationWithoutResultKeyResponse;
+import software.amazon.awssdk.utils.Validate;
 
 /**
  * <p>
@@ -73,22 +74,41 @@ public class PaginatedOperationWithoutResultKeyPublisher implements SdkPublisher
 
     private boolean isLastPage;
 
+    private final int prefetchPages;
+
     public PaginatedOperationWithoutResultKeyPublisher(JsonProtocolTestsAsyncClient client,
                                                        PaginatedOperationWithoutResultKeyRequest firstRequest) {
-        this(client, firstRequest, false);
+        this(client, firstRequest, false, 0);
     }
 
     private PaginatedOperationWithoutResultKeyPublisher(JsonProtocolTestsAsyncClient client,
-                                                        PaginatedOperationWithoutResultKeyRequest firstRequest, boolean isLastPage) {
+                                                        PaginatedOperationWithoutResultKeyRequest firstRequest, boolean isLastPage, int prefetchPages) {
         this.client = client;
         this.firstRequest = firstRequest;
         this.isLastPage = isLastPage;
+        this.prefetchPages = prefetchPages;
         this.nextPageFetcher = new PaginatedOperationWithoutResultKeyResponseFetcher();
     }
 
     @Override
     public void subscribe(Subscriber<? super PaginatedOperationWithoutResultKeyResponse> subscriber) {
-        subscriber.onSubscribe(ResponsesSubscription.builder().subscriber(subscriber).nextPageFetcher(nextPageFetcher).build());
+        subscriber.onSubscribe(ResponsesSubscription.builder().subscriber(subscriber).nextPageFetcher(nextPageFetcher)
+                .prefetchPages(prefetchPages).build());
+    }
+
+    /**
+     * Returns a publisher that requests each page as soon as the page before it has arrived, instead of when the
+     * subscriber asks for it, so that the subscriber does not wait for the service while it has pages left to process.
+     * At most the given number of pages is requested ahead of the subscriber, and 0 disables prefetching.
+     *
+     * @param prefetchPages
+     *        The maximum number of pages to request ahead of the subscriber
+     * @return A publisher of the same pages that prefetches up to the given number of pages
+     * @throws IllegalArgumentException
+     *         If the number of pages is negative
+     */
+    public PaginatedOperationWithoutResultKeyPublisher prefetch(int prefetchPages) {
+        return new PaginatedOperationWithoutResultKeyPublisher(client, firstRequest, isLastPage, Validate.isNotNegative(prefetchPages, "prefetchPages"));
     }
 
     private class PaginatedOperationWithoutResultKeyResponseFetcher implements
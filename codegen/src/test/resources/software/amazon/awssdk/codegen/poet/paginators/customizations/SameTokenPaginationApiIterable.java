@@ -13,6 +13,7 @@ import software.amazon.awssdk.services.jsonprotocoltests.JsonProtocolTestsClient
 import software.amazon.awssdk.services.jsonprotocoltests.model.SameTokenPaginationApiRequest;
 import software.amazon.awssdk.services.jsonprotocoltests.model.SameTokenPaginationApiResponse;
 import software.amazon.awssdk.services.jsonprotocoltests.model.SimpleStruct;
+import software.amazon.awssdk.utils.Validate;
 
 /**
  * <p>
@@ -74,14 +75,38 @@ public class SameTokenPaginationApiIterable implements SdkIterable<SameTokenPagi
 
     private final SameTokenPaginationApiRequest firstRequest;
 
+    private final int prefetchPages;
+
     public SameTokenPaginationApiIterable(JsonProtocolTestsClient client, SameTokenPaginationApiRequest firstRequest) {
+        this(client, firstRequest, 0);
+    }
+
+    private SameTokenPaginationApiIterable(JsonProtocolTestsClient client, SameTokenPaginationApiRequest firstRequest,
+            int prefetchPages) {
         this.client = client;
         this.firstRequest = firstRequest;
+        this.prefetchPages = prefetchPages;
     }
 
     @Override
     public Iterator<SameTokenPaginationApiResponse> iterator() {
-        return PaginatedResponsesIterator.builder().nextPageFetcher(new SameTokenPaginationApiResponseFetcher()).build();
+        return PaginatedResponsesIterator.builder().nextPageFetcher(new SameTokenPaginationApiResponseFetcher())
+                .prefetchPages(prefetchPages).build();
+    }
+
+    /**
+     * Returns an iterable whose iterators retrieve each page in the background as soon as the page before it has
+     * arrived, instead of when it is iterated over, so that processing a page overlaps with retrieving the next one. At
+     * most the given number of pages is retrieved ahead of the iteration, and 0 disables prefetching.
+     *
+     * @param prefetchPages
+     *        The maximum number of pages to retrieve ahead of the iteration
+     * @return An iterable over the same pages that prefetches up to the given number of pages
+     * @throws IllegalArgumentException
+     *         If the number of pages is negative
+     */
+    public SameTokenPaginationApiIterable prefetch(int prefetchPages) {
+        return new SameTokenPaginationApiIterable(client, firstRequest, Validate.isNotNegative(prefetchPages, "prefetchPages"));
     }
 
     /**
@@ -15,6 +15,7 @@ import software.amazon.awssdk.services.jsonprotocoltests.JsonProtocolTestsAsyncC
 import software.amazon.awssdk.services.jsonprotocoltests.model.SameTokenPaginationApiRequest;
 import software.amazon.awssdk.services.jsonprotocoltests.model.SameTokenPaginationApiResponse;
 import software.amazon.awssdk.services.jsonprotocoltests.model.SimpleStruct;
+import software.amazon.awssdk.utils.Validate;
 
 /**
  * <p>
@@ -76,21 +77,39 @@ public class SameTokenPaginationApiPublisher implements SdkPublisher<SameTokenPa
 
     private boolean isLastPage;
 
+    private final int prefetchPages;
+
     public SameTokenPaginationApiPublisher(JsonProtocolTestsAsyncClient client, SameTokenPaginationApiRequest firstRequest) {
-        this(client, firstRequest, false);
+        this(client, firstRequest, false, 0);
     }
 
     private SameTokenPaginationApiPublisher(JsonProtocolTestsAsyncClient client, SameTokenPaginationApiRequest firstRequest,
-            boolean isLastPage) {
+            boolean isLastPage, int prefetchPages) {
         this.client = client;
         this.firstRequest = firstRequest;
         this.isLastPage = isLastPage;
+        this.prefetchPages = prefetchPages;
     }
 
     @Override
     public void subscribe(Subscriber<? super SameTokenPaginationApiResponse> subscriber) {
         subscriber.onSubscribe(ResponsesSubscription.builder().subscriber(subscriber)
-                .nextPageFetcher(new SameTokenPaginationApiResponseFetcher()).build());
+                .nextPageFetcher(new SameTokenPaginationApiResponseFetcher()).prefetchPages(prefetchPages).build());
+    }
+
+    /**
+     * Returns a publisher that requests each page as soon as the page before it has arrived, instead of when the
+     * subscriber asks for it, so that the subscriber does not wait for the service while it has pages left to process.
+     * At most the given number of pages is requested ahead of the subscriber, and 0 disables prefetching.
+     *
+     * @param prefetchPages
+     *        The maximum number of pages to request ahead of the subscriber
+     * @return A publisher of the same pages that prefetches up to the given number of pages
+     * @throws IllegalArgumentException
+     *         If the number of pages is negative
+     */
+    public SameTokenPaginationApiPublisher prefetch(int prefetchPages) {
+        return new SameTokenPaginationApiPublisher(client, firstRequest, isLastPage, Validate.isNotNegative(prefetchPages, "prefetchPages"));
     }
 
     /**
@@ -106,7 +125,7 @@ public class SameTokenPaginationApiPublisher implements SdkPublisher<SameTokenPa
             return Collections.emptyIterator();
         };
         return PaginatedItemsPublisher.builder().nextPageFetcher(new SameTokenPaginationApiResponseFetcher())
-                .iteratorFunction(getIterator).isLastPage(isLastPage).build();
+                .iteratorFunction(getIterator).isLastPage(isLastPage).prefetchPages(prefetchPages).build();
     }
 
     private class SameTokenPaginationApiResponseFetcher implements AsyncPageFetcher<SameTokenPaginationApiResponse> {
@@ -53,8 +53,7 @@ public abstract class AbstractAws4Signer<T extends Aws4SignerParams, U extends A
 
     private static final Logger LOG = Logger.loggerFor(Aws4Signer.class);
     private static final int SIGNER_CACHE_MAX_SIZE = 300;
-    private static final FifoCache<SignerKey> SIGNER_CACHE =
-        new FifoCache<>(SIGNER_CACHE_MAX_SIZE);
+    private static final SigningKeyCache SIGNER_CACHE = new SigningKeyCache(SIGNER_CACHE_MAX_SIZE);
     private static final List<String> LIST_OF_HEADERS_TO_IGNORE_IN_LOWER_CASE =
         Arrays.asList("connection", "x-amzn-trace-id", "user-agent", "expect");
 
@@ -76,16 +75,18 @@ public abstract class AbstractAws4Signer<T extends Aws4SignerParams, U extends A
                       .filter(h -> h.equals("required"))
                       .ifPresent(h -> mutableRequest.putHeader(SignerConstant.X_AMZ_CONTENT_SHA256, contentSha256));
 
-        String canonicalRequest = createCanonicalRequest(mutableRequest, contentSha256, signingParams.doubleUrlEncode());
+        List<String> signedHeaders = getSortedSignedHeaders(mutableRequest.headers());
+        String signedHeadersString = getSignedHeadersString(signedHeaders);
 
-        String stringToSign = createStringToSign(canonicalRequest, requestParams);
+        byte[] canonicalRequestHash = hashCanonicalRequest(mutableRequest, signedHeaders, signedHeadersString, contentSha256,
+                                                           signingParams.doubleUrlEncode());
 
         byte[] signingKey = deriveSigningKey(sanitizedCredentials, requestParams);
 
-        byte[] signature = computeSignature(stringToSign, signingKey);
+        byte[] signature = computeSignature(canonicalRequestHash, requestParams, signingKey);
 
         mutableRequest.putHeader(SignerConstant.AUTHORIZATION,
-                                 buildAuthorizationHeader(signature, sanitizedCredentials, requestParams, mutableRequest));
+                                 buildAuthorizationHeader(signature, sanitizedCredentials, requestParams, signedHeadersString));
 
         processRequestPayload(mutableRequest, signature, signingKey, requestParams, signingParams);
 
@@ -115,13 +116,14 @@ public abstract class AbstractAws4Signer<T extends Aws4SignerParams, U extends A
 
         String contentSha256 = calculateContentHashPresign(mutableRequest, signingParams);
 
-        String canonicalRequest = createCanonicalRequest(mutableRequest, contentSha256, signingParams.doubleUrlEncode());
+        List<String> signedHeaders = getSortedSignedHeaders(mutableRequest.headers());
 
-        String stringToSign = createStringToSign(canonicalRequest, requestParams);
+        byte[] canonicalRequestHash = hashCanonicalRequest(mutableRequest, signedHeaders, getSignedHeadersString(signedHeaders),
+                                                           contentSha256, signingParams.doubleUrlEncode());
 
         byte[] signingKey = deriveSigningKey(sanitizedCredentials, requestParams);
 
-        byte[] signature = computeSignature(stringToSign, signingKey);
+        byte[] signature = computeSignature(canonicalRequestHash, requestParams, signingKey);
 
         mutableRequest.putRawQueryParameter(SignerConstant.X_AMZ_SIGNATURE, BinaryUtils.toHex(signature));
 
@@ -162,12 +164,14 @@ public abstract class AbstractAws4Signer<T extends Aws4SignerParams, U extends A
      */
     protected byte[] deriveSigningKey(AwsCredentials credentials, Aws4SignerRequestParams signerRequestParams) {
 
-        String cacheKey = computeSigningCacheKeyName(credentials, signerRequestParams);
+        String secretKey = credentials.secretAccessKey();
+        String regionName = signerRequestParams.getRegionName();
+        String serviceName = signerRequestParams.getServiceSigningName();
         long daysSinceEpochSigningDate = numberOfDaysSinceEpoch(signerRequestParams.getRequestSigningDateTimeMilli());
 
-        SignerKey signerKey = SIGNER_CACHE.get(cacheKey);
+        SignerKey signerKey = SIGNER_CACHE.get(secretKey, regionName, serviceName, daysSinceEpochSigningDate);
 
-        if (signerKey != null && daysSinceEpochSigningDate == signerKey.getNumberOfDaysSinceEpoch()) {
+        if (signerKey != null) {
             return signerKey.getSigningKey();
         }
 
@@ -175,9 +179,9 @@ public abstract class AbstractAws4Signer<T extends Aws4SignerParams, U extends A
             TimeUnit.DAYS.toMillis(daysSinceEpochSigningDate));
         byte[] signingKey = newSigningKey(credentials,
             signerRequestParams.getFormattedRequestSigningDate(),
-            signerRequestParams.getRegionName(),
-            signerRequestParams.getServiceSigningName());
-        SIGNER_CACHE.add(cacheKey, new SignerKey(daysSinceEpochSigningDate, signingKey));
+            regionName,
+            serviceName);
+        SIGNER_CACHE.add(secretKey, regionName, serviceName, new SignerKey(daysSinceEpochSigningDate, signingKey));
         return signingKey;
     }
 
@@ -185,68 +189,58 @@ public abstract class AbstractAws4Signer<T extends Aws4SignerParams, U extends A
      * Step 1 of the AWS Signature version 4 calculation. Refer to
      * http://docs.aws
      * .amazon.com/general/latest/gr/sigv4-create-canonical-request.html to
-     * generate the canonical request.
+     * generate the canonical request. The canonical request is written into
+     * a reusable {@link SigningBuffer} and hashed without being materialized
+     * as a string.
      */
-    private String createCanonicalRequest(SdkHttpFullRequest.Builder request,
-                                          String contentSha256,
-                                          boolean doubleUrlEncode) {
-
-        String canonicalRequest = request.method().toString() +
-                                  SignerConstant.LINE_SEPARATOR +
-                                  // This would optionally double url-encode the resource path
-                                  getCanonicalizedResourcePath(request.encodedPath(), doubleUrlEncode) +
-                                  SignerConstant.LINE_SEPARATOR +
-                                  getCanonicalizedQueryString(request.rawQueryParameters()) +
-                                  SignerConstant.LINE_SEPARATOR +
-                                  getCanonicalizedHeaderString(request.headers()) +
-                                  SignerConstant.LINE_SEPARATOR +
-                                  getSignedHeadersString(request.headers()) +
-                                  SignerConstant.LINE_SEPARATOR +
-                                  contentSha256;
+    private byte[] hashCanonicalRequest(SdkHttpFullRequest.Builder request,
+                                        List<String> signedHeaders,
+                                        String signedHeadersString,
+                                        String contentSha256,
+                                        boolean doubleUrlEncode) {
+
+        SigningBuffer canonicalRequest = SigningBuffer.get();
+        canonicalRequest.append(request.method().toString())
+                        .append(SignerConstant.LINE_SEPARATOR)
+                        // This would optionally double url-encode the resource path
+                        .append(getCanonicalizedResourcePath(request.encodedPath(), doubleUrlEncode))
+                        .append(SignerConstant.LINE_SEPARATOR);
+        appendCanonicalizedQueryString(canonicalRequest, request.rawQueryParameters());
+        canonicalRequest.append(SignerConstant.LINE_SEPARATOR);
+        appendCanonicalizedHeaderString(canonicalRequest, request.headers(), signedHeaders);
+        canonicalRequest.append(SignerConstant.LINE_SEPARATOR)
+                        .append(signedHeadersString)
+                        .append(SignerConstant.LINE_SEPARATOR)
+                        .append(contentSha256);
 
         LOG.trace(() -> "AWS4 Canonical Request: " + canonicalRequest);
-        return canonicalRequest;
+        return hash(canonicalRequest);
     }
 
     /**
-     * Step 2 of the AWS Signature version 4 calculation. Refer to
+     * Step 2 and 3 of the AWS Signature version 4 calculation. It involves
+     * creating the string to sign and computing the signature over it with
+     * the derived signing key. Refer to
      * http://docs.aws
-     * .amazon.com/general/latest/gr/sigv4-create-string-to-sign.html.
-     */
-    private String createStringToSign(String canonicalRequest,
-                                      Aws4SignerRequestParams requestParams) {
-
-        String stringToSign = requestParams.getSigningAlgorithm() +
-                                    SignerConstant.LINE_SEPARATOR +
-                                    requestParams.getFormattedRequestSigningDateTime() +
-                                    SignerConstant.LINE_SEPARATOR +
-                                    requestParams.getScope() +
-                                    SignerConstant.LINE_SEPARATOR +
-                                    BinaryUtils.toHex(hash(canonicalRequest));
-
-        LOG.debug(() -> "AWS4 String to sign: " + stringToSign);
-        return stringToSign;
-    }
-
-
-    /**
-     * Computes the name to be used to reference the signing key in the cache.
-     */
-    private String computeSigningCacheKeyName(AwsCredentials credentials,
-                                              Aws4SignerRequestParams signerRequestParams) {
-        return credentials.secretAccessKey() + "-" + signerRequestParams.getRegionName() + "-" +
-               signerRequestParams.getServiceSigningName();
-    }
-
-    /**
-     * Step 3 of the AWS Signature version 4 calculation. It involves deriving
-     * the signing key and computing the signature. Refer to
+     * .amazon.com/general/latest/gr/sigv4-create-string-to-sign.html and
      * http://docs.aws.amazon
      * .com/general/latest/gr/sigv4-calculate-signature.html
      */
-    private byte[] computeSignature(String stringToSign, byte[] signingKey) {
-        return sign(stringToSign.getBytes(Charset.forName("UTF-8")), signingKey,
-                    SigningAlgorithm.HmacSHA256);
+    private byte[] computeSignature(byte[] canonicalRequestHash,
+                                    Aws4SignerRequestParams requestParams,
+                                    byte[] signingKey) {
+
+        SigningBuffer stringToSign = SigningBuffer.get();
+        stringToSign.append(requestParams.getSigningAlgorithm())
+                    .append(SignerConstant.LINE_SEPARATOR)
+                    .append(requestParams.getFormattedRequestSigningDateTime())
+                    .append(SignerConstant.LINE_SEPARATOR)
+                    .append(requestParams.getScope())
+                    .append(SignerConstant.LINE_SEPARATOR)
+                    .appendHex(canonicalRequestHash);
+
+        LOG.debug(() -> "AWS4 String to sign: " + stringToSign);
+        return sign(stringToSign, signingKey, SigningAlgorithm.HmacSHA256);
     }
 
     /**
@@ -255,12 +249,11 @@ public abstract class AbstractAws4Signer<T extends Aws4SignerParams, U extends A
     private String buildAuthorizationHeader(byte[] signature,
                                             AwsCredentials credentials,
                                             Aws4SignerRequestParams signerParams,
-                                            SdkHttpFullRequest.Builder mutableRequest) {
+                                            String signedHeadersString) {
 
         String signingCredentials = credentials.accessKeyId() + "/" + signerParams.getScope();
         String credential = "Credential=" + signingCredentials;
-        String signerHeaders = "SignedHeaders=" +
-                               getSignedHeadersString(mutableRequest.headers());
+        String signerHeaders = "SignedHeaders=" + signedHeadersString;
         String signatureHeader = "Signature=" + BinaryUtils.toHex(signature);
 
         return SignerConstant.AWS4_SIGNING_ALGORITHM + " " + credential + ", " + signerHeaders + ", " + signatureHeader;
@@ -279,87 +272,44 @@ public abstract class AbstractAws4Signer<T extends Aws4SignerParams, U extends A
         mutableRequest.putRawQueryParameter(SignerConstant.X_AMZ_ALGORITHM, SignerConstant.AWS4_SIGNING_ALGORITHM);
         mutableRequest.putRawQueryParameter(SignerConstant.X_AMZ_DATE, signerParams.getFormattedRequestSigningDateTime());
         mutableRequest.putRawQueryParameter(SignerConstant.X_AMZ_SIGNED_HEADER,
-                                            getSignedHeadersString(mutableRequest.headers()));
+                                            getSignedHeadersString(getSortedSignedHeaders(mutableRequest.headers())));
         mutableRequest.putRawQueryParameter(SignerConstant.X_AMZ_EXPIRES,
                                             Long.toString(expirationInSeconds));
         mutableRequest.putRawQueryParameter(SignerConstant.X_AMZ_CREDENTIAL, signingCredentials);
     }
 
 
-    private String getCanonicalizedHeaderString(Map<String, List<String>> headers) {
-        List<String> sortedHeaders = new ArrayList<>(headers.keySet());
-        sortedHeaders.sort(String.CASE_INSENSITIVE_ORDER);
-
-        StringBuilder buffer = new StringBuilder();
-        for (String header : sortedHeaders) {
-            if (shouldExcludeHeaderFromSigning(header)) {
-                continue;
-            }
-            String key = lowerCase(header);
-
+    private void appendCanonicalizedHeaderString(SigningBuffer buffer,
+                                                 Map<String, List<String>> headers,
+                                                 List<String> signedHeaders) {
+        for (String header : signedHeaders) {
             for (String headerValue : headers.get(header)) {
-                appendCompactedString(buffer, key);
-                buffer.append(":");
+                buffer.appendCompactedLowerCase(header).append(':');
                 if (headerValue != null) {
-                    appendCompactedString(buffer, headerValue);
+                    buffer.appendCompacted(headerValue);
                 }
-                buffer.append("\n");
+                buffer.append('\n');
             }
         }
-
-        return buffer.toString();
     }
 
     /**
-     * This method appends a string to a string builder and collapses contiguous
-     * white space is a single space.
-     *
-     * This is equivalent to:
-     *      destination.append(source.replaceAll("\\s+", " "))
-     * but does not create a Pattern object that needs to compile the match
-     * string; it also prevents us from having to make a Matcher object as well.
-     *
+     * Returns the names of the headers that are included in the signature, sorted in the order they are signed.
      */
-    private void appendCompactedString(final StringBuilder destination, final String source) {
-        boolean previousIsWhiteSpace = false;
-        int length = source.length();
-
-        for (int i = 0; i < length; i++) {
-            char ch = source.charAt(i);
-            if (isWhiteSpace(ch)) {
-                if (previousIsWhiteSpace) {
-                    continue;
-                }
-                destination.append(' ');
-                previousIsWhiteSpace = true;
-            } else {
-                destination.append(ch);
-                previousIsWhiteSpace = false;
+    private List<String> getSortedSignedHeaders(Map<String, List<String>> headers) {
+        List<String> sortedHeaders = new ArrayList<>(headers.size());
+        for (String header : headers.keySet()) {
+            if (!shouldExcludeHeaderFromSigning(header)) {
+                sortedHeaders.add(header);
             }
         }
-    }
-
-    /**
-     * Tests a char to see if is it whitespace.
-     * This method considers the same characters to be white
-     * space as the Pattern class does when matching \s
-     *
-     * @param ch the character to be tested
-     * @return true if the character is white  space, false otherwise.
-     */
-    private boolean isWhiteSpace(final char ch) {
-        return ch == ' ' || ch == '\t' || ch == '\n' || ch == '\u000b' || ch == '\r' || ch == '\f';
-    }
-
-    private String getSignedHeadersString(Map<String, List<String>> headers) {
-        List<String> sortedHeaders = new ArrayList<>(headers.keySet());
         sortedHeaders.sort(String.CASE_INSENSITIVE_ORDER);
+        return sortedHeaders;
+    }
 
+    private String getSignedHeadersString(List<String> signedHeaders) {
         StringBuilder buffer = new StringBuilder();
-        for (String header : sortedHeaders) {
-            if (shouldExcludeHeaderFromSigning(header)) {
-                continue;
-            }
+        for (String header : signedHeaders) {
             if (buffer.length() > 0) {
                 buffer.append(";");
             }
@@ -19,6 +19,7 @@ import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.security.DigestInputStream;
+import java.security.InvalidKeyException;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
@@ -152,6 +153,23 @@ public abstract class AbstractAwsSigner implements Signer {
         }
     }
 
+    /**
+     * Computes an RFC 2104-compliant HMAC signature of the content of the given buffer.
+     */
+    byte[] sign(SigningBuffer data, byte[] key, SigningAlgorithm algorithm) throws SdkClientException {
+        try {
+            Mac mac = algorithm.getMac();
+            mac.init(new SecretKeySpec(key, algorithm.toString()));
+            data.update(mac);
+            return mac.doFinal();
+        } catch (InvalidKeyException e) {
+            throw SdkClientException.builder()
+                                    .message("Unable to calculate a request signature: " + e.getMessage())
+                                    .cause(e)
+                                    .build();
+        }
+    }
+
     /**
      * Hashes the string contents (assumed to be UTF-8) using the SHA-256
      * algorithm.
@@ -183,6 +201,26 @@ public abstract class AbstractAwsSigner implements Signer {
         }
     }
 
+    /**
+     * Hashes the content of the given buffer using the SHA-256 algorithm.
+     *
+     * @param data The buffer to hash.
+     * @return The hashed bytes from the specified buffer.
+     * @throws SdkClientException If the hash cannot be computed.
+     */
+    static byte[] hash(SigningBuffer data) throws SdkClientException {
+        try {
+            MessageDigest md = getMessageDigestInstance();
+            data.update(md);
+            return md.digest();
+        } catch (Exception e) {
+            throw SdkClientException.builder()
+                                    .message("Unable to compute hash while signing request: " + e.getMessage())
+                                    .cause(e)
+                                    .build();
+        }
+    }
+
     /**
      * Hashes the binary data using the SHA-256 algorithm.
      *
@@ -215,7 +253,31 @@ public abstract class AbstractAwsSigner implements Signer {
      * @return A canonicalized form for the specified query string parameters.
      */
     protected String getCanonicalizedQueryString(Map<String, List<String>> parameters) {
+        return SdkHttpUtils.flattenQueryParameters(sortAndEncodeQueryParameters(parameters)).orElse("");
+    }
+
+    /**
+     * Appends the canonicalized form of the specified query string parameters, as returned by
+     * {@link #getCanonicalizedQueryString(Map)}, to the given buffer.
+     */
+    void appendCanonicalizedQueryString(SigningBuffer buffer, Map<String, List<String>> parameters) {
+        if (parameters.isEmpty()) {
+            return;
+        }
+
+        boolean first = true;
+        for (Map.Entry<String, List<String>> entry : sortAndEncodeQueryParameters(parameters).entrySet()) {
+            for (String value : entry.getValue()) {
+                if (!first) {
+                    buffer.append('&');
+                }
+                first = false;
+                buffer.append(entry.getKey()).append('=').append(value);
+            }
+        }
+    }
 
+    private SortedMap<String, List<String>> sortAndEncodeQueryParameters(Map<String, List<String>> parameters) {
         SortedMap<String, List<String>> sorted = new TreeMap<>();
 
         /**
@@ -240,7 +302,7 @@ public abstract class AbstractAwsSigner implements Signer {
 
         }
 
-        return SdkHttpUtils.flattenQueryParameters(sorted).orElse("");
+        return sorted;
     }
 
     protected InputStream getBinaryRequestPayloadStream(ContentStreamProvider streamProvider) {
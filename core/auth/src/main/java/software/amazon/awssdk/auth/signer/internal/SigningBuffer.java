@@ -0,0 +1,220 @@
+/*
+ * Copyright 2010-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.auth.signer.internal;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import javax.crypto.Mac;
+import software.amazon.awssdk.annotations.NotThreadSafe;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.utils.StringUtils;
+
+/**
+ * A reusable, per-thread buffer that the SigV4 signer writes the canonical request and the string to sign into. Content is
+ * UTF-8 encoded as it is appended, so it can be fed to a {@link MessageDigest} or {@link Mac} without building intermediate
+ * strings.
+ *
+ * <p>The bytes written are identical to calling {@link String#getBytes(java.nio.charset.Charset)} with UTF-8 on the equivalent
+ * string.
+ *
+ * <p>{@link #get()} resets and returns the same instance every time it is called on a thread, so a caller must be finished
+ * with the buffer before anything else on the same thread calls {@link #get()}.
+ */
+@NotThreadSafe
+@SdkInternalApi
+public final class SigningBuffer {
+    private static final int INITIAL_CAPACITY = 1024;
+
+    /**
+     * Buffers that grew beyond this size are not kept for reuse, so a single large request does not pin memory to a thread.
+     */
+    private static final int MAX_RETAINED_CAPACITY = 64 * 1024;
+
+    private static final ThreadLocal<SigningBuffer> BUFFER = ThreadLocal.withInitial(SigningBuffer::new);
+
+    private static final byte[] HEX_DIGITS = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    private byte[] bytes = new byte[INITIAL_CAPACITY];
+    private int length;
+
+    private SigningBuffer() {
+    }
+
+    /**
+     * Returns the empty buffer for the current thread.
+     */
+    public static SigningBuffer get() {
+        SigningBuffer buffer = BUFFER.get();
+        buffer.reset();
+        return buffer;
+    }
+
+    /**
+     * Appends the UTF-8 encoding of the given string.
+     */
+    public SigningBuffer append(String value) {
+        return append(value, false);
+    }
+
+    /**
+     * Appends the UTF-8 encoding of the given ASCII character.
+     */
+    public SigningBuffer append(char asciiChar) {
+        ensureCapacity(1);
+        bytes[length++] = (byte) asciiChar;
+        return this;
+    }
+
+    /**
+     * Appends the UTF-8 encoding of the given string, lower cased with {@link StringUtils#lowerCase(String)} and with every run
+     * of contiguous white space collapsed into a single space.
+     */
+    public SigningBuffer appendCompactedLowerCase(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) >= 0x80) {
+                // Non-ASCII lower casing may change the length of the string, let the JDK handle it.
+                return appendCompacted(StringUtils.lowerCase(value));
+            }
+        }
+
+        ensureCapacity(value.length());
+        boolean previousIsWhiteSpace = false;
+        for (int i = 0; i < value.length(); i++) {
+            char ch = value.charAt(i);
+            if (isWhiteSpace(ch)) {
+                if (!previousIsWhiteSpace) {
+                    bytes[length++] = ' ';
+                    previousIsWhiteSpace = true;
+                }
+                continue;
+            }
+            previousIsWhiteSpace = false;
+            bytes[length++] = (byte) (ch >= 'A' && ch <= 'Z' ? ch + ('a' - 'A') : ch);
+        }
+        return this;
+    }
+
+    /**
+     * Appends the UTF-8 encoding of the given string, with every run of contiguous white space collapsed into a single space.
+     * This is equivalent to appending {@code value.replaceAll("\\s+", " ")}.
+     */
+    public SigningBuffer appendCompacted(String value) {
+        return append(value, true);
+    }
+
+    /**
+     * Appends the lower case hex encoding of the given bytes.
+     */
+    public SigningBuffer appendHex(byte[] data) {
+        ensureCapacity(data.length * 2);
+        for (byte b : data) {
+            bytes[length++] = HEX_DIGITS[(b >> 4) & 0xF];
+            bytes[length++] = HEX_DIGITS[b & 0xF];
+        }
+        return this;
+    }
+
+    /**
+     * Feeds the content of this buffer to the given digest.
+     */
+    public void update(MessageDigest digest) {
+        digest.update(bytes, 0, length);
+    }
+
+    /**
+     * Feeds the content of this buffer to the given MAC.
+     */
+    public void update(Mac mac) {
+        mac.update(bytes, 0, length);
+    }
+
+    /**
+     * Decodes the content of this buffer into a string. This allocates, and is intended for logging.
+     */
+    @Override
+    public String toString() {
+        return new String(bytes, 0, length, StandardCharsets.UTF_8);
+    }
+
+    private SigningBuffer append(String value, boolean compactWhiteSpace) {
+        int valueLength = value.length();
+        // Most values are ASCII, so this is usually the only resize needed.
+        ensureCapacity(valueLength);
+
+        boolean previousIsWhiteSpace = false;
+        for (int i = 0; i < valueLength; i++) {
+            char ch = value.charAt(i);
+
+            if (compactWhiteSpace && isWhiteSpace(ch)) {
+                if (!previousIsWhiteSpace) {
+                    append(' ');
+                    previousIsWhiteSpace = true;
+                }
+                continue;
+            }
+            previousIsWhiteSpace = false;
+
+            if (ch < 0x80) {
+                append(ch);
+            } else if (ch < 0x800) {
+                ensureCapacity(2);
+                bytes[length++] = (byte) (0xC0 | (ch >> 6));
+                bytes[length++] = (byte) (0x80 | (ch & 0x3F));
+            } else if (Character.isSurrogate(ch)) {
+                if (Character.isHighSurrogate(ch) && i + 1 < valueLength && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    int codePoint = Character.toCodePoint(ch, value.charAt(++i));
+                    ensureCapacity(4);
+                    bytes[length++] = (byte) (0xF0 | (codePoint >> 18));
+                    bytes[length++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                    bytes[length++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                    bytes[length++] = (byte) (0x80 | (codePoint & 0x3F));
+                } else {
+                    // Unpaired surrogates are replaced the same way String#getBytes does.
+                    append('?');
+                }
+            } else {
+                ensureCapacity(3);
+                bytes[length++] = (byte) (0xE0 | (ch >> 12));
+                bytes[length++] = (byte) (0x80 | ((ch >> 6) & 0x3F));
+                bytes[length++] = (byte) (0x80 | (ch & 0x3F));
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Tests a char to see if is it whitespace. This method considers the same characters to be white space as the Pattern
+     * class does when matching \s
+     */
+    private static boolean isWhiteSpace(char ch) {
+        return ch == ' ' || ch == '\t' || ch == '\n' || ch == '\u000b' || ch == '\r' || ch == '\f';
+    }
+
+    private void ensureCapacity(int additional) {
+        int required = length + additional;
+        if (required > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(required, bytes.length * 2));
+        }
+    }
+
+    private void reset() {
+        if (bytes.length > MAX_RETAINED_CAPACITY) {
+            bytes = new byte[INITIAL_CAPACITY];
+        }
+        length = 0;
+    }
+}
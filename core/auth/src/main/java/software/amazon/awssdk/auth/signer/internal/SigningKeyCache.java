@@ -0,0 +1,157 @@
+/*
+ * Copyright 2010-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.auth.signer.internal;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+
+/**
+ * A bounded, lock-free cache of SigV4 signing keys, keyed on the secret key, signing date, region and service.
+ *
+ * <p>The cache is organized as a set-associative table: each key maps to a small set of slots, and when a set is full the
+ * least recently used entry in that set is replaced. Lookups do not take any locks or allocate any objects, so many threads
+ * signing requests concurrently do not contend with each other.
+ *
+ * <p>Recency is tracked with a logical clock that only advances when an entry is added, so cache hits in a steady state do
+ * not write to shared memory.
+ */
+@ThreadSafe
+@SdkInternalApi
+public final class SigningKeyCache {
+    private static final int WAYS = 4;
+
+    private final AtomicReferenceArray<Entry> table;
+    private final int setMask;
+    private final AtomicLong clock = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @param maxSize The minimum number of entries the cache should be able to hold. The actual capacity is rounded up to a
+     * power of two.
+     */
+    public SigningKeyCache(int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize " + maxSize + " must be at least 1");
+        }
+        int sets = Integer.highestOneBit(Math.max(1, (maxSize + WAYS - 1) / WAYS) * 2 - 1);
+        this.table = new AtomicReferenceArray<>(sets * WAYS);
+        this.setMask = sets - 1;
+    }
+
+    /**
+     * Returns the cached signing key for the given scope, or null if there is none.
+     */
+    public SignerKey get(String secretKey, String region, String service, long daysSinceEpoch) {
+        int base = setIndex(hash(secretKey, region, service));
+        for (int i = base; i < base + WAYS; i++) {
+            Entry entry = table.get(i);
+            if (entry != null && entry.matches(secretKey, region, service, daysSinceEpoch)) {
+                long now = clock.get();
+                if (entry.lastUsed != now) {
+                    entry.lastUsed = now;
+                }
+                hits.increment();
+                return entry.signerKey;
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Adds a signing key to the cache, replacing the least recently used entry for its scope if necessary.
+     */
+    public void add(String secretKey, String region, String service, SignerKey signerKey) {
+        int hash = hash(secretKey, region, service);
+        int base = setIndex(hash);
+        Entry newEntry = new Entry(secretKey, region, service, signerKey, clock.incrementAndGet());
+
+        int victimIndex = base;
+        Entry victim = null;
+        for (int i = base; i < base + WAYS; i++) {
+            Entry entry = table.get(i);
+            if (entry == null || entry.matches(secretKey, region, service, signerKey.getNumberOfDaysSinceEpoch())) {
+                victimIndex = i;
+                victim = entry;
+                break;
+            }
+            if (victim == null || entry.lastUsed < victim.lastUsed) {
+                victimIndex = i;
+                victim = entry;
+            }
+        }
+
+        // If another thread replaced the victim first, keep its entry. The key will be added again on the next miss.
+        table.compareAndSet(victimIndex, victim, newEntry);
+    }
+
+    /**
+     * Returns the number of lookups that found a signing key.
+     */
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of lookups that did not find a signing key.
+     */
+    public long missCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns the maximum number of entries the cache can hold.
+     */
+    public int getMaxSize() {
+        return table.length();
+    }
+
+    private int setIndex(int hash) {
+        return ((hash ^ (hash >>> 16)) & setMask) * WAYS;
+    }
+
+    private static int hash(String secretKey, String region, String service) {
+        return 31 * (31 * Objects.hashCode(secretKey) + Objects.hashCode(region)) + Objects.hashCode(service);
+    }
+
+    private static final class Entry {
+        private final String secretKey;
+        private final String region;
+        private final String service;
+        private final SignerKey signerKey;
+        private volatile long lastUsed;
+
+        private Entry(String secretKey, String region, String service, SignerKey signerKey, long lastUsed) {
+            this.secretKey = secretKey;
+            this.region = region;
+            this.service = service;
+            this.signerKey = signerKey;
+            this.lastUsed = lastUsed;
+        }
+
+        private boolean matches(String secretKey, String region, String service, long daysSinceEpoch) {
+            return signerKey.getNumberOfDaysSinceEpoch() == daysSinceEpoch &&
+                   Objects.equals(this.region, region) &&
+                   Objects.equals(this.service, service) &&
+                   Objects.equals(this.secretKey, secretKey);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2010-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.auth.signer.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+import software.amazon.awssdk.utils.BinaryUtils;
+import software.amazon.awssdk.utils.StringUtils;
+
+public class SigningBufferTest {
+
+    private static final List<String> VALUES = Arrays.asList("",
+                                                             "plain ascii value",
+                                                             "Mixed-Case-Header",
+                                                             "  leading and\t\ttrailing \r\n white space  ",
+                                                             "café über naïve",
+                                                             "日本語",
+                                                             "emoji 😀 pair",
+                                                             "unpaired \ud83d high and \ude00 low",
+                                                             "trailing high \ud83d",
+                                                             "İstanbul K");
+
+    @Test
+    public void append_matchesStringGetBytes() throws Exception {
+        for (String value : VALUES) {
+            assertThat(digest(SigningBuffer.get().append(value))).as(value)
+                                                                 .isEqualTo(digest(value));
+        }
+    }
+
+    @Test
+    public void appendCompacted_matchesReplaceAll() throws Exception {
+        for (String value : VALUES) {
+            assertThat(digest(SigningBuffer.get().appendCompacted(value))).as(value)
+                                                                          .isEqualTo(digest(value.replaceAll("\\s+", " ")));
+        }
+    }
+
+    @Test
+    public void appendCompactedLowerCase_matchesLowerCaseAndReplaceAll() throws Exception {
+        for (String value : VALUES) {
+            String expected = StringUtils.lowerCase(value).replaceAll("\\s+", " ");
+            assertThat(digest(SigningBuffer.get().appendCompactedLowerCase(value))).as(value)
+                                                                                   .isEqualTo(digest(expected));
+        }
+    }
+
+    @Test
+    public void appendHex_matchesBinaryUtils() throws Exception {
+        byte[] data = {0, 1, 15, 16, 127, -128, -1};
+        assertThat(SigningBuffer.get().appendHex(data).toString()).isEqualTo(BinaryUtils.toHex(data));
+    }
+
+    @Test
+    public void get_returnsEmptyBuffer_evenAfterLargeContent() {
+        SigningBuffer buffer = SigningBuffer.get();
+        for (int i = 0; i < 100_000; i++) {
+            buffer.append('a');
+        }
+
+        assertThat(SigningBuffer.get().append("b").toString()).isEqualTo("b");
+    }
+
+    private static byte[] digest(SigningBuffer buffer) throws Exception {
+        MessageDigest md = MessageDigest.getInstance("SHA-256");
+        buffer.update(md);
+        return md.digest();
+    }
+
+    private static byte[] digest(String value) throws Exception {
+        return MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
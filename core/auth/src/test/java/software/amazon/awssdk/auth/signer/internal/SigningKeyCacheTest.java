@@ -0,0 +1,88 @@
+/*
+ * Copyright 2010-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.auth.signer.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+public class SigningKeyCacheTest {
+
+    private static final long DAY = 18000;
+
+    @Test
+    public void get_returnsAddedKey_andCountsHitsAndMisses() {
+        SigningKeyCache cache = new SigningKeyCache(10);
+        assertThat(cache.get("secret", "us-east-1", "s3", DAY)).isNull();
+
+        SignerKey key = signerKey(DAY);
+        cache.add("secret", "us-east-1", "s3", key);
+
+        assertThat(cache.get("secret", "us-east-1", "s3", DAY)).isSameAs(key);
+        assertThat(cache.hitCount()).isEqualTo(1);
+        assertThat(cache.missCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void get_distinguishesEveryPartOfTheScope() {
+        SigningKeyCache cache = new SigningKeyCache(10);
+        cache.add("secret", "us-east-1", "s3", signerKey(DAY));
+
+        assertThat(cache.get("other-secret", "us-east-1", "s3", DAY)).isNull();
+        assertThat(cache.get("secret", "us-west-2", "s3", DAY)).isNull();
+        assertThat(cache.get("secret", "us-east-1", "sqs", DAY)).isNull();
+        assertThat(cache.get("secret", "us-east-1", "s3", DAY + 1)).isNull();
+    }
+
+    @Test
+    public void add_sameScope_replacesExistingEntry() {
+        SigningKeyCache cache = new SigningKeyCache(1);
+        SignerKey newKey = signerKey(DAY);
+        cache.add("secret", "us-east-1", "s3", signerKey(DAY));
+        cache.add("secret", "us-east-1", "s3", newKey);
+
+        assertThat(cache.get("secret", "us-east-1", "s3", DAY)).isSameAs(newKey);
+    }
+
+    @Test
+    public void add_whenFull_evictsLeastRecentlyUsedEntry() {
+        SigningKeyCache cache = new SigningKeyCache(1);
+        int capacity = cache.getMaxSize();
+        for (int i = 0; i < capacity; i++) {
+            cache.add("secret", "region-" + i, "s3", signerKey(DAY));
+        }
+
+        // Use the first entry so that the second one becomes the least recently used one.
+        assertThat(cache.get("secret", "region-0", "s3", DAY)).isNotNull();
+        cache.add("secret", "region-new", "s3", signerKey(DAY));
+
+        assertThat(cache.get("secret", "region-1", "s3", DAY)).isNull();
+        assertThat(cache.get("secret", "region-0", "s3", DAY)).isNotNull();
+        assertThat(cache.get("secret", "region-new", "s3", DAY)).isNotNull();
+        for (int i = 2; i < capacity; i++) {
+            assertThat(cache.get("secret", "region-" + i, "s3", DAY)).isNotNull();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void zeroSize_isRejected() {
+        new SigningKeyCache(0);
+    }
+
+    private static SignerKey signerKey(long day) {
+        return new SignerKey(day, new byte[] {1, 2, 3});
+    }
+}
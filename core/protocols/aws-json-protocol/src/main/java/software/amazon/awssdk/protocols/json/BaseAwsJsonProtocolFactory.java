@@ -71,6 +71,7 @@ public abstract class BaseAwsJsonProtocolFactory {
         this.protocolUnmarshaller = JsonProtocolUnmarshaller
             .builder()
             .parser(JsonDomParser.create(getSdkFactory().getJsonFactory()))
+            .jsonFactory(getSdkFactory().getJsonFactory())
             .defaultTimestampFormats(getDefaultTimestampFormats())
             .build();
     }
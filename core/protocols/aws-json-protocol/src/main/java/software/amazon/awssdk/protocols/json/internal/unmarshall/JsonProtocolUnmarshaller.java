@@ -17,6 +17,7 @@ package software.amazon.awssdk.protocols.json.internal.unmarshall;
 
 import static software.amazon.awssdk.protocols.core.StringToValueConverter.TO_SDK_BYTES;
 
+import com.fasterxml.jackson.core.JsonFactory;
 import java.io.IOException;
 import java.time.Instant;
 import java.util.HashMap;
@@ -45,6 +46,10 @@ import software.amazon.awssdk.utils.builder.Buildable;
 /**
  * Unmarshaller implementation for both JSON RPC and REST JSON services. This class is thread-safe and it is
  * recommended to reuse a single instance for best performance.
+ *
+ * <p>When a {@link JsonFactory} is configured, response payloads are unmarshalled directly from the parser's token stream by
+ * {@link JsonStreamingUnmarshaller}. The {@link JsonDomParser} is used for payloads that are bound to a single explicit payload
+ * member, and for callers that already have a parsed {@link SdkJsonNode} (e.g. error unmarshalling).
  */
 @SdkInternalApi
 @ThreadSafe
@@ -56,10 +61,15 @@ public final class JsonProtocolUnmarshaller {
 
     private final JsonDomParser parser;
 
+    private final JsonStreamingUnmarshaller streamingUnmarshaller;
+
     private JsonProtocolUnmarshaller(Builder builder) {
         this.parser = builder.parser;
         this.instantStringToValue = StringToInstant.create(new HashMap<>(builder.defaultTimestampFormats));
         this.registry = createUnmarshallerRegistry(instantStringToValue);
+        this.streamingUnmarshaller = builder.jsonFactory == null ? null
+                                                                 : new JsonStreamingUnmarshaller(builder.jsonFactory,
+                                                                                                 instantStringToValue);
     }
 
     private static JsonUnmarshallerRegistry createUnmarshallerRegistry(
@@ -164,6 +174,9 @@ public final class JsonProtocolUnmarshaller {
     public <TypeT extends SdkPojo> TypeT unmarshall(SdkPojo sdkPojo,
                             SdkHttpFullResponse response) throws IOException {
         if (hasPayloadMembers(sdkPojo) && !hasExplicitBlobPayloadMember(sdkPojo)) {
+            if (streamingUnmarshaller != null && !hasExplicitPayloadMember(sdkPojo)) {
+                return unmarshallStreaming(sdkPojo, response);
+            }
             SdkJsonNode jsonNode = parser.parse(ReleasableInputStream.wrap(response.content().orElse(null)).disableClose());
             return unmarshall(sdkPojo, response, jsonNode);
         } else {
@@ -171,6 +184,36 @@ public final class JsonProtocolUnmarshaller {
         }
     }
 
+    /**
+     * Unmarshalls the non-payload members (headers, status code) through the unmarshaller registry and streams the payload
+     * members directly from the response content.
+     */
+    @SuppressWarnings("unchecked")
+    private <TypeT extends SdkPojo> TypeT unmarshallStreaming(SdkPojo sdkPojo, SdkHttpFullResponse response) throws IOException {
+        JsonUnmarshallerContext context = JsonUnmarshallerContext.builder()
+                                                                 .unmarshallerRegistry(registry)
+                                                                 .response(response)
+                                                                 .build();
+        for (SdkField<?> field : sdkPojo.sdkFields()) {
+            if (field.location() != MarshallLocation.PAYLOAD) {
+                JsonUnmarshaller<Object> unmarshaller = context.getUnmarshaller(field.location(), field.marshallingType());
+                field.set(sdkPojo, unmarshaller.unmarshall(context, null, (SdkField<Object>) field));
+            }
+        }
+
+        if (response.content().isPresent()) {
+            streamingUnmarshaller.unmarshallPayload(sdkPojo,
+                                                    ReleasableInputStream.wrap(response.content().get()).disableClose());
+        }
+        return (TypeT) ((Buildable) sdkPojo).build();
+    }
+
+    private boolean hasExplicitPayloadMember(SdkPojo sdkPojo) {
+        return sdkPojo.sdkFields()
+                      .stream()
+                      .anyMatch(JsonProtocolUnmarshaller::isExplicitPayloadMember);
+    }
+
     private boolean hasExplicitBlobPayloadMember(SdkPojo sdkPojo) {
         return sdkPojo.sdkFields()
                       .stream()
@@ -233,6 +276,7 @@ public final class JsonProtocolUnmarshaller {
     public static final class Builder {
 
         private JsonDomParser parser;
+        private JsonFactory jsonFactory;
         private Map<MarshallLocation, TimestampFormatTrait.Format> defaultTimestampFormats;
 
         private Builder() {
@@ -247,6 +291,16 @@ public final class JsonProtocolUnmarshaller {
             return this;
         }
 
+        /**
+         * @param jsonFactory Factory used to create the parser for streaming unmarshalling of response payloads. If not set,
+         * payloads are always parsed into a DOM with the configured {@link #parser(JsonDomParser)}.
+         * @return This builder for method chaining.
+         */
+        public Builder jsonFactory(JsonFactory jsonFactory) {
+            this.jsonFactory = jsonFactory;
+            return this;
+        }
+
         /**
          * @param formats The default timestamp formats for each location in the HTTP response.
          * @return This builder for method chaining.
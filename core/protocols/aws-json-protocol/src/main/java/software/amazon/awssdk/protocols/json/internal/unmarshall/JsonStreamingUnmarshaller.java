@@ -0,0 +1,221 @@
+/*
+ * Copyright 2010-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.protocols.json.internal.unmarshall;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.core.SdkField;
+import software.amazon.awssdk.core.SdkPojo;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.core.protocol.MarshallLocation;
+import software.amazon.awssdk.core.protocol.MarshallingType;
+import software.amazon.awssdk.core.traits.ListTrait;
+import software.amazon.awssdk.core.traits.MapTrait;
+import software.amazon.awssdk.protocols.core.StringToValueConverter;
+import software.amazon.awssdk.utils.builder.Buildable;
+
+/**
+ * Unmarshalls the JSON payload of a response directly from the token stream of a Jackson {@link JsonParser} into the builders
+ * of the response {@link SdkPojo}, without first parsing the document into an
+ * {@link software.amazon.awssdk.protocols.json.internal.dom.SdkJsonNode} tree.
+ *
+ * <p>Only payload members are handled here. Members bound to other locations (headers, status code) are unmarshalled by
+ * {@link JsonProtocolUnmarshaller}. Members that are not modeled on the POJO are skipped without being materialized.
+ *
+ * <p>Values are converted with the same {@link StringToValueConverter}s as the DOM based path so that both produce identical
+ * results.
+ */
+@SdkInternalApi
+@ThreadSafe
+final class JsonStreamingUnmarshaller {
+
+    private final JsonFactory jsonFactory;
+    private final Map<MarshallingType<?>, StringToValueConverter.StringToValue<?>> scalarConverters;
+
+    /**
+     * Payload fields of each POJO type, keyed by the member's location name in the JSON document.
+     */
+    private final Map<Class<?>, Map<String, SdkField<?>>> payloadFieldsByType = new ConcurrentHashMap<>();
+
+    JsonStreamingUnmarshaller(JsonFactory jsonFactory, StringToValueConverter.StringToValue<Instant> instantStringToValue) {
+        this.jsonFactory = jsonFactory;
+        this.scalarConverters = new HashMap<>();
+        scalarConverters.put(MarshallingType.STRING, StringToValueConverter.TO_STRING);
+        scalarConverters.put(MarshallingType.INTEGER, StringToValueConverter.TO_INTEGER);
+        scalarConverters.put(MarshallingType.LONG, StringToValueConverter.TO_LONG);
+        scalarConverters.put(MarshallingType.FLOAT, StringToValueConverter.TO_FLOAT);
+        scalarConverters.put(MarshallingType.DOUBLE, StringToValueConverter.TO_DOUBLE);
+        scalarConverters.put(MarshallingType.BIG_DECIMAL, StringToValueConverter.TO_BIG_DECIMAL);
+        scalarConverters.put(MarshallingType.BOOLEAN, StringToValueConverter.TO_BOOLEAN);
+        scalarConverters.put(MarshallingType.INSTANT, instantStringToValue);
+    }
+
+    /**
+     * Populate the payload members of the provided POJO builder from the JSON document in the provided stream. The stream is
+     * not closed.
+     */
+    void unmarshallPayload(SdkPojo sdkPojo, InputStream content) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(content)
+                                            .configure(JsonParser.Feature.AUTO_CLOSE_SOURCE, false)) {
+            JsonToken token = parser.nextToken();
+            if (token == null || token == JsonToken.VALUE_NULL) {
+                return;
+            }
+            expectToken(JsonToken.START_OBJECT, token);
+            populateFields(sdkPojo, parser);
+        }
+    }
+
+    /**
+     * Reads the members of a JSON object, starting after its {@link JsonToken#START_OBJECT} token, into the POJO builder.
+     */
+    private void populateFields(SdkPojo sdkPojo, JsonParser parser) throws IOException {
+        Map<String, SdkField<?>> fields = payloadFields(sdkPojo);
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            SdkField<?> field = fields.get(parser.getCurrentName());
+            JsonToken valueToken = parser.nextToken();
+            if (field == null) {
+                parser.skipChildren();
+            } else {
+                setField(sdkPojo, field, readValue(field, parser, valueToken));
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void setField(SdkPojo sdkPojo, SdkField<?> field, Object value) {
+        ((SdkField<Object>) field).set(sdkPojo, value);
+    }
+
+    private Object readValue(SdkField<?> field, JsonParser parser, JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+
+        MarshallingType<?> type = field.marshallingType();
+        if (type == MarshallingType.SDK_POJO) {
+            expectToken(JsonToken.START_OBJECT, token);
+            SdkPojo pojo = field.constructor().get();
+            populateFields(pojo, parser);
+            return ((Buildable) pojo).build();
+        }
+        if (type == MarshallingType.LIST) {
+            return readList(field, parser, token);
+        }
+        if (type == MarshallingType.MAP) {
+            return readMap(field, parser, token);
+        }
+        if (type == MarshallingType.SDK_BYTES) {
+            return readBytes(field, parser, token);
+        }
+        return readScalar(field, parser, token);
+    }
+
+    private List<Object> readList(SdkField<?> field, JsonParser parser, JsonToken token) throws IOException {
+        expectToken(JsonToken.START_ARRAY, token);
+        SdkField<?> memberInfo = field.getTrait(ListTrait.class).memberFieldInfo();
+        List<Object> list = new ArrayList<>();
+        JsonToken itemToken = parser.nextToken();
+        while (itemToken != JsonToken.END_ARRAY) {
+            list.add(readValue(memberInfo, parser, itemToken));
+            itemToken = parser.nextToken();
+        }
+        return list;
+    }
+
+    private Map<String, Object> readMap(SdkField<?> field, JsonParser parser, JsonToken token) throws IOException {
+        expectToken(JsonToken.START_OBJECT, token);
+        SdkField<?> valueInfo = field.getTrait(MapTrait.class).valueFieldInfo();
+        Map<String, Object> map = new HashMap<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String key = parser.getCurrentName();
+            map.put(key, readValue(valueInfo, parser, parser.nextToken()));
+        }
+        return map;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static SdkBytes readBytes(SdkField<?> field, JsonParser parser, JsonToken token) throws IOException {
+        // Binary protocols like CBOR may already have the raw bytes extracted.
+        if (token == JsonToken.VALUE_EMBEDDED_OBJECT) {
+            return SdkBytes.fromByteArray((byte[]) parser.getEmbeddedObject());
+        }
+        // Otherwise decode the JSON string as Base64
+        return StringToValueConverter.TO_SDK_BYTES.convert(scalarText(parser, token), (SdkField<SdkBytes>) field);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object readScalar(SdkField<?> field, JsonParser parser, JsonToken token) throws IOException {
+        StringToValueConverter.StringToValue<Object> converter =
+            (StringToValueConverter.StringToValue<Object>) scalarConverters.get(field.marshallingType());
+        if (converter == null) {
+            throw SdkClientException.create("Unable to unmarshall member " + field.locationName() + " of type "
+                                            + field.marshallingType());
+        }
+        return converter.convert(scalarText(parser, token), (SdkField<Object>) field);
+    }
+
+    /**
+     * The textual form of a scalar token, matching the representation used by the DOM parser.
+     */
+    private static String scalarText(JsonParser parser, JsonToken token) throws IOException {
+        switch (token) {
+            case VALUE_STRING:
+                return parser.getText();
+            case VALUE_TRUE:
+                return "true";
+            case VALUE_FALSE:
+                return "false";
+            case VALUE_NUMBER_INT:
+            case VALUE_NUMBER_FLOAT:
+                return parser.getNumberValue().toString();
+            case VALUE_EMBEDDED_OBJECT:
+                return null;
+            default:
+                throw SdkClientException.create("Unexpected JSON token - " + token);
+        }
+    }
+
+    private Map<String, SdkField<?>> payloadFields(SdkPojo sdkPojo) {
+        return payloadFieldsByType.computeIfAbsent(sdkPojo.getClass(), c -> {
+            Map<String, SdkField<?>> fields = new HashMap<>();
+            for (SdkField<?> field : sdkPojo.sdkFields()) {
+                if (field.location() == MarshallLocation.PAYLOAD) {
+                    fields.put(field.locationName(), field);
+                }
+            }
+            return fields;
+        });
+    }
+
+    private static void expectToken(JsonToken expected, JsonToken actual) {
+        if (expected != actual) {
+            throw SdkClientException.create("Unexpected JSON token - " + actual + ", expected " + expected);
+        }
+    }
+}
@@ -0,0 +1,415 @@
+/*
+ * Copyright 2010-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.protocols.json.internal.unmarshall;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import org.junit.Test;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.core.SdkField;
+import software.amazon.awssdk.core.SdkPojo;
+import software.amazon.awssdk.core.protocol.MarshallLocation;
+import software.amazon.awssdk.core.protocol.MarshallingType;
+import software.amazon.awssdk.core.traits.ListTrait;
+import software.amazon.awssdk.core.traits.LocationTrait;
+import software.amazon.awssdk.core.traits.MapTrait;
+import software.amazon.awssdk.core.traits.PayloadTrait;
+import software.amazon.awssdk.core.traits.TimestampFormatTrait;
+import software.amazon.awssdk.core.traits.Trait;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.http.SdkHttpFullResponse;
+import software.amazon.awssdk.protocols.json.internal.dom.JsonDomParser;
+import software.amazon.awssdk.utils.builder.Buildable;
+
+/**
+ * Unmarshalls the same responses through the streaming path and the DOM path of {@link JsonProtocolUnmarshaller}, and checks
+ * that both produce the same POJOs.
+ */
+public class JsonStreamingUnmarshallerTest {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private static final JsonProtocolUnmarshaller STREAMING_UNMARSHALLER = unmarshaller(true);
+
+    private static final JsonProtocolUnmarshaller DOM_UNMARSHALLER = unmarshaller(false);
+
+    @Test
+    public void scalars_sameAsDom() throws IOException {
+        AllTypesPojo pojo = assertSameAsDom(AllTypesPojo::new, response("{"
+                                                                        + "\"StringMember\":\"foo\","
+                                                                        + "\"IntegerMember\":42,"
+                                                                        + "\"LongMember\":9223372036854775807,"
+                                                                        + "\"FloatMember\":1.5,"
+                                                                        + "\"DoubleMember\":2.25E-3,"
+                                                                        + "\"BigDecimalMember\":123.456,"
+                                                                        + "\"BooleanMember\":false"
+                                                                        + "}"));
+
+        assertThat(pojo.get("StringMember")).isEqualTo("foo");
+        assertThat(pojo.get("IntegerMember")).isEqualTo(42);
+        assertThat(pojo.get("LongMember")).isEqualTo(Long.MAX_VALUE);
+        assertThat(pojo.get("FloatMember")).isEqualTo(1.5f);
+        assertThat(pojo.get("DoubleMember")).isEqualTo(0.00225);
+        assertThat(pojo.get("BigDecimalMember")).isEqualTo(new BigDecimal("123.456"));
+        assertThat(pojo.get("BooleanMember")).isEqualTo(false);
+    }
+
+    @Test
+    public void nestedStructs_sameAsDom() throws IOException {
+        AllTypesPojo pojo = assertSameAsDom(AllTypesPojo::new, response("{\"NestedMember\":{"
+                                                                        + "\"StringMember\":\"outer\","
+                                                                        + "\"NestedMember\":{"
+                                                                        + "\"StringMember\":\"inner\","
+                                                                        + "\"NestedMember\":{}"
+                                                                        + "}}}"));
+
+        NestedPojo outer = (NestedPojo) pojo.get("NestedMember");
+        NestedPojo inner = (NestedPojo) outer.get("NestedMember");
+        assertThat(outer.get("StringMember")).isEqualTo("outer");
+        assertThat(inner.get("StringMember")).isEqualTo("inner");
+        assertThat(inner.get("NestedMember")).isEqualTo(new NestedPojo());
+    }
+
+    @Test
+    public void listsAndMapsContainingNulls_sameAsDom() throws IOException {
+        AllTypesPojo pojo = assertSameAsDom(AllTypesPojo::new, response("{"
+                                                                        + "\"ListOfStrings\":[\"a\",null,\"b\"],"
+                                                                        + "\"ListOfStructs\":[{\"StringMember\":\"a\"},null],"
+                                                                        + "\"ListOfLists\":[[\"a\"],null,[]],"
+                                                                        + "\"MapOfStrings\":{\"a\":\"b\",\"c\":null},"
+                                                                        + "\"MapOfStructs\":{\"a\":{\"StringMember\":\"b\"},"
+                                                                        + "\"c\":null}"
+                                                                        + "}"));
+
+        assertThat((List<?>) pojo.get("ListOfStrings")).containsExactly("a", null, "b");
+        assertThat((List<?>) pojo.get("ListOfLists")).containsExactly(Collections.singletonList("a"), null,
+                                                                       Collections.emptyList());
+        Map<String, Object> expectedStrings = new HashMap<>();
+        expectedStrings.put("a", "b");
+        expectedStrings.put("c", null);
+        assertThat(pojo.get("MapOfStrings")).isEqualTo(expectedStrings);
+        assertThat((Map<?, ?>) pojo.get("MapOfStructs")).hasSize(2);
+    }
+
+    @Test
+    public void nullMembers_sameAsDom() throws IOException {
+        AllTypesPojo pojo = assertSameAsDom(AllTypesPojo::new, response("{"
+                                                                        + "\"StringMember\":null,"
+                                                                        + "\"NestedMember\":null,"
+                                                                        + "\"ListOfStrings\":null,"
+                                                                        + "\"MapOfStrings\":null,"
+                                                                        + "\"BlobMember\":null"
+                                                                        + "}"));
+
+        assertThat(pojo).isEqualTo(new AllTypesPojo());
+    }
+
+    @Test
+    public void unknownMembers_skipped() throws IOException {
+        AllTypesPojo pojo = assertSameAsDom(AllTypesPojo::new, response("{"
+                                                                        + "\"UnknownObject\":{\"StringMember\":\"x\","
+                                                                        + "\"Nested\":[{\"a\":[1,{\"b\":null}]}]},"
+                                                                        + "\"StringMember\":\"foo\","
+                                                                        + "\"UnknownList\":[[1,2],[\"3\"],{}],"
+                                                                        + "\"NestedMember\":{\"Unknown\":true,"
+                                                                        + "\"StringMember\":\"bar\"},"
+                                                                        + "\"UnknownScalar\":1.5e10,"
+                                                                        + "\"UnknownNull\":null"
+                                                                        + "}"));
+
+        assertThat(pojo.get("StringMember")).isEqualTo("foo");
+        assertThat(((NestedPojo) pojo.get("NestedMember")).get("StringMember")).isEqualTo("bar");
+    }
+
+    @Test
+    public void timestampsInEachFormat_sameAsDom() throws IOException {
+        Instant expected = Instant.parse("2019-01-30T16:00:00.123Z");
+        Instant expectedSeconds = Instant.parse("2019-01-30T16:00:00Z");
+        AllTypesPojo pojo = assertSameAsDom(AllTypesPojo::new, response("{"
+                                                                        + "\"DefaultTimestampMember\":1548864000.123,"
+                                                                        + "\"UnixTimestampMember\":1548864000,"
+                                                                        + "\"IsoTimestampMember\":\"2019-01-30T16:00:00.123Z\","
+                                                                        + "\"Rfc822TimestampMember\":"
+                                                                        + "\"Wed, 30 Jan 2019 16:00:00 GMT\","
+                                                                        + "\"NestedMember\":{\"TimestampMember\":1548864000.123}"
+                                                                        + "}"));
+
+        assertThat(pojo.get("DefaultTimestampMember")).isEqualTo(expected);
+        assertThat(pojo.get("UnixTimestampMember")).isEqualTo(expectedSeconds);
+        assertThat(pojo.get("IsoTimestampMember")).isEqualTo(expected);
+        assertThat(pojo.get("Rfc822TimestampMember")).isEqualTo(expectedSeconds);
+        assertThat(((NestedPojo) pojo.get("NestedMember")).get("TimestampMember")).isEqualTo(expected);
+    }
+
+    @Test
+    public void blobs_sameAsDom() throws IOException {
+        AllTypesPojo pojo = assertSameAsDom(AllTypesPojo::new, response("{"
+                                                                        + "\"BlobMember\":\"aGVsbG8=\","
+                                                                        + "\"ListOfBlobs\":[\"Zm9v\",null,\"\"]"
+                                                                        + "}"));
+
+        assertThat(pojo.get("BlobMember")).isEqualTo(SdkBytes.fromUtf8String("hello"));
+        assertThat((List<?>) pojo.get("ListOfBlobs")).containsExactly(SdkBytes.fromUtf8String("foo"), null,
+                                                                       SdkBytes.fromUtf8String(""));
+    }
+
+    @Test
+    public void headersAndStatusCodeMixedWithPayload_sameAsDom() throws IOException {
+        SdkHttpFullResponse.Builder response = response("{\"StringMember\":\"payload\","
+                                                        + "\"NestedMember\":{\"StringMember\":\"nested\"}}")
+            .statusCode(202)
+            .putHeader("x-amz-string", "header")
+            .putHeader("x-amz-integer", "7")
+            .putHeader("x-amz-timestamp", "Wed, 30 Jan 2019 16:00:00 GMT");
+
+        HeadersAndPayloadPojo pojo = assertSameAsDom(HeadersAndPayloadPojo::new, response);
+
+        assertThat(pojo.get("StringHeader")).isEqualTo("header");
+        assertThat(pojo.get("IntegerHeader")).isEqualTo(7);
+        assertThat(pojo.get("TimestampHeader")).isEqualTo(Instant.parse("2019-01-30T16:00:00Z"));
+        assertThat(pojo.get("StatusCode")).isEqualTo(202);
+        assertThat(pojo.get("StringMember")).isEqualTo("payload");
+        assertThat(((NestedPojo) pojo.get("NestedMember")).get("StringMember")).isEqualTo("nested");
+    }
+
+    @Test
+    public void headersAndStatusCodeWithoutPayload_sameAsDom() throws IOException {
+        HeadersAndPayloadPojo pojo = assertSameAsDom(HeadersAndPayloadPojo::new,
+                                                     response("").statusCode(204).putHeader("x-amz-string", "header"));
+
+        assertThat(pojo.get("StringHeader")).isEqualTo("header");
+        assertThat(pojo.get("StatusCode")).isEqualTo(204);
+        assertThat(pojo.get("StringMember")).isNull();
+    }
+
+    @Test
+    public void explicitPayloadMember_sameAsDom() throws IOException {
+        SdkHttpFullResponse.Builder response = response("{\"StringMember\":\"payload\",\"Unknown\":[1],"
+                                                        + "\"TimestampMember\":1548864000}")
+            .putHeader("x-amz-string", "header");
+
+        ExplicitPayloadPojo pojo = assertSameAsDom(ExplicitPayloadPojo::new, response);
+
+        NestedPojo payload = (NestedPojo) pojo.get("PayloadMember");
+        assertThat(pojo.get("StringHeader")).isEqualTo("header");
+        assertThat(payload.get("StringMember")).isEqualTo("payload");
+        assertThat(payload.get("TimestampMember")).isEqualTo(Instant.parse("2019-01-30T16:00:00Z"));
+    }
+
+    @Test
+    public void emptyAndNullDocuments_sameAsDom() throws IOException {
+        assertThat(assertSameAsDom(AllTypesPojo::new, response("{}"))).isEqualTo(new AllTypesPojo());
+        assertThat(assertSameAsDom(AllTypesPojo::new, response("null"))).isEqualTo(new AllTypesPojo());
+    }
+
+    private static <T extends TestPojo> T assertSameAsDom(Supplier<T> pojoSupplier,
+                                                          SdkHttpFullResponse.Builder response) throws IOException {
+        T streamed = STREAMING_UNMARSHALLER.unmarshall(pojoSupplier.get(), copyOf(response));
+        T parsed = DOM_UNMARSHALLER.unmarshall(pojoSupplier.get(), copyOf(response));
+        assertThat(streamed).isEqualTo(parsed);
+        return streamed;
+    }
+
+    /**
+     * Each unmarshaller consumes the content of the response, so every unmarshaller gets its own copy of it.
+     */
+    private static SdkHttpFullResponse copyOf(SdkHttpFullResponse.Builder response) throws IOException {
+        SdkHttpFullResponse.Builder copy = response.build().toBuilder();
+        if (response.content() != null) {
+            byte[] content = SdkBytes.fromInputStream(response.content()).asByteArray();
+            response.content(AbortableInputStream.create(SdkBytes.fromByteArray(content).asInputStream()));
+            copy.content(AbortableInputStream.create(SdkBytes.fromByteArray(content).asInputStream()));
+        }
+        return copy.build();
+    }
+
+    private static SdkHttpFullResponse.Builder response(String json) {
+        return SdkHttpFullResponse.builder()
+                                  .statusCode(200)
+                                  .content(AbortableInputStream.create(
+                                      SdkBytes.fromString(json, StandardCharsets.UTF_8).asInputStream()));
+    }
+
+    private static JsonProtocolUnmarshaller unmarshaller(boolean streaming) {
+        Map<MarshallLocation, TimestampFormatTrait.Format> formats = new HashMap<>();
+        formats.put(MarshallLocation.HEADER, TimestampFormatTrait.Format.RFC_822);
+        formats.put(MarshallLocation.PAYLOAD, TimestampFormatTrait.Format.UNIX_TIMESTAMP);
+        return JsonProtocolUnmarshaller.builder()
+                                       .parser(JsonDomParser.create(JSON_FACTORY))
+                                       .jsonFactory(streaming ? JSON_FACTORY : null)
+                                       .defaultTimestampFormats(formats)
+                                       .build();
+    }
+
+    private static <T> SdkField<T> field(MarshallingType<? super T> type, MarshallLocation location, String memberName,
+                                         String locationName, Trait... traits) {
+        return fieldBuilder(type, location, memberName, locationName, traits).build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> SdkField.Builder<T> fieldBuilder(MarshallingType<? super T> type, MarshallLocation location,
+                                                        String memberName, String locationName, Trait... traits) {
+        Trait[] allTraits = Arrays.copyOf(traits, traits.length + 1);
+        allTraits[traits.length] = LocationTrait.builder().location(location).locationName(locationName).build();
+        return SdkField.<T>builder(type)
+                       .getter(p -> (T) ((TestPojo) p).get(memberName))
+                       .setter((p, v) -> ((TestPojo) p).set(memberName, v))
+                       .traits(allTraits);
+    }
+
+    private static <T> SdkField<T> payloadField(MarshallingType<? super T> type, String name, Trait... traits) {
+        return field(type, MarshallLocation.PAYLOAD, name, name, traits);
+    }
+
+    private static SdkField<NestedPojo> nestedField(String name, Trait... traits) {
+        return JsonStreamingUnmarshallerTest.<NestedPojo>fieldBuilder(MarshallingType.SDK_POJO, MarshallLocation.PAYLOAD,
+                                                                      name, name, traits)
+            .constructor(NestedPojo::new)
+            .build();
+    }
+
+    private static <T> SdkField<List<T>> listField(String name, SdkField<T> memberField) {
+        return payloadField(MarshallingType.LIST, name, ListTrait.builder().memberFieldInfo(memberField).build());
+    }
+
+    private static <T> SdkField<Map<String, T>> mapField(String name, SdkField<T> valueField) {
+        return payloadField(MarshallingType.MAP, name, MapTrait.builder()
+                                                               .keyLocationName("key")
+                                                               .valueLocationName("value")
+                                                               .valueFieldInfo(valueField)
+                                                               .build());
+    }
+
+    /**
+     * A POJO that acts as its own builder and stores its members by name. Members that are unmarshalled to null are not
+     * stored, like in the generated builders.
+     */
+    private abstract static class TestPojo implements SdkPojo, Buildable {
+        private final Map<String, Object> values = new HashMap<>();
+
+        Object get(String name) {
+            return values.get(name);
+        }
+
+        void set(String name, Object value) {
+            if (value == null) {
+                values.remove(name);
+            } else {
+                values.put(name, value);
+            }
+        }
+
+        @Override
+        public Object build() {
+            return this;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o != null && o.getClass() == getClass() && values.equals(((TestPojo) o).values);
+        }
+
+        @Override
+        public int hashCode() {
+            return values.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return getClass().getSimpleName() + values;
+        }
+    }
+
+    private static final class NestedPojo extends TestPojo {
+        private static final List<SdkField<?>> FIELDS = Arrays.asList(
+            payloadField(MarshallingType.STRING, "StringMember"),
+            payloadField(MarshallingType.INSTANT, "TimestampMember"),
+            nestedField("NestedMember"));
+
+        @Override
+        public List<SdkField<?>> sdkFields() {
+            return FIELDS;
+        }
+    }
+
+    private static final class AllTypesPojo extends TestPojo {
+        private static final List<SdkField<?>> FIELDS = Arrays.asList(
+            payloadField(MarshallingType.STRING, "StringMember"),
+            payloadField(MarshallingType.INTEGER, "IntegerMember"),
+            payloadField(MarshallingType.LONG, "LongMember"),
+            payloadField(MarshallingType.FLOAT, "FloatMember"),
+            payloadField(MarshallingType.DOUBLE, "DoubleMember"),
+            payloadField(MarshallingType.BIG_DECIMAL, "BigDecimalMember"),
+            payloadField(MarshallingType.BOOLEAN, "BooleanMember"),
+            payloadField(MarshallingType.INSTANT, "DefaultTimestampMember"),
+            payloadField(MarshallingType.INSTANT, "UnixTimestampMember",
+                         TimestampFormatTrait.create(TimestampFormatTrait.Format.UNIX_TIMESTAMP)),
+            payloadField(MarshallingType.INSTANT, "IsoTimestampMember",
+                         TimestampFormatTrait.create(TimestampFormatTrait.Format.ISO_8601)),
+            payloadField(MarshallingType.INSTANT, "Rfc822TimestampMember",
+                         TimestampFormatTrait.create(TimestampFormatTrait.Format.RFC_822)),
+            payloadField(MarshallingType.SDK_BYTES, "BlobMember"),
+            nestedField("NestedMember"),
+            listField("ListOfStrings", payloadField(MarshallingType.STRING, "member")),
+            listField("ListOfStructs", nestedField("member")),
+            listField("ListOfLists", listField("member", payloadField(MarshallingType.STRING, "member"))),
+            listField("ListOfBlobs", payloadField(MarshallingType.SDK_BYTES, "member")),
+            mapField("MapOfStrings", payloadField(MarshallingType.STRING, "value")),
+            mapField("MapOfStructs", nestedField("value")));
+
+        @Override
+        public List<SdkField<?>> sdkFields() {
+            return FIELDS;
+        }
+    }
+
+    private static final class HeadersAndPayloadPojo extends TestPojo {
+        private static final List<SdkField<?>> FIELDS = Arrays.asList(
+            field(MarshallingType.STRING, MarshallLocation.HEADER, "StringHeader", "x-amz-string"),
+            payloadField(MarshallingType.STRING, "StringMember"),
+            field(MarshallingType.INTEGER, MarshallLocation.HEADER, "IntegerHeader", "x-amz-integer"),
+            field(MarshallingType.INTEGER, MarshallLocation.STATUS_CODE, "StatusCode", null),
+            nestedField("NestedMember"),
+            field(MarshallingType.INSTANT, MarshallLocation.HEADER, "TimestampHeader", "x-amz-timestamp"));
+
+        @Override
+        public List<SdkField<?>> sdkFields() {
+            return FIELDS;
+        }
+    }
+
+    private static final class ExplicitPayloadPojo extends TestPojo {
+        private static final List<SdkField<?>> FIELDS = Arrays.asList(
+            field(MarshallingType.STRING, MarshallLocation.HEADER, "StringHeader", "x-amz-string"),
+            nestedField("PayloadMember", PayloadTrait.create()));
+
+        @Override
+        public List<SdkField<?>> sdkFields() {
+            return FIELDS;
+        }
+    }
+}
@@ -21,6 +21,8 @@ import static software.amazon.awssdk.protocols.query.internal.marshall.SimpleTyp
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import software.amazon.awssdk.annotations.SdkInternalApi;
 import software.amazon.awssdk.core.SdkField;
 import software.amazon.awssdk.core.SdkPojo;
@@ -31,12 +33,17 @@ import software.amazon.awssdk.protocols.core.StringToValueConverter;
 import software.amazon.awssdk.protocols.query.unmarshall.XmlDomParser;
 import software.amazon.awssdk.protocols.query.unmarshall.XmlElement;
 import software.amazon.awssdk.protocols.query.unmarshall.XmlErrorUnmarshaller;
+import software.amazon.awssdk.protocols.query.unmarshall.XmlStreamingUnmarshaller;
 import software.amazon.awssdk.utils.CollectionUtils;
 import software.amazon.awssdk.utils.Pair;
 import software.amazon.awssdk.utils.builder.Buildable;
 
 /**
  * Unmarshaller implementation for AWS/Query and EC2 services.
+ *
+ * <p>Successful responses are unmarshalled straight from the XML stream with {@link XmlStreamingUnmarshaller}. Error
+ * responses are parsed with {@link XmlDomParser} first, since the error code has to be found before the exception POJO
+ * can be chosen.
  */
 @SdkInternalApi
 public final class QueryProtocolUnmarshaller implements XmlErrorUnmarshaller {
@@ -60,6 +67,19 @@ public final class QueryProtocolUnmarshaller implements XmlErrorUnmarshaller {
             context.protocolUnmarshaller().unmarshall(context, field.constructor().get(), content.get(0)))
         .build();
 
+    private static final XmlStreamingUnmarshaller STREAMING_UNMARSHALLER = XmlStreamingUnmarshaller
+        .builder()
+        .scalarConverter(MarshallingType.STRING, StringToValueConverter.TO_STRING)
+        .scalarConverter(MarshallingType.INTEGER, StringToValueConverter.TO_INTEGER)
+        .scalarConverter(MarshallingType.LONG, StringToValueConverter.TO_LONG)
+        .scalarConverter(MarshallingType.FLOAT, StringToValueConverter.TO_FLOAT)
+        .scalarConverter(MarshallingType.DOUBLE, StringToValueConverter.TO_DOUBLE)
+        .scalarConverter(MarshallingType.BOOLEAN, StringToValueConverter.TO_BOOLEAN)
+        .scalarConverter(MarshallingType.INSTANT, StringToInstant.create(defaultTimestampFormats()))
+        .scalarConverter(MarshallingType.SDK_BYTES, StringToValueConverter.TO_SDK_BYTES)
+        .matchAnyListMemberName(true)
+        .build();
+
     private final boolean hasResultWrapper;
 
     private QueryProtocolUnmarshaller(Builder builder) {
@@ -68,11 +88,32 @@ public final class QueryProtocolUnmarshaller implements XmlErrorUnmarshaller {
 
     public <TypeT extends SdkPojo> Pair<TypeT, Map<String, String>> unmarshall(SdkPojo sdkPojo,
                                                                                SdkHttpFullResponse response) {
+        if (response.content().isPresent()) {
+            return unmarshallStreaming(sdkPojo, response);
+        }
+        return unmarshallDom(sdkPojo, response);
+    }
+
+    /**
+     * Unmarshalls the response by parsing it into an {@link XmlElement} tree first. Produces the same result as
+     * {@link #unmarshallStreaming(SdkPojo, SdkHttpFullResponse)}.
+     */
+    <TypeT extends SdkPojo> Pair<TypeT, Map<String, String>> unmarshallDom(SdkPojo sdkPojo, SdkHttpFullResponse response) {
         XmlElement document = response.content().map(XmlDomParser::parse).orElse(XmlElement.empty());
         XmlElement resultRoot = hasResultWrapper ? document.getFirstChild() : document;
         return Pair.of(unmarshall(sdkPojo, resultRoot, response), parseMetadata(document));
     }
 
+    @SuppressWarnings("unchecked")
+    private <TypeT extends SdkPojo> Pair<TypeT, Map<String, String>> unmarshallStreaming(SdkPojo sdkPojo,
+                                                                                        SdkHttpFullResponse response) {
+        Map<String, String> metadata = new HashMap<>();
+        XmlStreamingUnmarshaller.UnmodeledElementHandler metadataHandler =
+            (name, reader) -> readMetadata(name, reader, metadata);
+        STREAMING_UNMARSHALLER.unmarshall(sdkPojo, response.content().get(), hasResultWrapper, metadataHandler);
+        return Pair.of((TypeT) ((Buildable) sdkPojo).build(), metadata);
+    }
+
     /**
      * This method is also used to unmarshall exceptions. We use this since we've already parsed the XML
      * and the result root is in a different location depending on the protocol/service.
@@ -102,7 +143,30 @@ public final class QueryProtocolUnmarshaller implements XmlErrorUnmarshaller {
     }
 
     private String metadataKeyName(XmlElement c) {
-        return c.elementName().equals("RequestId") ? AWS_REQUEST_ID : c.elementName();
+        return metadataKeyName(c.elementName());
+    }
+
+    private String metadataKeyName(String elementName) {
+        return elementName.equals("RequestId") ? AWS_REQUEST_ID : elementName;
+    }
+
+    /**
+     * Streaming counterpart of {@link #parseMetadata(XmlElement)}, invoked for the unmodeled children of the root element.
+     */
+    private boolean readMetadata(String elementName, XMLStreamReader reader, Map<String, String> metadata)
+            throws XMLStreamException {
+        if ("ResponseMetadata".equals(elementName)) {
+            while (XmlStreamingUnmarshaller.nextChildElement(reader)) {
+                String name = reader.getLocalName();
+                metadata.put(metadataKeyName(name), XmlStreamingUnmarshaller.readText(reader));
+            }
+            return true;
+        }
+        if ("requestId".equals(elementName)) {
+            metadata.put(AWS_REQUEST_ID, XmlStreamingUnmarshaller.readText(reader));
+            return true;
+        }
+        return false;
     }
 
     private SdkPojo unmarshall(QueryUnmarshallerContext context, SdkPojo sdkPojo, XmlElement root) {
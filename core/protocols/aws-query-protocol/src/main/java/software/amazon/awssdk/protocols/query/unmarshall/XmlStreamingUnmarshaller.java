@@ -0,0 +1,412 @@
+/*
+ * Copyright 2010-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.protocols.query.unmarshall;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import software.amazon.awssdk.annotations.SdkProtectedApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.core.SdkField;
+import software.amazon.awssdk.core.SdkPojo;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.core.protocol.MarshallLocation;
+import software.amazon.awssdk.core.protocol.MarshallingType;
+import software.amazon.awssdk.core.traits.ListTrait;
+import software.amazon.awssdk.core.traits.MapTrait;
+import software.amazon.awssdk.protocols.core.StringToValueConverter;
+import software.amazon.awssdk.utils.builder.Buildable;
+
+/**
+ * Unmarshalls an XML document directly from a pull based {@link XMLStreamReader} into the builders of an {@link SdkPojo},
+ * without first parsing the document into an {@link XmlElement} tree with {@link XmlDomParser}.
+ *
+ * <p>Only payload members are handled here. Elements that are not modeled on the POJO are skipped without being
+ * materialized. The results are identical to walking the {@link XmlElement} tree: scalars, structures and non-flattened
+ * collections take the first matching element, flattened collections take every matching element.
+ */
+@SdkProtectedApi
+@ThreadSafe
+public final class XmlStreamingUnmarshaller {
+
+    private static final ThreadLocal<XMLInputFactory> FACTORY =
+        ThreadLocal.withInitial(XmlStreamingUnmarshaller::createXmlInputFactory);
+
+    private final Map<MarshallingType<?>, StringToValueConverter.StringToValue<?>> scalarConverters;
+    private final boolean matchAnyListMemberName;
+
+    /**
+     * Payload fields of each POJO type, keyed by the member's unmarshall location name.
+     */
+    private final Map<Class<?>, Map<String, SdkField<?>>> payloadFieldsByType = new ConcurrentHashMap<>();
+
+    private XmlStreamingUnmarshaller(Builder builder) {
+        this.scalarConverters = new HashMap<>(builder.scalarConverters);
+        this.matchAnyListMemberName = builder.matchAnyListMemberName;
+    }
+
+    /**
+     * Populate the payload members of the provided POJO builder from the children of the root element of the XML document
+     * in the provided stream. The stream is not closed and the builder is not built.
+     *
+     * @param sdkPojo Mutable POJO (builder) to populate.
+     * @param content XML document.
+     */
+    public void unmarshall(SdkPojo sdkPojo, InputStream content) {
+        unmarshall(sdkPojo, content, false, null);
+    }
+
+    /**
+     * Populate the payload members of the provided POJO builder from the XML document in the provided stream. The stream is
+     * not closed and the builder is not built.
+     *
+     * @param sdkPojo Mutable POJO (builder) to populate.
+     * @param content XML document.
+     * @param hasResultWrapper True if the members are children of the first child of the root element, false if they are
+     * children of the root element itself.
+     * @param rootElementHandler Optional handler for direct children of the root element that are not mapped to a member.
+     */
+    public void unmarshall(SdkPojo sdkPojo, InputStream content, boolean hasResultWrapper,
+                           UnmodeledElementHandler rootElementHandler) {
+        try {
+            XMLStreamReader reader = FACTORY.get().createXMLStreamReader(content);
+            try {
+                if (!nextStartElement(reader)) {
+                    return;
+                }
+                if (hasResultWrapper) {
+                    unmarshallWrapped(sdkPojo, reader, rootElementHandler);
+                } else {
+                    populateFields(sdkPojo, reader, rootElementHandler);
+                }
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException e) {
+            throw SdkClientException.create("Could not parse XML response.", e);
+        }
+    }
+
+    private void unmarshallWrapped(SdkPojo sdkPojo, XMLStreamReader reader, UnmodeledElementHandler rootElementHandler)
+            throws XMLStreamException {
+        boolean resultRead = false;
+        while (nextChildElement(reader)) {
+            if (rootElementHandler != null && rootElementHandler.handle(reader.getLocalName(), reader)) {
+                // The handler takes precedence even over the first child, so that a response with no result element still
+                // has its metadata read.
+                resultRead = true;
+            } else if (!resultRead) {
+                populateFields(sdkPojo, reader, null);
+                resultRead = true;
+            } else {
+                skipElement(reader);
+            }
+        }
+    }
+
+    /**
+     * Reads the children of the current element into the POJO builder. On return the reader is positioned on the end element.
+     */
+    @SuppressWarnings("unchecked")
+    private void populateFields(SdkPojo sdkPojo, XMLStreamReader reader, UnmodeledElementHandler unmodeledElementHandler)
+            throws XMLStreamException {
+        Map<String, SdkField<?>> fields = payloadFields(sdkPojo);
+        Set<SdkField<?>> populated = null;
+        Map<SdkField<?>, Object> flattened = null;
+
+        while (nextChildElement(reader)) {
+            String elementName = reader.getLocalName();
+            SdkField<?> field = fields.get(elementName);
+            if (field == null) {
+                if (unmodeledElementHandler == null || !unmodeledElementHandler.handle(elementName, reader)) {
+                    skipElement(reader);
+                }
+            } else if (isFlattenedList(field)) {
+                flattened = flattened == null ? new HashMap<>() : flattened;
+                List<Object> list = (List<Object>) flattened.computeIfAbsent(field, f -> new ArrayList<>());
+                list.add(readValue(field.getTrait(ListTrait.class).memberFieldInfo(), reader));
+            } else if (isFlattenedMap(field)) {
+                flattened = flattened == null ? new HashMap<>() : flattened;
+                Map<String, Object> map = (Map<String, Object>) flattened.computeIfAbsent(field, f -> new HashMap<>());
+                readMapEntry(field.getTrait(MapTrait.class), reader, map);
+            } else {
+                populated = populated == null ? new HashSet<>() : populated;
+                if (populated.add(field)) {
+                    field.set(sdkPojo, readValue(field, reader));
+                } else {
+                    skipElement(reader);
+                }
+            }
+        }
+
+        if (flattened != null) {
+            flattened.forEach((field, value) -> field.set(sdkPojo, value));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object readValue(SdkField<?> field, XMLStreamReader reader) throws XMLStreamException {
+        MarshallingType<?> type = field.marshallingType();
+        if (type == MarshallingType.SDK_POJO) {
+            SdkPojo pojo = field.constructor().get();
+            populateFields(pojo, reader, null);
+            return ((Buildable) pojo).build();
+        }
+        if (type == MarshallingType.LIST) {
+            return readList(field.getTrait(ListTrait.class), reader);
+        }
+        if (type == MarshallingType.MAP) {
+            Map<String, Object> map = new HashMap<>();
+            while (nextChildElement(reader)) {
+                if ("entry".equals(reader.getLocalName())) {
+                    readMapEntry(field.getTrait(MapTrait.class), reader, map);
+                } else {
+                    skipElement(reader);
+                }
+            }
+            return map;
+        }
+        if (type == MarshallingType.NULL) {
+            skipElement(reader);
+            return null;
+        }
+
+        StringToValueConverter.StringToValue<Object> converter =
+            (StringToValueConverter.StringToValue<Object>) scalarConverters.get(type);
+        if (converter == null) {
+            throw SdkClientException.create("Unable to unmarshall member " + field.locationName() + " of type " + type);
+        }
+        return converter.convert(readText(reader), (SdkField<Object>) field);
+    }
+
+    private List<Object> readList(ListTrait listTrait, XMLStreamReader reader) throws XMLStreamException {
+        SdkField<?> memberInfo = listTrait.memberFieldInfo();
+        String memberName = listTrait.memberLocationName() != null ? listTrait.memberLocationName()
+                                                                   : memberInfo.locationName();
+        List<Object> list = new ArrayList<>();
+        while (nextChildElement(reader)) {
+            if (matchAnyListMemberName || reader.getLocalName().equals(memberName)) {
+                list.add(readValue(memberInfo, reader));
+            } else {
+                skipElement(reader);
+            }
+        }
+        return list;
+    }
+
+    private void readMapEntry(MapTrait mapTrait, XMLStreamReader reader, Map<String, Object> map)
+            throws XMLStreamException {
+        String key = null;
+        Object value = null;
+        while (nextChildElement(reader)) {
+            String elementName = reader.getLocalName();
+            if (elementName.equals(mapTrait.keyLocationName())) {
+                key = readText(reader);
+            } else if (elementName.equals(mapTrait.valueLocationName())) {
+                value = readValue(mapTrait.valueFieldInfo(), reader);
+            } else {
+                skipElement(reader);
+            }
+        }
+        // An entry without a key can't be represented in the map, so it is dropped rather than stored under a null key
+        if (key != null) {
+            map.put(key, value);
+        }
+    }
+
+    private Map<String, SdkField<?>> payloadFields(SdkPojo sdkPojo) {
+        return payloadFieldsByType.computeIfAbsent(sdkPojo.getClass(), c -> {
+            Map<String, SdkField<?>> fields = new HashMap<>();
+            for (SdkField<?> field : sdkPojo.sdkFields()) {
+                if (field.location() == MarshallLocation.PAYLOAD) {
+                    fields.putIfAbsent(field.unmarshallLocationName(), field);
+                }
+            }
+            return fields;
+        });
+    }
+
+    private static boolean isFlattenedList(SdkField<?> field) {
+        return field.marshallingType() == MarshallingType.LIST && field.getTrait(ListTrait.class).isFlattened();
+    }
+
+    private static boolean isFlattenedMap(SdkField<?> field) {
+        return field.marshallingType() == MarshallingType.MAP && field.getTrait(MapTrait.class).isFlattened();
+    }
+
+    /**
+     * Advances the reader to the next child of the current element.
+     *
+     * @param reader Reader positioned on a start element, or on the end element of a previous child.
+     * @return True if the reader is positioned on the start element of the next child, false if it is positioned on the end
+     * element of the parent.
+     */
+    public static boolean nextChildElement(XMLStreamReader reader) throws XMLStreamException {
+        while (true) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                return true;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Reads the text content of the current element, leaving the reader positioned on its end element. Consistent with
+     * {@link XmlElement#textContent()}, if the element has child elements only the text following the last of them is kept.
+     *
+     * @param reader Reader positioned on a start element.
+     * @return Text content, or an empty string if the element has none.
+     */
+    public static String readText(XMLStreamReader reader) throws XMLStreamException {
+        StringBuilder sb = null;
+        boolean reset = false;
+        while (true) {
+            switch (reader.next()) {
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.CDATA:
+                case XMLStreamConstants.SPACE:
+                    if (sb == null) {
+                        sb = new StringBuilder();
+                    } else if (reset) {
+                        sb.setLength(0);
+                    }
+                    reset = false;
+                    sb.append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+                    break;
+                case XMLStreamConstants.START_ELEMENT:
+                    skipElement(reader);
+                    reset = true;
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    return sb == null ? "" : sb.toString();
+                default:
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Skips the current element and all of its descendants, leaving the reader positioned on its end element.
+     */
+    private static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+
+    private static boolean nextStartElement(XMLStreamReader reader) throws XMLStreamException {
+        while (reader.hasNext()) {
+            if (reader.next() == XMLStreamConstants.START_ELEMENT) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Disables certain dangerous features that attempt to automatically fetch DTDs
+     *
+     * See <a href="https://www.owasp.org/index.php/XML_External_Entity_(XXE)_Prevention_Cheat_Sheet">OWASP XXE Cheat Sheet</a>
+     */
+    private static XMLInputFactory createXmlInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+
+    /**
+     * @return New {@link Builder} instance.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Handles elements that are not mapped to a member of the POJO being unmarshalled.
+     */
+    @FunctionalInterface
+    public interface UnmodeledElementHandler {
+
+        /**
+         * @param elementName Local name of the element.
+         * @param reader Reader positioned on the start element.
+         * @return True if the element was consumed, leaving the reader positioned on its end element. False if the element
+         * was not read and should be skipped.
+         */
+        boolean handle(String elementName, XMLStreamReader reader) throws XMLStreamException;
+    }
+
+    /**
+     * Builder for {@link XmlStreamingUnmarshaller}.
+     */
+    public static final class Builder {
+
+        private final Map<MarshallingType<?>, StringToValueConverter.StringToValue<?>> scalarConverters = new HashMap<>();
+        private boolean matchAnyListMemberName;
+
+        private Builder() {
+        }
+
+        /**
+         * Registers the converter used for the text content of members of the given scalar type.
+         *
+         * @param marshallingType Scalar type.
+         * @param converter Converter for the type.
+         * @param <T> Java type of the member.
+         * @return This builder for method chaining.
+         */
+        public <T> Builder scalarConverter(MarshallingType<T> marshallingType,
+                                           StringToValueConverter.StringToValue<T> converter) {
+            this.scalarConverters.put(marshallingType, converter);
+            return this;
+        }
+
+        /**
+         * @param matchAnyListMemberName True if every child of a non-flattened list element is a member of the list regardless
+         * of its name (AWS/Query and EC2), false if only children with the modeled member name are (REST-XML).
+         * @return This builder for method chaining.
+         */
+        public Builder matchAnyListMemberName(boolean matchAnyListMemberName) {
+            this.matchAnyListMemberName = matchAnyListMemberName;
+            return this;
+        }
+
+        /**
+         * @return New instance of {@link XmlStreamingUnmarshaller}.
+         */
+        public XmlStreamingUnmarshaller build() {
+            return new XmlStreamingUnmarshaller(this);
+        }
+    }
+}
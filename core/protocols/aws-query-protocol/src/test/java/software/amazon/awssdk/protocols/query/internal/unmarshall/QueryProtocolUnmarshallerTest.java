@@ -0,0 +1,387 @@
+/*
+ * Copyright 2010-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.protocols.query.internal.unmarshall;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static software.amazon.awssdk.awscore.util.AwsHeader.AWS_REQUEST_ID;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import org.junit.Test;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.core.SdkField;
+import software.amazon.awssdk.core.SdkPojo;
+import software.amazon.awssdk.core.protocol.MarshallLocation;
+import software.amazon.awssdk.core.protocol.MarshallingType;
+import software.amazon.awssdk.core.traits.ListTrait;
+import software.amazon.awssdk.core.traits.LocationTrait;
+import software.amazon.awssdk.core.traits.MapTrait;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.http.SdkHttpFullResponse;
+import software.amazon.awssdk.utils.ImmutableMap;
+import software.amazon.awssdk.utils.Pair;
+import software.amazon.awssdk.utils.StringInputStream;
+import software.amazon.awssdk.utils.builder.Buildable;
+
+/**
+ * Unmarshalls the same AWS/Query and EC2 responses through the streaming path and the DOM path of
+ * {@link QueryProtocolUnmarshaller}, and checks that both produce the same POJOs and response metadata.
+ */
+public class QueryProtocolUnmarshallerTest {
+
+    private static final QueryProtocolUnmarshaller QUERY_UNMARSHALLER = QueryProtocolUnmarshaller.builder()
+                                                                                                 .hasResultWrapper(true)
+                                                                                                 .build();
+
+    private static final QueryProtocolUnmarshaller EC2_UNMARSHALLER = QueryProtocolUnmarshaller.builder()
+                                                                                               .hasResultWrapper(false)
+                                                                                               .build();
+
+    @Test
+    public void scalarsAndNestedStructs_sameAsDom() {
+        Pair<AllTypesPojo, Map<String, String>> result =
+            assertSameAsDom(QUERY_UNMARSHALLER, AllTypesPojo::new, queryResponse(
+                "<StringMember>foo</StringMember>"
+                + "<IntegerMember>42</IntegerMember>"
+                + "<BooleanMember>true</BooleanMember>"
+                + "<TimestampMember>2019-01-02T03:04:05.678Z</TimestampMember>"
+                + "<BlobMember>Zm9v</BlobMember>"
+                + "<NestedMember>"
+                + "<StringMember>outer</StringMember>"
+                + "<NestedMember><StringMember>inner</StringMember></NestedMember>"
+                + "</NestedMember>"));
+
+        AllTypesPojo pojo = result.left();
+        assertThat(pojo.get("StringMember")).isEqualTo("foo");
+        assertThat(pojo.get("IntegerMember")).isEqualTo(42);
+        assertThat(pojo.get("BooleanMember")).isEqualTo(true);
+        assertThat(pojo.get("TimestampMember")).isEqualTo(Instant.parse("2019-01-02T03:04:05.678Z"));
+        assertThat(pojo.get("BlobMember")).isEqualTo(SdkBytes.fromUtf8String("foo"));
+        NestedPojo outer = (NestedPojo) pojo.get("NestedMember");
+        assertThat(outer.get("StringMember")).isEqualTo("outer");
+        assertThat(((NestedPojo) outer.get("NestedMember")).get("StringMember")).isEqualTo("inner");
+    }
+
+    @Test
+    public void lists_sameAsDom() {
+        Pair<AllTypesPojo, Map<String, String>> result =
+            assertSameAsDom(QUERY_UNMARSHALLER, AllTypesPojo::new, queryResponse(
+                "<ListOfStrings><member>a</member><member>b</member></ListOfStrings>"
+                + "<FlattenedList>c</FlattenedList>"
+                + "<StringMember>foo</StringMember>"
+                + "<FlattenedList>d</FlattenedList>"
+                + "<ListOfStructs>"
+                + "<member><StringMember>e</StringMember></member>"
+                + "<member><StringMember>f</StringMember></member>"
+                + "</ListOfStructs>"
+                + "<ListOfLists><member><member>g</member></member><member></member></ListOfLists>"));
+
+        AllTypesPojo pojo = result.left();
+        assertThat((List<?>) pojo.get("ListOfStrings")).containsExactly("a", "b");
+        assertThat((List<?>) pojo.get("FlattenedList")).containsExactly("c", "d");
+        assertThat((List<?>) pojo.get("ListOfStructs")).hasSize(2);
+        assertThat((List<?>) pojo.get("ListOfLists")).containsExactly(Collections.singletonList("g"),
+                                                                       Collections.emptyList());
+    }
+
+    @Test
+    public void maps_sameAsDom() {
+        Pair<AllTypesPojo, Map<String, String>> result =
+            assertSameAsDom(QUERY_UNMARSHALLER, AllTypesPojo::new, queryResponse(
+                "<MapOfStrings>"
+                + "<entry><key>a</key><value>b</value></entry>"
+                + "<entry><value>d</value><key>c</key></entry>"
+                + "</MapOfStrings>"
+                + "<FlattenedMap><key>e</key><value>f</value></FlattenedMap>"
+                + "<StringMember>foo</StringMember>"
+                + "<FlattenedMap><key>g</key><value>h</value></FlattenedMap>"
+                + "<MapOfStructs>"
+                + "<entry><key>i</key><value><StringMember>j</StringMember></value></entry>"
+                + "</MapOfStructs>"));
+
+        AllTypesPojo pojo = result.left();
+        assertThat(pojo.get("MapOfStrings")).isEqualTo(ImmutableMap.of("a", "b", "c", "d"));
+        assertThat(pojo.get("FlattenedMap")).isEqualTo(ImmutableMap.of("e", "f", "g", "h"));
+        assertThat((Map<?, ?>) pojo.get("MapOfStructs")).hasSize(1);
+    }
+
+    @Test
+    public void ec2ListsWithAnyMemberName_sameAsDom() {
+        Pair<Ec2Pojo, Map<String, String>> result =
+            assertSameAsDom(EC2_UNMARSHALLER, Ec2Pojo::new,
+                "<DescribeResponse xmlns=\"http://ec2.amazonaws.com/doc/2016-11-15/\">"
+                + "<requestId>ec2-request-id</requestId>"
+                + "<itemSet>"
+                + "<item><StringMember>a</StringMember></item>"
+                + "<member><StringMember>b</StringMember></member>"
+                + "</itemSet>"
+                + "<stringSet><item>c</item><somethingElse>d</somethingElse></stringSet>"
+                + "</DescribeResponse>");
+
+        Ec2Pojo pojo = result.left();
+        assertThat((List<?>) pojo.get("Items")).hasSize(2);
+        assertThat((List<?>) pojo.get("Strings")).containsExactly("c", "d");
+        assertThat(result.right()).isEqualTo(Collections.singletonMap(AWS_REQUEST_ID, "ec2-request-id"));
+    }
+
+    @Test
+    public void responseMetadata_sameAsDom() {
+        Pair<AllTypesPojo, Map<String, String>> result =
+            assertSameAsDom(QUERY_UNMARSHALLER, AllTypesPojo::new,
+                "<OperationResponse>"
+                + "<OperationResult><StringMember>foo</StringMember></OperationResult>"
+                + "<ResponseMetadata>"
+                + "<RequestId>query-request-id</RequestId>"
+                + "<BoxUsage>0.0000093282</BoxUsage>"
+                + "</ResponseMetadata>"
+                + "</OperationResponse>");
+
+        assertThat(result.left().get("StringMember")).isEqualTo("foo");
+        assertThat(result.right()).isEqualTo(ImmutableMap.of(AWS_REQUEST_ID, "query-request-id",
+                                                             "BoxUsage", "0.0000093282"));
+    }
+
+    @Test
+    public void unknownElements_skipped() {
+        Pair<AllTypesPojo, Map<String, String>> result =
+            assertSameAsDom(QUERY_UNMARSHALLER, AllTypesPojo::new,
+                "<OperationResponse>"
+                + "<OperationResult>"
+                + "<Unknown><StringMember>x</StringMember><Deeper><Deepest/></Deeper></Unknown>"
+                + "<StringMember>foo</StringMember>"
+                + "<NestedMember><UnknownScalar>1</UnknownScalar><StringMember>bar</StringMember></NestedMember>"
+                + "<MapOfStrings><entry><key>a</key><Unknown>x</Unknown><value>b</value></entry>"
+                + "<Unknown/></MapOfStrings>"
+                + "<UnknownScalar>1</UnknownScalar>"
+                + "</OperationResult>"
+                + "<UnknownMetadata><RequestId>ignored</RequestId></UnknownMetadata>"
+                + "<ResponseMetadata><RequestId>query-request-id</RequestId></ResponseMetadata>"
+                + "</OperationResponse>");
+
+        AllTypesPojo pojo = result.left();
+        assertThat(pojo.get("StringMember")).isEqualTo("foo");
+        assertThat(((NestedPojo) pojo.get("NestedMember")).get("StringMember")).isEqualTo("bar");
+        assertThat(pojo.get("MapOfStrings")).isEqualTo(Collections.singletonMap("a", "b"));
+        assertThat(result.right()).isEqualTo(Collections.singletonMap(AWS_REQUEST_ID, "query-request-id"));
+    }
+
+    @Test
+    public void emptyElements_sameAsDom() {
+        Pair<AllTypesPojo, Map<String, String>> result =
+            assertSameAsDom(QUERY_UNMARSHALLER, AllTypesPojo::new, queryResponse(
+                "<StringMember/>"
+                + "<NestedMember/>"
+                + "<ListOfStrings/>"
+                + "<FlattenedList/>"
+                + "<MapOfStrings></MapOfStrings>"
+                + "<MapOfStructs><entry><key>a</key><value/></entry></MapOfStructs>"));
+
+        AllTypesPojo pojo = result.left();
+        assertThat(pojo.get("StringMember")).isEqualTo("");
+        assertThat(pojo.get("NestedMember")).isEqualTo(new NestedPojo());
+        assertThat((List<?>) pojo.get("ListOfStrings")).isEmpty();
+        assertThat((List<?>) pojo.get("FlattenedList")).containsExactly("");
+        assertThat((Map<?, ?>) pojo.get("MapOfStrings")).isEmpty();
+        assertThat(pojo.get("MapOfStructs")).isEqualTo(Collections.singletonMap("a", new NestedPojo()));
+    }
+
+    @Test
+    public void emptyDocument_sameAsDom() {
+        Pair<AllTypesPojo, Map<String, String>> result =
+            assertSameAsDom(QUERY_UNMARSHALLER, AllTypesPojo::new, "<OperationResponse/>");
+
+        assertThat(result.left()).isEqualTo(new AllTypesPojo());
+        assertThat(result.right()).isEmpty();
+    }
+
+    @Test
+    public void mapEntryWithoutKey_skipped() {
+        Pair<AllTypesPojo, Map<String, String>> result =
+            QUERY_UNMARSHALLER.unmarshall(new AllTypesPojo(), response(queryResponse(
+                "<MapOfStrings>"
+                + "<entry><value>no-key</value></entry>"
+                + "<entry><key>a</key><value>b</value></entry>"
+                + "</MapOfStrings>"
+                + "<FlattenedMap><value>no-key</value></FlattenedMap>"
+                + "<FlattenedMap><key>c</key><value>d</value></FlattenedMap>")));
+
+        AllTypesPojo pojo = result.left();
+        assertThat(pojo.get("MapOfStrings")).isEqualTo(Collections.singletonMap("a", "b"));
+        assertThat(pojo.get("FlattenedMap")).isEqualTo(Collections.singletonMap("c", "d"));
+    }
+
+    /**
+     * Each unmarshaller consumes the content of the response, so each of them is given its own response.
+     */
+    private static <T extends TestPojo> Pair<T, Map<String, String>> assertSameAsDom(QueryProtocolUnmarshaller unmarshaller,
+                                                                                     Supplier<T> pojoSupplier,
+                                                                                     String xml) {
+        Pair<T, Map<String, String>> streamed = unmarshaller.unmarshall(pojoSupplier.get(), response(xml));
+        Pair<T, Map<String, String>> parsed = unmarshaller.unmarshallDom(pojoSupplier.get(), response(xml));
+        assertThat(streamed.left()).isEqualTo(parsed.left());
+        assertThat(streamed.right()).isEqualTo(parsed.right());
+        return streamed;
+    }
+
+    private static String queryResponse(String result) {
+        return "<OperationResponse>"
+               + "<OperationResult>" + result + "</OperationResult>"
+               + "<ResponseMetadata><RequestId>query-request-id</RequestId></ResponseMetadata>"
+               + "</OperationResponse>";
+    }
+
+    private static SdkHttpFullResponse response(String xml) {
+        return SdkHttpFullResponse.builder()
+                                  .statusCode(200)
+                                  .content(AbortableInputStream.create(new StringInputStream(xml)))
+                                  .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> SdkField.Builder<T> fieldBuilder(MarshallingType<? super T> type, String memberName,
+                                                        String unmarshallLocationName) {
+        return SdkField.<T>builder(type)
+                       .getter(p -> (T) ((TestPojo) p).get(memberName))
+                       .setter((p, v) -> ((TestPojo) p).set(memberName, v))
+                       .traits(LocationTrait.builder()
+                                            .location(MarshallLocation.PAYLOAD)
+                                            .locationName(memberName)
+                                            .unmarshallLocationName(unmarshallLocationName)
+                                            .build());
+    }
+
+    private static <T> SdkField<T> field(MarshallingType<? super T> type, String name) {
+        return QueryProtocolUnmarshallerTest.<T>fieldBuilder(type, name, name).build();
+    }
+
+    private static SdkField<NestedPojo> nestedField(String name) {
+        return QueryProtocolUnmarshallerTest.<NestedPojo>fieldBuilder(MarshallingType.SDK_POJO, name, name)
+            .constructor(NestedPojo::new)
+            .build();
+    }
+
+    private static <T> SdkField<List<T>> listField(String name, String unmarshallLocationName, SdkField<T> memberField,
+                                                   boolean flattened) {
+        ListTrait listTrait = ListTrait.builder().memberFieldInfo(memberField).isFlattened(flattened).build();
+        SdkField.Builder<List<T>> builder = fieldBuilder(MarshallingType.LIST, name, unmarshallLocationName);
+        return builder.traits(listTrait).build();
+    }
+
+    private static <T> SdkField<Map<String, T>> mapField(String name, SdkField<T> valueField, boolean flattened) {
+        MapTrait mapTrait = MapTrait.builder()
+                                    .keyLocationName("key")
+                                    .valueLocationName("value")
+                                    .valueFieldInfo(valueField)
+                                    .isFlattened(flattened)
+                                    .build();
+        SdkField.Builder<Map<String, T>> builder = fieldBuilder(MarshallingType.MAP, name, name);
+        return builder.traits(mapTrait).build();
+    }
+
+    /**
+     * A POJO that acts as its own builder and stores its members by name. Members that are unmarshalled to null are not
+     * stored, like in the generated builders.
+     */
+    private abstract static class TestPojo implements SdkPojo, Buildable {
+        private final Map<String, Object> values = new HashMap<>();
+
+        Object get(String name) {
+            return values.get(name);
+        }
+
+        void set(String name, Object value) {
+            if (value == null) {
+                values.remove(name);
+            } else {
+                values.put(name, value);
+            }
+        }
+
+        @Override
+        public Object build() {
+            return this;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o != null && o.getClass() == getClass() && values.equals(((TestPojo) o).values);
+        }
+
+        @Override
+        public int hashCode() {
+            return values.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return getClass().getSimpleName() + values;
+        }
+    }
+
+    private static final class NestedPojo extends TestPojo {
+        private static final List<SdkField<?>> FIELDS = Arrays.asList(
+            field(MarshallingType.STRING, "StringMember"),
+            nestedField("NestedMember"));
+
+        @Override
+        public List<SdkField<?>> sdkFields() {
+            return FIELDS;
+        }
+    }
+
+    private static final class AllTypesPojo extends TestPojo {
+        private static final List<SdkField<?>> FIELDS = Arrays.asList(
+            field(MarshallingType.STRING, "StringMember"),
+            field(MarshallingType.INTEGER, "IntegerMember"),
+            field(MarshallingType.BOOLEAN, "BooleanMember"),
+            field(MarshallingType.INSTANT, "TimestampMember"),
+            field(MarshallingType.SDK_BYTES, "BlobMember"),
+            nestedField("NestedMember"),
+            listField("ListOfStrings", "ListOfStrings", field(MarshallingType.STRING, "member"), false),
+            listField("FlattenedList", "FlattenedList", field(MarshallingType.STRING, "member"), true),
+            listField("ListOfStructs", "ListOfStructs", nestedField("member"), false),
+            listField("ListOfLists", "ListOfLists",
+                      listField("member", "member", field(MarshallingType.STRING, "member"), false), false),
+            mapField("MapOfStrings", field(MarshallingType.STRING, "value"), false),
+            mapField("FlattenedMap", field(MarshallingType.STRING, "value"), true),
+            mapField("MapOfStructs", nestedField("value"), false));
+
+        @Override
+        public List<SdkField<?>> sdkFields() {
+            return FIELDS;
+        }
+    }
+
+    /**
+     * EC2 reads its lists from differently named elements than it writes them to, and does not model the name of their
+     * members correctly.
+     */
+    private static final class Ec2Pojo extends TestPojo {
+        private static final List<SdkField<?>> FIELDS = Arrays.asList(
+            listField("Items", "itemSet", nestedField("member"), false),
+            listField("Strings", "stringSet", field(MarshallingType.STRING, "member"), false));
+
+        @Override
+        public List<SdkField<?>> sdkFields() {
+            return FIELDS;
+        }
+    }
+}
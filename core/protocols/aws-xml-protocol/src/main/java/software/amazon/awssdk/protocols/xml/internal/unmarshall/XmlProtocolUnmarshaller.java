@@ -35,9 +35,17 @@ import software.amazon.awssdk.protocols.core.StringToValueConverter;
 import software.amazon.awssdk.protocols.query.unmarshall.XmlDomParser;
 import software.amazon.awssdk.protocols.query.unmarshall.XmlElement;
 import software.amazon.awssdk.protocols.query.unmarshall.XmlErrorUnmarshaller;
+import software.amazon.awssdk.protocols.query.unmarshall.XmlStreamingUnmarshaller;
 import software.amazon.awssdk.utils.CollectionUtils;
 import software.amazon.awssdk.utils.builder.Buildable;
 
+/**
+ * Unmarshaller implementation for REST-XML services.
+ *
+ * <p>Successful responses are unmarshalled straight from the XML stream with {@link XmlStreamingUnmarshaller}, unless the
+ * whole body is bound to an explicit payload member. Those responses, and error responses, are parsed with
+ * {@link XmlDomParser} first.
+ */
 @SdkInternalApi
 public final class XmlProtocolUnmarshaller implements XmlErrorUnmarshaller {
 
@@ -46,12 +54,18 @@ public final class XmlProtocolUnmarshaller implements XmlErrorUnmarshaller {
 
     private static final XmlUnmarshallerRegistry REGISTRY = createUnmarshallerRegistry();
 
+    private static final XmlStreamingUnmarshaller STREAMING_UNMARSHALLER = createStreamingUnmarshaller();
+
     private XmlProtocolUnmarshaller() {
     }
 
     public <TypeT extends SdkPojo> TypeT unmarshall(SdkPojo sdkPojo,
                                                     SdkHttpFullResponse response) {
 
+        if (response.content().isPresent() && hasPayloadMembers(sdkPojo) && !hasExplicitPayloadMember(sdkPojo)) {
+            return unmarshallStreaming(sdkPojo, response);
+        }
+
         XmlElement document = hasPayloadMembers(sdkPojo) && response.content().isPresent()
                               ? XmlDomParser.parse(response.content().get()) : null;
 
@@ -94,6 +108,27 @@ public final class XmlProtocolUnmarshaller implements XmlErrorUnmarshaller {
         return (SdkPojo) ((Buildable) sdkPojo).build();
     }
 
+    @SuppressWarnings("unchecked")
+    private <TypeT extends SdkPojo> TypeT unmarshallStreaming(SdkPojo sdkPojo, SdkHttpFullResponse response) {
+        XmlUnmarshallerContext unmarshallerContext = XmlUnmarshallerContext.builder()
+                                                                           .response(response)
+                                                                           .registry(REGISTRY)
+                                                                           .protocolUnmarshaller(this)
+                                                                           .build();
+        for (SdkField<?> field : sdkPojo.sdkFields()) {
+            if (field.location() != MarshallLocation.PAYLOAD) {
+                XmlUnmarshaller<Object> unmarshaller = REGISTRY.getUnmarshaller(field.location(), field.marshallingType());
+                field.set(sdkPojo, unmarshaller.unmarshall(unmarshallerContext, null, (SdkField<Object>) field));
+            }
+        }
+        STREAMING_UNMARSHALLER.unmarshall(sdkPojo, response.content().get());
+        return (TypeT) ((Buildable) sdkPojo).build();
+    }
+
+    private boolean hasExplicitPayloadMember(SdkPojo sdkPojo) {
+        return sdkPojo.sdkFields().stream().anyMatch(this::isExplicitPayloadMember);
+    }
+
     private boolean isExplicitPayloadMember(SdkField<?> field) {
         return field.containsTrait(PayloadTrait.class);
     }
@@ -140,6 +175,22 @@ public final class XmlProtocolUnmarshaller implements XmlErrorUnmarshaller {
             .build();
     }
 
+    private static XmlStreamingUnmarshaller createStreamingUnmarshaller() {
+        return XmlStreamingUnmarshaller
+            .builder()
+            .scalarConverter(MarshallingType.STRING, StringToValueConverter.TO_STRING)
+            .scalarConverter(MarshallingType.INTEGER, StringToValueConverter.TO_INTEGER)
+            .scalarConverter(MarshallingType.LONG, StringToValueConverter.TO_LONG)
+            .scalarConverter(MarshallingType.FLOAT, StringToValueConverter.TO_FLOAT)
+            .scalarConverter(MarshallingType.DOUBLE, StringToValueConverter.TO_DOUBLE)
+            .scalarConverter(MarshallingType.BIG_DECIMAL, StringToValueConverter.TO_BIG_DECIMAL)
+            .scalarConverter(MarshallingType.BOOLEAN, StringToValueConverter.TO_BOOLEAN)
+            .scalarConverter(MarshallingType.INSTANT, INSTANT_STRING_TO_VALUE)
+            .scalarConverter(MarshallingType.SDK_BYTES, StringToValueConverter.TO_SDK_BYTES)
+            .matchAnyListMemberName(false)
+            .build();
+    }
+
     /**
      * @return New {@link Builder} instance.
      */
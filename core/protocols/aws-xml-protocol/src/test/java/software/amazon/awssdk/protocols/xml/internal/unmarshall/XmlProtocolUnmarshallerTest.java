@@ -0,0 +1,255 @@
+/*
+ * Copyright 2010-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.protocols.xml.internal.unmarshall;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import org.junit.Test;
+import software.amazon.awssdk.core.SdkField;
+import software.amazon.awssdk.core.SdkPojo;
+import software.amazon.awssdk.core.protocol.MarshallLocation;
+import software.amazon.awssdk.core.protocol.MarshallingType;
+import software.amazon.awssdk.core.traits.ListTrait;
+import software.amazon.awssdk.core.traits.LocationTrait;
+import software.amazon.awssdk.core.traits.MapTrait;
+import software.amazon.awssdk.core.traits.Trait;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.http.SdkHttpFullResponse;
+import software.amazon.awssdk.protocols.query.unmarshall.XmlDomParser;
+import software.amazon.awssdk.utils.ImmutableMap;
+import software.amazon.awssdk.utils.StringInputStream;
+import software.amazon.awssdk.utils.builder.Buildable;
+
+/**
+ * Unmarshalls the same REST-XML responses through the streaming path and the DOM path of {@link XmlProtocolUnmarshaller}, and
+ * checks that both produce the same POJOs.
+ */
+public class XmlProtocolUnmarshallerTest {
+
+    private static final XmlProtocolUnmarshaller UNMARSHALLER = XmlProtocolUnmarshaller.builder().build();
+
+    @Test
+    public void listsOnlyTakeModeledMemberName_sameAsDom() {
+        AllTypesPojo pojo = assertSameAsDom(AllTypesPojo::new,
+                                            "<OperationResponse>"
+                                            + "<ListOfStrings><member>a</member><item>ignored</item><member>b</member>"
+                                            + "</ListOfStrings>"
+                                            + "<ListWithMemberName><Item>c</Item><member>ignored</member></ListWithMemberName>"
+                                            + "<FlattenedList>d</FlattenedList>"
+                                            + "<StringMember>foo</StringMember>"
+                                            + "<FlattenedList>e</FlattenedList>"
+                                            + "</OperationResponse>");
+
+        assertThat((List<?>) pojo.get("ListOfStrings")).containsExactly("a", "b");
+        assertThat((List<?>) pojo.get("ListWithMemberName")).containsExactly("c");
+        assertThat((List<?>) pojo.get("FlattenedList")).containsExactly("d", "e");
+    }
+
+    @Test
+    public void maps_sameAsDom() {
+        AllTypesPojo pojo = assertSameAsDom(AllTypesPojo::new,
+                                            "<OperationResponse>"
+                                            + "<MapOfStrings>"
+                                            + "<entry><key>a</key><value>b</value></entry>"
+                                            + "<entry><value>d</value><key>c</key></entry>"
+                                            + "</MapOfStrings>"
+                                            + "<FlattenedMap><key>e</key><value>f</value></FlattenedMap>"
+                                            + "<FlattenedMap><key>g</key><value>h</value></FlattenedMap>"
+                                            + "</OperationResponse>");
+
+        assertThat(pojo.get("MapOfStrings")).isEqualTo(ImmutableMap.of("a", "b", "c", "d"));
+        assertThat(pojo.get("FlattenedMap")).isEqualTo(ImmutableMap.of("e", "f", "g", "h"));
+    }
+
+    @Test
+    public void headersAndStatusCodeMixedWithPayload_sameAsDom() {
+        AllTypesPojo pojo = assertSameAsDom(AllTypesPojo::new,
+                                            "<OperationResponse>"
+                                            + "<TimestampMember>2019-01-02T03:04:05.678Z</TimestampMember>"
+                                            + "<NestedMember><StringMember>bar</StringMember></NestedMember>"
+                                            + "</OperationResponse>");
+
+        assertThat(pojo.get("StringHeader")).isEqualTo("header-value");
+        assertThat(pojo.get("StatusCode")).isEqualTo(200);
+        assertThat(pojo.get("TimestampMember")).isEqualTo(Instant.parse("2019-01-02T03:04:05.678Z"));
+        assertThat(((NestedPojo) pojo.get("NestedMember")).get("StringMember")).isEqualTo("bar");
+    }
+
+    @Test
+    public void unknownAndEmptyElements_sameAsDom() {
+        AllTypesPojo pojo = assertSameAsDom(AllTypesPojo::new,
+                                            "<OperationResponse xmlns=\"http://s3.amazonaws.com/doc/2006-03-01/\">"
+                                            + "<Unknown><StringMember>x</StringMember><Deeper/></Unknown>"
+                                            + "<StringMember/>"
+                                            + "<NestedMember><Unknown>1</Unknown></NestedMember>"
+                                            + "<ListOfStrings/>"
+                                            + "<MapOfStrings><entry><key>a</key><Unknown/><value/></entry></MapOfStrings>"
+                                            + "</OperationResponse>");
+
+        assertThat(pojo.get("StringMember")).isEqualTo("");
+        assertThat(pojo.get("NestedMember")).isEqualTo(new NestedPojo());
+        assertThat((List<?>) pojo.get("ListOfStrings")).isEmpty();
+        assertThat(pojo.get("MapOfStrings")).isEqualTo(Collections.singletonMap("a", ""));
+    }
+
+    @Test
+    public void mapEntryWithoutKey_skipped() {
+        AllTypesPojo pojo = UNMARSHALLER.unmarshall(new AllTypesPojo(), response(
+            "<OperationResponse>"
+            + "<MapOfStrings><entry><value>no-key</value></entry><entry><key>a</key><value>b</value></entry></MapOfStrings>"
+            + "</OperationResponse>"));
+
+        assertThat(pojo.get("MapOfStrings")).isEqualTo(Collections.singletonMap("a", "b"));
+    }
+
+    /**
+     * Each unmarshaller consumes the content of the response, so each of them is given its own response.
+     */
+    private static <T extends TestPojo> T assertSameAsDom(Supplier<T> pojoSupplier, String xml) {
+        T streamed = UNMARSHALLER.unmarshall(pojoSupplier.get(), response(xml));
+        SdkHttpFullResponse domResponse = response(xml);
+        T parsed = UNMARSHALLER.unmarshall(pojoSupplier.get(), XmlDomParser.parse(domResponse.content().get()), domResponse);
+        assertThat(streamed).isEqualTo(parsed);
+        return streamed;
+    }
+
+    private static SdkHttpFullResponse response(String xml) {
+        return SdkHttpFullResponse.builder()
+                                  .statusCode(200)
+                                  .putHeader("x-amz-string", "header-value")
+                                  .content(AbortableInputStream.create(new StringInputStream(xml)))
+                                  .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> SdkField.Builder<T> fieldBuilder(MarshallingType<? super T> type, MarshallLocation location,
+                                                        String memberName, String locationName, Trait... traits) {
+        Trait[] allTraits = Arrays.copyOf(traits, traits.length + 1);
+        allTraits[traits.length] = LocationTrait.builder().location(location).locationName(locationName).build();
+        return SdkField.<T>builder(type)
+                       .getter(p -> (T) ((TestPojo) p).get(memberName))
+                       .setter((p, v) -> ((TestPojo) p).set(memberName, v))
+                       .traits(allTraits);
+    }
+
+    private static <T> SdkField<T> payloadField(MarshallingType<? super T> type, String name, Trait... traits) {
+        return XmlProtocolUnmarshallerTest.<T>fieldBuilder(type, MarshallLocation.PAYLOAD, name, name, traits).build();
+    }
+
+    private static SdkField<NestedPojo> nestedField(String name) {
+        return XmlProtocolUnmarshallerTest.<NestedPojo>fieldBuilder(MarshallingType.SDK_POJO, MarshallLocation.PAYLOAD,
+                                                                    name, name)
+            .constructor(NestedPojo::new)
+            .build();
+    }
+
+    private static SdkField<List<String>> listField(String name, String memberLocationName, boolean flattened) {
+        return payloadField(MarshallingType.LIST, name, ListTrait.builder()
+                                                                 .memberLocationName(memberLocationName)
+                                                                 .memberFieldInfo(payloadField(MarshallingType.STRING,
+                                                                                               "member"))
+                                                                 .isFlattened(flattened)
+                                                                 .build());
+    }
+
+    private static SdkField<Map<String, String>> mapField(String name, boolean flattened) {
+        return payloadField(MarshallingType.MAP, name, MapTrait.builder()
+                                                               .keyLocationName("key")
+                                                               .valueLocationName("value")
+                                                               .valueFieldInfo(payloadField(MarshallingType.STRING,
+                                                                                            "value"))
+                                                               .isFlattened(flattened)
+                                                               .build());
+    }
+
+    /**
+     * A POJO that acts as its own builder and stores its members by name. Members that are unmarshalled to null are not
+     * stored, like in the generated builders.
+     */
+    private abstract static class TestPojo implements SdkPojo, Buildable {
+        private final Map<String, Object> values = new HashMap<>();
+
+        Object get(String name) {
+            return values.get(name);
+        }
+
+        void set(String name, Object value) {
+            if (value == null) {
+                values.remove(name);
+            } else {
+                values.put(name, value);
+            }
+        }
+
+        @Override
+        public Object build() {
+            return this;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o != null && o.getClass() == getClass() && values.equals(((TestPojo) o).values);
+        }
+
+        @Override
+        public int hashCode() {
+            return values.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return getClass().getSimpleName() + values;
+        }
+    }
+
+    private static final class NestedPojo extends TestPojo {
+        private static final List<SdkField<?>> FIELDS = Collections.singletonList(
+            payloadField(MarshallingType.STRING, "StringMember"));
+
+        @Override
+        public List<SdkField<?>> sdkFields() {
+            return FIELDS;
+        }
+    }
+
+    private static final class AllTypesPojo extends TestPojo {
+        private static final List<SdkField<?>> FIELDS = Arrays.asList(
+            XmlProtocolUnmarshallerTest.<String>fieldBuilder(MarshallingType.STRING, MarshallLocation.HEADER, "StringHeader",
+                                                             "x-amz-string").build(),
+            payloadField(MarshallingType.STRING, "StringMember"),
+            XmlProtocolUnmarshallerTest.<Integer>fieldBuilder(MarshallingType.INTEGER, MarshallLocation.STATUS_CODE,
+                                                              "StatusCode", null).build(),
+            payloadField(MarshallingType.INSTANT, "TimestampMember"),
+            nestedField("NestedMember"),
+            listField("ListOfStrings", null, false),
+            listField("ListWithMemberName", "Item", false),
+            listField("FlattenedList", null, true),
+            mapField("MapOfStrings", false),
+            mapField("FlattenedMap", true));
+
+        @Override
+        public List<SdkField<?>> sdkFields() {
+            return FIELDS;
+        }
+    }
+}
@@ -15,6 +15,8 @@
 
 package software.amazon.awssdk.regions.providers;
 
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Supplier;
 import software.amazon.awssdk.annotations.SdkProtectedApi;
 import software.amazon.awssdk.regions.Region;
@@ -27,6 +29,7 @@ import software.amazon.awssdk.utils.ToString;
 @SdkProtectedApi
 public class LazyAwsRegionProvider implements AwsRegionProvider {
     private final Supplier<AwsRegionProvider> delegateConstructor;
+    private final Lock delegateLock = new ReentrantLock();
     private volatile AwsRegionProvider delegate;
 
     public LazyAwsRegionProvider(Supplier<AwsRegionProvider> delegateConstructor) {
@@ -36,10 +39,13 @@ public class LazyAwsRegionProvider implements AwsRegionProvider {
     @Override
     public Region getRegion() {
         if (delegate == null) {
-            synchronized (this) {
+            delegateLock.lock();
+            try {
                 if (delegate == null) {
                     delegate = delegateConstructor.get();
                 }
+            } finally {
+                delegateLock.unlock();
             }
         }
         return delegate.getRegion();
@@ -127,7 +127,14 @@ public enum SdkSystemSetting implements SystemSetting {
     /**
      * Whether endpoint discovery should be enabled.
      */
-    AWS_ENDPOINT_DISCOVERY_ENABLED("aws.endpointDiscoveryEnabled", "false");
+    AWS_ENDPOINT_DISCOVERY_ENABLED("aws.endpointDiscoveryEnabled", "false"),
+
+    /**
+     * Whether clients should use the executors that are shared by all clients in the JVM, instead of each creating its own.
+     *
+     * @see software.amazon.awssdk.core.client.config.SdkAdvancedClientOption#USE_SHARED_EXECUTORS
+     */
+    AWS_SHARED_EXECUTORS_ENABLED("aws.sharedExecutorsEnabled", "false");
 
     private final String systemProperty;
     private final String defaultValue;
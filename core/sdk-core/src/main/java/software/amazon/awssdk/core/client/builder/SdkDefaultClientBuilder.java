@@ -17,17 +17,24 @@ package software.amazon.awssdk.core.client.builder;
 
 import static software.amazon.awssdk.core.ClientType.ASYNC;
 import static software.amazon.awssdk.core.ClientType.SYNC;
+import static software.amazon.awssdk.core.client.config.SdkAdvancedAsyncClientOption.DIRECT_FUTURE_COMPLETION;
 import static software.amazon.awssdk.core.client.config.SdkAdvancedAsyncClientOption.FUTURE_COMPLETION_EXECUTOR;
+import static software.amazon.awssdk.core.client.config.SdkAdvancedAsyncClientOption.USE_VIRTUAL_THREADS;
 import static software.amazon.awssdk.core.client.config.SdkAdvancedClientOption.DISABLE_HOST_PREFIX_INJECTION;
 import static software.amazon.awssdk.core.client.config.SdkAdvancedClientOption.SIGNER;
 import static software.amazon.awssdk.core.client.config.SdkAdvancedClientOption.USER_AGENT_PREFIX;
 import static software.amazon.awssdk.core.client.config.SdkAdvancedClientOption.USER_AGENT_SUFFIX;
+import static software.amazon.awssdk.core.client.config.SdkAdvancedClientOption.USE_HASHED_WHEEL_TIMER;
+import static software.amazon.awssdk.core.client.config.SdkAdvancedClientOption.USE_SHARED_EXECUTORS;
 import static software.amazon.awssdk.core.client.config.SdkClientOption.ADDITIONAL_HTTP_HEADERS;
 import static software.amazon.awssdk.core.client.config.SdkClientOption.API_CALL_ATTEMPT_TIMEOUT;
 import static software.amazon.awssdk.core.client.config.SdkClientOption.API_CALL_TIMEOUT;
 import static software.amazon.awssdk.core.client.config.SdkClientOption.ASYNC_HTTP_CLIENT;
 import static software.amazon.awssdk.core.client.config.SdkClientOption.CRC32_FROM_COMPRESSED_DATA_ENABLED;
 import static software.amazon.awssdk.core.client.config.SdkClientOption.EXECUTION_INTERCEPTORS;
+import static software.amazon.awssdk.core.client.config.SdkClientOption.HEDGING_POLICY;
+import static software.amazon.awssdk.core.client.config.SdkClientOption.METRIC_PUBLISHERS;
+import static software.amazon.awssdk.core.client.config.SdkClientOption.RESPONSE_COMPLETION_EXECUTOR;
 import static software.amazon.awssdk.core.client.config.SdkClientOption.RETRY_POLICY;
 import static software.amazon.awssdk.core.client.config.SdkClientOption.SCHEDULED_EXECUTOR_SERVICE;
 import static software.amazon.awssdk.utils.CollectionUtils.mergeLists;
@@ -40,6 +47,7 @@ import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
@@ -48,6 +56,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 import software.amazon.awssdk.annotations.SdkProtectedApi;
 import software.amazon.awssdk.annotations.SdkTestInternalApi;
+import software.amazon.awssdk.core.SdkSystemSetting;
 import software.amazon.awssdk.core.client.config.ClientAsyncConfiguration;
 import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
 import software.amazon.awssdk.core.client.config.SdkClientConfiguration;
@@ -56,7 +65,10 @@ import software.amazon.awssdk.core.interceptor.ClasspathInterceptorChainFactory;
 import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
 import software.amazon.awssdk.core.internal.http.loader.DefaultSdkAsyncHttpClientBuilder;
 import software.amazon.awssdk.core.internal.http.loader.DefaultSdkHttpClientBuilder;
+import software.amazon.awssdk.core.internal.util.DirectCompletionExecutor;
+import software.amazon.awssdk.core.internal.util.SharedClientExecutors;
 import software.amazon.awssdk.core.internal.util.UserAgentUtils;
+import software.amazon.awssdk.core.internal.util.VirtualThreads;
 import software.amazon.awssdk.core.retry.RetryPolicy;
 import software.amazon.awssdk.http.ExecutableHttpRequest;
 import software.amazon.awssdk.http.HttpExecuteRequest;
@@ -65,6 +77,7 @@ import software.amazon.awssdk.http.async.AsyncExecuteRequest;
 import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
 import software.amazon.awssdk.utils.AttributeMap;
 import software.amazon.awssdk.utils.Either;
+import software.amazon.awssdk.utils.Logger;
 import software.amazon.awssdk.utils.ThreadFactoryBuilder;
 import software.amazon.awssdk.utils.Validate;
 
@@ -88,6 +101,8 @@ import software.amazon.awssdk.utils.Validate;
 @SdkProtectedApi
 public abstract class SdkDefaultClientBuilder<B extends SdkClientBuilder<B, C>, C> implements SdkClientBuilder<B, C> {
 
+    private static final Logger log = Logger.loggerFor(SdkDefaultClientBuilder.class);
+
     private static final SdkHttpClient.Builder DEFAULT_HTTP_CLIENT_BUILDER = new DefaultSdkHttpClientBuilder();
     private static final SdkAsyncHttpClient.Builder DEFAULT_ASYNC_HTTP_CLIENT_BUILDER = new DefaultSdkAsyncHttpClientBuilder();
 
@@ -189,9 +204,13 @@ public abstract class SdkDefaultClientBuilder<B extends SdkClientBuilder<B, C>,
         return configuration.merge(c -> c.option(EXECUTION_INTERCEPTORS, new ArrayList<>())
                                          .option(ADDITIONAL_HTTP_HEADERS, new LinkedHashMap<>())
                                          .option(RETRY_POLICY, RetryPolicy.defaultRetryPolicy())
+                                         .option(METRIC_PUBLISHERS, new ArrayList<>())
                                          .option(USER_AGENT_PREFIX, UserAgentUtils.getUserAgent())
                                          .option(USER_AGENT_SUFFIX, "")
-                                         .option(CRC32_FROM_COMPRESSED_DATA_ENABLED, false));
+                                         .option(CRC32_FROM_COMPRESSED_DATA_ENABLED, false)
+                                         .option(USE_SHARED_EXECUTORS,
+                                                 SdkSystemSetting.AWS_SHARED_EXECUTORS_ENABLED.getBooleanValueOrThrow())
+                                         .option(USE_HASHED_WHEEL_TIMER, false));
     }
 
     /**
@@ -218,6 +237,7 @@ public abstract class SdkDefaultClientBuilder<B extends SdkClientBuilder<B, C>,
     private SdkClientConfiguration finalizeAsyncConfiguration(SdkClientConfiguration config) {
         return config.toBuilder()
                      .option(FUTURE_COMPLETION_EXECUTOR, resolveAsyncFutureCompletionExecutor(config))
+                     .option(RESPONSE_COMPLETION_EXECUTOR, resolveResponseCompletionExecutor(config))
                      .option(ASYNC_HTTP_CLIENT, resolveAsyncHttpClient(config))
                      .option(SdkClientOption.CLIENT_TYPE, ASYNC)
                      .build();
@@ -228,7 +248,7 @@ public abstract class SdkDefaultClientBuilder<B extends SdkClientBuilder<B, C>,
      */
     private SdkClientConfiguration finalizeConfiguration(SdkClientConfiguration config) {
         return config.toBuilder()
-                     .option(SCHEDULED_EXECUTOR_SERVICE, resolveScheduledExecutorService())
+                     .option(SCHEDULED_EXECUTOR_SERVICE, resolveScheduledExecutorService(config))
                      .option(EXECUTION_INTERCEPTORS, resolveExecutionInterceptors(config))
                      .build();
     }
@@ -268,6 +288,19 @@ public abstract class SdkDefaultClientBuilder<B extends SdkClientBuilder<B, C>,
      */
     private Executor resolveAsyncFutureCompletionExecutor(SdkClientConfiguration config) {
         Supplier<Executor> defaultExecutor = () -> {
+            if (Boolean.TRUE.equals(config.option(USE_VIRTUAL_THREADS))) {
+                Optional<ExecutorService> virtualThreadExecutor = VirtualThreads.newVirtualThreadPerTaskExecutor();
+                if (virtualThreadExecutor.isPresent()) {
+                    return virtualThreadExecutor.get();
+                }
+                log.warn(() -> "Virtual threads were requested for completing futures, but they are not supported by this JVM. "
+                               + "The default executor will be used instead.");
+            }
+
+            if (config.option(USE_SHARED_EXECUTORS)) {
+                return SharedClientExecutors.futureCompletionExecutor();
+            }
+
             ThreadPoolExecutor executor = new ThreadPoolExecutor(50, 50,
                                                                  10, TimeUnit.SECONDS,
                                                                  new LinkedBlockingQueue<>(10_000),
@@ -283,11 +316,25 @@ public abstract class SdkDefaultClientBuilder<B extends SdkClientBuilder<B, C>,
                        .orElseGet(defaultExecutor);
     }
 
+    /**
+     * Finalize the executor that completes the future of each async HTTP request. This is only set when the futures should be
+     * completed directly on the thread that received the response; otherwise the future completion executor is used.
+     */
+    private Executor resolveResponseCompletionExecutor(SdkClientConfiguration config) {
+        if (Boolean.TRUE.equals(config.option(DIRECT_FUTURE_COMPLETION)) && config.option(FUTURE_COMPLETION_EXECUTOR) == null) {
+            return DirectCompletionExecutor.create();
+        }
+        return null;
+    }
+
     /**
      * Finalize the internal SDK scheduled executor service that is used for scheduling tasks such
      * as async retry attempts and timeout task.
      */
-    private ScheduledExecutorService resolveScheduledExecutorService() {
+    private ScheduledExecutorService resolveScheduledExecutorService(SdkClientConfiguration config) {
+        if (config.option(USE_SHARED_EXECUTORS)) {
+            return SharedClientExecutors.scheduledExecutorService();
+        }
         return Executors.newScheduledThreadPool(5, new ThreadFactoryBuilder()
             .threadNamePrefix("sdk-ScheduledExecutor").build());
     }
@@ -314,6 +361,8 @@ public abstract class SdkDefaultClientBuilder<B extends SdkClientBuilder<B, C>,
 
     public final B asyncConfiguration(ClientAsyncConfiguration asyncConfiguration) {
         clientConfiguration.option(FUTURE_COMPLETION_EXECUTOR, asyncConfiguration.advancedOption(FUTURE_COMPLETION_EXECUTOR));
+        clientConfiguration.option(USE_VIRTUAL_THREADS, asyncConfiguration.advancedOption(USE_VIRTUAL_THREADS));
+        clientConfiguration.option(DIRECT_FUTURE_COMPLETION, asyncConfiguration.advancedOption(DIRECT_FUTURE_COMPLETION));
         return thisBuilder();
     }
 
@@ -325,6 +374,8 @@ public abstract class SdkDefaultClientBuilder<B extends SdkClientBuilder<B, C>,
     public final B overrideConfiguration(ClientOverrideConfiguration overrideConfig) {
         clientConfiguration.option(EXECUTION_INTERCEPTORS, overrideConfig.executionInterceptors());
         clientConfiguration.option(RETRY_POLICY, overrideConfig.retryPolicy().orElse(null));
+        clientConfiguration.option(HEDGING_POLICY, overrideConfig.hedgingPolicy().orElse(null));
+        clientConfiguration.option(METRIC_PUBLISHERS, overrideConfig.metricPublishers());
         clientConfiguration.option(ADDITIONAL_HTTP_HEADERS, overrideConfig.headers());
         clientConfiguration.option(SIGNER, overrideConfig.advancedOption(SIGNER).orElse(null));
         clientConfiguration.option(USER_AGENT_SUFFIX, overrideConfig.advancedOption(USER_AGENT_SUFFIX).orElse(null));
@@ -333,6 +384,8 @@ public abstract class SdkDefaultClientBuilder<B extends SdkClientBuilder<B, C>,
         clientConfiguration.option(API_CALL_ATTEMPT_TIMEOUT, overrideConfig.apiCallAttemptTimeout().orElse(null));
         clientConfiguration.option(DISABLE_HOST_PREFIX_INJECTION,
                                    overrideConfig.advancedOption(DISABLE_HOST_PREFIX_INJECTION).orElse(null));
+        clientConfiguration.option(USE_SHARED_EXECUTORS, overrideConfig.advancedOption(USE_SHARED_EXECUTORS).orElse(null));
+        clientConfiguration.option(USE_HASHED_WHEEL_TIMER, overrideConfig.advancedOption(USE_HASHED_WHEEL_TIMER).orElse(null));
         return thisBuilder();
     }
 
@@ -386,6 +439,11 @@ public abstract class SdkDefaultClientBuilder<B extends SdkClientBuilder<B, C>,
             return delegate.prepareRequest(request);
         }
 
+        @Override
+        public CompletableFuture<Void> warmUp(URI endpoint, int numConnections) {
+            return delegate.warmUp(endpoint, numConnections);
+        }
+
         @Override
         public void close() {
             // Do nothing, this client is managed by the customer.
@@ -415,6 +473,11 @@ public abstract class SdkDefaultClientBuilder<B extends SdkClientBuilder<B, C>,
             return delegate.execute(request);
         }
 
+        @Override
+        public CompletableFuture<Void> warmUp(URI endpoint, int numConnections) {
+            return delegate.warmUp(endpoint, numConnections);
+        }
+
         @Override
         public void close() {
             // Do nothing, this client is managed by the customer.
@@ -26,6 +26,8 @@ import java.util.TreeMap;
 import java.util.function.Consumer;
 import software.amazon.awssdk.annotations.SdkPublicApi;
 import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.core.metrics.MetricPublisher;
+import software.amazon.awssdk.core.retry.HedgingPolicy;
 import software.amazon.awssdk.core.retry.RetryPolicy;
 import software.amazon.awssdk.core.sync.ResponseTransformer;
 import software.amazon.awssdk.utils.AttributeMap;
@@ -46,10 +48,12 @@ public final class ClientOverrideConfiguration
     implements ToCopyableBuilder<ClientOverrideConfiguration.Builder, ClientOverrideConfiguration> {
     private final Map<String, List<String>> headers;
     private final RetryPolicy retryPolicy;
+    private final HedgingPolicy hedgingPolicy;
     private final List<ExecutionInterceptor> executionInterceptors;
     private final AttributeMap advancedOptions;
     private final Duration apiCallAttemptTimeout;
     private final Duration apiCallTimeout;
+    private final List<MetricPublisher> metricPublishers;
 
     /**
      * Initialize this configuration. Private to require use of {@link #builder()}.
@@ -57,10 +61,12 @@ public final class ClientOverrideConfiguration
     private ClientOverrideConfiguration(Builder builder) {
         this.headers = CollectionUtils.deepUnmodifiableMap(builder.headers(), () -> new TreeMap<>(String.CASE_INSENSITIVE_ORDER));
         this.retryPolicy = builder.retryPolicy();
+        this.hedgingPolicy = builder.hedgingPolicy();
         this.executionInterceptors = Collections.unmodifiableList(new ArrayList<>(builder.executionInterceptors()));
         this.advancedOptions = builder.advancedOptions();
         this.apiCallTimeout = Validate.isPositiveOrNull(builder.apiCallTimeout(), "apiCallTimeout");
         this.apiCallAttemptTimeout = Validate.isPositiveOrNull(builder.apiCallAttemptTimeout(), "apiCallAttemptTimeout");
+        this.metricPublishers = Collections.unmodifiableList(new ArrayList<>(builder.metricPublishers()));
     }
 
     @Override
@@ -68,9 +74,11 @@ public final class ClientOverrideConfiguration
         return new DefaultClientOverrideConfigurationBuilder().advancedOptions(advancedOptions.toBuilder())
                                                               .headers(headers)
                                                               .retryPolicy(retryPolicy)
+                                                              .hedgingPolicy(hedgingPolicy)
                                                               .apiCallTimeout(apiCallTimeout)
                                                               .apiCallAttemptTimeout(apiCallAttemptTimeout)
-                                                              .executionInterceptors(executionInterceptors);
+                                                              .executionInterceptors(executionInterceptors)
+                                                              .metricPublishers(metricPublishers);
     }
 
     /**
@@ -101,6 +109,15 @@ public final class ClientOverrideConfiguration
         return Optional.ofNullable(retryPolicy);
     }
 
+    /**
+     * The optional hedging policy that should be used to reduce the tail latency of idempotent read operations.
+     *
+     * @see Builder#hedgingPolicy(HedgingPolicy)
+     */
+    public Optional<HedgingPolicy> hedgingPolicy() {
+        return Optional.ofNullable(hedgingPolicy);
+    }
+
     /**
      * Load the optional requested advanced option that was configured on the client builder.
      *
@@ -157,15 +174,27 @@ public final class ClientOverrideConfiguration
         return Optional.ofNullable(apiCallAttemptTimeout);
     }
 
+    /**
+     * An immutable collection of {@link MetricPublisher}s that will receive the metrics collected for each API call made by the
+     * client.
+     *
+     * @see Builder#metricPublishers(List)
+     */
+    public List<MetricPublisher> metricPublishers() {
+        return metricPublishers;
+    }
+
     @Override
     public String toString() {
         return ToString.builder("ClientOverrideConfiguration")
                        .add("headers", headers)
                        .add("retryPolicy", retryPolicy)
+                       .add("hedgingPolicy", hedgingPolicy)
                        .add("apiCallTimeout", apiCallTimeout)
                        .add("apiCallAttemptTimeout", apiCallAttemptTimeout)
                        .add("executionInterceptors", executionInterceptors)
                        .add("advancedOptions", advancedOptions)
+                       .add("metricPublishers", metricPublishers)
                        .build();
     }
 
@@ -232,6 +261,24 @@ public final class ClientOverrideConfiguration
             return retryPolicy(RetryPolicy.builder().applyMutation(retryPolicy).build());
         }
 
+        /**
+         * Configure the hedging policy that should be used to reduce the tail latency of idempotent read operations, by
+         * sending a second copy of slow attempts and using whichever responds first. Hedging is only performed by
+         * asynchronous clients, and is disabled by default.
+         *
+         * @see ClientOverrideConfiguration#hedgingPolicy()
+         */
+        Builder hedgingPolicy(HedgingPolicy hedgingPolicy);
+
+        HedgingPolicy hedgingPolicy();
+
+        /**
+         * Configure the hedging policy that should be used to reduce the tail latency of idempotent read operations.
+         */
+        default Builder hedgingPolicy(Consumer<HedgingPolicy.Builder> hedgingPolicy) {
+            return hedgingPolicy(HedgingPolicy.builder().applyMutation(hedgingPolicy).build());
+        }
+
         /**
          * Configure a list of execution interceptors that will have access to read and modify the request and response objcets as
          * they are processed by the SDK. These will replace any interceptors configured previously with this method or
@@ -325,6 +372,27 @@ public final class ClientOverrideConfiguration
         Builder apiCallAttemptTimeout(Duration apiCallAttemptTimeout);
 
         Duration apiCallAttemptTimeout();
+
+        /**
+         * Configure the list of {@link MetricPublisher}s that will receive the metrics collected for each API call, including
+         * per-attempt timings for marshalling, signing, time to first byte, unmarshalling and retry backoff. See
+         * {@link software.amazon.awssdk.core.metrics.CoreMetric} for the metrics that are collected. These will replace any
+         * publishers configured previously with this method or {@link #addMetricPublisher(MetricPublisher)}.
+         *
+         * <p>Metrics are only collected when at least one publisher is configured.
+         *
+         * @see ClientOverrideConfiguration#metricPublishers()
+         */
+        Builder metricPublishers(List<MetricPublisher> metricPublishers);
+
+        /**
+         * Add a {@link MetricPublisher} that will receive the metrics collected for each API call.
+         *
+         * @see ClientOverrideConfiguration#metricPublishers()
+         */
+        Builder addMetricPublisher(MetricPublisher metricPublisher);
+
+        List<MetricPublisher> metricPublishers();
     }
 
     /**
@@ -333,10 +401,12 @@ public final class ClientOverrideConfiguration
     private static final class DefaultClientOverrideConfigurationBuilder implements Builder {
         private Map<String, List<String>> headers = new HashMap<>();
         private RetryPolicy retryPolicy;
+        private HedgingPolicy hedgingPolicy;
         private List<ExecutionInterceptor> executionInterceptors = new ArrayList<>();
         private AttributeMap.Builder advancedOptions = AttributeMap.builder();
         private Duration apiCallTimeout;
         private Duration apiCallAttemptTimeout;
+        private List<MetricPublisher> metricPublishers = new ArrayList<>();
 
         @Override
         public Builder headers(Map<String, List<String>> headers) {
@@ -377,6 +447,21 @@ public final class ClientOverrideConfiguration
             return retryPolicy;
         }
 
+        @Override
+        public Builder hedgingPolicy(HedgingPolicy hedgingPolicy) {
+            this.hedgingPolicy = hedgingPolicy;
+            return this;
+        }
+
+        public void setHedgingPolicy(HedgingPolicy hedgingPolicy) {
+            hedgingPolicy(hedgingPolicy);
+        }
+
+        @Override
+        public HedgingPolicy hedgingPolicy() {
+            return hedgingPolicy;
+        }
+
         @Override
         public Builder executionInterceptors(List<ExecutionInterceptor> executionInterceptors) {
             Validate.paramNotNull(executionInterceptors, "executionInterceptors");
@@ -456,6 +541,29 @@ public final class ClientOverrideConfiguration
             return apiCallAttemptTimeout;
         }
 
+        @Override
+        public Builder metricPublishers(List<MetricPublisher> metricPublishers) {
+            Validate.paramNotNull(metricPublishers, "metricPublishers");
+            this.metricPublishers = new ArrayList<>(metricPublishers);
+            return this;
+        }
+
+        @Override
+        public Builder addMetricPublisher(MetricPublisher metricPublisher) {
+            Validate.paramNotNull(metricPublisher, "metricPublisher");
+            this.metricPublishers.add(metricPublisher);
+            return this;
+        }
+
+        public void setMetricPublishers(List<MetricPublisher> metricPublishers) {
+            metricPublishers(metricPublishers);
+        }
+
+        @Override
+        public List<MetricPublisher> metricPublishers() {
+            return Collections.unmodifiableList(metricPublishers);
+        }
+
         @Override
         public ClientOverrideConfiguration build() {
             return new ClientOverrideConfiguration(this);
@@ -41,6 +41,39 @@ public final class SdkAdvancedAsyncClientOption<T> extends ClientOption<T> {
     public static final SdkAdvancedAsyncClientOption<Executor> FUTURE_COMPLETION_EXECUTOR =
             new SdkAdvancedAsyncClientOption<>(Executor.class);
 
+    /**
+     * Whether the {@link CompletableFuture} returned by the service clients should be completed on virtual threads, instead of
+     * on a fixed-size pool of platform threads managed by the SDK. With virtual threads, a callback that blocks does not hold
+     * up the completion of other futures. This is ignored if {@link #FUTURE_COMPLETION_EXECUTOR} is configured.
+     *
+     * <p>Virtual threads require Java 21 or later. If the JVM cannot create virtual threads, a warning is logged and the
+     * default executor is used. Defaults to false.</p>
+     *
+     * <p>Sync clients do their blocking I/O on the thread that calls them, so they already run on virtual threads when they
+     * are called from one, and need no configuration for it.</p>
+     */
+    public static final SdkAdvancedAsyncClientOption<Boolean> USE_VIRTUAL_THREADS =
+            new SdkAdvancedAsyncClientOption<>(Boolean.class);
+
+    /**
+     * Whether the {@link CompletableFuture} returned by the service clients should be completed directly on the thread that
+     * received the response, which is usually an I/O thread of the async HTTP client, instead of on the
+     * {@link #FUTURE_COMPLETION_EXECUTOR}. This removes a hand-off between threads from every call, which lowers latency for
+     * callers that only do non-blocking work when the future completes.
+     *
+     * <p>Callbacks that are added to the future before it completes then run on the I/O thread. A callback that blocks, for
+     * example by making a sync call or waiting on another future, stops that thread from serving any other request and can
+     * deadlock the client. When a future takes longer than 10 milliseconds to complete, a warning is logged, at most once a
+     * minute. Use the {@code *Async} methods of {@link CompletableFuture} with an executor to run blocking work.</p>
+     *
+     * <p>This only changes how the returned futures are completed. The events of an event stream operation are still delivered
+     * to the subscriber on the {@link #FUTURE_COMPLETION_EXECUTOR}.</p>
+     *
+     * <p>This is ignored if {@link #FUTURE_COMPLETION_EXECUTOR} is configured. Defaults to false.</p>
+     */
+    public static final SdkAdvancedAsyncClientOption<Boolean> DIRECT_FUTURE_COMPLETION =
+            new SdkAdvancedAsyncClientOption<>(Boolean.class);
+
     private SdkAdvancedAsyncClientOption(Class<T> valueClass) {
         super(valueClass);
     }
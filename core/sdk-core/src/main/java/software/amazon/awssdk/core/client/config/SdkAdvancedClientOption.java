@@ -16,6 +16,7 @@
 package software.amazon.awssdk.core.client.config;
 
 import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.core.SdkSystemSetting;
 import software.amazon.awssdk.core.signer.Signer;
 
 
@@ -55,6 +56,27 @@ public class SdkAdvancedClientOption<T> extends ClientOption<T> {
     public static final SdkAdvancedClientOption<Boolean> DISABLE_HOST_PREFIX_INJECTION =
         new SdkAdvancedClientOption<>(Boolean.class);
 
+    /**
+     * Whether the client should use the executors that are shared by all clients in the JVM that use them, instead of
+     * creating its own. This is useful when an application creates many clients, for example one per region or account,
+     * because each client otherwise creates a thread pool for completing async futures and another for scheduling
+     * retries and timeouts. The shared executors are shut down when the last client using them is closed.
+     *
+     * <p>Defaults to the value of {@link SdkSystemSetting#AWS_SHARED_EXECUTORS_ENABLED}, which defaults to false.</p>
+     */
+    public static final SdkAdvancedClientOption<Boolean> USE_SHARED_EXECUTORS = new SdkAdvancedClientOption<>(Boolean.class);
+
+    /**
+     * Whether the client should track API call and API call attempt timeouts on a timer wheel that is shared by all clients,
+     * instead of scheduling a task on the client's scheduled executor for every call and every attempt. The timer wheel
+     * makes starting and cancelling a timeout cheaper when many calls are in flight, but it only checks for expired timeouts
+     * every 10 milliseconds, so a timeout may be reported up to 10 milliseconds late. The timeouts of asynchronous calls are
+     * still failed on the client's scheduled executor, so that slow callbacks on a timed-out call do not hold up the timer.
+     *
+     * <p>Defaults to false.</p>
+     */
+    public static final SdkAdvancedClientOption<Boolean> USE_HASHED_WHEEL_TIMER = new SdkAdvancedClientOption<>(Boolean.class);
+
     protected SdkAdvancedClientOption(Class<T> valueClass) {
         super(valueClass);
     }
@@ -19,12 +19,15 @@ import java.net.URI;
 import java.time.Duration;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ScheduledExecutorService;
 import software.amazon.awssdk.annotations.SdkProtectedApi;
 import software.amazon.awssdk.core.ClientType;
 import software.amazon.awssdk.core.ServiceConfiguration;
 import software.amazon.awssdk.core.client.builder.SdkClientBuilder;
 import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.core.metrics.MetricPublisher;
+import software.amazon.awssdk.core.retry.HedgingPolicy;
 import software.amazon.awssdk.core.retry.RetryPolicy;
 import software.amazon.awssdk.http.SdkHttpClient;
 import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
@@ -45,6 +48,11 @@ public final class SdkClientOption<T> extends ClientOption<T> {
      */
     public static final SdkClientOption<RetryPolicy> RETRY_POLICY = new SdkClientOption<>(RetryPolicy.class);
 
+    /**
+     * @see ClientOverrideConfiguration#hedgingPolicy()
+     */
+    public static final SdkClientOption<HedgingPolicy> HEDGING_POLICY = new SdkClientOption<>(HedgingPolicy.class);
+
     /**
      * @see ClientOverrideConfiguration#executionInterceptors()
      */
@@ -75,6 +83,16 @@ public final class SdkClientOption<T> extends ClientOption<T> {
     public static final SdkClientOption<ScheduledExecutorService> SCHEDULED_EXECUTOR_SERVICE =
             new SdkClientOption<>(ScheduledExecutorService.class);
 
+    /**
+     * The executor that completes the future of each async HTTP request once its response has been handled. This is only set
+     * when {@link SdkAdvancedAsyncClientOption#DIRECT_FUTURE_COMPLETION} is in effect. When it is not set, the
+     * {@link SdkAdvancedAsyncClientOption#FUTURE_COMPLETION_EXECUTOR} is used.
+     *
+     * <p>Other asynchronous work, like delivering the events of an event stream, always runs on the
+     * {@link SdkAdvancedAsyncClientOption#FUTURE_COMPLETION_EXECUTOR}.</p>
+     */
+    public static final SdkClientOption<Executor> RESPONSE_COMPLETION_EXECUTOR = new SdkClientOption<>(Executor.class);
+
     /**
      * The asynchronous HTTP client implementation to make HTTP requests with.
      */
@@ -112,6 +130,12 @@ public final class SdkClientOption<T> extends ClientOption<T> {
      */
     public static final SdkClientOption<Boolean> ENDPOINT_DISCOVERY_ENABLED = new SdkClientOption<>(Boolean.class);
 
+    /**
+     * @see ClientOverrideConfiguration#metricPublishers()
+     */
+    public static final SdkClientOption<List<MetricPublisher>> METRIC_PUBLISHERS =
+            new SdkClientOption<>(new UnsafeValueType(List.class));
+
     private SdkClientOption(Class<T> valueClass) {
         super(valueClass);
     }
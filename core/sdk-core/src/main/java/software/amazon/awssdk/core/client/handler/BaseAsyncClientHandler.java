@@ -36,6 +36,7 @@ import software.amazon.awssdk.core.internal.http.async.AsyncAfterTransmissionInt
 import software.amazon.awssdk.core.internal.http.async.AsyncResponseHandler;
 import software.amazon.awssdk.core.internal.http.async.AsyncStreamingResponseHandler;
 import software.amazon.awssdk.core.internal.util.ThrowableUtils;
+import software.amazon.awssdk.core.metrics.MetricCollector;
 import software.amazon.awssdk.http.SdkHttpFullRequest;
 import software.amazon.awssdk.http.SdkHttpFullResponse;
 import software.amazon.awssdk.utils.CompletableFutureUtils;
@@ -67,7 +68,7 @@ public abstract class BaseAsyncClientHandler extends BaseClientHandler implement
                                        crc32Validator,
                                        executionContext.executionAttributes());
 
-        return doExecute(executionParams, executionContext, asyncResponseHandler);
+        return executeWithMetrics(executionParams, executionContext, asyncResponseHandler);
     }
 
     @Override
@@ -88,7 +89,19 @@ public abstract class BaseAsyncClientHandler extends BaseClientHandler implement
         AsyncStreamingResponseHandler<OutputT, ReturnT> asyncStreamingResponseHandler =
             new AsyncStreamingResponseHandler<>(asyncResponseTransformer, decoratedResponseHandlers);
 
-        return doExecute(executionParams, context, asyncStreamingResponseHandler);
+        return executeWithMetrics(executionParams, context, asyncStreamingResponseHandler);
+    }
+
+    private <InputT extends SdkRequest, OutputT extends SdkResponse, ReturnT> CompletableFuture<ReturnT> executeWithMetrics(
+        ClientExecutionParams<InputT, OutputT> executionParams,
+        ExecutionContext executionContext,
+        TransformingAsyncResponseHandler<ReturnT> asyncResponseHandler) {
+
+        long apiCallStart = System.nanoTime();
+        MetricCollector metricCollector = startApiCallMetrics(executionContext, executionParams, clientConfiguration);
+        CompletableFuture<ReturnT> future = doExecute(executionParams, executionContext, asyncResponseHandler);
+        future.whenComplete((r, t) -> finishApiCallMetrics(metricCollector, apiCallStart, t == null, clientConfiguration));
+        return future;
     }
 
     private <InputT extends SdkRequest, OutputT extends SdkResponse, ReturnT> CompletableFuture<ReturnT> doExecute(
@@ -28,6 +28,10 @@ import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
 import software.amazon.awssdk.core.interceptor.ExecutionInterceptorChain;
 import software.amazon.awssdk.core.interceptor.InterceptorContext;
 import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
+import software.amazon.awssdk.core.interceptor.SdkInternalExecutionAttribute;
+import software.amazon.awssdk.core.internal.util.MetricUtils;
+import software.amazon.awssdk.core.metrics.CoreMetric;
+import software.amazon.awssdk.core.metrics.MetricCollector;
 import software.amazon.awssdk.http.SdkHttpFullRequest;
 import software.amazon.awssdk.utils.StringUtils;
 
@@ -60,7 +64,10 @@ public abstract class BaseClientHandler {
         SdkClientConfiguration clientConfiguration) {
 
         runBeforeMarshallingInterceptors(executionContext);
+        long marshallingStart = System.nanoTime();
         SdkHttpFullRequest request = executionParams.getMarshaller().marshall(inputT);
+        MetricUtils.apiCallMetricCollector(executionContext.executionAttributes())
+                   .reportMetric(CoreMetric.MARSHALLING_DURATION, MetricUtils.durationSince(marshallingStart));
         request = modifyEndpointHostIfNeeded(request, clientConfiguration, executionParams);
 
         addHttpRequest(executionContext, request);
@@ -173,6 +180,39 @@ public abstract class BaseClientHandler {
                                .build();
     }
 
+    /**
+     * Create the {@link MetricCollector} for this API call and attach it to the execution so that the request pipeline can report
+     * metrics to it.
+     */
+    static MetricCollector startApiCallMetrics(ExecutionContext executionContext,
+                                               ClientExecutionParams<?, ?> executionParams,
+                                               SdkClientConfiguration clientConfiguration) {
+        MetricCollector collector =
+            MetricUtils.createApiCallMetricCollector(clientConfiguration.option(SdkClientOption.METRIC_PUBLISHERS));
+        executionContext.executionAttributes().putAttribute(SdkInternalExecutionAttribute.API_CALL_METRIC_COLLECTOR, collector);
+
+        String serviceName = clientConfiguration.option(SdkClientOption.SERVICE_NAME);
+        if (serviceName != null) {
+            collector.reportMetric(CoreMetric.SERVICE_ID, serviceName);
+        }
+        if (executionParams.getOperationName() != null) {
+            collector.reportMetric(CoreMetric.OPERATION_NAME, executionParams.getOperationName());
+        }
+        return collector;
+    }
+
+    /**
+     * Report the outcome of the API call to its {@link MetricCollector} and publish the collected metrics.
+     */
+    static void finishApiCallMetrics(MetricCollector collector,
+                                     long apiCallStart,
+                                     boolean successful,
+                                     SdkClientConfiguration clientConfiguration) {
+        collector.reportMetric(CoreMetric.API_CALL_DURATION, MetricUtils.durationSince(apiCallStart));
+        collector.reportMetric(CoreMetric.API_CALL_SUCCESSFUL, successful);
+        MetricUtils.publish(clientConfiguration.option(SdkClientOption.METRIC_PUBLISHERS), collector);
+    }
+
     protected boolean isCalculateCrc32FromCompressedData() {
         return clientConfiguration.option(SdkClientOption.CRC32_FROM_COMPRESSED_DATA_ENABLED);
     }
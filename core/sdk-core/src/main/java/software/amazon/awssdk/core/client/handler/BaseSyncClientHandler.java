@@ -29,6 +29,7 @@ import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
 import software.amazon.awssdk.core.interceptor.InterceptorContext;
 import software.amazon.awssdk.core.internal.http.AmazonSyncHttpClient;
 import software.amazon.awssdk.core.internal.http.InterruptMonitor;
+import software.amazon.awssdk.core.metrics.MetricCollector;
 import software.amazon.awssdk.core.sync.ResponseTransformer;
 import software.amazon.awssdk.http.AbortableInputStream;
 import software.amazon.awssdk.http.SdkHttpFullRequest;
@@ -101,6 +102,23 @@ public abstract class BaseSyncClientHandler extends BaseClientHandler implements
         ExecutionContext executionContext,
         HttpResponseHandler<ReturnT> responseHandler) {
 
+        long apiCallStart = System.nanoTime();
+        MetricCollector metricCollector = startApiCallMetrics(executionContext, executionParams, clientConfiguration);
+        boolean successful = false;
+        try {
+            ReturnT result = doExecute(executionParams, executionContext, responseHandler);
+            successful = true;
+            return result;
+        } finally {
+            finishApiCallMetrics(metricCollector, apiCallStart, successful, clientConfiguration);
+        }
+    }
+
+    private <InputT extends SdkRequest, OutputT, ReturnT> ReturnT doExecute(
+        ClientExecutionParams<InputT, OutputT> executionParams,
+        ExecutionContext executionContext,
+        HttpResponseHandler<ReturnT> responseHandler) {
+
         InputT inputT = (InputT) finalizeSdkRequest(executionContext).request();
 
         InterceptorContext sdkHttpFullRequestContext = finalizeSdkHttpFullRequest(executionParams,
@@ -16,8 +16,11 @@
 package software.amazon.awssdk.core.interceptor;
 
 import java.io.InputStream;
+import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.function.Consumer;
 import software.amazon.awssdk.annotations.SdkProtectedApi;
@@ -39,6 +42,10 @@ import software.amazon.awssdk.utils.Validate;
  * Interceptors are invoked in forward order up to {@link #beforeTransmission} and in reverse order after (and including)
  * {@link #afterTransmission}. This ensures the last interceptors to modify the request are the first interceptors to see the
  * response.
+ *
+ * When the chain is created, it checks which methods each interceptor overrides, and only invokes an interceptor for the
+ * lifecycle methods it overrides. The default implementations of the other methods do nothing, or return the message they
+ * were given unmodified.
  */
 @SdkProtectedApi
 public class ExecutionInterceptorChain {
@@ -46,21 +53,44 @@ public class ExecutionInterceptorChain {
 
     private final List<ExecutionInterceptor> interceptors;
 
+    /**
+     * The interceptors that override the methods of each {@link Hook}, in the order they are provided.
+     */
+    private final Map<Hook, List<ExecutionInterceptor>> interceptorsByHook = new EnumMap<>(Hook.class);
+
+    /**
+     * Whether the interceptor at the same index in {@link #interceptors} overrides a {@link Hook#MODIFY_HTTP_REQUEST} method.
+     */
+    private final boolean[] modifiesHttpRequest;
+
     /**
      * Create a chain that will execute the provided interceptors in the order they are provided.
      */
     public ExecutionInterceptorChain(List<ExecutionInterceptor> interceptors) {
         this.interceptors = new ArrayList<>(Validate.paramNotNull(interceptors, "interceptors"));
+        for (Hook hook : Hook.values()) {
+            List<ExecutionInterceptor> hookInterceptors = new ArrayList<>();
+            for (ExecutionInterceptor interceptor : this.interceptors) {
+                if (hook.isOverriddenBy(interceptor)) {
+                    hookInterceptors.add(interceptor);
+                }
+            }
+            interceptorsByHook.put(hook, hookInterceptors);
+        }
+        this.modifiesHttpRequest = new boolean[this.interceptors.size()];
+        for (int i = 0; i < this.interceptors.size(); i++) {
+            modifiesHttpRequest[i] = Hook.MODIFY_HTTP_REQUEST.isOverriddenBy(this.interceptors.get(i));
+        }
         LOG.debug(() -> "Creating an interceptor chain that will apply interceptors in the following order: " + interceptors);
     }
 
     public void beforeExecution(Context.BeforeExecution context, ExecutionAttributes executionAttributes) {
-        interceptors.forEach(i -> i.beforeExecution(context, executionAttributes));
+        interceptorsByHook.get(Hook.BEFORE_EXECUTION).forEach(i -> i.beforeExecution(context, executionAttributes));
     }
 
     public InterceptorContext modifyRequest(InterceptorContext context, ExecutionAttributes executionAttributes) {
         InterceptorContext result = context;
-        for (ExecutionInterceptor interceptor : interceptors) {
+        for (ExecutionInterceptor interceptor : interceptorsByHook.get(Hook.MODIFY_REQUEST)) {
             SdkRequest interceptorResult = interceptor.modifyRequest(result, executionAttributes);
             validateInterceptorResult(result.request(), interceptorResult, interceptor, "modifyRequest");
 
@@ -70,29 +100,29 @@ public class ExecutionInterceptorChain {
     }
 
     public void beforeMarshalling(Context.BeforeMarshalling context, ExecutionAttributes executionAttributes) {
-        interceptors.forEach(i -> i.beforeMarshalling(context, executionAttributes));
+        interceptorsByHook.get(Hook.BEFORE_MARSHALLING).forEach(i -> i.beforeMarshalling(context, executionAttributes));
     }
 
     public void afterMarshalling(Context.AfterMarshalling context, ExecutionAttributes executionAttributes) {
-        interceptors.forEach(i -> i.afterMarshalling(context, executionAttributes));
+        interceptorsByHook.get(Hook.AFTER_MARSHALLING).forEach(i -> i.afterMarshalling(context, executionAttributes));
     }
 
     public InterceptorContext modifyHttpRequestAndHttpContent(InterceptorContext context,
                                                               ExecutionAttributes executionAttributes) {
         InterceptorContext result = context;
-        for (ExecutionInterceptor interceptor : interceptors) {
+        for (int i = 0; i < interceptors.size(); i++) {
+            ExecutionInterceptor interceptor = interceptors.get(i);
+
+            // Interceptors that do not modify the request are not invoked, but the request body is still populated from the
+            // content of the original request, as it is before invoking the interceptors that do.
+            if (!modifiesHttpRequest[i]) {
+                result = withRequestBody(result, context);
+                continue;
+            }
 
             AsyncRequestBody asyncRequestBody = interceptor.modifyAsyncHttpContent(result, executionAttributes).orElse(null);
 
-            SdkHttpFullRequest sdkHttpFullRequest = (SdkHttpFullRequest) context.httpRequest();
-            if (!result.requestBody().isPresent() && sdkHttpFullRequest.contentStreamProvider().isPresent()) {
-                long contentLength = Long.parseLong(sdkHttpFullRequest.firstMatchingHeader("Content-Length").orElse("0"));
-                String contentType = sdkHttpFullRequest.firstMatchingHeader("Content-Type").orElse("");
-                RequestBody requestBody = RequestBody.fromContentProvider(sdkHttpFullRequest.contentStreamProvider().get(),
-                                                                          contentLength,
-                                                                          contentType);
-                result = result.toBuilder().requestBody(requestBody).build();
-            }
+            result = withRequestBody(result, context);
 
             RequestBody requestBody = interceptor.modifyHttpContent(result, executionAttributes).orElse(null);
 
@@ -106,24 +136,41 @@ public class ExecutionInterceptorChain {
         return result;
     }
 
+    /**
+     * Populate the request body of the given context from the content of the original HTTP request, if it does not have one.
+     */
+    private InterceptorContext withRequestBody(InterceptorContext result, InterceptorContext context) {
+        SdkHttpFullRequest sdkHttpFullRequest = (SdkHttpFullRequest) context.httpRequest();
+        if (!result.requestBody().isPresent() && sdkHttpFullRequest.contentStreamProvider().isPresent()) {
+            long contentLength = Long.parseLong(sdkHttpFullRequest.firstMatchingHeader("Content-Length").orElse("0"));
+            String contentType = sdkHttpFullRequest.firstMatchingHeader("Content-Type").orElse("");
+            RequestBody requestBody = RequestBody.fromContentProvider(sdkHttpFullRequest.contentStreamProvider().get(),
+                                                                      contentLength,
+                                                                      contentType);
+            return result.toBuilder().requestBody(requestBody).build();
+        }
+        return result;
+    }
+
     public void beforeTransmission(Context.BeforeTransmission context, ExecutionAttributes executionAttributes) {
-        interceptors.forEach(i -> i.beforeTransmission(context, executionAttributes));
+        interceptorsByHook.get(Hook.BEFORE_TRANSMISSION).forEach(i -> i.beforeTransmission(context, executionAttributes));
     }
 
     public void afterTransmission(Context.AfterTransmission context, ExecutionAttributes executionAttributes) {
-        reverseForEach(i -> i.afterTransmission(context, executionAttributes));
+        reverseForEach(Hook.AFTER_TRANSMISSION, i -> i.afterTransmission(context, executionAttributes));
     }
 
     public InterceptorContext modifyHttpResponse(InterceptorContext context,
                                                  ExecutionAttributes executionAttributes) {
         InterceptorContext result = context;
+        List<ExecutionInterceptor> hookInterceptors = interceptorsByHook.get(Hook.MODIFY_HTTP_RESPONSE);
 
-        for (int i = interceptors.size() - 1; i >= 0; i--) {
+        for (int i = hookInterceptors.size() - 1; i >= 0; i--) {
             SdkHttpResponse interceptorResult =
-                interceptors.get(i).modifyHttpResponse(result, executionAttributes);
-            validateInterceptorResult(result.httpResponse(), interceptorResult, interceptors.get(i), "modifyHttpResponse");
+                hookInterceptors.get(i).modifyHttpResponse(result, executionAttributes);
+            validateInterceptorResult(result.httpResponse(), interceptorResult, hookInterceptors.get(i), "modifyHttpResponse");
 
-            InputStream response = interceptors.get(i).modifyHttpResponseContent(result, executionAttributes).orElse(null);
+            InputStream response = hookInterceptors.get(i).modifyHttpResponseContent(result, executionAttributes).orElse(null);
 
             result = result.toBuilder().httpResponse(interceptorResult).responseBody(response).build();
         }
@@ -134,10 +181,11 @@ public class ExecutionInterceptorChain {
     public InterceptorContext modifyAsyncHttpResponse(InterceptorContext context,
                                                       ExecutionAttributes executionAttributes) {
         InterceptorContext result = context;
-        for (int i = interceptors.size() - 1; i >= 0; i--) {
+        List<ExecutionInterceptor> hookInterceptors = interceptorsByHook.get(Hook.MODIFY_ASYNC_HTTP_RESPONSE);
+        for (int i = hookInterceptors.size() - 1; i >= 0; i--) {
             result = result.toBuilder()
-                           .responsePublisher(interceptors.get(i).modifyAsyncHttpResponseContent(result, executionAttributes)
-                                                          .orElse(null))
+                           .responsePublisher(hookInterceptors.get(i).modifyAsyncHttpResponseContent(result, executionAttributes)
+                                                              .orElse(null))
                            .build();
         }
 
@@ -145,18 +193,19 @@ public class ExecutionInterceptorChain {
     }
 
     public void beforeUnmarshalling(Context.BeforeUnmarshalling context, ExecutionAttributes executionAttributes) {
-        reverseForEach(i -> i.beforeUnmarshalling(context, executionAttributes));
+        reverseForEach(Hook.BEFORE_UNMARSHALLING, i -> i.beforeUnmarshalling(context, executionAttributes));
     }
 
     public void afterUnmarshalling(Context.AfterUnmarshalling context, ExecutionAttributes executionAttributes) {
-        reverseForEach(i -> i.afterUnmarshalling(context, executionAttributes));
+        reverseForEach(Hook.AFTER_UNMARSHALLING, i -> i.afterUnmarshalling(context, executionAttributes));
     }
 
     public InterceptorContext modifyResponse(InterceptorContext context, ExecutionAttributes executionAttributes) {
         InterceptorContext result = context;
-        for (int i = interceptors.size() - 1; i >= 0; i--) {
-            SdkResponse interceptorResult = interceptors.get(i).modifyResponse(result, executionAttributes);
-            validateInterceptorResult(result.response(), interceptorResult, interceptors.get(i), "modifyResponse");
+        List<ExecutionInterceptor> hookInterceptors = interceptorsByHook.get(Hook.MODIFY_RESPONSE);
+        for (int i = hookInterceptors.size() - 1; i >= 0; i--) {
+            SdkResponse interceptorResult = hookInterceptors.get(i).modifyResponse(result, executionAttributes);
+            validateInterceptorResult(result.response(), interceptorResult, hookInterceptors.get(i), "modifyResponse");
 
             result = result.copy(b -> b.response(interceptorResult));
         }
@@ -165,15 +214,16 @@ public class ExecutionInterceptorChain {
     }
 
     public void afterExecution(Context.AfterExecution context, ExecutionAttributes executionAttributes) {
-        reverseForEach(i -> i.afterExecution(context, executionAttributes));
+        reverseForEach(Hook.AFTER_EXECUTION, i -> i.afterExecution(context, executionAttributes));
     }
 
     public DefaultFailedExecutionContext modifyException(DefaultFailedExecutionContext context,
                                                          ExecutionAttributes executionAttributes) {
         DefaultFailedExecutionContext result = context;
-        for (int i = interceptors.size() - 1; i >= 0; i--) {
-            Throwable interceptorResult = interceptors.get(i).modifyException(result, executionAttributes);
-            validateInterceptorResult(result.exception(), interceptorResult, interceptors.get(i), "modifyException");
+        List<ExecutionInterceptor> hookInterceptors = interceptorsByHook.get(Hook.MODIFY_EXCEPTION);
+        for (int i = hookInterceptors.size() - 1; i >= 0; i--) {
+            Throwable interceptorResult = hookInterceptors.get(i).modifyException(result, executionAttributes);
+            validateInterceptorResult(result.exception(), interceptorResult, hookInterceptors.get(i), "modifyException");
             result = result.copy(b -> b.exception(interceptorResult));
         }
 
@@ -181,7 +231,7 @@ public class ExecutionInterceptorChain {
     }
 
     public void onExecutionFailure(Context.FailedExecution context, ExecutionAttributes executionAttributes) {
-        interceptors.forEach(i -> i.onExecutionFailure(context, executionAttributes));
+        interceptorsByHook.get(Hook.ON_EXECUTION_FAILURE).forEach(i -> i.onExecutionFailure(context, executionAttributes));
     }
 
     /**
@@ -203,11 +253,61 @@ public class ExecutionInterceptorChain {
     }
 
     /**
-     * Execute the provided action against the interceptors in this chain in the reverse order they are configured.
+     * Execute the provided action against the interceptors in this chain that override the methods of the given hook, in the
+     * reverse order they are configured.
      */
-    private void reverseForEach(Consumer<ExecutionInterceptor> action) {
-        for (int i = interceptors.size() - 1; i >= 0; i--) {
-            action.accept(interceptors.get(i));
+    private void reverseForEach(Hook hook, Consumer<ExecutionInterceptor> action) {
+        List<ExecutionInterceptor> hookInterceptors = interceptorsByHook.get(hook);
+        for (int i = hookInterceptors.size() - 1; i >= 0; i--) {
+            action.accept(hookInterceptors.get(i));
+        }
+    }
+
+    /**
+     * A point in the lifecycle of a request at which interceptors are invoked, and the {@link ExecutionInterceptor} methods
+     * that are invoked at that point.
+     */
+    private enum Hook {
+        BEFORE_EXECUTION(Context.BeforeExecution.class, "beforeExecution"),
+        MODIFY_REQUEST(Context.ModifyRequest.class, "modifyRequest"),
+        BEFORE_MARSHALLING(Context.BeforeMarshalling.class, "beforeMarshalling"),
+        AFTER_MARSHALLING(Context.AfterMarshalling.class, "afterMarshalling"),
+        MODIFY_HTTP_REQUEST(Context.ModifyHttpRequest.class, "modifyHttpRequest", "modifyHttpContent", "modifyAsyncHttpContent"),
+        BEFORE_TRANSMISSION(Context.BeforeTransmission.class, "beforeTransmission"),
+        AFTER_TRANSMISSION(Context.AfterTransmission.class, "afterTransmission"),
+        MODIFY_HTTP_RESPONSE(Context.ModifyHttpResponse.class, "modifyHttpResponse", "modifyHttpResponseContent"),
+        MODIFY_ASYNC_HTTP_RESPONSE(Context.ModifyHttpResponse.class, "modifyAsyncHttpResponseContent"),
+        BEFORE_UNMARSHALLING(Context.BeforeUnmarshalling.class, "beforeUnmarshalling"),
+        AFTER_UNMARSHALLING(Context.AfterUnmarshalling.class, "afterUnmarshalling"),
+        MODIFY_RESPONSE(Context.ModifyResponse.class, "modifyResponse"),
+        AFTER_EXECUTION(Context.AfterExecution.class, "afterExecution"),
+        MODIFY_EXCEPTION(Context.FailedExecution.class, "modifyException"),
+        ON_EXECUTION_FAILURE(Context.FailedExecution.class, "onExecutionFailure");
+
+        private final Class<?> contextType;
+        private final String[] methodNames;
+
+        Hook(Class<?> contextType, String... methodNames) {
+            this.contextType = contextType;
+            this.methodNames = methodNames;
+        }
+
+        /**
+         * @return True if the interceptor overrides any of the methods of this hook, or if that cannot be determined.
+         */
+        private boolean isOverriddenBy(ExecutionInterceptor interceptor) {
+            for (String methodName : methodNames) {
+                try {
+                    Method method = interceptor.getClass().getMethod(methodName, contextType, ExecutionAttributes.class);
+                    if (method.getDeclaringClass() != ExecutionInterceptor.class) {
+                        return true;
+                    }
+                } catch (NoSuchMethodException | SecurityException e) {
+                    LOG.debug(() -> "Unable to determine whether " + interceptor + " overrides " + methodName, e);
+                    return true;
+                }
+            }
+            return false;
         }
     }
 }
@@ -18,6 +18,7 @@ package software.amazon.awssdk.core.interceptor;
 import java.util.concurrent.CompletableFuture;
 import software.amazon.awssdk.annotations.SdkProtectedApi;
 import software.amazon.awssdk.core.async.AsyncResponseTransformer;
+import software.amazon.awssdk.core.metrics.MetricCollector;
 
 /**
  * Attributes that can be applied to all sdk requests. Only SDK is allowed to set these values.
@@ -39,6 +40,19 @@ public final class SdkInternalExecutionAttribute extends SdkExecutionAttribute {
     public static final ExecutionAttribute<CompletableFuture<?>> ASYNC_RESPONSE_TRANSFORMER_FUTURE =
         new ExecutionAttribute<>("AsyncResponseTransformerFuture");
 
+    /**
+     * The key to store the {@link MetricCollector} for the whole API call.
+     */
+    public static final ExecutionAttribute<MetricCollector> API_CALL_METRIC_COLLECTOR =
+        new ExecutionAttribute<>("ApiCallMetricCollector");
+
+    /**
+     * The key to store the {@link MetricCollector} for the current attempt of the API call. This is replaced by the retry
+     * stages at the start of each attempt.
+     */
+    public static final ExecutionAttribute<MetricCollector> API_CALL_ATTEMPT_METRIC_COLLECTOR =
+        new ExecutionAttribute<>("ApiCallAttemptMetricCollector");
+
     private SdkInternalExecutionAttribute() {
     }
 }
@@ -143,12 +143,14 @@ public final class FileAsyncResponseTransformer<ResponseT> implements AsyncRespo
                         performWrite(byteBuffer);
                     } else {
                         synchronized (FileSubscriber.this) {
+                            // Cleared before requesting more, as the publisher may signal onNext or onComplete from
+                            // within request().
+                            writeInProgress = false;
                             if (closeOnLastWrite) {
                                 close();
                             } else {
                                 subscription.request(1);
                             }
-                            writeInProgress = false;
                         }
                     }
                 }
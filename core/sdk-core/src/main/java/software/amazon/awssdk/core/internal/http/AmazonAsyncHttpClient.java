@@ -23,6 +23,7 @@ import software.amazon.awssdk.annotations.ThreadSafe;
 import software.amazon.awssdk.core.SdkRequest;
 import software.amazon.awssdk.core.async.AsyncRequestBody;
 import software.amazon.awssdk.core.client.config.SdkClientConfiguration;
+import software.amazon.awssdk.core.client.config.SdkClientOption;
 import software.amazon.awssdk.core.exception.SdkClientException;
 import software.amazon.awssdk.core.exception.SdkException;
 import software.amazon.awssdk.core.http.ExecutionContext;
@@ -42,9 +43,12 @@ import software.amazon.awssdk.core.internal.http.pipeline.stages.MergeCustomQuer
 import software.amazon.awssdk.core.internal.http.pipeline.stages.MoveParametersToBodyStage;
 import software.amazon.awssdk.core.internal.http.pipeline.stages.SigningStage;
 import software.amazon.awssdk.core.internal.http.pipeline.stages.UnwrapResponseContainer;
-import software.amazon.awssdk.core.internal.retry.SdkDefaultRetrySetting;
+import software.amazon.awssdk.core.internal.retry.RateLimitingTokenBucket;
+import software.amazon.awssdk.core.internal.retry.RequestHedger;
 import software.amazon.awssdk.core.internal.util.CapacityManager;
 import software.amazon.awssdk.core.internal.util.ThrowableUtils;
+import software.amazon.awssdk.core.retry.HedgingPolicy;
+import software.amazon.awssdk.core.retry.RetryPolicy;
 import software.amazon.awssdk.http.SdkHttpFullRequest;
 import software.amazon.awssdk.utils.SdkAutoCloseable;
 
@@ -57,14 +61,27 @@ public final class AmazonAsyncHttpClient implements SdkAutoCloseable {
     public AmazonAsyncHttpClient(SdkClientConfiguration clientConfiguration) {
         this.httpClientDependencies = HttpClientDependencies.builder()
                                                             .clientConfiguration(clientConfiguration)
-                                                            .capacityManager(createCapacityManager())
+                                                            .capacityManager(createCapacityManager(clientConfiguration))
+                                                            .rateLimiter(createRateLimiter(clientConfiguration))
+                                                            .requestHedger(createRequestHedger(clientConfiguration))
                                                             .build();
     }
 
-    private CapacityManager createCapacityManager() {
-        // When enabled, total retry capacity is computed based on retry cost and desired number of retries.
-        // TODO: Allow customers to configure throttled retries (https://github.com/aws/aws-sdk-java-v2/issues/17)
-        return new CapacityManager(SdkDefaultRetrySetting.RETRY_THROTTLING_COST * SdkDefaultRetrySetting.THROTTLED_RETRIES);
+    private CapacityManager createCapacityManager(SdkClientConfiguration clientConfiguration) {
+        // Retry capacity is shared by all requests made with this client.
+        RetryPolicy retryPolicy = clientConfiguration.option(SdkClientOption.RETRY_POLICY);
+        return new CapacityManager(retryPolicy != null ? retryPolicy.retryQuotaSize()
+                                                       : RetryPolicy.defaultRetryPolicy().retryQuotaSize());
+    }
+
+    private RateLimitingTokenBucket createRateLimiter(SdkClientConfiguration clientConfiguration) {
+        RetryPolicy retryPolicy = clientConfiguration.option(SdkClientOption.RETRY_POLICY);
+        return retryPolicy != null && retryPolicy.adaptiveRateLimitingEnabled() ? new RateLimitingTokenBucket() : null;
+    }
+
+    private RequestHedger createRequestHedger(SdkClientConfiguration clientConfiguration) {
+        HedgingPolicy hedgingPolicy = clientConfiguration.option(SdkClientOption.HEDGING_POLICY);
+        return hedgingPolicy != null ? new RequestHedger(hedgingPolicy) : null;
     }
 
     /**
@@ -17,12 +17,15 @@ package software.amazon.awssdk.core.internal.http;
 
 import static software.amazon.awssdk.utils.Validate.paramNotNull;
 
+import java.util.Optional;
 import software.amazon.awssdk.annotations.SdkInternalApi;
 import software.amazon.awssdk.core.SdkGlobalTime;
 import software.amazon.awssdk.core.client.config.SdkClientConfiguration;
 import software.amazon.awssdk.core.internal.http.pipeline.RequestPipeline;
 import software.amazon.awssdk.core.internal.http.pipeline.RequestPipelineBuilder;
 import software.amazon.awssdk.core.internal.retry.ClockSkewAdjuster;
+import software.amazon.awssdk.core.internal.retry.RateLimitingTokenBucket;
+import software.amazon.awssdk.core.internal.retry.RequestHedger;
 import software.amazon.awssdk.core.internal.util.CapacityManager;
 import software.amazon.awssdk.utils.SdkAutoCloseable;
 
@@ -35,6 +38,8 @@ public final class HttpClientDependencies implements SdkAutoCloseable {
     private final ClockSkewAdjuster clockSkewAdjuster = new ClockSkewAdjuster();
     private final SdkClientConfiguration clientConfiguration;
     private final CapacityManager capacityManager;
+    private final Optional<RateLimitingTokenBucket> rateLimiter;
+    private final Optional<RequestHedger> requestHedger;
 
     /**
      * Time offset may be mutated by {@link RequestPipeline} implementations if a clock skew is detected.
@@ -44,6 +49,8 @@ public final class HttpClientDependencies implements SdkAutoCloseable {
     private HttpClientDependencies(Builder builder) {
         this.clientConfiguration = paramNotNull(builder.clientConfiguration, "ClientConfiguration");
         this.capacityManager = paramNotNull(builder.capacityManager, "CapacityManager");
+        this.rateLimiter = Optional.ofNullable(builder.rateLimiter);
+        this.requestHedger = Optional.ofNullable(builder.requestHedger);
     }
 
     public static Builder builder() {
@@ -61,6 +68,20 @@ public final class HttpClientDependencies implements SdkAutoCloseable {
         return capacityManager;
     }
 
+    /**
+     * @return Client side rate limiter, if adaptive rate limiting is enabled in the retry policy.
+     */
+    public Optional<RateLimitingTokenBucket> rateLimiter() {
+        return rateLimiter;
+    }
+
+    /**
+     * @return Client side state of the hedging policy, if a hedging policy is configured.
+     */
+    public Optional<RequestHedger> requestHedger() {
+        return requestHedger;
+    }
+
     /**
      * @return The adjuster used for adjusting the {@link #timeOffset} for this client.
      */
@@ -94,6 +115,8 @@ public final class HttpClientDependencies implements SdkAutoCloseable {
     public static class Builder {
         private SdkClientConfiguration clientConfiguration;
         private CapacityManager capacityManager;
+        private RateLimitingTokenBucket rateLimiter;
+        private RequestHedger requestHedger;
 
         private Builder() {}
 
@@ -107,6 +130,16 @@ public final class HttpClientDependencies implements SdkAutoCloseable {
             return this;
         }
 
+        public Builder rateLimiter(RateLimitingTokenBucket rateLimiter) {
+            this.rateLimiter = rateLimiter;
+            return this;
+        }
+
+        public Builder requestHedger(RequestHedger requestHedger) {
+            this.requestHedger = requestHedger;
+            return this;
+        }
+
         public HttpClientDependencies build() {
             return new HttpClientDependencies(this);
         }
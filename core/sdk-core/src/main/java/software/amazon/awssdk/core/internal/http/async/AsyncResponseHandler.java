@@ -28,6 +28,8 @@ import software.amazon.awssdk.annotations.SdkInternalApi;
 import software.amazon.awssdk.core.http.HttpResponseHandler;
 import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
 import software.amazon.awssdk.core.internal.http.TransformingAsyncResponseHandler;
+import software.amazon.awssdk.core.internal.util.MetricUtils;
+import software.amazon.awssdk.core.metrics.CoreMetric;
 import software.amazon.awssdk.http.AbortableInputStream;
 import software.amazon.awssdk.http.SdkHttpFullResponse;
 import software.amazon.awssdk.http.SdkHttpResponse;
@@ -84,11 +86,15 @@ public final class AsyncResponseHandler<T> implements TransformingAsyncResponseH
             // Ignore aborts - we already have all of the content.
             AbortableInputStream abortableContent = AbortableInputStream.create(content);
             httpResponse.content(abortableContent);
+            long unmarshallingStart = System.nanoTime();
             try {
                 return CompletableFuture.completedFuture(responseHandler.handle(crc32Validator.apply(httpResponse.build()),
                                                                                 executionAttributes));
             } catch (Exception e) {
                 return CompletableFutureUtils.failedFuture(e);
+            } finally {
+                MetricUtils.attemptMetricCollector(executionAttributes)
+                           .reportMetric(CoreMetric.UNMARSHALLING_DURATION, MetricUtils.durationSince(unmarshallingStart));
             }
         });
     }
@@ -0,0 +1,382 @@
+/*
+ * Copyright 2010-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.internal.http.async;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.core.SdkStandardLogger;
+import software.amazon.awssdk.core.internal.retry.RequestHedger;
+import software.amazon.awssdk.core.internal.retry.SdkDefaultRetrySetting;
+import software.amazon.awssdk.core.internal.util.MetricUtils;
+import software.amazon.awssdk.core.metrics.CoreMetric;
+import software.amazon.awssdk.core.metrics.MetricCollector;
+import software.amazon.awssdk.http.HttpStatusCode;
+import software.amazon.awssdk.http.SdkHttpResponse;
+import software.amazon.awssdk.http.async.AsyncExecuteRequest;
+import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
+import software.amazon.awssdk.http.async.SdkAsyncHttpResponseHandler;
+
+/**
+ * Executes a single attempt of a request with hedging. If the attempt has not received a response after the hedge delay, a
+ * second copy of it is sent. The first copy to receive a successful response wins: only its response is passed on to the
+ * response handler of the request, and the other copy is cancelled.
+ *
+ * <p>A copy that fails, or that receives a response the request would be retried for (like a 503 or a throttling error),
+ * is set aside while the other copy is still in flight, so that a failing host does not defeat the hedge. A response that was
+ * set aside is only used if the other copy fails too, and the attempt only fails once every copy that was sent has failed.
+ */
+@SdkInternalApi
+public final class HedgedAsyncExecution {
+
+    private static final String LOST_MESSAGE = "Another copy of the request received a response first.";
+
+    private final SdkAsyncHttpClient httpClient;
+    private final AsyncExecuteRequest request;
+    private final SdkAsyncHttpResponseHandler responseHandler;
+    private final ScheduledExecutorService scheduledExecutor;
+    private final RequestHedger hedger;
+    private final String operationName;
+    private final MetricCollector attemptMetrics;
+    private final CompletableFuture<Void> executeFuture = new CompletableFuture<>();
+
+    /**
+     * The copies of the attempt that have been sent, and the one whose response is used. Guarded by {@code this}.
+     */
+    private final List<HedgedCopy> copies = new ArrayList<>(2);
+    private HedgedCopy winner;
+
+    private volatile ScheduledFuture<?> hedgeTask;
+
+    public HedgedAsyncExecution(SdkAsyncHttpClient httpClient,
+                                AsyncExecuteRequest request,
+                                ScheduledExecutorService scheduledExecutor,
+                                RequestHedger hedger,
+                                String operationName,
+                                MetricCollector attemptMetrics) {
+        this.httpClient = httpClient;
+        this.request = request;
+        this.responseHandler = request.responseHandler();
+        this.scheduledExecutor = scheduledExecutor;
+        this.hedger = hedger;
+        this.operationName = operationName;
+        this.attemptMetrics = attemptMetrics;
+    }
+
+    /**
+     * @return A future that completes when the winning copy of the attempt has completed, and that cancels every copy when
+     * it is completed exceptionally by the caller.
+     */
+    public CompletableFuture<Void> execute() {
+        hedger.onEligibleRequest();
+        executeFuture.whenComplete((r, t) -> {
+            if (t != null) {
+                cancelHedge();
+                cancelCopies(null, t);
+            }
+        });
+
+        sendCopy();
+
+        if (hedger.canHedge()) {
+            Duration delay = hedger.hedgeDelay(operationName);
+            hedgeTask = scheduledExecutor.schedule(this::hedge, delay.toNanos(), TimeUnit.NANOSECONDS);
+            if (executeFuture.isDone()) {
+                cancelHedge();
+            }
+        }
+        return executeFuture;
+    }
+
+    private void hedge() {
+        synchronized (this) {
+            if (winner != null || executeFuture.isDone() || copies.size() != 1 || !hedger.tryAcquireHedge()) {
+                return;
+            }
+        }
+        SdkStandardLogger.REQUEST_LOGGER.debug(() -> "No response received after the hedge delay, sending hedged request: "
+                                                     + request.request());
+        attemptMetrics.reportMetric(CoreMetric.HEDGED, true);
+        sendCopy();
+    }
+
+    private void sendCopy() {
+        HedgedCopy copy = new HedgedCopy();
+        synchronized (this) {
+            copies.add(copy);
+        }
+
+        CompletableFuture<Void> copyFuture;
+        try {
+            copyFuture = httpClient.execute(AsyncExecuteRequest.builder()
+                                                               .request(request.request())
+                                                               .requestContentPublisher(request.requestContentPublisher())
+                                                               .fullDuplex(request.fullDuplex())
+                                                               .responseHandler(copy)
+                                                               .build());
+        } catch (Throwable t) {
+            copy.onFailure(t);
+            return;
+        }
+
+        boolean lost;
+        synchronized (this) {
+            copy.future = copyFuture;
+            lost = (winner != null && winner != copy) || executeFuture.isCompletedExceptionally();
+        }
+        if (lost) {
+            copyFuture.completeExceptionally(new CancellationException(LOST_MESSAGE));
+        }
+
+        copyFuture.whenComplete((r, t) -> {
+            if (t != null) {
+                copy.onFailure(t);
+            } else if (isWinner(copy)) {
+                executeFuture.complete(null);
+            }
+        });
+    }
+
+    private synchronized boolean isWinner(HedgedCopy copy) {
+        return winner == copy;
+    }
+
+    /**
+     * @return True if a copy other than the given one is still waiting for its response.
+     */
+    private boolean isAnotherCopyPending(HedgedCopy copy) {
+        return copies.stream().anyMatch(c -> c != copy && c.isPending());
+    }
+
+    private void cancelHedge() {
+        ScheduledFuture<?> task = hedgeTask;
+        if (task != null) {
+            task.cancel(false);
+        }
+    }
+
+    /**
+     * Cancels every copy other than the given one, and discards the response bodies that were set aside for them.
+     */
+    private void cancelCopies(HedgedCopy except, Throwable cause) {
+        List<CompletableFuture<Void>> toCancel = new ArrayList<>(2);
+        List<Publisher<ByteBuffer>> toDiscard = new ArrayList<>(2);
+        synchronized (this) {
+            for (HedgedCopy copy : copies) {
+                if (copy != except) {
+                    if (copy.future != null) {
+                        toCancel.add(copy.future);
+                    }
+                    if (copy.deferredStream != null) {
+                        toDiscard.add(copy.deferredStream);
+                        copy.deferredStream = null;
+                    }
+                }
+            }
+        }
+        toCancel.forEach(f -> f.completeExceptionally(cause));
+        toDiscard.forEach(s -> s.subscribe(new CancellingSubscriber()));
+    }
+
+    /**
+     * @return True if the request would be retried for this response, in which case the other copy may still do better.
+     */
+    private static boolean isRetryable(SdkHttpResponse response) {
+        return SdkDefaultRetrySetting.RETRYABLE_STATUS_CODES.contains(response.statusCode())
+               || response.statusCode() == HttpStatusCode.THROTTLING;
+    }
+
+    /**
+     * The response handler of one copy of the attempt.
+     */
+    private final class HedgedCopy implements SdkAsyncHttpResponseHandler {
+        private final long startTime = System.nanoTime();
+
+        /**
+         * Guarded by the enclosing execution.
+         */
+        private CompletableFuture<Void> future;
+        private boolean failed;
+        private boolean responded;
+        private boolean headersDelivered;
+
+        /**
+         * A retryable response, and its body once that arrives, set aside while the other copy is still in flight. Guarded by
+         * the enclosing execution.
+         */
+        private SdkHttpResponse deferredHeaders;
+        private Publisher<ByteBuffer> deferredStream;
+
+        private boolean isPending() {
+            return !failed && !responded;
+        }
+
+        @Override
+        public void onHeaders(SdkHttpResponse headers) {
+            boolean won;
+            synchronized (HedgedAsyncExecution.this) {
+                if (winner != null || executeFuture.isDone()) {
+                    return;
+                }
+                responded = true;
+                won = !isRetryable(headers) || !isAnotherCopyPending(this);
+                if (won) {
+                    winner = this;
+                    headersDelivered = true;
+                } else {
+                    deferredHeaders = headers;
+                }
+            }
+            hedger.recordLatency(operationName, MetricUtils.durationSince(startTime));
+            if (won) {
+                respond(headers);
+            }
+        }
+
+        @Override
+        public void onStream(Publisher<ByteBuffer> stream) {
+            boolean deliver = false;
+            boolean discard = false;
+            synchronized (HedgedAsyncExecution.this) {
+                if (winner == this && headersDelivered) {
+                    deliver = true;
+                } else if (winner == this || (winner == null && deferredHeaders != null && !executeFuture.isDone())) {
+                    deferredStream = stream;
+                } else {
+                    discard = true;
+                }
+            }
+            if (deliver) {
+                responseHandler.onStream(stream);
+            } else if (discard) {
+                stream.subscribe(new CancellingSubscriber());
+            }
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            onFailure(error);
+        }
+
+        /**
+         * Called when this copy fails, either through {@link #onError(Throwable)} or through the future returned by the HTTP
+         * client. The failure is passed on if this copy won, or if every copy has now failed. If another copy received a
+         * retryable response that was set aside, that response is used instead.
+         */
+        private void onFailure(Throwable error) {
+            HedgedCopy deferred = null;
+            Publisher<ByteBuffer> discarded = null;
+            synchronized (HedgedAsyncExecution.this) {
+                if (failed) {
+                    return;
+                }
+                failed = true;
+                if (deferredHeaders != null && winner != this) {
+                    deferredHeaders = null;
+                    discarded = deferredStream;
+                    deferredStream = null;
+                }
+                if (winner == null && copies.stream().noneMatch(HedgedCopy::isPending)) {
+                    deferred = copies.stream().filter(c -> c.deferredHeaders != null).findFirst().orElse(null);
+                    winner = deferred != null ? deferred : this;
+                }
+            }
+            if (discarded != null) {
+                discarded.subscribe(new CancellingSubscriber());
+            }
+            if (deferred != null) {
+                deferred.respondWithDeferred();
+                return;
+            }
+            if (!isWinner(this)) {
+                return;
+            }
+            cancelHedge();
+            try {
+                responseHandler.onError(error);
+            } finally {
+                executeFuture.completeExceptionally(error);
+            }
+        }
+
+        /**
+         * Passes on the response of this copy, which won the attempt.
+         */
+        private void respond(SdkHttpResponse headers) {
+            cancelHedge();
+            cancelCopies(this, new CancellationException(LOST_MESSAGE));
+            responseHandler.onHeaders(headers);
+        }
+
+        /**
+         * Passes on the retryable response that was set aside for this copy, once no other copy can do better.
+         */
+        private void respondWithDeferred() {
+            SdkHttpResponse headers;
+            synchronized (HedgedAsyncExecution.this) {
+                headers = deferredHeaders;
+            }
+            respond(headers);
+
+            Publisher<ByteBuffer> stream;
+            boolean completed;
+            synchronized (HedgedAsyncExecution.this) {
+                headersDelivered = true;
+                stream = deferredStream;
+                deferredStream = null;
+                completed = future != null && future.isDone() && !future.isCompletedExceptionally();
+            }
+            if (stream != null) {
+                responseHandler.onStream(stream);
+            }
+            if (completed) {
+                executeFuture.complete(null);
+            }
+        }
+    }
+
+    /**
+     * Discards the response body of a copy that lost.
+     */
+    private static final class CancellingSubscriber implements Subscriber<ByteBuffer> {
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            subscription.cancel();
+        }
+
+        @Override
+        public void onNext(ByteBuffer byteBuffer) {
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+        }
+
+        @Override
+        public void onComplete() {
+        }
+    }
+}
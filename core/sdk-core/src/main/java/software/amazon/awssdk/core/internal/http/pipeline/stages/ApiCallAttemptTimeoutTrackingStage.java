@@ -21,12 +21,14 @@ import static software.amazon.awssdk.core.internal.http.timers.TimerUtils.timeSy
 import java.time.Duration;
 import java.util.concurrent.ScheduledExecutorService;
 import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.core.client.config.SdkAdvancedClientOption;
 import software.amazon.awssdk.core.client.config.SdkClientOption;
 import software.amazon.awssdk.core.internal.Response;
 import software.amazon.awssdk.core.internal.http.HttpClientDependencies;
 import software.amazon.awssdk.core.internal.http.RequestExecutionContext;
 import software.amazon.awssdk.core.internal.http.pipeline.RequestPipeline;
 import software.amazon.awssdk.core.internal.http.pipeline.RequestToResponsePipeline;
+import software.amazon.awssdk.core.internal.http.timers.HashedWheelTimer;
 import software.amazon.awssdk.core.internal.http.timers.TimeoutTracker;
 import software.amazon.awssdk.http.SdkHttpFullRequest;
 
@@ -39,11 +41,15 @@ public final class ApiCallAttemptTimeoutTrackingStage<OutputT> implements Reques
     private final RequestPipeline<SdkHttpFullRequest, Response<OutputT>> wrapped;
     private final Duration apiCallAttemptTimeout;
     private final ScheduledExecutorService timeoutExecutor;
+    private final HashedWheelTimer timeoutTimer;
 
     public ApiCallAttemptTimeoutTrackingStage(HttpClientDependencies dependencies, RequestPipeline<SdkHttpFullRequest,
         Response<OutputT>> wrapped) {
         this.wrapped = wrapped;
         this.timeoutExecutor = dependencies.clientConfiguration().option(SdkClientOption.SCHEDULED_EXECUTOR_SERVICE);
+        this.timeoutTimer =
+            Boolean.TRUE.equals(dependencies.clientConfiguration().option(SdkAdvancedClientOption.USE_HASHED_WHEEL_TIMER))
+            ? HashedWheelTimer.sharedTimer() : null;
         this.apiCallAttemptTimeout = dependencies.clientConfiguration().option(SdkClientOption.API_CALL_ATTEMPT_TIMEOUT);
     }
 
@@ -57,7 +63,9 @@ public final class ApiCallAttemptTimeoutTrackingStage<OutputT> implements Reques
     public Response<OutputT> execute(SdkHttpFullRequest request, RequestExecutionContext context) throws Exception {
         long timeoutInMillis = resolveTimeoutInMillis(context.requestConfig()::apiCallAttemptTimeout, apiCallAttemptTimeout);
 
-        TimeoutTracker timeoutTracker = timeSyncTaskIfNeeded(timeoutExecutor, timeoutInMillis, Thread.currentThread());
+        TimeoutTracker timeoutTracker = timeoutTimer != null
+                                        ? timeSyncTaskIfNeeded(timeoutTimer, timeoutInMillis, Thread.currentThread())
+                                        : timeSyncTaskIfNeeded(timeoutExecutor, timeoutInMillis, Thread.currentThread());
 
         try {
             context.apiCallAttemptTimeoutTracker(timeoutTracker);
@@ -22,6 +22,7 @@ import static software.amazon.awssdk.utils.FunctionalUtils.invokeSafely;
 import java.time.Duration;
 import java.util.concurrent.ScheduledExecutorService;
 import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.core.client.config.SdkAdvancedClientOption;
 import software.amazon.awssdk.core.client.config.SdkClientConfiguration;
 import software.amazon.awssdk.core.client.config.SdkClientOption;
 import software.amazon.awssdk.core.exception.AbortedException;
@@ -32,6 +33,7 @@ import software.amazon.awssdk.core.internal.http.HttpClientDependencies;
 import software.amazon.awssdk.core.internal.http.RequestExecutionContext;
 import software.amazon.awssdk.core.internal.http.pipeline.RequestPipeline;
 import software.amazon.awssdk.core.internal.http.pipeline.RequestToResponsePipeline;
+import software.amazon.awssdk.core.internal.http.timers.HashedWheelTimer;
 import software.amazon.awssdk.core.internal.http.timers.SyncTimeoutTask;
 import software.amazon.awssdk.core.internal.http.timers.TimeoutTracker;
 import software.amazon.awssdk.http.SdkHttpFullRequest;
@@ -44,6 +46,7 @@ public final class ApiCallTimeoutTrackingStage<OutputT> implements RequestToResp
     private final RequestPipeline<SdkHttpFullRequest, Response<OutputT>> wrapped;
     private final SdkClientConfiguration clientConfig;
     private final ScheduledExecutorService timeoutExecutor;
+    private final HashedWheelTimer timeoutTimer;
     private final Duration apiCallTimeout;
 
     public ApiCallTimeoutTrackingStage(HttpClientDependencies dependencies,
@@ -51,6 +54,8 @@ public final class ApiCallTimeoutTrackingStage<OutputT> implements RequestToResp
         this.wrapped = wrapped;
         this.clientConfig = dependencies.clientConfiguration();
         this.timeoutExecutor = dependencies.clientConfiguration().option(SdkClientOption.SCHEDULED_EXECUTOR_SERVICE);
+        this.timeoutTimer = Boolean.TRUE.equals(clientConfig.option(SdkAdvancedClientOption.USE_HASHED_WHEEL_TIMER))
+                            ? HashedWheelTimer.sharedTimer() : null;
         this.apiCallTimeout = clientConfig.option(SdkClientOption.API_CALL_TIMEOUT);
     }
 
@@ -73,7 +78,9 @@ public final class ApiCallTimeoutTrackingStage<OutputT> implements RequestToResp
 
         long timeoutInMillis = resolveTimeoutInMillis(context.requestConfig()::apiCallTimeout, apiCallTimeout);
 
-        TimeoutTracker timeoutTracker = timeSyncTaskIfNeeded(timeoutExecutor, timeoutInMillis, Thread.currentThread());
+        TimeoutTracker timeoutTracker = timeoutTimer != null
+                                        ? timeSyncTaskIfNeeded(timeoutTimer, timeoutInMillis, Thread.currentThread())
+                                        : timeSyncTaskIfNeeded(timeoutExecutor, timeoutInMillis, Thread.currentThread());
 
         try {
             context.apiCallTimeoutTracker(timeoutTracker);
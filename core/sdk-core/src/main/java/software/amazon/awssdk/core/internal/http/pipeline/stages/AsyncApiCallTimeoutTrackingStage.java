@@ -22,6 +22,7 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.function.Supplier;
 import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.core.client.config.SdkAdvancedClientOption;
 import software.amazon.awssdk.core.client.config.SdkClientConfiguration;
 import software.amazon.awssdk.core.client.config.SdkClientOption;
 import software.amazon.awssdk.core.exception.ApiCallTimeoutException;
@@ -29,6 +30,7 @@ import software.amazon.awssdk.core.exception.SdkClientException;
 import software.amazon.awssdk.core.internal.http.HttpClientDependencies;
 import software.amazon.awssdk.core.internal.http.RequestExecutionContext;
 import software.amazon.awssdk.core.internal.http.pipeline.RequestPipeline;
+import software.amazon.awssdk.core.internal.http.timers.HashedWheelTimer;
 import software.amazon.awssdk.core.internal.http.timers.TimeoutTracker;
 import software.amazon.awssdk.http.SdkHttpFullRequest;
 import software.amazon.awssdk.utils.CompletableFutureUtils;
@@ -39,12 +41,15 @@ public class AsyncApiCallTimeoutTrackingStage<OutputT>
     private final RequestPipeline<SdkHttpFullRequest, CompletableFuture<OutputT>> requestPipeline;
     private final SdkClientConfiguration clientConfig;
     private final ScheduledExecutorService scheduledExecutor;
+    private final HashedWheelTimer timeoutTimer;
 
     public AsyncApiCallTimeoutTrackingStage(HttpClientDependencies dependencies,
                                             RequestPipeline<SdkHttpFullRequest, CompletableFuture<OutputT>> requestPipeline) {
         this.requestPipeline = requestPipeline;
         this.scheduledExecutor = dependencies.clientConfiguration().option(SdkClientOption.SCHEDULED_EXECUTOR_SERVICE);
         this.clientConfig = dependencies.clientConfiguration();
+        this.timeoutTimer = Boolean.TRUE.equals(clientConfig.option(SdkAdvancedClientOption.USE_HASHED_WHEEL_TIMER))
+                            ? HashedWheelTimer.sharedTimer() : null;
     }
 
     @Override
@@ -55,10 +60,16 @@ public class AsyncApiCallTimeoutTrackingStage<OutputT>
                                                              clientConfig.option(SdkClientOption.API_CALL_TIMEOUT));
 
         Supplier<SdkClientException> exceptionSupplier = () -> ApiCallTimeoutException.create(apiCallTimeoutInMillis);
-        TimeoutTracker timeoutTracker = timeAsyncTaskIfNeeded(future,
-                                                              scheduledExecutor,
-                                                              exceptionSupplier,
-                                                              apiCallTimeoutInMillis);
+        TimeoutTracker timeoutTracker = timeoutTimer != null
+                                        ? timeAsyncTaskIfNeeded(future,
+                                                                timeoutTimer,
+                                                                scheduledExecutor,
+                                                                exceptionSupplier,
+                                                                apiCallTimeoutInMillis)
+                                        : timeAsyncTaskIfNeeded(future,
+                                                                scheduledExecutor,
+                                                                exceptionSupplier,
+                                                                apiCallTimeoutInMillis);
         context.apiCallTimeoutTracker(timeoutTracker);
 
         CompletableFuture<OutputT> executeFuture = requestPipeline.execute(input, context);
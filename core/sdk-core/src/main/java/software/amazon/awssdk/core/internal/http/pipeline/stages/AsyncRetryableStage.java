@@ -21,7 +21,9 @@ import java.time.Duration;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import software.amazon.awssdk.annotations.SdkInternalApi;
@@ -36,10 +38,15 @@ import software.amazon.awssdk.core.internal.http.RequestExecutionContext;
 import software.amazon.awssdk.core.internal.http.TransformingAsyncResponseHandler;
 import software.amazon.awssdk.core.internal.http.pipeline.RequestPipeline;
 import software.amazon.awssdk.core.internal.retry.ClockSkewAdjuster;
+import software.amazon.awssdk.core.internal.retry.RateLimitingTokenBucket;
 import software.amazon.awssdk.core.internal.retry.RetryHandler;
 import software.amazon.awssdk.core.internal.util.CapacityManager;
+import software.amazon.awssdk.core.internal.util.MetricUtils;
 import software.amazon.awssdk.core.internal.util.ThrowableUtils;
+import software.amazon.awssdk.core.metrics.CoreMetric;
+import software.amazon.awssdk.core.metrics.MetricCollector;
 import software.amazon.awssdk.core.retry.RetryPolicy;
+import software.amazon.awssdk.core.retry.RetryUtils;
 import software.amazon.awssdk.http.SdkHttpFullRequest;
 import software.amazon.awssdk.http.SdkHttpFullResponse;
 import software.amazon.awssdk.utils.CompletableFutureUtils;
@@ -59,6 +66,7 @@ public final class AsyncRetryableStage<OutputT> implements RequestPipeline<SdkHt
     private final HttpClientDependencies dependencies;
     private final CapacityManager retryCapacity;
     private final RetryPolicy retryPolicy;
+    private final RateLimitingTokenBucket rateLimiter;
 
     public AsyncRetryableStage(TransformingAsyncResponseHandler<OutputT> responseHandler,
                                HttpClientDependencies dependencies,
@@ -68,6 +76,7 @@ public final class AsyncRetryableStage<OutputT> implements RequestPipeline<SdkHt
         this.scheduledExecutor = dependencies.clientConfiguration().option(SdkClientOption.SCHEDULED_EXECUTOR_SERVICE);
         this.retryPolicy = dependencies.clientConfiguration().option(SdkClientOption.RETRY_POLICY);
         this.retryCapacity = dependencies.retryCapacity();
+        this.rateLimiter = dependencies.rateLimiter().orElse(null);
         this.requestPipeline = requestPipeline;
     }
 
@@ -87,7 +96,11 @@ public final class AsyncRetryableStage<OutputT> implements RequestPipeline<SdkHt
         private final RetryHandler retryHandler;
         private final AsyncRequestBody originalRequestBody;
 
+        private final AtomicBoolean retryCountReported = new AtomicBoolean();
+
         private int requestCount = 0;
+        private volatile MetricCollector attemptMetrics;
+        private volatile Duration lastBackoffDelay;
 
         private RetryExecutor(SdkHttpFullRequest request, RequestExecutionContext context) {
             this.request = request;
@@ -98,12 +111,14 @@ public final class AsyncRetryableStage<OutputT> implements RequestPipeline<SdkHt
 
         public CompletableFuture<Response<OutputT>> execute() throws Exception {
             CompletableFuture<Response<OutputT>> future = new CompletableFuture<>();
+            // In case the future is completed by a later stage, like the API call timeout, before this stage is done
+            future.whenComplete((r, t) -> reportRetryCount());
             return execute(future);
         }
 
         public CompletableFuture<Response<OutputT>> execute(CompletableFuture<Response<OutputT>> future) throws Exception {
             beforeExecute();
-            CompletableFuture<Response<OutputT>> executeFuture = doExecute();
+            CompletableFuture<Response<OutputT>> executeFuture = executeWhenRateLimitAllows();
             executeFuture.whenComplete((resp, err) -> retryIfNeeded(future, resp, err));
             return CompletableFutureUtils.forwardExceptionTo(future, executeFuture);
         }
@@ -117,6 +132,7 @@ public final class AsyncRetryableStage<OutputT> implements RequestPipeline<SdkHt
 
             try {
                 if (resp != null) {
+                    updateRateLimiter(resp);
                     retryResponseIfNeeded(resp, future);
                 } else {
                     if (err instanceof CompletionException) {
@@ -126,18 +142,40 @@ public final class AsyncRetryableStage<OutputT> implements RequestPipeline<SdkHt
                     retryErrorIfNeeded(sdkException, future);
                 }
             } catch (Throwable t) {
-                future.completeExceptionally(t);
+                completeExceptionally(future, t);
+            }
+        }
+
+        private void complete(CompletableFuture<Response<OutputT>> future, Response<OutputT> response) {
+            reportRetryCount();
+            future.complete(response);
+        }
+
+        private void completeExceptionally(CompletableFuture<Response<OutputT>> future, Throwable error) {
+            reportRetryCount();
+            future.completeExceptionally(error);
+        }
+
+        /**
+         * Reports the number of retries before the future of this stage is completed, so that it is already part of the API
+         * call metrics when the completion reaches the client handler and they are published.
+         */
+        private void reportRetryCount() {
+            if (retryCountReported.compareAndSet(false, true)) {
+                MetricUtils.apiCallMetricCollector(context.executionAttributes())
+                           .reportMetric(CoreMetric.RETRY_COUNT, Math.max(requestCount - 1, 0));
             }
         }
 
         private void retryResponseIfNeeded(Response<OutputT> resp, CompletableFuture<Response<OutputT>> future) {
             if (resp.isSuccess()) {
                 retryHandler.releaseRetryCapacity();
-                future.complete(resp);
+                complete(future, resp);
                 return;
             }
 
             SdkException err = resp.exception();
+            reportAttemptFailure(err);
 
             ClockSkewAdjuster clockSkewAdjuster = dependencies.clockSkewAdjuster();
             if (clockSkewAdjuster.shouldAdjust(err)) {
@@ -153,13 +191,15 @@ public final class AsyncRetryableStage<OutputT> implements RequestPipeline<SdkHt
                 retryHandler.setLastRetriedException(err);
                 executeRetry(future);
             } else {
-                future.completeExceptionally(err);
+                completeExceptionally(future, err);
             }
         }
 
         private void retryErrorIfNeeded(SdkException err, CompletableFuture<Response<OutputT>> future) {
+            reportAttemptFailure(err);
+
             if (err instanceof NonRetryableException) {
-                future.completeExceptionally(err);
+                completeExceptionally(future, err);
                 return;
             }
 
@@ -172,7 +212,7 @@ public final class AsyncRetryableStage<OutputT> implements RequestPipeline<SdkHt
                 retryHandler.setLastRetriedException(err);
                 executeRetry(future);
             } else {
-                future.completeExceptionally(err);
+                completeExceptionally(future, err);
             }
         }
 
@@ -185,6 +225,7 @@ public final class AsyncRetryableStage<OutputT> implements RequestPipeline<SdkHt
 
             SdkStandardLogger.REQUEST_LOGGER.debug(() -> "Retryable error detected, will retry in " + delay.toMillis() + "ms,"
                                                          + " attempt number " + requestCount);
+            lastBackoffDelay = delay;
             scheduledExecutor.schedule(() -> {
                 execute(future);
                 return null;
@@ -194,6 +235,65 @@ public final class AsyncRetryableStage<OutputT> implements RequestPipeline<SdkHt
         private void beforeExecute() {
             retryHandler.retryCapacityConsumed(false);
             ++requestCount;
+            attemptMetrics = MetricUtils.createAttemptMetricCollector(context.executionAttributes());
+            if (lastBackoffDelay != null) {
+                attemptMetrics.reportMetric(CoreMetric.BACKOFF_DELAY_DURATION, lastBackoffDelay);
+            }
+        }
+
+        private void reportAttemptFailure(SdkException e) {
+            if (e != null) {
+                attemptMetrics.reportMetric(CoreMetric.EXCEPTION, e.getClass().getName());
+            }
+        }
+
+        /**
+         * Executes the attempt once the client side rate limiter allows it, if adaptive rate limiting is enabled. The wait is
+         * scheduled rather than blocking the calling thread.
+         */
+        private CompletableFuture<Response<OutputT>> executeWhenRateLimitAllows() throws Exception {
+            Duration delay = rateLimiter != null ? rateLimiter.acquire() : Duration.ZERO;
+            if (delay.isZero()) {
+                return doExecute();
+            }
+
+            SdkStandardLogger.REQUEST_LOGGER.debug(() -> "Client side rate limit reached, will send request in "
+                                                         + delay.toMillis() + "ms");
+            CompletableFuture<Response<OutputT>> delayedFuture = new CompletableFuture<>();
+            ScheduledFuture<?> delayedAttempt = scheduledExecutor.schedule(() -> {
+                if (delayedFuture.isDone()) {
+                    return;
+                }
+                try {
+                    doExecute().whenComplete((r, t) -> {
+                        if (t != null) {
+                            delayedFuture.completeExceptionally(t);
+                        } else {
+                            delayedFuture.complete(r);
+                        }
+                    });
+                } catch (Throwable t) {
+                    delayedFuture.completeExceptionally(t);
+                }
+            }, delay.toNanos(), TimeUnit.NANOSECONDS);
+            // The request must not be sent if the call is cancelled or times out while waiting for the rate limiter
+            delayedFuture.whenComplete((r, t) -> {
+                if (t != null) {
+                    delayedAttempt.cancel(false);
+                }
+            });
+            return delayedFuture;
+        }
+
+        /**
+         * Feeds the outcome of an attempt that received a response to the rate limiter. Attempts that failed without a
+         * response, like I/O errors or timeouts, say nothing about the rate the service accepts and are left out.
+         */
+        private void updateRateLimiter(Response<OutputT> response) {
+            if (rateLimiter != null) {
+                SdkException exception = response.exception();
+                rateLimiter.updateClientSendingRate(exception != null && RetryUtils.isThrottlingException(exception));
+            }
         }
 
         private CompletableFuture<Response<OutputT>> doExecute() throws Exception {
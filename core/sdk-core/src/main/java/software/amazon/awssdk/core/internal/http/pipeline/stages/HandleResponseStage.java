@@ -28,6 +28,8 @@ import software.amazon.awssdk.core.http.HttpResponseHandler;
 import software.amazon.awssdk.core.internal.Response;
 import software.amazon.awssdk.core.internal.http.RequestExecutionContext;
 import software.amazon.awssdk.core.internal.http.pipeline.RequestPipeline;
+import software.amazon.awssdk.core.internal.util.MetricUtils;
+import software.amazon.awssdk.core.metrics.CoreMetric;
 import software.amazon.awssdk.http.SdkHttpFullResponse;
 import software.amazon.awssdk.utils.IoUtils;
 
@@ -66,11 +68,17 @@ public class HandleResponseStage<OutputT> implements RequestPipeline<SdkHttpFull
     private Response<OutputT> handleResponse(SdkHttpFullResponse httpResponse,
                                              RequestExecutionContext context)
             throws IOException, InterruptedException {
-        if (httpResponse.isSuccessful()) {
-            OutputT response = handleSuccessResponse(httpResponse, context);
-            return Response.fromSuccess(response, httpResponse);
-        } else {
-            return Response.fromFailure(handleErrorResponse(httpResponse, context), httpResponse);
+        long unmarshallingStart = System.nanoTime();
+        try {
+            if (httpResponse.isSuccessful()) {
+                OutputT response = handleSuccessResponse(httpResponse, context);
+                return Response.fromSuccess(response, httpResponse);
+            } else {
+                return Response.fromFailure(handleErrorResponse(httpResponse, context), httpResponse);
+            }
+        } finally {
+            MetricUtils.attemptMetricCollector(context.executionAttributes())
+                       .reportMetric(CoreMetric.UNMARSHALLING_DURATION, MetricUtils.durationSince(unmarshallingStart));
         }
     }
 
@@ -31,20 +31,28 @@ import software.amazon.awssdk.annotations.SdkInternalApi;
 import software.amazon.awssdk.core.SdkStandardLogger;
 import software.amazon.awssdk.core.async.AsyncRequestBody;
 import software.amazon.awssdk.core.client.config.SdkAdvancedAsyncClientOption;
+import software.amazon.awssdk.core.client.config.SdkAdvancedClientOption;
 import software.amazon.awssdk.core.client.config.SdkClientOption;
 import software.amazon.awssdk.core.exception.ApiCallAttemptTimeoutException;
 import software.amazon.awssdk.core.exception.SdkClientException;
 import software.amazon.awssdk.core.exception.SdkException;
 import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
 import software.amazon.awssdk.core.interceptor.SdkInternalExecutionAttribute;
 import software.amazon.awssdk.core.internal.Response;
 import software.amazon.awssdk.core.internal.http.HttpClientDependencies;
 import software.amazon.awssdk.core.internal.http.RequestExecutionContext;
 import software.amazon.awssdk.core.internal.http.TransformingAsyncResponseHandler;
+import software.amazon.awssdk.core.internal.http.async.HedgedAsyncExecution;
 import software.amazon.awssdk.core.internal.http.async.SimpleHttpContentPublisher;
 import software.amazon.awssdk.core.internal.http.pipeline.RequestPipeline;
+import software.amazon.awssdk.core.internal.http.timers.HashedWheelTimer;
 import software.amazon.awssdk.core.internal.http.timers.TimeoutTracker;
 import software.amazon.awssdk.core.internal.http.timers.TimerUtils;
+import software.amazon.awssdk.core.internal.retry.RequestHedger;
+import software.amazon.awssdk.core.internal.util.MetricUtils;
+import software.amazon.awssdk.core.metrics.CoreMetric;
+import software.amazon.awssdk.core.metrics.MetricCollector;
 import software.amazon.awssdk.http.SdkHttpFullRequest;
 import software.amazon.awssdk.http.SdkHttpFullResponse;
 import software.amazon.awssdk.http.SdkHttpMethod;
@@ -68,18 +76,32 @@ public final class MakeAsyncHttpRequestStage<OutputT>
     private final TransformingAsyncResponseHandler<? extends SdkException> errorResponseHandler;
     private final Executor futureCompletionExecutor;
     private final ScheduledExecutorService timeoutExecutor;
+    private final HashedWheelTimer timeoutTimer;
     private final Duration apiCallAttemptTimeout;
+    private final RequestHedger requestHedger;
 
     public MakeAsyncHttpRequestStage(TransformingAsyncResponseHandler<OutputT> responseHandler,
                                      TransformingAsyncResponseHandler<? extends SdkException> errorResponseHandler,
                                      HttpClientDependencies dependencies) {
         this.responseHandler = responseHandler;
         this.errorResponseHandler = errorResponseHandler;
-        this.futureCompletionExecutor =
-            dependencies.clientConfiguration().option(SdkAdvancedAsyncClientOption.FUTURE_COMPLETION_EXECUTOR);
+        this.futureCompletionExecutor = resolveFutureCompletionExecutor(dependencies);
         this.sdkAsyncHttpClient = dependencies.clientConfiguration().option(SdkClientOption.ASYNC_HTTP_CLIENT);
         this.apiCallAttemptTimeout = dependencies.clientConfiguration().option(SdkClientOption.API_CALL_ATTEMPT_TIMEOUT);
         this.timeoutExecutor = dependencies.clientConfiguration().option(SdkClientOption.SCHEDULED_EXECUTOR_SERVICE);
+        this.timeoutTimer =
+            Boolean.TRUE.equals(dependencies.clientConfiguration().option(SdkAdvancedClientOption.USE_HASHED_WHEEL_TIMER))
+            ? HashedWheelTimer.sharedTimer() : null;
+        this.requestHedger = dependencies.requestHedger().orElse(null);
+    }
+
+    private static Executor resolveFutureCompletionExecutor(HttpClientDependencies dependencies) {
+        Executor responseCompletionExecutor =
+            dependencies.clientConfiguration().option(SdkClientOption.RESPONSE_COMPLETION_EXECUTOR);
+        if (responseCompletionExecutor != null) {
+            return responseCompletionExecutor;
+        }
+        return dependencies.clientConfiguration().option(SdkAdvancedAsyncClientOption.FUTURE_COMPLETION_EXECUTOR);
     }
 
     @Override
@@ -102,7 +124,8 @@ public final class MakeAsyncHttpRequestStage<OutputT>
         //FIXME(dongie): We need to be careful to only call responseHandler.prepare() exactly once per execute() call
         //because it calls prepare() under the hood and we guarantee that we call that once per execution. It would be good
         //to find a way to prevent multiple calls to prepare() within a single execution to only call prepare() once.
-        ResponseHandler handler = new ResponseHandler(responseFuture, preparedTransformFuture, preparedErrorTransformFuture);
+        ResponseHandler handler = new ResponseHandler(responseFuture, preparedTransformFuture, preparedErrorTransformFuture,
+                                                      MetricUtils.attemptMetricCollector(context.executionAttributes()));
 
         CompletableFuture<Response<OutputT>> preparedWrapperTransformFuture = handler.prepare();
 
@@ -119,7 +142,7 @@ public final class MakeAsyncHttpRequestStage<OutputT>
                                                                 .fullDuplex(isFullDuplex(context.executionAttributes()))
                                                                 .build();
 
-        CompletableFuture<Void> httpClientFuture = sdkAsyncHttpClient.execute(executeRequest);
+        CompletableFuture<Void> httpClientFuture = doExecuteHttpRequest(executeRequest, context);
 
         TimeoutTracker timeoutTracker = setupAttemptTimer(responseFuture, context);
         context.apiCallAttemptTimeoutTracker(timeoutTracker);
@@ -144,6 +167,20 @@ public final class MakeAsyncHttpRequestStage<OutputT>
         return responseFuture;
     }
 
+    /**
+     * Hands the request to the HTTP client, sending a hedged copy of it if it is eligible for hedging. Requests with a
+     * streaming body are never hedged, because their body can only be sent once.
+     */
+    private CompletableFuture<Void> doExecuteHttpRequest(AsyncExecuteRequest executeRequest, RequestExecutionContext context) {
+        String operationName = context.executionAttributes().getAttribute(SdkExecutionAttribute.OPERATION_NAME);
+        if (requestHedger == null || context.requestProvider() != null ||
+            !requestHedger.isHedgeable(operationName, executeRequest.request())) {
+            return sdkAsyncHttpClient.execute(executeRequest);
+        }
+        return new HedgedAsyncExecution(sdkAsyncHttpClient, executeRequest, timeoutExecutor, requestHedger, operationName,
+                                        MetricUtils.attemptMetricCollector(context.executionAttributes())).execute();
+    }
+
     private boolean isFullDuplex(ExecutionAttributes executionAttributes) {
         return executionAttributes.getAttribute(SdkInternalExecutionAttribute.IS_FULL_DUPLEX) != null &&
                executionAttributes.getAttribute(SdkInternalExecutionAttribute.IS_FULL_DUPLEX);
@@ -172,6 +209,10 @@ public final class MakeAsyncHttpRequestStage<OutputT>
         long timeoutMillis = resolveTimeoutInMillis(ctx.requestConfig()::apiCallAttemptTimeout, apiCallAttemptTimeout);
         Supplier<SdkClientException> exceptionSupplier = () -> ApiCallAttemptTimeoutException.create(timeoutMillis);
 
+        if (timeoutTimer != null) {
+            return TimerUtils.timeAsyncTaskIfNeeded(executeFuture, timeoutTimer, timeoutExecutor, exceptionSupplier,
+                                                    timeoutMillis);
+        }
         return TimerUtils.timeAsyncTaskIfNeeded(executeFuture,
                                                 timeoutExecutor,
                                                 exceptionSupplier,
@@ -209,6 +250,8 @@ public final class MakeAsyncHttpRequestStage<OutputT>
         private final CompletableFuture<Response<OutputT>> responseFuture;
         private final CompletableFuture<OutputT> transformFuture;
         private final CompletableFuture<? extends SdkException> errorTransformFuture;
+        private final MetricCollector attemptMetrics;
+        private final long requestStart;
         private CompletableFuture<SdkHttpResponse> headersFuture;
         private volatile SdkHttpFullResponse response;
 
@@ -218,17 +261,23 @@ public final class MakeAsyncHttpRequestStage<OutputT>
          * @param transformFuture the transformFuture returned from {@link MakeAsyncHttpRequestStage#responseHandler#prepare()}
          * @param errorTransformFuture the error transform future returned from
          * {@link MakeAsyncHttpRequestStage#errorResponseHandler#prepare()}
+         * @param attemptMetrics the metric collector for the current attempt
          */
         ResponseHandler(CompletableFuture<Response<OutputT>> responseFuture,
                         CompletableFuture<OutputT> transformFuture,
-                        CompletableFuture<? extends SdkException> errorTransformFuture) {
+                        CompletableFuture<? extends SdkException> errorTransformFuture,
+                        MetricCollector attemptMetrics) {
             this.responseFuture = responseFuture;
             this.transformFuture = transformFuture;
             this.errorTransformFuture = errorTransformFuture;
+            this.attemptMetrics = attemptMetrics;
+            this.requestStart = System.nanoTime();
         }
 
         @Override
         public void onHeaders(SdkHttpResponse response) {
+            attemptMetrics.reportMetric(CoreMetric.TIME_TO_FIRST_BYTE, MetricUtils.durationSince(requestStart));
+            attemptMetrics.reportMetric(CoreMetric.HTTP_STATUS_CODE, response.statusCode());
             headersFuture.complete(response);
             if (response.isSuccessful()) {
                 SdkStandardLogger.REQUEST_LOGGER.debug(() -> "Received successful response: " + response.statusCode());
@@ -21,6 +21,9 @@ import software.amazon.awssdk.core.internal.http.HttpClientDependencies;
 import software.amazon.awssdk.core.internal.http.InterruptMonitor;
 import software.amazon.awssdk.core.internal.http.RequestExecutionContext;
 import software.amazon.awssdk.core.internal.http.pipeline.RequestPipeline;
+import software.amazon.awssdk.core.internal.util.MetricUtils;
+import software.amazon.awssdk.core.metrics.CoreMetric;
+import software.amazon.awssdk.core.metrics.MetricCollector;
 import software.amazon.awssdk.http.ExecutableHttpRequest;
 import software.amazon.awssdk.http.HttpExecuteRequest;
 import software.amazon.awssdk.http.HttpExecuteResponse;
@@ -63,6 +66,12 @@ public class MakeHttpRequestStage
 
         context.apiCallTimeoutTracker().abortable(requestCallable);
         context.apiCallAttemptTimeoutTracker().abortable(requestCallable);
-        return requestCallable.call();
+
+        MetricCollector attemptMetrics = MetricUtils.attemptMetricCollector(context.executionAttributes());
+        long requestStart = System.nanoTime();
+        HttpExecuteResponse executeResponse = requestCallable.call();
+        attemptMetrics.reportMetric(CoreMetric.TIME_TO_FIRST_BYTE, MetricUtils.durationSince(requestStart));
+        attemptMetrics.reportMetric(CoreMetric.HTTP_STATUS_CODE, executeResponse.httpResponse().statusCode());
+        return executeResponse;
     }
 }
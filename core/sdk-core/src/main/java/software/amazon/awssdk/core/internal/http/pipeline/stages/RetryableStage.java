@@ -30,9 +30,14 @@ import software.amazon.awssdk.core.internal.http.RequestExecutionContext;
 import software.amazon.awssdk.core.internal.http.pipeline.RequestPipeline;
 import software.amazon.awssdk.core.internal.http.pipeline.RequestToResponsePipeline;
 import software.amazon.awssdk.core.internal.retry.ClockSkewAdjuster;
+import software.amazon.awssdk.core.internal.retry.RateLimitingTokenBucket;
 import software.amazon.awssdk.core.internal.retry.RetryHandler;
 import software.amazon.awssdk.core.internal.util.CapacityManager;
+import software.amazon.awssdk.core.internal.util.MetricUtils;
+import software.amazon.awssdk.core.metrics.CoreMetric;
+import software.amazon.awssdk.core.metrics.MetricCollector;
 import software.amazon.awssdk.core.retry.RetryPolicy;
+import software.amazon.awssdk.core.retry.RetryUtils;
 import software.amazon.awssdk.http.SdkHttpFullRequest;
 import software.amazon.awssdk.utils.Logger;
 
@@ -49,12 +54,14 @@ public final class RetryableStage<OutputT> implements RequestToResponsePipeline<
     private final HttpClientDependencies dependencies;
     private final CapacityManager retryCapacity;
     private final RetryPolicy retryPolicy;
+    private final RateLimitingTokenBucket rateLimiter;
 
     public RetryableStage(HttpClientDependencies dependencies,
                           RequestPipeline<SdkHttpFullRequest, Response<OutputT>> requestPipeline) {
         this.dependencies = dependencies;
         this.retryCapacity = dependencies.retryCapacity();
         this.retryPolicy = dependencies.clientConfiguration().option(SdkClientOption.RETRY_POLICY);
+        this.rateLimiter = dependencies.rateLimiter().orElse(null);
         this.requestPipeline = requestPipeline;
     }
 
@@ -72,6 +79,7 @@ public final class RetryableStage<OutputT> implements RequestToResponsePipeline<
         private final RetryHandler retryHandler;
 
         private int requestCount = 0;
+        private MetricCollector attemptMetrics;
 
         private RetryExecutor(SdkHttpFullRequest request, RequestExecutionContext context) {
             this.request = request;
@@ -80,17 +88,29 @@ public final class RetryableStage<OutputT> implements RequestToResponsePipeline<
         }
 
         public Response<OutputT> execute() throws Exception {
+            try {
+                return executeWithRetries();
+            } finally {
+                MetricUtils.apiCallMetricCollector(context.executionAttributes())
+                           .reportMetric(CoreMetric.RETRY_COUNT, Math.max(requestCount - 1, 0));
+            }
+        }
+
+        private Response<OutputT> executeWithRetries() throws Exception {
             while (true) {
                 try {
                     beforeExecute();
                     Response<OutputT> response = doExecute();
+                    updateRateLimiter(response);
                     if (response.isSuccess()) {
                         retryHandler.releaseRetryCapacity();
                         return response;
                     } else {
+                        reportAttemptFailure(response.exception());
                         retryHandler.setLastRetriedException(handleUnmarshalledException(response));
                     }
                 } catch (SdkClientException | IOException e) {
+                    reportAttemptFailure(e);
                     retryHandler.setLastRetriedException(handleThrownException(e));
                 }
             }
@@ -100,12 +120,20 @@ public final class RetryableStage<OutputT> implements RequestToResponsePipeline<
             retryHandler.retryCapacityConsumed(false);
             InterruptMonitor.checkInterrupted();
             ++requestCount;
+            attemptMetrics = MetricUtils.createAttemptMetricCollector(context.executionAttributes());
+        }
+
+        private void reportAttemptFailure(Exception e) {
+            if (e != null) {
+                attemptMetrics.reportMetric(CoreMetric.EXCEPTION, e.getClass().getName());
+            }
         }
 
         private Response<OutputT> doExecute() throws Exception {
             if (retryHandler.isRetry()) {
                 doPauseBeforeRetry();
             }
+            doPauseForRateLimit();
 
             SdkStandardLogger.REQUEST_LOGGER.debug(() -> (retryHandler.isRetry() ? "Retrying " : "Sending ") + "Request: " +
                                                          request);
@@ -145,6 +173,30 @@ public final class RetryableStage<OutputT> implements RequestToResponsePipeline<
             return sdkClientException;
         }
 
+        /**
+         * Wait for the client side rate limiter, if adaptive rate limiting is enabled.
+         */
+        private void doPauseForRateLimit() throws InterruptedException {
+            if (rateLimiter != null) {
+                Duration delay = rateLimiter.acquire();
+                if (!delay.isZero()) {
+                    SdkStandardLogger.REQUEST_LOGGER.debug(() -> "Client side rate limit reached, will send request in "
+                                                                 + delay.toMillis() + "ms");
+                    TimeUnit.NANOSECONDS.sleep(delay.toNanos());
+                }
+            }
+        }
+
+        /**
+         * Only called for attempts that received a response. Thrown client side errors are not counted as successful sends.
+         */
+        private void updateRateLimiter(Response<OutputT> response) {
+            if (rateLimiter != null) {
+                SdkException exception = response.exception();
+                rateLimiter.updateClientSendingRate(exception != null && RetryUtils.isThrottlingException(exception));
+            }
+        }
+
         /**
          * Sleep for a period of time on failed request to avoid flooding a service with retries.
          */
@@ -154,6 +206,7 @@ public final class RetryableStage<OutputT> implements RequestToResponsePipeline<
 
             SdkStandardLogger.REQUEST_LOGGER.debug(() -> "Retryable error detected, will retry in " + delay.toMillis() + "ms,"
                                                          + " attempt number " + retriesAttempted);
+            attemptMetrics.reportMetric(CoreMetric.BACKOFF_DELAY_DURATION, delay);
             TimeUnit.MILLISECONDS.sleep(delay.toMillis());
         }
     }
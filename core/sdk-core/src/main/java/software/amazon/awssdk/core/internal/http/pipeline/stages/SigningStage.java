@@ -24,6 +24,8 @@ import software.amazon.awssdk.core.internal.http.HttpClientDependencies;
 import software.amazon.awssdk.core.internal.http.InterruptMonitor;
 import software.amazon.awssdk.core.internal.http.RequestExecutionContext;
 import software.amazon.awssdk.core.internal.http.pipeline.RequestToRequestPipeline;
+import software.amazon.awssdk.core.internal.util.MetricUtils;
+import software.amazon.awssdk.core.metrics.CoreMetric;
 import software.amazon.awssdk.core.signer.AsyncRequestBodySigner;
 import software.amazon.awssdk.core.signer.Signer;
 import software.amazon.awssdk.http.SdkHttpFullRequest;
@@ -60,6 +62,7 @@ public class SigningStage implements RequestToRequestPipeline {
         if (shouldSign(signer)) {
             adjustForClockSkew(context.executionAttributes());
 
+            long signingStart = System.nanoTime();
             SdkHttpFullRequest signedRequest = signer.sign(request, context.executionAttributes());
 
             if (signer instanceof AsyncRequestBodySigner) {
@@ -69,6 +72,9 @@ public class SigningStage implements RequestToRequestPipeline {
                         .signAsyncRequestBody(signedRequest, context.requestProvider(), context.executionAttributes());
                 context.requestProvider(transformedRequestProvider);
             }
+
+            MetricUtils.attemptMetricCollector(context.executionAttributes())
+                       .reportMetric(CoreMetric.SIGNING_DURATION, MetricUtils.durationSince(signingStart));
             return signedRequest;
         }
 
@@ -0,0 +1,283 @@
+/*
+ * Copyright 2010-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.internal.http.timers;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.utils.Logger;
+import software.amazon.awssdk.utils.ThreadFactoryBuilder;
+import software.amazon.awssdk.utils.Validate;
+
+/**
+ * A timer that trades precision for cheap scheduling and cancellation, for timeouts that are almost always cancelled before
+ * they expire. Tasks are kept in a fixed number of buckets arranged in a wheel, and a single thread advances the wheel by
+ * one bucket per tick and runs the tasks in that bucket whose deadline has passed. Scheduling a task is O(1) and only adds it to
+ * one of several lock-free queues, and cancelling a task only marks it as cancelled, to be removed the next time its bucket
+ * is visited, instead of re-ordering a heap under a lock as {@link java.util.concurrent.ScheduledThreadPoolExecutor} does.
+ *
+ * <p>Tasks run up to one tick after their deadline, on the thread that advances the wheel, so they must be short and must
+ * not block.</p>
+ */
+@SdkInternalApi
+@ThreadSafe
+public final class HashedWheelTimer {
+    private static final Logger log = Logger.loggerFor(HashedWheelTimer.class);
+
+    private static final Duration DEFAULT_TICK_DURATION = Duration.ofMillis(10);
+    private static final int DEFAULT_TICKS_PER_WHEEL = 512;
+
+    private static final AtomicIntegerFieldUpdater<Timeout> STATE_UPDATER =
+        AtomicIntegerFieldUpdater.newUpdater(Timeout.class, "state");
+
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final long startTime;
+    private final Queue<Timeout>[] pendingTimeouts;
+    private final Thread workerThread;
+    private final AtomicBoolean started = new AtomicBoolean();
+    private volatile boolean stopped;
+
+    /**
+     * @param tickDuration How often the wheel advances, which is how late a task may run after its deadline.
+     * @param ticksPerWheel The number of buckets in the wheel, which is rounded up to a power of two.
+     * @param threadFactory Creates the thread that advances the wheel.
+     */
+    public HashedWheelTimer(Duration tickDuration, int ticksPerWheel, ThreadFactory threadFactory) {
+        Validate.isPositive(tickDuration, "tickDuration");
+        Validate.isPositive(ticksPerWheel, "ticksPerWheel");
+        this.tickNanos = tickDuration.toNanos();
+        this.wheel = new Bucket[powerOfTwoAtLeast(ticksPerWheel)];
+        for (int i = 0; i < wheel.length; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = wheel.length - 1;
+        // Spread the threads that schedule timeouts over several queues, so that they do not all contend on one queue.
+        this.pendingTimeouts = newQueues(powerOfTwoAtLeast(Runtime.getRuntime().availableProcessors()));
+        this.startTime = System.nanoTime();
+        this.workerThread = threadFactory.newThread(this::run);
+    }
+
+    /**
+     * @return The timer shared by all clients, with a tick of 10 milliseconds, which runs on a daemon thread for the
+     * lifetime of the JVM once it has been used.
+     */
+    public static HashedWheelTimer sharedTimer() {
+        return SharedTimerHolder.TIMER;
+    }
+
+    /**
+     * Schedules a task to run once the given delay has passed, unless it is cancelled first.
+     */
+    public Timeout newTimeout(Runnable task, long delay, TimeUnit unit) {
+        Validate.paramNotNull(task, "task");
+        Validate.validState(!stopped, "The timer has been stopped.");
+        if (!started.get() && started.compareAndSet(false, true)) {
+            workerThread.start();
+        }
+        Timeout timeout = new Timeout(task, System.nanoTime() + unit.toNanos(delay) - startTime);
+        int queue = (int) Thread.currentThread().getId() & (pendingTimeouts.length - 1);
+        pendingTimeouts[queue].add(timeout);
+        return timeout;
+    }
+
+    /**
+     * Stops the thread that advances the wheel. Tasks that have not run yet never run, and no more tasks can be scheduled.
+     */
+    public void stop() {
+        stopped = true;
+        workerThread.interrupt();
+    }
+
+    private void run() {
+        long tick = 0;
+        while (!stopped) {
+            long deadline = tickNanos * (tick + 1);
+            if (!sleepUntil(deadline)) {
+                return;
+            }
+            transferPendingTimeouts(tick);
+            wheel[(int) (tick & mask)].expireTimeouts();
+            tick++;
+        }
+    }
+
+    /**
+     * @return False if the thread was interrupted while waiting.
+     */
+    private boolean sleepUntil(long deadline) {
+        long sleepNanos = deadline - (System.nanoTime() - startTime);
+        while (sleepNanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(sleepNanos);
+            } catch (InterruptedException e) {
+                if (stopped) {
+                    return false;
+                }
+            }
+            sleepNanos = deadline - (System.nanoTime() - startTime);
+        }
+        return true;
+    }
+
+    private void transferPendingTimeouts(long currentTick) {
+        for (Queue<Timeout> queue : pendingTimeouts) {
+            Timeout timeout;
+            while ((timeout = queue.poll()) != null) {
+                if (timeout.isCancelled()) {
+                    continue;
+                }
+                long deadlineTick = timeout.deadline / tickNanos;
+                timeout.remainingRounds = (deadlineTick - currentTick) / wheel.length;
+                // Timeouts whose deadline has already passed run on the current tick.
+                long tick = Math.max(deadlineTick, currentTick);
+                wheel[(int) (tick & mask)].add(timeout);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Queue<Timeout>[] newQueues(int count) {
+        Queue<Timeout>[] queues = new Queue[count];
+        for (int i = 0; i < count; i++) {
+            queues[i] = new ConcurrentLinkedQueue<>();
+        }
+        return queues;
+    }
+
+    private static int powerOfTwoAtLeast(int value) {
+        int result = 1;
+        while (result < value) {
+            result <<= 1;
+        }
+        return result;
+    }
+
+    /**
+     * A task that has been scheduled on the timer.
+     */
+    public final class Timeout {
+        private static final int PENDING = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+
+        private final Runnable task;
+        private final long deadline;
+        // Not private, so that STATE_UPDATER can access it on Java 8
+        volatile int state = PENDING;
+
+        // Only accessed by the worker thread
+        private long remainingRounds;
+        private Timeout previous;
+        private Timeout next;
+
+        private Timeout(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Stops the task from running, if it has not run already.
+         *
+         * @return True if the task will not run, or false if it has already run or been cancelled.
+         */
+        public boolean cancel() {
+            return STATE_UPDATER.compareAndSet(this, PENDING, CANCELLED);
+        }
+
+        public boolean isCancelled() {
+            return state == CANCELLED;
+        }
+
+        public boolean isExpired() {
+            return state == EXPIRED;
+        }
+
+        private void expire() {
+            if (!STATE_UPDATER.compareAndSet(this, PENDING, EXPIRED)) {
+                return;
+            }
+            try {
+                task.run();
+            } catch (Throwable t) {
+                log.warn(() -> "A task scheduled on the timer failed.", t);
+            }
+        }
+    }
+
+    /**
+     * A doubly-linked list of the timeouts that expire on one tick of each round of the wheel. Only accessed by the worker
+     * thread.
+     */
+    private static final class Bucket {
+        private Timeout head;
+        private Timeout tail;
+
+        private void add(Timeout timeout) {
+            if (head == null) {
+                head = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.previous = tail;
+            }
+            tail = timeout;
+        }
+
+        private void expireTimeouts() {
+            Timeout timeout = head;
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                if (timeout.remainingRounds <= 0) {
+                    remove(timeout);
+                    timeout.expire();
+                } else if (timeout.isCancelled()) {
+                    remove(timeout);
+                } else {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+        }
+
+        private void remove(Timeout timeout) {
+            if (timeout.previous != null) {
+                timeout.previous.next = timeout.next;
+            } else {
+                head = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.previous = timeout.previous;
+            } else {
+                tail = timeout.previous;
+            }
+            timeout.previous = null;
+            timeout.next = null;
+        }
+    }
+
+    private static final class SharedTimerHolder {
+        private static final HashedWheelTimer TIMER =
+            new HashedWheelTimer(DEFAULT_TICK_DURATION, DEFAULT_TICKS_PER_WHEEL,
+                                 new ThreadFactoryBuilder().threadNamePrefix("sdk-timeout-timer").daemonThreads(true).build());
+    }
+}
@@ -18,6 +18,7 @@ package software.amazon.awssdk.core.internal.http.timers;
 import java.time.Duration;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -64,6 +65,40 @@ public final class TimerUtils {
         return timeoutTracker;
     }
 
+    /**
+     * Schedule a {@link TimeoutTask} on a {@link HashedWheelTimer} and exceptional completes a {@link CompletableFuture} with
+     * the provide exception if not otherwise completed before the given timeout.
+     *
+     * <p>Completing the future runs its dependent stages, including the customer's callbacks, so the timer only hands the
+     * task to the given executor instead of running it on the timer's thread, which all clients share.</p>
+     *
+     * @param completableFuture the completableFuture to be timed
+     * @param timer the timer to schedule the {@link TimeoutTask}
+     * @param timeoutExecutor the executor to execute the {@link TimeoutTask}
+     * @param exceptionSupplier the exception to thrown after timeout
+     * @param timeoutInMills the timeout in milliseconds.
+     * @param <T> the type of the {@link CompletableFuture}
+     * @return a {@link TimeoutTracker}
+     */
+    public static <T> TimeoutTracker timeAsyncTaskIfNeeded(CompletableFuture<T> completableFuture,
+                                                           HashedWheelTimer timer,
+                                                           Executor timeoutExecutor,
+                                                           Supplier<SdkClientException> exceptionSupplier,
+                                                           long timeoutInMills) {
+        if (timeoutInMills <= 0) {
+            return NoOpTimeoutTracker.INSTANCE;
+        }
+
+        TimeoutTask timeoutTask = new AsyncTimeoutTask(completableFuture, exceptionSupplier);
+        HashedWheelTimer.Timeout timeout = timer.newTimeout(() -> timeoutExecutor.execute(timeoutTask),
+                                                            timeoutInMills, TimeUnit.MILLISECONDS);
+        TimeoutTracker timeoutTracker = new ApiCallTimeoutTracker(timeoutTask, timeout);
+
+        completableFuture.whenComplete((o, t) -> timeoutTracker.cancel());
+
+        return timeoutTracker;
+    }
+
     /**
      * Schedule a {@link TimeoutTask} that aborts the task if not otherwise completed before the given timeout.
      *
@@ -88,6 +123,27 @@ public final class TimerUtils {
         return new ApiCallTimeoutTracker(timeoutTask, scheduledFuture);
     }
 
+    /**
+     * Schedule a {@link TimeoutTask} on a {@link HashedWheelTimer} that aborts the task if not otherwise completed before the
+     * given timeout.
+     *
+     * @param timer the timer to execute the {@link TimeoutTask}
+     * @param timeoutInMills the timeout in milliseconds.
+     * @param threadToInterrupt the thread to interrupt
+     * @return a {@link TimeoutTracker}
+     */
+    public static TimeoutTracker timeSyncTaskIfNeeded(HashedWheelTimer timer,
+                                                      long timeoutInMills,
+                                                      Thread threadToInterrupt) {
+        if (timeoutInMills <= 0) {
+            return NoOpTimeoutTracker.INSTANCE;
+        }
+
+        SyncTimeoutTask timeoutTask = new SyncTimeoutTask(threadToInterrupt);
+        HashedWheelTimer.Timeout timeout = timer.newTimeout(timeoutTask, timeoutInMills, TimeUnit.MILLISECONDS);
+        return new ApiCallTimeoutTracker(timeoutTask, timeout);
+    }
+
     public static long resolveTimeoutInMillis(Supplier<Optional<Duration>> supplier, Duration fallback) {
         return OptionalUtils.firstPresent(supplier.get(), () -> fallback)
                             .map(Duration::toMillis)
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2010-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.internal.metrics;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.core.metrics.MetricCollection;
+import software.amazon.awssdk.core.metrics.MetricCollector;
+import software.amazon.awssdk.core.metrics.SdkMetric;
+import software.amazon.awssdk.utils.Validate;
+
+/**
+ * The {@link MetricCollector} used by the SDK when at least one metric publisher is configured on the client.
+ */
+@SdkInternalApi
+public final class DefaultMetricCollector implements MetricCollector {
+    private final String name;
+    private final Map<SdkMetric<?>, Queue<Object>> metrics = new ConcurrentHashMap<>();
+    private final Queue<MetricCollector> children = new ConcurrentLinkedQueue<>();
+
+    public DefaultMetricCollector(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public <T> void reportMetric(SdkMetric<T> metric, T value) {
+        Validate.paramNotNull(metric, "metric");
+        Validate.paramNotNull(value, "value");
+        metrics.computeIfAbsent(metric, m -> new ConcurrentLinkedQueue<>()).add(value);
+    }
+
+    @Override
+    public MetricCollector createChild(String name) {
+        MetricCollector child = new DefaultMetricCollector(name);
+        children.add(child);
+        return child;
+    }
+
+    @Override
+    public MetricCollection collect() {
+        Map<SdkMetric<?>, List<?>> collected = new LinkedHashMap<>();
+        metrics.forEach((metric, values) -> collected.put(metric, new ArrayList<>(values)));
+
+        List<MetricCollection> childCollections = new ArrayList<>();
+        children.forEach(c -> childCollections.add(c.collect()));
+
+        return new MetricCollection(name, collected, childCollections);
+    }
+}
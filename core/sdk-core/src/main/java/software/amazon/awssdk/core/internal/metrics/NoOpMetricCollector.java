@@ -0,0 +1,57 @@
+/*
+ * Copyright 2010-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.internal.metrics;
+
+import java.util.Collections;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.core.metrics.MetricCollection;
+import software.amazon.awssdk.core.metrics.MetricCollector;
+import software.amazon.awssdk.core.metrics.SdkMetric;
+
+/**
+ * A {@link MetricCollector} that discards everything reported to it. Used when no metric publishers are configured so that
+ * requests don't pay for collecting metrics that nobody will read.
+ */
+@SdkInternalApi
+public final class NoOpMetricCollector implements MetricCollector {
+    private static final NoOpMetricCollector INSTANCE = new NoOpMetricCollector();
+
+    private NoOpMetricCollector() {
+    }
+
+    public static NoOpMetricCollector create() {
+        return INSTANCE;
+    }
+
+    @Override
+    public String name() {
+        return "NoOp";
+    }
+
+    @Override
+    public <T> void reportMetric(SdkMetric<T> metric, T value) {
+    }
+
+    @Override
+    public MetricCollector createChild(String name) {
+        return this;
+    }
+
+    @Override
+    public MetricCollection collect() {
+        return new MetricCollection(name(), Collections.emptyMap(), Collections.emptyList());
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2010-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.internal.pagination;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.utils.CompletableFutureUtils;
+
+/**
+ * Requests the next page of a paginated operation as soon as the previous page has arrived, instead of when the consumer
+ * asks for it, keeping up to a maximum number of pages fetched ahead of the consumer.
+ *
+ * <p>The consumer asks for pages one at a time with {@link #nextPage(Object)}, passing the page it received last. Pages
+ * are chained by their continuation tokens, so only one page is requested at a time, and a page that has been fetched ahead
+ * is handed out when the consumer asks for the page after the one it received last.</p>
+ *
+ * @param <ResponseT> The type of a single response page
+ */
+@SdkInternalApi
+@ThreadSafe
+public final class PagePrefetcher<ResponseT> {
+    private final int prefetchPages;
+    private final Predicate<ResponseT> hasNextPage;
+    private final Function<ResponseT, CompletableFuture<ResponseT>> fetchNow;
+    private final Function<ResponseT, CompletableFuture<ResponseT>> fetchAhead;
+
+    // Guarded by this
+    private final Deque<CompletableFuture<ResponseT>> pagesAhead = new ArrayDeque<>();
+    private final Set<ResponseT> pagesFetchedAfter = Collections.newSetFromMap(new IdentityHashMap<>());
+    private CompletableFuture<ResponseT> lastRequestedPage;
+
+    /**
+     * @param prefetchPages The maximum number of pages to fetch ahead of the consumer.
+     * @param hasNextPage Whether there is a page after the given page.
+     * @param fetchNow Fetches the page after the given page, or the first page if it is null, when the consumer is waiting
+     * for it.
+     * @param fetchAhead Fetches the page after the given page before the consumer has asked for it.
+     */
+    public PagePrefetcher(int prefetchPages,
+                          Predicate<ResponseT> hasNextPage,
+                          Function<ResponseT, CompletableFuture<ResponseT>> fetchNow,
+                          Function<ResponseT, CompletableFuture<ResponseT>> fetchAhead) {
+        this.prefetchPages = prefetchPages;
+        this.hasNextPage = hasNextPage;
+        this.fetchNow = fetchNow;
+        this.fetchAhead = fetchAhead;
+    }
+
+    /**
+     * @return Whether there is a page after the given page. This is answered without asking the page fetcher if the next
+     * page has been requested already, because page fetchers may track the pages they have been asked for.
+     */
+    public boolean hasNextPage(ResponseT page) {
+        synchronized (this) {
+            if (pagesFetchedAfter.contains(page)) {
+                return true;
+            }
+        }
+        return hasNextPage.test(page);
+    }
+
+    /**
+     * @param previousPage The page the consumer received last, or null for the first page.
+     * @return The page after the given page.
+     */
+    public CompletableFuture<ResponseT> nextPage(ResponseT previousPage) {
+        CompletableFuture<ResponseT> pageAhead;
+        synchronized (this) {
+            if (previousPage != null) {
+                pagesFetchedAfter.remove(previousPage);
+            }
+            pageAhead = pagesAhead.poll();
+        }
+        if (pageAhead != null) {
+            prefetchIfPossible();
+            return pageAhead;
+        }
+
+        CompletableFuture<ResponseT> page = fetchNow.apply(previousPage);
+        synchronized (this) {
+            lastRequestedPage = page;
+        }
+        page.whenComplete((response, t) -> onPageFetched(page, response, t));
+        return page;
+    }
+
+    private void onPageFetched(CompletableFuture<ResponseT> page, ResponseT response, Throwable error) {
+        synchronized (this) {
+            // A newer page has been requested already if the consumer received this page before this callback was run.
+            if (error != null || page != lastRequestedPage) {
+                return;
+            }
+        }
+        prefetchIfPossible();
+    }
+
+    /**
+     * Requests the page after the last requested page if it has arrived, it has a next page, and there is room for another
+     * page ahead of the consumer. The room is taken while holding the lock, but the page is only requested after releasing
+     * it, because requesting a page may run a whole client call. Must not be called while holding the lock.
+     */
+    private void prefetchIfPossible() {
+        CompletableFuture<ResponseT> page = new CompletableFuture<>();
+        ResponseT lastPage;
+        synchronized (this) {
+            CompletableFuture<ResponseT> last = lastRequestedPage;
+            if (last == null || pagesAhead.size() >= prefetchPages || !last.isDone() || last.isCompletedExceptionally()) {
+                return;
+            }
+
+            lastPage = last.join();
+            if (!hasNextPage.test(lastPage)) {
+                return;
+            }
+
+            pagesFetchedAfter.add(lastPage);
+            pagesAhead.add(page);
+            lastRequestedPage = page;
+        }
+
+        try {
+            CompletableFuture<ResponseT> fetched = fetchAhead.apply(lastPage);
+            // The consumer cancelling the page it was handed cancels the request for it
+            CompletableFutureUtils.forwardExceptionTo(page, fetched);
+            fetched.whenComplete((response, t) -> {
+                if (t != null) {
+                    page.completeExceptionally(t);
+                } else {
+                    page.complete(response);
+                }
+            });
+        } catch (Throwable t) {
+            page.completeExceptionally(t);
+        }
+        page.whenComplete((response, t) -> onPageFetched(page, response, t));
+    }
+}
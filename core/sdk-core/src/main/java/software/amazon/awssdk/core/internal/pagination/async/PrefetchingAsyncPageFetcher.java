@@ -0,0 +1,60 @@
+/*
+ * Copyright 2010-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.internal.pagination.async;
+
+import java.util.concurrent.CompletableFuture;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.core.internal.pagination.PagePrefetcher;
+import software.amazon.awssdk.core.pagination.async.AsyncPageFetcher;
+import software.amazon.awssdk.utils.Validate;
+
+/**
+ * An {@link AsyncPageFetcher} that requests the next page as soon as the previous page has arrived, keeping up to a
+ * maximum number of pages fetched ahead of the subscriber. A new instance must be used for each subscription.
+ *
+ * @param <ResponseT> The type of a single response page
+ */
+@SdkInternalApi
+@ThreadSafe
+public final class PrefetchingAsyncPageFetcher<ResponseT> implements AsyncPageFetcher<ResponseT> {
+    private final PagePrefetcher<ResponseT> prefetcher;
+
+    private PrefetchingAsyncPageFetcher(AsyncPageFetcher<ResponseT> delegate, int prefetchPages) {
+        this.prefetcher = new PagePrefetcher<>(prefetchPages, delegate::hasNextPage, delegate::nextPage, delegate::nextPage);
+    }
+
+    /**
+     * @return A fetcher that prefetches up to the given number of pages, or the given fetcher if that number is 0.
+     * @throws IllegalArgumentException If the number of pages is negative.
+     */
+    public static <ResponseT> AsyncPageFetcher<ResponseT> wrap(AsyncPageFetcher<ResponseT> delegate, int prefetchPages) {
+        if (Validate.isNotNegative(prefetchPages, "prefetchPages") == 0) {
+            return delegate;
+        }
+        return new PrefetchingAsyncPageFetcher<>(delegate, prefetchPages);
+    }
+
+    @Override
+    public boolean hasNextPage(ResponseT oldPage) {
+        return prefetcher.hasNextPage(oldPage);
+    }
+
+    @Override
+    public CompletableFuture<ResponseT> nextPage(ResponseT oldPage) {
+        return prefetcher.nextPage(oldPage);
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2010-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.internal.pagination.sync;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.core.internal.pagination.PagePrefetcher;
+import software.amazon.awssdk.core.pagination.sync.SyncPageFetcher;
+import software.amazon.awssdk.utils.CompletableFutureUtils;
+import software.amazon.awssdk.utils.ThreadFactoryBuilder;
+import software.amazon.awssdk.utils.Validate;
+
+/**
+ * A {@link SyncPageFetcher} that requests the next page on a background thread as soon as the previous page has arrived,
+ * keeping up to a maximum number of pages fetched ahead of the iterator. Pages that have not been fetched ahead are fetched
+ * on the calling thread. A new instance must be used for each iterator.
+ *
+ * @param <ResponseT> The type of a single response page
+ */
+@SdkInternalApi
+@ThreadSafe
+public final class PrefetchingSyncPageFetcher<ResponseT> implements SyncPageFetcher<ResponseT> {
+    private final SyncPageFetcher<ResponseT> delegate;
+    private final Executor executor;
+    private final PagePrefetcher<ResponseT> prefetcher;
+
+    private PrefetchingSyncPageFetcher(SyncPageFetcher<ResponseT> delegate, int prefetchPages, Executor executor) {
+        this.delegate = delegate;
+        this.executor = executor;
+        this.prefetcher = new PagePrefetcher<>(prefetchPages, delegate::hasNextPage, this::fetchNow, this::fetchAhead);
+    }
+
+    /**
+     * @return A fetcher that prefetches up to the given number of pages on a shared pool of daemon threads, or the given
+     * fetcher if that number is 0.
+     * @throws IllegalArgumentException If the number of pages is negative.
+     */
+    public static <ResponseT> SyncPageFetcher<ResponseT> wrap(SyncPageFetcher<ResponseT> delegate, int prefetchPages) {
+        if (Validate.isNotNegative(prefetchPages, "prefetchPages") == 0) {
+            return delegate;
+        }
+        return new PrefetchingSyncPageFetcher<>(delegate, prefetchPages, DefaultExecutorHolder.EXECUTOR);
+    }
+
+    @Override
+    public boolean hasNextPage(ResponseT oldPage) {
+        return prefetcher.hasNextPage(oldPage);
+    }
+
+    @Override
+    public ResponseT nextPage(ResponseT oldPage) {
+        try {
+            return prefetcher.nextPage(oldPage).join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw SdkClientException.create("Failed to fetch the next page.", cause);
+        }
+    }
+
+    private CompletableFuture<ResponseT> fetchNow(ResponseT page) {
+        try {
+            return CompletableFuture.completedFuture(delegate.nextPage(page));
+        } catch (RuntimeException | Error e) {
+            return CompletableFutureUtils.failedFuture(e);
+        }
+    }
+
+    private CompletableFuture<ResponseT> fetchAhead(ResponseT page) {
+        return CompletableFuture.supplyAsync(() -> delegate.nextPage(page), executor);
+    }
+
+    /**
+     * Holds the threads that pages are prefetched on, which are only created once prefetching is used. Threads that have
+     * been idle for a minute are stopped.
+     */
+    private static final class DefaultExecutorHolder {
+        private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(
+            new ThreadFactoryBuilder().threadNamePrefix("sdk-paginator-prefetch").daemonThreads(true).build());
+    }
+}
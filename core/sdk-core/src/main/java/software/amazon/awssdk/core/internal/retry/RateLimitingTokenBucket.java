@@ -0,0 +1,186 @@
+/*
+ * Copyright 2010-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.internal.retry;
+
+import java.time.Duration;
+import java.util.function.DoubleSupplier;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.annotations.SdkTestInternalApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.core.retry.RetryPolicy;
+
+/**
+ * Client side rate limiter used when {@link RetryPolicy#adaptiveRateLimitingEnabled()} is set. One instance is shared by all
+ * requests of a client.
+ *
+ * <p>The limiter stays disabled until the first throttling response is observed. From then on every attempt must take a
+ * token from a bucket whose fill rate follows a CUBIC style congestion control curve: on a throttling response the rate is
+ * cut to 70% of the measured sending rate, and on successful responses it grows back along a cubic curve
+ * centered on the rate at which throttling last happened. This lets a fleet of clients converge on the capacity of the
+ * service instead of oscillating between bursts and throttles.
+ */
+@SdkInternalApi
+@ThreadSafe
+public final class RateLimitingTokenBucket {
+
+    private static final double MIN_FILL_RATE = 0.5;
+    private static final double MIN_CAPACITY = 1.0;
+
+    /**
+     * Weight of the most recent measurement when smoothing the measured sending rate.
+     */
+    private static final double SMOOTH = 0.8;
+
+    /**
+     * Multiplicative decrease applied to the sending rate on a throttling response.
+     */
+    private static final double BETA = 0.7;
+
+    /**
+     * Scale of the cubic growth curve.
+     */
+    private static final double SCALE_CONSTANT = 0.4;
+
+    private final DoubleSupplier clock;
+
+    private double fillRate;
+    private double maxCapacity;
+    private double currentCapacity;
+    private double lastTimestamp = Double.NaN;
+    private boolean enabled;
+    private double measuredTxRate;
+    private double lastTxRateBucket;
+    private long requestCount;
+    private double lastMaxRate;
+    private double lastThrottleTime;
+    private double timeWindow;
+
+    public RateLimitingTokenBucket() {
+        this(() -> System.nanoTime() / 1_000_000_000.0);
+    }
+
+    /**
+     * @param clock Supplies the current time in seconds.
+     */
+    @SdkTestInternalApi
+    public RateLimitingTokenBucket(DoubleSupplier clock) {
+        this.clock = clock;
+        double now = clock.getAsDouble();
+        this.lastTxRateBucket = Math.floor(now);
+        this.lastThrottleTime = now;
+    }
+
+    /**
+     * Takes a token for an attempt that is about to be sent.
+     *
+     * @return How long the caller must wait before sending the attempt. Zero if the attempt may be sent immediately.
+     */
+    public synchronized Duration acquire() {
+        if (!enabled) {
+            return Duration.ZERO;
+        }
+
+        refill();
+
+        double waitSeconds = 0;
+        if (currentCapacity < 1) {
+            waitSeconds = (1 - currentCapacity) / fillRate;
+        }
+        // Capacity may go negative, which reserves tokens for the attempts already waiting.
+        currentCapacity -= 1;
+        return Duration.ofNanos((long) (waitSeconds * 1_000_000_000));
+    }
+
+    /**
+     * Updates the sending rate based on the outcome of an attempt.
+     *
+     * @param throttlingResponse True if the service throttled the attempt.
+     */
+    public synchronized void updateClientSendingRate(boolean throttlingResponse) {
+        updateMeasuredRate();
+
+        double calculatedRate;
+        if (throttlingResponse) {
+            double rateToUse = enabled ? Math.min(measuredTxRate, fillRate) : measuredTxRate;
+
+            lastMaxRate = rateToUse;
+            calculateTimeWindow();
+            lastThrottleTime = clock.getAsDouble();
+            calculatedRate = rateToUse * BETA;
+            enabled = true;
+        } else {
+            calculateTimeWindow();
+            calculatedRate = cubicSuccess(clock.getAsDouble());
+        }
+
+        updateRate(Math.min(calculatedRate, 2 * measuredTxRate));
+    }
+
+    @SdkTestInternalApi
+    synchronized double fillRate() {
+        return fillRate;
+    }
+
+    @SdkTestInternalApi
+    synchronized double measuredTxRate() {
+        return measuredTxRate;
+    }
+
+    @SdkTestInternalApi
+    synchronized boolean isEnabled() {
+        return enabled;
+    }
+
+    private void refill() {
+        double timestamp = clock.getAsDouble();
+        if (Double.isNaN(lastTimestamp)) {
+            lastTimestamp = timestamp;
+            return;
+        }
+
+        double fillAmount = (timestamp - lastTimestamp) * fillRate;
+        currentCapacity = Math.min(maxCapacity, currentCapacity + fillAmount);
+        lastTimestamp = timestamp;
+    }
+
+    private void updateRate(double newRps) {
+        refill();
+        fillRate = Math.max(newRps, MIN_FILL_RATE);
+        maxCapacity = Math.max(newRps, MIN_CAPACITY);
+        currentCapacity = Math.min(currentCapacity, maxCapacity);
+    }
+
+    private void updateMeasuredRate() {
+        double timestamp = clock.getAsDouble();
+        double timeBucket = Math.floor(timestamp * 2) / 2;
+        requestCount++;
+        if (timeBucket > lastTxRateBucket) {
+            double currentRate = requestCount / (timeBucket - lastTxRateBucket);
+            measuredTxRate = (currentRate * SMOOTH) + (measuredTxRate * (1 - SMOOTH));
+            requestCount = 0;
+            lastTxRateBucket = timeBucket;
+        }
+    }
+
+    private void calculateTimeWindow() {
+        timeWindow = Math.cbrt((lastMaxRate * (1 - BETA)) / SCALE_CONSTANT);
+    }
+
+    private double cubicSuccess(double timestamp) {
+        double dt = timestamp - lastThrottleTime;
+        return SCALE_CONSTANT * Math.pow(dt - timeWindow, 3) + lastMaxRate;
+    }
+}
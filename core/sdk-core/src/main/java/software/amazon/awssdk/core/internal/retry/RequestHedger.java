@@ -0,0 +1,166 @@
+/*
+ * Copyright 2010-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.internal.retry;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.core.retry.HedgingPolicy;
+import software.amazon.awssdk.http.SdkHttpMethod;
+import software.amazon.awssdk.http.SdkHttpRequest;
+
+/**
+ * Client scoped state of a {@link HedgingPolicy}. One instance is shared by all requests of a client.
+ *
+ * <p>Decides which requests may be hedged, how long to wait before hedging them, and enforces the
+ * {@link HedgingPolicy#maxHedgeRatio()} with a token bucket: each eligible request adds the ratio to the bucket, and each
+ * hedged attempt takes one whole token out of it.
+ */
+@SdkInternalApi
+@ThreadSafe
+public final class RequestHedger {
+
+    /**
+     * Tokens are counted in thousandths so that fractional ratios can be tracked atomically.
+     */
+    private static final long TOKEN = 1000;
+
+    /**
+     * The most hedges that can be saved up during a period of fast responses.
+     */
+    private static final long MAX_TOKENS = 10 * TOKEN;
+
+    private final HedgingPolicy policy;
+    private final long tokensPerRequest;
+    private final AtomicLong tokens = new AtomicLong();
+    private final Map<String, LatencyTracker> latencies = new ConcurrentHashMap<>();
+
+    public RequestHedger(HedgingPolicy policy) {
+        this.policy = policy;
+        this.tokensPerRequest = Math.max(1, Math.round(policy.maxHedgeRatio() * TOKEN));
+    }
+
+    /**
+     * @return True if the request is eligible for hedging according to the policy. Requests with a streaming body must be
+     * excluded by the caller, because their body can only be sent once.
+     */
+    public boolean isHedgeable(String operationName, SdkHttpRequest request) {
+        if (policy.hedgeableOperations().isEmpty()) {
+            return request.method() == SdkHttpMethod.GET || request.method() == SdkHttpMethod.HEAD;
+        }
+        return operationName != null && policy.hedgeableOperations().contains(operationName);
+    }
+
+    /**
+     * Records that an eligible request is being sent, which adds to the number of hedged attempts that are allowed.
+     */
+    public void onEligibleRequest() {
+        tokens.updateAndGet(t -> Math.min(MAX_TOKENS, t + tokensPerRequest));
+    }
+
+    /**
+     * @return True if a hedged attempt could currently be sent without exceeding {@link HedgingPolicy#maxHedgeRatio()}. Unlike
+     * {@link #tryAcquireHedge()} this does not consume the allowance, so it can be used to avoid waiting for a hedge that could
+     * never be sent.
+     */
+    public boolean canHedge() {
+        return tokens.get() >= TOKEN;
+    }
+
+    /**
+     * @return True if a hedged attempt may be sent without exceeding {@link HedgingPolicy#maxHedgeRatio()}, in which case the
+     * allowance for it has been consumed.
+     */
+    public boolean tryAcquireHedge() {
+        long current;
+        do {
+            current = tokens.get();
+            if (current < TOKEN) {
+                return false;
+            }
+        } while (!tokens.compareAndSet(current, current - TOKEN));
+        return true;
+    }
+
+    /**
+     * @return How long to wait for a response to an attempt of the given operation before sending a hedged attempt.
+     */
+    public Duration hedgeDelay(String operationName) {
+        if (policy.latencyPercentile() == null || operationName == null) {
+            return policy.hedgeDelay();
+        }
+        LatencyTracker tracker = latencies.get(operationName);
+        long percentileNanos = tracker == null ? -1 : tracker.percentileNanos();
+        return percentileNanos < 0 ? policy.hedgeDelay() : Duration.ofNanos(percentileNanos);
+    }
+
+    /**
+     * Records the time it took for an attempt of the given operation to receive a response.
+     */
+    public void recordLatency(String operationName, Duration latency) {
+        if (policy.latencyPercentile() != null && operationName != null) {
+            latencies.computeIfAbsent(operationName, n -> new LatencyTracker(policy.latencyPercentile()))
+                     .record(latency.toNanos());
+        }
+    }
+
+    /**
+     * Keeps the most recent latencies of an operation in a ring buffer, and periodically recomputes their percentile so that
+     * reading it is cheap.
+     */
+    private static final class LatencyTracker {
+        private static final int SAMPLES = 256;
+        private static final int RECOMPUTE_INTERVAL = 32;
+        private static final int MIN_SAMPLES = 64;
+
+        private final double percentile;
+        private final AtomicLongArray samples = new AtomicLongArray(SAMPLES);
+        private final AtomicLong count = new AtomicLong();
+        private volatile long percentileNanos = -1;
+
+        private LatencyTracker(double percentile) {
+            this.percentile = percentile;
+        }
+
+        private void record(long latencyNanos) {
+            long index = count.getAndIncrement();
+            samples.set((int) (index % SAMPLES), latencyNanos);
+            long recorded = index + 1;
+            if (recorded >= MIN_SAMPLES && recorded % RECOMPUTE_INTERVAL == 0) {
+                recompute((int) Math.min(recorded, SAMPLES));
+            }
+        }
+
+        private void recompute(int size) {
+            long[] sorted = new long[size];
+            for (int i = 0; i < size; i++) {
+                sorted[i] = samples.get(i);
+            }
+            Arrays.sort(sorted);
+            int rank = (int) Math.ceil(percentile / 100 * size) - 1;
+            percentileNanos = sorted[Math.max(0, Math.min(size - 1, rank))];
+        }
+
+        private long percentileNanos() {
+            return percentileNanos;
+        }
+    }
+}
@@ -58,7 +58,7 @@ public final class RetryHandler {
         // Do not use retry capacity for throttling exceptions
         if (!RetryUtils.isThrottlingException(exception)) {
             // See if we have enough available retry capacity to be able to execute this retry attempt.
-            if (!retryCapacity.acquire(SdkDefaultRetrySetting.RETRY_THROTTLING_COST)) {
+            if (!retryCapacity.acquire(retryPolicy.retryQuotaCost())) {
                 return false;
             }
             this.retryCapacityConsumed = true;
@@ -76,7 +76,7 @@ public final class RetryHandler {
         if (!retryPolicy.retryCondition().shouldRetry(retryPolicyContext)) {
             // If the retry policy fails we immediately return consumed capacity to the pool.
             if (retryCapacityConsumed) {
-                retryCapacity.release(SdkDefaultRetrySetting.RETRY_THROTTLING_COST);
+                retryCapacity.release(retryPolicy.retryQuotaCost());
             }
             return false;
         }
@@ -90,7 +90,7 @@ public final class RetryHandler {
      */
     public void releaseRetryCapacity() {
         if (isRetry() && retryCapacityConsumed) {
-            retryCapacity.release(SdkDefaultRetrySetting.RETRY_THROTTLING_COST);
+            retryCapacity.release(retryPolicy.retryQuotaCost());
         } else {
             retryCapacity.release();
         }
@@ -15,18 +15,20 @@
 
 package software.amazon.awssdk.core.internal.util;
 
+import java.util.concurrent.atomic.AtomicInteger;
 import software.amazon.awssdk.annotations.SdkInternalApi;
 
 /**
  * Manages capacity of a finite resource.  Capacity can be acquired and
- * released.
+ * released.  Capacity is updated with compare-and-set rather than under a lock,
+ * so that threads never block on each other, which would pin the carrier of a
+ * virtual thread.
  */
 @SdkInternalApi
 public class CapacityManager {
 
     private final int maxCapacity;
-    private final Object lock = new Object();
-    private volatile int availableCapacity;
+    private final AtomicInteger availableCapacity;
 
     /**
      * Creates a CapacityManager.
@@ -38,7 +40,7 @@ public class CapacityManager {
      */
     public CapacityManager(final int maxCapacity) {
         this.maxCapacity = maxCapacity;
-        this.availableCapacity = maxCapacity;
+        this.availableCapacity = new AtomicInteger(maxCapacity);
     }
 
     /**
@@ -64,17 +66,18 @@ public class CapacityManager {
             throw new IllegalArgumentException("capacity to acquire cannot be negative");
         }
 
-        if (availableCapacity < 0) {
+        if (maxCapacity < 0) {
             return true;
         }
 
-        synchronized (lock) {
-            if (availableCapacity - capacity >= 0) {
-                availableCapacity -= capacity;
-                return true;
-            } else {
+        while (true) {
+            int available = availableCapacity.get();
+            if (available - capacity < 0) {
                 return false;
             }
+            if (availableCapacity.compareAndSet(available, available - capacity)) {
+                return true;
+            }
         }
     }
 
@@ -98,12 +101,16 @@ public class CapacityManager {
             throw new IllegalArgumentException("capacity to release cannot be negative");
         }
 
+        if (maxCapacity < 0) {
+            return;
+        }
+
         // in the common 'good' case where we have our full capacity available we can
-        // short circuit going any further and avoid unnecessary locking.
-        if (availableCapacity >= 0 && availableCapacity != maxCapacity) {
-            synchronized (lock) {
-                availableCapacity = Math.min((availableCapacity + capacity), maxCapacity);
-            }
+        // short circuit going any further and avoid an unnecessary update.
+        int available = availableCapacity.get();
+        while (available != maxCapacity
+               && !availableCapacity.compareAndSet(available, Math.min(available + capacity, maxCapacity))) {
+            available = availableCapacity.get();
         }
     }
 
@@ -113,7 +120,8 @@ public class CapacityManager {
      * @return consumed capacity
      */
     public int consumedCapacity() {
-        return (availableCapacity < 0) ? 0 : (maxCapacity - availableCapacity);
+        int available = availableCapacity.get();
+        return (available < 0) ? 0 : (maxCapacity - available);
     }
 
     /**
@@ -122,6 +130,6 @@ public class CapacityManager {
      * @return available capacity
      */
     public int availableCapacity() {
-        return availableCapacity;
+        return availableCapacity.get();
     }
 }
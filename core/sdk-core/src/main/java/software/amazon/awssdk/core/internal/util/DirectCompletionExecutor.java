@@ -0,0 +1,97 @@
+/*
+ * Copyright 2010-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.internal.util;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.core.client.config.SdkAdvancedAsyncClientOption;
+import software.amazon.awssdk.utils.Logger;
+
+/**
+ * Completes the futures returned by an async client on the thread that received the response, which is usually an I/O
+ * thread of the async HTTP client, instead of handing them off to another executor.
+ *
+ * <p>Any callback that was added to a future before it completed runs as part of {@link #execute(Runnable)}, so a callback
+ * that blocks holds up the I/O thread and every other request that it serves. This executor measures how long each
+ * completion takes, and logs a warning, at most once per warning interval, when completions take longer than the slow
+ * callback threshold.</p>
+ *
+ * @see SdkAdvancedAsyncClientOption#DIRECT_FUTURE_COMPLETION
+ */
+@SdkInternalApi
+@ThreadSafe
+public final class DirectCompletionExecutor implements Executor {
+    private static final Logger log = Logger.loggerFor(DirectCompletionExecutor.class);
+
+    private static final Duration DEFAULT_SLOW_CALLBACK_THRESHOLD = Duration.ofMillis(10);
+    private static final Duration DEFAULT_WARNING_INTERVAL = Duration.ofMinutes(1);
+
+    private final long slowCallbackThresholdNanos;
+    private final long warningIntervalNanos;
+    private final LongAdder slowCallbacks = new LongAdder();
+    private final AtomicLong nextWarningTime;
+
+    /**
+     * @param slowCallbackThreshold How long completing a future may take before it is treated as blocking.
+     * @param warningInterval The minimum time between two warnings about slow callbacks.
+     */
+    public DirectCompletionExecutor(Duration slowCallbackThreshold, Duration warningInterval) {
+        this.slowCallbackThresholdNanos = slowCallbackThreshold.toNanos();
+        this.warningIntervalNanos = warningInterval.toNanos();
+        this.nextWarningTime = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * @return An executor that warns about completions that take longer than 10 milliseconds, at most once a minute.
+     */
+    public static DirectCompletionExecutor create() {
+        return new DirectCompletionExecutor(DEFAULT_SLOW_CALLBACK_THRESHOLD, DEFAULT_WARNING_INTERVAL);
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        long start = System.nanoTime();
+        try {
+            command.run();
+        } finally {
+            long end = System.nanoTime();
+            if (end - start > slowCallbackThresholdNanos) {
+                onSlowCallback(end, end - start);
+            }
+        }
+    }
+
+    private void onSlowCallback(long now, long durationNanos) {
+        slowCallbacks.increment();
+
+        long nextWarning = nextWarningTime.get();
+        if (now - nextWarning < 0 || !nextWarningTime.compareAndSet(nextWarning, now + warningIntervalNanos)) {
+            return;
+        }
+
+        long count = slowCallbacks.sumThenReset();
+        String threadName = Thread.currentThread().getName();
+        log.warn(() -> String.format("Completing a future returned by an async client took %d ms on thread %s, which also "
+                                     + "handles I/O for other requests, and %d completions were this slow since the last "
+                                     + "warning. Callbacks must not block when DIRECT_FUTURE_COMPLETION is enabled. Use the "
+                                     + "*Async methods of CompletableFuture with an executor to run blocking work.",
+                                     durationNanos / 1_000_000, threadName, count));
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2010-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.internal.util;
+
+import java.time.Duration;
+import java.util.List;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.SdkInternalExecutionAttribute;
+import software.amazon.awssdk.core.internal.metrics.DefaultMetricCollector;
+import software.amazon.awssdk.core.internal.metrics.NoOpMetricCollector;
+import software.amazon.awssdk.core.metrics.MetricCollection;
+import software.amazon.awssdk.core.metrics.MetricCollector;
+import software.amazon.awssdk.core.metrics.MetricPublisher;
+import software.amazon.awssdk.utils.Logger;
+
+/**
+ * Utilities for collecting and publishing SDK metrics.
+ */
+@SdkInternalApi
+public final class MetricUtils {
+    private static final Logger log = Logger.loggerFor(MetricUtils.class);
+
+    private static final String API_CALL = "ApiCall";
+    private static final String API_CALL_ATTEMPT = "ApiCallAttempt";
+
+    private MetricUtils() {
+    }
+
+    /**
+     * Create the collector for a single API call. If no publishers are configured a no-op collector is returned, so that
+     * requests don't pay for collecting metrics that are never published.
+     */
+    public static MetricCollector createApiCallMetricCollector(List<MetricPublisher> publishers) {
+        if (publishers == null || publishers.isEmpty()) {
+            return NoOpMetricCollector.create();
+        }
+        return new DefaultMetricCollector(API_CALL);
+    }
+
+    /**
+     * Create the collector for a new attempt of the API call and make it the current attempt collector.
+     */
+    public static MetricCollector createAttemptMetricCollector(ExecutionAttributes attributes) {
+        MetricCollector attemptCollector = apiCallMetricCollector(attributes).createChild(API_CALL_ATTEMPT);
+        attributes.putAttribute(SdkInternalExecutionAttribute.API_CALL_ATTEMPT_METRIC_COLLECTOR, attemptCollector);
+        return attemptCollector;
+    }
+
+    /**
+     * The collector for the current API call, or a no-op collector if none was configured for this execution.
+     */
+    public static MetricCollector apiCallMetricCollector(ExecutionAttributes attributes) {
+        MetricCollector collector = attributes.getAttribute(SdkInternalExecutionAttribute.API_CALL_METRIC_COLLECTOR);
+        return collector == null ? NoOpMetricCollector.create() : collector;
+    }
+
+    /**
+     * The collector for the current attempt of the API call, or a no-op collector if no attempt has been started.
+     */
+    public static MetricCollector attemptMetricCollector(ExecutionAttributes attributes) {
+        MetricCollector collector = attributes.getAttribute(SdkInternalExecutionAttribute.API_CALL_ATTEMPT_METRIC_COLLECTOR);
+        return collector == null ? NoOpMetricCollector.create() : collector;
+    }
+
+    /**
+     * The time elapsed since the provided {@link System#nanoTime()} value.
+     */
+    public static Duration durationSince(long startNanos) {
+        return Duration.ofNanos(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Collect the metrics from the provided collector and hand them to each of the publishers. A failing publisher does not
+     * prevent the others from receiving the metrics, and never fails the API call.
+     */
+    public static void publish(List<MetricPublisher> publishers, MetricCollector collector) {
+        if (publishers == null || publishers.isEmpty()) {
+            return;
+        }
+
+        MetricCollection collection = collector.collect();
+        for (MetricPublisher publisher : publishers) {
+            try {
+                publisher.publish(collection);
+            } catch (RuntimeException e) {
+                log.warn(() -> "Failed to publish metrics to " + publisher, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,264 @@
+/*
+ * Copyright 2010-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.internal.util;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.utils.SdkAutoCloseable;
+import software.amazon.awssdk.utils.ThreadFactoryBuilder;
+
+/**
+ * Executors that are shared by every client in the JVM that is configured to use shared executors, instead of each client
+ * creating its own. Each client acquires a reference to an executor when it is built and releases it when it is closed, and
+ * an executor is shut down once the last client using it has been closed. A client that is built after that gets a new
+ * executor.
+ *
+ * <p>The references are released by the client configuration being closed: the future completion executor is
+ * {@link AutoCloseable} and the scheduled executor service releases its reference when it is shut down, so neither can shut
+ * down the executor while other clients are using it.</p>
+ */
+@SdkInternalApi
+@ThreadSafe
+public final class SharedClientExecutors {
+    private static final int FUTURE_COMPLETION_THREADS = 50;
+    private static final int FUTURE_COMPLETION_QUEUE_CAPACITY = 10_000;
+    private static final int SCHEDULED_EXECUTOR_THREADS = 5;
+
+    private static final SharedResource<ExecutorService> FUTURE_COMPLETION_EXECUTOR =
+        new SharedResource<>(SharedClientExecutors::createFutureCompletionExecutor);
+    private static final SharedResource<ScheduledExecutorService> SCHEDULED_EXECUTOR =
+        new SharedResource<>(SharedClientExecutors::createScheduledExecutor);
+
+    private SharedClientExecutors() {
+    }
+
+    /**
+     * @return A reference to the shared executor that completes the futures returned by async clients, which must be closed
+     * when the client is closed.
+     */
+    public static SharedExecutor futureCompletionExecutor() {
+        return new SharedExecutor(FUTURE_COMPLETION_EXECUTOR);
+    }
+
+    /**
+     * @return A reference to the shared executor that schedules retries and timeouts, which must be shut down when the client
+     * is closed.
+     */
+    public static ScheduledExecutorService scheduledExecutorService() {
+        return new SharedScheduledExecutorService(SCHEDULED_EXECUTOR);
+    }
+
+    private static ExecutorService createFutureCompletionExecutor() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(FUTURE_COMPLETION_THREADS, FUTURE_COMPLETION_THREADS,
+                                                             10, TimeUnit.SECONDS,
+                                                             new LinkedBlockingQueue<>(FUTURE_COMPLETION_QUEUE_CAPACITY),
+                                                             new ThreadFactoryBuilder()
+                                                                 .threadNamePrefix("sdk-shared-async-response")
+                                                                 .build());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private static ScheduledExecutorService createScheduledExecutor() {
+        ScheduledThreadPoolExecutor executor =
+            new ScheduledThreadPoolExecutor(SCHEDULED_EXECUTOR_THREADS,
+                                            new ThreadFactoryBuilder().threadNamePrefix("sdk-shared-ScheduledExecutor").build());
+        // Most timeouts are cancelled because the call completes in time, so don't keep them queued until they would expire.
+        executor.setRemoveOnCancelPolicy(true);
+        return executor;
+    }
+
+    /**
+     * An executor that is created when the first reference to it is acquired, and shut down when the last reference to it
+     * is released.
+     */
+    private static final class SharedResource<T extends ExecutorService> {
+        private final Supplier<T> factory;
+        private T executor;
+        private int references;
+
+        private SharedResource(Supplier<T> factory) {
+            this.factory = factory;
+        }
+
+        private synchronized T acquire() {
+            if (references == 0) {
+                executor = factory.get();
+            }
+            references++;
+            return executor;
+        }
+
+        private synchronized void release(T released) {
+            if (released != executor) {
+                return;
+            }
+            references--;
+            if (references == 0) {
+                executor.shutdown();
+                executor = null;
+            }
+        }
+    }
+
+    /**
+     * A reference to the shared future completion executor, which is released when it is closed.
+     */
+    public static final class SharedExecutor implements Executor, SdkAutoCloseable {
+        private final SharedResource<ExecutorService> resource;
+        private final ExecutorService executor;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private SharedExecutor(SharedResource<ExecutorService> resource) {
+            this.resource = resource;
+            this.executor = resource.acquire();
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            executor.execute(command);
+        }
+
+        @Override
+        public void close() {
+            if (released.compareAndSet(false, true)) {
+                resource.release(executor);
+            }
+        }
+    }
+
+    /**
+     * A reference to the shared scheduled executor service. Shutting it down releases the reference without shutting down the
+     * shared executor, so tasks that were scheduled before still run.
+     */
+    private static final class SharedScheduledExecutorService implements ScheduledExecutorService {
+        private final SharedResource<ScheduledExecutorService> resource;
+        private final ScheduledExecutorService executor;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private SharedScheduledExecutorService(SharedResource<ScheduledExecutorService> resource) {
+            this.resource = resource;
+            this.executor = resource.acquire();
+        }
+
+        @Override
+        public void shutdown() {
+            if (released.compareAndSet(false, true)) {
+                resource.release(executor);
+            }
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            shutdown();
+            return Collections.emptyList();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return released.get();
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return released.get();
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            return released.get();
+        }
+
+        @Override
+        public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+            return executor.schedule(command, delay, unit);
+        }
+
+        @Override
+        public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+            return executor.schedule(callable, delay, unit);
+        }
+
+        @Override
+        public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
+            return executor.scheduleAtFixedRate(command, initialDelay, period, unit);
+        }
+
+        @Override
+        public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit) {
+            return executor.scheduleWithFixedDelay(command, initialDelay, delay, unit);
+        }
+
+        @Override
+        public <T> Future<T> submit(Callable<T> task) {
+            return executor.submit(task);
+        }
+
+        @Override
+        public <T> Future<T> submit(Runnable task, T result) {
+            return executor.submit(task, result);
+        }
+
+        @Override
+        public Future<?> submit(Runnable task) {
+            return executor.submit(task);
+        }
+
+        @Override
+        public <T> List<Future<T>> invokeAll(Collection<? extends Callable<T>> tasks) throws InterruptedException {
+            return executor.invokeAll(tasks);
+        }
+
+        @Override
+        public <T> List<Future<T>> invokeAll(Collection<? extends Callable<T>> tasks, long timeout, TimeUnit unit)
+                throws InterruptedException {
+            return executor.invokeAll(tasks, timeout, unit);
+        }
+
+        @Override
+        public <T> T invokeAny(Collection<? extends Callable<T>> tasks) throws InterruptedException, ExecutionException {
+            return executor.invokeAny(tasks);
+        }
+
+        @Override
+        public <T> T invokeAny(Collection<? extends Callable<T>> tasks, long timeout, TimeUnit unit)
+                throws InterruptedException, ExecutionException, TimeoutException {
+            return executor.invokeAny(tasks, timeout, unit);
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            executor.execute(command);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2010-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.internal.util;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.utils.Logger;
+
+/**
+ * Creates executors that run each task on a new virtual thread, when the JVM supports virtual threads. The SDK is compiled
+ * for Java 8, so the factory method added in Java 21 is looked up at runtime.
+ */
+@SdkInternalApi
+public final class VirtualThreads {
+    private static final Logger log = Logger.loggerFor(VirtualThreads.class);
+
+    private static final MethodHandle NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR = findVirtualThreadPerTaskExecutorFactory();
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * @return True if the JVM can create virtual threads.
+     */
+    public static boolean isSupported() {
+        return NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR != null;
+    }
+
+    /**
+     * @return An executor that runs each task on a new virtual thread, or empty if the JVM cannot create virtual threads. The
+     * executor must be shut down when it is no longer needed.
+     */
+    public static Optional<ExecutorService> newVirtualThreadPerTaskExecutor() {
+        if (NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of((ExecutorService) NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR.invoke());
+        } catch (UnsupportedOperationException e) {
+            // Virtual threads are a preview feature before Java 21, and are unavailable unless preview features are enabled.
+            log.debug(() -> "Virtual threads are not enabled in this JVM.", e);
+            return Optional.empty();
+        } catch (Throwable t) {
+            log.debug(() -> "Unable to create a virtual thread executor.", t);
+            return Optional.empty();
+        }
+    }
+
+    private static MethodHandle findVirtualThreadPerTaskExecutorFactory() {
+        try {
+            return MethodHandles.publicLookup().findStatic(Executors.class, "newVirtualThreadPerTaskExecutor",
+                                                           MethodType.methodType(ExecutorService.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2010-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.metrics;
+
+import java.time.Duration;
+import software.amazon.awssdk.annotations.SdkPublicApi;
+
+/**
+ * The metrics reported by the SDK core for every API call and every attempt (including retries) of an API call.
+ *
+ * <p>Metrics marked as "per call" are reported to the {@link MetricCollection} published for the API call. Metrics marked as
+ * "per attempt" are reported to the child collection created for each attempt, see {@link MetricCollection#children()}.
+ */
+@SdkPublicApi
+public final class CoreMetric {
+    /**
+     * The unique ID for the service. Per call.
+     */
+    public static final SdkMetric<String> SERVICE_ID = SdkMetric.create("ServiceId", String.class);
+
+    /**
+     * The name of the service operation being invoked. Per call.
+     */
+    public static final SdkMetric<String> OPERATION_NAME = SdkMetric.create("OperationName", String.class);
+
+    /**
+     * Whether the API call ultimately succeeded. Per call.
+     */
+    public static final SdkMetric<Boolean> API_CALL_SUCCESSFUL = SdkMetric.create("ApiCallSuccessful", Boolean.class);
+
+    /**
+     * The number of retries performed by the SDK for the API call. Per call.
+     */
+    public static final SdkMetric<Integer> RETRY_COUNT = SdkMetric.create("RetryCount", Integer.class);
+
+    /**
+     * The total time taken by the API call, from the start of marshalling to the completion of the call. Per call.
+     */
+    public static final SdkMetric<Duration> API_CALL_DURATION = SdkMetric.create("ApiCallDuration", Duration.class);
+
+    /**
+     * The time taken to marshall the request into an HTTP request. Per call.
+     */
+    public static final SdkMetric<Duration> MARSHALLING_DURATION = SdkMetric.create("MarshallingDuration", Duration.class);
+
+    /**
+     * The time the SDK waited before sending this attempt because of the retry policy's backoff strategy. Only reported for
+     * retry attempts. Per attempt.
+     */
+    public static final SdkMetric<Duration> BACKOFF_DELAY_DURATION = SdkMetric.create("BackoffDelayDuration", Duration.class);
+
+    /**
+     * The time taken to sign the HTTP request. Per attempt.
+     */
+    public static final SdkMetric<Duration> SIGNING_DURATION = SdkMetric.create("SigningDuration", Duration.class);
+
+    /**
+     * The time from handing the request to the HTTP client until the response headers were received. This includes the time
+     * to acquire a connection from the HTTP client's pool, because that is not visible outside of the HTTP client. Per attempt.
+     */
+    public static final SdkMetric<Duration> TIME_TO_FIRST_BYTE = SdkMetric.create("TimeToFirstByte", Duration.class);
+
+    /**
+     * The time taken to unmarshall the HTTP response into a response or exception object. Per attempt.
+     */
+    public static final SdkMetric<Duration> UNMARSHALLING_DURATION = SdkMetric.create("UnmarshallingDuration",
+                                                                                      Duration.class);
+
+    /**
+     * The HTTP status code returned by the service. Per attempt.
+     */
+    public static final SdkMetric<Integer> HTTP_STATUS_CODE = SdkMetric.create("HttpStatusCode", Integer.class);
+
+    /**
+     * The name of the exception that caused this attempt to fail, if it failed. Per attempt.
+     */
+    public static final SdkMetric<String> EXCEPTION = SdkMetric.create("Exception", String.class);
+
+    /**
+     * Whether a hedged copy of this attempt was sent because it had not received a response after the hedge delay of the
+     * client's {@link software.amazon.awssdk.core.retry.HedgingPolicy}. Only reported for hedged attempts. Per attempt.
+     */
+    public static final SdkMetric<Boolean> HEDGED = SdkMetric.create("Hedged", Boolean.class);
+
+    private CoreMetric() {
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2010-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.metrics;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.utils.ToString;
+
+/**
+ * An immutable collection of the metrics reported to a {@link MetricCollector}, along with the collections of any child
+ * collectors. This is the unit of data handed to a {@link MetricPublisher}.
+ *
+ * <p>The collection published for an API call is named {@code ApiCall} and has one child collection named
+ * {@code ApiCallAttempt} for every attempt made, in the order in which the attempts were made.
+ */
+@SdkPublicApi
+public final class MetricCollection {
+    private final String name;
+    private final Map<SdkMetric<?>, List<?>> metrics;
+    private final List<MetricCollection> children;
+
+    public MetricCollection(String name, Map<SdkMetric<?>, List<?>> metrics, List<MetricCollection> children) {
+        this.name = name;
+        this.metrics = Collections.unmodifiableMap(new LinkedHashMap<>(metrics));
+        this.children = Collections.unmodifiableList(children);
+    }
+
+    /**
+     * The name of the collector that created this collection.
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * The set of metrics that have at least one reported value in this collection.
+     */
+    public Set<SdkMetric<?>> metrics() {
+        return metrics.keySet();
+    }
+
+    /**
+     * All values reported for the given metric, in the order they were reported. Returns an empty list if no value was reported.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> List<T> metricValues(SdkMetric<T> metric) {
+        List<?> values = metrics.get(metric);
+        return values == null ? Collections.emptyList() : (List<T>) values;
+    }
+
+    /**
+     * The collections of the child collectors created from the collector that produced this collection.
+     */
+    public List<MetricCollection> children() {
+        return children;
+    }
+
+    @Override
+    public String toString() {
+        return ToString.builder("MetricCollection")
+                       .add("name", name)
+                       .add("metrics", metrics)
+                       .add("children", children)
+                       .build();
+    }
+}
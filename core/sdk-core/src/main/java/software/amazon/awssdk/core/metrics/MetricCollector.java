@@ -0,0 +1,48 @@
+/*
+ * Copyright 2010-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.metrics;
+
+import software.amazon.awssdk.annotations.SdkProtectedApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+
+/**
+ * A mutable, thread-safe collector of metric values. The SDK creates one collector per API call and one child collector per
+ * attempt, and hands the result of {@link #collect()} to the configured {@link MetricPublisher}s when the call completes.
+ */
+@ThreadSafe
+@SdkProtectedApi
+public interface MetricCollector {
+    /**
+     * The name of this collector.
+     */
+    String name();
+
+    /**
+     * Report a value for the given metric.
+     */
+    <T> void reportMetric(SdkMetric<T> metric, T value);
+
+    /**
+     * Create a child collector. The collection of the child is included in {@link MetricCollection#children()} of the
+     * collection returned by this collector.
+     */
+    MetricCollector createChild(String name);
+
+    /**
+     * Return a snapshot of the metrics reported to this collector and its children.
+     */
+    MetricCollection collect();
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2010-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.metrics;
+
+import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
+import software.amazon.awssdk.utils.SdkAutoCloseable;
+
+/**
+ * A sink for the metrics collected by the SDK for each API call. Publishers are configured on a client via
+ * {@link ClientOverrideConfiguration.Builder#addMetricPublisher(MetricPublisher)}.
+ *
+ * <p>{@link #publish(MetricCollection)} is invoked once per API call, after the call has completed (successfully or not), on
+ * the thread that completed the call. For async clients this may be an SDK or HTTP client thread, so implementations should
+ * hand the collection off to their own threads instead of performing blocking I/O.
+ *
+ * <p>The SDK does not close publishers configured by the customer; it is the customer's responsibility to {@link #close()}
+ * them when they are no longer needed.
+ */
+@ThreadSafe
+@SdkPublicApi
+public interface MetricPublisher extends SdkAutoCloseable {
+    /**
+     * Publish the metrics collected for a single API call. Exceptions thrown by this method are logged and otherwise ignored.
+     */
+    void publish(MetricCollection metricCollection);
+}
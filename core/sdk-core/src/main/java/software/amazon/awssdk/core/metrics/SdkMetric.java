@@ -0,0 +1,65 @@
+/*
+ * Copyright 2010-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.metrics;
+
+import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.utils.Validate;
+
+/**
+ * A typed key for a single metric reported by the SDK to a {@link MetricCollector}. Metrics are typically declared as static
+ * final fields, as in {@link CoreMetric}.
+ *
+ * @param <T> The type of value associated with this metric.
+ */
+@SdkPublicApi
+public final class SdkMetric<T> {
+    private final String name;
+    private final Class<T> valueClass;
+
+    private SdkMetric(String name, Class<T> valueClass) {
+        this.name = Validate.paramNotBlank(name, "name");
+        this.valueClass = Validate.paramNotNull(valueClass, "valueClass");
+    }
+
+    /**
+     * Create a new metric with the provided name and value type.
+     *
+     * @param name Descriptive name for the metric, used when the metric is published.
+     * @param valueClass The type of value reported for this metric.
+     */
+    public static <T> SdkMetric<T> create(String name, Class<T> valueClass) {
+        return new SdkMetric<>(name, valueClass);
+    }
+
+    /**
+     * The name of this metric.
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * The type of value reported for this metric.
+     */
+    public Class<T> valueClass() {
+        return valueClass;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -20,6 +20,7 @@ import java.util.concurrent.atomic.AtomicLong;
 import org.reactivestreams.Subscriber;
 import org.reactivestreams.Subscription;
 import software.amazon.awssdk.annotations.SdkProtectedApi;
+import software.amazon.awssdk.core.internal.pagination.async.PrefetchingAsyncPageFetcher;
 
 @SdkProtectedApi
 public abstract class PaginationSubscription<ResponseT> implements Subscription {
@@ -37,7 +38,7 @@ public abstract class PaginationSubscription<ResponseT> implements Subscription
 
     protected PaginationSubscription(BuilderImpl builder) {
         this.subscriber = builder.subscriber;
-        this.nextPageFetcher = builder.nextPageFetcher;
+        this.nextPageFetcher = PrefetchingAsyncPageFetcher.wrap(builder.nextPageFetcher, builder.prefetchPages);
     }
 
     @Override
@@ -109,6 +110,12 @@ public abstract class PaginationSubscription<ResponseT> implements Subscription
 
         BuilderT nextPageFetcher(AsyncPageFetcher nextPageFetcher);
 
+        /**
+         * The maximum number of pages to request before the subscriber has asked for them. Each page is requested as soon as
+         * the page before it has arrived. Defaults to 0, which requests each page only when the subscriber asks for it.
+         */
+        BuilderT prefetchPages(int prefetchPages);
+
         TypeToBuildT build();
     }
 
@@ -116,6 +123,7 @@ public abstract class PaginationSubscription<ResponseT> implements Subscription
         implements Builder<TypeToBuildT, BuilderT> {
         private Subscriber subscriber;
         private AsyncPageFetcher nextPageFetcher;
+        private int prefetchPages;
 
         @Override
         public BuilderT subscriber(Subscriber subscriber) {
@@ -128,6 +136,12 @@ public abstract class PaginationSubscription<ResponseT> implements Subscription
             this.nextPageFetcher = nextPageFetcher;
             return (BuilderT) this;
         }
+
+        @Override
+        public BuilderT prefetchPages(int prefetchPages) {
+            this.prefetchPages = prefetchPages;
+            return (BuilderT) this;
+        }
     }
 
 }
@@ -18,12 +18,14 @@ package software.amazon.awssdk.core.pagination.sync;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 import software.amazon.awssdk.annotations.SdkProtectedApi;
+import software.amazon.awssdk.core.internal.pagination.sync.PrefetchingSyncPageFetcher;
 
 /**
  * Iterator for all response pages in a paginated operation.
  *
  * This class is used to iterate through all the pages of an operation.
- * SDK makes service calls to retrieve the next page when next() method is called.
+ * SDK makes service calls to retrieve the next page when next() method is called, unless pages are
+ * prefetched, in which case the next page is retrieved in the background as soon as the previous page has arrived.
  *
  * @param <ResponseT> The type of a single response page
  */
@@ -37,7 +39,7 @@ public final class PaginatedResponsesIterator<ResponseT> implements Iterator<Res
     private ResponseT oldResponse;
 
     private PaginatedResponsesIterator(BuilderImpl builder) {
-        this.nextPageFetcher = builder.nextPageFetcher;
+        this.nextPageFetcher = PrefetchingSyncPageFetcher.wrap(builder.nextPageFetcher, builder.prefetchPages);
     }
 
     public static Builder builder() {
@@ -63,11 +65,18 @@ public final class PaginatedResponsesIterator<ResponseT> implements Iterator<Res
     public interface Builder {
         Builder nextPageFetcher(SyncPageFetcher nextPageFetcher);
 
+        /**
+         * The maximum number of pages to retrieve in the background before {@link #next()} is called for them. Each page is
+         * requested as soon as the page before it has arrived. Defaults to 0, which retrieves each page in {@link #next()}.
+         */
+        Builder prefetchPages(int prefetchPages);
+
         PaginatedResponsesIterator build();
     }
 
     private static final class BuilderImpl implements Builder {
         private SyncPageFetcher nextPageFetcher;
+        private int prefetchPages;
 
         protected BuilderImpl() {
         }
@@ -78,6 +87,12 @@ public final class PaginatedResponsesIterator<ResponseT> implements Iterator<Res
             return this;
         }
 
+        @Override
+        public Builder prefetchPages(int prefetchPages) {
+            this.prefetchPages = prefetchPages;
+            return this;
+        }
+
         @Override
         public PaginatedResponsesIterator build() {
             return new PaginatedResponsesIterator(this);
@@ -0,0 +1,287 @@
+/*
+ * Copyright 2010-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.retry;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import software.amazon.awssdk.annotations.Immutable;
+import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
+import software.amazon.awssdk.utils.ToString;
+import software.amazon.awssdk.utils.Validate;
+import software.amazon.awssdk.utils.builder.CopyableBuilder;
+import software.amazon.awssdk.utils.builder.ToCopyableBuilder;
+
+/**
+ * Configures hedged requests, which reduce the tail latency of idempotent read operations. When an attempt has not received
+ * a response after the {@link #hedgeDelay()}, or after the {@link #latencyPercentile()} of recently observed latencies, a second
+ * copy of the attempt is sent. The first of the two to receive a successful response is used and the other one is cancelled.
+ *
+ * <p>Only requests that are safe to send twice are hedged: GET and HEAD requests by default, or the operations named by
+ * {@link Builder#hedgeableOperations(Collection)}. Requests with a streaming request body are never hedged. To protect the
+ * capacity of the service, no more than {@link #maxHedgeRatio()} of the eligible requests made by a client are hedged.
+ *
+ * <p>Hedging is disabled unless a policy is provided to {@link ClientOverrideConfiguration.Builder#hedgingPolicy}, and is only
+ * performed by asynchronous clients.
+ */
+@Immutable
+@SdkPublicApi
+public final class HedgingPolicy implements ToCopyableBuilder<HedgingPolicy.Builder, HedgingPolicy> {
+
+    private static final Duration DEFAULT_HEDGE_DELAY = Duration.ofMillis(100);
+    private static final double DEFAULT_MAX_HEDGE_RATIO = 0.05;
+
+    private final Duration hedgeDelay;
+    private final Double latencyPercentile;
+    private final Double maxHedgeRatio;
+    private final Set<String> hedgeableOperations;
+
+    private HedgingPolicy(BuilderImpl builder) {
+        this.hedgeDelay = Validate.isPositive(Validate.paramNotNull(builder.hedgeDelay, "hedgeDelay"), "hedgeDelay");
+        this.latencyPercentile = builder.latencyPercentile;
+        if (latencyPercentile != null) {
+            Validate.isTrue(latencyPercentile > 0 && latencyPercentile < 100,
+                            "latencyPercentile must be between 0 and 100, but was %s", latencyPercentile);
+        }
+        this.maxHedgeRatio = Validate.paramNotNull(builder.maxHedgeRatio, "maxHedgeRatio");
+        Validate.isTrue(maxHedgeRatio > 0 && maxHedgeRatio <= 1,
+                        "maxHedgeRatio must be greater than 0 and at most 1, but was %s", maxHedgeRatio);
+        this.hedgeableOperations = Collections.unmodifiableSet(new HashSet<>(builder.hedgeableOperations));
+    }
+
+    /**
+     * @return How long to wait for a response before sending a hedged attempt. When a {@link #latencyPercentile()} is
+     * configured, this is only used until enough latencies have been observed.
+     */
+    public Duration hedgeDelay() {
+        return hedgeDelay;
+    }
+
+    /**
+     * @return The percentile of recently observed response latencies of an operation after which a hedged attempt is sent,
+     * or null if the fixed {@link #hedgeDelay()} is always used.
+     */
+    public Double latencyPercentile() {
+        return latencyPercentile;
+    }
+
+    /**
+     * @return The maximum fraction of eligible requests that may be hedged.
+     */
+    public Double maxHedgeRatio() {
+        return maxHedgeRatio;
+    }
+
+    /**
+     * @return The names of the operations that may be hedged. When empty, GET and HEAD requests may be hedged.
+     */
+    public Set<String> hedgeableOperations() {
+        return hedgeableOperations;
+    }
+
+    @Override
+    public Builder toBuilder() {
+        return builder().hedgeDelay(hedgeDelay)
+                        .latencyPercentile(latencyPercentile)
+                        .maxHedgeRatio(maxHedgeRatio)
+                        .hedgeableOperations(hedgeableOperations);
+    }
+
+    @Override
+    public String toString() {
+        return ToString.builder("HedgingPolicy")
+                       .add("hedgeDelay", hedgeDelay)
+                       .add("latencyPercentile", latencyPercentile)
+                       .add("maxHedgeRatio", maxHedgeRatio)
+                       .add("hedgeableOperations", hedgeableOperations)
+                       .build();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        HedgingPolicy that = (HedgingPolicy) o;
+
+        if (!hedgeDelay.equals(that.hedgeDelay)) {
+            return false;
+        }
+        if (latencyPercentile != null ? !latencyPercentile.equals(that.latencyPercentile) : that.latencyPercentile != null) {
+            return false;
+        }
+        if (!maxHedgeRatio.equals(that.maxHedgeRatio)) {
+            return false;
+        }
+        return hedgeableOperations.equals(that.hedgeableOperations);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = hedgeDelay.hashCode();
+        result = 31 * result + (latencyPercentile != null ? latencyPercentile.hashCode() : 0);
+        result = 31 * result + maxHedgeRatio.hashCode();
+        result = 31 * result + hedgeableOperations.hashCode();
+        return result;
+    }
+
+    public static Builder builder() {
+        return new BuilderImpl();
+    }
+
+    public interface Builder extends CopyableBuilder<Builder, HedgingPolicy> {
+
+        /**
+         * Configure how long to wait for the response to an attempt before sending a hedged attempt. This should be close to
+         * the high percentile latency of the hedged operations, so that only the slowest attempts are hedged.
+         *
+         * <p>By default, this is 100 milliseconds.
+         */
+        Builder hedgeDelay(Duration hedgeDelay);
+
+        Duration hedgeDelay();
+
+        /**
+         * Configure the percentile, between 0 and 100, of the recently observed response latencies of an operation after which
+         * a hedged attempt is sent, instead of always waiting for the fixed {@link #hedgeDelay(Duration)}. The latencies are
+         * tracked separately for each operation, and the {@link #hedgeDelay(Duration)} is used until enough of them have been
+         * observed.
+         *
+         * <p>By default, the fixed {@link #hedgeDelay(Duration)} is always used.
+         */
+        Builder latencyPercentile(Double latencyPercentile);
+
+        Double latencyPercentile();
+
+        /**
+         * Configure the maximum fraction of the eligible requests made by a client that may be hedged. For example, a ratio of
+         * 0.05 allows one hedged attempt for every 20 eligible requests. Requests that would exceed this ratio wait for their
+         * original attempt without hedging.
+         *
+         * <p>By default, at most 5% of eligible requests are hedged.
+         */
+        Builder maxHedgeRatio(Double maxHedgeRatio);
+
+        Double maxHedgeRatio();
+
+        /**
+         * Configure the names of the operations that are idempotent and read-only, and therefore safe to hedge, such as
+         * {@code GetItem} and {@code Query}. This replaces the default of hedging all GET and HEAD requests.
+         */
+        Builder hedgeableOperations(Collection<String> hedgeableOperations);
+
+        /**
+         * Configure the names of the operations that are idempotent and read-only, and therefore safe to hedge.
+         *
+         * @see #hedgeableOperations(Collection)
+         */
+        default Builder hedgeableOperations(String... hedgeableOperations) {
+            return hedgeableOperations(Arrays.asList(hedgeableOperations));
+        }
+
+        Set<String> hedgeableOperations();
+
+        HedgingPolicy build();
+    }
+
+    /**
+     * Builder for a {@link HedgingPolicy}.
+     */
+    private static final class BuilderImpl implements Builder {
+
+        private Duration hedgeDelay = DEFAULT_HEDGE_DELAY;
+        private Double latencyPercentile;
+        private Double maxHedgeRatio = DEFAULT_MAX_HEDGE_RATIO;
+        private Set<String> hedgeableOperations = new HashSet<>();
+
+        private BuilderImpl() {
+        }
+
+        @Override
+        public Builder hedgeDelay(Duration hedgeDelay) {
+            this.hedgeDelay = hedgeDelay;
+            return this;
+        }
+
+        public void setHedgeDelay(Duration hedgeDelay) {
+            hedgeDelay(hedgeDelay);
+        }
+
+        @Override
+        public Duration hedgeDelay() {
+            return hedgeDelay;
+        }
+
+        @Override
+        public Builder latencyPercentile(Double latencyPercentile) {
+            this.latencyPercentile = latencyPercentile;
+            return this;
+        }
+
+        public void setLatencyPercentile(Double latencyPercentile) {
+            latencyPercentile(latencyPercentile);
+        }
+
+        @Override
+        public Double latencyPercentile() {
+            return latencyPercentile;
+        }
+
+        @Override
+        public Builder maxHedgeRatio(Double maxHedgeRatio) {
+            this.maxHedgeRatio = maxHedgeRatio;
+            return this;
+        }
+
+        public void setMaxHedgeRatio(Double maxHedgeRatio) {
+            maxHedgeRatio(maxHedgeRatio);
+        }
+
+        @Override
+        public Double maxHedgeRatio() {
+            return maxHedgeRatio;
+        }
+
+        @Override
+        public Builder hedgeableOperations(Collection<String> hedgeableOperations) {
+            Validate.paramNotNull(hedgeableOperations, "hedgeableOperations");
+            this.hedgeableOperations = new HashSet<>(hedgeableOperations);
+            return this;
+        }
+
+        public void setHedgeableOperations(Collection<String> hedgeableOperations) {
+            hedgeableOperations(hedgeableOperations);
+        }
+
+        @Override
+        public Set<String> hedgeableOperations() {
+            return Collections.unmodifiableSet(hedgeableOperations);
+        }
+
+        @Override
+        public HedgingPolicy build() {
+            return new HedgingPolicy(this);
+        }
+    }
+}
@@ -24,6 +24,7 @@ import software.amazon.awssdk.core.retry.conditions.AndRetryCondition;
 import software.amazon.awssdk.core.retry.conditions.MaxNumberOfRetriesCondition;
 import software.amazon.awssdk.core.retry.conditions.RetryCondition;
 import software.amazon.awssdk.utils.ToString;
+import software.amazon.awssdk.utils.Validate;
 import software.amazon.awssdk.utils.builder.CopyableBuilder;
 import software.amazon.awssdk.utils.builder.ToCopyableBuilder;
 
@@ -37,6 +38,15 @@ import software.amazon.awssdk.utils.builder.ToCopyableBuilder;
  * retries that will be used is {@link SdkDefaultRetrySetting#DEFAULT_MAX_RETRIES}. The default retry condition is
  * {@link RetryCondition#defaultRetryCondition()} and the default backoff strategy is {@link BackoffStrategy#defaultStrategy()}.
  *
+ * <p>Retries of non-throttling errors also draw from a retry quota that is shared by every request made with the same client.
+ * Each retry costs {@link #retryQuotaCost()} units; a successful retry refunds its cost and a successful first attempt adds
+ * one unit back. When the quota is exhausted, requests fail without being retried until enough calls succeed again, which
+ * keeps clients from amplifying load on a service that is already failing. The default quota allows
+ * {@link SdkDefaultRetrySetting#THROTTLED_RETRIES} consecutive failed retries.
+ *
+ * <p>Optionally, {@link Builder#adaptiveRateLimitingEnabled(Boolean)} makes the client limit the rate at which it sends
+ * requests once the service starts throttling it, before the requests are sent.
+ *
  * @see RetryCondition for a list of SDK provided retry condition strategies
  * @see BackoffStrategy for a list of SDK provided backoff strategies
  */
@@ -49,11 +59,19 @@ public final class RetryPolicy implements ToCopyableBuilder<RetryPolicy.Builder,
     private final BackoffStrategy backoffStrategy;
     private final BackoffStrategy throttlingBackoffStrategy;
     private final Integer numRetries;
+    private final Integer retryQuotaSize;
+    private final Integer retryQuotaCost;
+    private final Boolean adaptiveRateLimitingEnabled;
 
     private RetryPolicy(BuilderImpl builder) {
         this.backoffStrategy = builder.backoffStrategy;
         this.throttlingBackoffStrategy = builder.throttlingBackoffStrategy;
         this.numRetries = builder.numRetries;
+        this.retryQuotaSize = Validate.paramNotNull(builder.retryQuotaSize, "retryQuotaSize");
+        this.retryQuotaCost = Validate.isNotNegative(Validate.paramNotNull(builder.retryQuotaCost, "retryQuotaCost"),
+                                                     "retryQuotaCost");
+        this.adaptiveRateLimitingEnabled = Validate.paramNotNull(builder.adaptiveRateLimitingEnabled,
+                                                                 "adaptiveRateLimitingEnabled");
         this.retryConditionFromBuilder = builder.retryCondition;
         this.retryCondition = AndRetryCondition.create(MaxNumberOfRetriesCondition.create(numRetries),
                                                        retryConditionFromBuilder);
@@ -75,8 +93,32 @@ public final class RetryPolicy implements ToCopyableBuilder<RetryPolicy.Builder,
         return numRetries;
     }
 
+    /**
+     * @return Total capacity of the retry quota shared by all requests of a client. Negative if the quota is disabled.
+     */
+    public Integer retryQuotaSize() {
+        return retryQuotaSize;
+    }
+
+    /**
+     * @return Capacity consumed from the retry quota by each retry of a non-throttling error.
+     */
+    public Integer retryQuotaCost() {
+        return retryQuotaCost;
+    }
+
+    /**
+     * @return True if the client limits its sending rate based on the throttling responses it observes.
+     */
+    public Boolean adaptiveRateLimitingEnabled() {
+        return adaptiveRateLimitingEnabled;
+    }
+
     public Builder toBuilder() {
         return builder().numRetries(numRetries)
+                        .adaptiveRateLimitingEnabled(adaptiveRateLimitingEnabled)
+                        .retryQuotaSize(retryQuotaSize)
+                        .retryQuotaCost(retryQuotaCost)
                         .retryCondition(retryConditionFromBuilder)
                         .backoffStrategy(backoffStrategy)
                         .throttlingBackoffStrategy(throttlingBackoffStrategy);
@@ -89,6 +131,9 @@ public final class RetryPolicy implements ToCopyableBuilder<RetryPolicy.Builder,
                        .add("retryCondition", retryCondition)
                        .add("backoffStrategy", backoffStrategy)
                        .add("throttlingBackoffStrategy", throttlingBackoffStrategy)
+                       .add("retryQuotaSize", retryQuotaSize)
+                       .add("retryQuotaCost", retryQuotaCost)
+                       .add("adaptiveRateLimitingEnabled", adaptiveRateLimitingEnabled)
                        .build();
     }
 
@@ -112,6 +157,15 @@ public final class RetryPolicy implements ToCopyableBuilder<RetryPolicy.Builder,
         if (!throttlingBackoffStrategy.equals(that.throttlingBackoffStrategy)) {
             return false;
         }
+        if (!retryQuotaSize.equals(that.retryQuotaSize)) {
+            return false;
+        }
+        if (!retryQuotaCost.equals(that.retryQuotaCost)) {
+            return false;
+        }
+        if (!adaptiveRateLimitingEnabled.equals(that.adaptiveRateLimitingEnabled)) {
+            return false;
+        }
         return numRetries.equals(that.numRetries);
     }
 
@@ -121,6 +175,9 @@ public final class RetryPolicy implements ToCopyableBuilder<RetryPolicy.Builder,
         result = 31 * result + backoffStrategy.hashCode();
         result = 31 * result + throttlingBackoffStrategy.hashCode();
         result = 31 * result + numRetries.hashCode();
+        result = 31 * result + retryQuotaSize.hashCode();
+        result = 31 * result + retryQuotaCost.hashCode();
+        result = 31 * result + adaptiveRateLimitingEnabled.hashCode();
         return result;
     }
 
@@ -163,6 +220,40 @@ public final class RetryPolicy implements ToCopyableBuilder<RetryPolicy.Builder,
 
         RetryCondition retryCondition();
 
+        /**
+         * Configure the total capacity of the retry quota shared by all requests made with a client. Retries of
+         * non-throttling errors are only attempted while the quota has at least {@link #retryQuotaCost(Integer)} units
+         * available. A negative value disables the quota, so that retries are limited only by the retry condition.
+         *
+         * <p>By default, the quota allows {@link SdkDefaultRetrySetting#THROTTLED_RETRIES} consecutive failed retries.
+         */
+        Builder retryQuotaSize(Integer retryQuotaSize);
+
+        Integer retryQuotaSize();
+
+        /**
+         * Configure the capacity consumed from the retry quota by each retry of a non-throttling error. A successful retry
+         * returns this capacity to the quota.
+         *
+         * <p>By default, each retry costs {@link SdkDefaultRetrySetting#RETRY_THROTTLING_COST} units.
+         */
+        Builder retryQuotaCost(Integer retryQuotaCost);
+
+        Integer retryQuotaCost();
+
+        /**
+         * Configure whether the client should limit the rate at which it sends requests based on the throttling responses it
+         * receives. When enabled, the first throttling response turns on a client-wide rate limiter that lowers the sending
+         * rate on each throttling response and raises it again as requests succeed. Attempts wait for the rate limiter before
+         * they are sent.
+         *
+         * <p>This is useful for high volume clients of services that throttle on provisioned capacity, such as DynamoDB or
+         * Kinesis. It is disabled by default.
+         */
+        Builder adaptiveRateLimitingEnabled(Boolean adaptiveRateLimitingEnabled);
+
+        Boolean adaptiveRateLimitingEnabled();
+
         RetryPolicy build();
     }
 
@@ -175,6 +266,9 @@ public final class RetryPolicy implements ToCopyableBuilder<RetryPolicy.Builder,
         private BackoffStrategy backoffStrategy = BackoffStrategy.defaultStrategy();
         private BackoffStrategy throttlingBackoffStrategy = BackoffStrategy.defaultThrottlingStrategy();
         private RetryCondition retryCondition = RetryCondition.defaultRetryCondition();
+        private Integer retryQuotaSize = SdkDefaultRetrySetting.RETRY_THROTTLING_COST * SdkDefaultRetrySetting.THROTTLED_RETRIES;
+        private Integer retryQuotaCost = SdkDefaultRetrySetting.RETRY_THROTTLING_COST;
+        private Boolean adaptiveRateLimitingEnabled = false;
 
         private BuilderImpl(){
         }
@@ -239,6 +333,51 @@ public final class RetryPolicy implements ToCopyableBuilder<RetryPolicy.Builder,
             return retryCondition;
         }
 
+        @Override
+        public Builder retryQuotaSize(Integer retryQuotaSize) {
+            this.retryQuotaSize = retryQuotaSize;
+            return this;
+        }
+
+        public void setRetryQuotaSize(Integer retryQuotaSize) {
+            retryQuotaSize(retryQuotaSize);
+        }
+
+        @Override
+        public Integer retryQuotaSize() {
+            return retryQuotaSize;
+        }
+
+        @Override
+        public Builder retryQuotaCost(Integer retryQuotaCost) {
+            this.retryQuotaCost = retryQuotaCost;
+            return this;
+        }
+
+        public void setRetryQuotaCost(Integer retryQuotaCost) {
+            retryQuotaCost(retryQuotaCost);
+        }
+
+        @Override
+        public Integer retryQuotaCost() {
+            return retryQuotaCost;
+        }
+
+        @Override
+        public Builder adaptiveRateLimitingEnabled(Boolean adaptiveRateLimitingEnabled) {
+            this.adaptiveRateLimitingEnabled = adaptiveRateLimitingEnabled;
+            return this;
+        }
+
+        public void setAdaptiveRateLimitingEnabled(Boolean adaptiveRateLimitingEnabled) {
+            adaptiveRateLimitingEnabled(adaptiveRateLimitingEnabled);
+        }
+
+        @Override
+        public Boolean adaptiveRateLimitingEnabled() {
+            return adaptiveRateLimitingEnabled;
+        }
+
         @Override
         public RetryPolicy build() {
             return new RetryPolicy(this);
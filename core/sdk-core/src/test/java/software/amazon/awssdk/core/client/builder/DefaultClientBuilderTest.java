@@ -23,7 +23,13 @@ import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static software.amazon.awssdk.core.client.config.SdkAdvancedAsyncClientOption.DIRECT_FUTURE_COMPLETION;
+import static software.amazon.awssdk.core.client.config.SdkAdvancedAsyncClientOption.FUTURE_COMPLETION_EXECUTOR;
+import static software.amazon.awssdk.core.client.config.SdkAdvancedAsyncClientOption.USE_VIRTUAL_THREADS;
 import static software.amazon.awssdk.core.client.config.SdkAdvancedClientOption.SIGNER;
+import static software.amazon.awssdk.core.client.config.SdkAdvancedClientOption.USE_SHARED_EXECUTORS;
+import static software.amazon.awssdk.core.client.config.SdkClientOption.RESPONSE_COMPLETION_EXECUTOR;
+import static software.amazon.awssdk.core.client.config.SdkClientOption.SCHEDULED_EXECUTOR_SERVICE;
 
 import java.beans.BeanInfo;
 import java.beans.Introspector;
@@ -31,18 +37,26 @@ import java.beans.PropertyDescriptor;
 import java.lang.reflect.Method;
 import java.net.URI;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import org.assertj.core.api.Assertions;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
+import software.amazon.awssdk.core.client.config.ClientAsyncConfiguration;
 import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
 import software.amazon.awssdk.core.client.config.SdkAdvancedClientOption;
 import software.amazon.awssdk.core.client.config.SdkClientOption;
 import software.amazon.awssdk.core.client.config.SdkClientConfiguration;
+import software.amazon.awssdk.core.internal.util.DirectCompletionExecutor;
+import software.amazon.awssdk.core.internal.util.VirtualThreads;
 import software.amazon.awssdk.core.signer.NoOpSigner;
 import software.amazon.awssdk.http.SdkHttpClient;
 import software.amazon.awssdk.http.SdkHttpConfigurationOption;
@@ -183,6 +197,139 @@ public class DefaultClientBuilderTest {
 
     }
 
+    @Test
+    public void sharedExecutorsEnabled_threadCountDoesNotGrowWithClientCount() {
+        int maxSharedThreads = 50 + 5;
+        List<TestAsyncClient> clients = new ArrayList<>();
+        try {
+            for (int i = 0; i < 200; i++) {
+                TestAsyncClient client = sharedExecutorsAsyncClientBuilder().build();
+                clients.add(client);
+                runOnClientExecutors(client);
+
+                assertThat(sharedExecutorThreads()).isLessThanOrEqualTo(maxSharedThreads);
+            }
+        } finally {
+            clients.forEach(c -> c.clientConfiguration.close());
+        }
+    }
+
+    @Test(timeout = 10_000)
+    public void sharedExecutorsEnabled_executorsShutDownWhenLastClientIsClosed() throws InterruptedException {
+        TestAsyncClient first = sharedExecutorsAsyncClientBuilder().build();
+        TestAsyncClient second = sharedExecutorsAsyncClientBuilder().build();
+        runOnClientExecutors(first);
+        runOnClientExecutors(second);
+
+        first.clientConfiguration.close();
+        runOnClientExecutors(second);
+        assertThat(sharedExecutorThreads()).isPositive();
+
+        second.clientConfiguration.close();
+        while (sharedExecutorThreads() > 0) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+
+        TestAsyncClient third = sharedExecutorsAsyncClientBuilder().build();
+        try {
+            runOnClientExecutors(third);
+        } finally {
+            third.clientConfiguration.close();
+        }
+    }
+
+    @Test
+    public void virtualThreadsEnabled_futuresCompletedOnVirtualThreadsWhenSupported() throws Exception {
+        TestAsyncClient client =
+            new TestAsyncClientBuilder().asyncConfiguration(ClientAsyncConfiguration.builder()
+                                                                                    .advancedOption(USE_VIRTUAL_THREADS, true)
+                                                                                    .build())
+                                        .build();
+        try {
+            Thread completionThread =
+                CompletableFuture.supplyAsync(Thread::currentThread, client.clientConfiguration.option(FUTURE_COMPLETION_EXECUTOR))
+                                 .join();
+
+            // Before Java 21, the option falls back to the default executor.
+            assertThat(isVirtual(completionThread)).isEqualTo(VirtualThreads.isSupported());
+        } finally {
+            client.clientConfiguration.close();
+        }
+    }
+
+    @Test
+    public void directFutureCompletionEnabled_responsesCompletedOnCallingThread() {
+        TestAsyncClient client =
+            new TestAsyncClientBuilder().asyncConfiguration(ClientAsyncConfiguration.builder()
+                                                                                    .advancedOption(DIRECT_FUTURE_COMPLETION, true)
+                                                                                    .build())
+                                        .build();
+
+        try {
+            Executor responseCompletionExecutor = client.clientConfiguration.option(RESPONSE_COMPLETION_EXECUTOR);
+            assertThat(responseCompletionExecutor).isInstanceOf(DirectCompletionExecutor.class);
+            Thread completionThread = CompletableFuture.supplyAsync(Thread::currentThread, responseCompletionExecutor).join();
+            assertThat(completionThread).isSameAs(Thread.currentThread());
+
+            // Event streams are still delivered on a real executor
+            assertThat(client.clientConfiguration.option(FUTURE_COMPLETION_EXECUTOR))
+                .isNotInstanceOf(DirectCompletionExecutor.class);
+        } finally {
+            client.clientConfiguration.close();
+        }
+    }
+
+    @Test
+    public void directFutureCompletionEnabled_configuredExecutorTakesPrecedence() {
+        Executor executor = Runnable::run;
+        TestAsyncClient client =
+            new TestAsyncClientBuilder().asyncConfiguration(ClientAsyncConfiguration.builder()
+                                                                                    .advancedOption(DIRECT_FUTURE_COMPLETION, true)
+                                                                                    .advancedOption(FUTURE_COMPLETION_EXECUTOR,
+                                                                                                    executor)
+                                                                                    .build())
+                                        .build();
+
+        assertThat(client.clientConfiguration.option(RESPONSE_COMPLETION_EXECUTOR)).isNull();
+    }
+
+    @Test
+    public void directFutureCompletionDisabled_noResponseCompletionExecutor() {
+        TestAsyncClient client = new TestAsyncClientBuilder().build();
+
+        try {
+            assertThat(client.clientConfiguration.option(RESPONSE_COMPLETION_EXECUTOR)).isNull();
+        } finally {
+            client.clientConfiguration.close();
+        }
+    }
+
+    private static boolean isVirtual(Thread thread) throws Exception {
+        try {
+            return (boolean) Thread.class.getMethod("isVirtual").invoke(thread);
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    private SdkDefaultClientBuilder<TestAsyncClientBuilder, TestAsyncClient> sharedExecutorsAsyncClientBuilder() {
+        return new TestAsyncClientBuilder().overrideConfiguration(c -> c.putAdvancedOption(USE_SHARED_EXECUTORS, true));
+    }
+
+    private void runOnClientExecutors(TestAsyncClient client) {
+        CompletableFuture.runAsync(() -> { }, client.clientConfiguration.option(FUTURE_COMPLETION_EXECUTOR)).join();
+        CompletableFuture<Void> scheduled = new CompletableFuture<>();
+        client.clientConfiguration.option(SCHEDULED_EXECUTOR_SERVICE)
+                                  .schedule(() -> scheduled.complete(null), 1, TimeUnit.MILLISECONDS);
+        scheduled.join();
+    }
+
+    private static long sharedExecutorThreads() {
+        return Thread.getAllStackTraces().keySet().stream()
+                     .filter(t -> t.getName().startsWith("sdk-shared-"))
+                     .count();
+    }
+
     private SdkDefaultClientBuilder<TestClientBuilder, TestClient> testClientBuilder() {
         ClientOverrideConfiguration overrideConfig =
                 ClientOverrideConfiguration.builder()
@@ -22,12 +22,14 @@ import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -41,14 +43,18 @@ import software.amazon.awssdk.core.client.config.SdkClientConfiguration;
 import software.amazon.awssdk.core.client.config.SdkClientOption;
 import software.amazon.awssdk.core.exception.SdkServiceException;
 import software.amazon.awssdk.core.http.HttpResponseHandler;
+import software.amazon.awssdk.core.metrics.CoreMetric;
+import software.amazon.awssdk.core.metrics.MetricCollection;
 import software.amazon.awssdk.core.protocol.VoidSdkResponse;
 import software.amazon.awssdk.core.retry.RetryPolicy;
+import software.amazon.awssdk.core.retry.backoff.BackoffStrategy;
 import software.amazon.awssdk.core.runtime.transform.Marshaller;
 import software.amazon.awssdk.http.SdkHttpFullRequest;
 import software.amazon.awssdk.http.SdkHttpFullResponse;
 import software.amazon.awssdk.http.async.AsyncExecuteRequest;
 import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
 import software.amazon.awssdk.http.async.SdkAsyncHttpResponseHandler;
+import utils.CapturingMetricPublisher;
 import utils.HttpTestUtils;
 import utils.ValidSdkObjects;
 
@@ -129,6 +135,68 @@ public class AsyncClientHandlerTest {
         verifyNoMoreInteractions(responseHandler); // Response handler is not called
     }
 
+    @Test
+    public void successfulExecution_publishesApiCallAndAttemptMetrics() throws Exception {
+        CapturingMetricPublisher publisher = new CapturingMetricPublisher();
+        SdkAsyncClientHandler handler = new SdkAsyncClientHandler(
+            clientConfiguration().toBuilder()
+                                 .option(SdkClientOption.METRIC_PUBLISHERS, Collections.singletonList(publisher))
+                                 .build());
+        expectRetrievalFromMocks();
+        respondWithStatusCodes(200);
+        when(responseHandler.handle(any(), any())).thenReturn(VoidSdkResponse.builder().build());
+
+        handler.execute(clientExecutionParams().withOperationName("TestOperation")).get(1, TimeUnit.SECONDS);
+
+        List<MetricCollection> published = publisher.awaitPublished();
+        assertThat(published).hasSize(1);
+        MetricCollection apiCall = published.get(0);
+        assertThat(apiCall.metricValues(CoreMetric.OPERATION_NAME)).containsExactly("TestOperation");
+        assertThat(apiCall.metricValues(CoreMetric.API_CALL_SUCCESSFUL)).containsExactly(true);
+        assertThat(apiCall.metricValues(CoreMetric.RETRY_COUNT)).containsExactly(0);
+        assertThat(apiCall.children()).hasSize(1);
+        assertThat(apiCall.children().get(0).metricValues(CoreMetric.HTTP_STATUS_CODE)).containsExactly(200);
+    }
+
+    @Test
+    public void retriedExecution_publishesRetryCount() throws Exception {
+        CapturingMetricPublisher publisher = new CapturingMetricPublisher();
+        SdkAsyncClientHandler handler = new SdkAsyncClientHandler(
+            clientConfiguration().toBuilder()
+                                 .option(SdkClientOption.METRIC_PUBLISHERS, Collections.singletonList(publisher))
+                                 .option(SdkClientOption.RETRY_POLICY, RetryPolicy.builder()
+                                                                                  .numRetries(2)
+                                                                                  .backoffStrategy(BackoffStrategy.none())
+                                                                                  .build())
+                                 .build());
+        expectRetrievalFromMocks();
+        respondWithStatusCodes(500, 500, 200);
+        when(errorResponseHandler.handle(any(), any()))
+            .thenReturn(SdkServiceException.builder().message("Uh oh!").statusCode(500).build());
+        when(responseHandler.handle(any(), any())).thenReturn(VoidSdkResponse.builder().build());
+
+        handler.execute(clientExecutionParams()).get(1, TimeUnit.SECONDS);
+
+        List<MetricCollection> published = publisher.awaitPublished();
+        assertThat(published).hasSize(1);
+        assertThat(published.get(0).metricValues(CoreMetric.API_CALL_SUCCESSFUL)).containsExactly(true);
+        assertThat(published.get(0).metricValues(CoreMetric.RETRY_COUNT)).containsExactly(2);
+        assertThat(published.get(0).children()).hasSize(3);
+    }
+
+    /**
+     * Answers each request sent to the HTTP client with the next of the given status codes and an empty body.
+     */
+    private void respondWithStatusCodes(int... statusCodes) {
+        AtomicInteger attempt = new AtomicInteger();
+        when(httpClient.execute(any())).thenAnswer(i -> {
+            SdkAsyncHttpResponseHandler handler = ((AsyncExecuteRequest) i.getArguments()[0]).responseHandler();
+            handler.onHeaders(SdkHttpFullResponse.builder().statusCode(statusCodes[attempt.getAndIncrement()]).build());
+            handler.onStream(new EmptyPublisher<>());
+            return CompletableFuture.completedFuture(null);
+        });
+    }
+
     private void expectRetrievalFromMocks() {
         when(marshaller.marshall(request)).thenReturn(marshalledRequest);
     }
@@ -23,6 +23,7 @@ import static org.mockito.Mockito.when;
 
 import java.io.ByteArrayInputStream;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -41,6 +42,8 @@ import software.amazon.awssdk.core.exception.NonRetryableException;
 import software.amazon.awssdk.core.exception.RetryableException;
 import software.amazon.awssdk.core.exception.SdkServiceException;
 import software.amazon.awssdk.core.http.HttpResponseHandler;
+import software.amazon.awssdk.core.metrics.CoreMetric;
+import software.amazon.awssdk.core.metrics.MetricCollection;
 import software.amazon.awssdk.core.protocol.VoidSdkResponse;
 import software.amazon.awssdk.core.retry.RetryPolicy;
 import software.amazon.awssdk.core.runtime.transform.Marshaller;
@@ -51,6 +54,7 @@ import software.amazon.awssdk.http.ExecutableHttpRequest;
 import software.amazon.awssdk.http.SdkHttpClient;
 import software.amazon.awssdk.http.SdkHttpFullRequest;
 import software.amazon.awssdk.http.SdkHttpResponse;
+import utils.CapturingMetricPublisher;
 import utils.HttpTestUtils;
 import utils.ValidSdkObjects;
 
@@ -137,6 +141,55 @@ public class SyncClientHandlerTest {
         verifyNoMoreInteractions(responseHandler); // No response handler calls
     }
 
+    @Test
+    public void successfulExecution_publishesApiCallAndAttemptMetrics() throws Exception {
+        CapturingMetricPublisher publisher = new CapturingMetricPublisher();
+        SdkSyncClientHandler handler = new SdkSyncClientHandler(
+            clientConfiguration().toBuilder()
+                                 .option(SdkClientOption.METRIC_PUBLISHERS, Collections.singletonList(publisher))
+                                 .build());
+        mockSuccessfulApiCall();
+
+        handler.execute(clientExecutionParams().withOperationName("TestOperation"));
+
+        assertThat(publisher.published()).hasSize(1);
+        MetricCollection apiCall = publisher.published().get(0);
+        assertThat(apiCall.metricValues(CoreMetric.OPERATION_NAME)).containsExactly("TestOperation");
+        assertThat(apiCall.metricValues(CoreMetric.API_CALL_SUCCESSFUL)).containsExactly(true);
+        assertThat(apiCall.metricValues(CoreMetric.RETRY_COUNT)).containsExactly(0);
+        assertThat(apiCall.metricValues(CoreMetric.MARSHALLING_DURATION)).hasSize(1);
+        assertThat(apiCall.metricValues(CoreMetric.API_CALL_DURATION)).hasSize(1);
+
+        assertThat(apiCall.children()).hasSize(1);
+        MetricCollection attempt = apiCall.children().get(0);
+        assertThat(attempt.metricValues(CoreMetric.HTTP_STATUS_CODE)).containsExactly(200);
+        assertThat(attempt.metricValues(CoreMetric.SIGNING_DURATION)).hasSize(1);
+        assertThat(attempt.metricValues(CoreMetric.TIME_TO_FIRST_BYTE)).hasSize(1);
+        assertThat(attempt.metricValues(CoreMetric.UNMARSHALLING_DURATION)).hasSize(1);
+    }
+
+    @Test
+    public void failedExecution_publishesUnsuccessfulApiCall() throws Exception {
+        CapturingMetricPublisher publisher = new CapturingMetricPublisher();
+        SdkSyncClientHandler handler = new SdkSyncClientHandler(
+            clientConfiguration().toBuilder()
+                                 .option(SdkClientOption.METRIC_PUBLISHERS, Collections.singletonList(publisher))
+                                 .build());
+        expectRetrievalFromMocks();
+        when(httpClientCall.call()).thenReturn(HttpExecuteResponse.builder()
+                                                                  .response(SdkHttpResponse.builder().statusCode(500).build())
+                                                                  .build());
+        when(errorResponseHandler.handle(any(), any()))
+            .thenReturn(SdkServiceException.builder().message("Uh oh!").statusCode(500).build());
+
+        assertThatThrownBy(() -> handler.execute(clientExecutionParams())).isInstanceOf(SdkServiceException.class);
+
+        assertThat(publisher.published()).hasSize(1);
+        assertThat(publisher.published().get(0).metricValues(CoreMetric.API_CALL_SUCCESSFUL)).containsExactly(false);
+        assertThat(publisher.published().get(0).children().get(0).metricValues(CoreMetric.EXCEPTION))
+            .containsExactly(SdkServiceException.class.getName());
+    }
+
     @Test
     public void responseTransformerThrowsRetryableException_shouldPropogate() throws Exception {
         mockSuccessfulApiCall();
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2010-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.interceptor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import org.junit.Test;
+import software.amazon.awssdk.core.SdkRequest;
+import software.amazon.awssdk.http.SdkHttpFullRequest;
+import software.amazon.awssdk.http.SdkHttpRequest;
+import software.amazon.awssdk.http.SdkHttpResponse;
+import utils.ValidSdkObjects;
+
+public class ExecutionInterceptorChainTest {
+
+    private final ExecutionAttributes attributes = new ExecutionAttributes();
+
+    @Test
+    public void interceptorsAreOnlyInvokedForTheHooksTheyOverride() {
+        List<String> invocations = new ArrayList<>();
+        ExecutionInterceptorChain chain = new ExecutionInterceptorChain(Arrays.asList(new BeforeExecutionInterceptor(invocations),
+                                                                                      new AfterExecutionInterceptor(invocations)));
+        InterceptorContext context = context();
+
+        chain.beforeExecution(context, attributes);
+        chain.modifyRequest(context, attributes);
+        chain.beforeTransmission(context, attributes);
+        chain.afterExecution(context, attributes);
+
+        assertThat(invocations).containsExactly("beforeExecution", "afterExecution");
+    }
+
+    @Test
+    public void interceptorsAreInvokedInForwardOrderBeforeTransmissionAndReverseOrderAfter() {
+        List<String> invocations = new ArrayList<>();
+        ExecutionInterceptorChain chain =
+            new ExecutionInterceptorChain(Arrays.asList(new OrderRecordingInterceptor("first", invocations),
+                                                        new BeforeExecutionInterceptor(invocations),
+                                                        new OrderRecordingInterceptor("second", invocations)));
+        InterceptorContext context = context();
+
+        chain.beforeTransmission(context, attributes);
+        chain.afterTransmission(context, attributes);
+
+        assertThat(invocations).containsExactly("first:beforeTransmission", "second:beforeTransmission",
+                                                "second:afterTransmission", "first:afterTransmission");
+    }
+
+    @Test
+    public void requestBodyIsPopulatedWhenNoInterceptorModifiesTheHttpRequest() {
+        List<String> invocations = new ArrayList<>();
+        ExecutionInterceptorChain chain =
+            new ExecutionInterceptorChain(Collections.singletonList(new BeforeExecutionInterceptor(invocations)));
+        SdkHttpFullRequest httpRequest = ValidSdkObjects.sdkHttpFullRequest()
+                                                        .putHeader("Content-Length", "3")
+                                                        .contentStreamProvider(() -> new ByteArrayInputStream(new byte[3]))
+                                                        .build();
+        InterceptorContext context = context().copy(b -> b.httpRequest(httpRequest));
+
+        InterceptorContext result = chain.modifyHttpRequestAndHttpContent(context, attributes);
+
+        assertThat(result.httpRequest()).isSameAs(httpRequest);
+        assertThat(result.requestBody()).hasValueSatisfying(b -> assertThat(b.contentLength()).isEqualTo(3));
+    }
+
+    @Test
+    public void interceptorOverridingModifyHttpRequest_isInvoked() {
+        ExecutionInterceptor interceptor = new ExecutionInterceptor() {
+            @Override
+            public SdkHttpRequest modifyHttpRequest(Context.ModifyHttpRequest context, ExecutionAttributes executionAttributes) {
+                return context.httpRequest().toBuilder().putHeader("Modified", "true").build();
+            }
+        };
+        ExecutionInterceptorChain chain = new ExecutionInterceptorChain(Collections.singletonList(interceptor));
+
+        InterceptorContext result = chain.modifyHttpRequestAndHttpContent(context(), attributes);
+
+        assertThat(result.httpRequest().firstMatchingHeader("Modified")).hasValue("true");
+    }
+
+    @Test
+    public void mockInterceptor_isInvokedForEveryHook() {
+        ExecutionInterceptor interceptor = mock(ExecutionInterceptor.class);
+        SdkHttpResponse httpResponse = SdkHttpResponse.builder().statusCode(200).build();
+        InterceptorContext context = context().copy(b -> b.httpResponse(httpResponse));
+        when(interceptor.modifyHttpResponse(any(), any())).thenReturn(httpResponse);
+        when(interceptor.modifyHttpResponseContent(any(), any())).thenReturn(Optional.empty());
+        ExecutionInterceptorChain chain = new ExecutionInterceptorChain(Collections.singletonList(interceptor));
+
+        chain.beforeUnmarshalling(context, attributes);
+        chain.modifyHttpResponse(context, attributes);
+
+        verify(interceptor).beforeUnmarshalling(context, attributes);
+        verify(interceptor).modifyHttpResponse(any(), any());
+        verify(interceptor).modifyHttpResponseContent(any(), any());
+        verify(interceptor, never()).afterExecution(any(), any());
+    }
+
+    private static InterceptorContext context() {
+        SdkRequest request = ValidSdkObjects.sdkRequest();
+        return InterceptorContext.builder()
+                                 .request(request)
+                                 .httpRequest(ValidSdkObjects.sdkHttpFullRequest().build())
+                                 .build();
+    }
+
+    private static final class BeforeExecutionInterceptor implements ExecutionInterceptor {
+        private final List<String> invocations;
+
+        private BeforeExecutionInterceptor(List<String> invocations) {
+            this.invocations = invocations;
+        }
+
+        @Override
+        public void beforeExecution(Context.BeforeExecution context, ExecutionAttributes executionAttributes) {
+            invocations.add("beforeExecution");
+        }
+    }
+
+    private static final class AfterExecutionInterceptor implements ExecutionInterceptor {
+        private final List<String> invocations;
+
+        private AfterExecutionInterceptor(List<String> invocations) {
+            this.invocations = invocations;
+        }
+
+        @Override
+        public void afterExecution(Context.AfterExecution context, ExecutionAttributes executionAttributes) {
+            invocations.add("afterExecution");
+        }
+    }
+
+    private static final class OrderRecordingInterceptor implements ExecutionInterceptor {
+        private final String name;
+        private final List<String> invocations;
+
+        private OrderRecordingInterceptor(String name, List<String> invocations) {
+            this.name = name;
+            this.invocations = invocations;
+        }
+
+        @Override
+        public void beforeTransmission(Context.BeforeTransmission context, ExecutionAttributes executionAttributes) {
+            invocations.add(name + ":beforeTransmission");
+        }
+
+        @Override
+        public void afterTransmission(Context.AfterTransmission context, ExecutionAttributes executionAttributes) {
+            invocations.add(name + ":afterTransmission");
+        }
+    }
+}
@@ -18,9 +18,13 @@ package software.amazon.awssdk.core.internal.async;
 import static org.assertj.core.api.Assertions.assertThat;
 import com.google.common.jimfs.Jimfs;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.FileSystem;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
 import org.junit.Test;
@@ -66,4 +70,37 @@ public class FileAsyncResponseTransfomerTest {
 
         assertThat(prepareFuture.isCompletedExceptionally()).isTrue();
     }
+
+    @Test
+    public void completionSignalledFromWithinRequest_completesFuture() throws Exception {
+        Path testPath = testFs.getPath("test_file_sync_complete.txt");
+        FileAsyncResponseTransformer xformer = new FileAsyncResponseTransformer(testPath);
+
+        CompletableFuture prepareFuture = xformer.prepare();
+
+        xformer.onResponse(new Object());
+        xformer.onStream(subscriber -> {
+            subscriber.onSubscribe(new Subscription() {
+                private boolean sent = false;
+
+                @Override
+                public void request(long l) {
+                    if (!sent) {
+                        sent = true;
+                        subscriber.onNext(ByteBuffer.wrap("content".getBytes(StandardCharsets.UTF_8)));
+                    } else {
+                        // Completion is signalled once the subscriber is done with the last buffer, from within request().
+                        subscriber.onComplete();
+                    }
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+        });
+
+        prepareFuture.get(5, TimeUnit.SECONDS);
+        assertThat(Files.readAllBytes(testPath)).isEqualTo("content".getBytes(StandardCharsets.UTF_8));
+    }
 }
@@ -0,0 +1,273 @@
+/*
+ * Copyright 2010-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.internal.http.async;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Test;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.core.internal.retry.RequestHedger;
+import software.amazon.awssdk.core.metrics.CoreMetric;
+import software.amazon.awssdk.core.metrics.MetricCollector;
+import software.amazon.awssdk.core.retry.HedgingPolicy;
+import software.amazon.awssdk.http.SdkHttpFullRequest;
+import software.amazon.awssdk.http.SdkHttpMethod;
+import software.amazon.awssdk.http.SdkHttpResponse;
+import software.amazon.awssdk.http.async.AsyncExecuteRequest;
+import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
+import software.amazon.awssdk.http.async.SdkAsyncHttpResponseHandler;
+
+public class HedgedAsyncExecutionTest {
+
+    private static final SdkHttpResponse RESPONSE = SdkHttpResponse.builder().statusCode(200).build();
+    private static final SdkHttpResponse SERVER_ERROR = SdkHttpResponse.builder().statusCode(500).build();
+
+    private final List<AsyncExecuteRequest> sentRequests = new ArrayList<>();
+    private final List<CompletableFuture<Void>> sentFutures = new ArrayList<>();
+    private final List<Runnable> scheduledHedges = new ArrayList<>();
+
+    private SdkAsyncHttpClient httpClient;
+    private ScheduledExecutorService scheduledExecutor;
+    private SdkAsyncHttpResponseHandler responseHandler;
+    private MetricCollector attemptMetrics;
+
+    @Before
+    public void setup() {
+        httpClient = mock(SdkAsyncHttpClient.class);
+        when(httpClient.execute(any())).thenAnswer(i -> {
+            CompletableFuture<Void> future = new CompletableFuture<>();
+            sentRequests.add((AsyncExecuteRequest) i.getArguments()[0]);
+            sentFutures.add(future);
+            return future;
+        });
+
+        scheduledExecutor = mock(ScheduledExecutorService.class);
+        when(scheduledExecutor.schedule(any(Runnable.class), anyLong(), any(TimeUnit.class))).thenAnswer(i -> {
+            scheduledHedges.add((Runnable) i.getArguments()[0]);
+            return null;
+        });
+
+        responseHandler = mock(SdkAsyncHttpResponseHandler.class);
+        attemptMetrics = mock(MetricCollector.class);
+    }
+
+    @Test
+    public void responseBeforeHedgeDelay_doesNotHedge() {
+        CompletableFuture<Void> executeFuture = execute(1.0);
+
+        copy(0).onHeaders(RESPONSE);
+        runHedge();
+        sentFutures.get(0).complete(null);
+
+        assertThat(sentRequests).hasSize(1);
+        assertThat(executeFuture).isCompleted();
+        verify(responseHandler).onHeaders(RESPONSE);
+    }
+
+    @Test
+    public void noResponseBeforeHedgeDelay_usesFirstResponseAndCancelsTheOther() {
+        CompletableFuture<Void> executeFuture = execute(1.0);
+
+        runHedge();
+        assertThat(sentRequests).hasSize(2);
+        verify(attemptMetrics).reportMetric(CoreMetric.HEDGED, true);
+
+        copy(1).onHeaders(RESPONSE);
+        assertThat(sentFutures.get(0)).isCompletedExceptionally();
+
+        copy(0).onHeaders(SdkHttpResponse.builder().statusCode(500).build());
+        sentFutures.get(1).complete(null);
+
+        assertThat(executeFuture).isCompleted();
+        verify(responseHandler).onHeaders(RESPONSE);
+        verify(responseHandler, never()).onError(any());
+    }
+
+    @Test
+    public void hedgeRatioExhausted_doesNotScheduleHedge() {
+        execute(0.1);
+
+        assertThat(scheduledHedges).isEmpty();
+        assertThat(sentRequests).hasSize(1);
+        verify(attemptMetrics, never()).reportMetric(any(), any());
+    }
+
+    @Test
+    public void retryableResponseAfterHedge_usesSuccessfulResponseOfOtherCopy() {
+        CompletableFuture<Void> executeFuture = execute(1.0);
+        runHedge();
+
+        Subscription serverErrorSubscription = mock(Subscription.class);
+        copy(0).onHeaders(SERVER_ERROR);
+        copy(0).onStream(s -> s.onSubscribe(serverErrorSubscription));
+        assertThat(sentFutures.get(1)).isNotDone();
+        verify(responseHandler, never()).onHeaders(any());
+
+        copy(1).onHeaders(RESPONSE);
+        sentFutures.get(1).complete(null);
+
+        assertThat(executeFuture).isCompleted();
+        assertThat(sentFutures.get(0)).isCompletedExceptionally();
+        verify(serverErrorSubscription).cancel();
+        verify(responseHandler).onHeaders(RESPONSE);
+        verify(responseHandler, never()).onHeaders(SERVER_ERROR);
+    }
+
+    @Test
+    public void retryableResponseAfterHedge_otherCopyFails_usesRetryableResponse() {
+        CompletableFuture<Void> executeFuture = execute(1.0);
+        runHedge();
+
+        Publisher<ByteBuffer> serverErrorStream = s -> { };
+        copy(0).onHeaders(SERVER_ERROR);
+        copy(0).onStream(serverErrorStream);
+        IOException failure = new IOException("Connection reset");
+        copy(1).onError(failure);
+        sentFutures.get(1).completeExceptionally(failure);
+
+        verify(responseHandler).onHeaders(SERVER_ERROR);
+        verify(responseHandler).onStream(serverErrorStream);
+        verify(responseHandler, never()).onError(any());
+        assertThat(executeFuture).isNotDone();
+
+        sentFutures.get(0).complete(null);
+        assertThat(executeFuture).isCompleted();
+    }
+
+    @Test
+    public void retryableResponseBeforeHedgeDelay_isUsedWithoutHedging() {
+        execute(1.0);
+
+        copy(0).onHeaders(SERVER_ERROR);
+        runHedge();
+
+        assertThat(sentRequests).hasSize(1);
+        verify(responseHandler).onHeaders(SERVER_ERROR);
+    }
+
+    @Test
+    public void nonRetryableResponseAfterHedge_winsImmediately() {
+        execute(1.0);
+        runHedge();
+
+        SdkHttpResponse notFound = SdkHttpResponse.builder().statusCode(404).build();
+        copy(0).onHeaders(notFound);
+
+        assertThat(sentFutures.get(1)).isCompletedExceptionally();
+        verify(responseHandler).onHeaders(notFound);
+    }
+
+    @Test
+    public void oneCopyFails_usesTheOtherCopy() {
+        CompletableFuture<Void> executeFuture = execute(1.0);
+        runHedge();
+
+        IOException failure = new IOException("Connection reset");
+        copy(0).onError(failure);
+        sentFutures.get(0).completeExceptionally(failure);
+        copy(1).onHeaders(RESPONSE);
+        sentFutures.get(1).complete(null);
+
+        assertThat(executeFuture).isCompleted();
+        verify(responseHandler, never()).onError(any());
+        verify(responseHandler).onHeaders(RESPONSE);
+    }
+
+    @Test
+    public void allCopiesFail_failsTheAttempt() {
+        CompletableFuture<Void> executeFuture = execute(1.0);
+        runHedge();
+
+        IOException failure = new IOException("Connection reset");
+        sentFutures.get(0).completeExceptionally(new IOException("Connection refused"));
+        copy(1).onError(failure);
+        sentFutures.get(1).completeExceptionally(failure);
+
+        assertThat(executeFuture).isCompletedExceptionally();
+        verify(responseHandler).onError(failure);
+    }
+
+    @Test
+    public void failureBeforeHedgeDelay_failsWithoutHedging() {
+        CompletableFuture<Void> executeFuture = execute(1.0);
+
+        IOException failure = new IOException("Connection refused");
+        copy(0).onError(failure);
+        runHedge();
+
+        assertThat(sentRequests).hasSize(1);
+        assertThat(executeFuture).isCompletedExceptionally();
+        verify(responseHandler).onError(failure);
+    }
+
+    @Test
+    public void cancellingExecution_cancelsAllCopies() {
+        CompletableFuture<Void> executeFuture = execute(1.0);
+        runHedge();
+
+        executeFuture.completeExceptionally(new IOException("Attempt timed out"));
+
+        assertThat(sentFutures).allMatch(CompletableFuture::isCompletedExceptionally);
+    }
+
+    private CompletableFuture<Void> execute(double maxHedgeRatio) {
+        HedgingPolicy policy = HedgingPolicy.builder()
+                                            .hedgeDelay(Duration.ofMillis(10))
+                                            .maxHedgeRatio(maxHedgeRatio)
+                                            .build();
+        AsyncExecuteRequest request = AsyncExecuteRequest.builder()
+                                                         .request(SdkHttpFullRequest.builder()
+                                                                                    .method(SdkHttpMethod.GET)
+                                                                                    .protocol("https")
+                                                                                    .host("localhost")
+                                                                                    .build())
+                                                         .requestContentPublisher(new SimpleHttpContentPublisher(
+                                                             SdkHttpFullRequest.builder()
+                                                                               .method(SdkHttpMethod.GET)
+                                                                               .protocol("https")
+                                                                               .host("localhost")
+                                                                               .build()))
+                                                         .responseHandler(responseHandler)
+                                                         .build();
+        return new HedgedAsyncExecution(httpClient, request, scheduledExecutor, new RequestHedger(policy), "GetObject",
+                                        attemptMetrics).execute();
+    }
+
+    private SdkAsyncHttpResponseHandler copy(int index) {
+        return sentRequests.get(index).responseHandler();
+    }
+
+    private void runHedge() {
+        assertThat(scheduledHedges).hasSize(1);
+        scheduledHedges.get(0).run();
+    }
+}
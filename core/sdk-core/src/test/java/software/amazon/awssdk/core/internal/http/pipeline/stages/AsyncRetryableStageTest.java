@@ -0,0 +1,142 @@
+/*
+ * Copyright 2010-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.internal.http.pipeline.stages;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Test;
+import software.amazon.awssdk.core.client.config.SdkClientConfiguration;
+import software.amazon.awssdk.core.client.config.SdkClientOption;
+import software.amazon.awssdk.core.http.NoopTestRequest;
+import software.amazon.awssdk.core.internal.Response;
+import software.amazon.awssdk.core.internal.http.HttpClientDependencies;
+import software.amazon.awssdk.core.internal.http.RequestExecutionContext;
+import software.amazon.awssdk.core.internal.http.TransformingAsyncResponseHandler;
+import software.amazon.awssdk.core.internal.http.pipeline.RequestPipeline;
+import software.amazon.awssdk.core.internal.http.timers.ClientExecutionAndRequestTimerTestUtils;
+import software.amazon.awssdk.core.internal.retry.RateLimitingTokenBucket;
+import software.amazon.awssdk.core.internal.util.CapacityManager;
+import software.amazon.awssdk.core.retry.RetryPolicy;
+import software.amazon.awssdk.http.SdkHttpFullRequest;
+import software.amazon.awssdk.http.SdkHttpFullResponse;
+import utils.ValidSdkObjects;
+
+/**
+ * Unit tests for {@link AsyncRetryableStage}.
+ */
+public class AsyncRetryableStageTest {
+
+    private static final Response<Object> SUCCESS = Response.fromSuccess(new Object(),
+                                                                         SdkHttpFullResponse.builder().statusCode(200).build());
+
+    private final List<Runnable> scheduledTasks = new ArrayList<>();
+    private final List<Long> scheduledDelays = new ArrayList<>();
+
+    private RequestPipeline<SdkHttpFullRequest, CompletableFuture<Response<Object>>> requestPipeline;
+    private ScheduledExecutorService scheduledExecutor;
+    private ScheduledFuture<?> scheduledFuture;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setup() throws Exception {
+        requestPipeline = mock(RequestPipeline.class);
+        when(requestPipeline.execute(any(), any())).thenAnswer(i -> CompletableFuture.completedFuture(SUCCESS));
+
+        scheduledFuture = mock(ScheduledFuture.class);
+        scheduledExecutor = mock(ScheduledExecutorService.class);
+        when(scheduledExecutor.schedule(any(Runnable.class), anyLong(), any(TimeUnit.class))).thenAnswer(i -> {
+            scheduledTasks.add((Runnable) i.getArguments()[0]);
+            scheduledDelays.add(((TimeUnit) i.getArguments()[2]).toNanos((Long) i.getArguments()[1]));
+            return scheduledFuture;
+        });
+    }
+
+    @Test
+    public void adaptiveRateLimitReached_delaysAndThenSendsAttempt() throws Exception {
+        CompletableFuture<Response<Object>> future = execute(RateLimiterTestUtils.throttledRateLimiter());
+
+        assertThat(future).isNotDone();
+        verify(requestPipeline, never()).execute(any(), any());
+        assertThat(scheduledTasks).hasSize(1);
+        assertThat(Duration.ofNanos(scheduledDelays.get(0))).isBetween(RateLimiterTestUtils.MIN_DELAY,
+                                                                        RateLimiterTestUtils.MAX_DELAY);
+
+        scheduledTasks.get(0).run();
+
+        verify(requestPipeline, times(1)).execute(any(), any());
+        assertThat(future).isCompletedWithValue(SUCCESS);
+    }
+
+    @Test
+    public void adaptiveRateLimitNotReached_sendsAttemptImmediately() throws Exception {
+        CompletableFuture<Response<Object>> future = execute(new RateLimitingTokenBucket());
+
+        assertThat(scheduledTasks).isEmpty();
+        verify(requestPipeline, times(1)).execute(any(), any());
+        assertThat(future).isCompletedWithValue(SUCCESS);
+    }
+
+    @Test
+    public void cancelledWhileWaitingForRateLimit_doesNotSendAttempt() throws Exception {
+        CompletableFuture<Response<Object>> future = execute(RateLimiterTestUtils.throttledRateLimiter());
+
+        future.cancel(false);
+
+        verify(scheduledFuture).cancel(false);
+        // Even if the delayed attempt was already running when it was cancelled
+        scheduledTasks.get(0).run();
+        verify(requestPipeline, never()).execute(any(), any());
+    }
+
+    @SuppressWarnings("unchecked")
+    private CompletableFuture<Response<Object>> execute(RateLimitingTokenBucket rateLimiter) throws Exception {
+        SdkClientConfiguration configuration = SdkClientConfiguration.builder()
+                                                                     .option(SdkClientOption.RETRY_POLICY, RetryPolicy.none())
+                                                                     .option(SdkClientOption.SCHEDULED_EXECUTOR_SERVICE,
+                                                                             scheduledExecutor)
+                                                                     .build();
+        HttpClientDependencies dependencies = HttpClientDependencies.builder()
+                                                                    .clientConfiguration(configuration)
+                                                                    .capacityManager(new CapacityManager(10))
+                                                                    .rateLimiter(rateLimiter)
+                                                                    .build();
+        AsyncRetryableStage<Object> stage = new AsyncRetryableStage<>(mock(TransformingAsyncResponseHandler.class),
+                                                                      dependencies,
+                                                                      requestPipeline);
+        RequestExecutionContext context = RequestExecutionContext.builder()
+                                                                 .originalRequest(NoopTestRequest.builder().build())
+                                                                 .executionContext(
+                                                                     ClientExecutionAndRequestTimerTestUtils.executionContext(
+                                                                         ValidSdkObjects.sdkHttpFullRequest().build()))
+                                                                 .build();
+        return stage.execute(ValidSdkObjects.sdkHttpFullRequest().build(), context);
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2010-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.internal.http.pipeline.stages;
+
+import java.time.Duration;
+import software.amazon.awssdk.core.internal.retry.RateLimitingTokenBucket;
+
+/**
+ * Creates client side rate limiters that are already limiting, for the tests of the retry stages.
+ */
+final class RateLimiterTestUtils {
+
+    /**
+     * The rate limiters returned by {@link #throttledRateLimiter()} make the next attempt wait about 37 milliseconds.
+     */
+    static final Duration MIN_DELAY = Duration.ofMillis(30);
+    static final Duration MAX_DELAY = Duration.ofMillis(50);
+
+    private RateLimiterTestUtils() {
+    }
+
+    /**
+     * @return A rate limiter that has seen 18 responses in its first half second, the last of which was throttled. This
+     * limits the sending rate to about 20 requests per second, with less than one token left. Its clock is frozen, so the
+     * bucket is not refilled while the test runs.
+     */
+    static RateLimitingTokenBucket throttledRateLimiter() {
+        double[] now = {0};
+        RateLimitingTokenBucket rateLimiter = new RateLimitingTokenBucket(() -> now[0]);
+        for (int i = 0; i < 17; i++) {
+            rateLimiter.updateClientSendingRate(false);
+        }
+        now[0] = 0.5;
+        rateLimiter.updateClientSendingRate(true);
+        return rateLimiter;
+    }
+}
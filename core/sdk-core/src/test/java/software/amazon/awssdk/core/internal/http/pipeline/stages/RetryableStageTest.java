@@ -0,0 +1,99 @@
+/*
+ * Copyright 2010-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.internal.http.pipeline.stages;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import org.junit.Before;
+import org.junit.Test;
+import software.amazon.awssdk.core.client.config.SdkClientConfiguration;
+import software.amazon.awssdk.core.client.config.SdkClientOption;
+import software.amazon.awssdk.core.http.NoopTestRequest;
+import software.amazon.awssdk.core.internal.Response;
+import software.amazon.awssdk.core.internal.http.HttpClientDependencies;
+import software.amazon.awssdk.core.internal.http.RequestExecutionContext;
+import software.amazon.awssdk.core.internal.http.pipeline.RequestPipeline;
+import software.amazon.awssdk.core.internal.http.timers.ClientExecutionAndRequestTimerTestUtils;
+import software.amazon.awssdk.core.internal.retry.RateLimitingTokenBucket;
+import software.amazon.awssdk.core.internal.util.CapacityManager;
+import software.amazon.awssdk.core.retry.RetryPolicy;
+import software.amazon.awssdk.http.SdkHttpFullRequest;
+import software.amazon.awssdk.http.SdkHttpFullResponse;
+import utils.ValidSdkObjects;
+
+/**
+ * Unit tests for {@link RetryableStage}.
+ */
+public class RetryableStageTest {
+
+    private static final Response<Object> SUCCESS = Response.fromSuccess(new Object(),
+                                                                         SdkHttpFullResponse.builder().statusCode(200).build());
+
+    private RequestPipeline<SdkHttpFullRequest, Response<Object>> requestPipeline;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setup() throws Exception {
+        requestPipeline = mock(RequestPipeline.class);
+        when(requestPipeline.execute(any(), any())).thenReturn(SUCCESS);
+    }
+
+    @Test
+    public void adaptiveRateLimitReached_delaysAndThenSendsAttempt() throws Exception {
+        RetryableStage<Object> stage = new RetryableStage<>(dependencies(RateLimiterTestUtils.throttledRateLimiter()),
+                                                            requestPipeline);
+
+        long start = System.nanoTime();
+        Response<Object> response = stage.execute(ValidSdkObjects.sdkHttpFullRequest().build(), context());
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(RateLimiterTestUtils.MIN_DELAY);
+        assertThat(response).isSameAs(SUCCESS);
+        verify(requestPipeline, times(1)).execute(any(), any());
+    }
+
+    @Test
+    public void adaptiveRateLimitNotReached_sendsAttemptImmediately() throws Exception {
+        RetryableStage<Object> stage = new RetryableStage<>(dependencies(new RateLimitingTokenBucket()), requestPipeline);
+
+        assertThat(stage.execute(ValidSdkObjects.sdkHttpFullRequest().build(), context())).isSameAs(SUCCESS);
+        verify(requestPipeline, times(1)).execute(any(), any());
+    }
+
+    private static HttpClientDependencies dependencies(RateLimitingTokenBucket rateLimiter) {
+        return HttpClientDependencies.builder()
+                                     .clientConfiguration(SdkClientConfiguration.builder()
+                                                                                .option(SdkClientOption.RETRY_POLICY,
+                                                                                        RetryPolicy.none())
+                                                                                .build())
+                                     .capacityManager(new CapacityManager(10))
+                                     .rateLimiter(rateLimiter)
+                                     .build();
+    }
+
+    private static RequestExecutionContext context() {
+        return RequestExecutionContext.builder()
+                                      .originalRequest(NoopTestRequest.builder().build())
+                                      .executionContext(ClientExecutionAndRequestTimerTestUtils.executionContext(
+                                          ValidSdkObjects.sdkHttpFullRequest().build()))
+                                      .build();
+    }
+}
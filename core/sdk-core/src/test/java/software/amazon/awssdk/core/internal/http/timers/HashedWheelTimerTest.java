@@ -0,0 +1,136 @@
+/*
+ * Copyright 2010-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.internal.http.timers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import software.amazon.awssdk.utils.ThreadFactoryBuilder;
+
+public class HashedWheelTimerTest {
+
+    private HashedWheelTimer timer;
+
+    @Before
+    public void setup() {
+        // A small wheel, so that a delay of a few hundred milliseconds takes several rounds
+        timer = new HashedWheelTimer(Duration.ofMillis(10), 8,
+                                     new ThreadFactoryBuilder().threadNamePrefix("test-timer").daemonThreads(true).build());
+    }
+
+    @After
+    public void teardown() {
+        timer.stop();
+    }
+
+    @Test
+    public void expiredTimeout_runsTaskAfterDelay() throws InterruptedException {
+        CountDownLatch ran = new CountDownLatch(1);
+        long start = System.nanoTime();
+
+        HashedWheelTimer.Timeout timeout = timer.newTimeout(ran::countDown, 50, TimeUnit.MILLISECONDS);
+
+        assertThat(ran.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isGreaterThanOrEqualTo(50);
+        assertThat(timeout.isExpired()).isTrue();
+        assertThat(timeout.cancel()).isFalse();
+    }
+
+    @Test
+    public void delayLongerThanOneRound_runsTaskAfterDelay() throws InterruptedException {
+        CountDownLatch ran = new CountDownLatch(1);
+        long start = System.nanoTime();
+
+        timer.newTimeout(ran::countDown, 250, TimeUnit.MILLISECONDS);
+
+        assertThat(ran.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isGreaterThanOrEqualTo(250);
+    }
+
+    @Test
+    public void cancelledTimeout_doesNotRunTask() throws InterruptedException {
+        AtomicInteger runs = new AtomicInteger();
+
+        HashedWheelTimer.Timeout timeout = timer.newTimeout(runs::incrementAndGet, 30, TimeUnit.MILLISECONDS);
+
+        assertThat(timeout.cancel()).isTrue();
+        assertThat(timeout.cancel()).isFalse();
+        Thread.sleep(200);
+        assertThat(runs.get()).isZero();
+        assertThat(timeout.isCancelled()).isTrue();
+    }
+
+    @Test
+    public void failingTask_doesNotStopTimer() throws InterruptedException {
+        CountDownLatch ran = new CountDownLatch(1);
+
+        timer.newTimeout(() -> {
+            throw new RuntimeException("Expected by the test");
+        }, 10, TimeUnit.MILLISECONDS);
+        timer.newTimeout(ran::countDown, 20, TimeUnit.MILLISECONDS);
+
+        assertThat(ran.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    public void concurrentScheduleAndCancel_onlyRunsTasksThatWereNotCancelled() throws Exception {
+        int threads = 8;
+        int timeoutsPerThread = 1000;
+        AtomicInteger cancelledRuns = new AtomicInteger();
+        CountDownLatch keptRuns = new CountDownLatch(threads * timeoutsPerThread / 2);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    for (int j = 0; j < timeoutsPerThread; j++) {
+                        if (j % 2 == 0) {
+                            timer.newTimeout(cancelledRuns::incrementAndGet, 20 + j % 100, TimeUnit.MILLISECONDS).cancel();
+                        } else {
+                            timer.newTimeout(keptRuns::countDown, 20 + j % 100, TimeUnit.MILLISECONDS);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(5, TimeUnit.SECONDS);
+            }
+
+            assertThat(keptRuns.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(cancelledRuns.get()).isZero();
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void stoppedTimer_rejectsNewTimeouts() {
+        timer.stop();
+        timer.newTimeout(() -> { }, 10, TimeUnit.MILLISECONDS);
+    }
+}
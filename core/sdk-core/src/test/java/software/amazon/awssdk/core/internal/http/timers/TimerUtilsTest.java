@@ -0,0 +1,95 @@
+/*
+ * Copyright 2010-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.internal.http.timers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.utils.ThreadFactoryBuilder;
+
+public class TimerUtilsTest {
+
+    private HashedWheelTimer timer;
+    private ExecutorService timeoutExecutor;
+
+    @Before
+    public void setup() {
+        timer = new HashedWheelTimer(Duration.ofMillis(10), 8,
+                                     new ThreadFactoryBuilder().threadNamePrefix("test-timer").daemonThreads(true).build());
+        timeoutExecutor = Executors.newCachedThreadPool();
+    }
+
+    @After
+    public void teardown() {
+        timer.stop();
+        timeoutExecutor.shutdownNow();
+    }
+
+    @Test
+    public void timedOutFutureWithBlockingCallback_doesNotDelayOtherTimeouts() throws Exception {
+        CountDownLatch callbackStarted = new CountDownLatch(1);
+        CountDownLatch releaseCallback = new CountDownLatch(1);
+        CompletableFuture<Void> blocked = new CompletableFuture<>();
+        blocked.whenComplete((r, t) -> {
+            callbackStarted.countDown();
+            try {
+                releaseCallback.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        CompletableFuture<Void> other = new CompletableFuture<>();
+
+        try {
+            TimerUtils.timeAsyncTaskIfNeeded(blocked, timer, timeoutExecutor, this::timeoutException, 10);
+            assertThat(callbackStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+            TimerUtils.timeAsyncTaskIfNeeded(other, timer, timeoutExecutor, this::timeoutException, 20);
+
+            assertThatThrownBy(() -> other.get(5, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class)
+                                                                    .hasCauseInstanceOf(SdkClientException.class);
+            assertThat(releaseCallback.getCount()).isEqualTo(1);
+        } finally {
+            releaseCallback.countDown();
+        }
+    }
+
+    @Test
+    public void timedOutFuture_isCompletedOnTimeoutExecutor() throws Exception {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        CompletableFuture<String> completingThread = future.handle((r, t) -> Thread.currentThread().getName());
+
+        TimerUtils.timeAsyncTaskIfNeeded(future, timer, timeoutExecutor, this::timeoutException, 10);
+
+        assertThat(completingThread.get(5, TimeUnit.SECONDS)).doesNotStartWith("test-timer");
+        assertThat(future).isCompletedExceptionally();
+    }
+
+    private SdkClientException timeoutException() {
+        return SdkClientException.create("Timed out");
+    }
+}
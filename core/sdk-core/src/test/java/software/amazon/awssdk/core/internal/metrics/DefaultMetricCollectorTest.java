@@ -0,0 +1,76 @@
+/*
+ * Copyright 2010-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.internal.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import org.junit.Test;
+import software.amazon.awssdk.core.metrics.CoreMetric;
+import software.amazon.awssdk.core.metrics.MetricCollection;
+import software.amazon.awssdk.core.metrics.MetricCollector;
+
+public class DefaultMetricCollectorTest {
+
+    @Test
+    public void collect_includesReportedValuesInOrder() {
+        MetricCollector collector = new DefaultMetricCollector("ApiCall");
+        collector.reportMetric(CoreMetric.RETRY_COUNT, 1);
+        collector.reportMetric(CoreMetric.RETRY_COUNT, 2);
+
+        MetricCollection collection = collector.collect();
+
+        assertThat(collection.name()).isEqualTo("ApiCall");
+        assertThat(collection.metricValues(CoreMetric.RETRY_COUNT)).containsExactly(1, 2);
+        assertThat(collection.metricValues(CoreMetric.API_CALL_DURATION)).isEmpty();
+    }
+
+    @Test
+    public void collect_includesChildrenInCreationOrder() {
+        MetricCollector collector = new DefaultMetricCollector("ApiCall");
+        collector.createChild("ApiCallAttempt").reportMetric(CoreMetric.HTTP_STATUS_CODE, 500);
+        collector.createChild("ApiCallAttempt").reportMetric(CoreMetric.HTTP_STATUS_CODE, 200);
+
+        MetricCollection collection = collector.collect();
+
+        assertThat(collection.children()).hasSize(2);
+        assertThat(collection.children().get(0).metricValues(CoreMetric.HTTP_STATUS_CODE)).containsExactly(500);
+        assertThat(collection.children().get(1).metricValues(CoreMetric.HTTP_STATUS_CODE)).containsExactly(200);
+    }
+
+    @Test
+    public void collect_isSnapshot() {
+        MetricCollector collector = new DefaultMetricCollector("ApiCall");
+        collector.reportMetric(CoreMetric.API_CALL_DURATION, Duration.ofMillis(1));
+        MetricCollection collection = collector.collect();
+
+        collector.reportMetric(CoreMetric.API_CALL_DURATION, Duration.ofMillis(2));
+
+        assertThat(collection.metricValues(CoreMetric.API_CALL_DURATION)).containsExactly(Duration.ofMillis(1));
+    }
+
+    @Test
+    public void noOpCollector_collectsNothing() {
+        MetricCollector collector = NoOpMetricCollector.create();
+        collector.reportMetric(CoreMetric.RETRY_COUNT, 1);
+        collector.createChild("ApiCallAttempt").reportMetric(CoreMetric.RETRY_COUNT, 1);
+
+        MetricCollection collection = collector.collect();
+
+        assertThat(collection.metrics()).isEmpty();
+        assertThat(collection.children()).isEmpty();
+    }
+}
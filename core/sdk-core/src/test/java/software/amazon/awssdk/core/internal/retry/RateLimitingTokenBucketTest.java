@@ -0,0 +1,87 @@
+/*
+ * Copyright 2010-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.internal.retry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.time.Duration;
+import org.junit.Before;
+import org.junit.Test;
+
+public class RateLimitingTokenBucketTest {
+
+    private double now;
+    private RateLimitingTokenBucket bucket;
+
+    @Before
+    public void setup() {
+        now = 0;
+        bucket = new RateLimitingTokenBucket(() -> now);
+    }
+
+    @Test
+    public void beforeFirstThrottle_neverDelays() {
+        for (int i = 0; i < 100; i++) {
+            assertThat(bucket.acquire()).isEqualTo(Duration.ZERO);
+            bucket.updateClientSendingRate(false);
+        }
+        assertThat(bucket.isEnabled()).isFalse();
+    }
+
+    @Test
+    public void throttle_cutsRateBelowMeasuredRate() {
+        sendAtRate(10, 2.0, false);
+        double measured = bucket.measuredTxRate();
+
+        bucket.updateClientSendingRate(true);
+
+        assertThat(bucket.isEnabled()).isTrue();
+        assertThat(bucket.fillRate()).isCloseTo(measured * 0.7, within(0.5));
+    }
+
+    @Test
+    public void afterThrottle_burstIsDelayed() {
+        sendAtRate(10, 2.0, false);
+        bucket.updateClientSendingRate(true);
+
+        Duration totalDelay = Duration.ZERO;
+        for (int i = 0; i < 20; i++) {
+            totalDelay = totalDelay.plus(bucket.acquire());
+        }
+
+        assertThat(totalDelay).isGreaterThan(Duration.ofSeconds(1));
+    }
+
+    @Test
+    public void successesAfterThrottle_growRateBack() {
+        sendAtRate(10, 2.0, false);
+        bucket.updateClientSendingRate(true);
+        double throttledRate = bucket.fillRate();
+
+        sendAtRate(10, 5.0, false);
+
+        assertThat(bucket.fillRate()).isGreaterThan(throttledRate);
+    }
+
+    private void sendAtRate(double requestsPerSecond, double seconds, boolean throttled) {
+        int requests = (int) (requestsPerSecond * seconds);
+        for (int i = 0; i < requests; i++) {
+            now += 1 / requestsPerSecond;
+            bucket.updateClientSendingRate(throttled);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2010-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.internal.retry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import org.junit.Test;
+import software.amazon.awssdk.core.retry.HedgingPolicy;
+import software.amazon.awssdk.http.SdkHttpFullRequest;
+import software.amazon.awssdk.http.SdkHttpMethod;
+
+public class RequestHedgerTest {
+
+    @Test
+    public void noOperationsConfigured_onlyGetAndHeadAreHedgeable() {
+        RequestHedger hedger = new RequestHedger(HedgingPolicy.builder().build());
+
+        assertThat(hedger.isHedgeable("GetObject", request(SdkHttpMethod.GET))).isTrue();
+        assertThat(hedger.isHedgeable("HeadObject", request(SdkHttpMethod.HEAD))).isTrue();
+        assertThat(hedger.isHedgeable("PutObject", request(SdkHttpMethod.PUT))).isFalse();
+    }
+
+    @Test
+    public void operationsConfigured_onlyThoseOperationsAreHedgeable() {
+        RequestHedger hedger = new RequestHedger(HedgingPolicy.builder().hedgeableOperations("GetItem", "Query").build());
+
+        assertThat(hedger.isHedgeable("GetItem", request(SdkHttpMethod.POST))).isTrue();
+        assertThat(hedger.isHedgeable("PutItem", request(SdkHttpMethod.POST))).isFalse();
+        assertThat(hedger.isHedgeable("GetObject", request(SdkHttpMethod.GET))).isFalse();
+    }
+
+    @Test
+    public void hedges_areLimitedToMaxHedgeRatio() {
+        RequestHedger hedger = new RequestHedger(HedgingPolicy.builder().maxHedgeRatio(0.1).build());
+
+        int hedges = 0;
+        for (int i = 0; i < 100; i++) {
+            hedger.onEligibleRequest();
+            if (hedger.tryAcquireHedge()) {
+                hedges++;
+            }
+        }
+
+        assertThat(hedges).isEqualTo(10);
+    }
+
+    @Test
+    public void canHedge_doesNotConsumeAllowance() {
+        RequestHedger hedger = new RequestHedger(HedgingPolicy.builder().maxHedgeRatio(0.5).build());
+
+        hedger.onEligibleRequest();
+        assertThat(hedger.canHedge()).isFalse();
+
+        hedger.onEligibleRequest();
+        assertThat(hedger.canHedge()).isTrue();
+        assertThat(hedger.canHedge()).isTrue();
+        assertThat(hedger.tryAcquireHedge()).isTrue();
+        assertThat(hedger.canHedge()).isFalse();
+    }
+
+    @Test
+    public void noLatencyPercentile_usesFixedDelay() {
+        RequestHedger hedger = new RequestHedger(HedgingPolicy.builder().hedgeDelay(Duration.ofMillis(20)).build());
+
+        for (int i = 0; i < 1000; i++) {
+            hedger.recordLatency("GetItem", Duration.ofMillis(5));
+        }
+
+        assertThat(hedger.hedgeDelay("GetItem")).isEqualTo(Duration.ofMillis(20));
+    }
+
+    @Test
+    public void latencyPercentile_usesFixedDelayUntilEnoughLatenciesAreObserved() {
+        RequestHedger hedger = new RequestHedger(HedgingPolicy.builder()
+                                                              .hedgeDelay(Duration.ofMillis(20))
+                                                              .latencyPercentile(90.0)
+                                                              .build());
+
+        for (int i = 0; i < 10; i++) {
+            hedger.recordLatency("GetItem", Duration.ofMillis(5));
+        }
+
+        assertThat(hedger.hedgeDelay("GetItem")).isEqualTo(Duration.ofMillis(20));
+    }
+
+    @Test
+    public void latencyPercentile_usesObservedPercentilePerOperation() {
+        RequestHedger hedger = new RequestHedger(HedgingPolicy.builder()
+                                                              .hedgeDelay(Duration.ofMillis(20))
+                                                              .latencyPercentile(90.0)
+                                                              .build());
+
+        // The most recent latencies are 1 to 256 milliseconds, of which the 90th percentile is the 231st.
+        for (int i = 0; i < 1024; i++) {
+            hedger.recordLatency("GetItem", Duration.ofMillis(i % 256 + 1));
+        }
+
+        assertThat(hedger.hedgeDelay("GetItem")).isEqualTo(Duration.ofMillis(231));
+        assertThat(hedger.hedgeDelay("Query")).isEqualTo(Duration.ofMillis(20));
+    }
+
+    private static SdkHttpFullRequest request(SdkHttpMethod method) {
+        return SdkHttpFullRequest.builder()
+                                 .method(method)
+                                 .protocol("https")
+                                 .host("localhost")
+                                 .build();
+    }
+}
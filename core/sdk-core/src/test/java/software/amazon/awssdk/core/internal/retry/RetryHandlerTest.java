@@ -0,0 +1,115 @@
+/*
+ * Copyright 2010-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.internal.retry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Before;
+import org.junit.Test;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.core.exception.SdkServiceException;
+import software.amazon.awssdk.core.http.ExecutionContext;
+import software.amazon.awssdk.core.http.NoopTestRequest;
+import software.amazon.awssdk.core.internal.http.RequestExecutionContext;
+import software.amazon.awssdk.core.internal.http.timers.ClientExecutionAndRequestTimerTestUtils;
+import software.amazon.awssdk.core.internal.util.CapacityManager;
+import software.amazon.awssdk.core.retry.RetryPolicy;
+import software.amazon.awssdk.http.SdkHttpFullRequest;
+import utils.ValidSdkObjects;
+
+public class RetryHandlerTest {
+
+    private static final SdkException SERVICE_UNAVAILABLE = SdkServiceException.builder().statusCode(503).build();
+    private static final SdkException THROTTLED = SdkServiceException.builder().statusCode(429).build();
+
+    private RetryPolicy retryPolicy;
+    private CapacityManager retryCapacity;
+    private SdkHttpFullRequest request;
+    private RequestExecutionContext context;
+
+    @Before
+    public void setup() {
+        retryPolicy = RetryPolicy.builder()
+                                 .numRetries(10)
+                                 .retryCondition(c -> true)
+                                 .retryQuotaSize(10)
+                                 .retryQuotaCost(5)
+                                 .build();
+        retryCapacity = new CapacityManager(retryPolicy.retryQuotaSize());
+        request = ValidSdkObjects.sdkHttpFullRequest().build();
+        ExecutionContext executionContext = ClientExecutionAndRequestTimerTestUtils.executionContext(request);
+        context = RequestExecutionContext.builder()
+                                         .executionContext(executionContext)
+                                         .originalRequest(NoopTestRequest.builder().build())
+                                         .build();
+    }
+
+    @Test
+    public void retriesConsumeQuota_untilExhausted() {
+        assertThat(shouldRetry(newHandler(), SERVICE_UNAVAILABLE)).isTrue();
+        assertThat(shouldRetry(newHandler(), SERVICE_UNAVAILABLE)).isTrue();
+        assertThat(retryCapacity.availableCapacity()).isZero();
+
+        assertThat(shouldRetry(newHandler(), SERVICE_UNAVAILABLE)).isFalse();
+    }
+
+    @Test
+    public void throttlingErrors_doNotConsumeQuota() {
+        retryCapacity.acquire(10);
+
+        assertThat(shouldRetry(newHandler(), THROTTLED)).isTrue();
+        assertThat(retryCapacity.availableCapacity()).isZero();
+    }
+
+    @Test
+    public void successfulRetry_refundsCost() {
+        RetryHandler handler = newHandler();
+        assertThat(shouldRetry(handler, SERVICE_UNAVAILABLE)).isTrue();
+        handler.setLastRetriedException(SERVICE_UNAVAILABLE);
+        assertThat(retryCapacity.availableCapacity()).isEqualTo(5);
+
+        handler.releaseRetryCapacity();
+
+        assertThat(retryCapacity.availableCapacity()).isEqualTo(10);
+    }
+
+    @Test
+    public void successfulFirstAttempt_refundsSingleUnit() {
+        retryCapacity.acquire(10);
+
+        newHandler().releaseRetryCapacity();
+
+        assertThat(retryCapacity.availableCapacity()).isEqualTo(1);
+    }
+
+    @Test
+    public void negativeQuotaSize_disablesQuota() {
+        retryPolicy = retryPolicy.toBuilder().retryQuotaSize(-1).build();
+        retryCapacity = new CapacityManager(retryPolicy.retryQuotaSize());
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(shouldRetry(newHandler(), SERVICE_UNAVAILABLE)).isTrue();
+        }
+    }
+
+    private RetryHandler newHandler() {
+        return new RetryHandler(retryPolicy, retryCapacity);
+    }
+
+    private boolean shouldRetry(RetryHandler handler, SdkException exception) {
+        return handler.shouldRetry(null, request, context, exception, 1);
+    }
+}
@@ -15,6 +15,13 @@
 
 package software.amazon.awssdk.core.internal.util;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -69,4 +76,38 @@ public class CapacityManagerTest {
         Assert.assertEquals(mgr.consumedCapacity(), 0);
     }
 
+    /**
+     * Tests that capacity is never over-acquired when many threads acquire and
+     * release it concurrently.
+     */
+    @Test
+    public void concurrentAcquireAndRelease() throws Exception {
+        int maxCapacity = 5;
+        CapacityManager mgr = new CapacityManager(maxCapacity);
+        AtomicInteger holders = new AtomicInteger();
+        AtomicInteger maxHolders = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(executor.submit(() -> {
+                    for (int j = 0; j < 10_000; j++) {
+                        if (mgr.acquire()) {
+                            maxHolders.accumulateAndGet(holders.incrementAndGet(), Math::max);
+                            holders.decrementAndGet();
+                            mgr.release();
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        Assert.assertTrue(maxHolders.get() <= maxCapacity);
+        Assert.assertEquals(mgr.availableCapacity(), maxCapacity);
+    }
 }
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2010-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.internal.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.apache.log4j.Level;
+import org.apache.log4j.spi.LoggingEvent;
+import org.junit.Test;
+import software.amazon.awssdk.testutils.LogCaptor;
+
+public class DirectCompletionExecutorTest extends LogCaptor.LogCaptorTestBase {
+
+    @Test
+    public void execute_runsTaskOnCallingThread() {
+        DirectCompletionExecutor executor = DirectCompletionExecutor.create();
+        Thread caller = Thread.currentThread();
+
+        CompletableFuture<Thread> future = new CompletableFuture<>();
+        CompletableFuture<Thread> callbackThread = future.thenApplyAsync(t -> Thread.currentThread(), executor);
+        future.complete(caller);
+
+        assertThat(callbackThread.join()).isSameAs(caller);
+    }
+
+    @Test
+    public void fastCallback_doesNotLogWarning() {
+        DirectCompletionExecutor executor = new DirectCompletionExecutor(Duration.ofSeconds(10), Duration.ZERO);
+
+        executor.execute(() -> { });
+
+        assertThat(slowCallbackWarnings()).isEmpty();
+    }
+
+    @Test
+    public void slowCallback_logsWarning() {
+        DirectCompletionExecutor executor = new DirectCompletionExecutor(Duration.ofMillis(1), Duration.ZERO);
+
+        executor.execute(() -> sleep(20));
+
+        assertThat(slowCallbackWarnings()).hasSize(1);
+    }
+
+    @Test
+    public void manySlowCallbacks_warningsAreRateLimited() {
+        DirectCompletionExecutor executor = new DirectCompletionExecutor(Duration.ofMillis(1), Duration.ofHours(1));
+
+        for (int i = 0; i < 3; i++) {
+            executor.execute(() -> sleep(5));
+        }
+
+        assertThat(slowCallbackWarnings()).hasSize(1);
+    }
+
+    private List<LoggingEvent> slowCallbackWarnings() {
+        return loggedEvents().stream()
+                             .filter(e -> e.getLevel() == Level.WARN)
+                             .filter(e -> e.getLoggerName().equals(DirectCompletionExecutor.class.getName()))
+                             .collect(Collectors.toList());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,238 @@
+/*
+ * Copyright 2010-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.pagination;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Test;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.core.internal.pagination.PagePrefetcher;
+import software.amazon.awssdk.core.pagination.async.AsyncPageFetcher;
+import software.amazon.awssdk.core.pagination.async.ResponsesSubscription;
+import software.amazon.awssdk.core.pagination.sync.PaginatedResponsesIterator;
+import software.amazon.awssdk.core.pagination.sync.SyncPageFetcher;
+
+public class PagePrefetchingTest {
+    private static final int PAGE_COUNT = 5;
+
+    @Test
+    public void asyncSubscription_withoutPrefetching_onlyRequestsPagesThatWereAskedFor() {
+        Pages pages = new Pages();
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        ResponsesSubscription.builder().subscriber(subscriber).nextPageFetcher(pages.asyncFetcher()).build().request(1);
+
+        assertThat(subscriber.received).containsExactly(1);
+        assertThat(pages.requested).containsExactly(1);
+    }
+
+    @Test
+    public void asyncSubscription_withPrefetching_requestsUpToPrefetchPagesAhead() {
+        Pages pages = new Pages();
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        Subscription subscription = ResponsesSubscription.builder()
+                                                         .subscriber(subscriber)
+                                                         .nextPageFetcher(pages.asyncFetcher())
+                                                         .prefetchPages(2)
+                                                         .build();
+        subscription.request(1);
+
+        assertThat(subscriber.received).containsExactly(1);
+        assertThat(pages.requested).containsExactly(1, 2, 3);
+
+        subscription.request(1);
+
+        assertThat(subscriber.received).containsExactly(1, 2);
+        assertThat(pages.requested).containsExactly(1, 2, 3, 4);
+
+        subscription.request(Long.MAX_VALUE);
+
+        assertThat(subscriber.received).containsExactly(1, 2, 3, 4, 5);
+        assertThat(pages.requested).containsExactly(1, 2, 3, 4, 5);
+        assertThat(subscriber.completed).isTrue();
+    }
+
+    @Test
+    public void asyncSubscription_withPrefetching_doesNotRequestPagesAfterFailedPage() {
+        Pages pages = new Pages();
+        pages.failingPage = 2;
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        Subscription subscription = ResponsesSubscription.builder()
+                                                         .subscriber(subscriber)
+                                                         .nextPageFetcher(pages.asyncFetcher())
+                                                         .prefetchPages(3)
+                                                         .build();
+        subscription.request(Long.MAX_VALUE);
+
+        assertThat(subscriber.received).containsExactly(1);
+        assertThat(subscriber.error).hasMessage("Page 2 failed");
+        assertThat(pages.requested).containsExactly(1, 2);
+    }
+
+    @Test(timeout = 10_000)
+    public void syncIterator_withPrefetching_retrievesNextPageInBackground() throws InterruptedException {
+        Pages pages = new Pages();
+        Iterator<Integer> iterator = PaginatedResponsesIterator.builder()
+                                                               .nextPageFetcher(pages.syncFetcher())
+                                                               .prefetchPages(1)
+                                                               .build();
+
+        assertThat(iterator.next()).isEqualTo(1);
+        while (pages.requested.size() < 2) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        assertThat(pages.requested).containsExactly(1, 2);
+
+        List<Integer> remaining = new ArrayList<>();
+        iterator.forEachRemaining(remaining::add);
+
+        assertThat(remaining).containsExactly(2, 3, 4, 5);
+        assertThat(pages.requested).containsExactly(1, 2, 3, 4, 5);
+    }
+
+    @Test
+    public void syncIterator_withPrefetching_throwsFailureOfPrefetchedPage() {
+        Pages pages = new Pages();
+        pages.failingPage = 3;
+        Iterator<Integer> iterator = PaginatedResponsesIterator.builder()
+                                                               .nextPageFetcher(pages.syncFetcher())
+                                                               .prefetchPages(2)
+                                                               .build();
+
+        assertThat(iterator.next()).isEqualTo(1);
+        assertThat(iterator.next()).isEqualTo(2);
+        assertThatThrownBy(iterator::next).isInstanceOf(IllegalStateException.class).hasMessage("Page 3 failed");
+    }
+
+    @Test
+    public void prefetcher_requestsPagesAheadWithoutHoldingItsLock() {
+        Pages pages = new Pages();
+        AsyncPageFetcher<Integer> fetcher = pages.asyncFetcher();
+        List<Boolean> lockHeld = new CopyOnWriteArrayList<>();
+        AtomicReference<PagePrefetcher<Integer>> prefetcher = new AtomicReference<>();
+        prefetcher.set(new PagePrefetcher<>(2, fetcher::hasNextPage, fetcher::nextPage, page -> {
+            lockHeld.add(Thread.holdsLock(prefetcher.get()));
+            return fetcher.nextPage(page);
+        }));
+
+        Integer first = prefetcher.get().nextPage(null).join();
+        assertThat(prefetcher.get().nextPage(first).join()).isEqualTo(2);
+
+        assertThat(pages.requested).containsExactly(1, 2, 3, 4);
+        assertThat(lockHeld).containsExactly(false, false, false);
+    }
+
+    @Test
+    public void negativePrefetchPages_isRejected() {
+        Pages pages = new Pages();
+        assertThatThrownBy(() -> ResponsesSubscription.builder()
+                                                      .subscriber(new RecordingSubscriber())
+                                                      .nextPageFetcher(pages.asyncFetcher())
+                                                      .prefetchPages(-1)
+                                                      .build())
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PaginatedResponsesIterator.builder()
+                                                           .nextPageFetcher(pages.syncFetcher())
+                                                           .prefetchPages(-1)
+                                                           .build())
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Numbered pages from 1 to {@link #PAGE_COUNT}, where each page is the continuation token for the next.
+     */
+    private static final class Pages {
+        private final List<Integer> requested = new CopyOnWriteArrayList<>();
+        private volatile int failingPage = -1;
+
+        private Integer fetch(Integer previousPage) {
+            int page = previousPage == null ? 1 : previousPage + 1;
+            requested.add(page);
+            if (page == failingPage) {
+                throw new IllegalStateException("Page " + page + " failed");
+            }
+            // Pages are told apart by identity, so they must not be cached instances.
+            return new Integer(page);
+        }
+
+        private AsyncPageFetcher<Integer> asyncFetcher() {
+            return new AsyncPageFetcher<Integer>() {
+                @Override
+                public boolean hasNextPage(Integer oldPage) {
+                    return oldPage < PAGE_COUNT;
+                }
+
+                @Override
+                public CompletableFuture<Integer> nextPage(Integer oldPage) {
+                    CompletableFuture<Integer> future = new CompletableFuture<>();
+                    try {
+                        future.complete(fetch(oldPage));
+                    } catch (RuntimeException e) {
+                        future.completeExceptionally(e);
+                    }
+                    return future;
+                }
+            };
+        }
+
+        private SyncPageFetcher<Integer> syncFetcher() {
+            return new SyncPageFetcher<Integer>() {
+                @Override
+                public boolean hasNextPage(Integer oldPage) {
+                    return oldPage < PAGE_COUNT;
+                }
+
+                @Override
+                public Integer nextPage(Integer oldPage) {
+                    return fetch(oldPage);
+                }
+            };
+        }
+    }
+
+    private static final class RecordingSubscriber implements Subscriber<Integer> {
+        private final List<Integer> received = new ArrayList<>();
+        private volatile Throwable error;
+        private volatile boolean completed;
+
+        @Override
+        public void onSubscribe(Subscription s) {
+        }
+
+        @Override
+        public void onNext(Integer page) {
+            received.add(page);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            error = t;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+}
@@ -71,6 +71,24 @@ public class RetryPolicyTest {
         verify(throttlingBackoffStrategy).computeDelayBeforeNextRetry(RetryPolicyContexts.EMPTY);
     }
 
+    @Test
+    public void retryQuota_defaultsAndToBuilder() {
+        RetryPolicy policy = RetryPolicy.defaultRetryPolicy();
+        assertThat(policy.retryQuotaSize()).isEqualTo(500);
+        assertThat(policy.retryQuotaCost()).isEqualTo(5);
+
+        RetryPolicy customized = policy.toBuilder().retryQuotaSize(50).retryQuotaCost(2).build();
+        assertThat(customized.retryQuotaSize()).isEqualTo(50);
+        assertThat(customized.retryQuotaCost()).isEqualTo(2);
+        assertThat(customized).isNotEqualTo(policy);
+        assertThat(customized.toBuilder().build()).isEqualTo(customized);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeRetryQuotaCost_throwsException() {
+        RetryPolicy.builder().retryQuotaCost(-1).build();
+    }
+
     @Test
     public void nonRetryPolicy_shouldUseNullCondition() {
         RetryPolicy noneRetry = RetryPolicy.none();
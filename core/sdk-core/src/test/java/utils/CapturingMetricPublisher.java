@@ -0,0 +1,61 @@
+/*
+ * Copyright 2010-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package utils;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import software.amazon.awssdk.core.metrics.MetricCollection;
+import software.amazon.awssdk.core.metrics.MetricPublisher;
+
+/**
+ * A {@link MetricPublisher} that keeps every collection published to it, for tests to inspect.
+ */
+public class CapturingMetricPublisher implements MetricPublisher {
+    private final List<MetricCollection> published = new CopyOnWriteArrayList<>();
+    private final CountDownLatch firstPublish = new CountDownLatch(1);
+
+    @Override
+    public void publish(MetricCollection metricCollection) {
+        published.add(metricCollection);
+        firstPublish.countDown();
+    }
+
+    @Override
+    public void close() {
+    }
+
+    /**
+     * @return Every collection published so far.
+     */
+    public List<MetricCollection> published() {
+        return published;
+    }
+
+    /**
+     * Waits for the first collection to be published. Async clients publish after completing the future returned to the
+     * caller, so the collection may not be there yet when that future completes.
+     *
+     * @return Every collection published so far.
+     */
+    public List<MetricCollection> awaitPublished() throws InterruptedException {
+        if (!firstPublish.await(5, TimeUnit.SECONDS)) {
+            throw new AssertionError("No metrics were published.");
+        }
+        return published;
+    }
+}
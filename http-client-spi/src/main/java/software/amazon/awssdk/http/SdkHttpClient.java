@@ -15,6 +15,8 @@
 
 package software.amazon.awssdk.http;
 
+import java.net.URI;
+import java.util.concurrent.CompletableFuture;
 import software.amazon.awssdk.annotations.Immutable;
 import software.amazon.awssdk.annotations.SdkPublicApi;
 import software.amazon.awssdk.annotations.ThreadSafe;
@@ -40,6 +42,25 @@ public interface SdkHttpClient extends SdkAutoCloseable {
      */
     ExecutableHttpRequest prepareRequest(HttpExecuteRequest request);
 
+    /**
+     * Establishes connections to the given endpoint ahead of time, so that the first requests made to it do not have to wait
+     * for a new connection, including its TLS handshake, to be established. The connections are opened in parallel and
+     * returned to the client's connection pool, where they are used by later requests to the endpoint.
+     *
+     * <p>This is best effort: the number of connections opened is limited by the client's maximum number of connections,
+     * and pooled connections are still closed once they have been idle for longer than the client allows. Clients that
+     * don't pool connections, or don't support warming them up, complete the returned future without opening any
+     * connections.</p>
+     *
+     * @param endpoint The endpoint to connect to. Only the scheme, host and port are used.
+     * @param numConnections The number of connections to establish.
+     * @return A future that is completed once the connections have been established and returned to the pool, or
+     * completed exceptionally if any of them could not be established.
+     */
+    default CompletableFuture<Void> warmUp(URI endpoint, int numConnections) {
+        return CompletableFuture.completedFuture(null);
+    }
+
     /**
      * Each HTTP client implementation should return a well-formed client name
      * that allows requests to be identifiable back to the client that made the request.
@@ -30,6 +30,7 @@ import static software.amazon.awssdk.utils.NumericUtils.saturatedCast;
 
 import java.io.IOException;
 import java.net.InetAddress;
+import java.net.URI;
 import java.security.KeyManagementException;
 import java.security.NoSuchAlgorithmException;
 import java.security.cert.CertificateException;
@@ -38,6 +39,7 @@ import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 import javax.net.ssl.HostnameVerifier;
@@ -45,6 +47,8 @@ import javax.net.ssl.SSLContext;
 import javax.net.ssl.TrustManager;
 import javax.net.ssl.X509TrustManager;
 import org.apache.http.Header;
+import org.apache.http.HttpException;
+import org.apache.http.HttpHost;
 import org.apache.http.HttpResponse;
 import org.apache.http.client.CredentialsProvider;
 import org.apache.http.client.methods.HttpRequestBase;
@@ -54,6 +58,7 @@ import org.apache.http.config.RegistryBuilder;
 import org.apache.http.config.SocketConfig;
 import org.apache.http.conn.ConnectionKeepAliveStrategy;
 import org.apache.http.conn.HttpClientConnectionManager;
+import org.apache.http.conn.routing.HttpRoute;
 import org.apache.http.conn.routing.HttpRoutePlanner;
 import org.apache.http.conn.socket.ConnectionSocketFactory;
 import org.apache.http.conn.socket.PlainConnectionSocketFactory;
@@ -62,8 +67,10 @@ import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
 import org.apache.http.conn.ssl.SSLInitializationException;
 import org.apache.http.impl.client.HttpClientBuilder;
 import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.DefaultRoutePlanner;
 import org.apache.http.impl.conn.DefaultSchemePortResolver;
 import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.message.BasicHttpRequest;
 import org.apache.http.protocol.HttpRequestExecutor;
 import software.amazon.awssdk.annotations.SdkPublicApi;
 import software.amazon.awssdk.annotations.SdkTestInternalApi;
@@ -78,6 +85,7 @@ import software.amazon.awssdk.http.apache.internal.ApacheHttpRequestConfig;
 import software.amazon.awssdk.http.apache.internal.DefaultConfiguration;
 import software.amazon.awssdk.http.apache.internal.SdkProxyRoutePlanner;
 import software.amazon.awssdk.http.apache.internal.conn.ClientConnectionManagerFactory;
+import software.amazon.awssdk.http.apache.internal.conn.ConnectionPoolWarmer;
 import software.amazon.awssdk.http.apache.internal.conn.IdleConnectionReaper;
 import software.amazon.awssdk.http.apache.internal.conn.SdkConnectionKeepAliveStrategy;
 import software.amazon.awssdk.http.apache.internal.conn.SdkTlsSocketFactory;
@@ -86,6 +94,7 @@ import software.amazon.awssdk.http.apache.internal.impl.ApacheSdkHttpClient;
 import software.amazon.awssdk.http.apache.internal.impl.ConnectionManagerAwareHttpClient;
 import software.amazon.awssdk.http.apache.internal.utils.ApacheUtils;
 import software.amazon.awssdk.utils.AttributeMap;
+import software.amazon.awssdk.utils.CompletableFutureUtils;
 import software.amazon.awssdk.utils.Logger;
 import software.amazon.awssdk.utils.Validate;
 
@@ -109,6 +118,7 @@ public final class ApacheHttpClient implements SdkHttpClient {
     private final ConnectionManagerAwareHttpClient httpClient;
     private final ApacheHttpRequestConfig requestConfig;
     private final AttributeMap resolvedOptions;
+    private final HttpRoutePlanner routePlanner;
 
     @SdkTestInternalApi
     ApacheHttpClient(ConnectionManagerAwareHttpClient httpClient,
@@ -117,9 +127,11 @@ public final class ApacheHttpClient implements SdkHttpClient {
         this.httpClient = httpClient;
         this.requestConfig = requestConfig;
         this.resolvedOptions = resolvedOptions;
+        this.routePlanner = new DefaultRoutePlanner(DefaultSchemePortResolver.INSTANCE);
     }
 
     private ApacheHttpClient(DefaultBuilder builder, AttributeMap resolvedOptions) {
+        this.routePlanner = resolveRoutePlanner(builder);
         this.httpClient = createClient(builder, resolvedOptions);
         this.requestConfig = createRequestConfig(builder, resolvedOptions);
         this.resolvedOptions = resolvedOptions;
@@ -158,32 +170,44 @@ public final class ApacheHttpClient implements SdkHttpClient {
         return new ApacheSdkHttpClient(builder.build(), cm);
     }
 
-    private void addProxyConfig(HttpClientBuilder builder,
-                                DefaultBuilder configuration) {
+    /**
+     * Resolves the route planner used by the client. When neither a route planner nor a proxy is configured, this is the
+     * same route planner that the Apache client would otherwise use by default.
+     */
+    private HttpRoutePlanner resolveRoutePlanner(DefaultBuilder configuration) {
         ProxyConfiguration proxyConfiguration = configuration.proxyConfiguration;
 
         Validate.isTrue(configuration.httpRoutePlanner == null || !isProxyEnabled(proxyConfiguration),
                         "The httpRoutePlanner and proxyConfiguration can't both be configured.");
-        Validate.isTrue(configuration.credentialsProvider == null || !isAuthenticatedProxy(proxyConfiguration),
-                        "The credentialsProvider and proxyConfiguration username/password can't both be configured.");
 
-        HttpRoutePlanner routePlanner = configuration.httpRoutePlanner;
         if (isProxyEnabled(proxyConfiguration)) {
             log.debug(() -> "Configuring Proxy. Proxy Host: " + proxyConfiguration.host());
-            routePlanner = new SdkProxyRoutePlanner(proxyConfiguration.host(),
-                                                    proxyConfiguration.port(),
-                                                    proxyConfiguration.scheme(),
-                                                    proxyConfiguration.nonProxyHosts());
+            return new SdkProxyRoutePlanner(proxyConfiguration.host(),
+                                            proxyConfiguration.port(),
+                                            proxyConfiguration.scheme(),
+                                            proxyConfiguration.nonProxyHosts());
         }
 
+        if (configuration.httpRoutePlanner != null) {
+            return configuration.httpRoutePlanner;
+        }
+
+        return new DefaultRoutePlanner(DefaultSchemePortResolver.INSTANCE);
+    }
+
+    private void addProxyConfig(HttpClientBuilder builder,
+                                DefaultBuilder configuration) {
+        ProxyConfiguration proxyConfiguration = configuration.proxyConfiguration;
+
+        Validate.isTrue(configuration.credentialsProvider == null || !isAuthenticatedProxy(proxyConfiguration),
+                        "The credentialsProvider and proxyConfiguration username/password can't both be configured.");
+
         CredentialsProvider credentialsProvider = configuration.credentialsProvider;
         if (isAuthenticatedProxy(proxyConfiguration)) {
             credentialsProvider = ApacheUtils.newProxyCredentialsProvider(proxyConfiguration);
         }
 
-        if (routePlanner != null) {
-            builder.setRoutePlanner(routePlanner);
-        }
+        builder.setRoutePlanner(routePlanner);
 
         if (credentialsProvider != null) {
             builder.setDefaultCredentialsProvider(credentialsProvider);
@@ -224,6 +248,39 @@ public final class ApacheHttpClient implements SdkHttpClient {
         };
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>At most {@link Builder#maxConnections(Integer)} connections are established. Connections that are tunnelled
+     * through a proxy, i.e. HTTPS connections when a proxy is configured, are not established ahead of time.</p>
+     */
+    @Override
+    public CompletableFuture<Void> warmUp(URI endpoint, int numConnections) {
+        Validate.paramNotNull(endpoint, "endpoint");
+        Validate.isNotNegative(numConnections, "numConnections");
+        HttpRoute route;
+        try {
+            route = routePlanner.determineRoute(new HttpHost(endpoint.getHost(), endpoint.getPort(), endpoint.getScheme()),
+                                                new BasicHttpRequest("GET", "/"),
+                                                HttpClientContext.create());
+        } catch (HttpException e) {
+            return CompletableFutureUtils.failedFuture(e);
+        }
+
+        if (route.isTunnelled()) {
+            log.debug(() -> "Not establishing connections to " + endpoint + " ahead of time, because they are tunnelled "
+                            + "through a proxy.");
+            return CompletableFuture.completedFuture(null);
+        }
+
+        ConnectionPoolWarmer warmer =
+            new ConnectionPoolWarmer(httpClient.getHttpClientConnectionManager(),
+                                     resolvedOptions.get(CONNECTION_ACQUIRE_TIMEOUT).toMillis(),
+                                     saturatedCast(resolvedOptions.get(CONNECTION_TIMEOUT).toMillis()),
+                                     resolvedOptions.get(CONNECTION_MAX_IDLE_TIMEOUT).toMillis());
+        return warmer.warmUp(route, Math.min(numConnections, resolvedOptions.get(MAX_CONNECTIONS)));
+    }
+
     @Override
     public void close() {
         HttpClientConnectionManager cm = httpClient.getHttpClientConnectionManager();
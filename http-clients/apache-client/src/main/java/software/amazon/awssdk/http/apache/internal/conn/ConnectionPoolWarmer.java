@@ -0,0 +1,145 @@
+/*
+ * Copyright 2010-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.apache.internal.conn;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.apache.http.HttpClientConnection;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.HttpClientConnectionManager;
+import org.apache.http.conn.routing.HttpRoute;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.utils.Logger;
+import software.amazon.awssdk.utils.ThreadFactoryBuilder;
+
+/**
+ * Fills the pool of a {@link HttpClientConnectionManager} with connections to a route ahead of time.
+ *
+ * <p>Establishing a connection blocks, so the connections are established in parallel on a temporary thread pool that is
+ * shut down once they are all established. Every connection is leased until all of them are established, so that the
+ * connection manager has to open a new connection for each of them instead of handing out one that was just released.</p>
+ */
+@SdkInternalApi
+public final class ConnectionPoolWarmer {
+    private static final Logger log = Logger.loggerFor(ConnectionPoolWarmer.class);
+
+    private static final int MAX_WARM_UP_THREADS = 16;
+
+    private final HttpClientConnectionManager connectionManager;
+    private final long connectionAcquireTimeoutMillis;
+    private final int connectTimeoutMillis;
+    private final long keepAliveMillis;
+
+    /**
+     * @param connectionManager The connection manager to establish the connections in.
+     * @param connectionAcquireTimeoutMillis How long to wait for the connection manager to lease a connection.
+     * @param connectTimeoutMillis How long to wait for a connection to be established.
+     * @param keepAliveMillis How long the connections may be kept idle in the pool.
+     */
+    public ConnectionPoolWarmer(HttpClientConnectionManager connectionManager,
+                                long connectionAcquireTimeoutMillis,
+                                int connectTimeoutMillis,
+                                long keepAliveMillis) {
+        this.connectionManager = connectionManager;
+        this.connectionAcquireTimeoutMillis = connectionAcquireTimeoutMillis;
+        this.connectTimeoutMillis = connectTimeoutMillis;
+        this.keepAliveMillis = keepAliveMillis;
+    }
+
+    /**
+     * @param route The route to establish the connections for.
+     * @param numConnections The number of connections to establish.
+     * @return A future that is completed once all of the connections are established and have been released to the pool.
+     */
+    public CompletableFuture<Void> warmUp(HttpRoute route, int numConnections) {
+        if (numConnections == 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        ExecutorService executor =
+            Executors.newFixedThreadPool(Math.min(numConnections, MAX_WARM_UP_THREADS),
+                                         new ThreadFactoryBuilder().threadNamePrefix("sdk-apache-warm-up")
+                                                                   .daemonThreads(true)
+                                                                   .build());
+        List<CompletableFuture<HttpClientConnection>> connections = new ArrayList<>(numConnections);
+        try {
+            for (int i = 0; i < numConnections; i++) {
+                connections.add(CompletableFuture.supplyAsync(() -> connect(route), executor));
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        CompletableFuture<Void> warmUpFuture = new CompletableFuture<>();
+        CompletableFuture.allOf(connections.toArray(new CompletableFuture[0])).whenComplete((r, t) -> {
+            connections.stream()
+                       .filter(c -> !c.isCompletedExceptionally())
+                       .forEach(c -> release(c.join()));
+            if (t != null) {
+                warmUpFuture.completeExceptionally(t instanceof CompletionException && t.getCause() != null ? t.getCause()
+                                                                                                              : t);
+            } else {
+                log.debug(() -> "Established " + numConnections + " connections to " + route + " ahead of time.");
+                warmUpFuture.complete(null);
+            }
+        });
+        return warmUpFuture;
+    }
+
+    private HttpClientConnection connect(HttpRoute route) {
+        HttpClientConnection connection = lease(route);
+        try {
+            if (!connection.isOpen()) {
+                HttpClientContext context = HttpClientContext.create();
+                connectionManager.connect(connection, route, connectTimeoutMillis, context);
+                connectionManager.routeComplete(connection, route, context);
+            }
+            return connection;
+        } catch (IOException | RuntimeException e) {
+            release(connection);
+            throw new CompletionException(e);
+        }
+    }
+
+    private HttpClientConnection lease(HttpRoute route) {
+        try {
+            return connectionManager.requestConnection(route, null)
+                                    .get(connectionAcquireTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        } catch (ExecutionException e) {
+            throw new CompletionException(e.getCause());
+        } catch (ConnectionPoolTimeoutException e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    /**
+     * Returns a connection to the pool. A connection that could not be established is discarded by the connection manager.
+     */
+    private void release(HttpClientConnection connection) {
+        connectionManager.releaseConnection(connection, null, keepAliveMillis, TimeUnit.MILLISECONDS);
+    }
+}
@@ -26,6 +26,8 @@ import com.github.tomakehurst.wiremock.client.WireMock;
 import com.github.tomakehurst.wiremock.junit.WireMockRule;
 import com.github.tomakehurst.wiremock.matching.RequestPatternBuilder;
 import java.net.HttpURLConnection;
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
 import org.apache.http.HttpHost;
 import org.apache.http.auth.AuthScope;
 import org.apache.http.auth.Credentials;
@@ -70,6 +72,18 @@ public class ApacheHttpClientWireMockTest extends SdkHttpClientTestSuite {
         testForResponseCodeUsingHttps(client, HttpURLConnection.HTTP_OK);
     }
 
+    @Test
+    public void warmUp_canMakeRequestsOverWarmedConnections() throws Exception {
+        SdkHttpClient client = ApacheHttpClient.builder()
+                                               .buildWithDefaults(AttributeMap.builder()
+                                                                              .put(TRUST_ALL_CERTIFICATES, Boolean.TRUE)
+                                                                              .build());
+
+        client.warmUp(URI.create("https://localhost:" + mockServer.httpsPort()), 2).get(5, TimeUnit.SECONDS);
+
+        testForResponseCodeUsingHttps(client, HttpURLConnection.HTTP_OK);
+    }
+
     @Test
     public void closeClient_shouldCloseUnderlyingResources() {
         ApacheHttpClient client = new ApacheHttpClient(httpClient, ApacheHttpRequestConfig.builder().build(), AttributeMap.empty());
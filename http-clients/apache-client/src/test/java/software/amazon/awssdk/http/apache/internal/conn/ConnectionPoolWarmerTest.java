@@ -0,0 +1,82 @@
+/*
+ * Copyright 2010-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.apache.internal.conn;
+
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.github.tomakehurst.wiremock.junit.WireMockRule;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.apache.http.HttpHost;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+/**
+ * Tests for {@link ConnectionPoolWarmer}.
+ */
+public class ConnectionPoolWarmerTest {
+    @Rule
+    public WireMockRule mockServer = new WireMockRule(wireMockConfig().dynamicPort());
+
+    private PoolingHttpClientConnectionManager connectionManager;
+    private ConnectionPoolWarmer warmer;
+
+    @Before
+    public void setup() {
+        connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setDefaultMaxPerRoute(5);
+        warmer = new ConnectionPoolWarmer(connectionManager, 1000, 1000, 60_000);
+    }
+
+    @After
+    public void teardown() {
+        connectionManager.shutdown();
+    }
+
+    @Test
+    public void warmUp_establishesConnectionsAndReleasesThemToThePool() throws Exception {
+        HttpRoute route = new HttpRoute(new HttpHost("localhost", mockServer.port(), "http"));
+
+        warmer.warmUp(route, 3).get(5, TimeUnit.SECONDS);
+
+        assertThat(connectionManager.getStats(route).getAvailable()).isEqualTo(3);
+        assertThat(connectionManager.getStats(route).getLeased()).isZero();
+    }
+
+    @Test
+    public void warmUp_connectionFailure_failsFutureAndReleasesConnections() throws Exception {
+        int closedPort;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            closedPort = socket.getLocalPort();
+        }
+        HttpRoute route = new HttpRoute(new HttpHost("localhost", closedPort, "http"));
+
+        assertThatThrownBy(() -> warmer.warmUp(route, 2).get(5, TimeUnit.SECONDS))
+            .isInstanceOf(ExecutionException.class)
+            .hasCauseInstanceOf(ConnectException.class);
+
+        assertThat(connectionManager.getStats(route).getAvailable()).isZero();
+        assertThat(connectionManager.getStats(route).getLeased()).isZero();
+    }
+}
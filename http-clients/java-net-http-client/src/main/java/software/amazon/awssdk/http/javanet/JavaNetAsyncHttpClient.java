@@ -0,0 +1,236 @@
+/*
+ * Copyright 2010-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.javanet;
+
+import static software.amazon.awssdk.http.SdkHttpConfigurationOption.CONNECTION_TIMEOUT;
+import static software.amazon.awssdk.http.SdkHttpConfigurationOption.PROTOCOL;
+import static software.amazon.awssdk.http.SdkHttpConfigurationOption.READ_TIMEOUT;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Flow;
+import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.http.Protocol;
+import software.amazon.awssdk.http.SdkHttpConfigurationOption;
+import software.amazon.awssdk.http.SdkHttpRequest;
+import software.amazon.awssdk.http.async.AsyncExecuteRequest;
+import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
+import software.amazon.awssdk.http.async.SdkAsyncHttpResponseHandler;
+import software.amazon.awssdk.http.async.SdkHttpContentPublisher;
+import software.amazon.awssdk.http.javanet.internal.FlowAdapters;
+import software.amazon.awssdk.http.javanet.internal.JavaNetHttpClientFactory;
+import software.amazon.awssdk.http.javanet.internal.RequestAdapter;
+import software.amazon.awssdk.http.javanet.internal.ResponseAdapter;
+import software.amazon.awssdk.http.javanet.internal.ResponseBodyPublisher;
+import software.amazon.awssdk.utils.AttributeMap;
+
+/**
+ * An implementation of {@link SdkAsyncHttpClient} that uses the {@link HttpClient} built into Java 11 and later to communicate
+ * with the service. It supports HTTP/1.1 and HTTP/2 without any dependencies beyond the JDK. Instead of a dedicated set of
+ * event loop threads, it runs on a cached pool of daemon threads that grows with the number of requests in flight and
+ * releases threads that have been idle for a minute.
+ *
+ * <p>The {@link HttpClient} manages its own connection pool, so {@link SdkHttpConfigurationOption#MAX_CONNECTIONS} and the
+ * other connection pool options have no effect. {@link SdkHttpConfigurationOption#READ_TIMEOUT} limits how long to wait for
+ * the response headers, after which the response body is not subject to a timeout.</p>
+ *
+ * <p>See software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient for an alternative implementation.</p>
+ *
+ * <p>This can be created via {@link #builder()}</p>
+ */
+@SdkPublicApi
+public final class JavaNetAsyncHttpClient implements SdkAsyncHttpClient {
+
+    private static final String CLIENT_NAME = "JavaNet";
+
+    private final HttpClient httpClient;
+    private final ExecutorService executor;
+    private final AttributeMap options;
+
+    private JavaNetAsyncHttpClient(AttributeMap options) {
+        this.options = options;
+        this.executor = JavaNetHttpClientFactory.createDefaultExecutor();
+        this.httpClient = JavaNetHttpClientFactory.create(options, executor);
+    }
+
+    public static Builder builder() {
+        return new DefaultBuilder();
+    }
+
+    /**
+     * Create a {@link JavaNetAsyncHttpClient} with the default properties
+     *
+     * @return a {@link JavaNetAsyncHttpClient}
+     */
+    public static SdkAsyncHttpClient create() {
+        return new DefaultBuilder().build();
+    }
+
+    @Override
+    public CompletableFuture<Void> execute(AsyncExecuteRequest request) {
+        SdkHttpRequest sdkRequest = request.request();
+        SdkAsyncHttpResponseHandler responseHandler = request.responseHandler();
+        HttpRequest httpRequest = RequestAdapter.toRequestBuilder(sdkRequest, options.get(READ_TIMEOUT))
+                                                .method(sdkRequest.method().name(), bodyPublisher(request))
+                                                .build();
+
+        CompletableFuture<Void> executeFuture = new CompletableFuture<>();
+        CompletableFuture<HttpResponse<Flow.Publisher<List<ByteBuffer>>>> responseFuture =
+            httpClient.sendAsync(httpRequest, HttpResponse.BodyHandlers.ofPublisher());
+
+        responseFuture.whenComplete((response, t) -> {
+            if (t != null) {
+                Throwable cause = t instanceof CompletionException && t.getCause() != null ? t.getCause() : t;
+                try {
+                    responseHandler.onError(cause);
+                } finally {
+                    executeFuture.completeExceptionally(cause);
+                }
+                return;
+            }
+
+            try {
+                responseHandler.onHeaders(ResponseAdapter.toSdkHttpResponse(response));
+                responseHandler.onStream(new ResponseBodyPublisher(response.body(), executeFuture));
+            } catch (Throwable e) {
+                // Nothing else would complete the future if the handler failed on the client's thread
+                try {
+                    responseHandler.onError(e);
+                } finally {
+                    executeFuture.completeExceptionally(e);
+                }
+            }
+        });
+
+        // Stop waiting for the response if the request is cancelled or times out.
+        executeFuture.whenComplete((r, t) -> {
+            if (t != null) {
+                responseFuture.cancel(true);
+            }
+        });
+
+        return executeFuture;
+    }
+
+    /**
+     * The Content-Length header is restricted by {@link HttpClient}, so the length the request declares is passed on with the
+     * body. The length of the content publisher is only used when the request doesn't declare one.
+     */
+    private static HttpRequest.BodyPublisher bodyPublisher(AsyncExecuteRequest request) {
+        SdkHttpContentPublisher content = request.requestContentPublisher();
+        if (content == null) {
+            return HttpRequest.BodyPublishers.noBody();
+        }
+        Optional<Long> contentLength = RequestAdapter.contentLength(request.request());
+        return RequestAdapter.toBodyPublisher(FlowAdapters.toFlowPublisher(content),
+                                              contentLength.isPresent() ? contentLength : content.contentLength());
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    @Override
+    public String clientName() {
+        return CLIENT_NAME;
+    }
+
+    /**
+     * A builder for an instance of {@link SdkAsyncHttpClient} that uses the {@link HttpClient} built into Java 11 and later.
+     * A builder can be created via {@link #builder()}.
+     *
+     * <pre class="brush: java">
+     * SdkAsyncHttpClient httpClient = JavaNetAsyncHttpClient.builder()
+     * .readTimeout(Duration.ofSeconds(10))
+     * .connectionTimeout(Duration.ofSeconds(1))
+     * .protocol(Protocol.HTTP2)
+     * .build();
+     * </pre>
+     */
+    public interface Builder extends SdkAsyncHttpClient.Builder<JavaNetAsyncHttpClient.Builder> {
+
+        /**
+         * The amount of time to wait for the response headers to be received before giving up and timing out. A duration of
+         * 0 means infinity, and is not recommended.
+         */
+        Builder readTimeout(Duration readTimeout);
+
+        /**
+         * The amount of time to wait when initially establishing a connection before giving up and timing out. A duration of 0
+         * means infinity, and is not recommended.
+         */
+        Builder connectionTimeout(Duration connectionTimeout);
+
+        /**
+         * The HTTP protocol to use. When {@link Protocol#HTTP2} is used, HTTP/2 is negotiated with the server and HTTP/1.1 is
+         * used if the server doesn't support it.
+         */
+        Builder protocol(Protocol protocol);
+    }
+
+    private static final class DefaultBuilder implements Builder {
+        private final AttributeMap.Builder standardOptions = AttributeMap.builder();
+
+        private DefaultBuilder() {
+        }
+
+        @Override
+        public Builder readTimeout(Duration readTimeout) {
+            standardOptions.put(READ_TIMEOUT, readTimeout);
+            return this;
+        }
+
+        public void setReadTimeout(Duration readTimeout) {
+            readTimeout(readTimeout);
+        }
+
+        @Override
+        public Builder connectionTimeout(Duration connectionTimeout) {
+            standardOptions.put(CONNECTION_TIMEOUT, connectionTimeout);
+            return this;
+        }
+
+        public void setConnectionTimeout(Duration connectionTimeout) {
+            connectionTimeout(connectionTimeout);
+        }
+
+        @Override
+        public Builder protocol(Protocol protocol) {
+            standardOptions.put(PROTOCOL, protocol);
+            return this;
+        }
+
+        public void setProtocol(Protocol protocol) {
+            protocol(protocol);
+        }
+
+        @Override
+        public SdkAsyncHttpClient buildWithDefaults(AttributeMap serviceDefaults) {
+            return new JavaNetAsyncHttpClient(standardOptions.build()
+                                                             .merge(serviceDefaults)
+                                                             .merge(SdkHttpConfigurationOption.GLOBAL_HTTP_DEFAULTS));
+        }
+    }
+}
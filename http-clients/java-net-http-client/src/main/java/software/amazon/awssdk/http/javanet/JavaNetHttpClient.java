@@ -0,0 +1,248 @@
+/*
+ * Copyright 2010-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.javanet;
+
+import static software.amazon.awssdk.http.SdkHttpConfigurationOption.CONNECTION_TIMEOUT;
+import static software.amazon.awssdk.http.SdkHttpConfigurationOption.PROTOCOL;
+import static software.amazon.awssdk.http.SdkHttpConfigurationOption.READ_TIMEOUT;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.http.ExecutableHttpRequest;
+import software.amazon.awssdk.http.HttpExecuteRequest;
+import software.amazon.awssdk.http.HttpExecuteResponse;
+import software.amazon.awssdk.http.Protocol;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.SdkHttpConfigurationOption;
+import software.amazon.awssdk.http.SdkHttpMethod;
+import software.amazon.awssdk.http.javanet.internal.JavaNetHttpClientFactory;
+import software.amazon.awssdk.http.javanet.internal.RequestAdapter;
+import software.amazon.awssdk.http.javanet.internal.ResponseAdapter;
+import software.amazon.awssdk.utils.AttributeMap;
+
+/**
+ * An implementation of {@link SdkHttpClient} that uses the {@link HttpClient} built into Java 11 and later to communicate with
+ * the service. Unlike software.amazon.awssdk.http.urlconnection.UrlConnectionHttpClient, it supports HTTP/2 and reuses
+ * connections without requiring the response body to be read, while still not adding any dependencies beyond the JDK.
+ *
+ * <p>The {@link HttpClient} manages its own connection pool, so {@link SdkHttpConfigurationOption#MAX_CONNECTIONS} and the
+ * other connection pool options have no effect. {@link SdkHttpConfigurationOption#READ_TIMEOUT} limits how long to wait for
+ * the response headers, after which reading the response body is not subject to a timeout.</p>
+ *
+ * <p>This can be created via {@link #builder()}</p>
+ */
+@SdkPublicApi
+public final class JavaNetHttpClient implements SdkHttpClient {
+
+    private static final String CLIENT_NAME = "JavaNet";
+
+    private final HttpClient httpClient;
+    private final ExecutorService executor;
+    private final AttributeMap options;
+
+    private JavaNetHttpClient(AttributeMap options) {
+        this.options = options;
+        this.executor = JavaNetHttpClientFactory.createDefaultExecutor();
+        this.httpClient = JavaNetHttpClientFactory.create(options, executor);
+    }
+
+    public static Builder builder() {
+        return new DefaultBuilder();
+    }
+
+    /**
+     * Create a {@link JavaNetHttpClient} with the default properties
+     *
+     * @return a {@link JavaNetHttpClient}
+     */
+    public static SdkHttpClient create() {
+        return new DefaultBuilder().build();
+    }
+
+    @Override
+    public ExecutableHttpRequest prepareRequest(HttpExecuteRequest request) {
+        HttpRequest.BodyPublisher body =
+            request.contentStreamProvider()
+                   .map(provider -> RequestAdapter.toBodyPublisher(HttpRequest.BodyPublishers.ofInputStream(provider::newStream),
+                                                                   RequestAdapter.contentLength(request.httpRequest())))
+                   .orElseGet(HttpRequest.BodyPublishers::noBody);
+        HttpRequest httpRequest = RequestAdapter.toRequestBuilder(request.httpRequest(), options.get(READ_TIMEOUT))
+                                                .method(request.httpRequest().method().name(), body)
+                                                .build();
+        return new RequestCallable(httpRequest);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    @Override
+    public String clientName() {
+        return CLIENT_NAME;
+    }
+
+    private final class RequestCallable implements ExecutableHttpRequest {
+
+        private final HttpRequest request;
+        private volatile CompletableFuture<HttpResponse<InputStream>> responseFuture;
+
+        private RequestCallable(HttpRequest request) {
+            this.request = request;
+        }
+
+        @Override
+        public HttpExecuteResponse call() throws IOException {
+            responseFuture = httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofInputStream());
+            HttpResponse<InputStream> response = awaitResponse();
+            InputStream body = response.body();
+
+            // A response to a HEAD request never has a body, as with the other clients.
+            AbortableInputStream responseBody = null;
+            if (SdkHttpMethod.HEAD.name().equals(request.method())) {
+                closeQuietly(body);
+            } else {
+                responseBody = AbortableInputStream.create(body, () -> closeQuietly(body));
+            }
+
+            return HttpExecuteResponse.builder()
+                                      .response(ResponseAdapter.toSdkHttpResponse(response))
+                                      .responseBody(responseBody)
+                                      .build();
+        }
+
+        private HttpResponse<InputStream> awaitResponse() throws IOException {
+            try {
+                return responseFuture.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                responseFuture.cancel(true);
+                throw new InterruptedIOException("Interrupted while waiting for the response.");
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof IOException) {
+                    throw (IOException) cause;
+                }
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                throw new IOException(cause);
+            }
+        }
+
+        @Override
+        public void abort() {
+            CompletableFuture<HttpResponse<InputStream>> future = responseFuture;
+            if (future != null && !future.cancel(true) && !future.isCompletedExceptionally()) {
+                closeQuietly(future.join().body());
+            }
+        }
+
+        private void closeQuietly(InputStream body) {
+            try {
+                body.close();
+            } catch (IOException e) {
+                // Closing the body only releases the connection, so there is nothing more to do if it fails.
+            }
+        }
+    }
+
+    /**
+     * A builder for an instance of {@link SdkHttpClient} that uses the {@link HttpClient} built into Java 11 and later. A
+     * builder can be created via {@link #builder()}.
+     *
+     * <pre class="brush: java">
+     * SdkHttpClient httpClient = JavaNetHttpClient.builder()
+     * .readTimeout(Duration.ofSeconds(10))
+     * .connectionTimeout(Duration.ofSeconds(1))
+     * .build();
+     * </pre>
+     */
+    public interface Builder extends SdkHttpClient.Builder<JavaNetHttpClient.Builder> {
+
+        /**
+         * The amount of time to wait for the response headers to be received before giving up and timing out. A duration of
+         * 0 means infinity, and is not recommended.
+         */
+        Builder readTimeout(Duration readTimeout);
+
+        /**
+         * The amount of time to wait when initially establishing a connection before giving up and timing out. A duration of 0
+         * means infinity, and is not recommended.
+         */
+        Builder connectionTimeout(Duration connectionTimeout);
+
+        /**
+         * The HTTP protocol to use. When {@link Protocol#HTTP2} is used, HTTP/2 is negotiated with the server and HTTP/1.1 is
+         * used if the server doesn't support it.
+         */
+        Builder protocol(Protocol protocol);
+    }
+
+    private static final class DefaultBuilder implements Builder {
+        private final AttributeMap.Builder standardOptions = AttributeMap.builder();
+
+        private DefaultBuilder() {
+        }
+
+        @Override
+        public Builder readTimeout(Duration readTimeout) {
+            standardOptions.put(READ_TIMEOUT, readTimeout);
+            return this;
+        }
+
+        public void setReadTimeout(Duration readTimeout) {
+            readTimeout(readTimeout);
+        }
+
+        @Override
+        public Builder connectionTimeout(Duration connectionTimeout) {
+            standardOptions.put(CONNECTION_TIMEOUT, connectionTimeout);
+            return this;
+        }
+
+        public void setConnectionTimeout(Duration connectionTimeout) {
+            connectionTimeout(connectionTimeout);
+        }
+
+        @Override
+        public Builder protocol(Protocol protocol) {
+            standardOptions.put(PROTOCOL, protocol);
+            return this;
+        }
+
+        public void setProtocol(Protocol protocol) {
+            protocol(protocol);
+        }
+
+        @Override
+        public SdkHttpClient buildWithDefaults(AttributeMap serviceDefaults) {
+            return new JavaNetHttpClient(standardOptions.build()
+                                                        .merge(serviceDefaults)
+                                                        .merge(SdkHttpConfigurationOption.GLOBAL_HTTP_DEFAULTS));
+        }
+    }
+}
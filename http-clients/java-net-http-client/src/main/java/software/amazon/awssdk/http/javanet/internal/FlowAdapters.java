@@ -0,0 +1,123 @@
+/*
+ * Copyright 2010-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.javanet.internal;
+
+import java.util.concurrent.Flow;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+
+/**
+ * Converts between the Reactive Streams interfaces used by the SDK and the equivalent {@link Flow} interfaces used by
+ * {@link java.net.http.HttpClient}. The two sets of interfaces have the same semantics, so every signal is passed on as is.
+ */
+@SdkInternalApi
+public final class FlowAdapters {
+
+    private FlowAdapters() {
+    }
+
+    public static <T> Flow.Publisher<T> toFlowPublisher(Publisher<T> publisher) {
+        return flowSubscriber -> publisher.subscribe(new FlowToReactiveStreamsSubscriber<>(flowSubscriber));
+    }
+
+    public static <T> Publisher<T> toPublisher(Flow.Publisher<T> flowPublisher) {
+        return subscriber -> flowPublisher.subscribe(new ReactiveStreamsToFlowSubscriber<>(subscriber));
+    }
+
+    /**
+     * A Reactive Streams {@link Subscriber} that signals a {@link Flow.Subscriber}.
+     */
+    private static final class FlowToReactiveStreamsSubscriber<T> implements Subscriber<T> {
+        private final Flow.Subscriber<? super T> delegate;
+
+        private FlowToReactiveStreamsSubscriber(Flow.Subscriber<? super T> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            delegate.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                    subscription.request(n);
+                }
+
+                @Override
+                public void cancel() {
+                    subscription.cancel();
+                }
+            });
+        }
+
+        @Override
+        public void onNext(T item) {
+            delegate.onNext(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            delegate.onError(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            delegate.onComplete();
+        }
+    }
+
+    /**
+     * A {@link Flow.Subscriber} that signals a Reactive Streams {@link Subscriber}.
+     */
+    private static final class ReactiveStreamsToFlowSubscriber<T> implements Flow.Subscriber<T> {
+        private final Subscriber<? super T> delegate;
+
+        private ReactiveStreamsToFlowSubscriber(Subscriber<? super T> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            delegate.onSubscribe(new Subscription() {
+                @Override
+                public void request(long n) {
+                    subscription.request(n);
+                }
+
+                @Override
+                public void cancel() {
+                    subscription.cancel();
+                }
+            });
+        }
+
+        @Override
+        public void onNext(T item) {
+            delegate.onNext(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            delegate.onError(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            delegate.onComplete();
+        }
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2010-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.javanet.internal;
+
+import static software.amazon.awssdk.http.SdkHttpConfigurationOption.CONNECTION_TIMEOUT;
+import static software.amazon.awssdk.http.SdkHttpConfigurationOption.PROTOCOL;
+import static software.amazon.awssdk.http.SdkHttpConfigurationOption.TRUST_ALL_CERTIFICATES;
+
+import java.net.Socket;
+import java.net.http.HttpClient;
+import java.security.KeyManagementException;
+import java.security.NoSuchAlgorithmException;
+import java.security.cert.X509Certificate;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.X509ExtendedTrustManager;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.http.Protocol;
+import software.amazon.awssdk.utils.AttributeMap;
+import software.amazon.awssdk.utils.ThreadFactoryBuilder;
+
+/**
+ * Creates the {@link HttpClient} used by the SDK HTTP clients from the resolved SDK HTTP configuration options.
+ */
+@SdkInternalApi
+public final class JavaNetHttpClientFactory {
+
+    private JavaNetHttpClientFactory() {
+    }
+
+    /**
+     * @param options The resolved SDK HTTP configuration options.
+     * @param executor The executor the client runs its tasks and invokes response callbacks on.
+     */
+    public static HttpClient create(AttributeMap options, ExecutorService executor) {
+        HttpClient.Builder builder = HttpClient.newBuilder()
+                                               .executor(executor)
+                                               // Following redirects breaks SDK error handling, as with the other clients.
+                                               .followRedirects(HttpClient.Redirect.NEVER)
+                                               .version(options.get(PROTOCOL) == Protocol.HTTP2 ? HttpClient.Version.HTTP_2
+                                                                                                : HttpClient.Version.HTTP_1_1);
+
+        Duration connectionTimeout = options.get(CONNECTION_TIMEOUT);
+        if (!connectionTimeout.isZero()) {
+            builder.connectTimeout(connectionTimeout);
+        }
+
+        if (options.get(TRUST_ALL_CERTIFICATES)) {
+            builder.sslContext(trustAllSslContext());
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * @return The executor used when the customer doesn't configure one. Like the default executor of {@link HttpClient}, it
+     * is an unbounded cached pool, so a task is never left waiting for a thread. Its threads are daemon threads, so that an
+     * open client doesn't keep the JVM running.
+     */
+    public static ExecutorService createDefaultExecutor() {
+        return new ThreadPoolExecutor(0, Integer.MAX_VALUE,
+                                      60, TimeUnit.SECONDS,
+                                      new SynchronousQueue<>(),
+                                      new ThreadFactoryBuilder().threadNamePrefix("sdk-java-net-http")
+                                                                .daemonThreads(true)
+                                                                .build());
+    }
+
+    /**
+     * Should only be used in testing.
+     */
+    private static SSLContext trustAllSslContext() {
+        try {
+            SSLContext context = SSLContext.getInstance("TLS");
+            context.init(null, new TrustManager[] {TrustAllManager.INSTANCE}, null);
+            return context;
+        } catch (NoSuchAlgorithmException | KeyManagementException e) {
+            throw new IllegalStateException("Unable to create an SSL context that trusts all certificates.", e);
+        }
+    }
+
+    /**
+     * Insecure trust manager to trust all certs. Should only be used for testing. This extends
+     * {@link X509ExtendedTrustManager}, so that the host name of the server isn't verified against its certificate either.
+     */
+    private static final class TrustAllManager extends X509ExtendedTrustManager {
+
+        private static final TrustAllManager INSTANCE = new TrustAllManager();
+
+        @Override
+        public void checkClientTrusted(X509Certificate[] x509Certificates, String s) {
+            // no op
+        }
+
+        @Override
+        public void checkClientTrusted(X509Certificate[] x509Certificates, String s, Socket socket) {
+            // no op
+        }
+
+        @Override
+        public void checkClientTrusted(X509Certificate[] x509Certificates, String s, SSLEngine sslEngine) {
+            // no op
+        }
+
+        @Override
+        public void checkServerTrusted(X509Certificate[] x509Certificates, String s) {
+            // no op
+        }
+
+        @Override
+        public void checkServerTrusted(X509Certificate[] x509Certificates, String s, Socket socket) {
+            // no op
+        }
+
+        @Override
+        public void checkServerTrusted(X509Certificate[] x509Certificates, String s, SSLEngine sslEngine) {
+            // no op
+        }
+
+        @Override
+        public X509Certificate[] getAcceptedIssuers() {
+            return new X509Certificate[0];
+        }
+    }
+}
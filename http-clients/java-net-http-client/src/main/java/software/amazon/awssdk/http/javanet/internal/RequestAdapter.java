@@ -0,0 +1,90 @@
+/*
+ * Copyright 2010-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.javanet.internal;
+
+import java.net.http.HttpRequest;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Flow;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.http.SdkHttpRequest;
+import software.amazon.awssdk.utils.StringUtils;
+
+/**
+ * Converts an {@link SdkHttpRequest} into an {@link HttpRequest}.
+ */
+@SdkInternalApi
+public final class RequestAdapter {
+
+    /**
+     * Headers that {@link java.net.http.HttpClient} does not allow to be set, because it sets them itself based on the URI,
+     * the body and the protocol version of the request.
+     */
+    private static final Set<String> RESTRICTED_HEADERS = Collections.unmodifiableSet(
+        new HashSet<>(Arrays.asList("connection", "content-length", "date", "expect", "from", "host", "upgrade", "via",
+                                    "warning")));
+
+    private RequestAdapter() {
+    }
+
+    /**
+     * @param request The request to convert.
+     * @param readTimeout How long to wait for the response headers to be received. A duration of 0 means infinity.
+     * @return A builder for the request, to which the method and body still need to be added.
+     */
+    public static HttpRequest.Builder toRequestBuilder(SdkHttpRequest request, Duration readTimeout) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(request.getUri());
+        if (!readTimeout.isZero()) {
+            builder.timeout(readTimeout);
+        }
+
+        request.headers().forEach((name, values) -> {
+            String lowerCaseName = StringUtils.lowerCase(name);
+            if ("expect".equals(lowerCaseName)) {
+                builder.expectContinue(values.stream().anyMatch("100-continue"::equalsIgnoreCase));
+            } else if (!RESTRICTED_HEADERS.contains(lowerCaseName)) {
+                values.forEach(value -> builder.header(name, value));
+            }
+        });
+        return builder;
+    }
+
+    /**
+     * @param body The body of the request.
+     * @param contentLength The length of the body, if known. The body is sent chunked when the length is not known.
+     */
+    public static HttpRequest.BodyPublisher toBodyPublisher(Flow.Publisher<ByteBuffer> body, Optional<Long> contentLength) {
+        if (!contentLength.isPresent()) {
+            return HttpRequest.BodyPublishers.fromPublisher(body);
+        }
+        if (contentLength.get() == 0) {
+            return HttpRequest.BodyPublishers.noBody();
+        }
+        return HttpRequest.BodyPublishers.fromPublisher(body, contentLength.get());
+    }
+
+    /**
+     * @return The length of the body of the request, as declared by its Content-Length header.
+     */
+    public static Optional<Long> contentLength(SdkHttpRequest request) {
+        return request.firstMatchingHeader("Content-Length").map(Long::parseLong);
+    }
+}
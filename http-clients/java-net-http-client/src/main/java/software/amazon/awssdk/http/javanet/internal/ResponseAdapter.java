@@ -0,0 +1,50 @@
+/*
+ * Copyright 2010-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.javanet.internal;
+
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.http.SdkHttpResponse;
+
+/**
+ * Converts an {@link HttpResponse} into an {@link SdkHttpResponse}.
+ */
+@SdkInternalApi
+public final class ResponseAdapter {
+
+    private ResponseAdapter() {
+    }
+
+    /**
+     * @return The status code and headers of the response. HTTP/2 pseudo-headers are not included, and the status text is
+     * not available.
+     */
+    public static SdkHttpResponse toSdkHttpResponse(HttpResponse<?> response) {
+        Map<String, List<String>> headers = response.headers()
+                                                    .map()
+                                                    .entrySet()
+                                                    .stream()
+                                                    .filter(e -> !e.getKey().startsWith(":"))
+                                                    .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        return SdkHttpResponse.builder()
+                              .statusCode(response.statusCode())
+                              .headers(headers)
+                              .build();
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2010-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.javanet.internal;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.utils.async.FlatteningSubscriber;
+
+/**
+ * Publishes the body of a response received by {@link java.net.http.HttpClient} one buffer at a time, and completes the
+ * execution future of the request once the body has been fully delivered or has failed.
+ */
+@SdkInternalApi
+public final class ResponseBodyPublisher implements Publisher<ByteBuffer> {
+    private final Flow.Publisher<List<ByteBuffer>> body;
+    private final CompletableFuture<Void> executeFuture;
+
+    /**
+     * @param body The body of the response, as published by {@link java.net.http.HttpResponse.BodyHandlers#ofPublisher()}.
+     * @param executeFuture The future to complete once the body has been delivered.
+     */
+    public ResponseBodyPublisher(Flow.Publisher<List<ByteBuffer>> body, CompletableFuture<Void> executeFuture) {
+        this.body = body;
+        this.executeFuture = executeFuture;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super ByteBuffer> subscriber) {
+        FlowAdapters.toPublisher(body).subscribe(new FlatteningSubscriber<>(new CompletingSubscriber(subscriber)));
+    }
+
+    /**
+     * Completes the execution future after passing on the terminal signal.
+     */
+    private final class CompletingSubscriber implements Subscriber<ByteBuffer> {
+        private final Subscriber<? super ByteBuffer> delegate;
+
+        private CompletingSubscriber(Subscriber<? super ByteBuffer> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            delegate.onSubscribe(subscription);
+        }
+
+        @Override
+        public void onNext(ByteBuffer byteBuffer) {
+            delegate.onNext(byteBuffer);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            try {
+                delegate.onError(t);
+            } finally {
+                executeFuture.completeExceptionally(t);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            try {
+                delegate.onComplete();
+            } finally {
+                executeFuture.complete(null);
+            }
+        }
+    }
+}
@@ -0,0 +1,285 @@
+/*
+ * Copyright 2010-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.javanet;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.any;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.putRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.github.tomakehurst.wiremock.junit.WireMockRule;
+import java.io.ByteArrayOutputStream;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.http.SdkHttpFullRequest;
+import software.amazon.awssdk.http.SdkHttpMethod;
+import software.amazon.awssdk.http.SdkHttpRequest;
+import software.amazon.awssdk.http.SdkHttpResponse;
+import software.amazon.awssdk.http.async.AsyncExecuteRequest;
+import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
+import software.amazon.awssdk.http.async.SdkAsyncHttpResponseHandler;
+import software.amazon.awssdk.http.async.SdkHttpContentPublisher;
+
+public class JavaNetAsyncHttpClientWireMockTest {
+    @Rule
+    public WireMockRule mockServer = new WireMockRule(wireMockConfig().dynamicPort());
+
+    private final SdkAsyncHttpClient client = JavaNetAsyncHttpClient.create();
+
+    @After
+    public void teardown() {
+        client.close();
+    }
+
+    @Test
+    public void canSendContentAndGetThatContentBack() throws Exception {
+        mockServer.stubFor(any(urlPathEqualTo("/echo")).willReturn(aResponse().withStatus(201)
+                                                                              .withHeader("Some-Header", "With Value")
+                                                                              .withBody("dlrow olleh")));
+
+        RecordingResponseHandler handler = new RecordingResponseHandler();
+        CompletableFuture<Void> executeFuture = client.execute(request(SdkHttpMethod.POST, "hello world", handler));
+        executeFuture.get(5, TimeUnit.SECONDS);
+
+        assertThat(handler.headers.statusCode()).isEqualTo(201);
+        assertThat(handler.headers.firstMatchingHeader("Some-Header")).contains("With Value");
+        assertThat(handler.body()).isEqualTo("dlrow olleh");
+        mockServer.verify(postRequestedFor(urlPathEqualTo("/echo")).withRequestBody(equalTo("hello world"))
+                                                                   .withHeader("Content-Length", equalTo("11"))
+                                                                   .withHeader("User-Agent", equalTo("hello-world!")));
+    }
+
+    @Test
+    public void publisherWithUnknownLength_sendsContentLengthDeclaredByRequest() throws Exception {
+        mockServer.stubFor(any(urlPathEqualTo("/echo")).willReturn(aResponse().withStatus(200)));
+
+        client.execute(request(SdkHttpMethod.PUT, "hello world", content("hello world", false), new RecordingResponseHandler()))
+              .get(5, TimeUnit.SECONDS);
+
+        mockServer.verify(putRequestedFor(urlPathEqualTo("/echo")).withRequestBody(equalTo("hello world"))
+                                                                  .withHeader("Content-Length", equalTo("11"))
+                                                                  .withoutHeader("Transfer-Encoding"));
+    }
+
+    @Test
+    public void canMakeRequestWithoutContent() throws Exception {
+        mockServer.stubFor(any(urlPathEqualTo("/echo")).willReturn(aResponse().withBody("hello")));
+
+        RecordingResponseHandler handler = new RecordingResponseHandler();
+        client.execute(request(SdkHttpMethod.GET, "", handler)).get(5, TimeUnit.SECONDS);
+
+        assertThat(handler.headers.statusCode()).isEqualTo(200);
+        assertThat(handler.body()).isEqualTo("hello");
+    }
+
+    @Test
+    public void connectionFailure_failsFutureAndNotifiesHandler() throws Exception {
+        int closedPort;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            closedPort = socket.getLocalPort();
+        }
+
+        RecordingResponseHandler handler = new RecordingResponseHandler();
+        SdkHttpRequest request = SdkHttpRequest.builder()
+                                               .uri(URI.create("http://localhost:" + closedPort + "/echo"))
+                                               .method(SdkHttpMethod.GET)
+                                               .build();
+        CompletableFuture<Void> executeFuture = client.execute(AsyncExecuteRequest.builder()
+                                                                                  .request(request)
+                                                                                  .requestContentPublisher(content(""))
+                                                                                  .responseHandler(handler)
+                                                                                  .build());
+
+        assertThatThrownBy(() -> executeFuture.get(5, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class)
+                                                                        .hasCauseInstanceOf(ConnectException.class);
+        assertThat(handler.error).isInstanceOf(ConnectException.class);
+    }
+
+    @Test
+    public void handlerThrowsOnHeaders_failsFutureAndNotifiesHandler() {
+        handlerThrows_failsFutureAndNotifiesHandler(true);
+    }
+
+    @Test
+    public void handlerThrowsOnStream_failsFutureAndNotifiesHandler() {
+        handlerThrows_failsFutureAndNotifiesHandler(false);
+    }
+
+    private void handlerThrows_failsFutureAndNotifiesHandler(boolean throwOnHeaders) {
+        mockServer.stubFor(any(urlPathEqualTo("/echo")).willReturn(aResponse().withBody("hello")));
+
+        ThrowingResponseHandler handler = new ThrowingResponseHandler(throwOnHeaders);
+        CompletableFuture<Void> executeFuture = client.execute(request(SdkHttpMethod.GET, "", handler));
+
+        assertThatThrownBy(() -> executeFuture.get(5, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class)
+                                                                        .hasCause(handler.failure);
+        assertThat(handler.error).isSameAs(handler.failure);
+    }
+
+    private AsyncExecuteRequest request(SdkHttpMethod method, String body, SdkAsyncHttpResponseHandler handler) {
+        return request(method, body, content(body), handler);
+    }
+
+    private AsyncExecuteRequest request(SdkHttpMethod method, String body, SdkHttpContentPublisher content,
+                                        SdkAsyncHttpResponseHandler handler) {
+        URI uri = URI.create("http://localhost:" + mockServer.port() + "/echo");
+        SdkHttpFullRequest request = SdkHttpFullRequest.builder()
+                                                       .uri(uri)
+                                                       .method(method)
+                                                       .putHeader("Host", uri.getHost())
+                                                       .putHeader("User-Agent", "hello-world!")
+                                                       .putHeader("Content-Length", Integer.toString(body.length()))
+                                                       .build();
+        return AsyncExecuteRequest.builder()
+                                  .request(request)
+                                  .requestContentPublisher(content)
+                                  .responseHandler(handler)
+                                  .build();
+    }
+
+    private static SdkHttpContentPublisher content(String body) {
+        return content(body, true);
+    }
+
+    private static SdkHttpContentPublisher content(String body, boolean knownLength) {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        return new SdkHttpContentPublisher() {
+            @Override
+            public Optional<Long> contentLength() {
+                return knownLength ? Optional.of((long) bytes.length) : Optional.empty();
+            }
+
+            @Override
+            public void subscribe(Subscriber<? super ByteBuffer> subscriber) {
+                subscriber.onSubscribe(new Subscription() {
+                    private boolean done = false;
+
+                    @Override
+                    public void request(long n) {
+                        if (done) {
+                            return;
+                        }
+                        done = true;
+                        if (bytes.length > 0) {
+                            subscriber.onNext(ByteBuffer.wrap(bytes));
+                        }
+                        subscriber.onComplete();
+                    }
+
+                    @Override
+                    public void cancel() {
+                        done = true;
+                    }
+                });
+            }
+        };
+    }
+
+    private static final class ThrowingResponseHandler implements SdkAsyncHttpResponseHandler {
+        private final RuntimeException failure = new RuntimeException("Handler failed");
+        private final boolean throwOnHeaders;
+        private volatile Throwable error;
+
+        private ThrowingResponseHandler(boolean throwOnHeaders) {
+            this.throwOnHeaders = throwOnHeaders;
+        }
+
+        @Override
+        public void onHeaders(SdkHttpResponse headers) {
+            if (throwOnHeaders) {
+                throw failure;
+            }
+        }
+
+        @Override
+        public void onStream(Publisher<ByteBuffer> stream) {
+            throw failure;
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            this.error = error;
+        }
+    }
+
+    private static final class RecordingResponseHandler implements SdkAsyncHttpResponseHandler {
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+        private volatile SdkHttpResponse headers;
+        private volatile Throwable error;
+
+        @Override
+        public void onHeaders(SdkHttpResponse headers) {
+            this.headers = headers;
+        }
+
+        @Override
+        public void onStream(Publisher<ByteBuffer> stream) {
+            stream.subscribe(new Subscriber<ByteBuffer>() {
+                @Override
+                public void onSubscribe(Subscription subscription) {
+                    subscription.request(Long.MAX_VALUE);
+                }
+
+                @Override
+                public void onNext(ByteBuffer byteBuffer) {
+                    byte[] bytes = new byte[byteBuffer.remaining()];
+                    byteBuffer.get(bytes);
+                    synchronized (body) {
+                        body.write(bytes, 0, bytes.length);
+                    }
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    error = t;
+                }
+
+                @Override
+                public void onComplete() {
+                }
+            });
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            this.error = error;
+        }
+
+        private String body() {
+            synchronized (body) {
+                return new String(body.toByteArray(), StandardCharsets.UTF_8);
+            }
+        }
+    }
+}
@@ -47,11 +47,14 @@ import software.amazon.awssdk.annotations.SdkPublicApi;
 import software.amazon.awssdk.annotations.SdkTestInternalApi;
 import software.amazon.awssdk.http.Protocol;
 import software.amazon.awssdk.http.SdkHttpConfigurationOption;
+import software.amazon.awssdk.http.SdkHttpMethod;
 import software.amazon.awssdk.http.SdkHttpRequest;
 import software.amazon.awssdk.http.async.AsyncExecuteRequest;
 import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
 import software.amazon.awssdk.http.nio.netty.internal.AwaitCloseChannelPoolMap;
+import software.amazon.awssdk.http.nio.netty.internal.ChannelPoolWarmer;
 import software.amazon.awssdk.http.nio.netty.internal.NettyConfiguration;
+import software.amazon.awssdk.http.nio.netty.internal.NettyConfigurationOption;
 import software.amazon.awssdk.http.nio.netty.internal.NettyRequestExecutor;
 import software.amazon.awssdk.http.nio.netty.internal.NonManagedEventLoopGroup;
 import software.amazon.awssdk.http.nio.netty.internal.RequestContext;
@@ -109,6 +112,20 @@ public final class NettyNioAsyncHttpClient implements SdkAsyncHttpClient {
         return new NettyRequestExecutor(ctx).execute();
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>At most {@link Builder#maxConcurrency(Integer)} connections are established. When HTTP/2 is used, the pool opens
+     * new streams on an existing connection wherever possible, so fewer connections than requested may be established.</p>
+     */
+    @Override
+    public CompletableFuture<Void> warmUp(URI endpoint, int numConnections) {
+        Validate.paramNotNull(endpoint, "endpoint");
+        Validate.isNotNegative(numConnections, "numConnections");
+        SdkHttpRequest request = SdkHttpRequest.builder().uri(endpoint).method(SdkHttpMethod.GET).build();
+        return ChannelPoolWarmer.warmUp(pools.get(poolKey(request)), Math.min(numConnections, configuration.maxConnections()));
+    }
+
     public static Builder builder() {
         return new DefaultBuilder();
     }
@@ -121,9 +138,14 @@ public final class NettyNioAsyncHttpClient implements SdkAsyncHttpClient {
     private SdkEventLoopGroup eventLoopGroup(DefaultBuilder builder) {
         Validate.isTrue(builder.eventLoopGroup == null || builder.eventLoopGroupBuilder == null,
                         "The eventLoopGroup and the eventLoopGroupFactory can't both be configured.");
+        boolean customEventLoopGroup = builder.eventLoopGroup != null || builder.eventLoopGroupBuilder != null;
+        Validate.isTrue(builder.transportType == null || !customEventLoopGroup,
+                        "The transportType can't be configured together with the eventLoopGroup or the "
+                        + "eventLoopGroupBuilder. Configure the transportType on the SdkEventLoopGroup.Builder instead.");
+        TransportType transportType = builder.transportType == null ? TransportType.NIO : builder.transportType;
         return Either.fromNullable(builder.eventLoopGroup, builder.eventLoopGroupBuilder)
                      .map(e -> e.map(this::nonManagedEventLoopGroup, SdkEventLoopGroup.Builder::build))
-                     .orElseGet(SharedSdkEventLoopGroup::get);
+                     .orElseGet(() -> SharedSdkEventLoopGroup.get(transportType));
     }
 
     private static URI poolKey(SdkHttpRequest sdkRequest) {
@@ -298,6 +320,20 @@ public final class NettyNioAsyncHttpClient implements SdkAsyncHttpClient {
          */
         Builder eventLoopGroupBuilder(SdkEventLoopGroup.Builder eventLoopGroupBuilder);
 
+        /**
+         * Sets the Netty transport used by the event loop group that is shared across HTTP clients when neither
+         * {@link #eventLoopGroup(SdkEventLoopGroup)} nor {@link #eventLoopGroupBuilder(SdkEventLoopGroup.Builder)} is
+         * configured. {@link TransportType#AUTO} uses a native transport, such as epoll on Linux, when one is available and
+         * falls back to NIO otherwise. By default, {@link TransportType#NIO} is used.
+         *
+         * <p>To use a specific transport with a custom event loop group, see
+         * {@link SdkEventLoopGroup.Builder#transportType(TransportType)}.</p>
+         *
+         * @param transportType The transport type to use.
+         * @return This builder for method chaining.
+         */
+        Builder transportType(TransportType transportType);
+
         /**
          * Sets the HTTP protocol to use (i.e. HTTP/1.1 or HTTP/2). Not all services support HTTP/2.
          *
@@ -343,6 +379,86 @@ public final class NettyNioAsyncHttpClient implements SdkAsyncHttpClient {
          * @return the builder of the method chaining.
          */
         Builder sslProvider(SslProvider sslProvider);
+
+        /**
+         * Configure whether response body content is handed to the response subscriber as read-only views over Netty's
+         * pooled buffers, instead of being copied into a new {@link java.nio.ByteBuffer} for every chunk read from the
+         * connection. This avoids a copy of every byte of large downloads. By default, this is disabled.
+         *
+         * <p>When enabled, a buffer passed to {@code Subscriber#onNext} is only valid until the subscriber next calls
+         * {@code Subscription#request} or {@code Subscription#cancel}, after which its memory is returned to Netty's pool and
+         * reused. A subscriber that requests more than one buffer at a time must finish reading each buffer before its
+         * {@code onNext} returns. The end of the stream is only signalled once the subscriber has requested more data after
+         * the last buffer. The response subscribers provided by the SDK, such as
+         * {@code AsyncResponseTransformer.toFile}, follow these rules; custom subscribers that keep buffers for later use must
+         * not enable this option.</p>
+         *
+         * @param zeroCopyResponseBody Whether to deliver response body content without copying it.
+         * @return This builder for method chaining.
+         */
+        Builder zeroCopyResponseBody(Boolean zeroCopyResponseBody);
+
+        /**
+         * Configure how often a PING frame is sent on each HTTP/2 connection to check that it is still alive. A connection
+         * whose PING is not acknowledged within the {@link #http2HealthCheckPingTimeout(Duration)} is closed, its streams
+         * are failed with a retryable error, and it is not used for new streams. This detects connections that have silently
+         * stopped working much sooner than the read timeout would. This setting is only respected when the HTTP/2 protocol
+         * is used.
+         *
+         * <p>By default, a PING is sent every 5 seconds. A duration of zero disables the health check.</p>
+         *
+         * @param http2HealthCheckPingPeriod How often to check the health of an HTTP/2 connection.
+         * @return This builder for method chaining.
+         */
+        Builder http2HealthCheckPingPeriod(Duration http2HealthCheckPingPeriod);
+
+        /**
+         * Configure how long to wait for a PING frame to be acknowledged before an HTTP/2 connection is considered dead. By
+         * default, this is 5 seconds.
+         *
+         * @param http2HealthCheckPingTimeout How long to wait for a PING frame to be acknowledged.
+         * @return This builder for method chaining.
+         * @see #http2HealthCheckPingPeriod(Duration)
+         */
+        Builder http2HealthCheckPingTimeout(Duration http2HealthCheckPingTimeout);
+
+        /**
+         * Sets the number of concurrent streams on an HTTP/2 connection after which new streams are opened on a new
+         * connection instead, even though the connection could take more streams. This spreads heavily multiplexed streams,
+         * such as long-lived event streams, over several connections so that they do not block each other. The total number
+         * of streams is still limited by {@link #maxConcurrency(Integer)}. This setting is only respected when the HTTP/2
+         * protocol is used.
+         *
+         * <p>New streams are always opened on the connection with the fewest streams. By default, a new connection is only
+         * opened once every connection has reached its {@link #maxHttp2Streams(Integer)}.</p>
+         *
+         * @param maxHttp2StreamsBeforeNewConnection Number of streams per connection after which a new connection is used.
+         * @return This builder for method chaining.
+         */
+        Builder maxHttp2StreamsBeforeNewConnection(Integer maxHttp2StreamsBeforeNewConnection);
+
+        /**
+         * Configure whether host names are resolved by the SDK's asynchronous resolver instead of Netty's default resolver,
+         * which looks up the host on the event loop and connects to the first address returned for it.
+         *
+         * <p>When enabled, host names are looked up on a separate thread pool and all of the addresses of a host are cached
+         * for the {@link #dnsCacheTtl(Duration)}. New connections are spread across all of the cached addresses in turn,
+         * rather than all going to the same address, and an address that a connection can't be established to is not used
+         * again until the host is looked up again. By default, this is disabled.</p>
+         *
+         * @param useAsyncDnsResolver Whether to use the SDK's asynchronous, caching resolver.
+         * @return This builder for method chaining.
+         */
+        Builder useAsyncDnsResolver(Boolean useAsyncDnsResolver);
+
+        /**
+         * Configure how long the addresses of a host are cached before the host is looked up again. This is only respected
+         * when {@link #useAsyncDnsResolver(Boolean)} is enabled. By default, this is 30 seconds.
+         *
+         * @param dnsCacheTtl How long to cache the addresses of a host.
+         * @return This builder for method chaining.
+         */
+        Builder dnsCacheTtl(Duration dnsCacheTtl);
     }
 
     /**
@@ -357,6 +473,7 @@ public final class NettyNioAsyncHttpClient implements SdkAsyncHttpClient {
 
         private SdkEventLoopGroup eventLoopGroup;
         private SdkEventLoopGroup.Builder eventLoopGroupBuilder;
+        private TransportType transportType;
         private Integer maxHttp2Streams;
         private SslProvider sslProvider;
 
@@ -479,6 +596,16 @@ public final class NettyNioAsyncHttpClient implements SdkAsyncHttpClient {
             eventLoopGroupBuilder(eventLoopGroupBuilder);
         }
 
+        @Override
+        public Builder transportType(TransportType transportType) {
+            this.transportType = transportType;
+            return this;
+        }
+
+        public void setTransportType(TransportType transportType) {
+            transportType(transportType);
+        }
+
         @Override
         public Builder protocol(Protocol protocol) {
             standardOptions.put(SdkHttpConfigurationOption.PROTOCOL, protocol);
@@ -515,6 +642,73 @@ public final class NettyNioAsyncHttpClient implements SdkAsyncHttpClient {
             sslProvider(sslProvider);
         }
 
+        @Override
+        public Builder zeroCopyResponseBody(Boolean zeroCopyResponseBody) {
+            standardOptions.put(NettyConfigurationOption.ZERO_COPY_RESPONSE_BODY, zeroCopyResponseBody);
+            return this;
+        }
+
+        public void setZeroCopyResponseBody(Boolean zeroCopyResponseBody) {
+            zeroCopyResponseBody(zeroCopyResponseBody);
+        }
+
+        @Override
+        public Builder http2HealthCheckPingPeriod(Duration http2HealthCheckPingPeriod) {
+            Validate.isNotNegative(http2HealthCheckPingPeriod, "http2HealthCheckPingPeriod");
+            standardOptions.put(NettyConfigurationOption.HTTP2_HEALTH_CHECK_PING_PERIOD, http2HealthCheckPingPeriod);
+            return this;
+        }
+
+        public void setHttp2HealthCheckPingPeriod(Duration http2HealthCheckPingPeriod) {
+            http2HealthCheckPingPeriod(http2HealthCheckPingPeriod);
+        }
+
+        @Override
+        public Builder http2HealthCheckPingTimeout(Duration http2HealthCheckPingTimeout) {
+            Validate.isPositive(http2HealthCheckPingTimeout, "http2HealthCheckPingTimeout");
+            standardOptions.put(NettyConfigurationOption.HTTP2_HEALTH_CHECK_PING_TIMEOUT, http2HealthCheckPingTimeout);
+            return this;
+        }
+
+        public void setHttp2HealthCheckPingTimeout(Duration http2HealthCheckPingTimeout) {
+            http2HealthCheckPingTimeout(http2HealthCheckPingTimeout);
+        }
+
+        @Override
+        public Builder maxHttp2StreamsBeforeNewConnection(Integer maxHttp2StreamsBeforeNewConnection) {
+            if (maxHttp2StreamsBeforeNewConnection != null) {
+                Validate.isPositive(maxHttp2StreamsBeforeNewConnection, "maxHttp2StreamsBeforeNewConnection");
+            }
+            standardOptions.put(NettyConfigurationOption.MAX_HTTP2_STREAMS_BEFORE_NEW_CONNECTION,
+                                maxHttp2StreamsBeforeNewConnection);
+            return this;
+        }
+
+        public void setMaxHttp2StreamsBeforeNewConnection(Integer maxHttp2StreamsBeforeNewConnection) {
+            maxHttp2StreamsBeforeNewConnection(maxHttp2StreamsBeforeNewConnection);
+        }
+
+        @Override
+        public Builder useAsyncDnsResolver(Boolean useAsyncDnsResolver) {
+            standardOptions.put(NettyConfigurationOption.USE_ASYNC_DNS_RESOLVER, useAsyncDnsResolver);
+            return this;
+        }
+
+        public void setUseAsyncDnsResolver(Boolean useAsyncDnsResolver) {
+            useAsyncDnsResolver(useAsyncDnsResolver);
+        }
+
+        @Override
+        public Builder dnsCacheTtl(Duration dnsCacheTtl) {
+            Validate.isPositive(dnsCacheTtl, "dnsCacheTtl");
+            standardOptions.put(NettyConfigurationOption.DNS_CACHE_TTL, dnsCacheTtl);
+            return this;
+        }
+
+        public void setDnsCacheTtl(Duration dnsCacheTtl) {
+            dnsCacheTtl(dnsCacheTtl);
+        }
+
         @Override
         public SdkAsyncHttpClient buildWithDefaults(AttributeMap serviceDefaults) {
             return new NettyNioAsyncHttpClient(this, standardOptions.build()
@@ -18,12 +18,11 @@ package software.amazon.awssdk.http.nio.netty;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFactory;
 import io.netty.channel.EventLoopGroup;
-import io.netty.channel.nio.NioEventLoopGroup;
-import io.netty.channel.socket.nio.NioSocketChannel;
 import java.util.Optional;
 import java.util.concurrent.ThreadFactory;
 import software.amazon.awssdk.annotations.SdkPublicApi;
 import software.amazon.awssdk.http.nio.netty.internal.utils.SocketChannelResolver;
+import software.amazon.awssdk.http.nio.netty.internal.utils.TransportUtils;
 import software.amazon.awssdk.utils.ThreadFactoryBuilder;
 import software.amazon.awssdk.utils.Validate;
 
@@ -75,8 +74,10 @@ public final class SdkEventLoopGroup {
      * Create an instance of {@link SdkEventLoopGroup} from the builder
      */
     private SdkEventLoopGroup(DefaultBuilder builder) {
-        this.eventLoopGroup = resolveEventLoopGroup(builder);
-        this.channelFactory = resolveChannelFactory();
+        TransportType transportType = TransportUtils.resolve(Optional.ofNullable(builder.transportType)
+                                                                     .orElse(TransportType.NIO));
+        this.eventLoopGroup = resolveEventLoopGroup(builder, transportType);
+        this.channelFactory = TransportUtils.channelFactory(transportType, eventLoopGroup);
     }
 
     /**
@@ -123,26 +124,12 @@ public final class SdkEventLoopGroup {
         return new DefaultBuilder();
     }
 
-    private EventLoopGroup resolveEventLoopGroup(DefaultBuilder builder) {
+    private EventLoopGroup resolveEventLoopGroup(DefaultBuilder builder, TransportType transportType) {
         int numThreads = Optional.ofNullable(builder.numberOfThreads).orElse(0);
         ThreadFactory threadFactory = Optional.ofNullable(builder.threadFactory)
                                               .orElse(new ThreadFactoryBuilder().threadNamePrefix("aws-java-sdk-NettyEventLoop")
                                                                                 .build());
-        return new NioEventLoopGroup(numThreads, threadFactory);
-        /*
-        Need to investigate why epoll is raising channel inactive after successful response that causes
-        problems with retries.
-
-        if (Epoll.isAvailable() && isNotAwsLambda()) {
-            return new EpollEventLoopGroup(numThreads, resolveThreadFactory());
-        } else {
-
-        }*/
-    }
-
-    private ChannelFactory<? extends Channel> resolveChannelFactory() {
-        // Currently we only support NioEventLoopGroup
-        return NioSocketChannel::new;
+        return TransportUtils.newEventLoopGroup(transportType, numThreads, threadFactory);
     }
 
     /**
@@ -171,6 +158,16 @@ public final class SdkEventLoopGroup {
          */
         Builder threadFactory(ThreadFactory threadFactory);
 
+        /**
+         * The Netty transport to use for the {@link EventLoopGroup} and its channels. {@link TransportType#AUTO} uses a
+         * native transport, such as epoll on Linux, when one is available and falls back to NIO otherwise. If not set,
+         * {@link TransportType#NIO} is used.
+         *
+         * @param transportType The transport type to use.
+         * @return This builder for method chaining.
+         */
+        Builder transportType(TransportType transportType);
+
         SdkEventLoopGroup build();
     }
 
@@ -178,6 +175,7 @@ public final class SdkEventLoopGroup {
 
         private Integer numberOfThreads;
         private ThreadFactory threadFactory;
+        private TransportType transportType;
 
         private DefaultBuilder() {
         }
@@ -202,6 +200,16 @@ public final class SdkEventLoopGroup {
             threadFactory(threadFactory);
         }
 
+        @Override
+        public Builder transportType(TransportType transportType) {
+            this.transportType = transportType;
+            return this;
+        }
+
+        public void setTransportType(TransportType transportType) {
+            transportType(transportType);
+        }
+
         @Override
         public SdkEventLoopGroup build() {
             return new SdkEventLoopGroup(this);
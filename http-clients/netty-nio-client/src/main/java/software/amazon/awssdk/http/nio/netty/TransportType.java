@@ -0,0 +1,53 @@
+/*
+ * Copyright 2010-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.nio.netty;
+
+import software.amazon.awssdk.annotations.SdkPublicApi;
+
+/**
+ * The Netty transport used by the {@link io.netty.channel.EventLoopGroup} and channels of the {@link NettyNioAsyncHttpClient}.
+ *
+ * @see SdkEventLoopGroup.Builder#transportType(TransportType)
+ * @see NettyNioAsyncHttpClient.Builder#transportType(TransportType)
+ */
+@SdkPublicApi
+public enum TransportType {
+
+    /**
+     * Use a native transport when one is available for the current platform, and fall back to {@link #NIO} otherwise.
+     * {@link #EPOLL} is used on Linux, and {@link #KQUEUE} is used on macOS and BSD when
+     * {@code io.netty:netty-transport-native-kqueue} is on the classpath.
+     */
+    AUTO,
+
+    /**
+     * Use the Java NIO transport, which is available on every platform. This is the default.
+     */
+    NIO,
+
+    /**
+     * Use Netty's native epoll transport. This is only available on Linux, and creating the event loop group will fail if it
+     * cannot be loaded.
+     */
+    EPOLL,
+
+    /**
+     * Use Netty's native kqueue transport. This is only available on macOS and BSD and requires
+     * {@code io.netty:netty-transport-native-kqueue} on the classpath. Creating the event loop group will fail if it cannot be
+     * loaded.
+     */
+    KQUEUE
+}
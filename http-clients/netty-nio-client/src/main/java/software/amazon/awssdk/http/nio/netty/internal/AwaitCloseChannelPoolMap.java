@@ -60,6 +60,7 @@ public final class AwaitCloseChannelPoolMap extends SdkChannelPoolMap<URI,
     private final Protocol protocol;
     private final long maxStreams;
     private final SslProvider sslProvider;
+    private final CachingAddressResolverGroup addressResolverGroup;
 
     private AwaitCloseChannelPoolMap(Builder builder) {
         this.sdkChannelOptions = builder.sdkChannelOptions;
@@ -68,6 +69,9 @@ public final class AwaitCloseChannelPoolMap extends SdkChannelPoolMap<URI,
         this.protocol = builder.protocol;
         this.maxStreams = builder.maxStreams;
         this.sslProvider = builder.sslProvider;
+        this.addressResolverGroup = configuration.useAsyncDnsResolver()
+                                    ? new CachingAddressResolverGroup(configuration.dnsCacheTtl())
+                                    : null;
     }
 
     public static Builder builder() {
@@ -85,10 +89,14 @@ public final class AwaitCloseChannelPoolMap extends SdkChannelPoolMap<URI,
                 // TODO run some performance tests with and without this.
                 .remoteAddress(key.getHost(), key.getPort());
         sdkChannelOptions.channelOptions().forEach(bootstrap::option);
+        if (addressResolverGroup != null) {
+            bootstrap.resolver(addressResolverGroup);
+        }
 
         AtomicReference<ChannelPool> channelPoolRef = new AtomicReference<>();
         ChannelPipelineInitializer handler =
-            new ChannelPipelineInitializer(protocol, sslContext, maxStreams, channelPoolRef, configuration, key);
+            new ChannelPipelineInitializer(protocol, sslContext, maxStreams, channelPoolRef, configuration, key,
+                                           addressResolverGroup);
 
         BetterSimpleChannelPool simpleChannelPool = new BetterSimpleChannelPool(bootstrap, handler);
 
@@ -118,6 +126,10 @@ public final class AwaitCloseChannelPoolMap extends SdkChannelPoolMap<URI,
             throw new RuntimeException(e);
         } catch (ExecutionException | TimeoutException e) {
             throw new RuntimeException(e);
+        } finally {
+            if (addressResolverGroup != null) {
+                addressResolverGroup.close();
+            }
         }
     }
 
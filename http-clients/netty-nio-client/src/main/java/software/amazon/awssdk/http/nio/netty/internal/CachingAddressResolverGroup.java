@@ -0,0 +1,267 @@
+/*
+ * Copyright 2010-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.nio.netty.internal;
+
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import io.netty.resolver.AbstractAddressResolver;
+import io.netty.resolver.AddressResolver;
+import io.netty.resolver.AddressResolverGroup;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.Promise;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.annotations.SdkTestInternalApi;
+import software.amazon.awssdk.utils.Logger;
+import software.amazon.awssdk.utils.ThreadFactoryBuilder;
+
+/**
+ * {@link AddressResolverGroup} that resolves host names without blocking the event loops, caches every address of a host
+ * and spreads new connections across them.
+ *
+ * <ul>
+ *     <li>Host names are looked up on a small dedicated thread pool, so that a slow DNS server never blocks an event
+ *     loop. Concurrent resolutions of the same host share a single lookup.</li>
+ *     <li>All addresses returned for a host are cached for the configured time to live, after which the host is looked up
+ *     again.</li>
+ *     <li>Each resolution returns the next cached address in turn, so that the connections of a pool are spread across all
+ *     of the addresses of the host instead of all going to the first one.</li>
+ *     <li>An address that a connection could not be established to is removed from the cached addresses, so no more
+ *     connections are attempted to it until the host is looked up again. The host is looked up again as soon as all of its
+ *     addresses have been removed. Connection failures are reported by the handler returned by
+ *     {@link #connectFailureHandler()}, which must be added to the pipeline of every channel.</li>
+ * </ul>
+ */
+@SdkInternalApi
+public final class CachingAddressResolverGroup extends AddressResolverGroup<InetSocketAddress> {
+    private static final Logger log = Logger.loggerFor(CachingAddressResolverGroup.class);
+
+    private static final int MAX_LOOKUP_THREADS = 4;
+
+    private final ConcurrentMap<String, CompletableFuture<HostAddresses>> cache = new ConcurrentHashMap<>();
+    private final HostAddressLookup lookup;
+    private final long ttlNanos;
+    private final ExecutorService lookupExecutor;
+    private final ChannelHandler connectFailureHandler = new ConnectFailureHandler();
+
+    public CachingAddressResolverGroup(Duration ttl) {
+        this(InetAddress::getAllByName, ttl);
+    }
+
+    @SdkTestInternalApi
+    CachingAddressResolverGroup(HostAddressLookup lookup, Duration ttl) {
+        this.lookup = lookup;
+        this.ttlNanos = ttl.toNanos();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(MAX_LOOKUP_THREADS, MAX_LOOKUP_THREADS,
+                                                             60, TimeUnit.SECONDS,
+                                                             new LinkedBlockingQueue<>(),
+                                                             new ThreadFactoryBuilder().threadNamePrefix("sdk-netty-dns")
+                                                                                       .daemonThreads(true)
+                                                                                       .build());
+        executor.allowCoreThreadTimeOut(true);
+        this.lookupExecutor = executor;
+    }
+
+    @Override
+    protected AddressResolver<InetSocketAddress> newResolver(EventExecutor executor) {
+        return new CachingAddressResolver(executor);
+    }
+
+    /**
+     * @return A handler that removes the address a channel could not connect to from the cached addresses.
+     */
+    public ChannelHandler connectFailureHandler() {
+        return connectFailureHandler;
+    }
+
+    /**
+     * Removes an address that could not be connected to from the cached addresses of its host.
+     */
+    void markUnreachable(InetSocketAddress address) {
+        CompletableFuture<HostAddresses> cached = cache.get(address.getHostString());
+        if (cached != null && cached.isDone() && !cached.isCompletedExceptionally()) {
+            log.debug(() -> "Not connecting to " + address.getAddress() + " again until " + address.getHostString()
+                            + " is resolved again, because a connection to it could not be established.");
+            cached.join().remove(address.getAddress());
+        }
+    }
+
+    @Override
+    public void close() {
+        super.close();
+        lookupExecutor.shutdownNow();
+    }
+
+    private CompletableFuture<HostAddresses> resolveHost(String host) {
+        while (true) {
+            CompletableFuture<HostAddresses> cached = cache.get(host);
+            if (cached != null && !isStale(cached)) {
+                return cached;
+            }
+
+            CompletableFuture<HostAddresses> lookupFuture = new CompletableFuture<>();
+            boolean replaced = cached == null ? cache.putIfAbsent(host, lookupFuture) == null
+                                              : cache.replace(host, cached, lookupFuture);
+            if (replaced) {
+                lookUp(host, lookupFuture);
+                return lookupFuture;
+            }
+        }
+    }
+
+    private static boolean isStale(CompletableFuture<HostAddresses> cached) {
+        return cached.isDone() && (cached.isCompletedExceptionally() || cached.join().isExpired());
+    }
+
+    private void lookUp(String host, CompletableFuture<HostAddresses> lookupFuture) {
+        try {
+            lookupExecutor.execute(() -> {
+                try {
+                    lookupFuture.complete(new HostAddresses(lookup.lookup(host), System.nanoTime() + ttlNanos));
+                } catch (UnknownHostException | RuntimeException e) {
+                    lookupFuture.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            lookupFuture.completeExceptionally(new IllegalStateException("The address resolver has been closed.", e));
+        }
+    }
+
+    private static Throwable unwrap(Throwable t) {
+        return t instanceof CompletionException && t.getCause() != null ? t.getCause() : t;
+    }
+
+    /**
+     * Looks up all of the addresses of a host. This may block.
+     */
+    @FunctionalInterface
+    interface HostAddressLookup {
+        InetAddress[] lookup(String host) throws UnknownHostException;
+    }
+
+    /**
+     * The cached addresses of a host.
+     */
+    private static final class HostAddresses {
+        private final List<InetAddress> addresses;
+        private final long expiresAtNanos;
+        private final AtomicInteger nextAddress = new AtomicInteger(0);
+
+        private HostAddresses(InetAddress[] addresses, long expiresAtNanos) {
+            this.addresses = new CopyOnWriteArrayList<>(Arrays.asList(addresses));
+            this.expiresAtNanos = expiresAtNanos;
+        }
+
+        private boolean isExpired() {
+            return addresses.isEmpty() || System.nanoTime() - expiresAtNanos >= 0;
+        }
+
+        private InetAddress next() throws UnknownHostException {
+            Object[] snapshot = addresses.toArray();
+            if (snapshot.length == 0) {
+                throw new UnknownHostException("None of the addresses of the host could be connected to.");
+            }
+            return (InetAddress) snapshot[Math.floorMod(nextAddress.getAndIncrement(), snapshot.length)];
+        }
+
+        private List<InetAddress> all() {
+            return addresses;
+        }
+
+        private void remove(InetAddress address) {
+            addresses.remove(address);
+        }
+    }
+
+    private final class CachingAddressResolver extends AbstractAddressResolver<InetSocketAddress> {
+
+        private CachingAddressResolver(EventExecutor executor) {
+            super(executor, InetSocketAddress.class);
+        }
+
+        @Override
+        protected boolean doIsResolved(InetSocketAddress address) {
+            return !address.isUnresolved();
+        }
+
+        @Override
+        protected void doResolve(InetSocketAddress unresolvedAddress, Promise<InetSocketAddress> promise) {
+            resolveHost(unresolvedAddress.getHostString()).whenComplete((addresses, t) -> {
+                if (t != null) {
+                    promise.tryFailure(unwrap(t));
+                    return;
+                }
+                try {
+                    promise.trySuccess(new InetSocketAddress(addresses.next(), unresolvedAddress.getPort()));
+                } catch (UnknownHostException e) {
+                    promise.tryFailure(e);
+                }
+            });
+        }
+
+        @Override
+        protected void doResolveAll(InetSocketAddress unresolvedAddress, Promise<List<InetSocketAddress>> promise) {
+            resolveHost(unresolvedAddress.getHostString()).whenComplete((addresses, t) -> {
+                if (t != null) {
+                    promise.tryFailure(unwrap(t));
+                } else {
+                    promise.trySuccess(addresses.all().stream()
+                                                .map(a -> new InetSocketAddress(a, unresolvedAddress.getPort()))
+                                                .collect(Collectors.toList()));
+                }
+            });
+        }
+    }
+
+    /**
+     * Reports the address a channel could not connect to.
+     */
+    @ChannelHandler.Sharable
+    private final class ConnectFailureHandler extends ChannelOutboundHandlerAdapter {
+        @Override
+        public void connect(ChannelHandlerContext ctx, SocketAddress remoteAddress, SocketAddress localAddress,
+                            ChannelPromise promise) throws Exception {
+            if (remoteAddress instanceof InetSocketAddress && !((InetSocketAddress) remoteAddress).isUnresolved()) {
+                promise.addListener(f -> {
+                    if (!f.isSuccess() && !f.isCancelled()) {
+                        markUnreachable((InetSocketAddress) remoteAddress);
+                    }
+                });
+            }
+            super.connect(ctx, remoteAddress, localAddress, promise);
+        }
+    }
+}
@@ -38,6 +38,8 @@ import javax.net.ssl.SSLEngine;
 import javax.net.ssl.SSLParameters;
 import software.amazon.awssdk.annotations.SdkInternalApi;
 import software.amazon.awssdk.http.Protocol;
+import software.amazon.awssdk.http.nio.netty.internal.http2.Http2GoAwayFrameHandler;
+import software.amazon.awssdk.http.nio.netty.internal.http2.Http2PingHandler;
 import software.amazon.awssdk.http.nio.netty.internal.http2.Http2SettingsFrameHandler;
 
 /**
@@ -51,25 +53,36 @@ public final class ChannelPipelineInitializer extends AbstractChannelPoolHandler
     private final AtomicReference<ChannelPool> channelPoolRef;
     private final NettyConfiguration configuration;
     private final URI poolKey;
+    private final CachingAddressResolverGroup addressResolverGroup;
 
+    /**
+     * @param addressResolverGroup The resolver that resolves the addresses of the channels, or null if Netty's default
+     * resolver is used.
+     */
     public ChannelPipelineInitializer(Protocol protocol,
                                       SslContext sslCtx,
                                       long clientMaxStreams,
                                       AtomicReference<ChannelPool> channelPoolRef,
                                       NettyConfiguration configuration,
-                                      URI poolKey) {
+                                      URI poolKey,
+                                      CachingAddressResolverGroup addressResolverGroup) {
         this.protocol = protocol;
         this.sslCtx = sslCtx;
         this.clientMaxStreams = clientMaxStreams;
         this.channelPoolRef = channelPoolRef;
         this.configuration = configuration;
         this.poolKey = poolKey;
+        this.addressResolverGroup = addressResolverGroup;
     }
 
     @Override
     public void channelCreated(Channel ch) {
         ch.attr(PROTOCOL_FUTURE).set(new CompletableFuture<>());
         ChannelPipeline pipeline = ch.pipeline();
+        if (addressResolverGroup != null) {
+            pipeline.addLast(addressResolverGroup.connectFailureHandler());
+        }
+
         if (sslCtx != null) {
 
             // Need to provide host and port to enable SNI
@@ -124,6 +137,12 @@ public final class ChannelPipelineInitializer extends AbstractChannelPoolHandler
 
         pipeline.addLast(codecBuilder.build());
 
+        long pingPeriodMillis = configuration.http2HealthCheckPingPeriodMillis();
+        if (pingPeriodMillis > 0) {
+            pipeline.addLast(new Http2PingHandler(pingPeriodMillis, configuration.http2HealthCheckPingTimeoutMillis()));
+        }
+        pipeline.addLast(Http2GoAwayFrameHandler.getInstance());
+
         pipeline.addLast(new Http2SettingsFrameHandler(ch, clientMaxStreams, channelPoolRef));
     }
 
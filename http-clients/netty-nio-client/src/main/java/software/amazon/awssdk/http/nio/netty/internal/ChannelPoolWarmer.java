@@ -0,0 +1,110 @@
+/*
+ * Copyright 2010-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.nio.netty.internal;
+
+import io.netty.channel.Channel;
+import io.netty.channel.pool.ChannelPool;
+import io.netty.handler.ssl.SslHandler;
+import io.netty.util.concurrent.Future;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.utils.Logger;
+
+/**
+ * Fills a {@link ChannelPool} with connections ahead of time.
+ *
+ * <p>All of the channels are acquired at the same time, so that the pool has to establish a new connection for each of them,
+ * and are only released back to the pool once every one of them is ready to be used, i.e. connected and, for HTTPS, done
+ * with its TLS handshake. Releasing a channel as soon as it is ready would let the next acquire reuse it instead of
+ * establishing another connection.</p>
+ *
+ * <p>For HTTP/2, the pool hands out streams on a shared connection, so fewer connections than requested may be
+ * established.</p>
+ */
+@SdkInternalApi
+public final class ChannelPoolWarmer {
+    private static final Logger log = Logger.loggerFor(ChannelPoolWarmer.class);
+
+    private ChannelPoolWarmer() {
+    }
+
+    /**
+     * @param pool The pool to establish the connections in.
+     * @param numConnections The number of connections to establish.
+     * @return A future that is completed once all of the connections are established and have been released to the pool.
+     */
+    public static CompletableFuture<Void> warmUp(ChannelPool pool, int numConnections) {
+        List<CompletableFuture<Channel>> channels = new ArrayList<>(numConnections);
+        for (int i = 0; i < numConnections; i++) {
+            channels.add(acquireReadyChannel(pool));
+        }
+
+        CompletableFuture<Void> warmUpFuture = new CompletableFuture<>();
+        CompletableFuture.allOf(channels.toArray(new CompletableFuture[0])).whenComplete((r, t) -> {
+            channels.stream()
+                    .filter(c -> !c.isCompletedExceptionally())
+                    .forEach(c -> pool.release(c.join()));
+            if (t != null) {
+                warmUpFuture.completeExceptionally(t);
+            } else {
+                log.debug(() -> "Established " + numConnections + " connections ahead of time.");
+                warmUpFuture.complete(null);
+            }
+        });
+        return warmUpFuture;
+    }
+
+    private static CompletableFuture<Channel> acquireReadyChannel(ChannelPool pool) {
+        CompletableFuture<Channel> readyFuture = new CompletableFuture<>();
+        Future<Channel> acquireFuture = pool.acquire();
+        acquireFuture.addListener(f -> {
+            if (!f.isSuccess()) {
+                readyFuture.completeExceptionally(f.cause());
+                return;
+            }
+
+            Channel channel = acquireFuture.getNow();
+            SslHandler sslHandler = sslHandler(channel);
+            if (sslHandler == null) {
+                readyFuture.complete(channel);
+                return;
+            }
+
+            sslHandler.handshakeFuture().addListener(handshake -> {
+                if (handshake.isSuccess()) {
+                    readyFuture.complete(channel);
+                } else {
+                    channel.close().addListener(closeFuture -> pool.release(channel));
+                    readyFuture.completeExceptionally(handshake.cause());
+                }
+            });
+        });
+        return readyFuture;
+    }
+
+    /**
+     * @return The TLS handler of the connection the channel belongs to, which for an HTTP/2 stream is on its parent channel.
+     */
+    private static SslHandler sslHandler(Channel channel) {
+        SslHandler sslHandler = channel.pipeline().get(SslHandler.class);
+        if (sslHandler == null && channel.parent() != null) {
+            sslHandler = channel.parent().pipeline().get(SslHandler.class);
+        }
+        return sslHandler;
+    }
+}
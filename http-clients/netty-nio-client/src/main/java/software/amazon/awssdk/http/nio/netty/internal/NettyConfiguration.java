@@ -22,6 +22,7 @@ import static software.amazon.awssdk.http.SdkHttpConfigurationOption.MAX_PENDING
 import static software.amazon.awssdk.http.SdkHttpConfigurationOption.TRUST_ALL_CERTIFICATES;
 import static software.amazon.awssdk.utils.NumericUtils.saturatedCast;
 
+import java.time.Duration;
 import software.amazon.awssdk.annotations.SdkInternalApi;
 import software.amazon.awssdk.http.SdkHttpConfigurationOption;
 import software.amazon.awssdk.utils.AttributeMap;
@@ -36,6 +37,9 @@ public final class NettyConfiguration {
     public static final int EVENTLOOP_SHUTDOWN_QUIET_PERIOD_SECONDS = 2;
     public static final int EVENTLOOP_SHUTDOWN_TIMEOUT_SECONDS = 15;
     public static final int EVENTLOOP_SHUTDOWN_FUTURE_TIMEOUT_SECONDS = 16;
+    public static final Duration DEFAULT_HTTP2_HEALTH_CHECK_PING_PERIOD = Duration.ofSeconds(5);
+    public static final Duration DEFAULT_HTTP2_HEALTH_CHECK_PING_TIMEOUT = Duration.ofSeconds(5);
+    public static final Duration DEFAULT_DNS_CACHE_TTL = Duration.ofSeconds(30);
 
     private final AttributeMap configuration;
 
@@ -86,4 +90,36 @@ public final class NettyConfiguration {
     public boolean reapIdleConnections() {
         return configuration.get(SdkHttpConfigurationOption.REAP_IDLE_CONNECTIONS);
     }
+
+    public boolean zeroCopyResponseBody() {
+        return Boolean.TRUE.equals(configuration.get(NettyConfigurationOption.ZERO_COPY_RESPONSE_BODY));
+    }
+
+    public long http2HealthCheckPingPeriodMillis() {
+        Duration period = configuration.get(NettyConfigurationOption.HTTP2_HEALTH_CHECK_PING_PERIOD);
+        return (period == null ? DEFAULT_HTTP2_HEALTH_CHECK_PING_PERIOD : period).toMillis();
+    }
+
+    public long http2HealthCheckPingTimeoutMillis() {
+        Duration timeout = configuration.get(NettyConfigurationOption.HTTP2_HEALTH_CHECK_PING_TIMEOUT);
+        return (timeout == null ? DEFAULT_HTTP2_HEALTH_CHECK_PING_TIMEOUT : timeout).toMillis();
+    }
+
+    /**
+     * @return The configured number of streams after which a new HTTP/2 connection is preferred, or {@link Long#MAX_VALUE}
+     * when streams are only spread to new connections once the existing ones are full.
+     */
+    public long maxHttp2StreamsBeforeNewConnection() {
+        Integer maxStreams = configuration.get(NettyConfigurationOption.MAX_HTTP2_STREAMS_BEFORE_NEW_CONNECTION);
+        return maxStreams == null ? Long.MAX_VALUE : maxStreams;
+    }
+
+    public boolean useAsyncDnsResolver() {
+        return Boolean.TRUE.equals(configuration.get(NettyConfigurationOption.USE_ASYNC_DNS_RESOLVER));
+    }
+
+    public Duration dnsCacheTtl() {
+        Duration ttl = configuration.get(NettyConfigurationOption.DNS_CACHE_TTL);
+        return ttl == null ? DEFAULT_DNS_CACHE_TTL : ttl;
+    }
 }
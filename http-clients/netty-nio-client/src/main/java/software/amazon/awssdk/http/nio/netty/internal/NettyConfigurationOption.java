@@ -0,0 +1,85 @@
+/*
+ * Copyright 2010-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.nio.netty.internal;
+
+import java.time.Duration;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.utils.AttributeMap;
+
+/**
+ * Type safe key for a configuration option that only applies to the Netty HTTP client, and is therefore not an
+ * {@link software.amazon.awssdk.http.SdkHttpConfigurationOption}.
+ *
+ * @param <T> Type of option
+ */
+@SdkInternalApi
+public final class NettyConfigurationOption<T> extends AttributeMap.Key<T> {
+    /**
+     * Whether response body content is delivered as read-only views over Netty's buffers instead of copies.
+     */
+    public static final NettyConfigurationOption<Boolean> ZERO_COPY_RESPONSE_BODY =
+        new NettyConfigurationOption<>("ZeroCopyResponseBody", Boolean.class);
+
+    /**
+     * How often an HTTP/2 connection is sent a PING frame to check that it is still alive. Zero disables the check.
+     */
+    public static final NettyConfigurationOption<Duration> HTTP2_HEALTH_CHECK_PING_PERIOD =
+        new NettyConfigurationOption<>("Http2HealthCheckPingPeriod", Duration.class);
+
+    /**
+     * How long to wait for the acknowledgement of a PING frame before an HTTP/2 connection is considered dead.
+     */
+    public static final NettyConfigurationOption<Duration> HTTP2_HEALTH_CHECK_PING_TIMEOUT =
+        new NettyConfigurationOption<>("Http2HealthCheckPingTimeout", Duration.class);
+
+    /**
+     * The number of streams an HTTP/2 connection may carry before a new connection is preferred for the next stream.
+     */
+    public static final NettyConfigurationOption<Integer> MAX_HTTP2_STREAMS_BEFORE_NEW_CONNECTION =
+        new NettyConfigurationOption<>("MaxHttp2StreamsBeforeNewConnection", Integer.class);
+
+    /**
+     * Whether host names are resolved by the {@link CachingAddressResolverGroup} instead of Netty's default resolver.
+     */
+    public static final NettyConfigurationOption<Boolean> USE_ASYNC_DNS_RESOLVER =
+        new NettyConfigurationOption<>("UseAsyncDnsResolver", Boolean.class);
+
+    /**
+     * How long the {@link CachingAddressResolverGroup} caches the addresses of a host.
+     */
+    public static final NettyConfigurationOption<Duration> DNS_CACHE_TTL =
+        new NettyConfigurationOption<>("DnsCacheTtl", Duration.class);
+
+    private final String name;
+
+    private NettyConfigurationOption(String name, Class<T> clzz) {
+        super(clzz);
+        this.name = name;
+    }
+
+    /**
+     * Note that the name is mainly used for debugging purposes. Two option key objects with the same name do not represent
+     * the same option. Option keys are only considered equal if they are the same object reference.
+     */
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -39,12 +39,16 @@ import io.netty.handler.codec.http.HttpUtil;
 import io.netty.handler.timeout.ReadTimeoutException;
 import io.netty.handler.timeout.WriteTimeoutException;
 import io.netty.util.AttributeKey;
+import io.netty.util.ReferenceCountUtil;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 import org.reactivestreams.Publisher;
@@ -200,11 +204,22 @@ public class ResponseHandler extends SimpleChannelInboundHandler<HttpObject> {
         return ctx.channel().attr(EXECUTE_FUTURE_KEY).get();
     }
 
+    /**
+     * Adapts the {@link HttpContent} stream of a response into the {@link ByteBuffer} publisher handed to the
+     * {@link SdkAsyncHttpResponseHandler}.
+     *
+     * <p>By default every {@link HttpContent} is copied into a new {@link ByteBuffer} and released straight away. In zero-copy
+     * mode (see {@link NettyConfiguration#zeroCopyResponseBody()}) the subscriber gets a read-only view over Netty's buffer
+     * instead, and the {@link HttpContent} is only released once the subscriber is done with it: when it requests more data,
+     * when it cancels, or straight after {@code onNext} if it had already requested more data. Completion is held back until
+     * the last buffer has been released. All of this bookkeeping happens on the channel's event loop.
+     */
     private static class PublisherAdapter implements Publisher<ByteBuffer> {
         private final StreamedHttpResponse response;
         private final ChannelHandlerContext channelContext;
         private final RequestContext requestContext;
         private final CompletableFuture<Void> executeFuture;
+        private final boolean zeroCopy;
         private final AtomicBoolean isDone = new AtomicBoolean(false);
 
         private PublisherAdapter(StreamedHttpResponse response, ChannelHandlerContext channelContext,
@@ -213,15 +228,75 @@ public class ResponseHandler extends SimpleChannelInboundHandler<HttpObject> {
             this.channelContext = channelContext;
             this.requestContext = requestContext;
             this.executeFuture = executeFuture;
+            this.zeroCopy = requestContext.configuration() != null && requestContext.configuration().zeroCopyResponseBody();
         }
 
         @Override
         public void subscribe(Subscriber<? super ByteBuffer> subscriber) {
             response.subscribe(new Subscriber<HttpContent>() {
+                // The following are only used in zero-copy mode, and only accessed from the event loop.
+                private final Queue<HttpContent> unreleasedContent = new ArrayDeque<>();
+                private long outstandingDemand = 0;
+                private boolean completionDeferred = false;
+
                 @Override
                 public void onSubscribe(Subscription subscription) {
-                    subscriber.onSubscribe(new OnCancelSubscription(resolveSubscription(subscription),
-                                                                    this::onCancel));
+                    Subscription resolvedSubscription = resolveSubscription(subscription);
+                    if (zeroCopy) {
+                        resolvedSubscription = releaseOnDemand(resolvedSubscription);
+                    }
+                    subscriber.onSubscribe(new OnCancelSubscription(resolvedSubscription, this::onCancel));
+                }
+
+                private Subscription releaseOnDemand(Subscription subscription) {
+                    return new Subscription() {
+                        @Override
+                        public void request(long n) {
+                            // Always deferred, even on the event loop, so that a subscriber may request more data at the
+                            // start of onNext and still read the current buffer until onNext returns.
+                            runOnEventLoop(() -> onDemand(subscription, n));
+                        }
+
+                        @Override
+                        public void cancel() {
+                            runOnEventLoop(() -> releaseUnreleasedContent());
+                            subscription.cancel();
+                        }
+                    };
+                }
+
+                private void onDemand(Subscription subscription, long n) {
+                    releaseUnreleasedContent();
+                    if (isDone.get()) {
+                        return;
+                    }
+
+                    if (completionDeferred) {
+                        completionDeferred = false;
+                        complete();
+                        return;
+                    }
+
+                    if (n > 0) {
+                        outstandingDemand = Long.MAX_VALUE - outstandingDemand < n ? Long.MAX_VALUE : outstandingDemand + n;
+                    }
+                    subscription.request(n);
+                }
+
+                private void runOnEventLoop(Runnable runnable) {
+                    try {
+                        channelContext.executor().execute(runnable);
+                    } catch (RejectedExecutionException e) {
+                        // The event loop is shutting down, there is nothing left to race with.
+                        runnable.run();
+                    }
+                }
+
+                private void releaseUnreleasedContent() {
+                    HttpContent content;
+                    while ((content = unreleasedContent.poll()) != null) {
+                        ReferenceCountUtil.release(content);
+                    }
                 }
 
                 private Subscription resolveSubscription(Subscription subscription) {
@@ -252,6 +327,12 @@ public class ResponseHandler extends SimpleChannelInboundHandler<HttpObject> {
                 public void onNext(HttpContent httpContent) {
                     // isDone may be true if the subscriber cancelled
                     if (isDone.get()) {
+                        ReferenceCountUtil.release(httpContent);
+                        return;
+                    }
+
+                    if (zeroCopy && httpContent.content().nioBufferCount() == 1) {
+                        onNextWithoutCopy(httpContent);
                         return;
                     }
 
@@ -265,6 +346,7 @@ public class ResponseHandler extends SimpleChannelInboundHandler<HttpObject> {
                     //As per reactive-streams rule 2.13, we should not call subscriber#onError when
                     //exception is thrown from subscriber#onNext
                     if (byteBuffer != null) {
+                        consumeDemand();
                         tryCatch(() -> subscriber.onNext(byteBuffer),
                                  this::notifyError);
 
@@ -272,8 +354,46 @@ public class ResponseHandler extends SimpleChannelInboundHandler<HttpObject> {
                     }
                 }
 
+                private void onNextWithoutCopy(HttpContent httpContent) {
+                    ByteBuffer byteBuffer;
+                    try {
+                        byteBuffer = httpContent.content().nioBuffer().asReadOnlyBuffer();
+                    } catch (RuntimeException e) {
+                        ReferenceCountUtil.release(httpContent);
+                        onError(e);
+                        return;
+                    }
+
+                    consumeDemand();
+
+                    //As per reactive-streams rule 2.13, we should not call subscriber#onError when
+                    //exception is thrown from subscriber#onNext
+                    tryCatch(() -> subscriber.onNext(byteBuffer),
+                             this::notifyError);
+
+                    if (outstandingDemand > 0) {
+                        // The subscriber asked for more than this buffer up front, so it must be done with it by now.
+                        ReferenceCountUtil.release(httpContent);
+                    } else {
+                        unreleasedContent.add(httpContent);
+                    }
+
+                    tryCatch(channelContext::read, this::onError);
+                }
+
+                /**
+                 * Counts every buffer delivered to the subscriber, copied or not, so that a zero-copy buffer is only released
+                 * early when the subscriber has really asked for more than it.
+                 */
+                private void consumeDemand() {
+                    if (outstandingDemand != Long.MAX_VALUE) {
+                        outstandingDemand--;
+                    }
+                }
+
                 @Override
                 public void onError(Throwable t) {
+                    releaseUnreleasedContent();
                     if (!isDone.compareAndSet(false, true)) {
                         return;
                     }
@@ -289,6 +409,17 @@ public class ResponseHandler extends SimpleChannelInboundHandler<HttpObject> {
 
                 @Override
                 public void onComplete() {
+                    if (!unreleasedContent.isEmpty()) {
+                        // The subscriber may still be reading the last buffer, which must stay valid until it asks for
+                        // more data. The whole response has been read, so the connection closing in the meantime is fine.
+                        channelContext.channel().attr(RESPONSE_COMPLETE_KEY).set(true);
+                        completionDeferred = true;
+                        return;
+                    }
+                    complete();
+                }
+
+                private void complete() {
                     // For HTTP/2 it's possible to get an onComplete after we cancel due to the channel becoming
                     // inactive. We guard against that here and just ignore the signal (see HandlerPublisher)
                     if (!isDone.compareAndSet(false, true)) {
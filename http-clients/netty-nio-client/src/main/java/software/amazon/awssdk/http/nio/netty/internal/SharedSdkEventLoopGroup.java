@@ -19,29 +19,35 @@ import static software.amazon.awssdk.http.nio.netty.internal.utils.NettyUtils.SU
 
 import io.netty.channel.EventLoopGroup;
 import io.netty.util.concurrent.Future;
+import java.util.EnumMap;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import software.amazon.awssdk.annotations.SdkInternalApi;
 import software.amazon.awssdk.annotations.SdkTestInternalApi;
 import software.amazon.awssdk.http.nio.netty.SdkEventLoopGroup;
+import software.amazon.awssdk.http.nio.netty.TransportType;
+import software.amazon.awssdk.http.nio.netty.internal.utils.TransportUtils;
 
 /**
  * Provides access and manages a shared {@link SdkEventLoopGroup}. Uses reference counting to keep track of how many HTTP
  * clients are using the shared event loop group and will automatically close it when that count reaches zero. Event loop
  * group is lazily initialized for the first time and and subsequent requests after the count reaches zero.
+ *
+ * <p>A separate event loop group is shared for each {@link TransportType} that is in use.
  */
 @SdkInternalApi
 public final class SharedSdkEventLoopGroup {
 
     /**
-     * Lazily initialized shared default event loop group.
+     * Lazily initialized shared event loop groups, by resolved transport type.
      */
-    private static SdkEventLoopGroup sharedSdkEventLoopGroup;
+    private static final Map<TransportType, SdkEventLoopGroup> SHARED_EVENT_LOOP_GROUPS = new EnumMap<>(TransportType.class);
 
     /**
-     * Reference count of clients using the shared event loop group.
+     * Reference count of clients using each shared event loop group.
      */
-    private static int referenceCount = 0;
+    private static final Map<TransportType, Integer> REFERENCE_COUNTS = new EnumMap<>(TransportType.class);
 
     private SharedSdkEventLoopGroup() {
     }
@@ -52,13 +58,26 @@ public final class SharedSdkEventLoopGroup {
      * Each SdkEventLoopGroup returned is wrapped with a new {@link ReferenceCountingEventLoopGroup}.
      */
     @SdkInternalApi
-    public static synchronized SdkEventLoopGroup get() {
+    public static SdkEventLoopGroup get() {
+        return get(TransportType.NIO);
+    }
+
+    /**
+     * @return The {@link SdkEventLoopGroup} for the given transport type that will be shared across all service clients
+     * using that transport. Each SdkEventLoopGroup returned is wrapped with a new {@link ReferenceCountingEventLoopGroup}.
+     */
+    @SdkInternalApi
+    public static synchronized SdkEventLoopGroup get(TransportType transportType) {
+        TransportType resolvedTransportType = TransportUtils.resolve(transportType);
+        SdkEventLoopGroup sharedSdkEventLoopGroup = SHARED_EVENT_LOOP_GROUPS.get(resolvedTransportType);
         if (sharedSdkEventLoopGroup == null) {
-            sharedSdkEventLoopGroup = SdkEventLoopGroup.builder().build();
+            sharedSdkEventLoopGroup = SdkEventLoopGroup.builder().transportType(resolvedTransportType).build();
+            SHARED_EVENT_LOOP_GROUPS.put(resolvedTransportType, sharedSdkEventLoopGroup);
         }
 
-        referenceCount++;
-        return SdkEventLoopGroup.create(new ReferenceCountingEventLoopGroup(sharedSdkEventLoopGroup.eventLoopGroup()),
+        REFERENCE_COUNTS.merge(resolvedTransportType, 1, Integer::sum);
+        return SdkEventLoopGroup.create(new ReferenceCountingEventLoopGroup(sharedSdkEventLoopGroup.eventLoopGroup(),
+                                                                            resolvedTransportType),
                                         sharedSdkEventLoopGroup.channelFactory());
     }
 
@@ -72,20 +91,26 @@ public final class SharedSdkEventLoopGroup {
      * @return the close future. If the shared event loop group is still being used, return a completed close future,
      * otherwise return the future from {@link EventLoopGroup#shutdownGracefully(long, long, TimeUnit)};
      */
-    private static synchronized Future<?> decrementReference(long quietPeriod, long timeout, TimeUnit unit) {
-        referenceCount--;
+    private static synchronized Future<?> decrementReference(TransportType transportType, long quietPeriod, long timeout,
+                                                             TimeUnit unit) {
+        int referenceCount = REFERENCE_COUNTS.merge(transportType, -1, Integer::sum);
         if (referenceCount == 0) {
-            Future<?> shutdownGracefully =
-                sharedSdkEventLoopGroup.eventLoopGroup().shutdownGracefully(quietPeriod, timeout, unit);
-            sharedSdkEventLoopGroup = null;
-            return shutdownGracefully;
+            REFERENCE_COUNTS.remove(transportType);
+            return SHARED_EVENT_LOOP_GROUPS.remove(transportType)
+                                           .eventLoopGroup()
+                                           .shutdownGracefully(quietPeriod, timeout, unit);
         }
         return SUCCEEDED_FUTURE;
     }
 
     @SdkTestInternalApi
-    static synchronized int referenceCount() {
-        return referenceCount;
+    static int referenceCount() {
+        return referenceCount(TransportType.NIO);
+    }
+
+    @SdkTestInternalApi
+    static synchronized int referenceCount(TransportType transportType) {
+        return REFERENCE_COUNTS.getOrDefault(transportType, 0);
     }
 
     /**
@@ -95,9 +120,11 @@ public final class SharedSdkEventLoopGroup {
     private static class ReferenceCountingEventLoopGroup extends DelegatingEventLoopGroup {
 
         private final AtomicBoolean hasBeenClosed = new AtomicBoolean(false);
+        private final TransportType transportType;
 
-        private ReferenceCountingEventLoopGroup(EventLoopGroup delegate) {
+        private ReferenceCountingEventLoopGroup(EventLoopGroup delegate, TransportType transportType) {
             super(delegate);
+            this.transportType = transportType;
         }
 
         @Override
@@ -105,7 +132,7 @@ public final class SharedSdkEventLoopGroup {
             // Only want to decrement the reference the first time it's closed. Shutdown is idempotent and may be
             // called multiple times.
             if (hasBeenClosed.compareAndSet(false, true)) {
-                return decrementReference(quietPeriod, timeout, unit);
+                return decrementReference(transportType, quietPeriod, timeout, unit);
             }
             return SUCCEEDED_FUTURE;
         }
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2010-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.nio.netty.internal.http2;
+
+import static software.amazon.awssdk.http.nio.netty.internal.ChannelAttributeKey.CHANNEL_POOL_RECORD;
+
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.handler.codec.http2.Http2GoAwayFrame;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.utils.Logger;
+
+/**
+ * Retires a connection once the server sends a GOAWAY frame on it. No new streams are opened on a retired connection, and it
+ * is closed as soon as its last stream is released. Streams the server will not process are notified by the
+ * multiplex codec.
+ */
+@SdkInternalApi
+@ChannelHandler.Sharable
+public final class Http2GoAwayFrameHandler extends SimpleChannelInboundHandler<Http2GoAwayFrame> {
+    private static final Logger log = Logger.loggerFor(Http2GoAwayFrameHandler.class);
+    private static final Http2GoAwayFrameHandler INSTANCE = new Http2GoAwayFrameHandler();
+
+    private Http2GoAwayFrameHandler() {
+    }
+
+    public static Http2GoAwayFrameHandler getInstance() {
+        return INSTANCE;
+    }
+
+    @Override
+    protected void channelRead0(ChannelHandlerContext ctx, Http2GoAwayFrame frame) {
+        log.debug(() -> "GOAWAY received on " + ctx.channel() + " with error code " + frame.errorCode()
+                        + ", last stream ID " + frame.lastStreamId() + ". Retiring the connection.");
+        MultiplexedChannelRecord record = ctx.channel().attr(CHANNEL_POOL_RECORD).get();
+        if (record != null) {
+            record.retire();
+        }
+    }
+}
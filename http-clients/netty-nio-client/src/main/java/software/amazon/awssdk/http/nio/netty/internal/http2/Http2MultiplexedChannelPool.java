@@ -40,6 +40,13 @@ import software.amazon.awssdk.http.nio.netty.internal.utils.BetterFixedChannelPo
  * when the max concurrency for a connection is reached then a new connection will be opened.
  *
  * <p>
+ * Each new stream is opened on the connection with the fewest streams. To limit head-of-line blocking between streams
+ * sharing a connection, a new connection is also opened once every connection carries at least
+ * {@code maxStreamsBeforeNewConnection} streams. Connections that have been closed or have received a GOAWAY are retired:
+ * they get no new streams and are released once their last stream is released.
+ * </p>
+ *
+ * <p>
  * <b>Note:</b> This enforces no max concurrency. Relies on being wrapped with a {@link BetterFixedChannelPool}
  * to enforce max concurrency which gives a bunch of other good features like timeouts, max pending acquires, etc.
  * </p>
@@ -50,6 +57,7 @@ public class Http2MultiplexedChannelPool implements ChannelPool {
     private final EventLoop eventLoop;
     private final ChannelPool connectionPool;
     private final long maxConcurrencyPerConnection;
+    private final long maxStreamsBeforeNewConnection;
     private final ArrayList<MultiplexedChannelRecord> connections;
     private boolean closed = false;
 
@@ -57,13 +65,17 @@ public class Http2MultiplexedChannelPool implements ChannelPool {
      * @param connectionPool Connection pool for parent channels (i.e. the socket channel).
      * @param eventLoop Event loop to run all tasks in.
      * @param maxConcurrencyPerConnection Max concurrent streams per HTTP/2 connection.
+     * @param maxStreamsBeforeNewConnection Number of streams per connection after which a new connection is opened rather
+     * than adding another stream to an existing connection.
      */
     Http2MultiplexedChannelPool(ChannelPool connectionPool,
                                 EventLoop eventLoop,
-                                long maxConcurrencyPerConnection) {
+                                long maxConcurrencyPerConnection,
+                                long maxStreamsBeforeNewConnection) {
         this.connectionPool = connectionPool;
         this.eventLoop = eventLoop;
         this.maxConcurrencyPerConnection = maxConcurrencyPerConnection;
+        this.maxStreamsBeforeNewConnection = Math.min(maxConcurrencyPerConnection, maxStreamsBeforeNewConnection);
         // Customers that want an unbounded connection pool may set max concurrency to something like
         // Long.MAX_VALUE so we just stick with the initial ArrayList capacity and grow from there.
         this.connections = new ArrayList<>();
@@ -77,6 +89,20 @@ public class Http2MultiplexedChannelPool implements ChannelPool {
         this.connectionPool = connectionPool;
         this.eventLoop = eventLoop;
         this.maxConcurrencyPerConnection = maxConcurrencyPerConnection;
+        this.maxStreamsBeforeNewConnection = maxConcurrencyPerConnection;
+        this.connections = new ArrayList<>(connections);
+    }
+
+    @SdkTestInternalApi
+    Http2MultiplexedChannelPool(ChannelPool connectionPool,
+                                EventLoop eventLoop,
+                                long maxConcurrencyPerConnection,
+                                long maxStreamsBeforeNewConnection,
+                                Collection<MultiplexedChannelRecord> connections) {
+        this.connectionPool = connectionPool;
+        this.eventLoop = eventLoop;
+        this.maxConcurrencyPerConnection = maxConcurrencyPerConnection;
+        this.maxStreamsBeforeNewConnection = Math.min(maxConcurrencyPerConnection, maxStreamsBeforeNewConnection);
         this.connections = new ArrayList<>(connections);
     }
 
@@ -96,13 +122,19 @@ public class Http2MultiplexedChannelPool implements ChannelPool {
             return promise.setFailure(new IllegalStateException("Channel pool is closed!"));
         }
 
+        MultiplexedChannelRecord leastLoadedConnection = null;
         for (MultiplexedChannelRecord connection : connections) {
-            if (connection.availableStreams() > 0) {
-                connection.acquire(promise);
-                return promise;
+            if (connection.canAcquireStream()
+                && connection.inUseStreams() < maxStreamsBeforeNewConnection
+                && (leastLoadedConnection == null || connection.inUseStreams() < leastLoadedConnection.inUseStreams())) {
+                leastLoadedConnection = connection;
             }
         }
-        // No available streams, establish new connection and add it to list
+        if (leastLoadedConnection != null) {
+            leastLoadedConnection.acquire(promise);
+            return promise;
+        }
+        // No connection can take another stream, establish new connection and add it to list
         connections.add(new MultiplexedChannelRecord(connectionPool.acquire(),
                                                      maxConcurrencyPerConnection,
                                                      this::releaseParentChannel)
@@ -121,6 +153,10 @@ public class Http2MultiplexedChannelPool implements ChannelPool {
     }
 
     private void releaseParentChannel0(Channel parentChannel, MultiplexedChannelRecord record) {
+        if (closed) {
+            // The connections that are left are released by close()
+            return;
+        }
         if (parentChannel != null) {
             try {
                 parentChannel.close();
@@ -162,9 +198,12 @@ public class Http2MultiplexedChannelPool implements ChannelPool {
 
     private void releaseParentChannel(Channel parentChannel) {
         MultiplexedChannelRecord channelRecord = parentChannel.attr(CHANNEL_POOL_RECORD).get();
-        connections.remove(channelRecord);
-        parentChannel.close();
-        connectionPool.release(parentChannel);
+        if (channelRecord != null) {
+            channelRecord.releaseParentChannel();
+        } else {
+            parentChannel.close();
+            connectionPool.release(parentChannel);
+        }
     }
 
     @Override
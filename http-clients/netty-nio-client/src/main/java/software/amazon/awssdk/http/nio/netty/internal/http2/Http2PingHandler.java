@@ -0,0 +1,152 @@
+/*
+ * Copyright 2010-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.nio.netty.internal.http2;
+
+import static software.amazon.awssdk.http.nio.netty.internal.ChannelAttributeKey.PROTOCOL_FUTURE;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.handler.codec.http2.DefaultHttp2PingFrame;
+import io.netty.handler.codec.http2.Http2PingFrame;
+import io.netty.util.concurrent.ScheduledFuture;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.http.Protocol;
+import software.amazon.awssdk.utils.Logger;
+
+/**
+ * Checks that an HTTP/2 connection is still alive by periodically sending a PING frame on it. If the PING is not acknowledged
+ * within the timeout, or cannot be written, a {@link PingFailedException} is fired down the pipeline so that the connection
+ * is closed, its streams are failed and it is removed from the pool. Without this, streams on a connection whose peer has
+ * silently gone away would only fail once their read timeout fires.
+ *
+ * <p>All state is only accessed from the channel's event loop.</p>
+ */
+@SdkInternalApi
+public final class Http2PingHandler extends SimpleChannelInboundHandler<Http2PingFrame> {
+    private static final Logger log = Logger.loggerFor(Http2PingHandler.class);
+
+    private final long pingPeriodMillis;
+    private final long pingTimeoutMillis;
+
+    private ScheduledFuture<?> periodicPing;
+    private ScheduledFuture<?> pingTimeout;
+    private long outstandingPingContent;
+
+    /**
+     * @param pingPeriodMillis How often to send a PING frame.
+     * @param pingTimeoutMillis How long to wait for a PING frame to be acknowledged.
+     */
+    public Http2PingHandler(long pingPeriodMillis, long pingTimeoutMillis) {
+        this.pingPeriodMillis = pingPeriodMillis;
+        this.pingTimeoutMillis = pingTimeoutMillis;
+    }
+
+    @Override
+    public void handlerAdded(ChannelHandlerContext ctx) {
+        if (ctx.channel().isActive()) {
+            start(ctx);
+        }
+    }
+
+    @Override
+    public void channelActive(ChannelHandlerContext ctx) throws Exception {
+        start(ctx);
+        super.channelActive(ctx);
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        stop();
+        super.channelInactive(ctx);
+    }
+
+    @Override
+    public void handlerRemoved(ChannelHandlerContext ctx) {
+        stop();
+    }
+
+    @Override
+    protected void channelRead0(ChannelHandlerContext ctx, Http2PingFrame frame) {
+        if (frame.ack() && pingTimeout != null && frame.content() == outstandingPingContent) {
+            pingTimeout.cancel(false);
+            pingTimeout = null;
+        }
+    }
+
+    private void start(ChannelHandlerContext ctx) {
+        if (periodicPing == null) {
+            periodicPing = ctx.executor().scheduleAtFixedRate(() -> doPeriodicPing(ctx), pingPeriodMillis, pingPeriodMillis,
+                                                              TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void stop() {
+        if (periodicPing != null) {
+            periodicPing.cancel(false);
+            periodicPing = null;
+        }
+        if (pingTimeout != null) {
+            pingTimeout.cancel(false);
+            pingTimeout = null;
+        }
+    }
+
+    private void doPeriodicPing(ChannelHandlerContext ctx) {
+        if (pingTimeout != null || !isHttp2Established(ctx)) {
+            return;
+        }
+
+        outstandingPingContent = System.nanoTime();
+        pingTimeout = ctx.executor().schedule(() -> fail(ctx, "The PING frame was not acknowledged within "
+                                                              + pingTimeoutMillis + " ms."),
+                                              pingTimeoutMillis, TimeUnit.MILLISECONDS);
+        ctx.writeAndFlush(new DefaultHttp2PingFrame(outstandingPingContent)).addListener(f -> {
+            if (!f.isSuccess()) {
+                log.debug(() -> "Failed to write a PING frame on " + ctx.channel(), f.cause());
+                fail(ctx, "The PING frame could not be written.");
+            }
+        });
+    }
+
+    private static boolean isHttp2Established(ChannelHandlerContext ctx) {
+        CompletableFuture<Protocol> protocolFuture = ctx.channel().attr(PROTOCOL_FUTURE).get();
+        return protocolFuture != null && protocolFuture.isDone() && !protocolFuture.isCompletedExceptionally();
+    }
+
+    private void fail(ChannelHandlerContext ctx, String message) {
+        if (periodicPing == null) {
+            return;
+        }
+
+        stop();
+        log.debug(() -> "Closing HTTP/2 connection " + ctx.channel() + " because it failed a health check. " + message);
+        ctx.fireExceptionCaught(new PingFailedException(message));
+    }
+
+    /**
+     * Exception fired when a connection fails its PING health check.
+     */
+    static final class PingFailedException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        PingFailedException(String message) {
+            super("The HTTP/2 connection failed a health check. " + message);
+        }
+    }
+}
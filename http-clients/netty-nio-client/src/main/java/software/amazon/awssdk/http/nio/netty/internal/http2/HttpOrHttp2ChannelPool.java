@@ -150,7 +150,8 @@ public class HttpOrHttp2ChannelPool implements ChannelPool {
                                                  .build();
         } else {
             ChannelPool h2Pool = new Http2MultiplexedChannelPool(
-                    delegatePool, eventLoop, newChannel.attr(MAX_CONCURRENT_STREAMS).get());
+                    delegatePool, eventLoop, newChannel.attr(MAX_CONCURRENT_STREAMS).get(),
+                    configuration.maxHttp2StreamsBeforeNewConnection());
             protocolImpl = BetterFixedChannelPool.builder()
                                                  .channelPool(h2Pool)
                                                  .executor(eventLoop)
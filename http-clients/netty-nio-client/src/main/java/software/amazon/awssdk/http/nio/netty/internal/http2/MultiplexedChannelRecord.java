@@ -31,6 +31,7 @@ import io.netty.util.concurrent.GenericFutureListener;
 import io.netty.util.concurrent.Promise;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiConsumer;
 
@@ -41,16 +42,22 @@ import software.amazon.awssdk.http.Protocol;
 /**
  * Contains a {@link Future} for the actual socket channel and tracks available
  * streams based on the MAX_CONCURRENT_STREAMS setting for the connection.
+ *
+ * <p>A connection is retired once it is closed or the server sends a GOAWAY on it. A retired connection is not given any new
+ * streams, and is released once its last stream has been released.</p>
  */
 @SdkInternalApi
 public final class MultiplexedChannelRecord {
 
     private final Future<Channel> connectionFuture;
     private final Map<ChannelId, Channel> childChannels;
+    private final long maxConcurrencyPerConnection;
     private final AtomicLong availableStreams;
     private final BiConsumer<Channel, MultiplexedChannelRecord> channelReleaser;
+    private final AtomicBoolean parentChannelReleased = new AtomicBoolean(false);
 
     private volatile Channel connection;
+    private volatile boolean retired = false;
 
     /**
      * @param connectionFuture Future for parent socket channel.
@@ -61,9 +68,11 @@ public final class MultiplexedChannelRecord {
                              long maxConcurrencyPerConnection,
                              BiConsumer<Channel, MultiplexedChannelRecord> channelReleaser) {
         this.connectionFuture = connectionFuture;
+        this.maxConcurrencyPerConnection = maxConcurrencyPerConnection;
         this.availableStreams = new AtomicLong(maxConcurrencyPerConnection);
         this.childChannels = new ConcurrentHashMap<>(saturatedCast(maxConcurrencyPerConnection));
         this.channelReleaser = channelReleaser;
+        connectionFuture.addListener((GenericFutureListener<Future<Channel>>) this::retireOnClose);
     }
 
     @SdkTestInternalApi
@@ -72,10 +81,24 @@ public final class MultiplexedChannelRecord {
                              long maxConcurrencyPerConnection,
                              BiConsumer<Channel, MultiplexedChannelRecord> channelReleaser) {
         this.connectionFuture = connectionFuture;
+        this.maxConcurrencyPerConnection = maxConcurrencyPerConnection;
         this.childChannels = new ConcurrentHashMap<>(saturatedCast(maxConcurrencyPerConnection));
         this.availableStreams = new AtomicLong(maxConcurrencyPerConnection);
         this.channelReleaser = channelReleaser;
         this.connection = connection;
+        connectionFuture.addListener((GenericFutureListener<Future<Channel>>) this::retireOnClose);
+    }
+
+    private void retireOnClose(Future<Channel> future) {
+        if (future.isSuccess()) {
+            Channel channel = future.getNow();
+            // The connection may already be closed, in which case it is retired and released before any stream is acquired
+            // on it, so it must be known by then to be released to its pool.
+            if (connection == null) {
+                connection = channel;
+            }
+            channel.closeFuture().addListener(f -> retire());
+        }
     }
 
     MultiplexedChannelRecord acquire(Promise<Channel> channelPromise) {
@@ -90,7 +113,7 @@ public final class MultiplexedChannelRecord {
                     createChildChannel(channelPromise, connection);
                 } else {
                     channelPromise.setFailure(future.cause());
-                    channelReleaser.accept(connection, this);
+                    releaseParentChannel();
                 }
             });
         }
@@ -141,17 +164,57 @@ public final class MultiplexedChannelRecord {
                     childChannels.put(channel.id(), channel);
                 } else {
                     if (!connection.isActive()) {
-                        channelReleaser.accept(connection, this);
+                        releaseParentChannel();
                     }
-                    availableStreams.incrementAndGet();
+                    streamReleased();
                 }
             })
             .addListener(promiseNotifyingListener(p));
     }
 
     void release(Channel channel) {
-        availableStreams.incrementAndGet();
         childChannels.remove(channel.id());
+        streamReleased();
+    }
+
+    private void streamReleased() {
+        availableStreams.incrementAndGet();
+        if (retired && inUseStreams() == 0) {
+            releaseParentChannel();
+        }
+    }
+
+    /**
+     * Stops new streams from being opened on this connection, and releases the connection once it has no streams left.
+     * Called when the connection is closed or the server sends a GOAWAY.
+     */
+    void retire() {
+        retired = true;
+        if (inUseStreams() == 0) {
+            releaseParentChannel();
+        }
+    }
+
+    /**
+     * Closes and releases the parent channel, and removes this record from its pool. This only has an effect the first
+     * time it is called.
+     */
+    void releaseParentChannel() {
+        if (parentChannelReleased.compareAndSet(false, true)) {
+            channelReleaser.accept(connection, this);
+        }
+    }
+
+    /**
+     * @return True if a new stream may be opened on this connection.
+     */
+    boolean canAcquireStream() {
+        Channel channel = connection;
+        return !retired && availableStreams.get() > 0 && (channel == null || channel.isActive());
+    }
+
+    boolean isRetired() {
+        return retired;
     }
 
     public Future<Channel> getConnectionFuture() {
@@ -162,4 +225,11 @@ public final class MultiplexedChannelRecord {
         return availableStreams.get();
     }
 
+    /**
+     * @return The number of streams that are open or being opened on this connection.
+     */
+    long inUseStreams() {
+        return maxConcurrencyPerConnection - availableStreams.get();
+    }
+
 }
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2010-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.nio.netty.internal.utils;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFactory;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import java.util.concurrent.ThreadFactory;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.http.nio.netty.TransportType;
+import software.amazon.awssdk.utils.Logger;
+
+/**
+ * Creates the {@link EventLoopGroup} and {@link ChannelFactory} for a {@link TransportType}.
+ *
+ * <p>The kqueue transport is loaded reflectively because the SDK does not depend on
+ * {@code io.netty:netty-transport-native-kqueue}.
+ */
+@SdkInternalApi
+public final class TransportUtils {
+    private static final Logger log = Logger.loggerFor(TransportUtils.class);
+
+    private static final String KQUEUE_CLASS = "io.netty.channel.kqueue.KQueue";
+    private static final String KQUEUE_EVENT_LOOP_GROUP_CLASS = "io.netty.channel.kqueue.KQueueEventLoopGroup";
+
+    private TransportUtils() {
+    }
+
+    /**
+     * Resolves {@link TransportType#AUTO} into the transport that will actually be used on this platform, and validates that
+     * an explicitly requested native transport is available.
+     *
+     * @param transportType The requested transport type.
+     * @return One of {@link TransportType#NIO}, {@link TransportType#EPOLL} or {@link TransportType#KQUEUE}.
+     * @throws IllegalStateException If a native transport was explicitly requested and is not available.
+     */
+    public static TransportType resolve(TransportType transportType) {
+        switch (transportType) {
+            case AUTO:
+                if (isEpollAvailable()) {
+                    return TransportType.EPOLL;
+                }
+                if (isKQueueAvailable()) {
+                    return TransportType.KQUEUE;
+                }
+                log.debug(() -> "No native transport is available, falling back to NIO.");
+                return TransportType.NIO;
+            case EPOLL:
+                if (!isEpollAvailable()) {
+                    throw new IllegalStateException("The epoll transport was requested, but it is not available on this "
+                                                    + "platform.", epollUnavailabilityCause());
+                }
+                return transportType;
+            case KQUEUE:
+                if (!isKQueueAvailable()) {
+                    throw new IllegalStateException("The kqueue transport was requested, but it is not available on this "
+                                                    + "platform. Make sure io.netty:netty-transport-native-kqueue is on the "
+                                                    + "classpath.");
+                }
+                return transportType;
+            case NIO:
+                return transportType;
+            default:
+                throw new IllegalArgumentException("Unknown transport type: " + transportType);
+        }
+    }
+
+    /**
+     * Creates an {@link EventLoopGroup} for the given transport type.
+     *
+     * @param transportType The transport type, which must already be {@link #resolve(TransportType) resolved}.
+     * @param numberOfThreads The number of threads, or 0 to use the Netty default.
+     * @param threadFactory The thread factory to use.
+     */
+    public static EventLoopGroup newEventLoopGroup(TransportType transportType, int numberOfThreads,
+                                                   ThreadFactory threadFactory) {
+        switch (transportType) {
+            case NIO:
+                return new NioEventLoopGroup(numberOfThreads, threadFactory);
+            case EPOLL:
+                return new EpollEventLoopGroup(numberOfThreads, threadFactory);
+            case KQUEUE:
+                return newKQueueEventLoopGroup(numberOfThreads, threadFactory);
+            default:
+                throw new IllegalArgumentException("Transport type must be resolved before use: " + transportType);
+        }
+    }
+
+    /**
+     * Returns the {@link ChannelFactory} for the given transport type.
+     *
+     * @param transportType The transport type, which must already be {@link #resolve(TransportType) resolved}.
+     * @param eventLoopGroup The event loop group created for the transport type.
+     */
+    public static ChannelFactory<? extends Channel> channelFactory(TransportType transportType,
+                                                                   EventLoopGroup eventLoopGroup) {
+        switch (transportType) {
+            case NIO:
+                return NioSocketChannel::new;
+            case EPOLL:
+                return EpollSocketChannel::new;
+            case KQUEUE:
+                return SocketChannelResolver.resolveSocketChannelFactory(eventLoopGroup);
+            default:
+                throw new IllegalArgumentException("Transport type must be resolved before use: " + transportType);
+        }
+    }
+
+    private static boolean isEpollAvailable() {
+        try {
+            return Epoll.isAvailable();
+        } catch (LinkageError e) {
+            return false;
+        }
+    }
+
+    private static Throwable epollUnavailabilityCause() {
+        try {
+            return Epoll.unavailabilityCause();
+        } catch (LinkageError e) {
+            return e;
+        }
+    }
+
+    private static boolean isKQueueAvailable() {
+        try {
+            return (Boolean) Class.forName(KQUEUE_CLASS).getMethod("isAvailable").invoke(null);
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return false;
+        }
+    }
+
+    private static EventLoopGroup newKQueueEventLoopGroup(int numberOfThreads, ThreadFactory threadFactory) {
+        try {
+            return (EventLoopGroup) Class.forName(KQUEUE_EVENT_LOOP_GROUP_CLASS)
+                                         .getConstructor(int.class, ThreadFactory.class)
+                                         .newInstance(numberOfThreads, threadFactory);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Unable to create the kqueue event loop group.", e);
+        }
+    }
+}
@@ -67,6 +67,8 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -80,14 +82,17 @@ import org.junit.runner.RunWith;
 import org.mockito.Mockito;
 import org.mockito.runners.MockitoJUnitRunner;
 import org.mockito.stubbing.Answer;
+import org.reactivestreams.Publisher;
 import org.reactivestreams.Subscriber;
 import org.reactivestreams.Subscription;
 import software.amazon.awssdk.http.SdkHttpConfigurationOption;
 import software.amazon.awssdk.http.SdkHttpFullRequest;
 import software.amazon.awssdk.http.SdkHttpMethod;
 import software.amazon.awssdk.http.SdkHttpRequest;
+import software.amazon.awssdk.http.SdkHttpResponse;
 import software.amazon.awssdk.http.async.AsyncExecuteRequest;
 import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
+import software.amazon.awssdk.http.async.SdkAsyncHttpResponseHandler;
 import software.amazon.awssdk.http.async.SdkHttpContentPublisher;
 import software.amazon.awssdk.http.nio.netty.internal.NettyConfiguration;
 import software.amazon.awssdk.http.nio.netty.internal.SdkChannelPoolMap;
@@ -401,6 +406,86 @@ public class NettyNioAsyncHttpClientWireMockTest {
         assertCanReceiveBasicRequest(uri, largishBody);
     }
 
+    @Test
+    public void zeroCopyResponseBody_unboundedDemand_receivesFullBody() throws Exception {
+        String body = randomAlphabetic(1_000_000);
+        stubFor(any(urlPathEqualTo("/")).willReturn(aResponse().withBody(body)));
+
+        SdkAsyncHttpClient customClient = NettyNioAsyncHttpClient.builder().zeroCopyResponseBody(true).build();
+        try {
+            RecordingResponseHandler recorder = new RecordingResponseHandler();
+            customClient.execute(AsyncExecuteRequest.builder()
+                                                    .request(createRequest(URI.create("http://localhost:" + mockServer.port())))
+                                                    .requestContentPublisher(createProvider(""))
+                                                    .responseHandler(recorder)
+                                                    .build());
+            recorder.completeFuture.get(5, TimeUnit.SECONDS);
+
+            assertThat(recorder.fullResponseAsString()).isEqualTo(body);
+        } finally {
+            customClient.close();
+        }
+    }
+
+    @Test
+    public void zeroCopyResponseBody_asyncSubscriber_buffersStayValidUntilNextRequest() throws Exception {
+        String body = randomAlphabetic(1_000_000);
+        stubFor(any(urlPathEqualTo("/")).willReturn(aResponse().withBody(body)));
+
+        SdkAsyncHttpClient customClient = NettyNioAsyncHttpClient.builder().zeroCopyResponseBody(true).build();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            AsyncCopyingResponseHandler handler = new AsyncCopyingResponseHandler(executor);
+            customClient.execute(AsyncExecuteRequest.builder()
+                                                    .request(createRequest(URI.create("http://localhost:" + mockServer.port())))
+                                                    .requestContentPublisher(createProvider(""))
+                                                    .responseHandler(handler)
+                                                    .build());
+
+            assertThat(handler.body.get(5, TimeUnit.SECONDS)).isEqualTo(body);
+        } finally {
+            executor.shutdown();
+            customClient.close();
+        }
+    }
+
+    @Test
+    public void asyncDnsResolver_canMakeRequests() throws Exception {
+        SdkAsyncHttpClient customClient = NettyNioAsyncHttpClient.builder()
+                                                                 .useAsyncDnsResolver(true)
+                                                                 .dnsCacheTtl(Duration.ofSeconds(1))
+                                                                 .build();
+        try {
+            makeSimpleRequest(customClient);
+            makeSimpleRequest(customClient);
+        } finally {
+            customClient.close();
+        }
+    }
+
+    @Test
+    public void warmUp_establishesConnectionsThatAreReused() throws Exception {
+        ChannelFactory channelFactory = mock(ChannelFactory.class);
+        when(channelFactory.newChannel()).thenAnswer((Answer<NioSocketChannel>) invocationOnMock -> new NioSocketChannel());
+        EventLoopGroup customEventLoopGroup = new NioEventLoopGroup(1);
+        SdkAsyncHttpClient customClient =
+            NettyNioAsyncHttpClient.builder()
+                                   .eventLoopGroup(SdkEventLoopGroup.create(customEventLoopGroup, channelFactory))
+                                   .maxConcurrency(2)
+                                   .buildWithDefaults(mapWithTrustAllCerts());
+        try {
+            customClient.warmUp(URI.create("http://localhost:" + mockServer.port()), 3).get(5, TimeUnit.SECONDS);
+            Mockito.verify(channelFactory, times(2)).newChannel();
+
+            makeSimpleRequest(customClient);
+            makeSimpleRequest(customClient);
+            Mockito.verify(channelFactory, times(2)).newChannel();
+        } finally {
+            customClient.close();
+            customEventLoopGroup.shutdownGracefully().awaitUninterruptibly();
+        }
+    }
+
     @Test
     public void canSendContentAndGetThatContentBack() throws Exception {
         String body = randomAlphabetic(50);
@@ -505,6 +590,69 @@ public class NettyNioAsyncHttpClientWireMockTest {
         verify(1, getRequestedFor(urlMatching("/")));
     }
 
+    /**
+     * Reads every buffer on another thread, and only then requests the next one, like
+     * {@code AsyncResponseTransformer.toFile} does.
+     */
+    private static final class AsyncCopyingResponseHandler implements SdkAsyncHttpResponseHandler {
+        private final CompletableFuture<String> body = new CompletableFuture<>();
+        private final StringBuilder received = new StringBuilder();
+        private final ExecutorService executor;
+
+        private AsyncCopyingResponseHandler(ExecutorService executor) {
+            this.executor = executor;
+        }
+
+        @Override
+        public void onHeaders(SdkHttpResponse headers) {
+        }
+
+        @Override
+        public void onStream(Publisher<ByteBuffer> stream) {
+            stream.subscribe(new Subscriber<ByteBuffer>() {
+                private Subscription subscription;
+                private volatile boolean readInProgress = false;
+
+                @Override
+                public void onSubscribe(Subscription s) {
+                    subscription = s;
+                    s.request(1);
+                }
+
+                @Override
+                public void onNext(ByteBuffer byteBuffer) {
+                    readInProgress = true;
+                    executor.submit(() -> {
+                        byte[] bytes = new byte[byteBuffer.remaining()];
+                        byteBuffer.get(bytes);
+                        received.append(new String(bytes, UTF_8));
+                        readInProgress = false;
+                        subscription.request(1);
+                    });
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    body.completeExceptionally(t);
+                }
+
+                @Override
+                public void onComplete() {
+                    if (readInProgress) {
+                        body.completeExceptionally(new AssertionError("Completed while the last buffer was being read"));
+                    } else {
+                        executor.submit(() -> body.complete(received.toString()));
+                    }
+                }
+            });
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            body.completeExceptionally(error);
+        }
+    }
+
     private SdkHttpContentPublisher createProvider(String body) {
         Stream<ByteBuffer> chunks = splitStringBySize(body).stream()
                                                            .map(chunk -> ByteBuffer.wrap(chunk.getBytes(UTF_8)));
@@ -17,7 +17,12 @@ package software.amazon.awssdk.http.nio.netty;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import static org.junit.Assume.assumeTrue;
+
 import io.netty.channel.DefaultEventLoopGroup;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollSocketChannel;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.nio.NioSocketChannel;
 import org.junit.Test;
@@ -49,4 +54,61 @@ public class SdkEventLoopGroupTest {
     public void notProvidingChannelFactory_unknownEventLoopGroup() {
         SdkEventLoopGroup.create(new DefaultEventLoopGroup());
     }
+
+    @Test
+    public void creatingUsingBuilder_defaultsToNio() {
+        SdkEventLoopGroup sdkEventLoopGroup = SdkEventLoopGroup.builder().numberOfThreads(1).build();
+        try {
+            assertThat(sdkEventLoopGroup.eventLoopGroup()).isInstanceOf(NioEventLoopGroup.class);
+            assertThat(sdkEventLoopGroup.channelFactory().newChannel()).isInstanceOf(NioSocketChannel.class);
+        } finally {
+            sdkEventLoopGroup.eventLoopGroup().shutdownGracefully();
+        }
+    }
+
+    @Test
+    public void autoTransport_usesEpollWhenAvailable() {
+        SdkEventLoopGroup sdkEventLoopGroup = SdkEventLoopGroup.builder()
+                                                               .numberOfThreads(1)
+                                                               .transportType(TransportType.AUTO)
+                                                               .build();
+        try {
+            if (Epoll.isAvailable()) {
+                assertThat(sdkEventLoopGroup.eventLoopGroup()).isInstanceOf(EpollEventLoopGroup.class);
+                assertThat(sdkEventLoopGroup.channelFactory().newChannel()).isInstanceOf(EpollSocketChannel.class);
+            } else {
+                assertThat(sdkEventLoopGroup.eventLoopGroup()).isInstanceOf(NioEventLoopGroup.class);
+            }
+        } finally {
+            sdkEventLoopGroup.eventLoopGroup().shutdownGracefully();
+        }
+    }
+
+    @Test
+    public void epollTransport_usesEpoll() {
+        assumeTrue(Epoll.isAvailable());
+
+        SdkEventLoopGroup sdkEventLoopGroup = SdkEventLoopGroup.builder()
+                                                               .numberOfThreads(1)
+                                                               .transportType(TransportType.EPOLL)
+                                                               .build();
+        try {
+            assertThat(sdkEventLoopGroup.eventLoopGroup()).isInstanceOf(EpollEventLoopGroup.class);
+        } finally {
+            sdkEventLoopGroup.eventLoopGroup().shutdownGracefully();
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void kqueueTransport_notOnClasspath_fails() {
+        SdkEventLoopGroup.builder().transportType(TransportType.KQUEUE).build();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void clientTransportType_withCustomEventLoopGroup_fails() {
+        NettyNioAsyncHttpClient.builder()
+                               .transportType(TransportType.AUTO)
+                               .eventLoopGroupBuilder(SdkEventLoopGroup.builder())
+                               .build();
+    }
 }
@@ -0,0 +1,212 @@
+/*
+ * Copyright 2010-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.nio.netty.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.resolver.AddressResolver;
+import io.netty.util.concurrent.DefaultEventExecutor;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.Future;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for {@link CachingAddressResolverGroup}, using a stub lookup in place of DNS.
+ */
+public class CachingAddressResolverGroupTest {
+    private static final String HOST = "fake.host";
+    private static final int PORT = 443;
+
+    private final AtomicInteger lookupCount = new AtomicInteger(0);
+
+    private EventExecutor executor;
+    private CachingAddressResolverGroup group;
+
+    @Before
+    public void setup() {
+        executor = new DefaultEventExecutor();
+    }
+
+    @After
+    public void teardown() {
+        if (group != null) {
+            group.close();
+        }
+        executor.shutdownGracefully().awaitUninterruptibly();
+    }
+
+    @Test
+    public void resolve_spreadsAcrossAllAddresses() throws Exception {
+        group = new CachingAddressResolverGroup(stubLookup(), Duration.ofMinutes(1));
+
+        Set<InetAddress> resolved = new HashSet<>();
+        for (int i = 0; i < 6; i++) {
+            InetSocketAddress address = resolve();
+            assertThat(address.getPort()).isEqualTo(PORT);
+            resolved.add(address.getAddress());
+        }
+
+        assertThat(resolved).containsExactlyInAnyOrder(address(1), address(2), address(3));
+        assertThat(lookupCount.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void resolveAll_returnsAllAddresses() throws Exception {
+        group = new CachingAddressResolverGroup(stubLookup(), Duration.ofMinutes(1));
+
+        assertThat(resolver().resolveAll(InetSocketAddress.createUnresolved(HOST, PORT)).get(5, TimeUnit.SECONDS))
+            .containsExactly(new InetSocketAddress(address(1), PORT),
+                             new InetSocketAddress(address(2), PORT),
+                             new InetSocketAddress(address(3), PORT));
+    }
+
+    @Test
+    public void addressesAreLookedUpAgainOnceTtlExpires() throws Exception {
+        group = new CachingAddressResolverGroup(stubLookup(), Duration.ofMillis(50));
+
+        resolve();
+        resolve();
+        assertThat(lookupCount.get()).isEqualTo(1);
+
+        Thread.sleep(100);
+        resolve();
+        assertThat(lookupCount.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void concurrentResolutions_shareOneLookup() throws Exception {
+        CountDownLatch lookupStarted = new CountDownLatch(1);
+        CountDownLatch finishLookup = new CountDownLatch(1);
+        group = new CachingAddressResolverGroup(host -> {
+            lookupStarted.countDown();
+            try {
+                finishLookup.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new UnknownHostException(host);
+            }
+            return stubLookup().lookup(host);
+        }, Duration.ofMinutes(1));
+
+        Future<InetSocketAddress> first = resolver().resolve(InetSocketAddress.createUnresolved(HOST, PORT));
+        assertThat(lookupStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        Future<InetSocketAddress> second = resolver().resolve(InetSocketAddress.createUnresolved(HOST, PORT));
+        finishLookup.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS).getAddress()).isNotEqualTo(second.get(5, TimeUnit.SECONDS).getAddress());
+        assertThat(lookupCount.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void unreachableAddress_isNotUsedAgain() throws Exception {
+        group = new CachingAddressResolverGroup(stubLookup(), Duration.ofMinutes(1));
+        resolve();
+
+        group.markUnreachable(new InetSocketAddress(address(2), PORT));
+
+        for (int i = 0; i < 4; i++) {
+            assertThat(resolve().getAddress()).isNotEqualTo(address(2));
+        }
+        assertThat(lookupCount.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void allAddressesUnreachable_hostIsLookedUpAgain() throws Exception {
+        group = new CachingAddressResolverGroup(stubLookup(), Duration.ofMinutes(1));
+        resolve();
+
+        for (int i = 1; i <= 3; i++) {
+            group.markUnreachable(new InetSocketAddress(address(i), PORT));
+        }
+
+        resolve();
+        assertThat(lookupCount.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void failedLookup_failsResolutionAndIsRetried() throws Exception {
+        group = new CachingAddressResolverGroup(host -> {
+            if (lookupCount.incrementAndGet() == 1) {
+                throw new UnknownHostException(host);
+            }
+            return new InetAddress[] {address(1)};
+        }, Duration.ofMinutes(1));
+
+        Future<InetSocketAddress> failed = resolver().resolve(InetSocketAddress.createUnresolved(HOST, PORT)).await();
+        assertThat(failed.cause()).isInstanceOf(UnknownHostException.class);
+
+        assertThat(resolve().getAddress()).isEqualTo(address(1));
+    }
+
+    @Test
+    public void connectFailureHandler_marksAddressUnreachable() throws Exception {
+        group = new CachingAddressResolverGroup(stubLookup(), Duration.ofMinutes(1));
+        resolve();
+
+        EmbeddedChannel channel = new EmbeddedChannel(new FailingConnectHandler(), group.connectFailureHandler());
+        assertThat(channel.connect(new InetSocketAddress(address(1), PORT)).isSuccess()).isFalse();
+
+        for (int i = 0; i < 4; i++) {
+            assertThat(resolve().getAddress()).isNotEqualTo(address(1));
+        }
+        channel.finishAndReleaseAll();
+    }
+
+    private InetSocketAddress resolve() throws Exception {
+        return resolver().resolve(InetSocketAddress.createUnresolved(HOST, PORT)).get(5, TimeUnit.SECONDS);
+    }
+
+    private AddressResolver<InetSocketAddress> resolver() {
+        return group.getResolver(executor);
+    }
+
+    private CachingAddressResolverGroup.HostAddressLookup stubLookup() {
+        return host -> {
+            assertThat(host).isEqualTo(HOST);
+            lookupCount.incrementAndGet();
+            return new InetAddress[] {address(1), address(2), address(3)};
+        };
+    }
+
+    private static InetAddress address(int lastOctet) throws UnknownHostException {
+        return InetAddress.getByAddress(HOST, new byte[] {10, 0, 0, (byte) lastOctet});
+    }
+
+    private static final class FailingConnectHandler extends ChannelOutboundHandlerAdapter {
+        @Override
+        public void connect(ChannelHandlerContext ctx, SocketAddress remoteAddress, SocketAddress localAddress,
+                            ChannelPromise promise) {
+            promise.setFailure(new IOException("Connection refused"));
+        }
+    }
+}
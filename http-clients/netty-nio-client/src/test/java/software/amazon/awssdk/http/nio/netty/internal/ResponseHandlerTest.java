@@ -0,0 +1,329 @@
+/*
+ * Copyright 2010-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.nio.netty.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static software.amazon.awssdk.http.nio.netty.internal.ChannelAttributeKey.EXECUTE_FUTURE_KEY;
+import static software.amazon.awssdk.http.nio.netty.internal.ChannelAttributeKey.PROTOCOL_FUTURE;
+import static software.amazon.awssdk.http.nio.netty.internal.ChannelAttributeKey.REQUEST_CONTEXT_KEY;
+import static software.amazon.awssdk.http.nio.netty.internal.ChannelAttributeKey.RESPONSE_COMPLETE_KEY;
+
+import com.typesafe.netty.http.DefaultStreamedHttpResponse;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.channel.pool.ChannelPool;
+import io.netty.handler.codec.http.DefaultHttpContent;
+import io.netty.handler.codec.http.HttpContent;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpVersion;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.http.Protocol;
+import software.amazon.awssdk.http.SdkCancellationException;
+import software.amazon.awssdk.http.SdkHttpMethod;
+import software.amazon.awssdk.http.SdkHttpRequest;
+import software.amazon.awssdk.http.SdkHttpResponse;
+import software.amazon.awssdk.http.async.AsyncExecuteRequest;
+import software.amazon.awssdk.http.async.SdkAsyncHttpResponseHandler;
+import software.amazon.awssdk.utils.AttributeMap;
+
+/**
+ * Tests the lifetime of the buffers that {@link ResponseHandler} delivers in zero-copy mode. Every piece of content handed to
+ * the handler must be released by the end of the response, however the response ends.
+ */
+public class ResponseHandlerTest {
+
+    private final List<HttpContent> contents = new ArrayList<>();
+
+    private EmbeddedChannel channel;
+    private CompletableFuture<Void> executeFuture;
+    private ContentPublisher contentPublisher;
+    private RecordingSubscriber subscriber;
+
+    @Before
+    public void setup() {
+        executeFuture = new CompletableFuture<>();
+        contentPublisher = new ContentPublisher();
+        subscriber = new RecordingSubscriber();
+
+        NettyConfiguration configuration = new NettyConfiguration(
+            AttributeMap.builder().put(NettyConfigurationOption.ZERO_COPY_RESPONSE_BODY, true).build());
+        AsyncExecuteRequest executeRequest = AsyncExecuteRequest.builder()
+                                                                .request(SdkHttpRequest.builder()
+                                                                                       .protocol("http")
+                                                                                       .host("localhost")
+                                                                                       .method(SdkHttpMethod.GET)
+                                                                                       .build())
+                                                                .responseHandler(new SubscribingResponseHandler(subscriber))
+                                                                .build();
+
+        channel = new EmbeddedChannel(ResponseHandler.getInstance());
+        channel.attr(PROTOCOL_FUTURE).set(CompletableFuture.completedFuture(Protocol.HTTP1_1));
+        channel.attr(REQUEST_CONTEXT_KEY).set(new RequestContext(mock(ChannelPool.class), null, executeRequest,
+                                                                 configuration));
+        channel.attr(EXECUTE_FUTURE_KEY).set(executeFuture);
+        channel.attr(RESPONSE_COMPLETE_KEY).set(false);
+    }
+
+    @After
+    public void teardown() {
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    public void completion_releasesEveryBuffer() {
+        startResponse();
+
+        HttpContent first = sendContent("first");
+        assertThat(first.refCnt()).isEqualTo(1);
+
+        request(1);
+        assertThat(first.refCnt()).isZero();
+
+        HttpContent last = sendContent("last");
+        contentPublisher.complete();
+        // Completion is held back until the subscriber is done with the last buffer
+        assertThat(subscriber.completed).isFalse();
+        assertThat(last.refCnt()).isEqualTo(1);
+
+        request(1);
+        assertThat(subscriber.completed).isTrue();
+        assertThat(executeFuture).isCompletedWithValue(null);
+        assertBuffersDeliveredReadOnlyAndReleased("first", "last");
+    }
+
+    @Test
+    public void completion_unboundedDemand_releasesEveryBuffer() {
+        startResponse();
+        request(Long.MAX_VALUE);
+
+        sendContent("first");
+        sendContent("second");
+        contentPublisher.complete();
+        channel.runPendingTasks();
+
+        assertThat(subscriber.completed).isTrue();
+        assertBuffersDeliveredReadOnlyAndReleased("first", "second");
+    }
+
+    @Test
+    public void compositeContentThenSingleBuffer_oneAtATime_keepsBufferUntilMoreIsRequested() {
+        startResponse();
+
+        // Content spread over several buffers is copied, but still uses up the subscriber's demand
+        HttpContent composite = sendCompositeContent("com", "posite");
+        assertThat(composite.refCnt()).isZero();
+        assertThat(subscriber.receivedData).containsExactly("composite");
+
+        request(1);
+        HttpContent single = sendContent("single");
+        assertThat(single.refCnt()).isEqualTo(1);
+
+        request(1);
+        assertThat(single.refCnt()).isZero();
+        assertThat(subscriber.received.get(1).isReadOnly()).isTrue();
+
+        contentPublisher.complete();
+        channel.runPendingTasks();
+        assertThat(subscriber.completed).isTrue();
+        assertThat(subscriber.receivedData).containsExactly("composite", "single");
+        assertThat(contents).allMatch(c -> c.refCnt() == 0);
+    }
+
+    @Test
+    public void cancellationMidStream_releasesEveryBuffer() {
+        startResponse();
+        sendContent("first");
+
+        subscriber.subscription.cancel();
+        channel.runPendingTasks();
+
+        // Content already on its way when the subscriber cancelled is never delivered
+        sendContent("late");
+
+        assertThat(contentPublisher.cancelled).isTrue();
+        assertThat(executeFuture).isCompletedExceptionally();
+        assertThat(executeFuture.handle((r, t) -> t).join()).isInstanceOf(SdkCancellationException.class);
+        assertBuffersDeliveredReadOnlyAndReleased("first");
+    }
+
+    @Test
+    public void errorMidStream_releasesEveryBuffer() {
+        startResponse();
+        sendContent("first");
+
+        IOException error = new IOException("Connection reset");
+        contentPublisher.fail(error);
+        channel.runPendingTasks();
+
+        assertThat(subscriber.error).isSameAs(error);
+        assertThat(executeFuture).isCompletedExceptionally();
+        assertBuffersDeliveredReadOnlyAndReleased("first");
+    }
+
+    private void startResponse() {
+        channel.writeInbound(new DefaultStreamedHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK, contentPublisher));
+        assertThat(subscriber.subscription).isNotNull();
+        request(1);
+    }
+
+    /**
+     * Requests are dispatched to the event loop, so they only take effect once its pending tasks have run.
+     */
+    private void request(long n) {
+        subscriber.subscription.request(n);
+        channel.runPendingTasks();
+    }
+
+    private HttpContent sendContent(String data) {
+        ByteBuf buf = Unpooled.directBuffer().writeBytes(data.getBytes(StandardCharsets.UTF_8));
+        HttpContent content = new DefaultHttpContent(buf);
+        contents.add(content);
+        contentPublisher.send(content);
+        channel.runPendingTasks();
+        return content;
+    }
+
+    private HttpContent sendCompositeContent(String... data) {
+        ByteBuf[] components = new ByteBuf[data.length];
+        for (int i = 0; i < data.length; i++) {
+            components[i] = Unpooled.directBuffer().writeBytes(data[i].getBytes(StandardCharsets.UTF_8));
+        }
+        HttpContent content = new DefaultHttpContent(Unpooled.wrappedBuffer(components));
+        assertThat(content.content().nioBufferCount()).isGreaterThan(1);
+        contents.add(content);
+        contentPublisher.send(content);
+        channel.runPendingTasks();
+        return content;
+    }
+
+    private void assertBuffersDeliveredReadOnlyAndReleased(String... expectedData) {
+        assertThat(subscriber.received).hasSize(expectedData.length);
+        for (int i = 0; i < expectedData.length; i++) {
+            assertThat(subscriber.received.get(i).isReadOnly()).isTrue();
+            assertThat(subscriber.receivedData.get(i)).isEqualTo(expectedData[i]);
+        }
+        assertThat(contents).allMatch(c -> c.refCnt() == 0);
+    }
+
+    /**
+     * Stands in for the {@code HttpStreamsClientHandler}, which publishes the content of a streamed response. Content is only
+     * sent when the test asks for it, as long as there is demand for it.
+     */
+    private static final class ContentPublisher implements Publisher<HttpContent> {
+        private Subscriber<? super HttpContent> subscriber;
+        private long demand = 0;
+        private boolean cancelled = false;
+
+        @Override
+        public void subscribe(Subscriber<? super HttpContent> subscriber) {
+            this.subscriber = subscriber;
+            subscriber.onSubscribe(new Subscription() {
+                @Override
+                public void request(long n) {
+                    demand = Long.MAX_VALUE - demand < n ? Long.MAX_VALUE : demand + n;
+                }
+
+                @Override
+                public void cancel() {
+                    cancelled = true;
+                }
+            });
+        }
+
+        private void send(HttpContent content) {
+            // Like the real publisher, content that arrives after cancellation is still handed over to be released.
+            assertThat(cancelled || demand > 0).isTrue();
+            demand--;
+            subscriber.onNext(content);
+        }
+
+        private void complete() {
+            subscriber.onComplete();
+        }
+
+        private void fail(Throwable t) {
+            subscriber.onError(t);
+        }
+    }
+
+    /**
+     * Reads each buffer as it is delivered, and leaves requesting more data to the test.
+     */
+    private static final class RecordingSubscriber implements Subscriber<ByteBuffer> {
+        private final List<ByteBuffer> received = new ArrayList<>();
+        private final List<String> receivedData = new ArrayList<>();
+        private Subscription subscription;
+        private boolean completed = false;
+        private Throwable error;
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(ByteBuffer byteBuffer) {
+            received.add(byteBuffer);
+            byte[] bytes = new byte[byteBuffer.remaining()];
+            byteBuffer.duplicate().get(bytes);
+            receivedData.add(new String(bytes, StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            error = t;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+
+    private static final class SubscribingResponseHandler implements SdkAsyncHttpResponseHandler {
+        private final Subscriber<ByteBuffer> subscriber;
+
+        private SubscribingResponseHandler(Subscriber<ByteBuffer> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void onHeaders(SdkHttpResponse headers) {
+        }
+
+        @Override
+        public void onStream(Publisher<ByteBuffer> stream) {
+            stream.subscribe(subscriber);
+        }
+
+        @Override
+        public void onError(Throwable error) {
+        }
+    }
+}
@@ -18,8 +18,12 @@ package software.amazon.awssdk.http.nio.netty.internal;
 
 import static org.assertj.core.api.Java6Assertions.assertThat;
 
+import static org.junit.Assume.assumeTrue;
+
+import io.netty.channel.epoll.Epoll;
 import org.junit.Test;
 import software.amazon.awssdk.http.nio.netty.SdkEventLoopGroup;
+import software.amazon.awssdk.http.nio.netty.TransportType;
 
 public class SharedSdkEventLoopGroupTest {
     
@@ -55,4 +59,26 @@ public class SharedSdkEventLoopGroupTest {
 
         assertThat(group1.getDelegate().isShuttingDown()).isTrue();
     }
+
+    @Test
+    public void eventLoopGroupsAreSharedPerTransportType() {
+        assumeTrue(Epoll.isAvailable());
+
+        DelegatingEventLoopGroup nioGroup = (DelegatingEventLoopGroup) SharedSdkEventLoopGroup.get().eventLoopGroup();
+        DelegatingEventLoopGroup autoGroup =
+            (DelegatingEventLoopGroup) SharedSdkEventLoopGroup.get(TransportType.AUTO).eventLoopGroup();
+        DelegatingEventLoopGroup epollGroup =
+            (DelegatingEventLoopGroup) SharedSdkEventLoopGroup.get(TransportType.EPOLL).eventLoopGroup();
+
+        assertThat(nioGroup.getDelegate()).isNotEqualTo(autoGroup.getDelegate());
+        assertThat(autoGroup.getDelegate()).isEqualTo(epollGroup.getDelegate());
+        assertThat(SharedSdkEventLoopGroup.referenceCount(TransportType.EPOLL)).isEqualTo(2);
+
+        nioGroup.shutdownGracefully();
+        autoGroup.shutdownGracefully();
+        epollGroup.shutdownGracefully();
+
+        assertThat(SharedSdkEventLoopGroup.referenceCount(TransportType.EPOLL)).isEqualTo(0);
+        assertThat(epollGroup.getDelegate().isShuttingDown()).isTrue();
+    }
 }
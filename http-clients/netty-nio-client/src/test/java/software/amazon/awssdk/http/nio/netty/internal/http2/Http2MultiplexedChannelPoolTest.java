@@ -16,7 +16,9 @@
 package software.amazon.awssdk.http.nio.netty.internal.http2;
 
 import io.netty.channel.Channel;
+import io.netty.channel.EventLoop;
 import io.netty.channel.EventLoopGroup;
+import io.netty.channel.embedded.EmbeddedChannel;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.pool.ChannelPool;
 import io.netty.channel.socket.SocketChannel;
@@ -29,10 +31,14 @@ import org.junit.Test;
 import org.mockito.InOrder;
 import org.mockito.Mockito;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static software.amazon.awssdk.http.nio.netty.internal.ChannelAttributeKey.PROTOCOL_FUTURE;
 
 /**
  * Tests for {@link Http2MultiplexedChannelPool}.
@@ -131,4 +137,70 @@ public class Http2MultiplexedChannelPoolTest {
             channel.close().awaitUninterruptibly();
         }
     }
+
+    @Test
+    public void acquire_opensStreamOnLeastLoadedConnection() throws InterruptedException {
+        EventLoop eventLoop = loopGroup.next();
+        MultiplexedChannelRecord first = connectedRecord(8, (ch, rec) -> {});
+        MultiplexedChannelRecord second = connectedRecord(8, (ch, rec) -> {});
+        ChannelPool connectionPool = Mockito.mock(ChannelPool.class);
+        Http2MultiplexedChannelPool h2Pool = new Http2MultiplexedChannelPool(connectionPool, eventLoop, 8,
+                                                                             Arrays.asList(first, second));
+
+        for (int i = 0; i < 4; i++) {
+            h2Pool.acquire();
+        }
+        eventLoop.submit(() -> {}).await();
+
+        assertThat(first.inUseStreams()).isEqualTo(2);
+        assertThat(second.inUseStreams()).isEqualTo(2);
+        Mockito.verify(connectionPool, Mockito.never()).acquire();
+    }
+
+    @Test
+    public void acquire_opensNewConnectionOnceMaxStreamsBeforeNewConnectionIsReached() throws InterruptedException {
+        EventLoop eventLoop = loopGroup.next();
+        MultiplexedChannelRecord record = connectedRecord(8, (ch, rec) -> {});
+        ChannelPool connectionPool = Mockito.mock(ChannelPool.class);
+        Mockito.when(connectionPool.acquire()).thenReturn(new DefaultPromise<>(eventLoop));
+        Http2MultiplexedChannelPool h2Pool = new Http2MultiplexedChannelPool(connectionPool, eventLoop, 8, 2,
+                                                                             Collections.singletonList(record));
+
+        for (int i = 0; i < 3; i++) {
+            h2Pool.acquire();
+        }
+        eventLoop.submit(() -> {}).await();
+
+        assertThat(record.inUseStreams()).isEqualTo(2);
+        Mockito.verify(connectionPool, Mockito.times(1)).acquire();
+    }
+
+    @Test
+    public void acquire_doesNotUseRetiredConnection() throws InterruptedException {
+        EventLoop eventLoop = loopGroup.next();
+        AtomicInteger releaseCount = new AtomicInteger(0);
+        MultiplexedChannelRecord record = connectedRecord(8, (ch, rec) -> releaseCount.incrementAndGet());
+        ChannelPool connectionPool = Mockito.mock(ChannelPool.class);
+        Mockito.when(connectionPool.acquire()).thenReturn(new DefaultPromise<>(eventLoop));
+        Http2MultiplexedChannelPool h2Pool = new Http2MultiplexedChannelPool(connectionPool, eventLoop, 8,
+                                                                             Collections.singletonList(record));
+
+        record.retire();
+        h2Pool.acquire();
+        eventLoop.submit(() -> {}).await();
+
+        assertThat(record.inUseStreams()).isEqualTo(0);
+        assertThat(releaseCount.get()).isEqualTo(1);
+        Mockito.verify(connectionPool, Mockito.times(1)).acquire();
+    }
+
+    static MultiplexedChannelRecord connectedRecord(long maxConcurrency,
+                                                    BiConsumer<Channel, MultiplexedChannelRecord> releaser) {
+        EmbeddedChannel channel = new EmbeddedChannel();
+        // Never completes, so that streams are left being opened
+        channel.attr(PROTOCOL_FUTURE).set(new CompletableFuture<>());
+        Promise<Channel> connectionFuture = new DefaultPromise<>(channel.eventLoop());
+        connectionFuture.setSuccess(channel);
+        return new MultiplexedChannelRecord(connectionFuture, channel, maxConcurrency, releaser);
+    }
 }
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2010-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.nio.netty.internal.http2;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static software.amazon.awssdk.http.nio.netty.internal.ChannelAttributeKey.PROTOCOL_FUTURE;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http2.Http2PingFrame;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import software.amazon.awssdk.http.Protocol;
+
+/**
+ * Tests for {@link Http2PingHandler}.
+ */
+public class Http2PingHandlerTest {
+    private static final long PING_PERIOD_MILLIS = 20;
+    private static final long PING_TIMEOUT_MILLIS = 50;
+
+    private final List<Throwable> exceptions = new ArrayList<>();
+
+    private EmbeddedChannel channel;
+
+    @Before
+    public void setup() {
+        channel = new EmbeddedChannel();
+        channel.attr(PROTOCOL_FUTURE).set(CompletableFuture.completedFuture(Protocol.HTTP2));
+        channel.pipeline().addLast(new Http2PingHandler(PING_PERIOD_MILLIS, PING_TIMEOUT_MILLIS),
+                                   new ExceptionRecordingHandler());
+    }
+
+    @After
+    public void teardown() {
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    public void pingIsSentEveryPeriod() throws InterruptedException {
+        assertThat((Object) channel.readOutbound()).isNull();
+
+        Http2PingFrame ping = awaitPing();
+        assertThat(ping.ack()).isFalse();
+    }
+
+    @Test
+    public void acknowledgedPing_doesNotFailConnection() throws InterruptedException {
+        Http2PingFrame ping = awaitPing();
+        channel.writeInbound(pingAck(ping.content()));
+
+        Thread.sleep(PING_TIMEOUT_MILLIS * 2);
+        channel.runScheduledPendingTasks();
+
+        assertThat(exceptions).isEmpty();
+        assertThat((Object) channel.readOutbound()).isInstanceOf(Http2PingFrame.class);
+    }
+
+    @Test
+    public void unacknowledgedPing_failsConnection() throws InterruptedException {
+        Http2PingFrame ping = awaitPing();
+        channel.writeInbound(pingAck(ping.content() + 1));
+
+        Thread.sleep(PING_TIMEOUT_MILLIS * 2);
+        channel.runScheduledPendingTasks();
+
+        assertThat(exceptions).hasSize(1);
+        assertThat(exceptions.get(0)).isInstanceOf(Http2PingHandler.PingFailedException.class);
+
+        // No more PINGs are sent once the connection has failed
+        Thread.sleep(PING_PERIOD_MILLIS * 2);
+        channel.runScheduledPendingTasks();
+        assertThat((Object) channel.readOutbound()).isNull();
+    }
+
+    @Test
+    public void noPingIsSentBeforeProtocolIsEstablished() throws InterruptedException {
+        channel.attr(PROTOCOL_FUTURE).set(new CompletableFuture<>());
+
+        Thread.sleep(PING_PERIOD_MILLIS * 3);
+        channel.runScheduledPendingTasks();
+
+        assertThat((Object) channel.readOutbound()).isNull();
+        assertThat(exceptions).isEmpty();
+    }
+
+    private Http2PingFrame awaitPing() throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            Thread.sleep(PING_PERIOD_MILLIS / 2);
+            channel.runScheduledPendingTasks();
+            Object outbound = channel.readOutbound();
+            if (outbound != null) {
+                assertThat(outbound).isInstanceOf(Http2PingFrame.class);
+                return (Http2PingFrame) outbound;
+            }
+        }
+        throw new AssertionError("No PING frame was sent.");
+    }
+
+    private static Http2PingFrame pingAck(long content) {
+        Http2PingFrame ack = Mockito.mock(Http2PingFrame.class);
+        Mockito.when(ack.ack()).thenReturn(true);
+        Mockito.when(ack.content()).thenReturn(content);
+        return ack;
+    }
+
+    private final class ExceptionRecordingHandler extends ChannelInboundHandlerAdapter {
+        @Override
+        public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+            exceptions.add(cause);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2010-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.http.nio.netty.internal.http2;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static software.amazon.awssdk.http.nio.netty.internal.http2.Http2MultiplexedChannelPoolTest.connectedRecord;
+
+import io.netty.channel.Channel;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.concurrent.DefaultPromise;
+import io.netty.util.concurrent.ImmediateEventExecutor;
+import io.netty.util.concurrent.Promise;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+/**
+ * Tests for {@link MultiplexedChannelRecord}.
+ */
+public class MultiplexedChannelRecordTest {
+
+    @Test
+    public void retire_withStreamsInUse_releasesConnectionAfterLastStream() {
+        AtomicInteger releaseCount = new AtomicInteger(0);
+        MultiplexedChannelRecord record = connectedRecord(8, (ch, rec) -> releaseCount.incrementAndGet());
+        record.acquire(new DefaultPromise<>(ImmediateEventExecutor.INSTANCE));
+        record.acquire(new DefaultPromise<>(ImmediateEventExecutor.INSTANCE));
+
+        record.retire();
+        assertThat(record.canAcquireStream()).isFalse();
+        assertThat(releaseCount.get()).isEqualTo(0);
+
+        record.release(new EmbeddedChannel());
+        assertThat(releaseCount.get()).isEqualTo(0);
+
+        record.release(new EmbeddedChannel());
+        assertThat(releaseCount.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void closedConnection_isRetiredAndReleasedOnce() throws InterruptedException {
+        AtomicInteger releaseCount = new AtomicInteger(0);
+        MultiplexedChannelRecord record = connectedRecord(8, (ch, rec) -> releaseCount.incrementAndGet());
+        Channel connection = record.getConnectionFuture().getNow();
+
+        assertThat(record.canAcquireStream()).isTrue();
+        connection.close().await();
+
+        assertThat(record.isRetired()).isTrue();
+        assertThat(record.canAcquireStream()).isFalse();
+
+        record.releaseParentChannel();
+        assertThat(releaseCount.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void connectionClosedBeforeRecordIsCreated_isReleasedToPool() throws InterruptedException {
+        List<Channel> released = new ArrayList<>();
+        EmbeddedChannel connection = new EmbeddedChannel();
+        connection.close().await();
+        Promise<Channel> connectionFuture = new DefaultPromise<>(ImmediateEventExecutor.INSTANCE);
+        connectionFuture.setSuccess(connection);
+
+        MultiplexedChannelRecord record = new MultiplexedChannelRecord(connectionFuture, 8, (ch, rec) -> released.add(ch));
+        assertThat(record.isRetired()).isTrue();
+
+        Promise<Channel> streamPromise = new DefaultPromise<>(ImmediateEventExecutor.INSTANCE);
+        record.acquire(streamPromise);
+        connection.runPendingTasks();
+
+        assertThat(released).containsExactly(connection);
+        assertThat(streamPromise.isSuccess()).isFalse();
+    }
+}
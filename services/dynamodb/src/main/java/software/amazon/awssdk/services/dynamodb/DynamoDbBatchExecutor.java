@@ -0,0 +1,346 @@
+/*
+ * Copyright 2010-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.services.dynamodb;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Consumer;
+import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.core.retry.backoff.BackoffStrategy;
+import software.amazon.awssdk.services.dynamodb.internal.batch.BatchRunner;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.KeysAndAttributes;
+import software.amazon.awssdk.services.dynamodb.model.WriteRequest;
+import software.amazon.awssdk.utils.SdkAutoCloseable;
+import software.amazon.awssdk.utils.ThreadFactoryBuilder;
+import software.amazon.awssdk.utils.ToString;
+import software.amazon.awssdk.utils.Validate;
+
+/**
+ * Writes and reads large numbers of items with BatchWriteItem and BatchGetItem requests sent by a
+ * {@link DynamoDbAsyncClient}.
+ *
+ * <p>The items are split into batches of the maximum size that DynamoDB accepts, 25 write requests or 100 keys, and a
+ * configurable number of batches is sent concurrently. Items that DynamoDB leaves unprocessed are retried in later batches
+ * after a backoff delay. Items that are still unprocessed after the maximum number of retries, and the items of batches
+ * that fail, are reported in the result instead of failing the whole operation, so that they can be inspected or retried.</p>
+ *
+ * <p>The items are read from the given {@link Iterable} as batches are sent, so a large number of items does not need to be
+ * held in memory at once.</p>
+ *
+ * <pre class="brush: java">
+ * DynamoDbBatchExecutor executor = DynamoDbBatchExecutor.builder()
+ *                                                       .dynamoDbClient(DynamoDbAsyncClient.create())
+ *                                                       .maxConcurrentBatches(8)
+ *                                                       .build();
+ *
+ * executor.writeItems("my-table", writeRequests).join()
+ *         .failedItems()
+ *         .forEach(failed -&gt; log.warn("Failed to write " + failed.item(), failed.cause()));
+ * </pre>
+ */
+@SdkPublicApi
+@ThreadSafe
+public final class DynamoDbBatchExecutor implements SdkAutoCloseable {
+
+    private static final int MAX_WRITE_BATCH_SIZE = 25;
+    private static final int MAX_GET_BATCH_SIZE = 100;
+
+    private final DynamoDbAsyncClient client;
+    private final int maxConcurrentBatches;
+    private final int maxUnprocessedRetries;
+    private final BackoffStrategy backoffStrategy;
+    private final ScheduledExecutorService scheduledExecutor;
+    private final boolean shutdownScheduledExecutor;
+
+    private DynamoDbBatchExecutor(Builder builder) {
+        this.client = Validate.paramNotNull(builder.dynamoDbClient, "dynamoDbClient");
+        this.maxConcurrentBatches = Validate.isPositive(builder.maxConcurrentBatches, "maxConcurrentBatches");
+        this.maxUnprocessedRetries = Validate.isNotNegative(builder.maxUnprocessedRetries, "maxUnprocessedRetries");
+        this.backoffStrategy = Validate.paramNotNull(builder.backoffStrategy, "backoffStrategy");
+
+        if (builder.scheduledExecutorService != null) {
+            this.scheduledExecutor = builder.scheduledExecutorService;
+            this.shutdownScheduledExecutor = false;
+        } else {
+            this.scheduledExecutor = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().threadNamePrefix("dynamodb-batch-executor").daemonThreads(true).build());
+            this.shutdownScheduledExecutor = true;
+        }
+    }
+
+    /**
+     * Creates a builder for {@link DynamoDbBatchExecutor}.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Writes items to a table with BatchWriteItem requests.
+     *
+     * @param tableName The table to write to.
+     * @param writeRequests The put and delete requests to send. An item cannot be written to more than once in the same
+     * batch, so an item should not be put or deleted more than once.
+     * @return A future that is completed once every request has been sent. It only fails if reading the requests fails.
+     */
+    public CompletableFuture<WriteItemsResult> writeItems(String tableName, Iterable<? extends WriteRequest> writeRequests) {
+        Validate.paramNotNull(tableName, "tableName");
+        BatchRunner<WriteRequest> runner =
+            new BatchRunner<>(writeRequests.iterator(), MAX_WRITE_BATCH_SIZE, maxConcurrentBatches, maxUnprocessedRetries,
+                              backoffStrategy, scheduledExecutor, batch -> sendWriteBatch(tableName, batch));
+        return runner.run().thenApply(WriteItemsResult::new);
+    }
+
+    /**
+     * Reads items from a table with BatchGetItem requests.
+     *
+     * @param tableName The table to read from.
+     * @param keys The primary keys of the items to read. Each key should only be included once.
+     * @return A future that is completed once every key has been read. It only fails if reading the keys fails.
+     */
+    public CompletableFuture<GetItemsResult> getItems(String tableName, Iterable<? extends Map<String, AttributeValue>> keys) {
+        return getItems(tableName, keys, r -> { });
+    }
+
+    /**
+     * Reads items from a table with BatchGetItem requests.
+     *
+     * @param tableName The table to read from.
+     * @param keys The primary keys of the items to read. Each key should only be included once.
+     * @param options Sets the other options of the {@link KeysAndAttributes} of each request, like the projection
+     * expression or whether reads are strongly consistent. The keys that are set are ignored.
+     * @return A future that is completed once every key has been read. It only fails if reading the keys fails.
+     */
+    public CompletableFuture<GetItemsResult> getItems(String tableName,
+                                                      Iterable<? extends Map<String, AttributeValue>> keys,
+                                                      Consumer<KeysAndAttributes.Builder> options) {
+        Validate.paramNotNull(tableName, "tableName");
+        KeysAndAttributes template = KeysAndAttributes.builder().applyMutation(options).build();
+        Queue<Map<String, AttributeValue>> items = new ConcurrentLinkedQueue<>();
+
+        BatchRunner<Map<String, AttributeValue>> runner =
+            new BatchRunner<>(keys.iterator(), MAX_GET_BATCH_SIZE, maxConcurrentBatches, maxUnprocessedRetries,
+                              backoffStrategy, scheduledExecutor, batch -> sendGetBatch(tableName, template, batch, items));
+        return runner.run().thenApply(failedKeys -> new GetItemsResult(new ArrayList<>(items), failedKeys));
+    }
+
+    private CompletableFuture<List<WriteRequest>> sendWriteBatch(String tableName, List<WriteRequest> batch) {
+        BatchWriteItemRequest request = BatchWriteItemRequest.builder()
+                                                             .requestItems(Collections.singletonMap(tableName, batch))
+                                                             .build();
+        return client.batchWriteItem(request)
+                     .thenApply(r -> r.unprocessedItems().getOrDefault(tableName, Collections.emptyList()));
+    }
+
+    private CompletableFuture<List<Map<String, AttributeValue>>> sendGetBatch(String tableName,
+                                                                             KeysAndAttributes template,
+                                                                             List<Map<String, AttributeValue>> batch,
+                                                                             Queue<Map<String, AttributeValue>> items) {
+        KeysAndAttributes keysAndAttributes = template.toBuilder().keys(batch).build();
+        BatchGetItemRequest request = BatchGetItemRequest.builder()
+                                                         .requestItems(Collections.singletonMap(tableName, keysAndAttributes))
+                                                         .build();
+        return client.batchGetItem(request).thenApply(r -> {
+            items.addAll(r.responses().getOrDefault(tableName, Collections.emptyList()));
+            KeysAndAttributes unprocessed = r.unprocessedKeys().get(tableName);
+            return unprocessed == null ? Collections.emptyList() : unprocessed.keys();
+        });
+    }
+
+    /**
+     * Stops the thread used to delay retries, if it was created by this executor. The {@link DynamoDbAsyncClient} is not
+     * closed.
+     */
+    @Override
+    public void close() {
+        if (shutdownScheduledExecutor) {
+            scheduledExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * An item that could not be processed, and the reason why.
+     *
+     * @param <T> The type of the item.
+     */
+    public static final class FailedItem<T> {
+        private final T item;
+        private final Throwable cause;
+
+        public FailedItem(T item, Throwable cause) {
+            this.item = item;
+            this.cause = cause;
+        }
+
+        /**
+         * @return The write request or key that could not be processed.
+         */
+        public T item() {
+            return item;
+        }
+
+        /**
+         * @return The exception of the batch request the item was part of, or an exception stating that the item was still
+         * unprocessed after the maximum number of retries.
+         */
+        public Throwable cause() {
+            return cause;
+        }
+
+        @Override
+        public String toString() {
+            return ToString.builder("FailedItem")
+                           .add("Item", item)
+                           .add("Cause", cause)
+                           .build();
+        }
+    }
+
+    /**
+     * The result of {@link #writeItems(String, Iterable)}.
+     */
+    public static final class WriteItemsResult {
+        private final List<FailedItem<WriteRequest>> failedItems;
+
+        private WriteItemsResult(List<FailedItem<WriteRequest>> failedItems) {
+            this.failedItems = failedItems;
+        }
+
+        /**
+         * @return The write requests that could not be processed. The other write requests have been applied.
+         */
+        public List<FailedItem<WriteRequest>> failedItems() {
+            return failedItems;
+        }
+    }
+
+    /**
+     * The result of {@link #getItems(String, Iterable)}.
+     */
+    public static final class GetItemsResult {
+        private final List<Map<String, AttributeValue>> items;
+        private final List<FailedItem<Map<String, AttributeValue>>> failedKeys;
+
+        private GetItemsResult(List<Map<String, AttributeValue>> items,
+                               List<FailedItem<Map<String, AttributeValue>>> failedKeys) {
+            this.items = Collections.unmodifiableList(items);
+            this.failedKeys = failedKeys;
+        }
+
+        /**
+         * @return The items that were found, in no particular order. Keys that do not match an item are left out.
+         */
+        public List<Map<String, AttributeValue>> items() {
+            return items;
+        }
+
+        /**
+         * @return The keys that could not be read.
+         */
+        public List<FailedItem<Map<String, AttributeValue>>> failedKeys() {
+            return failedKeys;
+        }
+    }
+
+    /**
+     * Builder class to construct {@link DynamoDbBatchExecutor} object
+     */
+    public static final class Builder {
+        private static final int DEFAULT_MAX_CONCURRENT_BATCHES = 4;
+        private static final int DEFAULT_MAX_UNPROCESSED_RETRIES = 10;
+
+        private DynamoDbAsyncClient dynamoDbClient;
+        private int maxConcurrentBatches = DEFAULT_MAX_CONCURRENT_BATCHES;
+        private int maxUnprocessedRetries = DEFAULT_MAX_UNPROCESSED_RETRIES;
+        private BackoffStrategy backoffStrategy = DynamoDbRetryPolicy.defaultPolicy().backoffStrategy();
+        private ScheduledExecutorService scheduledExecutorService;
+
+        private Builder() {
+        }
+
+        /**
+         * The client that batches are sent with. It is not closed when the {@link DynamoDbBatchExecutor} is closed. This is
+         * required.
+         *
+         * @return This object for method chaining
+         */
+        public Builder dynamoDbClient(DynamoDbAsyncClient dynamoDbClient) {
+            this.dynamoDbClient = dynamoDbClient;
+            return this;
+        }
+
+        /**
+         * The maximum number of batches to have in flight at a time for each call. Defaults to 4.
+         *
+         * @return This object for method chaining
+         */
+        public Builder maxConcurrentBatches(int maxConcurrentBatches) {
+            this.maxConcurrentBatches = maxConcurrentBatches;
+            return this;
+        }
+
+        /**
+         * The number of times an item that DynamoDB leaves unprocessed is retried before it is reported as failed. Defaults
+         * to 10.
+         *
+         * @return This object for method chaining
+         */
+        public Builder maxUnprocessedRetries(int maxUnprocessedRetries) {
+            this.maxUnprocessedRetries = maxUnprocessedRetries;
+            return this;
+        }
+
+        /**
+         * How long to wait before sending a batch that retries unprocessed items. Defaults to the backoff strategy of
+         * {@link DynamoDbRetryPolicy#defaultPolicy()}.
+         *
+         * @return This object for method chaining
+         */
+        public Builder backoffStrategy(BackoffStrategy backoffStrategy) {
+            this.backoffStrategy = backoffStrategy;
+            return this;
+        }
+
+        /**
+         * The executor that delays the batches that retry unprocessed items. It is not shut down when the
+         * {@link DynamoDbBatchExecutor} is closed. By default, a single daemon thread is created for each executor.
+         *
+         * @return This object for method chaining
+         */
+        public Builder scheduledExecutorService(ScheduledExecutorService scheduledExecutorService) {
+            this.scheduledExecutorService = scheduledExecutorService;
+            return this;
+        }
+
+        /**
+         * Construct a {@link DynamoDbBatchExecutor} object.
+         */
+        public DynamoDbBatchExecutor build() {
+            return new DynamoDbBatchExecutor(this);
+        }
+    }
+}
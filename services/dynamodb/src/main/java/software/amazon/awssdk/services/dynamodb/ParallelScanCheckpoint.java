@@ -0,0 +1,126 @@
+/*
+ * Copyright 2010-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.services.dynamodb;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import software.amazon.awssdk.annotations.Immutable;
+import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.utils.ToString;
+import software.amazon.awssdk.utils.Validate;
+
+/**
+ * The progress of a parallel scan, from which a new {@link ParallelScanPublisher} or {@link ParallelScanIterable} can resume
+ * the scan without returning the pages that have already been returned.
+ *
+ * <p>A checkpoint is taken each time a page is returned, and is available from {@link ParallelScanPage#checkpoint()}. To
+ * store a checkpoint, store its total number of segments, its exclusive start keys and its completed segments, and
+ * recreate it with {@link #create(int, Map, Set)}.</p>
+ */
+@Immutable
+@SdkPublicApi
+public final class ParallelScanCheckpoint {
+    private final int totalSegments;
+    private final Map<Integer, Map<String, AttributeValue>> exclusiveStartKeys;
+    private final Set<Integer> completedSegments;
+
+    private ParallelScanCheckpoint(int totalSegments,
+                                   Map<Integer, Map<String, AttributeValue>> exclusiveStartKeys,
+                                   Set<Integer> completedSegments) {
+        this.totalSegments = totalSegments;
+        this.exclusiveStartKeys = Collections.unmodifiableMap(new HashMap<>(exclusiveStartKeys));
+        this.completedSegments = Collections.unmodifiableSet(new HashSet<>(completedSegments));
+    }
+
+    /**
+     * Creates a checkpoint.
+     *
+     * @param totalSegments The number of segments the table is scanned in.
+     * @param exclusiveStartKeys The key to continue each segment from that has been partially scanned.
+     * @param completedSegments The segments that have been scanned completely.
+     */
+    public static ParallelScanCheckpoint create(int totalSegments,
+                                                Map<Integer, Map<String, AttributeValue>> exclusiveStartKeys,
+                                                Set<Integer> completedSegments) {
+        Validate.isPositive(totalSegments, "totalSegments");
+        Validate.paramNotNull(exclusiveStartKeys, "exclusiveStartKeys");
+        Validate.paramNotNull(completedSegments, "completedSegments");
+        return new ParallelScanCheckpoint(totalSegments, exclusiveStartKeys, completedSegments);
+    }
+
+    /**
+     * @return The number of segments the table is scanned in.
+     */
+    public int totalSegments() {
+        return totalSegments;
+    }
+
+    /**
+     * @return The key to continue each segment from that has been partially scanned. Segments that have not been started
+     * and segments that have been completed are not included.
+     */
+    public Map<Integer, Map<String, AttributeValue>> exclusiveStartKeys() {
+        return exclusiveStartKeys;
+    }
+
+    /**
+     * @return The segments that have been scanned completely.
+     */
+    public Set<Integer> completedSegments() {
+        return completedSegments;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        ParallelScanCheckpoint that = (ParallelScanCheckpoint) o;
+
+        if (totalSegments != that.totalSegments) {
+            return false;
+        }
+        if (!exclusiveStartKeys.equals(that.exclusiveStartKeys)) {
+            return false;
+        }
+        return completedSegments.equals(that.completedSegments);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = totalSegments;
+        result = 31 * result + exclusiveStartKeys.hashCode();
+        result = 31 * result + completedSegments.hashCode();
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return ToString.builder("ParallelScanCheckpoint")
+                       .add("TotalSegments", totalSegments)
+                       .add("ExclusiveStartKeys", exclusiveStartKeys)
+                       .add("CompletedSegments", completedSegments)
+                       .build();
+    }
+}
@@ -0,0 +1,305 @@
+/*
+ * Copyright 2010-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.services.dynamodb;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import software.amazon.awssdk.annotations.NotThreadSafe;
+import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.core.exception.AbortedException;
+import software.amazon.awssdk.core.pagination.sync.PaginatedItemsIterable;
+import software.amazon.awssdk.core.pagination.sync.SdkIterable;
+import software.amazon.awssdk.services.dynamodb.internal.scan.ParallelScanSegments;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
+import software.amazon.awssdk.services.dynamodb.model.ScanResponse;
+import software.amazon.awssdk.utils.ThreadFactoryBuilder;
+import software.amazon.awssdk.utils.Validate;
+
+/**
+ * Iterates over the pages of a Scan that is split into segments which are scanned concurrently, for tables that take too
+ * long to scan one page at a time with {@link ScanIterable}.
+ *
+ * <p>Up to {@link Builder#maxConcurrentSegments(int)} segments are scanned at a time on background threads, each with at
+ * most one Scan request in flight. The next page of a segment is only requested once the previous page of that segment has
+ * been returned by the iterator, so no more than that many pages are requested or buffered ahead of the caller. Pages are
+ * returned in the order they arrive, so the pages of different segments are interleaved, while the pages of one segment
+ * are returned in order.</p>
+ *
+ * <p>Each page carries a {@link ParallelScanCheckpoint} from which a new iterable can resume the scan with
+ * {@link Builder#resumeFrom(ParallelScanCheckpoint)}. Every iterator performs a new scan from the first page or from the
+ * checkpoint. If an iterator is not iterated to the end, the Scan requests it has in flight still complete in the
+ * background.</p>
+ *
+ * <pre class="brush: java">
+ * ParallelScanIterable pages = ParallelScanIterable.builder()
+ *                                                  .dynamoDbClient(client)
+ *                                                  .scanRequest(ScanRequest.builder().tableName("my-table").build())
+ *                                                  .totalSegments(16)
+ *                                                  .build();
+ * pages.items().forEach(item -&gt; export(item));
+ * </pre>
+ */
+@SdkPublicApi
+@NotThreadSafe
+public final class ParallelScanIterable implements SdkIterable<ParallelScanPage> {
+    static final int DEFAULT_MAX_CONCURRENT_SEGMENTS = 8;
+    private static final int MAX_TOTAL_SEGMENTS = 1_000_000;
+
+    private final DynamoDbClient client;
+    private final ScanRequest scanRequest;
+    private final int totalSegments;
+    private final int maxConcurrentSegments;
+    private final ParallelScanCheckpoint checkpoint;
+    private final ExecutorService executor;
+
+    private ParallelScanIterable(Builder builder) {
+        this.client = Validate.paramNotNull(builder.dynamoDbClient, "dynamoDbClient");
+        this.scanRequest = Validate.paramNotNull(builder.scanRequest, "scanRequest");
+        this.totalSegments = validateTotalSegments(builder.totalSegments);
+        this.maxConcurrentSegments = Math.min(Validate.isPositive(builder.maxConcurrentSegments, "maxConcurrentSegments"),
+                                              totalSegments);
+        this.checkpoint = builder.checkpoint;
+        this.executor = builder.executorService;
+    }
+
+    /**
+     * Creates a builder for {@link ParallelScanIterable}.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    static int validateTotalSegments(int totalSegments) {
+        Validate.isTrue(totalSegments > 0 && totalSegments <= MAX_TOTAL_SEGMENTS,
+                        "totalSegments must be between 1 and %s, but was %s.", MAX_TOTAL_SEGMENTS, totalSegments);
+        return totalSegments;
+    }
+
+    @Override
+    public Iterator<ParallelScanPage> iterator() {
+        return new ParallelScanIterator();
+    }
+
+    /**
+     * @return An iterable of the items of every page.
+     */
+    public SdkIterable<Map<String, AttributeValue>> items() {
+        Function<ParallelScanPage, Iterator<Map<String, AttributeValue>>> getIterator =
+            page -> page.response().items().iterator();
+        return PaginatedItemsIterable.builder().pagesIterable(this).itemIteratorFunction(getIterator).build();
+    }
+
+    private final class ParallelScanIterator implements Iterator<ParallelScanPage> {
+        private final ParallelScanSegments segments = new ParallelScanSegments(scanRequest, totalSegments, checkpoint);
+        private final BlockingQueue<SegmentResult> results = new LinkedBlockingQueue<>();
+        private final ExecutorService scanExecutor;
+        private int activeSegments;
+        private ParallelScanPage nextPage;
+
+        private ParallelScanIterator() {
+            if (executor != null) {
+                this.scanExecutor = executor;
+            } else {
+                ThreadPoolExecutor threadPool = new ThreadPoolExecutor(
+                    maxConcurrentSegments, maxConcurrentSegments, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                    new ThreadFactoryBuilder().threadNamePrefix("dynamodb-parallel-scan").daemonThreads(true).build());
+                threadPool.allowCoreThreadTimeOut(true);
+                this.scanExecutor = threadPool;
+            }
+
+            for (int i = 0; i < maxConcurrentSegments; i++) {
+                Integer segment = segments.nextSegment();
+                if (segment == null) {
+                    break;
+                }
+                activeSegments++;
+                fetch(segment);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (nextPage != null) {
+                return true;
+            }
+            if (activeSegments == 0) {
+                finish();
+                return false;
+            }
+
+            SegmentResult result = takeResult();
+            if (result.error != null) {
+                activeSegments = 0;
+                finish();
+                throw result.error;
+            }
+
+            nextPage = new ParallelScanPage(result.segment, result.response,
+                                            segments.onPageReturned(result.segment, result.response));
+            Integer nextSegment = segments.hasNextPage(result.segment) ? Integer.valueOf(result.segment)
+                                                                       : segments.nextSegment();
+            if (nextSegment == null) {
+                activeSegments--;
+            } else {
+                fetch(nextSegment);
+            }
+            return true;
+        }
+
+        @Override
+        public ParallelScanPage next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("No more pages left");
+            }
+            ParallelScanPage page = nextPage;
+            nextPage = null;
+            return page;
+        }
+
+        private void fetch(int segment) {
+            ScanRequest request = segments.nextRequest(segment);
+            scanExecutor.execute(() -> {
+                try {
+                    results.add(new SegmentResult(segment, client.scan(request), null));
+                } catch (RuntimeException e) {
+                    results.add(new SegmentResult(segment, null, e));
+                }
+            });
+        }
+
+        private SegmentResult takeResult() {
+            try {
+                return results.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw AbortedException.create("Interrupted while waiting for the next page.", e);
+            }
+        }
+
+        private void finish() {
+            if (executor == null) {
+                scanExecutor.shutdown();
+            }
+        }
+    }
+
+    private static final class SegmentResult {
+        private final int segment;
+        private final ScanResponse response;
+        private final RuntimeException error;
+
+        private SegmentResult(int segment, ScanResponse response, RuntimeException error) {
+            this.segment = segment;
+            this.response = response;
+            this.error = error;
+        }
+    }
+
+    /**
+     * Builder class to construct {@link ParallelScanIterable} object
+     */
+    public static final class Builder {
+        private DynamoDbClient dynamoDbClient;
+        private ScanRequest scanRequest;
+        private int totalSegments;
+        private int maxConcurrentSegments = DEFAULT_MAX_CONCURRENT_SEGMENTS;
+        private ParallelScanCheckpoint checkpoint;
+        private ExecutorService executorService;
+
+        private Builder() {
+        }
+
+        /**
+         * The client to send the Scan requests with. This is required.
+         *
+         * @return This object for method chaining
+         */
+        public Builder dynamoDbClient(DynamoDbClient dynamoDbClient) {
+            this.dynamoDbClient = dynamoDbClient;
+            return this;
+        }
+
+        /**
+         * The request to scan each segment with. Its segment, total segments and exclusive start key are replaced for each
+         * request. This is required.
+         *
+         * @return This object for method chaining
+         */
+        public Builder scanRequest(ScanRequest scanRequest) {
+            this.scanRequest = scanRequest;
+            return this;
+        }
+
+        /**
+         * The number of segments to split the table into, between 1 and 1,000,000. This is required.
+         *
+         * @return This object for method chaining
+         */
+        public Builder totalSegments(int totalSegments) {
+            this.totalSegments = totalSegments;
+            return this;
+        }
+
+        /**
+         * The maximum number of segments to scan at a time, which is also the maximum number of pages that are requested
+         * or buffered at a time. Defaults to 8.
+         *
+         * @return This object for method chaining
+         */
+        public Builder maxConcurrentSegments(int maxConcurrentSegments) {
+            this.maxConcurrentSegments = maxConcurrentSegments;
+            return this;
+        }
+
+        /**
+         * The checkpoint to resume the scan from. Its total number of segments must match
+         * {@link #totalSegments(int)}. By default, the scan starts at the beginning of every segment.
+         *
+         * @return This object for method chaining
+         */
+        public Builder resumeFrom(ParallelScanCheckpoint checkpoint) {
+            this.checkpoint = checkpoint;
+            return this;
+        }
+
+        /**
+         * The executor to send the Scan requests on. It should be able to run {@link #maxConcurrentSegments(int)} tasks at
+         * a time, and it is not shut down by the iterable. By default, each iterator creates threads for its own requests,
+         * which stop once the iterator has been iterated to the end.
+         *
+         * @return This object for method chaining
+         */
+        public Builder executorService(ExecutorService executorService) {
+            this.executorService = executorService;
+            return this;
+        }
+
+        /**
+         * Construct a {@link ParallelScanIterable} object.
+         */
+        public ParallelScanIterable build() {
+            return new ParallelScanIterable(this);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2010-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.services.dynamodb;
+
+import software.amazon.awssdk.annotations.Immutable;
+import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.services.dynamodb.model.ScanResponse;
+import software.amazon.awssdk.utils.ToString;
+
+/**
+ * A page of a parallel scan, returned by {@link ParallelScanPublisher} and {@link ParallelScanIterable}.
+ */
+@Immutable
+@SdkPublicApi
+public final class ParallelScanPage {
+    private final int segment;
+    private final ScanResponse response;
+    private final ParallelScanCheckpoint checkpoint;
+
+    ParallelScanPage(int segment, ScanResponse response, ParallelScanCheckpoint checkpoint) {
+        this.segment = segment;
+        this.response = response;
+        this.checkpoint = checkpoint;
+    }
+
+    /**
+     * @return The segment this page belongs to.
+     */
+    public int segment() {
+        return segment;
+    }
+
+    /**
+     * @return The response of the Scan request that returned this page.
+     */
+    public ScanResponse response() {
+        return response;
+    }
+
+    /**
+     * @return The progress of the scan including this page and every page returned before it. Once this page has been
+     * processed, the scan can be resumed from this checkpoint.
+     */
+    public ParallelScanCheckpoint checkpoint() {
+        return checkpoint;
+    }
+
+    @Override
+    public String toString() {
+        return ToString.builder("ParallelScanPage")
+                       .add("Segment", segment)
+                       .add("Response", response)
+                       .build();
+    }
+}
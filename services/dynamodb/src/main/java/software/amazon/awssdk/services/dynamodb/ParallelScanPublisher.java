@@ -0,0 +1,313 @@
+/*
+ * Copyright 2010-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.services.dynamodb;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.core.async.SdkPublisher;
+import software.amazon.awssdk.services.dynamodb.internal.scan.ParallelScanSegments;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
+import software.amazon.awssdk.services.dynamodb.model.ScanResponse;
+import software.amazon.awssdk.utils.Validate;
+
+/**
+ * Publishes the pages of a Scan that is split into segments which are scanned concurrently, for tables that take too long
+ * to scan one page at a time with {@link ScanPublisher}.
+ *
+ * <p>Up to {@link Builder#maxConcurrentSegments(int)} segments are scanned at a time, each with at most one Scan request in
+ * flight. The next page of a segment is only requested once the previous page of that segment has been delivered to the
+ * subscriber, so no more than that many pages are requested or buffered ahead of the subscriber's demand. Pages are
+ * delivered in the order they arrive, so the pages of different segments are interleaved, while the pages of one segment
+ * are delivered in order.</p>
+ *
+ * <p>Each page carries a {@link ParallelScanCheckpoint} from which a new publisher can resume the scan with
+ * {@link Builder#resumeFrom(ParallelScanCheckpoint)}. Every subscription performs a new scan from the first page or from the
+ * checkpoint.</p>
+ *
+ * <pre class="brush: java">
+ * ParallelScanPublisher publisher = ParallelScanPublisher.builder()
+ *                                                        .dynamoDbClient(client)
+ *                                                        .scanRequest(ScanRequest.builder().tableName("my-table").build())
+ *                                                        .totalSegments(16)
+ *                                                        .build();
+ * publisher.items().subscribe(item -&gt; export(item));
+ * </pre>
+ */
+@SdkPublicApi
+@ThreadSafe
+public final class ParallelScanPublisher implements SdkPublisher<ParallelScanPage> {
+    private final DynamoDbAsyncClient client;
+    private final ScanRequest scanRequest;
+    private final int totalSegments;
+    private final int maxConcurrentSegments;
+    private final ParallelScanCheckpoint checkpoint;
+
+    private ParallelScanPublisher(Builder builder) {
+        this.client = Validate.paramNotNull(builder.dynamoDbClient, "dynamoDbClient");
+        this.scanRequest = Validate.paramNotNull(builder.scanRequest, "scanRequest");
+        this.totalSegments = ParallelScanIterable.validateTotalSegments(builder.totalSegments);
+        this.maxConcurrentSegments = Math.min(Validate.isPositive(builder.maxConcurrentSegments, "maxConcurrentSegments"),
+                                              totalSegments);
+        this.checkpoint = builder.checkpoint;
+    }
+
+    /**
+     * Creates a builder for {@link ParallelScanPublisher}.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super ParallelScanPage> subscriber) {
+        ParallelScanSegments segments = new ParallelScanSegments(scanRequest, totalSegments, checkpoint);
+        ParallelScanSubscription subscription = new ParallelScanSubscription(subscriber, segments);
+        subscriber.onSubscribe(subscription);
+        subscription.start();
+    }
+
+    /**
+     * @return A publisher of the items of every page.
+     */
+    public SdkPublisher<Map<String, AttributeValue>> items() {
+        return flatMapIterable(page -> page.response().items());
+    }
+
+    private final class ParallelScanSubscription implements Subscription {
+        private final Subscriber<? super ParallelScanPage> subscriber;
+        private final ParallelScanSegments segments;
+        private final AtomicInteger drainRequests = new AtomicInteger();
+
+        // Guarded by this
+        private final Deque<SegmentResponse> receivedPages = new ArrayDeque<>();
+        private long demand;
+        private int activeSegments;
+        private Throwable error;
+        private boolean started;
+        private boolean terminated;
+
+        private ParallelScanSubscription(Subscriber<? super ParallelScanPage> subscriber, ParallelScanSegments segments) {
+            this.subscriber = subscriber;
+            this.segments = segments;
+        }
+
+        private void start() {
+            for (int i = 0; i < maxConcurrentSegments; i++) {
+                Integer segment = segments.nextSegment();
+                if (segment == null) {
+                    break;
+                }
+                synchronized (this) {
+                    activeSegments++;
+                }
+                fetch(segment);
+            }
+            synchronized (this) {
+                started = true;
+            }
+            drain();
+        }
+
+        @Override
+        public void request(long n) {
+            synchronized (this) {
+                if (terminated) {
+                    return;
+                }
+                if (n <= 0) {
+                    error = new IllegalArgumentException("Non-positive request signals are illegal");
+                } else {
+                    demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+                }
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            synchronized (this) {
+                terminated = true;
+                receivedPages.clear();
+            }
+        }
+
+        private void fetch(int segment) {
+            ScanRequest request = segments.nextRequest(segment);
+            client.scan(request).whenComplete((response, t) -> {
+                synchronized (this) {
+                    if (t != null) {
+                        error = t instanceof CompletionException && t.getCause() != null ? t.getCause() : t;
+                    } else {
+                        receivedPages.add(new SegmentResponse(segment, response));
+                    }
+                }
+                drain();
+            });
+        }
+
+        /**
+         * Delivers received pages while there is demand, and signals completion or failure. Only one thread drains at a time,
+         * and a thread that asks to drain while another is draining has the other thread drain once more instead.
+         */
+        private void drain() {
+            if (drainRequests.getAndIncrement() != 0) {
+                return;
+            }
+            do {
+                drainReceivedPages();
+            } while (drainRequests.decrementAndGet() != 0);
+        }
+
+        private void drainReceivedPages() {
+            while (true) {
+                SegmentResponse received;
+                synchronized (this) {
+                    if (terminated || !started) {
+                        return;
+                    }
+                    if (error != null) {
+                        terminated = true;
+                        receivedPages.clear();
+                    } else if (receivedPages.isEmpty() && activeSegments == 0) {
+                        terminated = true;
+                    }
+                    if (terminated) {
+                        received = null;
+                    } else if (demand > 0 && !receivedPages.isEmpty()) {
+                        received = receivedPages.poll();
+                        demand--;
+                    } else {
+                        return;
+                    }
+                }
+
+                if (received == null) {
+                    if (error != null) {
+                        subscriber.onError(error);
+                    } else {
+                        subscriber.onComplete();
+                    }
+                    return;
+                }
+
+                ParallelScanPage page = new ParallelScanPage(received.segment, received.response,
+                                                             segments.onPageReturned(received.segment, received.response));
+                Integer nextSegment = segments.hasNextPage(received.segment) ? Integer.valueOf(received.segment)
+                                                                             : segments.nextSegment();
+                if (nextSegment == null) {
+                    synchronized (this) {
+                        activeSegments--;
+                    }
+                } else {
+                    fetch(nextSegment);
+                }
+                subscriber.onNext(page);
+            }
+        }
+    }
+
+    private static final class SegmentResponse {
+        private final int segment;
+        private final ScanResponse response;
+
+        private SegmentResponse(int segment, ScanResponse response) {
+            this.segment = segment;
+            this.response = response;
+        }
+    }
+
+    /**
+     * Builder class to construct {@link ParallelScanPublisher} object
+     */
+    public static final class Builder {
+        private DynamoDbAsyncClient dynamoDbClient;
+        private ScanRequest scanRequest;
+        private int totalSegments;
+        private int maxConcurrentSegments = ParallelScanIterable.DEFAULT_MAX_CONCURRENT_SEGMENTS;
+        private ParallelScanCheckpoint checkpoint;
+
+        private Builder() {
+        }
+
+        /**
+         * The client to send the Scan requests with. This is required.
+         *
+         * @return This object for method chaining
+         */
+        public Builder dynamoDbClient(DynamoDbAsyncClient dynamoDbClient) {
+            this.dynamoDbClient = dynamoDbClient;
+            return this;
+        }
+
+        /**
+         * The request to scan each segment with. Its segment, total segments and exclusive start key are replaced for each
+         * request. This is required.
+         *
+         * @return This object for method chaining
+         */
+        public Builder scanRequest(ScanRequest scanRequest) {
+            this.scanRequest = scanRequest;
+            return this;
+        }
+
+        /**
+         * The number of segments to split the table into, between 1 and 1,000,000. This is required.
+         *
+         * @return This object for method chaining
+         */
+        public Builder totalSegments(int totalSegments) {
+            this.totalSegments = totalSegments;
+            return this;
+        }
+
+        /**
+         * The maximum number of segments to scan at a time, which is also the maximum number of pages that are requested
+         * or buffered at a time. Defaults to 8.
+         *
+         * @return This object for method chaining
+         */
+        public Builder maxConcurrentSegments(int maxConcurrentSegments) {
+            this.maxConcurrentSegments = maxConcurrentSegments;
+            return this;
+        }
+
+        /**
+         * The checkpoint to resume the scan from. Its total number of segments must match
+         * {@link #totalSegments(int)}. By default, the scan starts at the beginning of every segment.
+         *
+         * @return This object for method chaining
+         */
+        public Builder resumeFrom(ParallelScanCheckpoint checkpoint) {
+            this.checkpoint = checkpoint;
+            return this;
+        }
+
+        /**
+         * Construct a {@link ParallelScanPublisher} object.
+         */
+        public ParallelScanPublisher build() {
+            return new ParallelScanPublisher(this);
+        }
+    }
+}
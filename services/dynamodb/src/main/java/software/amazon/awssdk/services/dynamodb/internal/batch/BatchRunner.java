@@ -0,0 +1,234 @@
+/*
+ * Copyright 2010-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.services.dynamodb.internal.batch;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.core.retry.RetryPolicyContext;
+import software.amazon.awssdk.core.retry.backoff.BackoffStrategy;
+import software.amazon.awssdk.services.dynamodb.DynamoDbBatchExecutor.FailedItem;
+
+/**
+ * Sends the items of an iterator in batches of the maximum size, with a fixed number of batches in flight at a time.
+ *
+ * <p>Each batch in flight is driven by a worker that sends the next batch once its previous batch has completed. Items
+ * that the service leaves unprocessed are carried into the worker's next batch together with new items, so that batches
+ * stay full, and that batch is delayed by the backoff strategy because unprocessed items mean the table is throttling.
+ * Items that are still unprocessed after the maximum number of retries, and the items of batches that fail, are reported as
+ * failed items instead of failing the whole run.</p>
+ *
+ * @param <T> The type of the items.
+ */
+@SdkInternalApi
+public final class BatchRunner<T> {
+    private final Iterator<? extends T> items;
+    private final int maxBatchSize;
+    private final int maxConcurrentBatches;
+    private final int maxRetries;
+    private final BackoffStrategy backoffStrategy;
+    private final ScheduledExecutorService scheduledExecutor;
+    private final BatchSender<T> sender;
+
+    private final Queue<FailedItem<T>> failedItems = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger activeWorkers = new AtomicInteger();
+    private final CompletableFuture<List<FailedItem<T>>> result = new CompletableFuture<>();
+
+    public BatchRunner(Iterator<? extends T> items,
+                       int maxBatchSize,
+                       int maxConcurrentBatches,
+                       int maxRetries,
+                       BackoffStrategy backoffStrategy,
+                       ScheduledExecutorService scheduledExecutor,
+                       BatchSender<T> sender) {
+        this.items = items;
+        this.maxBatchSize = maxBatchSize;
+        this.maxConcurrentBatches = maxConcurrentBatches;
+        this.maxRetries = maxRetries;
+        this.backoffStrategy = backoffStrategy;
+        this.scheduledExecutor = scheduledExecutor;
+        this.sender = sender;
+    }
+
+    /**
+     * Sends all items.
+     *
+     * @return A future that is completed with the items that could not be processed once every item has been sent. It only
+     * fails if reading the items fails.
+     */
+    public CompletableFuture<List<FailedItem<T>>> run() {
+        activeWorkers.set(maxConcurrentBatches);
+        for (int i = 0; i < maxConcurrentBatches; i++) {
+            new Worker().sendNextBatch();
+        }
+        return result;
+    }
+
+    /**
+     * Takes up to the given number of items from the iterator. Returns null if reading the items failed.
+     */
+    private List<T> nextItems(int count) {
+        List<T> next = new ArrayList<>(count);
+        try {
+            synchronized (items) {
+                while (next.size() < count && items.hasNext()) {
+                    next.add(items.next());
+                }
+            }
+        } catch (RuntimeException e) {
+            result.completeExceptionally(e);
+            return null;
+        }
+        return next;
+    }
+
+    private void onWorkerDone() {
+        if (activeWorkers.decrementAndGet() == 0) {
+            result.complete(Collections.unmodifiableList(new ArrayList<>(failedItems)));
+        }
+    }
+
+    /**
+     * Sends a batch of items to the service.
+     */
+    @FunctionalInterface
+    public interface BatchSender<T> {
+
+        /**
+         * @return A future that is completed with the items that the service left unprocessed.
+         */
+        CompletableFuture<List<T>> send(List<T> batch);
+    }
+
+    private final class Worker {
+        /**
+         * The unprocessed items to include in the next batch, and how often each of them has been retried.
+         */
+        private Map<T, Integer> carriedItems = Collections.emptyMap();
+        private int consecutiveThrottledBatches;
+
+        /**
+         * Sends batches until one completes asynchronously or has to be delayed, so that batches which complete immediately
+         * do not grow the stack.
+         */
+        private void sendNextBatch() {
+            while (true) {
+                if (result.isDone()) {
+                    onWorkerDone();
+                    return;
+                }
+
+                List<T> batch = new ArrayList<>(carriedItems.keySet());
+                List<T> newItems = nextItems(maxBatchSize - batch.size());
+                if (newItems == null) {
+                    onWorkerDone();
+                    return;
+                }
+                batch.addAll(newItems);
+                if (batch.isEmpty()) {
+                    onWorkerDone();
+                    return;
+                }
+
+                Map<T, Integer> retries = carriedItems;
+                if (consecutiveThrottledBatches > 0) {
+                    Duration delay = backoffStrategy.computeDelayBeforeNextRetry(
+                        RetryPolicyContext.builder().retriesAttempted(consecutiveThrottledBatches - 1).build());
+                    try {
+                        scheduledExecutor.schedule(() -> send(batch, retries), delay.toNanos(), TimeUnit.NANOSECONDS);
+                    } catch (RejectedExecutionException e) {
+                        // The executor has been shut down, so the batch can't be sent after its delay
+                        batch.forEach(item -> failedItems.add(new FailedItem<>(item, e)));
+                        onWorkerDone();
+                    }
+                    return;
+                }
+
+                CompletableFuture<List<T>> sendFuture = sendBatch(batch);
+                if (!sendFuture.isDone()) {
+                    sendFuture.whenComplete((unprocessed, t) -> {
+                        onBatchComplete(batch, retries, unprocessed, t);
+                        sendNextBatch();
+                    });
+                    return;
+                }
+                sendFuture.handle((unprocessed, t) -> {
+                    onBatchComplete(batch, retries, unprocessed, t);
+                    return null;
+                });
+            }
+        }
+
+        private void send(List<T> batch, Map<T, Integer> retries) {
+            sendBatch(batch).whenComplete((unprocessed, t) -> {
+                onBatchComplete(batch, retries, unprocessed, t);
+                sendNextBatch();
+            });
+        }
+
+        private CompletableFuture<List<T>> sendBatch(List<T> batch) {
+            try {
+                return sender.send(batch);
+            } catch (Throwable t) {
+                CompletableFuture<List<T>> failed = new CompletableFuture<>();
+                failed.completeExceptionally(t);
+                return failed;
+            }
+        }
+
+        private void onBatchComplete(List<T> batch, Map<T, Integer> retries, List<T> unprocessed, Throwable error) {
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                batch.forEach(item -> failedItems.add(new FailedItem<>(item, cause)));
+                carriedItems = Collections.emptyMap();
+                consecutiveThrottledBatches = 0;
+                return;
+            }
+
+            if (unprocessed.isEmpty()) {
+                carriedItems = Collections.emptyMap();
+                consecutiveThrottledBatches = 0;
+                return;
+            }
+
+            consecutiveThrottledBatches++;
+            carriedItems = new LinkedHashMap<>();
+            for (T item : unprocessed) {
+                int itemRetries = retries.getOrDefault(item, 0) + 1;
+                if (itemRetries > maxRetries) {
+                    failedItems.add(new FailedItem<>(item, SdkClientException.create(
+                        "The item was still unprocessed after " + maxRetries + " retries.")));
+                } else {
+                    carriedItems.put(item, itemRetries);
+                }
+            }
+        }
+    }
+}
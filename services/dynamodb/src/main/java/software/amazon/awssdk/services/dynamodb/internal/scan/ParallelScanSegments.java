@@ -0,0 +1,108 @@
+/*
+ * Copyright 2010-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.services.dynamodb.internal.scan;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.core.util.PaginatorUtils;
+import software.amazon.awssdk.services.dynamodb.ParallelScanCheckpoint;
+import software.amazon.awssdk.services.dynamodb.ParallelScanIterable;
+import software.amazon.awssdk.services.dynamodb.ParallelScanPublisher;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
+import software.amazon.awssdk.services.dynamodb.model.ScanResponse;
+import software.amazon.awssdk.utils.Validate;
+
+/**
+ * Tracks which segments of a parallel scan remain to be started and where each started segment continues from, for
+ * {@link ParallelScanPublisher} and {@link ParallelScanIterable}.
+ */
+@SdkInternalApi
+@ThreadSafe
+public final class ParallelScanSegments {
+    private final ScanRequest scanRequest;
+    private final int totalSegments;
+
+    // Guarded by this
+    private final Deque<Integer> unstartedSegments = new ArrayDeque<>();
+    private final Map<Integer, Map<String, AttributeValue>> exclusiveStartKeys = new HashMap<>();
+    private final Set<Integer> completedSegments = new HashSet<>();
+
+    public ParallelScanSegments(ScanRequest scanRequest, int totalSegments, ParallelScanCheckpoint checkpoint) {
+        this.scanRequest = scanRequest;
+        this.totalSegments = totalSegments;
+        if (checkpoint != null) {
+            Validate.isTrue(checkpoint.totalSegments() == totalSegments,
+                            "The checkpoint has %s total segments instead of %s.", checkpoint.totalSegments(), totalSegments);
+            exclusiveStartKeys.putAll(checkpoint.exclusiveStartKeys());
+            completedSegments.addAll(checkpoint.completedSegments());
+        }
+
+        // Continue the partially scanned segments first, so that they complete and drop out of the checkpoint.
+        unstartedSegments.addAll(exclusiveStartKeys.keySet());
+        for (int segment = 0; segment < totalSegments; segment++) {
+            if (!completedSegments.contains(segment) && !exclusiveStartKeys.containsKey(segment)) {
+                unstartedSegments.add(segment);
+            }
+        }
+    }
+
+    /**
+     * @return The next segment to scan, or null if every segment has been started.
+     */
+    public synchronized Integer nextSegment() {
+        return unstartedSegments.poll();
+    }
+
+    /**
+     * @return The request for the next page of the given segment.
+     */
+    public synchronized ScanRequest nextRequest(int segment) {
+        return scanRequest.toBuilder()
+                          .segment(segment)
+                          .totalSegments(totalSegments)
+                          .exclusiveStartKey(exclusiveStartKeys.get(segment))
+                          .build();
+    }
+
+    /**
+     * Records that a page has been returned to the caller.
+     *
+     * @return The checkpoint after the page.
+     */
+    public synchronized ParallelScanCheckpoint onPageReturned(int segment, ScanResponse response) {
+        if (PaginatorUtils.isOutputTokenAvailable(response.lastEvaluatedKey())) {
+            exclusiveStartKeys.put(segment, response.lastEvaluatedKey());
+        } else {
+            exclusiveStartKeys.remove(segment);
+            completedSegments.add(segment);
+        }
+        return ParallelScanCheckpoint.create(totalSegments, exclusiveStartKeys, completedSegments);
+    }
+
+    /**
+     * @return Whether the given segment has more pages after the last page that was returned.
+     */
+    public synchronized boolean hasNextPage(int segment) {
+        return !completedSegments.contains(segment);
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright 2010-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.services.dynamodb;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import software.amazon.awssdk.core.retry.backoff.FixedDelayBackoffStrategy;
+import software.amazon.awssdk.services.dynamodb.DynamoDbBatchExecutor.FailedItem;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.KeysAndAttributes;
+import software.amazon.awssdk.services.dynamodb.model.ProvisionedThroughputExceededException;
+import software.amazon.awssdk.services.dynamodb.model.WriteRequest;
+
+public class DynamoDbBatchExecutorTest {
+    private static final String TABLE = "table";
+
+    private DynamoDbAsyncClient client;
+    private DynamoDbBatchExecutor executor;
+
+    @Before
+    public void setup() {
+        client = mock(DynamoDbAsyncClient.class);
+        executor = DynamoDbBatchExecutor.builder()
+                                        .dynamoDbClient(client)
+                                        .maxConcurrentBatches(2)
+                                        .maxUnprocessedRetries(2)
+                                        .backoffStrategy(FixedDelayBackoffStrategy.create(Duration.ofMillis(1)))
+                                        .build();
+    }
+
+    @After
+    public void teardown() {
+        executor.close();
+    }
+
+    @Test
+    public void writeItems_splitIntoBatchesOfTwentyFive() {
+        when(client.batchWriteItem(any(BatchWriteItemRequest.class)))
+            .thenReturn(CompletableFuture.completedFuture(BatchWriteItemResponse.builder().build()));
+
+        DynamoDbBatchExecutor.WriteItemsResult result = executor.writeItems(TABLE, writeRequests(60)).join();
+
+        assertThat(result.failedItems()).isEmpty();
+        ArgumentCaptor<BatchWriteItemRequest> captor = ArgumentCaptor.forClass(BatchWriteItemRequest.class);
+        verify(client, times(3)).batchWriteItem(captor.capture());
+        assertThat(captor.getAllValues()).extracting(r -> r.requestItems().get(TABLE).size()).containsExactly(25, 25, 10);
+    }
+
+    @Test
+    public void writeItems_unprocessedItems_retriedInNextBatch() {
+        List<WriteRequest> requests = writeRequests(30);
+        when(client.batchWriteItem(any(BatchWriteItemRequest.class)))
+            .thenReturn(unprocessedWrites(requests.subList(0, 2)))
+            .thenReturn(CompletableFuture.completedFuture(BatchWriteItemResponse.builder().build()));
+        DynamoDbBatchExecutor serialExecutor = DynamoDbBatchExecutor.builder()
+                                                                    .dynamoDbClient(client)
+                                                                    .maxConcurrentBatches(1)
+                                                                    .backoffStrategy(FixedDelayBackoffStrategy.create(
+                                                                        Duration.ofMillis(1)))
+                                                                    .build();
+
+        DynamoDbBatchExecutor.WriteItemsResult result = serialExecutor.writeItems(TABLE, requests).join();
+        serialExecutor.close();
+
+        assertThat(result.failedItems()).isEmpty();
+        ArgumentCaptor<BatchWriteItemRequest> captor = ArgumentCaptor.forClass(BatchWriteItemRequest.class);
+        verify(client, times(2)).batchWriteItem(captor.capture());
+        List<WriteRequest> second = captor.getAllValues().get(1).requestItems().get(TABLE);
+        assertThat(second).hasSize(7);
+        assertThat(second).containsAll(requests.subList(0, 2));
+    }
+
+    @Test
+    public void writeItems_stillUnprocessedAfterMaxRetries_reportedAsFailed() {
+        List<WriteRequest> requests = writeRequests(1);
+        when(client.batchWriteItem(any(BatchWriteItemRequest.class))).thenReturn(unprocessedWrites(requests));
+
+        DynamoDbBatchExecutor.WriteItemsResult result = executor.writeItems(TABLE, requests).join();
+
+        assertThat(result.failedItems()).extracting(FailedItem::item).containsExactly(requests.get(0));
+        assertThat(result.failedItems().get(0).cause()).hasMessageContaining("unprocessed after 2 retries");
+        verify(client, times(3)).batchWriteItem(any(BatchWriteItemRequest.class));
+    }
+
+    @Test
+    public void writeItems_batchFails_itemsReportedAsFailedAndOtherBatchesSent() {
+        ProvisionedThroughputExceededException exception = ProvisionedThroughputExceededException.builder().build();
+        CompletableFuture<BatchWriteItemResponse> failed = new CompletableFuture<>();
+        failed.completeExceptionally(exception);
+        when(client.batchWriteItem(any(BatchWriteItemRequest.class)))
+            .thenReturn(failed)
+            .thenReturn(CompletableFuture.completedFuture(BatchWriteItemResponse.builder().build()));
+
+        DynamoDbBatchExecutor.WriteItemsResult result = executor.writeItems(TABLE, writeRequests(50)).join();
+
+        assertThat(result.failedItems()).hasSize(25);
+        assertThat(result.failedItems()).extracting(FailedItem::cause).containsOnly(exception);
+        verify(client, times(2)).batchWriteItem(any(BatchWriteItemRequest.class));
+    }
+
+    @Test
+    public void writeItems_executorShutDownBeforeBackoff_itemsReportedAsFailed() throws Exception {
+        List<WriteRequest> requests = writeRequests(1);
+        when(client.batchWriteItem(any(BatchWriteItemRequest.class))).thenReturn(unprocessedWrites(requests));
+        ScheduledExecutorService shutDownExecutor = Executors.newSingleThreadScheduledExecutor();
+        shutDownExecutor.shutdown();
+        DynamoDbBatchExecutor closedExecutor = DynamoDbBatchExecutor.builder()
+                                                                    .dynamoDbClient(client)
+                                                                    .scheduledExecutorService(shutDownExecutor)
+                                                                    .build();
+
+        DynamoDbBatchExecutor.WriteItemsResult result = closedExecutor.writeItems(TABLE, requests).get(5, TimeUnit.SECONDS);
+
+        assertThat(result.failedItems()).extracting(FailedItem::item).containsExactly(requests.get(0));
+        assertThat(result.failedItems().get(0).cause()).isInstanceOf(RejectedExecutionException.class);
+        verify(client, times(1)).batchWriteItem(any(BatchWriteItemRequest.class));
+    }
+
+    @Test
+    public void getItems_collectsItemsAndRetriesUnprocessedKeys() {
+        List<Map<String, AttributeValue>> keys = IntStream.range(0, 150).mapToObj(DynamoDbBatchExecutorTest::key)
+                                                          .collect(Collectors.toList());
+        when(client.batchGetItem(any(BatchGetItemRequest.class))).thenAnswer(invocation -> {
+            BatchGetItemRequest request = (BatchGetItemRequest) invocation.getArguments()[0];
+            List<Map<String, AttributeValue>> requested = request.requestItems().get(TABLE).keys();
+            BatchGetItemResponse.Builder response = BatchGetItemResponse.builder();
+            if (requested.contains(key(0)) && requested.size() > 1) {
+                List<Map<String, AttributeValue>> found = new ArrayList<>(requested);
+                found.remove(key(0));
+                response.responses(Collections.singletonMap(TABLE, found))
+                        .unprocessedKeys(Collections.singletonMap(TABLE, KeysAndAttributes.builder().keys(key(0)).build()));
+            } else {
+                response.responses(Collections.singletonMap(TABLE, requested));
+            }
+            return CompletableFuture.completedFuture(response.build());
+        });
+
+        DynamoDbBatchExecutor.GetItemsResult result =
+            executor.getItems(TABLE, keys, r -> r.consistentRead(true)).join();
+
+        assertThat(result.failedKeys()).isEmpty();
+        assertThat(result.items()).hasSize(150).containsAll(keys);
+        ArgumentCaptor<BatchGetItemRequest> captor = ArgumentCaptor.forClass(BatchGetItemRequest.class);
+        verify(client, times(3)).batchGetItem(captor.capture());
+        assertThat(captor.getAllValues()).extracting(r -> r.requestItems().get(TABLE).consistentRead()).containsOnly(true);
+    }
+
+    private static CompletableFuture<BatchWriteItemResponse> unprocessedWrites(List<WriteRequest> unprocessed) {
+        return CompletableFuture.completedFuture(BatchWriteItemResponse.builder()
+                                                                       .unprocessedItems(Collections.singletonMap(TABLE,
+                                                                                                                  unprocessed))
+                                                                       .build());
+    }
+
+    private static List<WriteRequest> writeRequests(int count) {
+        return IntStream.range(0, count)
+                        .mapToObj(i -> WriteRequest.builder().putRequest(r -> r.item(key(i))).build())
+                        .collect(Collectors.toList());
+    }
+
+    private static Map<String, AttributeValue> key(int id) {
+        return Collections.singletonMap("id", AttributeValue.builder().n(String.valueOf(id)).build());
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright 2010-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.services.dynamodb;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import org.junit.Before;
+import org.junit.Test;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.DynamoDbException;
+import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
+import software.amazon.awssdk.services.dynamodb.model.ScanResponse;
+
+public class ParallelScanTest {
+    private static final int TOTAL_SEGMENTS = 4;
+    private static final int PAGES_PER_SEGMENT = 3;
+    private static final ScanRequest SCAN_REQUEST = ScanRequest.builder().tableName("table").build();
+
+    private final AtomicInteger scansInFlight = new AtomicInteger();
+    private final AtomicInteger maxScansInFlight = new AtomicInteger();
+
+    private DynamoDbClient syncClient;
+    private DynamoDbAsyncClient asyncClient;
+
+    @Before
+    public void setup() {
+        syncClient = mock(DynamoDbClient.class);
+        when(syncClient.scan(any(ScanRequest.class))).thenAnswer(invocation -> {
+            maxScansInFlight.accumulateAndGet(scansInFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(5);
+                return scan((ScanRequest) invocation.getArguments()[0]);
+            } finally {
+                scansInFlight.decrementAndGet();
+            }
+        });
+
+        asyncClient = mock(DynamoDbAsyncClient.class);
+        when(asyncClient.scan(any(ScanRequest.class)))
+            .thenAnswer(invocation -> CompletableFuture.completedFuture(scan((ScanRequest) invocation.getArguments()[0])));
+    }
+
+    @Test
+    public void iterable_returnsEveryPageOfEverySegment() {
+        ParallelScanIterable pages = iterable().maxConcurrentSegments(2).build();
+
+        List<ParallelScanPage> returned = new ArrayList<>();
+        pages.forEach(returned::add);
+
+        assertThat(returned).hasSize(TOTAL_SEGMENTS * PAGES_PER_SEGMENT);
+        for (int segment = 0; segment < TOTAL_SEGMENTS; segment++) {
+            int s = segment;
+            assertThat(returned.stream().filter(p -> p.segment() == s).map(p -> p.response().items().get(0)))
+                .containsExactly(item(s, 0), item(s, 1), item(s, 2));
+        }
+        assertThat(pages.items()).hasSize(TOTAL_SEGMENTS * PAGES_PER_SEGMENT);
+        assertThat(maxScansInFlight.get()).isLessThanOrEqualTo(2);
+
+        ParallelScanCheckpoint last = returned.get(returned.size() - 1).checkpoint();
+        assertThat(last.completedSegments()).containsExactlyInAnyOrder(0, 1, 2, 3);
+        assertThat(last.exclusiveStartKeys()).isEmpty();
+    }
+
+    @Test
+    public void iterable_resumeFromCheckpoint_returnsOnlyRemainingPages() {
+        Iterator<ParallelScanPage> iterator = iterable().build().iterator();
+        List<Map<String, AttributeValue>> items = new ArrayList<>();
+        ParallelScanCheckpoint checkpoint = null;
+        for (int i = 0; i < 5; i++) {
+            ParallelScanPage page = iterator.next();
+            items.addAll(page.response().items());
+            checkpoint = page.checkpoint();
+        }
+
+        ParallelScanCheckpoint stored = ParallelScanCheckpoint.create(checkpoint.totalSegments(),
+                                                                      checkpoint.exclusiveStartKeys(),
+                                                                      checkpoint.completedSegments());
+        iterable().resumeFrom(stored).build().items().forEach(items::add);
+
+        assertThat(items).hasSize(TOTAL_SEGMENTS * PAGES_PER_SEGMENT).doesNotHaveDuplicates();
+    }
+
+    @Test
+    public void iterable_scanFails_exceptionThrown() {
+        DynamoDbException exception = (DynamoDbException) DynamoDbException.builder().message("boom").build();
+        doThrow(exception).when(syncClient).scan(any(ScanRequest.class));
+
+        assertThatThrownBy(() -> iterable().build().iterator().hasNext()).isSameAs(exception);
+    }
+
+    @Test
+    public void publisher_publishesEveryItemOfEverySegment() {
+        List<Map<String, AttributeValue>> items = Collections.synchronizedList(new ArrayList<>());
+
+        publisher().maxConcurrentSegments(3).build().items().subscribe(items::add).join();
+
+        assertThat(items).hasSize(TOTAL_SEGMENTS * PAGES_PER_SEGMENT).doesNotHaveDuplicates();
+    }
+
+    @Test
+    public void publisher_onlyRequestsPagesAheadOfDemandUpToMaxConcurrentSegments() {
+        List<ParallelScanPage> received = new ArrayList<>();
+        Subscription[] subscription = new Subscription[1];
+        publisher().maxConcurrentSegments(2).build().subscribe(new Subscriber<ParallelScanPage>() {
+            @Override
+            public void onSubscribe(Subscription s) {
+                subscription[0] = s;
+            }
+
+            @Override
+            public void onNext(ParallelScanPage page) {
+                received.add(page);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+
+        verify(asyncClient, times(2)).scan(any(ScanRequest.class));
+        subscription[0].request(1);
+        assertThat(received).hasSize(1);
+        verify(asyncClient, times(3)).scan(any(ScanRequest.class));
+    }
+
+    @Test
+    public void publisher_resumeFromCompletedCheckpoint_completesWithoutScanning() {
+        ParallelScanCheckpoint checkpoint = ParallelScanCheckpoint.create(TOTAL_SEGMENTS, Collections.emptyMap(),
+                                                                          Collections.singleton(0));
+        List<ParallelScanPage> pages = Collections.synchronizedList(new ArrayList<>());
+
+        publisher().resumeFrom(checkpoint).build().subscribe(pages::add).join();
+
+        assertThat(pages.stream().map(ParallelScanPage::segment).collect(Collectors.toSet())).containsOnly(1, 2, 3);
+        assertThat(pages).hasSize((TOTAL_SEGMENTS - 1) * PAGES_PER_SEGMENT);
+    }
+
+    @Test
+    public void publisher_scanFails_errorSignalled() {
+        DynamoDbException exception = (DynamoDbException) DynamoDbException.builder().message("boom").build();
+        CompletableFuture<ScanResponse> failed = new CompletableFuture<>();
+        failed.completeExceptionally(exception);
+        doReturn(failed).when(asyncClient).scan(any(ScanRequest.class));
+
+        assertThatThrownBy(() -> publisher().build().subscribe(p -> { }).join()).hasCause(exception);
+    }
+
+    private ParallelScanIterable.Builder iterable() {
+        return ParallelScanIterable.builder()
+                                   .dynamoDbClient(syncClient)
+                                   .scanRequest(SCAN_REQUEST)
+                                   .totalSegments(TOTAL_SEGMENTS);
+    }
+
+    private ParallelScanPublisher.Builder publisher() {
+        return ParallelScanPublisher.builder()
+                                    .dynamoDbClient(asyncClient)
+                                    .scanRequest(SCAN_REQUEST)
+                                    .totalSegments(TOTAL_SEGMENTS);
+    }
+
+    /**
+     * Returns one item per page, and uses the page number as the last evaluated key.
+     */
+    private static ScanResponse scan(ScanRequest request) {
+        assertThat(request.totalSegments()).isEqualTo(TOTAL_SEGMENTS);
+        Map<String, AttributeValue> startKey = request.exclusiveStartKey();
+        int page = startKey.isEmpty() ? 0 : Integer.parseInt(startKey.get("page").n()) + 1;
+        ScanResponse.Builder response = ScanResponse.builder().items(item(request.segment(), page));
+        if (page < PAGES_PER_SEGMENT - 1) {
+            response.lastEvaluatedKey(Collections.singletonMap("page", AttributeValue.builder()
+                                                                                  .n(String.valueOf(page))
+                                                                                  .build()));
+        }
+        return response.build();
+    }
+
+    private static Map<String, AttributeValue> item(int segment, int page) {
+        return Collections.singletonMap("id", AttributeValue.builder().s(segment + "-" + page).build());
+    }
+}
@@ -0,0 +1,236 @@
+/*
+ * Copyright 2010-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.services.s3;
+
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Consumer;
+import software.amazon.awssdk.annotations.Immutable;
+import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.services.s3.internal.multipart.FileMultipartUpload;
+import software.amazon.awssdk.services.s3.internal.multipart.MultipartUpload;
+import software.amazon.awssdk.services.s3.internal.multipart.PartSplittingSubscriber;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.utils.ThreadFactoryBuilder;
+import software.amazon.awssdk.utils.Validate;
+
+/**
+ * Uploads large objects to Amazon S3 as multipart uploads, sending several parts at the same time over the connections of an
+ * {@link S3AsyncClient}.
+ *
+ * <pre>
+ * S3MultipartUploader uploader = S3MultipartUploader.builder().s3AsyncClient(s3AsyncClient).build();
+ * CompleteMultipartUploadResponse response = uploader.uploadFile(r -> r.bucket("bucket").key("key"), Paths.get("file"))
+ *                                                    .join();
+ * </pre>
+ *
+ * <p>
+ * Every upload creates a multipart upload, uploads its parts with at most {@link Builder#maxConcurrentParts(Integer)} parts
+ * in flight, and completes the upload once every part has been uploaded. A part that fails with a retryable error is
+ * uploaded again after a backoff delay, up to {@link Builder#numPartRetries(Integer)} times, on top of the retries made by
+ * the client itself. When a part cannot be uploaded, or when the returned future is cancelled, the parts in flight are
+ * cancelled and the multipart upload is aborted so that its parts are not left behind.
+ * </p>
+ *
+ * <p>
+ * The {@link S3AsyncClient} is not closed by this class.
+ * </p>
+ */
+@Immutable
+@ThreadSafe
+@SdkPublicApi
+public final class S3MultipartUploader {
+    /**
+     * The smallest part size S3 accepts for any part other than the last one.
+     */
+    private static final long MIN_PART_SIZE_IN_BYTES = 5L * 1024 * 1024;
+
+    private static final long DEFAULT_MINIMUM_PART_SIZE_IN_BYTES = 8L * 1024 * 1024;
+    private static final int DEFAULT_MAX_CONCURRENT_PARTS = 8;
+    private static final int DEFAULT_NUM_PART_RETRIES = 2;
+
+    private final S3AsyncClient s3AsyncClient;
+    private final long minimumPartSizeInBytes;
+    private final int maxConcurrentParts;
+    private final int numPartRetries;
+
+    private S3MultipartUploader(Builder builder) {
+        this.s3AsyncClient = Validate.paramNotNull(builder.s3AsyncClient, "s3AsyncClient");
+        this.minimumPartSizeInBytes = builder.minimumPartSizeInBytes == null ? DEFAULT_MINIMUM_PART_SIZE_IN_BYTES
+                                                                             : builder.minimumPartSizeInBytes;
+        this.maxConcurrentParts = builder.maxConcurrentParts == null ? DEFAULT_MAX_CONCURRENT_PARTS
+                                                                     : builder.maxConcurrentParts;
+        this.numPartRetries = builder.numPartRetries == null ? DEFAULT_NUM_PART_RETRIES : builder.numPartRetries;
+
+        Validate.isTrue(minimumPartSizeInBytes >= MIN_PART_SIZE_IN_BYTES,
+                        "minimumPartSizeInBytes must be at least %s bytes.", MIN_PART_SIZE_IN_BYTES);
+        Validate.isPositive(maxConcurrentParts, "maxConcurrentParts");
+        Validate.isNotNegative(numPartRetries, "numPartRetries");
+    }
+
+    /**
+     * Creates a builder for {@link S3MultipartUploader}.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Uploads a file. Each part is read from the file at its own offset while it is being sent, so the file is never buffered
+     * in memory.
+     *
+     * @param createMultipartUploadRequest The request used to create the multipart upload. Its bucket, key, request payer and
+     * server-side encryption customer key are also used for the part uploads.
+     * @param path The file to upload.
+     * @return A future that is completed with the response to the CompleteMultipartUpload call.
+     */
+    public CompletableFuture<CompleteMultipartUploadResponse> uploadFile(
+        CreateMultipartUploadRequest createMultipartUploadRequest, Path path) {
+        Validate.paramNotNull(path, "path");
+        return FileMultipartUpload.upload(newUpload(createMultipartUploadRequest), path, minimumPartSizeInBytes,
+                                          maxConcurrentParts);
+    }
+
+    /**
+     * Uploads a file.
+     *
+     * <p>
+     * This is a convenience which creates an instance of the {@link CreateMultipartUploadRequest.Builder} avoiding the need
+     * to create one manually via {@link CreateMultipartUploadRequest#builder()}
+     * </p>
+     *
+     * @see #uploadFile(CreateMultipartUploadRequest, Path)
+     */
+    public CompletableFuture<CompleteMultipartUploadResponse> uploadFile(
+        Consumer<CreateMultipartUploadRequest.Builder> createMultipartUploadRequest, Path path) {
+        return uploadFile(CreateMultipartUploadRequest.builder().applyMutation(createMultipartUploadRequest).build(), path);
+    }
+
+    /**
+     * Uploads the content of an {@link AsyncRequestBody}. The content is buffered into parts, and data is only requested from
+     * the body while there is room for another part, so at most {@code maxConcurrentParts + 1} parts are held in memory.
+     *
+     * @param createMultipartUploadRequest The request used to create the multipart upload. Its bucket, key, request payer and
+     * server-side encryption customer key are also used for the part uploads.
+     * @param requestBody The content to upload.
+     * @return A future that is completed with the response to the CompleteMultipartUpload call.
+     */
+    public CompletableFuture<CompleteMultipartUploadResponse> upload(
+        CreateMultipartUploadRequest createMultipartUploadRequest, AsyncRequestBody requestBody) {
+        Validate.paramNotNull(requestBody, "requestBody");
+        return PartSplittingSubscriber.upload(newUpload(createMultipartUploadRequest), requestBody, minimumPartSizeInBytes,
+                                              maxConcurrentParts);
+    }
+
+    /**
+     * Uploads the content of an {@link AsyncRequestBody}.
+     *
+     * <p>
+     * This is a convenience which creates an instance of the {@link CreateMultipartUploadRequest.Builder} avoiding the need
+     * to create one manually via {@link CreateMultipartUploadRequest#builder()}
+     * </p>
+     *
+     * @see #upload(CreateMultipartUploadRequest, AsyncRequestBody)
+     */
+    public CompletableFuture<CompleteMultipartUploadResponse> upload(
+        Consumer<CreateMultipartUploadRequest.Builder> createMultipartUploadRequest, AsyncRequestBody requestBody) {
+        return upload(CreateMultipartUploadRequest.builder().applyMutation(createMultipartUploadRequest).build(), requestBody);
+    }
+
+    private MultipartUpload newUpload(CreateMultipartUploadRequest createMultipartUploadRequest) {
+        Validate.paramNotNull(createMultipartUploadRequest, "createMultipartUploadRequest");
+        return new MultipartUpload(s3AsyncClient, createMultipartUploadRequest, numPartRetries,
+                                   RetrySchedulerHolder.SCHEDULER);
+    }
+
+    /**
+     * Delays the retries of failed parts for all uploaders. It is only created once an upload is started, and its thread is a
+     * daemon thread, so it does not need to be shut down.
+     */
+    private static final class RetrySchedulerHolder {
+        private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder().threadNamePrefix("sdk-s3-multipart-retry").daemonThreads(true).build());
+    }
+
+    /**
+     * Builder class to construct {@link S3MultipartUploader} object
+     */
+    public static final class Builder {
+        private S3AsyncClient s3AsyncClient;
+        private Long minimumPartSizeInBytes;
+        private Integer maxConcurrentParts;
+        private Integer numPartRetries;
+
+        private Builder() {
+        }
+
+        /**
+         * The client used to make the requests. This is required, and is not closed by the {@link S3MultipartUploader}.
+         *
+         * @return This object for method chaining
+         */
+        public Builder s3AsyncClient(S3AsyncClient s3AsyncClient) {
+            this.s3AsyncClient = s3AsyncClient;
+            return this;
+        }
+
+        /**
+         * The size of each part except the last one. Larger parts are used when the content would not otherwise fit in the
+         * 10,000 parts S3 allows. This must be at least 5 MiB, and defaults to 8 MiB.
+         *
+         * @return This object for method chaining
+         */
+        public Builder minimumPartSizeInBytes(Long minimumPartSizeInBytes) {
+            this.minimumPartSizeInBytes = minimumPartSizeInBytes;
+            return this;
+        }
+
+        /**
+         * The maximum number of parts of a single upload that are sent at the same time. When uploading an
+         * {@link AsyncRequestBody}, this also bounds the number of parts buffered in memory. Defaults to 8.
+         *
+         * @return This object for method chaining
+         */
+        public Builder maxConcurrentParts(Integer maxConcurrentParts) {
+            this.maxConcurrentParts = maxConcurrentParts;
+            return this;
+        }
+
+        /**
+         * The number of times a part that failed with a retryable error is uploaded again before the whole upload is
+         * aborted. These retries are in addition to the retries made by the client's own retry policy, and are delayed with
+         * the SDK's default backoff strategy. Defaults to 2.
+         *
+         * @return This object for method chaining
+         */
+        public Builder numPartRetries(Integer numPartRetries) {
+            this.numPartRetries = numPartRetries;
+            return this;
+        }
+
+        /**
+         * Construct a {@link S3MultipartUploader} object.
+         */
+        public S3MultipartUploader build() {
+            return new S3MultipartUploader(this);
+        }
+    }
+}
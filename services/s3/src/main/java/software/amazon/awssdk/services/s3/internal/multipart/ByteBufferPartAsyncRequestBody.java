@@ -0,0 +1,73 @@
+/*
+ * Copyright 2010-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.services.s3.internal.multipart;
+
+import java.nio.ByteBuffer;
+import java.util.Optional;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+
+/**
+ * An {@link AsyncRequestBody} for a part that has been buffered in memory. Unlike
+ * {@link AsyncRequestBody#fromByteBuffer(ByteBuffer)} the buffer is not copied, and every subscriber gets its own read-only
+ * view of it, so the same part can be sent again when it is retried.
+ */
+@SdkInternalApi
+final class ByteBufferPartAsyncRequestBody implements AsyncRequestBody {
+    private final ByteBuffer part;
+
+    ByteBufferPartAsyncRequestBody(ByteBuffer part) {
+        this.part = part;
+    }
+
+    @Override
+    public Optional<Long> contentLength() {
+        return Optional.of((long) part.remaining());
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super ByteBuffer> s) {
+        s.onSubscribe(new Subscription() {
+            private boolean done = false;
+
+            @Override
+            public void request(long n) {
+                if (done) {
+                    return;
+                }
+
+                done = true;
+                if (n < 1) {
+                    s.onError(new IllegalArgumentException(s + " violated the Reactive Streams rule 3.9 by requesting a "
+                                                           + "non-positive number of elements."));
+                    return;
+                }
+
+                if (part.hasRemaining()) {
+                    s.onNext(part.asReadOnlyBuffer());
+                }
+                s.onComplete();
+            }
+
+            @Override
+            public void cancel() {
+                done = true;
+            }
+        });
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2010-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.services.s3.internal.multipart;
+
+import java.io.IOException;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadResponse;
+import software.amazon.awssdk.utils.IoUtils;
+import software.amazon.awssdk.utils.Logger;
+
+/**
+ * Uploads a file as a multipart upload. The size of the file is known up front, so each part is a fixed region of the file
+ * that is read directly from disk when it is sent. No part is buffered in memory.
+ */
+@ThreadSafe
+@SdkInternalApi
+public final class FileMultipartUpload {
+    private static final Logger log = Logger.loggerFor(FileMultipartUpload.class);
+
+    private static final int CHUNK_SIZE_IN_BYTES = 64 * 1024;
+
+    private final MultipartUpload upload;
+    private final AsynchronousFileChannel channel;
+    private final long fileSize;
+    private final long partSize;
+    private final int partCount;
+    private final int maxConcurrentParts;
+
+    private final AtomicInteger nextPartNumber = new AtomicInteger(0);
+    private final AtomicInteger completedPartCount = new AtomicInteger(0);
+
+    private FileMultipartUpload(MultipartUpload upload, AsynchronousFileChannel channel, long fileSize, long partSize,
+                                int maxConcurrentParts) {
+        this.upload = upload;
+        this.channel = channel;
+        this.fileSize = fileSize;
+        this.partSize = partSize;
+        this.partCount = (int) Math.max(1, (fileSize + partSize - 1) / partSize);
+        this.maxConcurrentParts = maxConcurrentParts;
+    }
+
+    /**
+     * Uploads the given file.
+     *
+     * @param upload The upload to add the parts of the file to.
+     * @param path The file to upload.
+     * @param minimumPartSize The part size to use, unless the file is too large to be uploaded in
+     * {@link MultipartUpload#MAX_PARTS} parts of this size.
+     * @param maxConcurrentParts The maximum number of parts to upload at the same time.
+     */
+    public static CompletableFuture<CompleteMultipartUploadResponse> upload(MultipartUpload upload, Path path,
+                                                                            long minimumPartSize, int maxConcurrentParts) {
+        AsynchronousFileChannel channel;
+        long fileSize;
+        try {
+            channel = AsynchronousFileChannel.open(path, StandardOpenOption.READ);
+        } catch (IOException | RuntimeException e) {
+            upload.fail(SdkClientException.create("Unable to open " + path, e));
+            return upload.result();
+        }
+
+        try {
+            fileSize = channel.size();
+        } catch (IOException e) {
+            IoUtils.closeQuietly(channel, log.logger());
+            upload.fail(SdkClientException.create("Unable to read the size of " + path, e));
+            return upload.result();
+        }
+
+        long partSize = Math.max(minimumPartSize, (fileSize + MultipartUpload.MAX_PARTS - 1) / MultipartUpload.MAX_PARTS);
+        FileMultipartUpload fileUpload = new FileMultipartUpload(upload, channel, fileSize, partSize, maxConcurrentParts);
+
+        upload.result().whenComplete((r, t) -> IoUtils.closeQuietly(channel, log.logger()));
+        upload.start().thenRun(fileUpload::startParts);
+        return upload.result();
+    }
+
+    private void startParts() {
+        for (int i = 0; i < Math.min(maxConcurrentParts, partCount); i++) {
+            uploadNextPart();
+        }
+    }
+
+    private void uploadNextPart() {
+        int partNumber = nextPartNumber.incrementAndGet();
+        if (partNumber > partCount || upload.isFinished()) {
+            return;
+        }
+
+        long offset = (partNumber - 1) * partSize;
+        long length = Math.min(partSize, fileSize - offset);
+        upload.uploadPart(partNumber, length, () -> new FilePartAsyncRequestBody(channel, offset, length, CHUNK_SIZE_IN_BYTES))
+              .thenRun(this::partCompleted);
+    }
+
+    private void partCompleted() {
+        if (completedPartCount.incrementAndGet() == partCount) {
+            upload.complete(partCount);
+        } else {
+            uploadNextPart();
+        }
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2010-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.services.s3.internal.multipart;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.CompletionHandler;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+
+/**
+ * An {@link AsyncRequestBody} for one region of a file. Reads are positional, so any number of parts can read the same
+ * {@link AsynchronousFileChannel} concurrently. The channel is owned by the caller and is not closed by this body.
+ */
+@SdkInternalApi
+final class FilePartAsyncRequestBody implements AsyncRequestBody {
+    private final AsynchronousFileChannel channel;
+    private final long offset;
+    private final long length;
+    private final int chunkSizeInBytes;
+
+    FilePartAsyncRequestBody(AsynchronousFileChannel channel, long offset, long length, int chunkSizeInBytes) {
+        this.channel = channel;
+        this.offset = offset;
+        this.length = length;
+        this.chunkSizeInBytes = chunkSizeInBytes;
+    }
+
+    @Override
+    public Optional<Long> contentLength() {
+        return Optional.of(length);
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super ByteBuffer> s) {
+        PartSubscription subscription = new PartSubscription(s);
+        s.onSubscribe(subscription);
+        if (length == 0) {
+            subscription.signalOnComplete();
+        }
+    }
+
+    /**
+     * Reads the file region for one subscriber. At most one read is outstanding at a time, so signals to the subscriber are
+     * never concurrent.
+     */
+    private final class PartSubscription implements Subscription, CompletionHandler<Integer, ByteBuffer> {
+        private final Subscriber<? super ByteBuffer> subscriber;
+        private final AtomicLong outstandingDemand = new AtomicLong(0);
+        private final AtomicBoolean readInProgress = new AtomicBoolean(false);
+        private final long end = offset + length;
+
+        private long position = offset;
+        private volatile boolean done = false;
+
+        private PartSubscription(Subscriber<? super ByteBuffer> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (done) {
+                return;
+            }
+
+            if (n < 1) {
+                signalOnError(new IllegalArgumentException(subscriber + " violated the Reactive Streams rule 3.9 by "
+                                                           + "requesting a non-positive number of elements."));
+                return;
+            }
+
+            // As governed by rule 3.17, when demand overflows `Long.MAX_VALUE` we treat the signalled demand as
+            // "effectively unbounded"
+            outstandingDemand.getAndUpdate(initialDemand -> Long.MAX_VALUE - initialDemand < n ? Long.MAX_VALUE
+                                                                                                : initialDemand + n);
+            readIfNeeded();
+        }
+
+        @Override
+        public void cancel() {
+            done = true;
+        }
+
+        @Override
+        public void completed(Integer bytesRead, ByteBuffer buffer) {
+            if (bytesRead < 0) {
+                signalOnError(new IOException("The file ended " + (end - position) + " bytes before the end of the part. "
+                                              + "Was it modified during the upload?"));
+                return;
+            }
+
+            position += bytesRead;
+            if (buffer.hasRemaining()) {
+                // Short read, fill the rest of the chunk before handing it to the subscriber.
+                read(buffer);
+                return;
+            }
+
+            buffer.flip();
+            outstandingDemand.decrementAndGet();
+            signalOnNext(buffer);
+            if (position == end) {
+                signalOnComplete();
+                return;
+            }
+
+            readInProgress.set(false);
+            readIfNeeded();
+        }
+
+        @Override
+        public void failed(Throwable exc, ByteBuffer buffer) {
+            signalOnError(exc);
+        }
+
+        private void readIfNeeded() {
+            if (done || outstandingDemand.get() <= 0 || !readInProgress.compareAndSet(false, true)) {
+                return;
+            }
+
+            if (position < end) {
+                read(ByteBuffer.allocate((int) Math.min(chunkSizeInBytes, end - position)));
+            } else {
+                readInProgress.set(false);
+            }
+        }
+
+        private void read(ByteBuffer buffer) {
+            if (done) {
+                return;
+            }
+
+            try {
+                channel.read(buffer, position, buffer, this);
+            } catch (RuntimeException e) {
+                signalOnError(e);
+            }
+        }
+
+        private void signalOnNext(ByteBuffer buffer) {
+            if (!done) {
+                subscriber.onNext(buffer);
+            }
+        }
+
+        private void signalOnComplete() {
+            if (!done) {
+                done = true;
+                subscriber.onComplete();
+            }
+        }
+
+        private void signalOnError(Throwable t) {
+            if (!done) {
+                done = true;
+                subscriber.onError(t);
+            }
+        }
+    }
+}
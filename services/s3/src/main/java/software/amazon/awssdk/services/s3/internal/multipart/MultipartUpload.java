@@ -0,0 +1,339 @@
+/*
+ * Copyright 2010-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.services.s3.internal.multipart;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.core.exception.SdkServiceException;
+import software.amazon.awssdk.core.retry.RetryPolicyContext;
+import software.amazon.awssdk.core.retry.RetryUtils;
+import software.amazon.awssdk.core.retry.backoff.BackoffStrategy;
+import software.amazon.awssdk.core.retry.conditions.RetryCondition;
+import software.amazon.awssdk.core.retry.conditions.SdkRetryCondition;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartResponse;
+import software.amazon.awssdk.utils.Logger;
+
+/**
+ * The state of a single multipart upload: the upload ID, the parts that have completed so far and the parts that are
+ * currently being uploaded.
+ *
+ * <p>A part source ({@link FileMultipartUpload} or {@link PartSplittingSubscriber}) calls {@link #start()}, then
+ * {@link #uploadPart(int, long, Supplier)} for each part, then {@link #complete(int)} once every part has been uploaded. The
+ * first failure that cannot be retried cancels the parts in flight, aborts the upload and fails {@link #result()}. Cancelling
+ * {@link #result()} does the same.
+ *
+ * <p>A part that fails with a retryable error is only sent again after a delay. The client has already retried the part by
+ * then, so sending it again straight away would add load to a bucket that may be throttling. The delay follows the SDK's
+ * default backoff strategies, using the longer throttling backoff when the part was throttled.</p>
+ */
+@ThreadSafe
+@SdkInternalApi
+public final class MultipartUpload {
+    /**
+     * The maximum number of parts in an S3 multipart upload.
+     */
+    public static final int MAX_PARTS = 10_000;
+
+    private static final Logger log = Logger.loggerFor(MultipartUpload.class);
+
+    private static final RetryCondition PART_RETRY_CONDITION = SdkRetryCondition.DEFAULT;
+    private static final BackoffStrategy PART_BACKOFF_STRATEGY = BackoffStrategy.defaultStrategy();
+    private static final BackoffStrategy PART_THROTTLING_BACKOFF_STRATEGY = BackoffStrategy.defaultThrottlingStrategy();
+
+    private final S3AsyncClient s3;
+    private final CreateMultipartUploadRequest createRequest;
+    private final int numPartRetries;
+    private final ScheduledExecutorService scheduledExecutor;
+
+    private final CompletableFuture<CompleteMultipartUploadResponse> result = new CompletableFuture<>();
+    private final Map<Integer, CompletedPart> completedParts = new ConcurrentHashMap<>();
+    private final Set<CompletableFuture<?>> inFlight = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean finished = new AtomicBoolean(false);
+
+    private volatile String uploadId;
+
+    /**
+     * @param scheduledExecutor Sends the retries of failed parts once their backoff delay has passed.
+     */
+    public MultipartUpload(S3AsyncClient s3, CreateMultipartUploadRequest createRequest, int numPartRetries,
+                           ScheduledExecutorService scheduledExecutor) {
+        this.s3 = s3;
+        this.createRequest = createRequest;
+        this.numPartRetries = numPartRetries;
+        this.scheduledExecutor = scheduledExecutor;
+
+        result.whenComplete((r, t) -> {
+            if (result.isCancelled()) {
+                cleanUp();
+            }
+        });
+    }
+
+    /**
+     * The future that is completed with the response to the CompleteMultipartUpload call, or exceptionally with the first
+     * failure of the upload.
+     */
+    public CompletableFuture<CompleteMultipartUploadResponse> result() {
+        return result;
+    }
+
+    /**
+     * Whether the upload has failed or been cancelled, in which case no further parts should be started.
+     */
+    public boolean isFinished() {
+        return finished.get();
+    }
+
+    /**
+     * Creates the multipart upload. The returned future is completed once parts can be uploaded.
+     */
+    public CompletableFuture<Void> start() {
+        CompletableFuture<Void> started = new CompletableFuture<>();
+        // The create call is deliberately not cancelled on failure, so that the upload it creates can always be aborted.
+        s3.createMultipartUpload(createRequest).whenComplete((r, t) -> {
+            if (t != null) {
+                fail(t);
+                started.completeExceptionally(t);
+                return;
+            }
+
+            uploadId = r.uploadId();
+            if (finished.get()) {
+                // The upload was cancelled while it was being created.
+                abort();
+                started.cancel(false);
+                return;
+            }
+            started.complete(null);
+        });
+        return started;
+    }
+
+    /**
+     * Uploads one part, retrying it up to the configured number of times when the failure is retryable.
+     *
+     * @param partNumber The 1-based part number.
+     * @param contentLength The length of the part in bytes.
+     * @param body Supplies a fresh request body for every attempt.
+     * @return A future that is completed when the part has been uploaded, or exceptionally if it could not be uploaded. In
+     * the latter case the whole upload has already been failed.
+     */
+    public CompletableFuture<Void> uploadPart(int partNumber, long contentLength, Supplier<AsyncRequestBody> body) {
+        UploadPartRequest request = UploadPartRequest.builder()
+                                                     .bucket(createRequest.bucket())
+                                                     .key(createRequest.key())
+                                                     .uploadId(uploadId)
+                                                     .partNumber(partNumber)
+                                                     .contentLength(contentLength)
+                                                     .sseCustomerAlgorithm(createRequest.sseCustomerAlgorithm())
+                                                     .sseCustomerKey(createRequest.sseCustomerKey())
+                                                     .sseCustomerKeyMD5(createRequest.sseCustomerKeyMD5())
+                                                     .requestPayer(createRequest.requestPayerAsString())
+                                                     .build();
+
+        CompletableFuture<Void> partFuture = new CompletableFuture<>();
+        attemptPart(request, body, 0, partFuture);
+        return partFuture;
+    }
+
+    /**
+     * Completes the upload with all the parts uploaded so far, which must be exactly {@code partCount} parts.
+     */
+    public void complete(int partCount) {
+        if (finished.get()) {
+            return;
+        }
+
+        if (completedParts.size() != partCount) {
+            fail(SdkClientException.create("Expected " + partCount + " uploaded parts, but " + completedParts.size()
+                                           + " parts were uploaded."));
+            return;
+        }
+
+        List<CompletedPart> parts = new ArrayList<>(completedParts.values());
+        parts.sort(Comparator.comparing(CompletedPart::partNumber));
+
+        CompleteMultipartUploadRequest request =
+            CompleteMultipartUploadRequest.builder()
+                                          .bucket(createRequest.bucket())
+                                          .key(createRequest.key())
+                                          .uploadId(uploadId)
+                                          .requestPayer(createRequest.requestPayerAsString())
+                                          .multipartUpload(u -> u.parts(parts))
+                                          .build();
+
+        CompletableFuture<CompleteMultipartUploadResponse> completeFuture = s3.completeMultipartUpload(request);
+        track(completeFuture);
+        completeFuture.whenComplete((r, t) -> {
+            if (t != null) {
+                fail(t);
+            } else {
+                result.complete(r);
+            }
+        });
+    }
+
+    /**
+     * Fails the upload: cancels the parts in flight, aborts the upload if it was created and then completes
+     * {@link #result()} exceptionally with the given cause. Only the first call has an effect.
+     */
+    public void fail(Throwable cause) {
+        Throwable unwrapped = unwrap(cause);
+        if (!finished.compareAndSet(false, true)) {
+            return;
+        }
+
+        cancelInFlight();
+        if (uploadId == null) {
+            result.completeExceptionally(unwrapped);
+            return;
+        }
+
+        abort().whenComplete((r, t) -> {
+            if (t != null) {
+                unwrapped.addSuppressed(unwrap(t));
+            }
+            result.completeExceptionally(unwrapped);
+        });
+    }
+
+    private void attemptPart(UploadPartRequest request, Supplier<AsyncRequestBody> body, int retriesAttempted,
+                             CompletableFuture<Void> partFuture) {
+        if (finished.get()) {
+            partFuture.completeExceptionally(new CancellationException("The multipart upload has already failed."));
+            return;
+        }
+
+        CompletableFuture<UploadPartResponse> attempt = s3.uploadPart(request, body.get());
+        track(attempt);
+        attempt.whenComplete((r, t) -> {
+            if (t == null) {
+                completedParts.put(request.partNumber(), CompletedPart.builder()
+                                                                      .partNumber(request.partNumber())
+                                                                      .eTag(r.eTag())
+                                                                      .build());
+                partFuture.complete(null);
+            } else if (shouldRetryPart(request, unwrap(t), retriesAttempted)) {
+                Duration delay = partRetryDelay(request, (SdkException) unwrap(t), retriesAttempted);
+                log.debug(() -> "Retrying part " + request.partNumber() + " of upload " + uploadId + " in "
+                                + delay.toMillis() + "ms", t);
+                scheduledExecutor.schedule(() -> retryPart(request, body, retriesAttempted + 1, partFuture),
+                                           delay.toMillis(), TimeUnit.MILLISECONDS);
+            } else {
+                partFuture.completeExceptionally(t);
+                fail(t);
+            }
+        });
+    }
+
+    private void retryPart(UploadPartRequest request, Supplier<AsyncRequestBody> body, int retriesAttempted,
+                           CompletableFuture<Void> partFuture) {
+        try {
+            attemptPart(request, body, retriesAttempted, partFuture);
+        } catch (Throwable t) {
+            // Nothing else would complete the part if the retry failed on the scheduler's thread
+            partFuture.completeExceptionally(t);
+            fail(t);
+        }
+    }
+
+    private boolean shouldRetryPart(UploadPartRequest request, Throwable failure, int retriesAttempted) {
+        if (retriesAttempted >= numPartRetries || finished.get() || !(failure instanceof SdkException)) {
+            return false;
+        }
+        return PART_RETRY_CONDITION.shouldRetry(retryContext(request, (SdkException) failure, retriesAttempted));
+    }
+
+    private Duration partRetryDelay(UploadPartRequest request, SdkException failure, int retriesAttempted) {
+        BackoffStrategy backoffStrategy = RetryUtils.isThrottlingException(failure) ? PART_THROTTLING_BACKOFF_STRATEGY
+                                                                                    : PART_BACKOFF_STRATEGY;
+        return backoffStrategy.computeDelayBeforeNextRetry(retryContext(request, failure, retriesAttempted));
+    }
+
+    private static RetryPolicyContext retryContext(UploadPartRequest request, SdkException failure, int retriesAttempted) {
+        Integer statusCode = failure instanceof SdkServiceException ? ((SdkServiceException) failure).statusCode() : null;
+        return RetryPolicyContext.builder()
+                                 .originalRequest(request)
+                                 .exception(failure)
+                                 .retriesAttempted(retriesAttempted)
+                                 .httpStatusCode(statusCode)
+                                 .build();
+    }
+
+    private CompletableFuture<?> abort() {
+        AbortMultipartUploadRequest request = AbortMultipartUploadRequest.builder()
+                                                                         .bucket(createRequest.bucket())
+                                                                         .key(createRequest.key())
+                                                                         .uploadId(uploadId)
+                                                                         .requestPayer(createRequest.requestPayerAsString())
+                                                                         .build();
+        return s3.abortMultipartUpload(request).whenComplete((r, t) -> {
+            if (t != null) {
+                log.warn(() -> "Failed to abort multipart upload " + uploadId + " of " + createRequest.key()
+                               + ". Its parts will be billed until the upload is aborted.", t);
+            }
+        });
+    }
+
+    private void cleanUp() {
+        if (finished.compareAndSet(false, true)) {
+            cancelInFlight();
+            if (uploadId != null) {
+                abort();
+            }
+        }
+    }
+
+    private void track(CompletableFuture<?> future) {
+        inFlight.add(future);
+        future.whenComplete((r, t) -> inFlight.remove(future));
+        if (finished.get()) {
+            future.cancel(false);
+        }
+    }
+
+    private void cancelInFlight() {
+        inFlight.forEach(f -> f.cancel(false));
+    }
+
+    private static Throwable unwrap(Throwable t) {
+        return t instanceof CompletionException && t.getCause() != null ? t.getCause() : t;
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright 2010-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.services.s3.internal.multipart;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadResponse;
+
+/**
+ * Uploads an {@link AsyncRequestBody} as a multipart upload by buffering its content into parts.
+ *
+ * <p>Memory is bounded: data is only requested from the body while fewer than {@code maxConcurrentParts} parts are being
+ * uploaded, so at most {@code maxConcurrentParts + 1} parts and one buffer of the body are held in memory at a time.
+ *
+ * <p>All state other than the upstream signals is only touched from {@link #drain()}, which is never run concurrently.
+ */
+@ThreadSafe
+@SdkInternalApi
+public final class PartSplittingSubscriber implements Subscriber<ByteBuffer> {
+    private final MultipartUpload upload;
+    private final int partSize;
+    private final int maxConcurrentParts;
+
+    private final AtomicInteger drainRequests = new AtomicInteger(0);
+    private final AtomicInteger partsInFlight = new AtomicInteger(0);
+
+    private volatile Subscription subscription;
+    private volatile ByteBuffer pendingBuffer;
+    private volatile boolean upstreamDone = false;
+
+    private ByteBuffer currentPart;
+    private int partCount = 0;
+    private boolean awaitingUpstream = false;
+    private boolean completed = false;
+
+    private PartSplittingSubscriber(MultipartUpload upload, int partSize, int maxConcurrentParts) {
+        this.upload = upload;
+        this.partSize = partSize;
+        this.maxConcurrentParts = maxConcurrentParts;
+    }
+
+    /**
+     * Uploads the content of the given request body.
+     *
+     * @param upload The upload to add the parts to.
+     * @param requestBody The content to upload.
+     * @param minimumPartSize The part size to use, unless the content length of the body is known and it is too large to be
+     * uploaded in {@link MultipartUpload#MAX_PARTS} parts of this size.
+     * @param maxConcurrentParts The maximum number of parts to upload at the same time.
+     */
+    public static CompletableFuture<CompleteMultipartUploadResponse> upload(MultipartUpload upload,
+                                                                            AsyncRequestBody requestBody,
+                                                                            long minimumPartSize,
+                                                                            int maxConcurrentParts) {
+        long contentLength = requestBody.contentLength().orElse(0L);
+        long partSize = Math.max(minimumPartSize, (contentLength + MultipartUpload.MAX_PARTS - 1) / MultipartUpload.MAX_PARTS);
+        if (partSize > Integer.MAX_VALUE) {
+            upload.fail(SdkClientException.create("The request body is too large to be buffered into "
+                                                  + MultipartUpload.MAX_PARTS + " parts."));
+            return upload.result();
+        }
+
+        PartSplittingSubscriber subscriber = new PartSplittingSubscriber(upload, (int) partSize, maxConcurrentParts);
+        upload.start().thenRun(() -> requestBody.subscribe(subscriber));
+        return upload.result();
+    }
+
+    @Override
+    public void onSubscribe(Subscription s) {
+        if (subscription != null) {
+            s.cancel();
+            return;
+        }
+
+        subscription = s;
+        upload.result().whenComplete((r, t) -> {
+            if (t != null) {
+                s.cancel();
+            }
+        });
+        drain();
+    }
+
+    @Override
+    public void onNext(ByteBuffer byteBuffer) {
+        pendingBuffer = byteBuffer;
+        drain();
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        upload.fail(SdkClientException.create("Failed to read the request body.", t));
+    }
+
+    @Override
+    public void onComplete() {
+        upstreamDone = true;
+        drain();
+    }
+
+    private void drain() {
+        if (drainRequests.getAndIncrement() != 0) {
+            return;
+        }
+
+        do {
+            drainOnce();
+        } while (drainRequests.decrementAndGet() != 0);
+    }
+
+    private void drainOnce() {
+        if (upload.isFinished() || completed) {
+            return;
+        }
+
+        ByteBuffer buffer = pendingBuffer;
+        if (buffer != null) {
+            awaitingUpstream = false;
+            while (buffer.hasRemaining()) {
+                if (currentPart == null) {
+                    if (partsInFlight.get() >= maxConcurrentParts) {
+                        // Resumed when a part completes.
+                        return;
+                    }
+                    currentPart = ByteBuffer.allocate(partSize);
+                }
+
+                int length = Math.min(buffer.remaining(), currentPart.remaining());
+                ByteBuffer slice = buffer.duplicate();
+                slice.limit(slice.position() + length);
+                currentPart.put(slice);
+                buffer.position(buffer.position() + length);
+
+                if (!currentPart.hasRemaining() && !sendCurrentPart()) {
+                    return;
+                }
+            }
+            pendingBuffer = null;
+        }
+
+        if (upstreamDone) {
+            awaitingUpstream = false;
+            if (currentPart != null || partCount == 0) {
+                if (partsInFlight.get() >= maxConcurrentParts || !sendCurrentPart()) {
+                    return;
+                }
+            }
+
+            if (partsInFlight.get() == 0) {
+                completed = true;
+                upload.complete(partCount);
+            }
+            return;
+        }
+
+        if (!awaitingUpstream && subscription != null) {
+            awaitingUpstream = true;
+            subscription.request(1);
+        }
+    }
+
+    private boolean sendCurrentPart() {
+        if (partCount == MultipartUpload.MAX_PARTS) {
+            upload.fail(SdkClientException.create("The request body does not fit in " + MultipartUpload.MAX_PARTS
+                                                  + " parts of " + partSize + " bytes. Use a larger part size."));
+            return false;
+        }
+
+        ByteBuffer part = currentPart == null ? ByteBuffer.allocate(0) : currentPart;
+        part.flip();
+        currentPart = null;
+        int partNumber = ++partCount;
+
+        partsInFlight.incrementAndGet();
+        upload.uploadPart(partNumber, part.remaining(), () -> new ByteBufferPartAsyncRequestBody(part))
+              .thenRun(() -> {
+                  partsInFlight.decrementAndGet();
+                  drain();
+              });
+        return true;
+    }
+}
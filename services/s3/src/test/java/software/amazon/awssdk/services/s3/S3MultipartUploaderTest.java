@@ -0,0 +1,255 @@
+/*
+ * Copyright 2010-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.services.s3;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.containing;
+import static com.github.tomakehurst.wiremock.client.WireMock.delete;
+import static com.github.tomakehurst.wiremock.client.WireMock.deleteRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.put;
+import static com.github.tomakehurst.wiremock.client.WireMock.putRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.verify;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.github.tomakehurst.wiremock.junit.WireMockRule;
+import com.github.tomakehurst.wiremock.matching.RequestPatternBuilder;
+import com.github.tomakehurst.wiremock.stubbing.Scenario;
+import com.github.tomakehurst.wiremock.verification.LoggedRequest;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.core.retry.RetryPolicy;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+
+public class S3MultipartUploaderTest {
+    private static final int PART_SIZE = 5 * 1024 * 1024;
+    private static final String PATH = "/bucket/key";
+
+    @Rule
+    public WireMockRule mockServer = new WireMockRule(0);
+
+    private S3AsyncClient s3AsyncClient;
+
+    private Path file;
+
+    @Before
+    public void setup() {
+        s3AsyncClient = S3AsyncClient.builder()
+                                     .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("akid",
+                                                                                                                      "skid")))
+                                     .region(Region.US_WEST_2)
+                                     .endpointOverride(URI.create("http://localhost:" + mockServer.port()))
+                                     .serviceConfiguration(S3Configuration.builder()
+                                                                          .checksumValidationEnabled(false)
+                                                                          .pathStyleAccessEnabled(true)
+                                                                          .build())
+                                     .overrideConfiguration(c -> c.retryPolicy(RetryPolicy.none()))
+                                     .build();
+
+        stubFor(post(urlPathEqualTo(PATH)).withQueryParam("uploads", equalTo(""))
+                                          .willReturn(aResponse().withStatus(200).withBody(
+                                              "<InitiateMultipartUploadResult><UploadId>upload-id</UploadId>"
+                                              + "</InitiateMultipartUploadResult>")));
+        stubFor(post(urlPathEqualTo(PATH)).withQueryParam("uploadId", equalTo("upload-id"))
+                                          .willReturn(aResponse().withStatus(200).withBody(
+                                              "<CompleteMultipartUploadResult><ETag>\"object-etag\"</ETag>"
+                                              + "</CompleteMultipartUploadResult>")));
+        stubFor(delete(urlPathEqualTo(PATH)).willReturn(aResponse().withStatus(204)));
+        for (int part = 1; part <= 3; part++) {
+            stubPart(part);
+        }
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        s3AsyncClient.close();
+        if (file != null) {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void uploadFile_uploadsEveryPartAndCompletesInOrder() throws IOException {
+        byte[] content = randomBytes(2 * PART_SIZE + 1024);
+        file = Files.createTempFile("multipart", ".bin");
+        Files.write(file, content);
+
+        assertThat(uploader(2).uploadFile(r -> r.bucket("bucket").key("key"), file).join().eTag())
+            .isEqualTo("\"object-etag\"");
+
+        assertPartsUploaded(content);
+        verify(postRequestedFor(urlPathEqualTo(PATH)).withQueryParam("uploadId", equalTo("upload-id"))
+                                                     .withRequestBody(containing("<PartNumber>1</PartNumber>"))
+                                                     .withRequestBody(containing("<ETag>&quot;etag-3&quot;</ETag>"
+                                                                                 + "<PartNumber>3</PartNumber>")));
+        verify(0, deleteRequestedFor(urlPathEqualTo(PATH)));
+    }
+
+    @Test
+    public void upload_asyncRequestBody_isSplitIntoParts() {
+        byte[] content = randomBytes(2 * PART_SIZE + 1024);
+
+        uploader(2).upload(r -> r.bucket("bucket").key("key"), AsyncRequestBody.fromBytes(content)).join();
+
+        assertPartsUploaded(content);
+        verify(postRequestedFor(urlPathEqualTo(PATH)).withQueryParam("uploadId", equalTo("upload-id")));
+    }
+
+    @Test
+    public void upload_emptyBody_uploadsSingleEmptyPart() {
+        uploader(2).upload(r -> r.bucket("bucket").key("key"), AsyncRequestBody.fromBytes(new byte[0])).join();
+
+        verify(1, putRequestedFor(urlPathEqualTo(PATH)).withQueryParam("partNumber", equalTo("1")));
+        verify(postRequestedFor(urlPathEqualTo(PATH)).withQueryParam("uploadId", equalTo("upload-id")));
+    }
+
+    @Test
+    public void retryablePartFailure_isRetried() {
+        stubFor(put(urlPathEqualTo(PATH)).withQueryParam("partNumber", equalTo("2"))
+                                         .inScenario("retry").whenScenarioStateIs(Scenario.STARTED)
+                                         .willReturn(aResponse().withStatus(500))
+                                         .willSetStateTo("failed once"));
+        stubFor(put(urlPathEqualTo(PATH)).withQueryParam("partNumber", equalTo("2"))
+                                         .inScenario("retry").whenScenarioStateIs("failed once")
+                                         .willReturn(aResponse().withStatus(200).withHeader("ETag", "\"etag-2\"")));
+
+        byte[] content = randomBytes(2 * PART_SIZE + 1024);
+        uploader(1).upload(r -> r.bucket("bucket").key("key"), AsyncRequestBody.fromBytes(content)).join();
+
+        verify(2, putRequestedFor(urlPathEqualTo(PATH)).withQueryParam("partNumber", equalTo("2")));
+        verify(postRequestedFor(urlPathEqualTo(PATH)).withQueryParam("uploadId", equalTo("upload-id")));
+        verify(0, deleteRequestedFor(urlPathEqualTo(PATH)));
+    }
+
+    @Test
+    public void throttledPart_isRetriedAfterBackoff() {
+        stubFor(put(urlPathEqualTo(PATH)).withQueryParam("partNumber", equalTo("2"))
+                                         .inScenario("throttle").whenScenarioStateIs(Scenario.STARTED)
+                                         .willReturn(aResponse().withStatus(503))
+                                         .willSetStateTo("throttled once"));
+        stubFor(put(urlPathEqualTo(PATH)).withQueryParam("partNumber", equalTo("2"))
+                                         .inScenario("throttle").whenScenarioStateIs("throttled once")
+                                         .willReturn(aResponse().withStatus(200).withHeader("ETag", "\"etag-2\"")));
+
+        byte[] content = randomBytes(2 * PART_SIZE + 1024);
+        uploader(1).upload(r -> r.bucket("bucket").key("key"), AsyncRequestBody.fromBytes(content)).join();
+
+        List<LoggedRequest> attempts = mockServer.findAll(putRequestedFor(urlPathEqualTo(PATH))
+                                                              .withQueryParam("partNumber", equalTo("2")));
+        assertThat(attempts).hasSize(2);
+        // The first throttling retry waits at least half of the 500ms throttling base delay
+        assertThat(attempts.get(1).getLoggedDate().getTime() - attempts.get(0).getLoggedDate().getTime())
+            .isGreaterThanOrEqualTo(250);
+    }
+
+    @Test(timeout = 10_000)
+    public void cancellingResult_abortsUpload() throws InterruptedException {
+        for (int part = 1; part <= 3; part++) {
+            stubFor(put(urlPathEqualTo(PATH)).withQueryParam("partNumber", equalTo(String.valueOf(part)))
+                                             .willReturn(aResponse().withStatus(200).withFixedDelay(5_000)));
+        }
+
+        byte[] content = randomBytes(2 * PART_SIZE + 1024);
+        CompletableFuture<CompleteMultipartUploadResponse> result =
+            uploader(2).upload(r -> r.bucket("bucket").key("key"), AsyncRequestBody.fromBytes(content));
+        while (mockServer.findAll(postRequestedFor(urlPathEqualTo(PATH)).withQueryParam("uploads", equalTo(""))).isEmpty()) {
+            Thread.sleep(10);
+        }
+
+        assertThat(result.cancel(true)).isTrue();
+
+        RequestPatternBuilder abort = deleteRequestedFor(urlPathEqualTo(PATH)).withQueryParam("uploadId", equalTo("upload-id"));
+        while (mockServer.findAll(abort).isEmpty()) {
+            Thread.sleep(10);
+        }
+        verify(0, postRequestedFor(urlPathEqualTo(PATH)).withQueryParam("uploadId", equalTo("upload-id")));
+    }
+
+    @Test
+    public void nonRetryablePartFailure_abortsUpload() {
+        stubFor(put(urlPathEqualTo(PATH)).withQueryParam("partNumber", equalTo("2"))
+                                         .willReturn(aResponse().withStatus(403)));
+
+        byte[] content = randomBytes(2 * PART_SIZE + 1024);
+        assertThatThrownBy(() -> uploader(1).upload(r -> r.bucket("bucket").key("key"),
+                                                    AsyncRequestBody.fromBytes(content)).join())
+            .isInstanceOf(CompletionException.class)
+            .hasCauseInstanceOf(S3Exception.class);
+
+        verify(1, putRequestedFor(urlPathEqualTo(PATH)).withQueryParam("partNumber", equalTo("2")));
+        verify(0, putRequestedFor(urlPathEqualTo(PATH)).withQueryParam("partNumber", equalTo("3")));
+        verify(deleteRequestedFor(urlPathEqualTo(PATH)).withQueryParam("uploadId", equalTo("upload-id")));
+        verify(0, postRequestedFor(urlPathEqualTo(PATH)).withQueryParam("uploadId", equalTo("upload-id")));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void partSizeBelowS3Minimum_isRejected() {
+        S3MultipartUploader.builder().s3AsyncClient(s3AsyncClient).minimumPartSizeInBytes(1024L).build();
+    }
+
+    private S3MultipartUploader uploader(int maxConcurrentParts) {
+        return S3MultipartUploader.builder()
+                                  .s3AsyncClient(s3AsyncClient)
+                                  .minimumPartSizeInBytes((long) PART_SIZE)
+                                  .maxConcurrentParts(maxConcurrentParts)
+                                  .build();
+    }
+
+    private void assertPartsUploaded(byte[] content) {
+        for (int part = 1; part <= 3; part++) {
+            List<LoggedRequest> requests = mockServer.findAll(putRequestedFor(urlPathEqualTo(PATH))
+                                                                  .withQueryParam("partNumber", equalTo(String.valueOf(part)))
+                                                                  .withQueryParam("uploadId", equalTo("upload-id")));
+            assertThat(requests).hasSize(1);
+
+            int offset = (part - 1) * PART_SIZE;
+            byte[] expected = Arrays.copyOfRange(content, offset, Math.min(content.length, offset + PART_SIZE));
+            assertThat(requests.get(0).getBody()).isEqualTo(expected);
+        }
+    }
+
+    private static void stubPart(int part) {
+        stubFor(put(urlPathEqualTo(PATH)).withQueryParam("partNumber", equalTo(String.valueOf(part)))
+                                         .willReturn(aResponse().withStatus(200).withHeader("ETag", "\"etag-" + part + "\"")));
+    }
+
+    private static byte[] randomBytes(int size) {
+        byte[] bytes = new byte[size];
+        new Random(size).nextBytes(bytes);
+        return bytes;
+    }
+}
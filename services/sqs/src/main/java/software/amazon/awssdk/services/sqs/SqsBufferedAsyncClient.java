@@ -0,0 +1,450 @@
+/*
+ * Copyright 2010-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.services.sqs;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.services.sqs.internal.batching.ReceiveQueueBuffer;
+import software.amazon.awssdk.services.sqs.internal.batching.RequestBatchBuffer;
+import software.amazon.awssdk.services.sqs.internal.batching.SqsBatchSenders;
+import software.amazon.awssdk.services.sqs.model.AddPermissionRequest;
+import software.amazon.awssdk.services.sqs.model.AddPermissionResponse;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchRequest;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchResponse;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityRequest;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityResponse;
+import software.amazon.awssdk.services.sqs.model.CreateQueueRequest;
+import software.amazon.awssdk.services.sqs.model.CreateQueueResponse;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageRequest;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageResponse;
+import software.amazon.awssdk.services.sqs.model.DeleteQueueRequest;
+import software.amazon.awssdk.services.sqs.model.DeleteQueueResponse;
+import software.amazon.awssdk.services.sqs.model.GetQueueAttributesRequest;
+import software.amazon.awssdk.services.sqs.model.GetQueueAttributesResponse;
+import software.amazon.awssdk.services.sqs.model.GetQueueUrlRequest;
+import software.amazon.awssdk.services.sqs.model.GetQueueUrlResponse;
+import software.amazon.awssdk.services.sqs.model.ListDeadLetterSourceQueuesRequest;
+import software.amazon.awssdk.services.sqs.model.ListDeadLetterSourceQueuesResponse;
+import software.amazon.awssdk.services.sqs.model.ListQueueTagsRequest;
+import software.amazon.awssdk.services.sqs.model.ListQueueTagsResponse;
+import software.amazon.awssdk.services.sqs.model.ListQueuesRequest;
+import software.amazon.awssdk.services.sqs.model.ListQueuesResponse;
+import software.amazon.awssdk.services.sqs.model.PurgeQueueRequest;
+import software.amazon.awssdk.services.sqs.model.PurgeQueueResponse;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageResponse;
+import software.amazon.awssdk.services.sqs.model.RemovePermissionRequest;
+import software.amazon.awssdk.services.sqs.model.RemovePermissionResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageResponse;
+import software.amazon.awssdk.services.sqs.model.SetQueueAttributesRequest;
+import software.amazon.awssdk.services.sqs.model.SetQueueAttributesResponse;
+import software.amazon.awssdk.services.sqs.model.TagQueueRequest;
+import software.amazon.awssdk.services.sqs.model.TagQueueResponse;
+import software.amazon.awssdk.services.sqs.model.UntagQueueRequest;
+import software.amazon.awssdk.services.sqs.model.UntagQueueResponse;
+import software.amazon.awssdk.utils.CompletableFutureUtils;
+import software.amazon.awssdk.utils.ThreadFactoryBuilder;
+import software.amazon.awssdk.utils.Validate;
+
+/**
+ * An {@link SqsAsyncClient} that reduces the number of requests sent to Amazon SQS by batching and prefetching, while
+ * presenting the same interface as the client it wraps.
+ *
+ * <p>SendMessage, DeleteMessage and ChangeMessageVisibility requests are collected per queue and sent as a single
+ * SendMessageBatch, DeleteMessageBatch or ChangeMessageVisibilityBatch request once {@link Builder#maxBatchSize(int)}
+ * requests have been collected, once the batch would exceed {@link Builder#maxBatchSizeInBytes(long)}, or once the batch
+ * has been open for {@link Builder#maxBatchOpenDuration(Duration)}. The future returned for each request is completed with
+ * the result of its entry in the batch.</p>
+ *
+ * <p>ReceiveMessage requests are served from a buffer of messages that is filled per queue with long polling, so that a
+ * message is usually available without waiting for a round trip to the service. Prefetched messages are invisible to other
+ * consumers, so they should only be prefetched when this client is the main consumer of the queue. Prefetched messages
+ * include all of their attributes and message attributes, regardless of the attributes that are requested.</p>
+ *
+ * <p>Requests that cannot be batched or buffered without changing their behavior are sent to the wrapped client directly:
+ * requests with an override configuration, SendMessage and ReceiveMessage requests for FIFO queues (to keep their ordering),
+ * and ReceiveMessage requests that set a visibility timeout or a receive request attempt ID.</p>
+ *
+ * <p>Closing this client sends the batches that are still open, makes the prefetched messages visible again and closes the
+ * wrapped client. Requests that would be batched or buffered after that fail with an {@link IllegalStateException}.</p>
+ *
+ * <pre class="brush: java">
+ * SqsAsyncClient sqs = SqsBufferedAsyncClient.builder()
+ *                                            .sqsAsyncClient(SqsAsyncClient.create())
+ *                                            .maxBatchOpenDuration(Duration.ofMillis(50))
+ *                                            .build();
+ * </pre>
+ */
+@SdkPublicApi
+@ThreadSafe
+public final class SqsBufferedAsyncClient implements SqsAsyncClient {
+
+    private static final String FIFO_SUFFIX = ".fifo";
+
+    private final SqsAsyncClient delegate;
+    private final ScheduledExecutorService scheduledExecutor;
+    private final boolean shutdownScheduledExecutor;
+    private final int maxPrefetchedMessages;
+    private final int maxConcurrentReceives;
+    private final Duration longPollWaitTime;
+
+    private final RequestBatchBuffer<SendMessageRequest, SendMessageResponse> sendBuffer;
+    private final RequestBatchBuffer<DeleteMessageRequest, DeleteMessageResponse> deleteBuffer;
+    private final RequestBatchBuffer<ChangeMessageVisibilityRequest, ChangeMessageVisibilityResponse> changeVisibilityBuffer;
+    private final Map<String, ReceiveQueueBuffer> receiveBuffers = new ConcurrentHashMap<>();
+    private volatile boolean closed = false;
+
+    private SqsBufferedAsyncClient(Builder builder) {
+        this.delegate = Validate.paramNotNull(builder.sqsAsyncClient, "sqsAsyncClient");
+        int maxBatchSize = Validate.isPositive(builder.maxBatchSize, "maxBatchSize");
+        Validate.isTrue(maxBatchSize <= Builder.DEFAULT_MAX_BATCH_SIZE, "maxBatchSize must not be greater than %s",
+                        Builder.DEFAULT_MAX_BATCH_SIZE);
+        long maxBatchSizeInBytes = Validate.isPositive(builder.maxBatchSizeInBytes, "maxBatchSizeInBytes");
+        Validate.isTrue(maxBatchSizeInBytes <= Builder.DEFAULT_MAX_BATCH_SIZE_IN_BYTES,
+                        "maxBatchSizeInBytes must not be greater than %s", Builder.DEFAULT_MAX_BATCH_SIZE_IN_BYTES);
+        Duration maxBatchOpenDuration = Validate.isPositive(builder.maxBatchOpenDuration, "maxBatchOpenDuration");
+        this.maxPrefetchedMessages = Validate.isNotNegative(builder.maxPrefetchedMessages, "maxPrefetchedMessages");
+        this.maxConcurrentReceives = Validate.isPositive(builder.maxConcurrentReceives, "maxConcurrentReceives");
+        this.longPollWaitTime = Validate.isNotNegative(builder.longPollWaitTime, "longPollWaitTime");
+        Validate.isTrue(longPollWaitTime.compareTo(Builder.MAX_LONG_POLL_WAIT_TIME) <= 0,
+                        "longPollWaitTime must not be greater than %s", Builder.MAX_LONG_POLL_WAIT_TIME);
+
+        if (builder.scheduledExecutorService != null) {
+            this.scheduledExecutor = builder.scheduledExecutorService;
+            this.shutdownScheduledExecutor = false;
+        } else {
+            this.scheduledExecutor = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().threadNamePrefix("sqs-buffered-client").daemonThreads(true).build());
+            this.shutdownScheduledExecutor = true;
+        }
+
+        this.sendBuffer = new RequestBatchBuffer<>(SqsBatchSenders.sendMessage(delegate), scheduledExecutor, maxBatchSize,
+                                                   maxBatchSizeInBytes, maxBatchOpenDuration, SqsBatchSenders::sizeInBytes);
+        this.deleteBuffer = new RequestBatchBuffer<>(SqsBatchSenders.deleteMessage(delegate), scheduledExecutor, maxBatchSize,
+                                                     maxBatchSizeInBytes, maxBatchOpenDuration, r -> 0);
+        this.changeVisibilityBuffer = new RequestBatchBuffer<>(SqsBatchSenders.changeMessageVisibility(delegate),
+                                                               scheduledExecutor, maxBatchSize, maxBatchSizeInBytes,
+                                                               maxBatchOpenDuration, r -> 0);
+    }
+
+    /**
+     * Creates a builder for {@link SqsBufferedAsyncClient}.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public String serviceName() {
+        return delegate.serviceName();
+    }
+
+    @Override
+    public CompletableFuture<SendMessageResponse> sendMessage(SendMessageRequest request) {
+        if (request.overrideConfiguration().isPresent() || isFifo(request.queueUrl())) {
+            return delegate.sendMessage(request);
+        }
+        if (closed) {
+            return closedFailure();
+        }
+        return sendBuffer.add(request.queueUrl(), request);
+    }
+
+    @Override
+    public CompletableFuture<DeleteMessageResponse> deleteMessage(DeleteMessageRequest request) {
+        if (request.overrideConfiguration().isPresent()) {
+            return delegate.deleteMessage(request);
+        }
+        if (closed) {
+            return closedFailure();
+        }
+        return deleteBuffer.add(request.queueUrl(), request);
+    }
+
+    @Override
+    public CompletableFuture<ChangeMessageVisibilityResponse> changeMessageVisibility(ChangeMessageVisibilityRequest request) {
+        if (request.overrideConfiguration().isPresent()) {
+            return delegate.changeMessageVisibility(request);
+        }
+        if (closed) {
+            return closedFailure();
+        }
+        return changeVisibilityBuffer.add(request.queueUrl(), request);
+    }
+
+    @Override
+    public CompletableFuture<ReceiveMessageResponse> receiveMessage(ReceiveMessageRequest request) {
+        if (maxPrefetchedMessages == 0 ||
+            request.overrideConfiguration().isPresent() ||
+            request.visibilityTimeout() != null ||
+            request.receiveRequestAttemptId() != null ||
+            isFifo(request.queueUrl())) {
+            return delegate.receiveMessage(request);
+        }
+        if (closed) {
+            return closedFailure();
+        }
+        return receiveBuffers.computeIfAbsent(request.queueUrl(), this::createReceiveBuffer).receiveMessage(request);
+    }
+
+    private ReceiveQueueBuffer createReceiveBuffer(String queueUrl) {
+        return new ReceiveQueueBuffer(delegate, queueUrl, scheduledExecutor, maxPrefetchedMessages, maxConcurrentReceives,
+                                      longPollWaitTime);
+    }
+
+    private static <T> CompletableFuture<T> closedFailure() {
+        return CompletableFutureUtils.failedFuture(new IllegalStateException("The client has been closed."));
+    }
+
+    private static boolean isFifo(String queueUrl) {
+        return queueUrl != null && queueUrl.endsWith(FIFO_SUFFIX);
+    }
+
+    @Override
+    public CompletableFuture<AddPermissionResponse> addPermission(AddPermissionRequest request) {
+        return delegate.addPermission(request);
+    }
+
+    @Override
+    public CompletableFuture<ChangeMessageVisibilityBatchResponse> changeMessageVisibilityBatch(
+        ChangeMessageVisibilityBatchRequest request) {
+        return delegate.changeMessageVisibilityBatch(request);
+    }
+
+    @Override
+    public CompletableFuture<CreateQueueResponse> createQueue(CreateQueueRequest request) {
+        return delegate.createQueue(request);
+    }
+
+    @Override
+    public CompletableFuture<DeleteMessageBatchResponse> deleteMessageBatch(DeleteMessageBatchRequest request) {
+        return delegate.deleteMessageBatch(request);
+    }
+
+    @Override
+    public CompletableFuture<DeleteQueueResponse> deleteQueue(DeleteQueueRequest request) {
+        return delegate.deleteQueue(request);
+    }
+
+    @Override
+    public CompletableFuture<GetQueueAttributesResponse> getQueueAttributes(GetQueueAttributesRequest request) {
+        return delegate.getQueueAttributes(request);
+    }
+
+    @Override
+    public CompletableFuture<GetQueueUrlResponse> getQueueUrl(GetQueueUrlRequest request) {
+        return delegate.getQueueUrl(request);
+    }
+
+    @Override
+    public CompletableFuture<ListDeadLetterSourceQueuesResponse> listDeadLetterSourceQueues(
+        ListDeadLetterSourceQueuesRequest request) {
+        return delegate.listDeadLetterSourceQueues(request);
+    }
+
+    @Override
+    public CompletableFuture<ListQueueTagsResponse> listQueueTags(ListQueueTagsRequest request) {
+        return delegate.listQueueTags(request);
+    }
+
+    @Override
+    public CompletableFuture<ListQueuesResponse> listQueues(ListQueuesRequest request) {
+        return delegate.listQueues(request);
+    }
+
+    @Override
+    public CompletableFuture<PurgeQueueResponse> purgeQueue(PurgeQueueRequest request) {
+        return delegate.purgeQueue(request);
+    }
+
+    @Override
+    public CompletableFuture<RemovePermissionResponse> removePermission(RemovePermissionRequest request) {
+        return delegate.removePermission(request);
+    }
+
+    @Override
+    public CompletableFuture<SendMessageBatchResponse> sendMessageBatch(SendMessageBatchRequest request) {
+        return delegate.sendMessageBatch(request);
+    }
+
+    @Override
+    public CompletableFuture<SetQueueAttributesResponse> setQueueAttributes(SetQueueAttributesRequest request) {
+        return delegate.setQueueAttributes(request);
+    }
+
+    @Override
+    public CompletableFuture<TagQueueResponse> tagQueue(TagQueueRequest request) {
+        return delegate.tagQueue(request);
+    }
+
+    @Override
+    public CompletableFuture<UntagQueueResponse> untagQueue(UntagQueueRequest request) {
+        return delegate.untagQueue(request);
+    }
+
+    /**
+     * Sends the batches that are still open, makes the prefetched messages visible again and closes the wrapped client once
+     * that has completed.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            List<CompletableFuture<?>> pending = new ArrayList<>();
+            pending.add(sendBuffer.flush());
+            pending.add(deleteBuffer.flush());
+            pending.add(changeVisibilityBuffer.flush());
+            receiveBuffers.values().forEach(b -> pending.add(b.close()));
+            // Failures have already been reported through the futures of the individual requests.
+            CompletableFuture.allOf(pending.toArray(new CompletableFuture[0])).handle((r, t) -> null).join();
+        } finally {
+            if (shutdownScheduledExecutor) {
+                scheduledExecutor.shutdownNow();
+            }
+            delegate.close();
+        }
+    }
+
+    /**
+     * Builder class to construct {@link SqsBufferedAsyncClient} object
+     */
+    public static final class Builder {
+        private static final int DEFAULT_MAX_BATCH_SIZE = 10;
+        private static final long DEFAULT_MAX_BATCH_SIZE_IN_BYTES = 256 * 1024;
+        private static final Duration DEFAULT_MAX_BATCH_OPEN_DURATION = Duration.ofMillis(200);
+        private static final int DEFAULT_MAX_PREFETCHED_MESSAGES = 10;
+        private static final int DEFAULT_MAX_CONCURRENT_RECEIVES = 1;
+        private static final Duration MAX_LONG_POLL_WAIT_TIME = Duration.ofSeconds(20);
+        private static final Duration DEFAULT_LONG_POLL_WAIT_TIME = MAX_LONG_POLL_WAIT_TIME;
+
+        private SqsAsyncClient sqsAsyncClient;
+        private int maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+        private long maxBatchSizeInBytes = DEFAULT_MAX_BATCH_SIZE_IN_BYTES;
+        private Duration maxBatchOpenDuration = DEFAULT_MAX_BATCH_OPEN_DURATION;
+        private int maxPrefetchedMessages = DEFAULT_MAX_PREFETCHED_MESSAGES;
+        private int maxConcurrentReceives = DEFAULT_MAX_CONCURRENT_RECEIVES;
+        private Duration longPollWaitTime = DEFAULT_LONG_POLL_WAIT_TIME;
+        private ScheduledExecutorService scheduledExecutorService;
+
+        private Builder() {
+        }
+
+        /**
+         * The client that requests are sent with. It is closed when the {@link SqsBufferedAsyncClient} is closed. This is
+         * required.
+         *
+         * @return This object for method chaining
+         */
+        public Builder sqsAsyncClient(SqsAsyncClient sqsAsyncClient) {
+            this.sqsAsyncClient = sqsAsyncClient;
+            return this;
+        }
+
+        /**
+         * The maximum number of requests to send in one batch, between 1 and 10. Defaults to 10.
+         *
+         * @return This object for method chaining
+         */
+        public Builder maxBatchSize(int maxBatchSize) {
+            this.maxBatchSize = maxBatchSize;
+            return this;
+        }
+
+        /**
+         * The maximum total size of the message bodies and message attributes in one SendMessageBatch request, between 1 byte
+         * and 256 KiB, the maximum that Amazon SQS accepts. Defaults to 256 KiB.
+         *
+         * @return This object for method chaining
+         */
+        public Builder maxBatchSizeInBytes(long maxBatchSizeInBytes) {
+            this.maxBatchSizeInBytes = maxBatchSizeInBytes;
+            return this;
+        }
+
+        /**
+         * The maximum amount of time a request waits for other requests to be batched with. Defaults to 200 milliseconds.
+         *
+         * @return This object for method chaining
+         */
+        public Builder maxBatchOpenDuration(Duration maxBatchOpenDuration) {
+            this.maxBatchOpenDuration = maxBatchOpenDuration;
+            return this;
+        }
+
+        /**
+         * The number of messages to prefetch per queue. Defaults to 10. Setting this to 0 disables prefetching, and
+         * ReceiveMessage requests are sent to the wrapped client directly.
+         *
+         * @return This object for method chaining
+         */
+        public Builder maxPrefetchedMessages(int maxPrefetchedMessages) {
+            this.maxPrefetchedMessages = maxPrefetchedMessages;
+            return this;
+        }
+
+        /**
+         * The maximum number of ReceiveMessage requests to have in flight per queue while prefetching. Defaults to 1.
+         *
+         * @return This object for method chaining
+         */
+        public Builder maxConcurrentReceives(int maxConcurrentReceives) {
+            this.maxConcurrentReceives = maxConcurrentReceives;
+            return this;
+        }
+
+        /**
+         * The wait time of the long polling ReceiveMessage requests that prefetch messages, up to 20 seconds. Defaults to 20
+         * seconds.
+         *
+         * @return This object for method chaining
+         */
+        public Builder longPollWaitTime(Duration longPollWaitTime) {
+            this.longPollWaitTime = longPollWaitTime;
+            return this;
+        }
+
+        /**
+         * The executor that times open batches and waiting ReceiveMessage calls. It is not shut down when the
+         * {@link SqsBufferedAsyncClient} is closed. By default, a single daemon thread is created for each client.
+         *
+         * @return This object for method chaining
+         */
+        public Builder scheduledExecutorService(ScheduledExecutorService scheduledExecutorService) {
+            this.scheduledExecutorService = scheduledExecutorService;
+            return this;
+        }
+
+        /**
+         * Construct a {@link SqsBufferedAsyncClient} object.
+         */
+        public SqsBufferedAsyncClient build() {
+            return new SqsBufferedAsyncClient(this);
+        }
+    }
+}
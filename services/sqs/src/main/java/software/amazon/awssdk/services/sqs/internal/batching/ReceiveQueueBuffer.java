@@ -0,0 +1,277 @@
+/*
+ * Copyright 2010-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.services.sqs.internal.batching;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchRequest;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.GetQueueAttributesRequest;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.QueueAttributeName;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageResponse;
+
+/**
+ * Prefetches the messages of one queue with long polling ReceiveMessage requests, and serves ReceiveMessage calls from the
+ * prefetched messages.
+ *
+ * <p>Messages are prefetched while fewer than the maximum number of messages are buffered or while calls are waiting for
+ * messages, and prefetching pauses once a long poll returns no messages and nobody is waiting. Messages that have been
+ * buffered for longer than the visibility timeout of the queue are discarded, because they have become visible to other
+ * consumers again.
+ */
+@SdkInternalApi
+@ThreadSafe
+public final class ReceiveQueueBuffer {
+
+    /**
+     * The most messages a single ReceiveMessage request can return.
+     */
+    private static final int MAX_MESSAGES_PER_RECEIVE = 10;
+
+    private static final String ALL = "All";
+
+    private final SqsAsyncClient client;
+    private final String queueUrl;
+    private final ScheduledExecutorService scheduledExecutor;
+    private final int maxPrefetchedMessages;
+    private final int maxConcurrentReceives;
+    private final int longPollWaitTimeSeconds;
+    private final CompletableFuture<Long> visibilityTimeoutNanos;
+
+    // Guarded by this
+    private final Deque<PrefetchedMessage> messages = new ArrayDeque<>();
+    private final Deque<Waiter> waiters = new ArrayDeque<>();
+    private int receivesInFlight;
+    private int messagesRequested;
+    private boolean closed;
+
+    public ReceiveQueueBuffer(SqsAsyncClient client,
+                              String queueUrl,
+                              ScheduledExecutorService scheduledExecutor,
+                              int maxPrefetchedMessages,
+                              int maxConcurrentReceives,
+                              Duration longPollWaitTime) {
+        this.client = client;
+        this.queueUrl = queueUrl;
+        this.scheduledExecutor = scheduledExecutor;
+        this.maxPrefetchedMessages = maxPrefetchedMessages;
+        this.maxConcurrentReceives = maxConcurrentReceives;
+        this.longPollWaitTimeSeconds = (int) longPollWaitTime.getSeconds();
+        this.visibilityTimeoutNanos =
+            client.getQueueAttributes(GetQueueAttributesRequest.builder()
+                                                               .queueUrl(queueUrl)
+                                                               .attributeNames(QueueAttributeName.VISIBILITY_TIMEOUT)
+                                                               .build())
+                  .thenApply(r -> TimeUnit.SECONDS.toNanos(Long.parseLong(
+                      r.attributes().get(QueueAttributeName.VISIBILITY_TIMEOUT))));
+    }
+
+    /**
+     * Serves a ReceiveMessage call from the prefetched messages. When none are available, the call waits for the next
+     * prefetched messages for up to its wait time. If the visibility timeout of the queue could not be determined, the call
+     * is sent to the queue directly.
+     */
+    public CompletableFuture<ReceiveMessageResponse> receiveMessage(ReceiveMessageRequest request) {
+        return visibilityTimeoutNanos.handle((v, t) -> t)
+                                     .thenCompose(t -> t == null ? receiveBuffered(request) : client.receiveMessage(request));
+    }
+
+    private CompletableFuture<ReceiveMessageResponse> receiveBuffered(ReceiveMessageRequest request) {
+        int maxMessages = request.maxNumberOfMessages() == null ? 1 : request.maxNumberOfMessages();
+        int waitTimeSeconds = request.waitTimeSeconds() == null ? 0 : request.waitTimeSeconds();
+
+        List<Message> available;
+        Waiter waiter = null;
+        synchronized (this) {
+            available = take(maxMessages);
+            if (available.isEmpty() && waitTimeSeconds > 0 && !closed) {
+                waiter = new Waiter(maxMessages);
+                waiters.add(waiter);
+            }
+        }
+        prefetch();
+
+        if (waiter == null) {
+            return CompletableFuture.completedFuture(response(available));
+        }
+
+        Waiter scheduledWaiter = waiter;
+        scheduledExecutor.schedule(() -> {
+            synchronized (this) {
+                waiters.remove(scheduledWaiter);
+            }
+            scheduledWaiter.future.complete(response(Collections.emptyList()));
+        }, waitTimeSeconds, TimeUnit.SECONDS);
+        return waiter.future;
+    }
+
+    /**
+     * Stops prefetching, and makes the messages that were prefetched but not received visible again.
+     *
+     * @return A future that completes once the prefetched messages have been released.
+     */
+    public CompletableFuture<Void> close() {
+        List<Waiter> waiting;
+        List<Message> unreceived;
+        synchronized (this) {
+            closed = true;
+            waiting = new ArrayList<>(waiters);
+            waiters.clear();
+            unreceived = messages.stream().map(m -> m.message).collect(Collectors.toList());
+            messages.clear();
+        }
+        waiting.forEach(w -> w.future.complete(response(Collections.emptyList())));
+        return release(unreceived);
+    }
+
+    private void prefetch() {
+        while (true) {
+            int count;
+            synchronized (this) {
+                int demand = waiters.stream().mapToInt(w -> w.maxMessages).sum();
+                int room = maxPrefetchedMessages + demand - messages.size() - messagesRequested;
+                if (closed || receivesInFlight >= maxConcurrentReceives || room <= 0) {
+                    return;
+                }
+                count = Math.min(MAX_MESSAGES_PER_RECEIVE, room);
+                receivesInFlight++;
+                messagesRequested += count;
+            }
+
+            client.receiveMessage(ReceiveMessageRequest.builder()
+                                                       .queueUrl(queueUrl)
+                                                       .maxNumberOfMessages(count)
+                                                       .waitTimeSeconds(longPollWaitTimeSeconds)
+                                                       .attributeNamesWithStrings(ALL)
+                                                       .messageAttributeNames(ALL)
+                                                       .build())
+                  .whenComplete((r, t) -> onPrefetched(count, r, t));
+        }
+    }
+
+    private void onPrefetched(int count, ReceiveMessageResponse response, Throwable error) {
+        List<Waiter> served = new ArrayList<>();
+        List<List<Message>> servedMessages = new ArrayList<>();
+        List<Waiter> failed = Collections.emptyList();
+        List<Message> unwanted = Collections.emptyList();
+        boolean prefetchMore;
+
+        synchronized (this) {
+            receivesInFlight--;
+            messagesRequested -= count;
+
+            if (error != null) {
+                failed = new ArrayList<>(waiters);
+                waiters.clear();
+            } else if (closed) {
+                unwanted = response.messages();
+            } else {
+                long now = System.nanoTime();
+                response.messages().forEach(m -> messages.add(new PrefetchedMessage(m, now)));
+                while (!waiters.isEmpty() && !messages.isEmpty()) {
+                    Waiter waiter = waiters.poll();
+                    served.add(waiter);
+                    servedMessages.add(take(waiter.maxMessages));
+                }
+            }
+            prefetchMore = error == null && !closed && (!response.messages().isEmpty() || !waiters.isEmpty());
+        }
+
+        for (int i = 0; i < served.size(); i++) {
+            served.get(i).future.complete(response(servedMessages.get(i)));
+        }
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        failed.forEach(w -> w.future.completeExceptionally(cause));
+        release(unwanted);
+
+        if (prefetchMore) {
+            prefetch();
+        }
+    }
+
+    /**
+     * Takes up to the given number of messages that are still invisible to other consumers. Must be called while holding the
+     * lock.
+     */
+    private List<Message> take(int maxMessages) {
+        long expiry = System.nanoTime() - visibilityTimeoutNanos.join();
+        List<Message> taken = new ArrayList<>(maxMessages);
+        while (taken.size() < maxMessages && !messages.isEmpty()) {
+            PrefetchedMessage prefetched = messages.poll();
+            if (prefetched.receivedAt - expiry > 0) {
+                taken.add(prefetched.message);
+            }
+        }
+        return taken;
+    }
+
+    private CompletableFuture<Void> release(List<Message> unreceived) {
+        List<CompletableFuture<?>> releases = new ArrayList<>();
+        for (int i = 0; i < unreceived.size(); i += MAX_MESSAGES_PER_RECEIVE) {
+            List<ChangeMessageVisibilityBatchRequestEntry> entries = new ArrayList<>();
+            for (int j = i; j < Math.min(unreceived.size(), i + MAX_MESSAGES_PER_RECEIVE); j++) {
+                entries.add(ChangeMessageVisibilityBatchRequestEntry.builder()
+                                                                    .id(String.valueOf(j - i))
+                                                                    .receiptHandle(unreceived.get(j).receiptHandle())
+                                                                    .visibilityTimeout(0)
+                                                                    .build());
+            }
+            releases.add(client.changeMessageVisibilityBatch(ChangeMessageVisibilityBatchRequest.builder()
+                                                                                .queueUrl(queueUrl)
+                                                                                .entries(entries)
+                                                                                .build()));
+        }
+        // Releasing is best effort: messages that are not released become visible once their visibility timeout expires.
+        return CompletableFuture.allOf(releases.toArray(new CompletableFuture[0])).handle((r, t) -> null);
+    }
+
+    private static ReceiveMessageResponse response(List<Message> messages) {
+        return ReceiveMessageResponse.builder().messages(messages).build();
+    }
+
+    private static final class PrefetchedMessage {
+        private final Message message;
+        private final long receivedAt;
+
+        private PrefetchedMessage(Message message, long receivedAt) {
+            this.message = message;
+            this.receivedAt = receivedAt;
+        }
+    }
+
+    private static final class Waiter {
+        private final int maxMessages;
+        private final CompletableFuture<ReceiveMessageResponse> future = new CompletableFuture<>();
+
+        private Waiter(int maxMessages) {
+            this.maxMessages = maxMessages;
+        }
+    }
+}
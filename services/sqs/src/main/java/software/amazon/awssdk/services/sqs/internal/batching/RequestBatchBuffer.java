@@ -0,0 +1,238 @@
+/*
+ * Copyright 2010-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.services.sqs.internal.batching;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.core.exception.SdkClientException;
+
+/**
+ * Collects requests of one type into a batch per queue, and sends a batch once it holds the maximum number of entries, once
+ * adding another request would take it over the maximum size in bytes, or once it has been open for the maximum duration.
+ *
+ * @param <RequestT> The type of the individual requests.
+ * @param <ResponseT> The type of the response to an individual request.
+ */
+@SdkInternalApi
+@ThreadSafe
+public final class RequestBatchBuffer<RequestT, ResponseT> {
+
+    private final BatchSender<RequestT, ResponseT> sender;
+    private final ScheduledExecutorService scheduledExecutor;
+    private final int maxBatchSize;
+    private final long maxBatchSizeInBytes;
+    private final Duration maxBatchOpenDuration;
+    private final ToLongFunction<RequestT> sizeInBytes;
+
+    /**
+     * The batch that requests are currently added to, per queue URL. Guarded by {@code this}.
+     */
+    private final Map<String, Batch> openBatches = new HashMap<>();
+    private final Set<CompletableFuture<Void>> batchesInFlight = ConcurrentHashMap.newKeySet();
+
+    public RequestBatchBuffer(BatchSender<RequestT, ResponseT> sender,
+                              ScheduledExecutorService scheduledExecutor,
+                              int maxBatchSize,
+                              long maxBatchSizeInBytes,
+                              Duration maxBatchOpenDuration,
+                              ToLongFunction<RequestT> sizeInBytes) {
+        this.sender = sender;
+        this.scheduledExecutor = scheduledExecutor;
+        this.maxBatchSize = maxBatchSize;
+        this.maxBatchSizeInBytes = maxBatchSizeInBytes;
+        this.maxBatchOpenDuration = maxBatchOpenDuration;
+        this.sizeInBytes = sizeInBytes;
+    }
+
+    /**
+     * Adds a request to the open batch of its queue.
+     *
+     * @return A future that is completed with the response to the request once its batch has been sent.
+     */
+    public CompletableFuture<ResponseT> add(String queueUrl, RequestT request) {
+        CompletableFuture<ResponseT> future = new CompletableFuture<>();
+        long requestSize = sizeInBytes.applyAsLong(request);
+        List<Batch> readyBatches = new ArrayList<>(2);
+
+        synchronized (this) {
+            Batch batch = openBatches.get(queueUrl);
+            if (batch != null && batch.sizeInBytes + requestSize > maxBatchSizeInBytes) {
+                readyBatches.add(close(batch));
+                batch = null;
+            }
+            if (batch == null) {
+                batch = openBatch(queueUrl, future);
+            }
+            if (batch != null) {
+                batch.add(request, requestSize, future);
+                if (batch.entries.size() >= maxBatchSize) {
+                    readyBatches.add(close(batch));
+                }
+            }
+        }
+
+        readyBatches.forEach(this::send);
+        return future;
+    }
+
+    /**
+     * Opens a new batch for the queue and schedules it to be sent. If the executor has been shut down, because the client
+     * is being closed, the future of the request that would have opened the batch is failed instead. Must be called while
+     * holding the lock.
+     *
+     * @return The new batch, or null if it could not be scheduled.
+     */
+    private Batch openBatch(String queueUrl, CompletableFuture<ResponseT> future) {
+        Batch batch = new Batch(queueUrl);
+        try {
+            batch.timer = scheduledExecutor.schedule(() -> sendIfOpen(batch), maxBatchOpenDuration.toNanos(),
+                                                     TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(new IllegalStateException("The client has been closed.", e));
+            return null;
+        }
+        openBatches.put(queueUrl, batch);
+        return batch;
+    }
+
+    /**
+     * Sends every open batch without waiting for it to fill up.
+     *
+     * @return A future that completes when every batch that has been sent has completed.
+     */
+    public CompletableFuture<Void> flush() {
+        List<Batch> readyBatches;
+        synchronized (this) {
+            readyBatches = new ArrayList<>(openBatches.values());
+            readyBatches.forEach(this::close);
+        }
+        readyBatches.forEach(this::send);
+        return CompletableFuture.allOf(batchesInFlight.toArray(new CompletableFuture[0]));
+    }
+
+    private void sendIfOpen(Batch batch) {
+        synchronized (this) {
+            if (openBatches.get(batch.queueUrl) != batch) {
+                return;
+            }
+            close(batch);
+        }
+        send(batch);
+    }
+
+    /**
+     * Stops adding requests to the batch. Must be called while holding the lock.
+     */
+    private Batch close(Batch batch) {
+        openBatches.remove(batch.queueUrl, batch);
+        if (batch.timer != null) {
+            batch.timer.cancel(false);
+        }
+        return batch;
+    }
+
+    private void send(Batch batch) {
+        CompletableFuture<Void> sendFuture;
+        try {
+            sendFuture = sender.send(batch.queueUrl, batch.entries);
+        } catch (Throwable t) {
+            batch.entries.forEach(e -> e.future().completeExceptionally(t));
+            return;
+        }
+
+        batchesInFlight.add(sendFuture);
+        sendFuture.whenComplete((r, t) -> {
+            batchesInFlight.remove(sendFuture);
+            for (BatchEntry<RequestT, ResponseT> entry : batch.entries) {
+                if (t != null) {
+                    entry.future().completeExceptionally(t);
+                } else if (!entry.future().isDone()) {
+                    entry.future().completeExceptionally(
+                        SdkClientException.create("The batch response did not include a result for entry " + entry.id()));
+                }
+            }
+        });
+    }
+
+    /**
+     * Sends a batch of requests to a queue, and completes the future of each entry with its result.
+     */
+    @FunctionalInterface
+    public interface BatchSender<RequestT, ResponseT> {
+
+        /**
+         * @return A future that completes once the batch request has completed. Entries whose future has not been completed
+         * by then are failed, and all entries are failed if the returned future fails.
+         */
+        CompletableFuture<Void> send(String queueUrl, List<BatchEntry<RequestT, ResponseT>> entries);
+    }
+
+    /**
+     * A single request in a batch, identified by an ID that is unique within the batch.
+     */
+    public static final class BatchEntry<RequestT, ResponseT> {
+        private final String id;
+        private final RequestT request;
+        private final CompletableFuture<ResponseT> future;
+
+        private BatchEntry(String id, RequestT request, CompletableFuture<ResponseT> future) {
+            this.id = id;
+            this.request = request;
+            this.future = future;
+        }
+
+        public String id() {
+            return id;
+        }
+
+        public RequestT request() {
+            return request;
+        }
+
+        public CompletableFuture<ResponseT> future() {
+            return future;
+        }
+    }
+
+    private final class Batch {
+        private final String queueUrl;
+        private final List<BatchEntry<RequestT, ResponseT>> entries = new ArrayList<>(maxBatchSize);
+        private long sizeInBytes;
+        private ScheduledFuture<?> timer;
+
+        private Batch(String queueUrl) {
+            this.queueUrl = queueUrl;
+        }
+
+        private void add(RequestT request, long requestSize, CompletableFuture<ResponseT> future) {
+            entries.add(new BatchEntry<>(String.valueOf(entries.size()), request, future));
+            sizeInBytes += requestSize;
+        }
+    }
+}
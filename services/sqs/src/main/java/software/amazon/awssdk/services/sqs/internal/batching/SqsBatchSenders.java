@@ -0,0 +1,197 @@
+/*
+ * Copyright 2010-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.services.sqs.internal.batching;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.internal.batching.RequestBatchBuffer.BatchEntry;
+import software.amazon.awssdk.services.sqs.internal.batching.RequestBatchBuffer.BatchSender;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchRequest;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityRequest;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityResponse;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageRequest;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageResponse;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResultEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageResponse;
+import software.amazon.awssdk.services.sqs.model.SqsException;
+
+/**
+ * The {@link BatchSender}s that send SendMessage, DeleteMessage and ChangeMessageVisibility requests as one SendMessageBatch,
+ * DeleteMessageBatch or ChangeMessageVisibilityBatch request.
+ */
+@SdkInternalApi
+public final class SqsBatchSenders {
+
+    private SqsBatchSenders() {
+    }
+
+    public static BatchSender<SendMessageRequest, SendMessageResponse> sendMessage(SqsAsyncClient client) {
+        return (queueUrl, entries) -> {
+            List<SendMessageBatchRequestEntry> requestEntries =
+                entries.stream()
+                       .map(e -> SendMessageBatchRequestEntry.builder()
+                                                             .id(e.id())
+                                                             .messageBody(e.request().messageBody())
+                                                             .delaySeconds(e.request().delaySeconds())
+                                                             .messageAttributes(e.request().messageAttributes())
+                                                             .messageDeduplicationId(e.request().messageDeduplicationId())
+                                                             .messageGroupId(e.request().messageGroupId())
+                                                             .build())
+                       .collect(Collectors.toList());
+
+            SendMessageBatchRequest batchRequest = SendMessageBatchRequest.builder()
+                                                                          .queueUrl(queueUrl)
+                                                                          .entries(requestEntries)
+                                                                          .build();
+            return client.sendMessageBatch(batchRequest)
+                         .thenAccept(response -> {
+                             Map<String, BatchEntry<SendMessageRequest, SendMessageResponse>> byId = byId(entries);
+                             for (SendMessageBatchResultEntry result : response.successful()) {
+                                 complete(byId, result.id(), SendMessageResponse.builder()
+                                                                                .messageId(result.messageId())
+                                                                                .md5OfMessageBody(result.md5OfMessageBody())
+                                                                                .md5OfMessageAttributes(
+                                                                                    result.md5OfMessageAttributes())
+                                                                                .sequenceNumber(result.sequenceNumber())
+                                                                                .build());
+                             }
+                             fail(byId, response.failed());
+                         });
+        };
+    }
+
+    public static BatchSender<DeleteMessageRequest, DeleteMessageResponse> deleteMessage(SqsAsyncClient client) {
+        return (queueUrl, entries) -> {
+            List<DeleteMessageBatchRequestEntry> requestEntries =
+                entries.stream()
+                       .map(e -> DeleteMessageBatchRequestEntry.builder()
+                                                               .id(e.id())
+                                                               .receiptHandle(e.request().receiptHandle())
+                                                               .build())
+                       .collect(Collectors.toList());
+
+            DeleteMessageBatchRequest batchRequest = DeleteMessageBatchRequest.builder()
+                                                                              .queueUrl(queueUrl)
+                                                                              .entries(requestEntries)
+                                                                              .build();
+            return client.deleteMessageBatch(batchRequest)
+                         .thenAccept(response -> {
+                             Map<String, BatchEntry<DeleteMessageRequest, DeleteMessageResponse>> byId = byId(entries);
+                             response.successful()
+                                     .forEach(result -> complete(byId, result.id(), DeleteMessageResponse.builder().build()));
+                             fail(byId, response.failed());
+                         });
+        };
+    }
+
+    public static BatchSender<ChangeMessageVisibilityRequest, ChangeMessageVisibilityResponse> changeMessageVisibility(
+        SqsAsyncClient client) {
+        return (queueUrl, entries) -> {
+            List<ChangeMessageVisibilityBatchRequestEntry> requestEntries =
+                entries.stream()
+                       .map(e -> ChangeMessageVisibilityBatchRequestEntry.builder()
+                                                                         .id(e.id())
+                                                                         .receiptHandle(e.request().receiptHandle())
+                                                                         .visibilityTimeout(e.request().visibilityTimeout())
+                                                                         .build())
+                       .collect(Collectors.toList());
+
+            ChangeMessageVisibilityBatchRequest batchRequest = ChangeMessageVisibilityBatchRequest.builder()
+                                                                                                  .queueUrl(queueUrl)
+                                                                                                  .entries(requestEntries)
+                                                                                                  .build();
+            return client.changeMessageVisibilityBatch(batchRequest)
+                         .thenAccept(response -> {
+                             Map<String, BatchEntry<ChangeMessageVisibilityRequest, ChangeMessageVisibilityResponse>> byId =
+                                 byId(entries);
+                             response.successful()
+                                     .forEach(result -> complete(byId, result.id(),
+                                                                 ChangeMessageVisibilityResponse.builder().build()));
+                             fail(byId, response.failed());
+                         });
+        };
+    }
+
+    /**
+     * @return The number of bytes a SendMessage request counts towards the maximum size of a batch: the size of its body and
+     * of the names, types and values of its message attributes.
+     */
+    public static long sizeInBytes(SendMessageRequest request) {
+        long size = request.messageBody() == null ? 0 : request.messageBody().getBytes(StandardCharsets.UTF_8).length;
+        for (Map.Entry<String, MessageAttributeValue> attribute : request.messageAttributes().entrySet()) {
+            MessageAttributeValue value = attribute.getValue();
+            size += utf8Length(attribute.getKey()) + utf8Length(value.dataType()) + utf8Length(value.stringValue());
+            if (value.binaryValue() != null) {
+                size += value.binaryValue().asByteBuffer().remaining();
+            }
+        }
+        return size;
+    }
+
+    private static long utf8Length(String value) {
+        return value == null ? 0 : value.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    private static <RequestT, ResponseT> Map<String, BatchEntry<RequestT, ResponseT>> byId(
+        List<BatchEntry<RequestT, ResponseT>> entries) {
+        return entries.stream().collect(Collectors.toMap(BatchEntry::id, Function.identity()));
+    }
+
+    private static <RequestT, ResponseT> void complete(Map<String, BatchEntry<RequestT, ResponseT>> byId,
+                                                       String id,
+                                                       ResponseT response) {
+        BatchEntry<RequestT, ResponseT> entry = byId.get(id);
+        if (entry != null) {
+            entry.future().complete(response);
+        }
+    }
+
+    /**
+     * Fails each entry that was rejected by the service with the error reported for it.
+     */
+    private static <RequestT, ResponseT> void fail(Map<String, BatchEntry<RequestT, ResponseT>> byId,
+                                                   List<BatchResultErrorEntry> errors) {
+        for (BatchResultErrorEntry error : errors) {
+            BatchEntry<RequestT, ResponseT> entry = byId.get(error.id());
+            if (entry != null) {
+                entry.future().completeExceptionally(
+                    SqsException.builder()
+                                .message(error.message())
+                                .statusCode(Boolean.TRUE.equals(error.senderFault()) ? 400 : 500)
+                                .awsErrorDetails(AwsErrorDetails.builder()
+                                                                .errorCode(error.code())
+                                                                .errorMessage(error.message())
+                                                                .serviceName("Sqs")
+                                                                .build())
+                                .build());
+            }
+        }
+    }
+}
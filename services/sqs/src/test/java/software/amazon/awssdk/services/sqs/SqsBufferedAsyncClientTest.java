@@ -0,0 +1,296 @@
+/*
+ * Copyright 2010-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.services.sqs;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchRequest;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchResponse;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchResultEntry;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageResponse;
+import software.amazon.awssdk.services.sqs.model.GetQueueAttributesRequest;
+import software.amazon.awssdk.services.sqs.model.GetQueueAttributesResponse;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.QueueAttributeName;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResultEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageResponse;
+import software.amazon.awssdk.services.sqs.model.SqsException;
+
+public class SqsBufferedAsyncClientTest {
+    private static final String QUEUE_URL = "https://sqs.us-east-1.amazonaws.com/123456789012/queue";
+    private static final String FIFO_QUEUE_URL = QUEUE_URL + ".fifo";
+
+    private SqsAsyncClient delegate;
+    private SqsBufferedAsyncClient client;
+
+    @Before
+    public void setup() {
+        delegate = mock(SqsAsyncClient.class);
+        when(delegate.sendMessageBatch(any(SendMessageBatchRequest.class))).thenAnswer(invocation -> {
+            SendMessageBatchRequest request = (SendMessageBatchRequest) invocation.getArguments()[0];
+            List<SendMessageBatchResultEntry> results =
+                request.entries()
+                       .stream()
+                       .map(e -> SendMessageBatchResultEntry.builder().id(e.id()).messageId("id-" + e.messageBody()).build())
+                       .collect(Collectors.toList());
+            return CompletableFuture.completedFuture(SendMessageBatchResponse.builder().successful(results).build());
+        });
+        when(delegate.getQueueAttributes(any(GetQueueAttributesRequest.class)))
+            .thenReturn(CompletableFuture.completedFuture(
+                GetQueueAttributesResponse.builder()
+                                          .attributes(Collections.singletonMap(QueueAttributeName.VISIBILITY_TIMEOUT, "30"))
+                                          .build()));
+        when(delegate.changeMessageVisibilityBatch(any(ChangeMessageVisibilityBatchRequest.class)))
+            .thenReturn(CompletableFuture.completedFuture(ChangeMessageVisibilityBatchResponse.builder().build()));
+    }
+
+    @After
+    public void teardown() {
+        if (client != null) {
+            client.close();
+        }
+    }
+
+    @Test
+    public void sendMessage_fullBatch_sentAsOneBatchRequest() {
+        client = client(Duration.ofMinutes(1));
+
+        List<CompletableFuture<SendMessageResponse>> futures =
+            IntStream.range(0, 10)
+                     .mapToObj(i -> client.sendMessage(r -> r.queueUrl(QUEUE_URL).messageBody("m" + i)))
+                     .collect(Collectors.toList());
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(futures.get(i).join().messageId()).isEqualTo("id-m" + i);
+        }
+        ArgumentCaptor<SendMessageBatchRequest> captor = ArgumentCaptor.forClass(SendMessageBatchRequest.class);
+        verify(delegate).sendMessageBatch(captor.capture());
+        assertThat(captor.getValue().queueUrl()).isEqualTo(QUEUE_URL);
+        assertThat(captor.getValue().entries()).hasSize(10);
+        verify(delegate, never()).sendMessage(any(SendMessageRequest.class));
+    }
+
+    @Test
+    public void sendMessage_partialBatch_sentAfterOpenDuration() throws Exception {
+        client = client(Duration.ofMillis(10));
+
+        CompletableFuture<SendMessageResponse> first = client.sendMessage(r -> r.queueUrl(QUEUE_URL).messageBody("a"));
+        CompletableFuture<SendMessageResponse> second = client.sendMessage(r -> r.queueUrl(QUEUE_URL).messageBody("b"));
+
+        assertThat(first.get(5, TimeUnit.SECONDS).messageId()).isEqualTo("id-a");
+        assertThat(second.get(5, TimeUnit.SECONDS).messageId()).isEqualTo("id-b");
+        verify(delegate).sendMessageBatch(any(SendMessageBatchRequest.class));
+    }
+
+    @Test
+    public void sendMessage_batchExceedsMaxSize_splitIntoTwoBatches() {
+        client = SqsBufferedAsyncClient.builder()
+                                       .sqsAsyncClient(delegate)
+                                       .maxBatchSizeInBytes(10)
+                                       .maxBatchOpenDuration(Duration.ofMinutes(1))
+                                       .build();
+
+        CompletableFuture<SendMessageResponse> first = client.sendMessage(r -> r.queueUrl(QUEUE_URL).messageBody("123456"));
+        CompletableFuture<SendMessageResponse> second = client.sendMessage(r -> r.queueUrl(QUEUE_URL).messageBody("789012"));
+
+        assertThat(first.join().messageId()).isEqualTo("id-123456");
+        assertThat(second).isNotDone();
+        client.close();
+        assertThat(second.join().messageId()).isEqualTo("id-789012");
+        verify(delegate, times(2)).sendMessageBatch(any(SendMessageBatchRequest.class));
+        client = null;
+    }
+
+    @Test
+    public void deleteMessage_failedEntry_failsWithServiceException() {
+        when(delegate.deleteMessageBatch(any(DeleteMessageBatchRequest.class))).thenReturn(CompletableFuture.completedFuture(
+            DeleteMessageBatchResponse.builder()
+                                      .successful(DeleteMessageBatchResultEntry.builder().id("0").build())
+                                      .failed(BatchResultErrorEntry.builder()
+                                                                   .id("1")
+                                                                   .code("ReceiptHandleIsInvalid")
+                                                                   .message("Invalid receipt handle")
+                                                                   .senderFault(true)
+                                                                   .build())
+                                      .build()));
+        client = client(Duration.ofMinutes(1));
+
+        CompletableFuture<DeleteMessageResponse> first = client.deleteMessage(r -> r.queueUrl(QUEUE_URL).receiptHandle("a"));
+        CompletableFuture<DeleteMessageResponse> second = client.deleteMessage(r -> r.queueUrl(QUEUE_URL).receiptHandle("b"));
+        client.close();
+        client = null;
+
+        assertThat(first.join()).isNotNull();
+        assertThatThrownBy(second::join).isInstanceOf(CompletionException.class)
+                                        .hasCauseInstanceOf(SqsException.class)
+                                        .hasMessageContaining("Invalid receipt handle");
+        SqsException cause = (SqsException) second.handle((r, t) -> t).join();
+        assertThat(cause.statusCode()).isEqualTo(400);
+        assertThat(cause.awsErrorDetails().errorCode()).isEqualTo("ReceiptHandleIsInvalid");
+    }
+
+    @Test
+    public void sendMessage_fifoQueue_notBatched() {
+        when(delegate.sendMessage(any(SendMessageRequest.class)))
+            .thenReturn(CompletableFuture.completedFuture(SendMessageResponse.builder().messageId("fifo").build()));
+        client = client(Duration.ofMinutes(1));
+
+        SendMessageResponse response =
+            client.sendMessage(r -> r.queueUrl(FIFO_QUEUE_URL).messageBody("a").messageGroupId("g")).join();
+
+        assertThat(response.messageId()).isEqualTo("fifo");
+        verify(delegate, never()).sendMessageBatch(any(SendMessageBatchRequest.class));
+    }
+
+    @Test
+    public void receiveMessage_servedFromPrefetchedMessages() {
+        when(delegate.receiveMessage(any(ReceiveMessageRequest.class)))
+            .thenReturn(CompletableFuture.completedFuture(ReceiveMessageResponse.builder()
+                                                                                .messages(message("a"), message("b"))
+                                                                                .build()))
+            .thenReturn(new CompletableFuture<>());
+        client = client(Duration.ofMinutes(1));
+
+        ReceiveMessageResponse first = client.receiveMessage(r -> r.queueUrl(QUEUE_URL).waitTimeSeconds(1)).join();
+        ReceiveMessageResponse second = client.receiveMessage(r -> r.queueUrl(QUEUE_URL)).join();
+
+        assertThat(first.messages()).extracting(Message::body).containsExactly("a");
+        assertThat(second.messages()).extracting(Message::body).containsExactly("b");
+
+        ArgumentCaptor<ReceiveMessageRequest> captor = ArgumentCaptor.forClass(ReceiveMessageRequest.class);
+        verify(delegate, times(2)).receiveMessage(captor.capture());
+        assertThat(captor.getAllValues().get(0).waitTimeSeconds()).isEqualTo(20);
+        assertThat(captor.getAllValues().get(0).messageAttributeNames()).containsExactly("All");
+    }
+
+    @Test
+    public void receiveMessage_nothingPrefetched_emptyResponseAfterWaitTime() throws Exception {
+        when(delegate.receiveMessage(any(ReceiveMessageRequest.class))).thenReturn(new CompletableFuture<>());
+        client = client(Duration.ofMinutes(1));
+
+        ReceiveMessageResponse response = client.receiveMessage(r -> r.queueUrl(QUEUE_URL).waitTimeSeconds(1))
+                                                .get(5, TimeUnit.SECONDS);
+
+        assertThat(response.messages()).isEmpty();
+    }
+
+    @Test
+    public void close_releasesPrefetchedMessages() {
+        when(delegate.receiveMessage(any(ReceiveMessageRequest.class)))
+            .thenReturn(CompletableFuture.completedFuture(ReceiveMessageResponse.builder()
+                                                                                .messages(message("a"), message("b"))
+                                                                                .build()))
+            .thenReturn(new CompletableFuture<>());
+        client = client(Duration.ofMinutes(1));
+
+        client.receiveMessage(r -> r.queueUrl(QUEUE_URL).waitTimeSeconds(1)).join();
+        client.close();
+        client = null;
+
+        ArgumentCaptor<ChangeMessageVisibilityBatchRequest> captor =
+            ArgumentCaptor.forClass(ChangeMessageVisibilityBatchRequest.class);
+        verify(delegate).changeMessageVisibilityBatch(captor.capture());
+        assertThat(captor.getValue().entries()).hasSize(1);
+        assertThat(captor.getValue().entries().get(0).receiptHandle()).isEqualTo("handle-b");
+        assertThat(captor.getValue().entries().get(0).visibilityTimeout()).isEqualTo(0);
+        verify(delegate).close();
+    }
+
+    @Test
+    public void receiveMessage_visibilityTimeoutSet_notBuffered() {
+        when(delegate.receiveMessage(any(ReceiveMessageRequest.class)))
+            .thenReturn(CompletableFuture.completedFuture(ReceiveMessageResponse.builder().build()));
+        client = client(Duration.ofMinutes(1));
+
+        client.receiveMessage(r -> r.queueUrl(QUEUE_URL).visibilityTimeout(5)).join();
+
+        verify(delegate, never()).getQueueAttributes(any(GetQueueAttributesRequest.class));
+        verify(delegate).receiveMessage(any(ReceiveMessageRequest.class));
+    }
+
+    @Test
+    public void close_laterBufferedRequestsFailWithoutReachingWrappedClient() {
+        client = client(Duration.ofMinutes(1));
+        client.close();
+
+        CompletableFuture<SendMessageResponse> send = client.sendMessage(r -> r.queueUrl(QUEUE_URL).messageBody("a"));
+        CompletableFuture<DeleteMessageResponse> delete = client.deleteMessage(r -> r.queueUrl(QUEUE_URL).receiptHandle("h"));
+        CompletableFuture<ReceiveMessageResponse> receive = client.receiveMessage(r -> r.queueUrl(QUEUE_URL));
+        client = null;
+
+        assertThatThrownBy(send::join).hasCauseInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(delete::join).hasCauseInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(receive::join).hasCauseInstanceOf(IllegalStateException.class);
+        verify(delegate, never()).sendMessageBatch(any(SendMessageBatchRequest.class));
+        verify(delegate, never()).deleteMessageBatch(any(DeleteMessageBatchRequest.class));
+        verify(delegate, never()).receiveMessage(any(ReceiveMessageRequest.class));
+    }
+
+    @Test
+    public void build_withoutWrappedClient_fails() {
+        assertThatThrownBy(() -> SqsBufferedAsyncClient.builder().build())
+            .isInstanceOf(NullPointerException.class)
+            .hasMessageContaining("sqsAsyncClient");
+    }
+
+    @Test
+    public void build_maxBatchSizeInBytesOverServiceLimit_fails() {
+        assertThatThrownBy(() -> SqsBufferedAsyncClient.builder()
+                                                       .sqsAsyncClient(delegate)
+                                                       .maxBatchSizeInBytes(256 * 1024 + 1)
+                                                       .build())
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("maxBatchSizeInBytes");
+    }
+
+    private SqsBufferedAsyncClient client(Duration maxBatchOpenDuration) {
+        return SqsBufferedAsyncClient.builder()
+                                     .sqsAsyncClient(delegate)
+                                     .maxBatchOpenDuration(maxBatchOpenDuration)
+                                     .build();
+    }
+
+    private static Message message(String body) {
+        return Message.builder().body(body).receiptHandle("handle-" + body).build();
+    }
+}
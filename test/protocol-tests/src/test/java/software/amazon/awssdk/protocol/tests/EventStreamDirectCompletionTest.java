@@ -0,0 +1,180 @@
+/*
+ * Copyright 2010-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.protocol.tests;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static software.amazon.awssdk.core.client.config.SdkAdvancedAsyncClientOption.DIRECT_FUTURE_COMPLETION;
+
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.async.SdkPublisher;
+import software.amazon.awssdk.http.SdkHttpResponse;
+import software.amazon.awssdk.http.async.AsyncExecuteRequest;
+import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.protocolrestjson.ProtocolRestJsonAsyncClient;
+import software.amazon.awssdk.services.protocolrestjson.model.EventStreamOperationResponseHandler;
+import software.amazon.awssdk.services.protocolrestjson.model.InputEventStream;
+import software.amazon.awssdk.utils.ImmutableMap;
+import software.amazon.awssdk.utils.ThreadFactoryBuilder;
+import software.amazon.eventstream.HeaderValue;
+import software.amazon.eventstream.Message;
+
+/**
+ * Verifies that event streams are delivered off the HTTP client's I/O thread when the client completes its futures directly on
+ * that thread.
+ */
+public class EventStreamDirectCompletionTest {
+    private static final int NUM_EVENTS = 10_000;
+    private static final String IO_THREAD_PREFIX = "test-io-thread";
+
+    private ExecutorService ioThread;
+    private ProtocolRestJsonAsyncClient client;
+
+    @Before
+    public void setup() {
+        ioThread = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder().threadNamePrefix(IO_THREAD_PREFIX).build());
+        client = ProtocolRestJsonAsyncClient.builder()
+                                            .region(Region.US_EAST_1)
+                                            .endpointOverride(URI.create("http://localhost"))
+                                            .credentialsProvider(StaticCredentialsProvider.create(
+                                                AwsBasicCredentials.create("akid", "skid")))
+                                            .httpClient(new EventStreamingHttpClient(ioThread, allEventsInOneChunk()))
+                                            .asyncConfiguration(c -> c.advancedOption(DIRECT_FUTURE_COMPLETION, true))
+                                            .build();
+    }
+
+    @After
+    public void teardown() {
+        client.close();
+        ioThread.shutdownNow();
+    }
+
+    @Test(timeout = 30_000)
+    public void directFutureCompletion_eventsInOneChunk_deliveredOffIoThread() {
+        List<String> deliveryThreads = new CopyOnWriteArrayList<>();
+        AtomicBoolean completed = new AtomicBoolean();
+
+        // The test HTTP client never reads the request stream
+        Publisher<InputEventStream> requestStream = subscriber -> { };
+        CompletableFuture<Void> future =
+            client.eventStreamOperation(r -> { },
+                                        requestStream,
+                                        EventStreamOperationResponseHandler.builder()
+                                                                           .subscriber(e -> deliveryThreads.add(
+                                                                               Thread.currentThread().getName()))
+                                                                           .onComplete(() -> completed.set(true))
+                                                                           .build());
+        future.join();
+
+        assertThat(completed).isTrue();
+        assertThat(deliveryThreads).hasSize(NUM_EVENTS);
+        assertThat(deliveryThreads).allMatch(t -> !t.startsWith(IO_THREAD_PREFIX));
+    }
+
+    private static ByteBuffer allEventsInOneChunk() {
+        ByteBuffer event = new Message(ImmutableMap.of(":message-type", HeaderValue.fromString("event"),
+                                                       ":event-type", HeaderValue.fromString("EventOne"),
+                                                       ":content-type", HeaderValue.fromString("application/json")),
+                                       "{\"Foo\":\"bar\"}".getBytes(StandardCharsets.UTF_8)).toByteBuffer();
+        ByteBuffer chunk = ByteBuffer.allocate(event.remaining() * NUM_EVENTS);
+        for (int i = 0; i < NUM_EVENTS; i++) {
+            chunk.put(event.duplicate());
+        }
+        chunk.flip();
+        return chunk;
+    }
+
+    /**
+     * An async HTTP client that answers every request with a single chunk of event stream data, which it delivers on its own
+     * I/O thread.
+     */
+    private static final class EventStreamingHttpClient implements SdkAsyncHttpClient {
+        private final ExecutorService ioThread;
+        private final ByteBuffer body;
+
+        private EventStreamingHttpClient(ExecutorService ioThread, ByteBuffer body) {
+            this.ioThread = ioThread;
+            this.body = body;
+        }
+
+        @Override
+        public CompletableFuture<Void> execute(AsyncExecuteRequest request) {
+            CompletableFuture<Void> executeFuture = new CompletableFuture<>();
+            ioThread.execute(() -> {
+                request.responseHandler().onHeaders(SdkHttpResponse.builder().statusCode(200).build());
+                request.responseHandler().onStream(new SingleChunkPublisher(ioThread, body.duplicate(), executeFuture));
+            });
+            return executeFuture;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    /**
+     * Publishes one buffer and then completes, signalling the subscriber on the I/O thread like a real HTTP client does.
+     */
+    private static final class SingleChunkPublisher implements SdkPublisher<ByteBuffer> {
+        private final ExecutorService ioThread;
+        private final ByteBuffer chunk;
+        private final CompletableFuture<Void> executeFuture;
+
+        private SingleChunkPublisher(ExecutorService ioThread, ByteBuffer chunk, CompletableFuture<Void> executeFuture) {
+            this.ioThread = ioThread;
+            this.chunk = chunk;
+            this.executeFuture = executeFuture;
+        }
+
+        @Override
+        public void subscribe(Subscriber<? super ByteBuffer> subscriber) {
+            AtomicBoolean sent = new AtomicBoolean();
+            subscriber.onSubscribe(new Subscription() {
+                @Override
+                public void request(long n) {
+                    ioThread.execute(() -> {
+                        if (sent.compareAndSet(false, true)) {
+                            subscriber.onNext(chunk);
+                        } else if (!executeFuture.isDone()) {
+                            subscriber.onComplete();
+                            executeFuture.complete(null);
+                        }
+                    });
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+        }
+    }
+}
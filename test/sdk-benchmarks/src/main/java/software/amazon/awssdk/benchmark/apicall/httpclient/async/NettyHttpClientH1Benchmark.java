@@ -42,6 +42,7 @@ import org.openjdk.jmh.runner.options.OptionsBuilder;
 import software.amazon.awssdk.benchmark.utils.MockServer;
 import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
 import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
+import software.amazon.awssdk.http.nio.netty.TransportType;
 import software.amazon.awssdk.services.protocolrestjson.ProtocolRestJsonAsyncClient;
 
 /**
@@ -60,6 +61,9 @@ public class NettyHttpClientH1Benchmark extends BaseNettyBenchmark {
     @Param({DEFAULT_JDK_SSL_PROVIDER, OPEN_SSL_PROVIDER})
     private String sslProviderValue;
 
+    @Param({"NIO", "AUTO"})
+    private TransportType transportType;
+
     @Setup(Level.Trial)
     public void setup() throws Exception {
         mockServer = new MockServer();
@@ -69,6 +73,7 @@ public class NettyHttpClientH1Benchmark extends BaseNettyBenchmark {
 
         sdkHttpClient = NettyNioAsyncHttpClient.builder()
                                                .sslProvider(sslProvider)
+                                               .transportType(transportType)
                                                .buildWithDefaults(trustAllTlsAttributeMapBuilder().build());
         client = ProtocolRestJsonAsyncClient.builder()
                                             .endpointOverride(mockServer.getHttpsUri())
@@ -43,6 +43,7 @@ import software.amazon.awssdk.benchmark.utils.MockH2Server;
 import software.amazon.awssdk.http.Protocol;
 import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
 import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
+import software.amazon.awssdk.http.nio.netty.TransportType;
 import software.amazon.awssdk.services.protocolrestjson.ProtocolRestJsonAsyncClient;
 
 /**
@@ -61,6 +62,9 @@ public class NettyHttpClientH2Benchmark extends BaseNettyBenchmark {
     @Param({DEFAULT_JDK_SSL_PROVIDER, OPEN_SSL_PROVIDER})
     private String sslProviderValue;
 
+    @Param({"NIO", "AUTO"})
+    private TransportType transportType;
+
     @Setup(Level.Trial)
     public void setup() throws Exception {
         mockServer = new MockH2Server(false);
@@ -70,6 +74,7 @@ public class NettyHttpClientH2Benchmark extends BaseNettyBenchmark {
 
         sdkHttpClient = NettyNioAsyncHttpClient.builder()
                                                .sslProvider(sslProvider)
+                                               .transportType(transportType)
                                                .buildWithDefaults(trustAllTlsAttributeMapBuilder()
                                                                       .put(PROTOCOL, Protocol.HTTP2)
                                                                       .build());
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2010-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.benchmark.apicall.httpclient.sync;
+
+import static software.amazon.awssdk.benchmark.utils.BenchmarkUtils.awaitCountdownLatchUninterruptibly;
+import static software.amazon.awssdk.benchmark.utils.BenchmarkUtils.countDownUponCompletion;
+import static software.amazon.awssdk.benchmark.utils.BenchmarkUtils.trustAllTlsAttributeMapBuilder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import software.amazon.awssdk.benchmark.utils.MockServer;
+import software.amazon.awssdk.core.internal.util.VirtualThreads;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
+import software.amazon.awssdk.services.protocolrestjson.ProtocolRestJsonClient;
+import software.amazon.awssdk.utils.ThreadFactoryBuilder;
+
+/**
+ * Measures thousands of concurrent calls on a sync client, each made from its own platform thread or its own virtual
+ * thread. Virtual threads run on a handful of carrier threads, limited by the
+ * {@code jdk.virtualThreadScheduler.parallelism} setting, so the virtual thread results show how well the sync call path
+ * avoids pinning its carrier while it blocks.
+ *
+ * <p>The virtual thread benchmarks require Java 21 or later.</p>
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 15, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 10, timeUnit = TimeUnit.SECONDS)
+@Fork(value = 2, jvmArgsAppend = "-Djdk.virtualThreadScheduler.parallelism=4")
+@BenchmarkMode(Mode.Throughput)
+public class VirtualThreadSyncClientBenchmark {
+
+    private static final int CONCURRENT_CALLS = 2_000;
+
+    @Param({"platform", "virtual"})
+    private String threadType;
+
+    private MockServer mockServer;
+    private SdkHttpClient sdkHttpClient;
+    private ProtocolRestJsonClient client;
+    private ExecutorService executorService;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        mockServer = new MockServer();
+        mockServer.start();
+        sdkHttpClient = ApacheHttpClient.builder()
+                                        .maxConnections(CONCURRENT_CALLS)
+                                        .buildWithDefaults(trustAllTlsAttributeMapBuilder().build());
+        client = ProtocolRestJsonClient.builder()
+                                       .endpointOverride(mockServer.getHttpsUri())
+                                       .httpClient(sdkHttpClient)
+                                       .build();
+
+        if ("virtual".equals(threadType)) {
+            executorService = VirtualThreads.newVirtualThreadPerTaskExecutor().orElseThrow(
+                () -> new IllegalStateException("Virtual threads are not supported by this JVM. Run with Java 21 or later."));
+        } else {
+            executorService = Executors.newFixedThreadPool(CONCURRENT_CALLS, new ThreadFactoryBuilder()
+                .threadNamePrefix("benchmark-caller").daemonThreads(true).build());
+        }
+
+        client.allTypes();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        executorService.shutdown();
+        mockServer.stop();
+        sdkHttpClient.close();
+        client.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CONCURRENT_CALLS)
+    public void concurrentApiCall(Blackhole blackhole) {
+        CountDownLatch countDownLatch = new CountDownLatch(CONCURRENT_CALLS);
+        for (int i = 0; i < CONCURRENT_CALLS; i++) {
+            countDownUponCompletion(blackhole,
+                                    CompletableFuture.runAsync(() -> client.allTypes(), executorService), countDownLatch);
+        }
+
+        awaitCountdownLatchUninterruptibly(countDownLatch, 30, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2010-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.benchmark.async;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.core.internal.util.DirectCompletionExecutor;
+import software.amazon.awssdk.utils.ThreadFactoryBuilder;
+
+/**
+ * Measures the latency from an async HTTP client's I/O thread receiving a response to the caller observing the completed
+ * future, when the future is completed on the SDK's default future completion executor and when it is completed directly on
+ * the I/O thread.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(2)
+public class FutureCompletionBenchmark {
+
+    @Param({"executor", "direct"})
+    private String completionMode;
+
+    private ExecutorService ioThread;
+    private Executor futureCompletionExecutor;
+
+    @Setup
+    public void setup() {
+        ioThread = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder().threadNamePrefix("benchmark-io").build());
+        if ("direct".equals(completionMode)) {
+            futureCompletionExecutor = DirectCompletionExecutor.create();
+        } else {
+            // Configured as the client's default future completion executor
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(50, 50, 10, TimeUnit.SECONDS, new LinkedBlockingQueue<>(10_000),
+                                                                 new ThreadFactoryBuilder()
+                                                                     .threadNamePrefix("sdk-async-response").build());
+            executor.allowCoreThreadTimeOut(true);
+            futureCompletionExecutor = executor;
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        ioThread.shutdownNow();
+        if (futureCompletionExecutor instanceof ExecutorService) {
+            ((ExecutorService) futureCompletionExecutor).shutdownNow();
+        }
+    }
+
+    @Benchmark
+    public Object completeFuture() {
+        CompletableFuture<Object> httpResponseFuture = new CompletableFuture<>();
+        CompletableFuture<Object> responseFuture = new CompletableFuture<>();
+
+        // As in MakeAsyncHttpRequestStage
+        httpResponseFuture.whenCompleteAsync((r, t) -> {
+            if (t == null) {
+                responseFuture.complete(r);
+            } else {
+                responseFuture.completeExceptionally(t);
+            }
+        }, futureCompletionExecutor);
+
+        ioThread.execute(() -> httpResponseFuture.complete(Boolean.TRUE));
+        return responseFuture.join();
+    }
+}
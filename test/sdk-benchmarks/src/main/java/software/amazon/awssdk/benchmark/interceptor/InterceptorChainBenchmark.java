@@ -0,0 +1,152 @@
+/*
+ * Copyright 2010-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.benchmark.interceptor;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.core.RequestOverrideConfiguration;
+import software.amazon.awssdk.core.SdkField;
+import software.amazon.awssdk.core.SdkRequest;
+import software.amazon.awssdk.core.SdkResponse;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptorChain;
+import software.amazon.awssdk.core.interceptor.InterceptorContext;
+import software.amazon.awssdk.http.SdkHttpFullRequest;
+import software.amazon.awssdk.http.SdkHttpMethod;
+import software.amazon.awssdk.http.SdkHttpResponse;
+
+/**
+ * Measures the cost of invoking an {@link ExecutionInterceptorChain} for every hook of a successful request, when each
+ * interceptor in the chain overrides only one method, as most of the interceptors of the service clients do.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(2)
+public class InterceptorChainBenchmark {
+
+    @Param({"1", "5", "10"})
+    private int interceptorCount;
+
+    private ExecutionInterceptorChain chain;
+    private InterceptorContext context;
+    private ExecutionAttributes attributes;
+
+    @Setup
+    public void setup() {
+        List<ExecutionInterceptor> interceptors = new ArrayList<>();
+        for (int i = 0; i < interceptorCount; i++) {
+            interceptors.add(i % 2 == 0 ? new ModifyRequestInterceptor() : new AfterExecutionInterceptor());
+        }
+        chain = new ExecutionInterceptorChain(interceptors);
+        attributes = new ExecutionAttributes();
+        context = InterceptorContext.builder()
+                                    .request(new BenchmarkRequest())
+                                    .httpRequest(SdkHttpFullRequest.builder()
+                                                                   .method(SdkHttpMethod.GET)
+                                                                   .uri(URI.create("https://localhost"))
+                                                                   .build())
+                                    .httpResponse(SdkHttpResponse.builder().statusCode(200).build())
+                                    .response(new BenchmarkResponse())
+                                    .build();
+    }
+
+    @Benchmark
+    public InterceptorContext successfulRequest() {
+        chain.beforeExecution(context, attributes);
+        InterceptorContext result = chain.modifyRequest(context, attributes);
+        chain.beforeMarshalling(result, attributes);
+        chain.afterMarshalling(result, attributes);
+        result = chain.modifyHttpRequestAndHttpContent(result, attributes);
+        chain.beforeTransmission(result, attributes);
+        chain.afterTransmission(result, attributes);
+        result = chain.modifyHttpResponse(result, attributes);
+        chain.beforeUnmarshalling(result, attributes);
+        chain.afterUnmarshalling(result, attributes);
+        result = chain.modifyResponse(result, attributes);
+        chain.afterExecution(result, attributes);
+        return result;
+    }
+
+    private static final class ModifyRequestInterceptor implements ExecutionInterceptor {
+        @Override
+        public SdkRequest modifyRequest(Context.ModifyRequest context, ExecutionAttributes executionAttributes) {
+            return context.request();
+        }
+    }
+
+    private static final class AfterExecutionInterceptor implements ExecutionInterceptor {
+        @Override
+        public void afterExecution(Context.AfterExecution context, ExecutionAttributes executionAttributes) {
+        }
+    }
+
+    private static final class BenchmarkRequest extends SdkRequest {
+        @Override
+        public Optional<? extends RequestOverrideConfiguration> overrideConfiguration() {
+            return Optional.empty();
+        }
+
+        @Override
+        public Builder toBuilder() {
+            return null;
+        }
+
+        @Override
+        public List<SdkField<?>> sdkFields() {
+            return new ArrayList<>();
+        }
+    }
+
+    private static final class BenchmarkResponse extends SdkResponse {
+        private BenchmarkResponse() {
+            super(new BuilderImpl() {
+                @Override
+                public SdkResponse build() {
+                    return new BenchmarkResponse();
+                }
+            });
+        }
+
+        @Override
+        public Builder toBuilder() {
+            return null;
+        }
+
+        @Override
+        public List<SdkField<?>> sdkFields() {
+            return new ArrayList<>();
+        }
+    }
+}
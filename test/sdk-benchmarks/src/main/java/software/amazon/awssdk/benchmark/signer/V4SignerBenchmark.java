@@ -0,0 +1,96 @@
+/*
+ * Copyright 2010-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.benchmark.signer;
+
+import java.net.URI;
+import java.util.concurrent.ThreadLocalRandom;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.signer.Aws4Signer;
+import software.amazon.awssdk.auth.signer.params.Aws4SignerParams;
+import software.amazon.awssdk.http.SdkHttpFullRequest;
+import software.amazon.awssdk.http.SdkHttpMethod;
+import software.amazon.awssdk.regions.Region;
+
+/**
+ * Measures SigV4 signing throughput when many threads sign requests for a mix of regions and services, which exercises the
+ * shared signing key cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(2)
+public class V4SignerBenchmark {
+
+    private static final String[] SERVICES = {"dynamodb", "s3", "sqs", "sns", "kinesis", "lambda", "ec2", "sts"};
+
+    /**
+     * The number of distinct (region, service) scopes requests are signed for.
+     */
+    @Param({"1", "16", "128"})
+    private int scopeCount;
+
+    private final Aws4Signer signer = Aws4Signer.create();
+    private final AwsBasicCredentials credentials = AwsBasicCredentials.create("akid", "skid");
+    private SdkHttpFullRequest request;
+    private Aws4SignerParams[] signerParams;
+
+    @Setup
+    public void setup() {
+        request = SdkHttpFullRequest.builder()
+                                    .method(SdkHttpMethod.POST)
+                                    .uri(URI.create("https://localhost/path"))
+                                    .putHeader("Content-Type", "application/x-amz-json-1.0")
+                                    .putHeader("X-Amz-Target", "DynamoDB_20120810.GetItem")
+                                    .build();
+
+        signerParams = new Aws4SignerParams[scopeCount];
+        for (int i = 0; i < scopeCount; i++) {
+            signerParams[i] = Aws4SignerParams.builder()
+                                              .awsCredentials(credentials)
+                                              .signingName(SERVICES[i % SERVICES.length])
+                                              .signingRegion(Region.of("region-" + i / SERVICES.length))
+                                              .build();
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public SdkHttpFullRequest signSingleThreaded() {
+        return sign();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public SdkHttpFullRequest signMultiThreaded() {
+        return sign();
+    }
+
+    private SdkHttpFullRequest sign() {
+        return signer.sign(request, signerParams[ThreadLocalRandom.current().nextInt(scopeCount)]);
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2010-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.benchmark.timer;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.core.internal.http.timers.HashedWheelTimer;
+import software.amazon.awssdk.utils.ThreadFactoryBuilder;
+
+/**
+ * Measures the cost of starting and cancelling an API call timeout that does not expire, which the client does for every
+ * call and every attempt, on the {@link ScheduledThreadPoolExecutor} that clients use by default and on the
+ * {@link HashedWheelTimer}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(2)
+public class TimeoutSchedulingBenchmark {
+
+    private static final long TIMEOUT_MILLIS = 30_000;
+    private static final Runnable NO_OP = () -> { };
+
+    private ScheduledThreadPoolExecutor executor;
+    private HashedWheelTimer timer;
+
+    @Setup
+    public void setup() {
+        // Configured as the client's default scheduled executor
+        executor = (ScheduledThreadPoolExecutor) Executors.newScheduledThreadPool(
+            5, new ThreadFactoryBuilder().threadNamePrefix("sdk-ScheduledExecutor").build());
+        timer = new HashedWheelTimer(Duration.ofMillis(10), 512,
+                                     new ThreadFactoryBuilder().threadNamePrefix("sdk-timeout-timer").daemonThreads(true).build());
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+        timer.stop();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean scheduledExecutorSingleThreaded() {
+        return scheduleOnExecutor();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public boolean scheduledExecutorMultiThreaded() {
+        return scheduleOnExecutor();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean hashedWheelTimerSingleThreaded() {
+        return scheduleOnTimer();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public boolean hashedWheelTimerMultiThreaded() {
+        return scheduleOnTimer();
+    }
+
+    private boolean scheduleOnExecutor() {
+        ScheduledFuture<?> future = executor.schedule(NO_OP, TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        return future.cancel(false);
+    }
+
+    private boolean scheduleOnTimer() {
+        return timer.newTimeout(NO_OP, TIMEOUT_MILLIS, TimeUnit.MILLISECONDS).cancel();
+    }
+}
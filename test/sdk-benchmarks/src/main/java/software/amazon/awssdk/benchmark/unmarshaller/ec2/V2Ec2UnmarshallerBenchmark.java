@@ -0,0 +1,123 @@
+/*
+ * Copyright 2010-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.benchmark.unmarshaller.ec2;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.http.SdkHttpFullResponse;
+import software.amazon.awssdk.protocols.query.internal.unmarshall.QueryProtocolUnmarshaller;
+import software.amazon.awssdk.protocols.query.unmarshall.XmlDomParser;
+import software.amazon.awssdk.services.ec2.model.DescribeInstancesResponse;
+
+/**
+ * Compares unmarshalling a DescribeInstances response by first building an {@link XmlDomParser} tree against unmarshalling
+ * it straight from the XML stream.
+ */
+public class V2Ec2UnmarshallerBenchmark {
+
+    private static final QueryProtocolUnmarshaller UNMARSHALLER = QueryProtocolUnmarshaller.builder()
+                                                                                           .hasResultWrapper(false)
+                                                                                           .build();
+
+    @Benchmark
+    public Object domUnmarshall(UnmarshallerState s) {
+        SdkHttpFullResponse response = s.response();
+        return UNMARSHALLER.unmarshall(DescribeInstancesResponse.builder(),
+                                       XmlDomParser.parse(response.content().get()),
+                                       response);
+    }
+
+    @Benchmark
+    public Object streamingUnmarshall(UnmarshallerState s) {
+        return UNMARSHALLER.unmarshall(DescribeInstancesResponse.builder(), s.response());
+    }
+
+    @State(Scope.Benchmark)
+    public static class UnmarshallerState {
+        @Param({"1", "100", "1000"})
+        private int instanceCount;
+
+        private byte[] content;
+
+        @Setup
+        public void setup() {
+            content = describeInstancesXml(instanceCount).getBytes(StandardCharsets.UTF_8);
+        }
+
+        public SdkHttpFullResponse response() {
+            return SdkHttpFullResponse.builder()
+                                      .statusCode(200)
+                                      .content(AbortableInputStream.create(new ByteArrayInputStream(content)))
+                                      .build();
+        }
+    }
+
+    private static String describeInstancesXml(int instanceCount) {
+        StringBuilder sb = new StringBuilder()
+            .append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>")
+            .append("<DescribeInstancesResponse xmlns=\"http://ec2.amazonaws.com/doc/2016-11-15/\">")
+            .append("<requestId>8f7724cf-496f-496e-8fe3-example</requestId>")
+            .append("<reservationSet><item>")
+            .append("<reservationId>r-1234567890abcdef0</reservationId>")
+            .append("<ownerId>123456789012</ownerId>")
+            .append("<groupSet/>")
+            .append("<instancesSet>");
+        for (int i = 0; i < instanceCount; i++) {
+            sb.append("<item>")
+              .append("<instanceId>i-").append(String.format("%017x", i)).append("</instanceId>")
+              .append("<imageId>ami-bff32ccc</imageId>")
+              .append("<instanceState><code>16</code><name>running</name></instanceState>")
+              .append("<privateDnsName>ip-192-168-1-88.eu-west-1.compute.internal</privateDnsName>")
+              .append("<dnsName>ec2-54-194-252-215.eu-west-1.compute.amazonaws.com</dnsName>")
+              .append("<reason/>")
+              .append("<keyName>my_keypair</keyName>")
+              .append("<amiLaunchIndex>0</amiLaunchIndex>")
+              .append("<productCodes/>")
+              .append("<instanceType>t2.micro</instanceType>")
+              .append("<launchTime>2018-05-08T16:46:19.000Z</launchTime>")
+              .append("<placement><availabilityZone>eu-west-1c</availabilityZone><groupName/>")
+              .append("<tenancy>default</tenancy></placement>")
+              .append("<monitoring><state>disabled</state></monitoring>")
+              .append("<subnetId>subnet-56f5f633</subnetId>")
+              .append("<vpcId>vpc-11112222</vpcId>")
+              .append("<privateIpAddress>192.168.1.88</privateIpAddress>")
+              .append("<ipAddress>54.194.252.215</ipAddress>")
+              .append("<sourceDestCheck>true</sourceDestCheck>")
+              .append("<groupSet><item><groupId>sg-e4076980</groupId><groupName>SecurityGroup1</groupName></item>")
+              .append("</groupSet>")
+              .append("<architecture>x86_64</architecture>")
+              .append("<rootDeviceType>ebs</rootDeviceType>")
+              .append("<rootDeviceName>/dev/xvda</rootDeviceName>")
+              .append("<blockDeviceMapping><item><deviceName>/dev/xvda</deviceName><ebs>")
+              .append("<volumeId>vol-1234567890abcdef0</volumeId><status>attached</status>")
+              .append("<attachTime>2015-12-22T10:44:09.000Z</attachTime>")
+              .append("<deleteOnTermination>true</deleteOnTermination></ebs></item></blockDeviceMapping>")
+              .append("<virtualizationType>hvm</virtualizationType>")
+              .append("<tagSet><item><key>Name</key><value>Server_1</value></item></tagSet>")
+              .append("<hypervisor>xen</hypervisor>")
+              .append("<ebsOptimized>false</ebsOptimized>")
+              .append("</item>");
+        }
+        return sb.append("</instancesSet></item></reservationSet></DescribeInstancesResponse>")
+                 .toString();
+    }
+}
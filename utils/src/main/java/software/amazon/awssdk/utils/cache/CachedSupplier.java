@@ -31,7 +31,7 @@ import software.amazon.awssdk.utils.Validate;
  * value.
  *
  * For example, the {@link OneCallerBlocks} strategy will have a single caller block to update the value, and the
- * {@link NonBlocking} strategy maintains a thread pool for updating the value asynchronously in the background.
+ * {@link NonBlocking} strategy uses a shared thread pool for updating the value asynchronously in the background.
  *
  * This should be created using {@link #builder(Supplier)}.
  */
@@ -69,6 +69,12 @@ public final class CachedSupplier<T> implements Supplier<T>, SdkAutoCloseable {
      */
     private final Supplier<RefreshResult<T>> valueSupplier;
 
+    /**
+     * Whether {@link #get()} was called since the value was last refreshed. Refreshes scheduled by the {@link #prefetchStrategy}
+     * are skipped for values that nobody is reading, so that an abandoned cache is not refreshed forever.
+     */
+    private volatile boolean readSinceRefresh = false;
+
     private CachedSupplier(Builder<T> builder) {
         this.valueSupplier = Validate.notNull(builder.supplier, "builder.supplier");
         this.prefetchStrategy = Validate.notNull(builder.prefetchStrategy, "builder.prefetchStrategy");
@@ -91,6 +97,10 @@ public final class CachedSupplier<T> implements Supplier<T>, SdkAutoCloseable {
             prefetchCache();
         }
 
+        if (!readSinceRefresh) {
+            readSinceRefresh = true;
+        }
+
         return this.cachedValue.value();
     }
 
@@ -129,7 +139,7 @@ public final class CachedSupplier<T> implements Supplier<T>, SdkAutoCloseable {
                 // Make sure the value was not refreshed while we waited for the lock.
                 if (cacheIsStale() || shouldInitiateCachePrefetch()) {
                     // It wasn't, call the supplier to update it.
-                    cachedValue = valueSupplier.get();
+                    updateCachedValue();
                 }
             } finally {
                 if (lockAcquired) {
@@ -141,6 +151,32 @@ public final class CachedSupplier<T> implements Supplier<T>, SdkAutoCloseable {
         }
     }
 
+    /**
+     * Refresh the cached value before its prefetch time arrives. This is invoked by prefetch strategies that schedule refreshes
+     * ahead of time via {@link PrefetchStrategy#valueUpdated(RefreshResult, Runnable)}. If another thread is already refreshing
+     * the value or the value has not been read since it was last refreshed, this returns without calling the supplier.
+     */
+    private void refreshCacheAhead() {
+        if (!readSinceRefresh || !refreshLock.tryLock()) {
+            return;
+        }
+
+        try {
+            updateCachedValue();
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    /**
+     * Call the supplier to update the cached value, and let the {@link #prefetchStrategy} know about the new value.
+     */
+    private void updateCachedValue() {
+        cachedValue = valueSupplier.get();
+        readSinceRefresh = false;
+        prefetchStrategy.valueUpdated(cachedValue, this::refreshCacheAhead);
+    }
+
     private void handleInterruptedException(String message, InterruptedException cause) {
         Thread.currentThread().interrupt();
         throw new IllegalStateException(message, cause);
@@ -198,6 +234,13 @@ public final class CachedSupplier<T> implements Supplier<T>, SdkAutoCloseable {
          */
         void prefetch(Runnable valueUpdater);
 
+        /**
+         * Invoked after the {@link CachedSupplier} has stored a new value. Strategies that refresh the value ahead of its
+         * {@link RefreshResult#prefetchTime()}, like {@link NonBlocking}, can use the provided value updater to schedule the next
+         * refresh. By default, this does nothing.
+         */
+        default void valueUpdated(RefreshResult<?> value, Runnable valueUpdater) {}
+
         /**
          * Free any resources associated with the strategy. This is invoked when the {@link CachedSupplier#close()} method is
          * invoked.
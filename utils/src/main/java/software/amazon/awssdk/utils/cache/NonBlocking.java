@@ -15,35 +15,93 @@
 
 package software.amazon.awssdk.utils.cache;
 
-import java.util.concurrent.ExecutorService;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import software.amazon.awssdk.annotations.SdkProtectedApi;
-import software.amazon.awssdk.utils.ExecutorUtils;
+import software.amazon.awssdk.annotations.SdkTestInternalApi;
+import software.amazon.awssdk.utils.Logger;
+import software.amazon.awssdk.utils.ThreadFactoryBuilder;
 
 /**
- * A {@link CachedSupplier.PrefetchStrategy} that will run a single thread in the background to update the value. A call to
- * prefetch on this strategy will never return.
+ * A {@link CachedSupplier.PrefetchStrategy} that will update the value in the background. A call to prefetch on this strategy
+ * will never block.
  *
  * Multiple calls to {@link #prefetch(Runnable)} will still only result in one background task performing the update.
+ *
+ * In addition to updating the value when a caller notices that the prefetch time has passed, this strategy schedules a refresh
+ * shortly before the {@link RefreshResult#prefetchTime()} of each new value, with a random jitter so that many values with the
+ * same prefetch time are not refreshed at the same moment. Scheduled refreshes are only performed for values that have been
+ * read since they were last refreshed.
+ *
+ * All instances of this strategy share a small, bounded pool of daemon threads, so the number of threads used does not grow
+ * with the number of cached values.
  */
 @SdkProtectedApi
 public class NonBlocking implements CachedSupplier.PrefetchStrategy {
+    private static final Logger log = Logger.loggerFor(NonBlocking.class);
+
+    /**
+     * The maximum number of values that are refreshed at the same time across all instances of this strategy.
+     */
+    private static final int MAX_CONCURRENT_REFRESHES = 10;
+
     /**
-     * Whether we are currently refreshing the supplier. This is used to make sure only one caller is blocking at a time.
+     * The maximum amount of time before the prefetch time that a scheduled refresh may happen.
+     */
+    private static final Duration MAX_JITTER = Duration.ofMinutes(5);
+
+    /**
+     * How long an idle refresh thread is kept alive.
+     */
+    private static final Duration THREAD_KEEP_ALIVE = Duration.ofSeconds(60);
+
+    /**
+     * The thread pool shared by all instances of this strategy, used both to run refreshes and to schedule them.
+     */
+    private static final ScheduledThreadPoolExecutor SCHEDULER = createScheduler();
+
+    /**
+     * The name used to identify the value being refreshed in log messages.
+     */
+    private final String asyncThreadName;
+
+    /**
+     * Whether we are currently refreshing the supplier. This is used to make sure only one background refresh is running at
+     * a time.
      */
     private final AtomicBoolean currentlyRefreshing = new AtomicBoolean(false);
 
     /**
-     * Single threaded executor to asynchronous refresh the value.
+     * The next scheduled refresh, if any.
      */
-    private final ExecutorService executor;
+    private final AtomicReference<ScheduledFuture<?>> scheduledRefresh = new AtomicReference<>();
+
+    private volatile boolean closed = false;
 
     /**
-     * Create a non-blocking prefetch strategy that uses the provided value for the name of the background thread that will be
-     * performing the update.
+     * Create a non-blocking prefetch strategy that uses the provided value to identify the value being refreshed in log
+     * messages.
      */
     public NonBlocking(String asyncThreadName) {
-        this.executor = ExecutorUtils.newSingleDaemonThreadExecutor(1, asyncThreadName);
+        this.asyncThreadName = asyncThreadName;
+    }
+
+    private static ScheduledThreadPoolExecutor createScheduler() {
+        ScheduledThreadPoolExecutor executor =
+            new ScheduledThreadPoolExecutor(MAX_CONCURRENT_REFRESHES,
+                                            new ThreadFactoryBuilder().daemonThreads(true)
+                                                                      .threadNamePrefix("sdk-cache-refresh")
+                                                                      .build());
+        executor.setKeepAliveTime(THREAD_KEEP_ALIVE.getSeconds(), TimeUnit.SECONDS);
+        executor.allowCoreThreadTimeOut(true);
+        executor.setRemoveOnCancelPolicy(true);
+        return executor;
     }
 
     @Override
@@ -51,13 +109,7 @@ public class NonBlocking implements CachedSupplier.PrefetchStrategy {
         // Only run one async refresh at a time.
         if (currentlyRefreshing.compareAndSet(false, true)) {
             try {
-                executor.submit(() -> {
-                    try {
-                        valueUpdater.run();
-                    } finally {
-                        currentlyRefreshing.set(false);
-                    }
-                });
+                SCHEDULER.execute(() -> runRefresh(valueUpdater));
             } catch (RuntimeException e) {
                 currentlyRefreshing.set(false);
                 throw e;
@@ -65,8 +117,65 @@ public class NonBlocking implements CachedSupplier.PrefetchStrategy {
         }
     }
 
+    @Override
+    public void valueUpdated(RefreshResult<?> value, Runnable valueUpdater) {
+        Instant now = Instant.now();
+        Instant prefetchTime = value.prefetchTime();
+        if (closed || prefetchTime == null || !prefetchTime.isAfter(now) || prefetchTime.equals(Instant.MAX)) {
+            return;
+        }
+
+        long delayMillis = refreshDelay(Duration.between(now, prefetchTime)).toMillis();
+        ScheduledFuture<?> refresh = SCHEDULER.schedule(() -> runScheduledRefresh(valueUpdater),
+                                                        delayMillis, TimeUnit.MILLISECONDS);
+
+        ScheduledFuture<?> previousRefresh = scheduledRefresh.getAndSet(refresh);
+        if (previousRefresh != null) {
+            previousRefresh.cancel(false);
+        }
+
+        // We may have raced with close(), make sure nothing is left scheduled.
+        if (closed) {
+            refresh.cancel(false);
+        }
+    }
+
+    /**
+     * Calculate how long to wait before refreshing a value that reaches its prefetch time after the provided duration. The
+     * refresh happens a random amount of time before the prefetch time, bounded by {@link #MAX_JITTER} and by half of the time
+     * remaining.
+     */
+    @SdkTestInternalApi
+    static Duration refreshDelay(Duration timeUntilPrefetch) {
+        long maxJitterMillis = Math.min(MAX_JITTER.toMillis(), timeUntilPrefetch.toMillis() / 2);
+        long jitterMillis = maxJitterMillis <= 0 ? 0 : ThreadLocalRandom.current().nextLong(maxJitterMillis + 1);
+        return timeUntilPrefetch.minusMillis(jitterMillis);
+    }
+
+    private void runScheduledRefresh(Runnable valueUpdater) {
+        // Skip the scheduled refresh if a caller-initiated one is already running.
+        if (currentlyRefreshing.compareAndSet(false, true)) {
+            runRefresh(valueUpdater);
+        }
+    }
+
+    private void runRefresh(Runnable valueUpdater) {
+        try {
+            valueUpdater.run();
+        } catch (RuntimeException e) {
+            log.warn(() -> "Failed to refresh cached value in the background for " + asyncThreadName + ". The value will be "
+                           + "refreshed when it is next needed.", e);
+        } finally {
+            currentlyRefreshing.set(false);
+        }
+    }
+
     @Override
     public void close() {
-        executor.shutdown();
+        closed = true;
+        ScheduledFuture<?> refresh = scheduledRefresh.getAndSet(null);
+        if (refresh != null) {
+            refresh.cancel(false);
+        }
     }
 }
@@ -15,10 +15,12 @@
 
 package software.amazon.awssdk.utils.cache;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.fail;
 import static software.amazon.awssdk.utils.FunctionalUtils.invokeSafely;
 
 import java.io.Closeable;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -238,6 +240,34 @@ public class CachedSupplierTest {
         }
     }
 
+    @Test
+    public void nonBlockingPrefetchStrategyRefreshesBeforePrefetchTime() {
+        try (WaitingSupplier waitingSupplier = new WaitingSupplier(future(), Instant.now().plusSeconds(2));
+             CachedSupplier<String> cachedSupplier = CachedSupplier.builder(waitingSupplier)
+                                                                   .prefetchStrategy(new NonBlocking("test-%s"))
+                                                                   .build()) {
+            // Perform one successful "get" to prime the cache and schedule the refresh.
+            waitingSupplier.permits.release(2);
+            waitFor(performAsyncGet(cachedSupplier));
+
+            // Wait for the scheduled refresh to happen without any further "gets".
+            waitingSupplier.waitForGetsToHaveFinished(2);
+        }
+    }
+
+    @Test
+    public void nonBlockingRefreshDelayIsJitteredBeforePrefetchTime() {
+        for (int i = 0; i < 100; i++) {
+            Duration delay = NonBlocking.refreshDelay(Duration.ofSeconds(10));
+            assertThat(delay).isBetween(Duration.ofSeconds(5), Duration.ofSeconds(10));
+        }
+
+        for (int i = 0; i < 100; i++) {
+            Duration delay = NonBlocking.refreshDelay(Duration.ofHours(1));
+            assertThat(delay).isBetween(Duration.ofMinutes(55), Duration.ofHours(1));
+        }
+    }
+
     /**
      * Asynchronously perform a "get" on the provided supplier, returning the future that will be completed when the "get"
      * finishes.